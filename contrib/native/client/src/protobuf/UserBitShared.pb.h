@@ -247,11 +247,14 @@ enum CoreOperatorType {
   FLATTEN = 40,
   LATERAL_JOIN = 41,
   UNNEST = 42,
-  HIVE_DRILL_NATIVE_PARQUET_ROW_GROUP_SCAN = 43
+  HIVE_DRILL_NATIVE_PARQUET_ROW_GROUP_SCAN = 43,
+  HASH_DISTINCT = 44,
+  SEQUENCE_SUB_SCAN = 45,
+  HIVE_DRILL_NATIVE_ORC_SUB_SCAN = 46
 };
 bool CoreOperatorType_IsValid(int value);
 const CoreOperatorType CoreOperatorType_MIN = SINGLE_SENDER;
-const CoreOperatorType CoreOperatorType_MAX = HIVE_DRILL_NATIVE_PARQUET_ROW_GROUP_SCAN;
+const CoreOperatorType CoreOperatorType_MAX = HIVE_DRILL_NATIVE_ORC_SUB_SCAN;
 const int CoreOperatorType_ARRAYSIZE = CoreOperatorType_MAX + 1;
 
 const ::google::protobuf::EnumDescriptor* CoreOperatorType_descriptor();
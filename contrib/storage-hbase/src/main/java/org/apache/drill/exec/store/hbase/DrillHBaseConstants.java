@@ -38,4 +38,22 @@ public interface DrillHBaseConstants {
   public static final String SYS_STORE_PROVIDER_HBASE_TABLE = "drill.exec.sys.store.provider.hbase.table";
 
   public static final String SYS_STORE_PROVIDER_HBASE_CONFIG = "drill.exec.sys.store.provider.hbase.config";
+
+  /**
+   * Number of rows fetched per RPC by the scanners of the record readers, set in the config of the storage plugin.
+   */
+  public static final String DRILL_HBASE_SCAN_CACHING = "drill.hbase.scan.caching";
+
+  /**
+   * Maximum size in bytes of the rows fetched per RPC by the scanners of the record readers, not limited by default.
+   */
+  public static final String DRILL_HBASE_SCAN_MAX_RESULT_SIZE = "drill.hbase.scan.max.result.size";
+
+  /**
+   * Regions larger than this size in MB are scanned as several key ranges in parallel, 0 disables the split. Region
+   * sizes are only known when size.calculator.enabled is set for the storage plugin.
+   */
+  public static final String DRILL_HBASE_REGION_SPLIT_SIZE_MB = "drill.hbase.scan.region.split.size.mb";
+
+  public static final long DEFAULT_REGION_SPLIT_SIZE_MB = 1024;
 }
@@ -18,6 +18,8 @@
 package org.apache.drill.exec.store.hbase;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.drill.common.expression.BooleanOperator;
 import org.apache.drill.common.expression.FunctionCall;
@@ -135,19 +137,23 @@ public class HBaseFilterBuilder extends AbstractExprVisitor<HBaseScanSpec, Void,
     Filter newFilter = null;
     byte[] startRow = HConstants.EMPTY_START_ROW;
     byte[] stopRow = HConstants.EMPTY_END_ROW;
+    List<byte[]> rowKeys = null;
 
     switch (functionName) {
     case "booleanAnd":
       newFilter = HBaseUtils.andFilterAtIndex(leftScanSpec.filter, HBaseUtils.LAST_FILTER, rightScanSpec.filter);
       startRow = HBaseUtils.maxOfStartRows(leftScanSpec.startRow, rightScanSpec.startRow);
       stopRow = HBaseUtils.minOfStopRows(leftScanSpec.stopRow, rightScanSpec.stopRow);
+      rowKeys = HBaseUtils.rowKeysInRange(
+          HBaseUtils.intersectionOfRowKeys(leftScanSpec.rowKeys, rightScanSpec.rowKeys), startRow, stopRow);
       break;
     case "booleanOr":
       newFilter = HBaseUtils.orFilterAtIndex(leftScanSpec.filter, HBaseUtils.LAST_FILTER, rightScanSpec.filter);
       startRow = HBaseUtils.minOfStartRows(leftScanSpec.startRow, rightScanSpec.startRow);
       stopRow = HBaseUtils.maxOfStopRows(leftScanSpec.stopRow, rightScanSpec.stopRow);
+      rowKeys = HBaseUtils.unionOfRowKeys(leftScanSpec.rowKeys, rightScanSpec.rowKeys);
     }
-    return new HBaseScanSpec(groupScan.getTableName(), startRow, stopRow, newFilter);
+    return new HBaseScanSpec(groupScan.getTableName(), startRow, stopRow, newFilter, rowKeys);
   }
 
   private HBaseScanSpec createHBaseScanSpec(FunctionCall call, CompareFunctionsProcessor processor) {
@@ -177,6 +183,7 @@ public class HBaseFilterBuilder extends AbstractExprVisitor<HBaseScanSpec, Void,
     ByteArrayComparable comparator = new BinaryComparator(fieldValue);
     byte[] startRow = HConstants.EMPTY_START_ROW;
     byte[] stopRow = HConstants.EMPTY_END_ROW;
+    List<byte[]> rowKeys = null;
     switch (functionName) {
     case "equal":
       compareOp = CompareOp.EQUAL;
@@ -185,6 +192,8 @@ public class HBaseFilterBuilder extends AbstractExprVisitor<HBaseScanSpec, Void,
         /* stopRow should be just greater than 'value'*/
         stopRow = Arrays.copyOf(fieldValue, fieldValue.length+1);
         compareOp = CompareOp.EQUAL;
+        /* the row can be read with a get, and rows of IN lists with a multi-get */
+        rowKeys = Collections.singletonList(fieldValue);
       }
       break;
     case "not_equal":
@@ -325,7 +334,7 @@ public class HBaseFilterBuilder extends AbstractExprVisitor<HBaseScanSpec, Void,
           ((SingleColumnValueFilter)filter).setFilterIfMissing(true);
         }
       }
-      return new HBaseScanSpec(groupScan.getTableName(), startRow, stopRow, filter);
+      return new HBaseScanSpec(groupScan.getTableName(), startRow, stopRow, filter, rowKeys);
     }
     // else
     return null;
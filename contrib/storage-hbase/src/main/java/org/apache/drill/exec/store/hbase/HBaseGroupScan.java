@@ -19,6 +19,7 @@ package org.apache.drill.exec.store.hbase;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -56,6 +57,7 @@ import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.util.Bytes;
 
 import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -75,6 +77,8 @@ public class HBaseGroupScan extends AbstractGroupScan implements DrillHBaseConst
 
   private static final Comparator<List<HBaseSubScanSpec>> LIST_SIZE_COMPARATOR_REV = Collections.reverseOrder(LIST_SIZE_COMPARATOR);
 
+  private static final int MAX_RANGES_PER_REGION = 64;
+
   private HBaseStoragePluginConfig storagePluginConfig;
 
   private List<SchemaPath> columns;
@@ -153,6 +157,10 @@ public class HBaseGroupScan extends AbstractGroupScan implements DrillHBaseConst
       List<HRegionLocation> regionLocations = locator.getAllRegionLocations();
       statsCalculator = new TableStatsCalculator(conn, hbaseScanSpec, storagePlugin.getContext().getConfig(), storagePluginConfig);
 
+      long splitSizeMB = getHBaseConf().getLong(DRILL_HBASE_REGION_SPLIT_SIZE_MB, DEFAULT_REGION_SPLIT_SIZE_MB);
+      List<byte[]> rowKeys = hbaseScanSpec.getRowKeys();
+      HRegionLocation firstRegionLocation = null;
+
       boolean foundStartRegion = false;
       regionsToScan = new TreeMap<>();
       for (HRegionLocation regionLocation : regionLocations) {
@@ -161,18 +169,87 @@ public class HBaseGroupScan extends AbstractGroupScan implements DrillHBaseConst
           continue;
         }
         foundStartRegion = true;
-        regionsToScan.put(regionInfo, regionLocation.getServerName());
+        if (firstRegionLocation == null) {
+          firstRegionLocation = regionLocation;
+        }
+        if (rowKeys == null) {
+          addRegionToScan(regionInfo, regionLocation.getServerName(), splitSizeMB);
+        } else if (!HBaseUtils.rowKeysInRange(rowKeys, regionInfo.getStartKey(), regionInfo.getEndKey()).isEmpty()) {
+          // only the regions containing some of the row keys are read
+          regionsToScan.put(regionInfo, regionLocation.getServerName());
+        }
         scanSizeInBytes += statsCalculator.getRegionSizeInBytes(regionInfo.getRegionName());
         if (hbaseScanSpec.getStopRow() != null && hbaseScanSpec.getStopRow().length != 0 && regionInfo.containsRow(hbaseScanSpec.getStopRow())) {
           break;
         }
       }
+      if (regionsToScan.isEmpty() && firstRegionLocation != null) {
+        // none of the row keys is in the table, there must be at least one sub scan
+        regionsToScan.put(firstRegionLocation.getRegionInfo(), firstRegionLocation.getServerName());
+      }
     } catch (IOException e) {
       throw new DrillRuntimeException("Error getting region info for table: " + hbaseScanSpec.getTableName(), e);
     }
     HBaseUtils.verifyColumns(columns, hTableDesc);
   }
 
+  /**
+   * Adds the region to the regions to scan. Regions larger than the split size are added as several consecutive
+   * key ranges of the part of the region in the scan range, so that they are read by several fragments and do not
+   * become stragglers of the scan.
+   */
+  private void addRegionToScan(HRegionInfo regionInfo, ServerName serverName, long splitSizeMB) {
+    long regionSizeMB = statsCalculator.getRegionSizeInMB(regionInfo.getRegionName());
+    if (splitSizeMB <= 0 || regionSizeMB <= splitSizeMB) {
+      regionsToScan.put(regionInfo, serverName);
+      return;
+    }
+    int numRanges = (int) Math.min(MAX_RANGES_PER_REGION, (regionSizeMB + splitSizeMB - 1) / splitSizeMB);
+    byte[] startKey = HBaseUtils.maxOfStartRows(regionInfo.getStartKey(), hbaseScanSpec.getStartRow());
+    byte[] endKey = HBaseUtils.minOfStopRows(regionInfo.getEndKey(), hbaseScanSpec.getStopRow());
+    byte[][] splitKeys = splitKeyRange(startKey, endKey, numRanges);
+    if (splitKeys == null) {
+      regionsToScan.put(regionInfo, serverName);
+      return;
+    }
+    logger.debug("Scanning region {} of {} MB as {} key ranges", regionInfo.getRegionNameAsString(), regionSizeMB,
+        numRanges);
+    for (int i = 0; i < splitKeys.length - 1; i++) {
+      regionsToScan.put(
+          new HRegionInfo(regionInfo.getTable(), splitKeys[i], splitKeys[i + 1], false, regionInfo.getRegionId()),
+          serverName);
+    }
+  }
+
+  /**
+   * Splits the key range into ranges of evenly distributed keys. An empty end key is the end of the table, the keys
+   * after the last split key are read by the last range.
+   *
+   * @return start key, split keys and end key, or null if the range can not be split
+   */
+  @VisibleForTesting
+  public static byte[][] splitKeyRange(byte[] startKey, byte[] endKey, int numRanges) {
+    byte[] upperKey = endKey;
+    if (endKey.length == 0) {
+      upperKey = new byte[startKey.length + 1];
+      Arrays.fill(upperKey, (byte) 0xFF);
+    }
+    byte[][] splitKeys;
+    try {
+      splitKeys = Bytes.split(startKey, upperKey, numRanges - 1);
+    } catch (IllegalArgumentException e) {
+      // the keys are equal when padded to the same length
+      return null;
+    }
+    if (splitKeys == null) {
+      // the range is too narrow to be split
+      return null;
+    }
+    splitKeys[0] = startKey;
+    splitKeys[splitKeys.length - 1] = endKey;
+    return splitKeys;
+  }
+
   @Override
   public List<EndpointAffinity> getOperatorAffinity() {
     watch.reset();
@@ -315,7 +392,8 @@ public class HBaseGroupScan extends AbstractGroupScan implements DrillHBaseConst
         .setRegionServer(regionsToScan.get(ri).getHostname())
         .setStartRow((!isNullOrEmpty(spec.getStartRow()) && ri.containsRow(spec.getStartRow())) ? spec.getStartRow() : ri.getStartKey())
         .setStopRow((!isNullOrEmpty(spec.getStopRow()) && ri.containsRow(spec.getStopRow())) ? spec.getStopRow() : ri.getEndKey())
-        .setSerializedFilter(spec.getSerializedFilter());
+        .setSerializedFilter(spec.getSerializedFilter())
+        .setRowKeys(HBaseUtils.rowKeysInRange(spec.getRowKeys(), ri.getStartKey(), ri.getEndKey()));
   }
 
   private boolean isNullOrEmpty(byte[] key) {
@@ -337,6 +415,12 @@ public class HBaseGroupScan extends AbstractGroupScan implements DrillHBaseConst
 
   @Override
   public ScanStats getScanStats() {
+    if (hbaseScanSpec.getRowKeys() != null) {
+      // the rows are read with gets, at most one row per key
+      long rowCount = hbaseScanSpec.getRowKeys().size();
+      return new ScanStats(GroupScanProperty.NO_EXACT_ROW_COUNT, rowCount, 1,
+          (float) rowCount * statsCalculator.getAvgRowSizeInBytes());
+    }
     long rowCount = scanSizeInBytes / statsCalculator.getAvgRowSizeInBytes();
     // the following calculation is not precise since 'columns' could specify CFs while getColsPerRow() returns the number of qualifier
     float diskCost = scanSizeInBytes * ((columns == null || columns.isEmpty()) ? 1 : columns.size() / statsCalculator.getColsPerRow());
@@ -19,6 +19,7 @@ package org.apache.drill.exec.store.hbase;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -32,19 +33,19 @@ import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.common.expression.PathSegment;
 import org.apache.drill.common.expression.PathSegment.NameSegment;
 import org.apache.drill.common.expression.SchemaPath;
-import org.apache.drill.exec.exception.SchemaChangeException;
-import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.ops.OperatorStats;
-import org.apache.drill.exec.physical.impl.OutputMutator;
+import org.apache.drill.exec.physical.rowSet.ResultSetLoader;
+import org.apache.drill.exec.physical.rowSet.RowSetLoader;
 import org.apache.drill.exec.record.MaterializedField;
-import org.apache.drill.exec.store.AbstractRecordReader;
-import org.apache.drill.exec.vector.NullableVarBinaryVector;
-import org.apache.drill.exec.vector.ValueVector;
-import org.apache.drill.exec.vector.VarBinaryVector;
-import org.apache.drill.exec.vector.complex.MapVector;
+import org.apache.drill.exec.store.ResultSetLoaderRecordReader;
+import org.apache.drill.exec.vector.accessor.ScalarWriter;
+import org.apache.drill.exec.vector.accessor.TupleWriter;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
@@ -55,29 +56,35 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Sets;
 
-public class HBaseRecordReader extends AbstractRecordReader implements DrillHBaseConstants {
+public class HBaseRecordReader extends ResultSetLoaderRecordReader implements DrillHBaseConstants {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(HBaseRecordReader.class);
 
-  // batch should not exceed this value to avoid OOM on a busy system
-  private static final int MAX_ALLOCATED_MEMORY_PER_BATCH = 64 * 1024 * 1024; // 64 mb in bytes
+  // scanner caching should match the target record count of the result set loader
+  private static final int TARGET_RECORD_COUNT = ResultSetLoader.DEFAULT_ROW_COUNT;
 
-  // batch size should not exceed max allowed record count
-  private static final int TARGET_RECORD_COUNT = 4000;
+  private RowSetLoader rowWriter;
 
-  private OutputMutator outputMutator;
-
-  private Map<String, MapVector> familyVectorMap;
-  private VarBinaryVector rowKeyVector;
+  private Map<String, FamilyWriter> familyWriters;
+  private ScalarWriter rowKeyWriter;
+  private byte[] cellBuffer = new byte[256];
 
   private Table hTable;
   private ResultScanner resultScanner;
 
+  // keys of the rows to read with a multi-get instead of a scan, and the rows read
+  private final List<byte[]> rowKeys;
+  private Result[] getResults;
+  private int getResultIndex;
+
+  // writers of the cells of the previous row by position, rows usually have the same columns so that the writers
+  // can be found by comparing the family and qualifier bytes, without creating strings of them
+  private final List<CellWriter> cellWriters = new ArrayList<>();
+
   private TableName hbaseTableName;
   private Scan hbaseScan;
   // scan instance to capture columns for vector creation
   private Scan hbaseScanColumnsOnly;
   private Set<String> completeFamilies;
-  private OperatorContext operatorContext;
 
   private boolean rowKeyOnly;
 
@@ -89,9 +96,15 @@ public class HBaseRecordReader extends AbstractRecordReader implements DrillHBas
         Preconditions.checkNotNull(subScanSpec, "HBase reader needs a sub-scan spec").getTableName());
     hbaseScan = new Scan(subScanSpec.getStartRow(), subScanSpec.getStopRow());
     hbaseScanColumnsOnly = new Scan();
+    rowKeys = subScanSpec.getRowKeys();
+    Configuration conf = connection.getConfiguration();
     hbaseScan
         .setFilter(subScanSpec.getScanFilter())
-        .setCaching(TARGET_RECORD_COUNT);
+        .setCaching(conf.getInt(DRILL_HBASE_SCAN_CACHING, TARGET_RECORD_COUNT));
+    long maxResultSize = conf.getLong(DRILL_HBASE_SCAN_MAX_RESULT_SIZE, -1);
+    if (maxResultSize > 0) {
+      hbaseScan.setMaxResultSize(maxResultSize);
+    }
 
     setColumns(projectedColumns);
   }
@@ -154,155 +167,244 @@ public class HBaseRecordReader extends AbstractRecordReader implements DrillHBas
   }
 
   @Override
-  public void setup(OperatorContext context, OutputMutator output) throws ExecutionSetupException {
-    this.operatorContext = context;
-    this.outputMutator = output;
-    familyVectorMap = new HashMap<>();
+  protected void open(RowSetLoader writer) throws ExecutionSetupException {
+    this.rowWriter = writer;
+    familyWriters = new HashMap<>();
 
     try {
       hTable = connection.getTable(hbaseTableName);
 
-      // Add top-level column-family map vectors to output in the order specified
+      // Add top-level column-family map columns to output in the order specified
       // when creating reader (order of first appearance in query).
       for (SchemaPath column : getColumns()) {
         if (column.equals(ROW_KEY_PATH)) {
-          MaterializedField field = MaterializedField.create(column.getAsNamePart().getName(), ROW_KEY_TYPE);
-          rowKeyVector = outputMutator.addField(field, VarBinaryVector.class);
+          rowWriter.addColumn(MaterializedField.create(column.getAsNamePart().getName(), ROW_KEY_TYPE));
+          rowKeyWriter = rowWriter.scalar(ROW_KEY);
         } else {
-          getOrCreateFamilyVector(column.getRootSegment().getPath(), false);
+          getOrCreateFamilyWriter(column.getRootSegment().getPath());
         }
       }
 
-      // Add map and child vectors for any HBase columns that are requested (in
+      // Add map and child columns for any HBase columns that are requested (in
       // order to avoid later creation of dummy NullableIntVectors for them).
       final Set<Map.Entry<byte[], NavigableSet<byte []>>> familiesEntries =
           hbaseScanColumnsOnly.getFamilyMap().entrySet();
       for (Map.Entry<byte[], NavigableSet<byte []>> familyEntry : familiesEntries) {
         final String familyName = new String(familyEntry.getKey(),
                                              StandardCharsets.UTF_8);
-        final MapVector familyVector = getOrCreateFamilyVector(familyName, false);
+        final FamilyWriter familyWriter = getOrCreateFamilyWriter(familyName);
         final Set<byte []> children = familyEntry.getValue();
         if (null != children) {
           for (byte[] childNameBytes : children) {
             final String childName = new String(childNameBytes,
                                                 StandardCharsets.UTF_8);
-            getOrCreateColumnVector(familyVector, childName);
+            familyWriter.getOrCreateColumnWriter(childName);
           }
         }
       }
 
-      // Add map vectors for any HBase column families that are requested.
+      // Add map columns for any HBase column families that are requested.
       for (String familyName : completeFamilies) {
-        getOrCreateFamilyVector(familyName, false);
+        getOrCreateFamilyWriter(familyName);
       }
 
-      resultScanner = hTable.getScanner(hbaseScan);
-    } catch (SchemaChangeException | IOException e) {
+      if (rowKeys == null) {
+        resultScanner = hTable.getScanner(hbaseScan);
+      } else {
+        getResults = hTable.get(createGets());
+      }
+    } catch (IOException e) {
       throw new ExecutionSetupException(e);
     }
   }
 
-  @Override
-  public int next() {
-    Stopwatch watch = Stopwatch.createStarted();
-    if (rowKeyVector != null) {
-      rowKeyVector.clear();
-      rowKeyVector.allocateNew();
+  /**
+   * Creates gets of the row keys, reading the same columns as the scan and applying its filter.
+   */
+  private List<Get> createGets() throws IOException {
+    List<Get> gets = new ArrayList<>(rowKeys.size());
+    for (byte[] rowKey : rowKeys) {
+      Get get = new Get(rowKey);
+      for (Map.Entry<byte[], NavigableSet<byte[]>> familyEntry : hbaseScan.getFamilyMap().entrySet()) {
+        if (familyEntry.getValue() == null || familyEntry.getValue().isEmpty()) {
+          get.addFamily(familyEntry.getKey());
+        } else {
+          for (byte[] qualifier : familyEntry.getValue()) {
+            get.addColumn(familyEntry.getKey(), qualifier);
+          }
+        }
+      }
+      get.setFilter(hbaseScan.getFilter());
+      gets.add(get);
     }
-    for (ValueVector v : familyVectorMap.values()) {
-      v.clear();
-      v.allocateNew();
+    return gets;
+  }
+
+  /**
+   * @return the next row of the scan or the multi-get, null after the last row
+   */
+  private Result nextResult() throws IOException {
+    if (getResults == null) {
+      return resultScanner.next();
+    }
+    while (getResultIndex < getResults.length) {
+      Result result = getResults[getResultIndex++];
+      // the result of a get of a missing or filtered row is empty
+      if (result != null && !result.isEmpty()) {
+        return result;
+      }
     }
+    return null;
+  }
 
-    int rowCount = 0;
-    // if allocated memory for the first row is larger than allowed max in batch, it will be added anyway
-    do {
-      Result result = null;
-      final OperatorStats operatorStats = operatorContext == null ? null : operatorContext.getStats();
-      try {
-        if (operatorStats != null) {
-          operatorStats.startWait();
-        }
+  @Override
+  protected boolean readBatch(RowSetLoader writer) {
+    Stopwatch watch = Stopwatch.createStarted();
+    final OperatorStats operatorStats = operatorContext().getStats();
+    try {
+      while (!writer.isFull()) {
+        Result result = null;
         try {
-          result = resultScanner.next();
-        } finally {
-          if (operatorStats != null) {
+          operatorStats.startWait();
+          try {
+            result = nextResult();
+          } finally {
             operatorStats.stopWait();
           }
+        } catch (IOException e) {
+          throw new DrillRuntimeException(e);
+        }
+        if (result == null) {
+          return false;
         }
-      } catch (IOException e) {
-        throw new DrillRuntimeException(e);
-      }
-      if (result == null) {
-        break;
-      }
 
-      // parse the result and populate the value vectors
-      Cell[] cells = result.rawCells();
-      if (rowKeyVector != null) {
-        rowKeyVector.getMutator().setSafe(
-            rowCount,
-            cells[0].getRowArray(),
-            cells[0].getRowOffset(),
-            cells[0].getRowLength());
-      }
-      if (!rowKeyOnly) {
-        for (final Cell cell : cells) {
-          final int familyOffset = cell.getFamilyOffset();
-          final int familyLength = cell.getFamilyLength();
-          final byte[] familyArray = cell.getFamilyArray();
-          final MapVector mv = getOrCreateFamilyVector(new String(familyArray, familyOffset, familyLength), true);
-
-          final int qualifierOffset = cell.getQualifierOffset();
-          final int qualifierLength = cell.getQualifierLength();
-          final byte[] qualifierArray = cell.getQualifierArray();
-          final NullableVarBinaryVector v = getOrCreateColumnVector(mv,
-              new String(qualifierArray, qualifierOffset, qualifierLength));
-
-          final int valueOffset = cell.getValueOffset();
-          final int valueLength = cell.getValueLength();
-          final byte[] valueArray = cell.getValueArray();
-          v.getMutator().setSafe(rowCount, valueArray, valueOffset, valueLength);
+        // parse the result and populate the value vectors
+        writer.start();
+        Cell[] cells = result.rawCells();
+        if (rowKeyWriter != null) {
+          setBytes(rowKeyWriter,
+              cells[0].getRowArray(),
+              cells[0].getRowOffset(),
+              cells[0].getRowLength());
+        }
+        if (!rowKeyOnly) {
+          for (int i = 0; i < cells.length; i++) {
+            final Cell cell = cells[i];
+            CellWriter cellWriter = i < cellWriters.size() ? cellWriters.get(i) : null;
+            if (cellWriter == null || !cellWriter.matches(cell)) {
+              cellWriter = createCellWriter(cell);
+              if (i < cellWriters.size()) {
+                cellWriters.set(i, cellWriter);
+              } else {
+                cellWriters.add(cellWriter);
+              }
+            }
+
+            setBytes(cellWriter.columnWriter, cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+          }
         }
+        writer.save();
       }
-      rowCount++;
-    } while (canAddNewRow(rowCount));
+      return true;
+    } finally {
+      logger.debug("Took {} ms to get {} records", watch.elapsed(TimeUnit.MILLISECONDS), writer.rowCount());
+    }
+  }
 
-    setOutputRowCount(rowCount);
-    logger.debug("Took {} ms to get {} records", watch.elapsed(TimeUnit.MILLISECONDS), rowCount);
-    return rowCount;
+  /**
+   * Cell data is a slice of a larger array, but column writers accept only
+   * whole arrays starting at offset zero. Copy the slice into a reusable
+   * buffer rather than allocating a new array per cell.
+   */
+  private void setBytes(ScalarWriter columnWriter, byte[] array, int offset, int length) {
+    if (offset == 0) {
+      columnWriter.setBytes(array, length);
+      return;
+    }
+    if (cellBuffer.length < length) {
+      cellBuffer = new byte[Math.max(length, cellBuffer.length * 2)];
+    }
+    System.arraycopy(array, offset, cellBuffer, 0, length);
+    columnWriter.setBytes(cellBuffer, length);
   }
 
-  private MapVector getOrCreateFamilyVector(String familyName, boolean allocateOnCreate) {
-    try {
-      MapVector v = familyVectorMap.get(familyName);
-      if(v == null) {
-        SchemaPath column = SchemaPath.getSimplePath(familyName);
-        MaterializedField field = MaterializedField.create(column.getAsNamePart().getName(), COLUMN_FAMILY_TYPE);
-        v = outputMutator.addField(field, MapVector.class);
-        if (allocateOnCreate) {
-          v.allocateNew();
+  private CellWriter createCellWriter(Cell cell) {
+    final int familyOffset = cell.getFamilyOffset();
+    final int familyLength = cell.getFamilyLength();
+    final byte[] familyArray = cell.getFamilyArray();
+    final FamilyWriter familyWriter = getOrCreateFamilyWriter(new String(familyArray, familyOffset, familyLength));
+
+    final int qualifierOffset = cell.getQualifierOffset();
+    final int qualifierLength = cell.getQualifierLength();
+    final byte[] qualifierArray = cell.getQualifierArray();
+    final ScalarWriter columnWriter = familyWriter.getOrCreateColumnWriter(
+        new String(qualifierArray, qualifierOffset, qualifierLength));
+
+    return new CellWriter(CellUtil.cloneFamily(cell), CellUtil.cloneQualifier(cell), columnWriter);
+  }
+
+  private FamilyWriter getOrCreateFamilyWriter(String familyName) {
+    FamilyWriter familyWriter = familyWriters.get(familyName);
+    if (familyWriter == null) {
+      SchemaPath column = SchemaPath.getSimplePath(familyName);
+      int index = rowWriter.tupleSchema().index(familyName);
+      if (index == -1) {
+        index = rowWriter.addColumn(MaterializedField.create(column.getAsNamePart().getName(), COLUMN_FAMILY_TYPE));
+      }
+      familyWriter = new FamilyWriter(rowWriter.tuple(index));
+      getColumns().add(column);
+      familyWriters.put(familyName, familyWriter);
+    }
+    return familyWriter;
+  }
+
+  /**
+   * Writer for one column family map along with the writers for the
+   * qualifiers seen so far within that family.
+   */
+  private static class FamilyWriter {
+    private final TupleWriter mapWriter;
+    private final Map<String, ScalarWriter> columnWriters = new HashMap<>();
+
+    public FamilyWriter(TupleWriter mapWriter) {
+      this.mapWriter = mapWriter;
+    }
+
+    public ScalarWriter getOrCreateColumnWriter(String qualifier) {
+      ScalarWriter columnWriter = columnWriters.get(qualifier);
+      if (columnWriter == null) {
+        int index = mapWriter.tupleSchema().index(qualifier);
+        if (index == -1) {
+          index = mapWriter.addColumn(MaterializedField.create(qualifier, COLUMN_TYPE));
         }
-        getColumns().add(column);
-        familyVectorMap.put(familyName, v);
+        columnWriter = mapWriter.scalar(index);
+        columnWriters.put(qualifier, columnWriter);
       }
-      return v;
-    } catch (SchemaChangeException e) {
-      throw new DrillRuntimeException(e);
+      return columnWriter;
     }
   }
 
-  private NullableVarBinaryVector getOrCreateColumnVector(MapVector mv, String qualifier) {
-    int oldSize = mv.size();
-    NullableVarBinaryVector v = mv.addOrGet(qualifier, COLUMN_TYPE, NullableVarBinaryVector.class);
-    if (oldSize != mv.size()) {
-      v.allocateNew();
+  /**
+   * Column writer of a cell along with the family and qualifier of the cell.
+   */
+  private static class CellWriter {
+    private final byte[] family;
+    private final byte[] qualifier;
+    private final ScalarWriter columnWriter;
+
+    public CellWriter(byte[] family, byte[] qualifier, ScalarWriter columnWriter) {
+      this.family = family;
+      this.qualifier = qualifier;
+      this.columnWriter = columnWriter;
+    }
+
+    public boolean matches(Cell cell) {
+      return CellUtil.matchingQualifier(cell, qualifier) && CellUtil.matchingFamily(cell, family);
     }
-    return v;
   }
 
   @Override
-  public void close() {
+  protected void cleanup() {
     try {
       if (resultScanner != null) {
         resultScanner.close();
@@ -314,28 +416,4 @@ public class HBaseRecordReader extends AbstractRecordReader implements DrillHBas
       logger.warn("Failure while closing HBase table: " + hbaseTableName, e);
     }
   }
-
-  private void setOutputRowCount(int count) {
-    for (ValueVector vv : familyVectorMap.values()) {
-      vv.getMutator().setValueCount(count);
-    }
-    if (rowKeyVector != null) {
-      rowKeyVector.getMutator().setValueCount(count);
-    }
-  }
-
-  /**
-   * Checks if new row can be added in batch. Row can be added if:
-   * <ul>
-   *   <li>current row count does not exceed max allowed one</li>
-   *   <li>allocated memory does not exceed max allowed one</li>
-   * </ul>
-   *
-   * @param rowCount current row count
-   * @return true if new row can be added in batch, false otherwise
-   */
-  private boolean canAddNewRow(int rowCount) {
-    return rowCount < TARGET_RECORD_COUNT &&
-        operatorContext.getAllocator().getAllocatedMemory() < MAX_ALLOCATED_MEMORY_PER_BATCH;
-  }
 }
@@ -17,6 +17,7 @@
  */
 package org.apache.drill.exec.store.hbase;
 
+import java.util.List;
 
 import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.filter.Filter;
@@ -24,6 +25,7 @@ import org.apache.hadoop.hbase.util.Bytes;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class HBaseScanSpec {
@@ -34,12 +36,25 @@ public class HBaseScanSpec {
 
   protected Filter filter;
 
+  /**
+   * Sorted, distinct row keys when the filter selects only rows with these keys, which are then read with gets
+   * instead of a scan. Null when the rows are selected by a scan.
+   */
+  protected List<byte[]> rowKeys;
+
   @JsonCreator
   public HBaseScanSpec(@JsonProperty("tableName") String tableName,
                        @JsonProperty("startRow") byte[] startRow,
                        @JsonProperty("stopRow") byte[] stopRow,
                        @JsonProperty("serializedFilter") byte[] serializedFilter,
-                       @JsonProperty("filterString") String filterString) {
+                       @JsonProperty("filterString") String filterString,
+                       @JsonProperty("rowKeys") List<byte[]> rowKeys) {
+    this(tableName, startRow, stopRow, serializedFilter, filterString);
+    this.rowKeys = rowKeys;
+  }
+
+  public HBaseScanSpec(String tableName, byte[] startRow, byte[] stopRow, byte[] serializedFilter,
+                       String filterString) {
     if (serializedFilter != null && filterString != null) {
       throw new IllegalArgumentException("The parameters 'serializedFilter' or 'filterString' cannot be specified at the same time.");
     }
@@ -60,6 +75,11 @@ public class HBaseScanSpec {
     this.filter = filter;
   }
 
+  public HBaseScanSpec(String tableName, byte[] startRow, byte[] stopRow, Filter filter, List<byte[]> rowKeys) {
+    this(tableName, startRow, stopRow, filter);
+    this.rowKeys = rowKeys;
+  }
+
   public HBaseScanSpec(String tableName) {
     this.tableName = tableName;
   }
@@ -85,12 +105,18 @@ public class HBaseScanSpec {
     return (this.filter != null) ? HBaseUtils.serializeFilter(this.filter) : null;
   }
 
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public List<byte[]> getRowKeys() {
+    return rowKeys;
+  }
+
   @Override
   public String toString() {
     return "HBaseScanSpec [tableName=" + tableName
         + ", startRow=" + (startRow == null ? null : Bytes.toStringBinary(startRow))
         + ", stopRow=" + (stopRow == null ? null : Bytes.toStringBinary(stopRow))
         + ", filter=" + (filter == null ? null : filter.toString())
+        + (rowKeys == null ? "" : ", rowKeys=" + HBaseUtils.toStringBinary(rowKeys))
         + "]";
   }
 }
@@ -36,6 +36,7 @@ import org.apache.hadoop.hbase.util.Bytes;
 import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.google.common.base.Preconditions;
@@ -122,6 +123,7 @@ public class HBaseSubScan extends AbstractBase implements SubScan {
     protected byte[] startRow;
     protected byte[] stopRow;
     protected byte[] serializedFilter;
+    protected List<byte[]> rowKeys;
 
     @JsonCreator
     public HBaseSubScanSpec(@JsonProperty("tableName") String tableName,
@@ -129,7 +131,14 @@ public class HBaseSubScan extends AbstractBase implements SubScan {
                             @JsonProperty("startRow") byte[] startRow,
                             @JsonProperty("stopRow") byte[] stopRow,
                             @JsonProperty("serializedFilter") byte[] serializedFilter,
-                            @JsonProperty("filterString") String filterString) {
+                            @JsonProperty("filterString") String filterString,
+                            @JsonProperty("rowKeys") List<byte[]> rowKeys) {
+      this(tableName, regionServer, startRow, stopRow, serializedFilter, filterString);
+      this.rowKeys = rowKeys;
+    }
+
+    public HBaseSubScanSpec(String tableName, String regionServer, byte[] startRow, byte[] stopRow,
+                            byte[] serializedFilter, String filterString) {
       if (serializedFilter != null && filterString != null) {
         throw new IllegalArgumentException("The parameters 'serializedFilter' or 'filterString' cannot be specified at the same time.");
       }
@@ -203,12 +212,26 @@ public class HBaseSubScan extends AbstractBase implements SubScan {
       return this;
     }
 
+    /**
+     * @return keys of the rows to read with gets instead of scanning from start to stop row, null for a scan
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<byte[]> getRowKeys() {
+      return rowKeys;
+    }
+
+    public HBaseSubScanSpec setRowKeys(List<byte[]> rowKeys) {
+      this.rowKeys = rowKeys;
+      return this;
+    }
+
     @Override
     public String toString() {
       return "HBaseScanSpec [tableName=" + tableName
           + ", startRow=" + (startRow == null ? null : Bytes.toStringBinary(startRow))
           + ", stopRow=" + (stopRow == null ? null : Bytes.toStringBinary(stopRow))
           + ", filter=" + (getScanFilter() == null ? null : getScanFilter().toString())
+          + (rowKeys == null ? "" : ", rowKeys=" + HBaseUtils.toStringBinary(rowKeys))
           + ", regionServer=" + regionServer + "]";
     }
   }
@@ -20,6 +20,7 @@ package org.apache.drill.exec.store.hbase;
 import java.io.IOException;
 import java.nio.charset.CharacterCodingException;
 import java.util.List;
+import java.util.TreeSet;
 
 import org.apache.drill.common.exceptions.DrillRuntimeException;
 import org.apache.drill.common.expression.SchemaPath;
@@ -142,6 +143,59 @@ public class HBaseUtils {
     return Bytes.compareTo(left, right) < 0 ? left : right;
   }
 
+  /**
+   * @return sorted, distinct row keys contained in either list, null if any of the lists is null
+   */
+  public static List<byte[]> unionOfRowKeys(List<byte[]> left, List<byte[]> right) {
+    if (left == null || right == null) {
+      return null;
+    }
+    TreeSet<byte[]> keys = new TreeSet<>(Bytes.BYTES_COMPARATOR);
+    keys.addAll(left);
+    keys.addAll(right);
+    return Lists.newArrayList(keys);
+  }
+
+  /**
+   * @return sorted, distinct row keys contained in both lists, the other list if one of them is null
+   */
+  public static List<byte[]> intersectionOfRowKeys(List<byte[]> left, List<byte[]> right) {
+    if (left == null || right == null) {
+      return left == null ? right : left;
+    }
+    TreeSet<byte[]> keys = new TreeSet<>(Bytes.BYTES_COMPARATOR);
+    keys.addAll(left);
+    TreeSet<byte[]> rightKeys = new TreeSet<>(Bytes.BYTES_COMPARATOR);
+    rightKeys.addAll(right);
+    keys.retainAll(rightKeys);
+    return Lists.newArrayList(keys);
+  }
+
+  /**
+   * @return row keys of the list in the range from startRow inclusive to stopRow exclusive, where empty bounds are
+   * unbounded, or null if the list is null
+   */
+  public static List<byte[]> rowKeysInRange(List<byte[]> rowKeys, byte[] startRow, byte[] stopRow) {
+    if (rowKeys == null) {
+      return null;
+    }
+    List<byte[]> keys = Lists.newArrayList();
+    for (byte[] key : rowKeys) {
+      if ((startRow == null || startRow.length == 0 || Bytes.compareTo(key, startRow) >= 0)
+          && (stopRow == null || stopRow.length == 0 || Bytes.compareTo(key, stopRow) < 0)) {
+        keys.add(key);
+      }
+    }
+    return keys;
+  }
+
+  public static String toStringBinary(List<byte[]> rowKeys) {
+    List<String> keys = Lists.newArrayListWithCapacity(rowKeys.size());
+    for (byte[] key : rowKeys) {
+      keys.add(Bytes.toStringBinary(key));
+    }
+    return keys.toString();
+  }
 
   /**
    * Verify the presence of a column family in the schema path of the hbase table or whether the schema path is
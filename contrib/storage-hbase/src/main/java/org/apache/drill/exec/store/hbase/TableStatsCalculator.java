@@ -59,6 +59,9 @@ public class TableStatsCalculator {
   // Maps each region to its size in bytes.
   private Map<byte[], Long> sizeMap = null;
 
+  // Maps each region to its size in MB, as reported by the region servers.
+  private Map<byte[], Long> sizeMBMap = null;
+
   private int avgRowSizeInBytes = 1;
 
   private int colsPerRow = 1;
@@ -135,6 +138,7 @@ public class TableStatsCalculator {
       }
 
       sizeMap = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+      sizeMBMap = new TreeMap<>(Bytes.BYTES_COMPARATOR);
 
       Collection<ServerName> servers = clusterStatus.getServers();
       // iterate all cluster regions, filter regions from our table and compute their size
@@ -147,6 +151,7 @@ public class TableStatsCalculator {
           if (tableRegions.contains(regionId)) {
             long regionSizeMB = regionLoad.getMemStoreSizeMB() + regionLoad.getStorefileSizeMB();
             sizeMap.put(regionId, (regionSizeMB > 0 ? regionSizeMB : 1) * estimatedRowCount);
+            sizeMBMap.put(regionId, regionSizeMB);
             logger.debug("Region {} has size {} MB.", regionLoad.getNameAsString(), regionSizeMB);
           }
         }
@@ -182,6 +187,14 @@ public class TableStatsCalculator {
     }
   }
 
+  /**
+   * Returns size of given region in MB, or -1 if region sizes were not calculated or the region was not found.
+   */
+  public long getRegionSizeInMB(byte[] regionId) {
+    Long size = sizeMBMap == null ? null : sizeMBMap.get(regionId);
+    return size == null ? -1 : size;
+  }
+
   public int getAvgRowSizeInBytes() {
     return avgRowSizeInBytes;
   }
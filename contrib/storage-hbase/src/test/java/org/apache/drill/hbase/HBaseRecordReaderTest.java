@@ -17,12 +17,33 @@
  */
 package org.apache.drill.hbase;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
 import org.apache.drill.categories.HbaseStorageTest;
 import org.apache.drill.categories.SlowTest;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.physical.base.GroupScan;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.store.ResultSetLoaderRecordReader;
+import org.apache.drill.exec.store.TestOutputMutator;
+import org.apache.drill.exec.store.hbase.DrillHBaseConstants;
+import org.apache.drill.exec.store.hbase.HBaseRecordReader;
+import org.apache.drill.exec.store.hbase.HBaseSubScan.HBaseSubScanSpec;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.test.OperatorFixture;
+import org.apache.hadoop.hbase.HConstants;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import com.google.common.collect.Sets;
+
 import static org.apache.drill.test.TestBuilder.mapOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @Category({SlowTest.class, HbaseStorageTest.class})
 public class HBaseRecordReaderTest extends BaseHBaseTest {
@@ -93,4 +114,55 @@ public class HBaseRecordReaderTest extends BaseHBaseTest {
       .go();
   }
 
+  @Test
+  public void testReaderAllColumns() throws Exception {
+    Set<String> columns = readTable1(GroupScan.ALL_COLUMNS);
+    assertEquals(Sets.newHashSet(DrillHBaseConstants.ROW_KEY, "f", "f2"), columns);
+  }
+
+  @Test
+  public void testReaderRowKeyOnly() throws Exception {
+    Set<String> columns = readTable1(Collections.singletonList(DrillHBaseConstants.ROW_KEY_PATH));
+    assertEquals(Collections.singleton(DrillHBaseConstants.ROW_KEY), columns);
+  }
+
+  /**
+   * Reads the whole of TestTable1 with a reader, outside of any query, and
+   * checks the row count and the batch metrics of the reader.
+   *
+   * @return the names of the columns created by the reader
+   */
+  private Set<String> readTable1(List<SchemaPath> projectedColumns) throws Exception {
+    HBaseSubScanSpec spec = new HBaseSubScanSpec(HBaseTestsSuite.TEST_TABLE_1.getNameAsString(), null,
+        HConstants.EMPTY_START_ROW, HConstants.EMPTY_END_ROW, null, null);
+    Set<String> columns = new TreeSet<>();
+    try (OperatorFixture fixture = OperatorFixture.standardFixture(dirTestWatcher)) {
+      HBaseRecordReader reader = new HBaseRecordReader(HBaseTestsSuite.getConnection(), spec, projectedColumns);
+      OperatorContext context = new OperatorFixture.MockOperatorContext(fixture.getFragmentContext(),
+          fixture.allocator().newChildAllocator("hbase", 0, Long.MAX_VALUE), null);
+      TestOutputMutator mutator = new TestOutputMutator(fixture.allocator());
+      try {
+        reader.setup(context, mutator);
+        long rowCount = 0;
+        int batchRows;
+        do {
+          reader.allocate(Collections.<String, ValueVector>emptyMap());
+          batchRows = reader.next();
+          rowCount += batchRows;
+        } while (batchRows > 0);
+        for (VectorWrapper<?> w : mutator) {
+          columns.add(w.getField().getName());
+        }
+
+        assertEquals(8, rowCount);
+        assertEquals(1, context.getStats().getLongStat(ResultSetLoaderRecordReader.Metric.BATCH_COUNT));
+        assertTrue(context.getStats().getLongStat(ResultSetLoaderRecordReader.Metric.MAX_BATCH_BYTES) > 0);
+      } finally {
+        reader.close();
+        mutator.clear();
+        context.close();
+      }
+    }
+    return columns;
+  }
 }
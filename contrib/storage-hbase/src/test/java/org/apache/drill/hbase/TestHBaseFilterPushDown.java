@@ -740,6 +740,42 @@ public class TestHBaseFilterPushDown extends BaseHBaseTest {
 
   }
 
+  @Test
+  public void testFilterPushDownRowKeyInPredMultiGet() throws Exception {
+    setColumnWidths(new int[] {8, 38, 38});
+    final String sql = "SELECT\n"
+        + "  *\n"
+        + "FROM\n"
+        + "  hbase.`[TABLE_NAME]` tableName\n"
+        + "WHERE\n"
+        + "  row_key in ('b4', 'a2', 'zz')";
+
+    runHBaseSQLVerifyCount(sql, 2);
+
+    final String[] expectedPlan = {".*rowKeys=\\[a2, b4, zz\\].*"};
+    final String[] excludedPlan ={};
+    final String sqlHBase = canonizeHBaseSQL(sql);
+    PlanTestBase.testPlanMatchingPatterns(sqlHBase, expectedPlan, excludedPlan);
+  }
+
+  @Test
+  public void testFilterPushDownRowKeyInPredAndRange() throws Exception {
+    setColumnWidths(new int[] {8, 38, 38});
+    final String sql = "SELECT\n"
+        + "  *\n"
+        + "FROM\n"
+        + "  hbase.`[TABLE_NAME]` tableName\n"
+        + "WHERE\n"
+        + "  row_key in ('b4', 'a2') and row_key > 'a3'";
+
+    runHBaseSQLVerifyCount(sql, 1);
+
+    final String[] expectedPlan = {".*rowKeys=\\[b4\\].*"};
+    final String[] excludedPlan ={};
+    final String sqlHBase = canonizeHBaseSQL(sql);
+    PlanTestBase.testPlanMatchingPatterns(sqlHBase, expectedPlan, excludedPlan);
+  }
+
   @Test
   public void testFilterPushDownOrRowKeyEqualRangePred() throws Exception {
     setColumnWidths(new int[] {8, 38, 38});
@@ -18,6 +18,7 @@
 package org.apache.drill.hbase;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -33,6 +34,7 @@ import org.apache.drill.categories.SlowTest;
 import org.apache.hadoop.hbase.HRegionInfo;
 import org.apache.hadoop.hbase.ServerName;
 import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -301,6 +303,27 @@ public class TestHBaseRegionScanAssignments extends BaseHBaseTest {
     testParallelizationWidth(scan, i);
   }
 
+  @Test
+  public void testSplitKeyRange() throws Exception {
+    byte[][] keys = HBaseGroupScan.splitKeyRange(splits[1], splits[2], 4);
+    assertEquals(5, keys.length);
+    assertTrue(Bytes.equals(splits[1], keys[0]));
+    assertTrue(Bytes.equals(splits[2], keys[4]));
+    for (int i = 0; i < keys.length - 1; i++) {
+      assertTrue(Bytes.compareTo(keys[i], keys[i + 1]) < 0);
+    }
+
+    // the last range of the last region ends at the end of the table
+    keys = HBaseGroupScan.splitKeyRange(splits[0], splits[0], 2);
+    assertEquals(3, keys.length);
+    assertEquals(0, keys[0].length);
+    assertTrue(keys[1].length > 0);
+    assertEquals(0, keys[2].length);
+
+    // a range without keys between its bounds is not split
+    assertNull(HBaseGroupScan.splitKeyRange("10".getBytes(), "10\0".getBytes(), 4));
+  }
+
   private void testParallelizationWidth(HBaseGroupScan scan, int i) {
     try {
       scan.getSpecificScan(i);
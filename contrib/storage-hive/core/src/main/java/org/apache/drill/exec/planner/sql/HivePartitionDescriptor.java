@@ -40,9 +40,11 @@ import org.apache.hadoop.hive.metastore.api.Partition;
 
 import java.util.BitSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.hadoop.hive.serde2.typeinfo.PrimitiveTypeInfo;
 import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoUtils;
@@ -169,12 +171,14 @@ public class HivePartitionDescriptor extends AbstractPartitionDescriptor {
     List<HiveTableWrapper.HivePartitionWrapper> oldPartitions = origReadEntry.partitions;
     List<HiveTableWrapper.HivePartitionWrapper> newPartitions = Lists.newLinkedList();
 
+    Set<String> locations = new HashSet<>();
+    for (PartitionLocation newPartitionLocation: newPartitionLocations) {
+      locations.add(newPartitionLocation.getEntirePartitionLocation());
+    }
+
     for (HiveTableWrapper.HivePartitionWrapper part: oldPartitions) {
-      String partitionLocation = part.getPartition().getSd().getLocation();
-      for (PartitionLocation newPartitionLocation: newPartitionLocations) {
-        if (partitionLocation.equals(newPartitionLocation.getEntirePartitionLocation())) {
-          newPartitions.add(part);
-        }
+      if (locations.contains(part.getPartition().getSd().getLocation())) {
+        newPartitions.add(part);
       }
     }
 
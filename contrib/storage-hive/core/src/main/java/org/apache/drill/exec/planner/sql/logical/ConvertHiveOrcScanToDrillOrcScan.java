@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.sql.logical;
+
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.drill.exec.planner.logical.DrillScanRel;
+import org.apache.drill.exec.planner.logical.RelOptHelper;
+import org.apache.drill.exec.store.StoragePluginOptimizerRule;
+import org.apache.drill.exec.store.hive.HiveDrillNativeOrcScan;
+import org.apache.drill.exec.store.hive.HiveReadEntry;
+import org.apache.drill.exec.store.hive.HiveScan;
+import org.apache.drill.exec.store.hive.readers.HiveOrcNativeReader;
+
+/**
+ * Converts a Hive scan of an ORC table to {@link HiveDrillNativeOrcScan}, which reads the ORC files with Drill's
+ * native ORC reader instead of the Hive SerDe. The native reader returns the same types as the SerDe reader, so
+ * no project is needed on top of the new scan.
+ */
+public class ConvertHiveOrcScanToDrillOrcScan extends StoragePluginOptimizerRule {
+
+  public static final ConvertHiveOrcScanToDrillOrcScan INSTANCE = new ConvertHiveOrcScanToDrillOrcScan();
+
+  private ConvertHiveOrcScanToDrillOrcScan() {
+    super(RelOptHelper.any(DrillScanRel.class), "ConvertHiveScanToHiveDrillNativeScan:Orc");
+  }
+
+  /**
+   * Rule is matched when all of the following match:
+   * 1) GroupScan in given DrillScanRel is an {@link HiveScan}
+   * 2) {@link HiveScan} is not already rewritten using Drill's native readers
+   * 3) The table and all its partitions can be read with {@link HiveOrcNativeReader},
+   *    see {@link HiveOrcNativeReader#canRead}
+   *
+   * @param call rule call
+   * @return True if the rule can be applied. False otherwise
+   */
+  @Override
+  public boolean matches(RelOptRuleCall call) {
+    final DrillScanRel scanRel = call.rel(0);
+
+    if (!(scanRel.getGroupScan() instanceof HiveScan) || ((HiveScan) scanRel.getGroupScan()).isNativeReader()) {
+      return false;
+    }
+
+    final HiveReadEntry hiveReadEntry = ((HiveScan) scanRel.getGroupScan()).getHiveReadEntry();
+    return HiveOrcNativeReader.canRead(hiveReadEntry.getTable(), hiveReadEntry.getPartitions());
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final DrillScanRel hiveScanRel = call.rel(0);
+    final HiveDrillNativeOrcScan nativeScan = new HiveDrillNativeOrcScan((HiveScan) hiveScanRel.getGroupScan());
+
+    call.transformTo(new DrillScanRel(
+        hiveScanRel.getCluster(),
+        hiveScanRel.getTraitSet(),
+        hiveScanRel.getTable(),
+        nativeScan,
+        hiveScanRel.getRowType(),
+        hiveScanRel.getColumns()));
+
+    // the cost of the native scan is lower, but make sure the SerDe based scan is not chosen,
+    // see ConvertHiveParquetScanToDrillParquetScan
+    call.getPlanner().setImportance(hiveScanRel, 0.0);
+  }
+}
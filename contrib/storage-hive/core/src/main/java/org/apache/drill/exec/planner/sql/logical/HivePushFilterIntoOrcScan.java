@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.sql.logical;
+
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.rel.RelNode;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.exec.planner.logical.DrillOptiq;
+import org.apache.drill.exec.planner.logical.DrillParseContext;
+import org.apache.drill.exec.planner.logical.RelOptHelper;
+import org.apache.drill.exec.planner.physical.FilterPrel;
+import org.apache.drill.exec.planner.physical.PrelUtil;
+import org.apache.drill.exec.planner.physical.ScanPrel;
+import org.apache.drill.exec.store.StoragePluginOptimizerRule;
+import org.apache.drill.exec.store.hive.HiveDrillNativeOrcScan;
+import org.apache.drill.exec.store.hive.readers.HiveOrcNativeReader;
+import org.apache.drill.exec.store.hive.readers.OrcSearchArgumentBuilder;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Pushes a filter into a {@link HiveDrillNativeOrcScan}. The native ORC reader converts the filter into an ORC
+ * search argument to skip stripes and row groups, so the filter is kept above the scan.
+ */
+public class HivePushFilterIntoOrcScan extends StoragePluginOptimizerRule {
+
+  public static final HivePushFilterIntoOrcScan INSTANCE = new HivePushFilterIntoOrcScan();
+
+  private HivePushFilterIntoOrcScan() {
+    super(RelOptHelper.some(FilterPrel.class, RelOptHelper.any(ScanPrel.class)), "HivePushFilterIntoOrcScan:Filter_On_Scan");
+  }
+
+  @Override
+  public boolean matches(RelOptRuleCall call) {
+    final ScanPrel scan = call.rel(1);
+    return scan.getGroupScan() instanceof HiveDrillNativeOrcScan
+        && ((HiveDrillNativeOrcScan) scan.getGroupScan()).getFilter() == null;
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final FilterPrel filter = call.rel(0);
+    final ScanPrel scan = call.rel(1);
+    final HiveDrillNativeOrcScan hiveScan = (HiveDrillNativeOrcScan) scan.getGroupScan();
+
+    final LogicalExpression condition = DrillOptiq.toDrill(
+        new DrillParseContext(PrelUtil.getPlannerSettings(call.getPlanner())), scan, filter.getCondition());
+    // push the filter only if the reader can use some part of it
+    if (OrcSearchArgumentBuilder.build(condition,
+        HiveOrcNativeReader.getColumnTypes(hiveScan.getHiveReadEntry().getTable())) == null) {
+      return;
+    }
+
+    final RelNode newScan = ScanPrel.create(scan, scan.getTraitSet(), hiveScan.clone(condition), scan.getRowType());
+    call.transformTo(filter.copy(filter.getTraitSet(), ImmutableList.of(newScan)));
+  }
+}
@@ -30,6 +30,7 @@ import org.apache.hadoop.hive.conf.HiveConf;
 import org.apache.hadoop.hive.conf.HiveConf.ConfVars;
 import org.apache.hadoop.hive.metastore.HiveMetaStoreClient;
 import org.apache.hadoop.hive.metastore.IMetaStoreClient;
+import org.apache.hadoop.hive.metastore.Warehouse;
 import org.apache.hadoop.hive.metastore.api.InvalidOperationException;
 import org.apache.hadoop.hive.metastore.api.MetaException;
 import org.apache.hadoop.hive.metastore.api.NoSuchObjectException;
@@ -45,8 +46,10 @@ import org.apache.thrift.TException;
 import java.io.IOException;
 import java.security.PrivilegedExceptionAction;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
@@ -66,6 +69,9 @@ public abstract class DrillHiveMetaStoreClient extends HiveMetaStoreClient {
   protected final LoadingCache<String, List<String>> tableNameLoader;
   protected final LoadingCache<TableName, HiveReadEntry> tableLoaders;
 
+  /** Maximum number of partitions fetched from the metastore in a single call */
+  private final int partitionBatchSize;
+
 
   /**
    * Create a DrillHiveMetaStoreClient for cases where:
@@ -139,6 +145,8 @@ public abstract class DrillHiveMetaStoreClient extends HiveMetaStoreClient {
   private DrillHiveMetaStoreClient(final HiveConf hiveConf) throws MetaException {
     super(hiveConf);
 
+    partitionBatchSize = hiveConf.getIntVar(ConfVars.METASTORE_BATCH_RETRIEVE_TABLE_PARTITION_MAX);
+
     int hmsCacheTTL = 60; // default is 60 seconds
     boolean expireAfterWrite = true; // default is expire after write.
 
@@ -279,7 +287,7 @@ public abstract class DrillHiveMetaStoreClient extends HiveMetaStoreClient {
 
   /** Helper method which gets table metadata. Retries once if the first call to fetch the metadata fails */
   protected static HiveReadEntry getHiveReadEntryHelper(final IMetaStoreClient mClient, final String dbName,
-      final String tableName) throws TException {
+      final String tableName, final int partitionBatchSize) throws TException {
     Table table = null;
     try {
       table = mClient.getTable(dbName, tableName);
@@ -302,7 +310,7 @@ public abstract class DrillHiveMetaStoreClient extends HiveMetaStoreClient {
 
     List<Partition> partitions;
     try {
-      partitions = mClient.listPartitions(dbName, tableName, (short) -1);
+      partitions = listPartitionsInBatches(mClient, table, partitionBatchSize);
     } catch (NoSuchObjectException | MetaException e) {
       throw e;
     } catch (TException e) {
@@ -313,7 +321,7 @@ public abstract class DrillHiveMetaStoreClient extends HiveMetaStoreClient {
         logger.warn("Failure while attempting to close existing hive metastore connection. May leak connection.", ex);
       }
       mClient.reconnect();
-      partitions = mClient.listPartitions(dbName, tableName, (short) -1);
+      partitions = listPartitionsInBatches(mClient, table, partitionBatchSize);
     }
 
     List<HiveTableWrapper.HivePartitionWrapper> hivePartitionWrappers = Lists.newArrayList();
@@ -329,6 +337,45 @@ public abstract class DrillHiveMetaStoreClient extends HiveMetaStoreClient {
     return new HiveReadEntry(new HiveTableWrapper(hiveTable), hivePartitionWrappers);
   }
 
+  /**
+   * Lists the partitions of the table in batches of the given size, so that tables with many partitions are not
+   * transferred from the metastore in a single call. The first batch is read directly: when the table has fewer
+   * partitions than a batch, which is the common case, this is the only call. Otherwise the partition names are
+   * listed and the partitions not read yet are got by name, a batch at a time. Tables without partition columns are
+   * not listed at all.
+   */
+  private static List<Partition> listPartitionsInBatches(final IMetaStoreClient mClient, final Table table,
+      final int batchSize) throws TException {
+    final String dbName = table.getDbName();
+    final String tableName = table.getTableName();
+    if (table.getPartitionKeysSize() == 0) {
+      return Collections.emptyList();
+    }
+    if (batchSize <= 0 || batchSize > Short.MAX_VALUE) {
+      return mClient.listPartitions(dbName, tableName, (short) -1);
+    }
+
+    final List<Partition> partitions = Lists.newArrayList(mClient.listPartitions(dbName, tableName, (short) batchSize));
+    if (partitions.size() < batchSize) {
+      return partitions;
+    }
+
+    final Set<String> fetchedNames = new HashSet<>();
+    for (Partition partition : partitions) {
+      fetchedNames.add(Warehouse.makePartName(table.getPartitionKeys(), partition.getValues()));
+    }
+    final List<String> remainingNames = Lists.newArrayList();
+    for (String partitionName : mClient.listPartitionNames(dbName, tableName, (short) -1)) {
+      if (!fetchedNames.contains(partitionName)) {
+        remainingNames.add(partitionName);
+      }
+    }
+    for (List<String> batch : Lists.partition(remainingNames, batchSize)) {
+      partitions.addAll(mClient.getPartitionsByNames(dbName, tableName, batch));
+    }
+    return partitions;
+  }
+
   /**
    * Helper method which stores partition columns in table columnListCache. If table columnListCache has exactly the
    * same columns as partition, in partition stores columns index that corresponds to identical column list.
@@ -532,7 +579,8 @@ public abstract class DrillHiveMetaStoreClient extends HiveMetaStoreClient {
     @Override
     public HiveReadEntry load(TableName key) throws Exception {
       synchronized (DrillHiveMetaStoreClient.this) {
-        return getHiveReadEntryHelper(DrillHiveMetaStoreClient.this, key.getDatabaseName(), key.getTableName());
+        return getHiveReadEntryHelper(DrillHiveMetaStoreClient.this, key.getDatabaseName(), key.getTableName(),
+            partitionBatchSize);
       }
     }
   }
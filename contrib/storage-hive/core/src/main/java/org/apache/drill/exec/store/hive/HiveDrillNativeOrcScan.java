@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.hive;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.drill.common.exceptions.ExecutionSetupException;
+import org.apache.drill.common.expression.ExpressionStringBuilder;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.physical.base.GroupScan;
+import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.physical.base.ScanStats;
+import org.apache.drill.exec.physical.base.SubScan;
+import org.apache.drill.exec.store.StoragePluginRegistry;
+import org.apache.drill.exec.store.hive.HiveTableWrapper.HivePartitionWrapper;
+
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Extension of {@link HiveScan} which reads ORC files of a Hive table with the native ORC reader
+ * ({@link org.apache.drill.exec.store.hive.readers.HiveOrcNativeReader}) instead of the Hive SerDe.
+ * Holds the filter pushed into the scan, which the reader converts into an ORC search argument.
+ */
+@JsonTypeName("hive-drill-native-orc-scan")
+public class HiveDrillNativeOrcScan extends HiveScan {
+
+  private LogicalExpression filter;
+
+  @JsonCreator
+  public HiveDrillNativeOrcScan(@JsonProperty("userName") String userName,
+                                @JsonProperty("hiveReadEntry") HiveReadEntry hiveReadEntry,
+                                @JsonProperty("hiveStoragePluginConfig") HiveStoragePluginConfig hiveStoragePluginConfig,
+                                @JsonProperty("columns") List<SchemaPath> columns,
+                                @JsonProperty("filter") LogicalExpression filter,
+                                @JacksonInject StoragePluginRegistry pluginRegistry) throws ExecutionSetupException {
+    super(userName, hiveReadEntry, hiveStoragePluginConfig, columns, pluginRegistry);
+    this.filter = filter;
+  }
+
+  public HiveDrillNativeOrcScan(String userName, HiveReadEntry hiveReadEntry, HiveStoragePlugin hiveStoragePlugin,
+                                List<SchemaPath> columns, HiveMetadataProvider metadataProvider,
+                                LogicalExpression filter) throws ExecutionSetupException {
+    super(userName, hiveReadEntry, hiveStoragePlugin, columns, metadataProvider);
+    this.filter = filter;
+  }
+
+  public HiveDrillNativeOrcScan(HiveScan hiveScan) {
+    super(hiveScan);
+  }
+
+  public HiveDrillNativeOrcScan(HiveDrillNativeOrcScan that) {
+    super(that);
+    this.filter = that.filter;
+  }
+
+  @JsonProperty
+  public LogicalExpression getFilter() {
+    return filter;
+  }
+
+  /**
+   * @param filter filter to push into the scan
+   * @return copy of this scan with the given filter
+   */
+  public HiveDrillNativeOrcScan clone(LogicalExpression filter) {
+    final HiveDrillNativeOrcScan newScan = new HiveDrillNativeOrcScan(this);
+    newScan.filter = filter;
+    return newScan;
+  }
+
+  @Override
+  public HiveScan clone(HiveReadEntry hiveReadEntry) throws ExecutionSetupException {
+    return new HiveDrillNativeOrcScan(getUserName(), hiveReadEntry, getStoragePlugin(), columns, getMetadataProvider(),
+        filter);
+  }
+
+  @Override
+  public GroupScan clone(List<SchemaPath> columns) {
+    final HiveDrillNativeOrcScan newScan = new HiveDrillNativeOrcScan(this);
+    newScan.columns = columns;
+    return newScan;
+  }
+
+  @Override
+  public SubScan getSpecificScan(int minorFragmentId) throws ExecutionSetupException {
+    try {
+      return new HiveDrillNativeOrcSubScan((HiveSubScan) super.getSpecificScan(minorFragmentId), filter);
+    } catch (IOException | ReflectiveOperationException e) {
+      throw new ExecutionSetupException(e);
+    }
+  }
+
+  @Override
+  public ScanStats getScanStats() {
+    final ScanStats nativeHiveScanStats = super.getScanStats();
+
+    // As Drill's native ORC record reader does not go through the SerDe, divide the CPU cost
+    // by a factor to let the planner choose HiveDrillNativeOrcScan over HiveScan with SerDes.
+    return new ScanStats(
+        nativeHiveScanStats.getGroupScanProperty(),
+        nativeHiveScanStats.getRecordCount(),
+        nativeHiveScanStats.getCpuCost() / getSerDeOverheadFactor(),
+        nativeHiveScanStats.getDiskCost());
+  }
+
+  @Override
+  public PhysicalOperator getNewWithChildren(List<PhysicalOperator> children) throws ExecutionSetupException {
+    return new HiveDrillNativeOrcScan(this);
+  }
+
+  @Override
+  public String toString() {
+    final List<HivePartitionWrapper> partitions = getHiveReadEntry().getHivePartitionWrappers();
+    int numPartitions = partitions == null ? 0 : partitions.size();
+    return "HiveDrillNativeOrcScan [table=" + getHiveReadEntry().getHiveTableWrapper()
+        + ", columns=" + columns
+        + ", numPartitions=" + numPartitions
+        + ", partitions= " + partitions
+        + ", inputDirectories=" + getMetadataProvider().getInputDirectories(getHiveReadEntry())
+        + (filter == null ? "" : ", filter=" + ExpressionStringBuilder.toString(filter))
+        + "]";
+  }
+
+  @JsonIgnore
+  @Override
+  public boolean isNativeReader() {
+    return true;
+  }
+}
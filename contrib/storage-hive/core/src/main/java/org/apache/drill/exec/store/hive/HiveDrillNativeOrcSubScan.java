@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.hive;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.drill.common.exceptions.ExecutionSetupException;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
+import org.apache.drill.exec.store.StoragePluginRegistry;
+
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Extension of {@link HiveSubScan} which reads ORC files with the native ORC reader, see {@link HiveDrillNativeOrcScan}.
+ */
+@JsonTypeName("hive-drill-native-orc-sub-scan")
+public class HiveDrillNativeOrcSubScan extends HiveSubScan {
+
+  private final LogicalExpression filter;
+
+  @JsonCreator
+  public HiveDrillNativeOrcSubScan(@JacksonInject StoragePluginRegistry registry,
+                                   @JsonProperty("userName") String userName,
+                                   @JsonProperty("splits") List<List<String>> splits,
+                                   @JsonProperty("hiveReadEntry") HiveReadEntry hiveReadEntry,
+                                   @JsonProperty("splitClasses") List<String> splitClasses,
+                                   @JsonProperty("columns") List<SchemaPath> columns,
+                                   @JsonProperty("filter") LogicalExpression filter,
+                                   @JsonProperty("hiveStoragePluginConfig") HiveStoragePluginConfig hiveStoragePluginConfig)
+      throws IOException, ExecutionSetupException, ReflectiveOperationException {
+    super(registry, userName, splits, hiveReadEntry, splitClasses, columns, hiveStoragePluginConfig);
+    this.filter = filter;
+  }
+
+  public HiveDrillNativeOrcSubScan(final HiveSubScan subScan, final LogicalExpression filter)
+      throws IOException, ReflectiveOperationException {
+    this(subScan.getUserName(), subScan.getSplits(), subScan.getHiveReadEntry(), subScan.getSplitClasses(),
+        subScan.getColumns(), subScan.getStoragePlugin(), filter);
+  }
+
+  private HiveDrillNativeOrcSubScan(final String userName,
+                                    final List<List<String>> splits,
+                                    final HiveReadEntry hiveReadEntry,
+                                    final List<String> splitClasses,
+                                    final List<SchemaPath> columns,
+                                    final HiveStoragePlugin hiveStoragePlugin,
+                                    final LogicalExpression filter)
+      throws IOException, ReflectiveOperationException {
+    super(userName, splits, hiveReadEntry, splitClasses, columns, hiveStoragePlugin);
+    this.filter = filter;
+  }
+
+  @JsonProperty
+  public LogicalExpression getFilter() {
+    return filter;
+  }
+
+  @Override
+  public PhysicalOperator getNewWithChildren(List<PhysicalOperator> children) throws ExecutionSetupException {
+    try {
+      return new HiveDrillNativeOrcSubScan(getUserName(), getSplits(), getHiveReadEntry(), getSplitClasses(),
+          getColumns(), getStoragePlugin(), filter);
+    } catch (IOException | ReflectiveOperationException e) {
+      throw new ExecutionSetupException(e);
+    }
+  }
+
+  @Override
+  public int getOperatorType() {
+    return CoreOperatorType.HIVE_DRILL_NATIVE_ORC_SUB_SCAN_VALUE;
+  }
+}
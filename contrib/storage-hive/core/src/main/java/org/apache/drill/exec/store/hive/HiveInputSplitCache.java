@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.hive;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.drill.exec.store.hive.HiveMetadataProvider.LogicalInputSplit;
+import org.apache.hadoop.hive.conf.HiveConf;
+import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+
+/**
+ * Caches the input splits of Hive tables and partitions across queries, so that planning queries on tables with many
+ * partitions does not list the files of every selected partition again.
+ * <p>
+ * Entries are keyed by the storage descriptor and the parameters of the table or partition. Hive updates the
+ * parameters (last DDL time, number of files, total size) whenever the table or partition is altered or data is
+ * loaded into it through Hive, so such changes use a new entry. Files added to a location without Hive are picked up
+ * once the entry expires.
+ */
+public class HiveInputSplitCache {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(HiveInputSplitCache.class);
+
+  public static final String HIVE_SPLIT_CACHE_TTL = "hive.metastore.split-cache-ttl-seconds";
+  public static final String HIVE_SPLIT_CACHE_SIZE = "hive.metastore.split-cache-size";
+
+  private final Cache<Key, List<LogicalInputSplit>> cache;
+
+  public HiveInputSplitCache(final HiveConf hiveConf) {
+    int ttl = 300; // default is 5 minutes
+    int size = 100_000; // default is enough for the selected partitions of a few large tables
+
+    final String ttlProp = hiveConf.get(HIVE_SPLIT_CACHE_TTL);
+    if (!Strings.isNullOrEmpty(ttlProp)) {
+      ttl = Integer.valueOf(ttlProp);
+      logger.info("Hive input split cache ttl is set to {} seconds.", ttl);
+    }
+    final String sizeProp = hiveConf.get(HIVE_SPLIT_CACHE_SIZE);
+    if (!Strings.isNullOrEmpty(sizeProp)) {
+      size = Integer.valueOf(sizeProp);
+      logger.info("Hive input split cache size is set to {} entries.", size);
+    }
+
+    cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(ttl, TimeUnit.SECONDS)
+        .maximumSize(size)
+        .build();
+  }
+
+  /**
+   * Returns the input splits of the given table or partition, computing them with the loader if they are not cached.
+   *
+   * @param userName user the splits are computed for, splits are not shared between users
+   * @param table table to read
+   * @param partition partition to read, null for a non-partitioned table
+   * @param loader computes the input splits
+   * @return input splits bound to the given partition
+   */
+  public List<LogicalInputSplit> get(final String userName, final HiveTableWithColumnCache table,
+      final Partition partition, final Callable<List<LogicalInputSplit>> loader) throws ExecutionException {
+    final StorageDescriptor sd = partition == null ? table.getSd() : partition.getSd();
+    final Key key = new Key(userName, table.getDbName(), table.getTableName(), sd.getLocation(), sd.getInputFormat(),
+        table.getParameters(), partition == null ? null : partition.getParameters());
+    final List<LogicalInputSplit> splits = cache.get(key, loader);
+
+    // the cached splits may come from an equal partition object of an earlier query
+    final List<LogicalInputSplit> boundSplits = Lists.newArrayListWithCapacity(splits.size());
+    for (LogicalInputSplit split : splits) {
+      boundSplits.add(split.getPartition() == partition ? split : new LogicalInputSplit(split.getInputSplits(), partition));
+    }
+    return boundSplits;
+  }
+
+  /**
+   * Drops all cached input splits.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private static class Key {
+    private final String userName;
+    private final String dbName;
+    private final String tableName;
+    private final String location;
+    private final String inputFormat;
+    private final Map<String, String> tableParameters;
+    private final Map<String, String> partitionParameters;
+
+    private Key(String userName, String dbName, String tableName, String location, String inputFormat,
+        Map<String, String> tableParameters, Map<String, String> partitionParameters) {
+      this.userName = userName;
+      this.dbName = dbName;
+      this.tableName = tableName;
+      this.location = location;
+      this.inputFormat = inputFormat;
+      this.tableParameters = tableParameters;
+      this.partitionParameters = partitionParameters;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key other = (Key) o;
+      return Objects.equals(userName, other.userName) &&
+          Objects.equals(dbName, other.dbName) &&
+          Objects.equals(tableName, other.tableName) &&
+          Objects.equals(location, other.location) &&
+          Objects.equals(inputFormat, other.inputFormat) &&
+          Objects.equals(tableParameters, other.tableParameters) &&
+          Objects.equals(partitionParameters, other.partitionParameters);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(userName, dbName, tableName, location, inputFormat, tableParameters, partitionParameters);
+    }
+  }
+}
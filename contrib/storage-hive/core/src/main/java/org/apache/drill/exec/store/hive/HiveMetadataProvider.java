@@ -28,6 +28,7 @@ import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.drill.common.exceptions.DrillRuntimeException;
+import org.apache.drill.exec.store.TimedCallable;
 import org.apache.drill.exec.util.ImpersonationUtil;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -51,37 +52,46 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Class which provides methods to get metadata of given Hive table selection. It tries to use the stats stored in
  * MetaStore whenever available and delays the costly operation of loading of InputSplits until needed. When
- * loaded, InputSplits are cached to speedup subsequent access.
+ * loaded, InputSplits are cached to speedup subsequent access, and kept in the {@link HiveInputSplitCache} of the
+ * storage plugin for later queries. InputSplits of several partitions are computed in parallel.
  */
 public class HiveMetadataProvider {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(HiveMetadataProvider.class);
 
   public static final int RECORD_SIZE = 1024;
 
+  private static final int SPLIT_PARALLELISM = 16;
+  private static final int MAX_SPLIT_PARALLELISM = 64;
+
+  private final String userName;
   private final HiveReadEntry hiveReadEntry;
   private final UserGroupInformation ugi;
   private final boolean isPartitionedTable;
   private final Map<Partition, List<LogicalInputSplit>> partitionInputSplitMap;
   private final HiveConf hiveConf;
+  private final HiveInputSplitCache splitCache;
   private List<LogicalInputSplit> tableInputSplits;
 
-  private final Stopwatch watch = Stopwatch.createUnstarted();
-
-  public HiveMetadataProvider(final String userName, final HiveReadEntry hiveReadEntry, final HiveConf hiveConf) {
+  public HiveMetadataProvider(final String userName, final HiveReadEntry hiveReadEntry, final HiveConf hiveConf,
+      final HiveInputSplitCache splitCache) {
+    this.userName = userName;
     this.hiveReadEntry = hiveReadEntry;
     this.ugi = ImpersonationUtil.createProxyUgi(userName);
     isPartitionedTable = hiveReadEntry.getTable().getPartitionKeysSize() > 0;
     partitionInputSplitMap = Maps.newHashMap();
     this.hiveConf = hiveConf;
+    this.splitCache = splitCache;
   }
 
   /**
@@ -108,15 +118,22 @@ public class HiveMetadataProvider {
         return getStatsEstimateFromInputSplits(getTableInputSplits());
       } else {
         final HiveStats aggStats = new HiveStats(0, 0);
+        final List<HivePartition> partitionsWithoutStats = Lists.newArrayList();
         for(HivePartition partition : hiveReadEntry.getPartitions()) {
           final Properties properties = HiveUtilities.getPartitionMetadata(partition, table);
-          HiveStats stats = getStatsFromProps(properties);
+          final HiveStats stats = getStatsFromProps(properties);
 
-          if (!stats.valid()) {
-            // estimate the stats from InputSplits
-            stats = getStatsEstimateFromInputSplits(getPartitionInputSplits(partition));
+          if (stats.valid()) {
+            aggStats.add(stats);
+          } else {
+            partitionsWithoutStats.add(partition);
           }
-          aggStats.add(stats);
+        }
+
+        // estimate the stats from InputSplits
+        loadPartitionInputSplits(partitionsWithoutStats);
+        for (HivePartition partition : partitionsWithoutStats) {
+          aggStats.add(getStatsEstimateFromInputSplits(getPartitionInputSplits(partition)));
         }
 
         return aggStats;
@@ -136,8 +153,13 @@ public class HiveMetadataProvider {
       return tableInputSplits;
     }
 
-    final Properties properties = HiveUtilities.getTableMetadata(hiveReadEntry.getTable());
-    tableInputSplits = splitInputWithUGI(properties, hiveReadEntry.getTable().getSd(), null);
+    final HiveTableWithColumnCache table = hiveReadEntry.getTable();
+    tableInputSplits = splitCache.get(userName, table, null, new Callable<List<LogicalInputSplit>>() {
+      @Override
+      public List<LogicalInputSplit> call() throws Exception {
+        return splitInputWithUGI(HiveUtilities.getTableMetadata(table), table.getSd(), null);
+      }
+    });
 
     return tableInputSplits;
   }
@@ -150,13 +172,61 @@ public class HiveMetadataProvider {
       return partitionInputSplitMap.get(partition);
     }
 
-    final Properties properties = HiveUtilities.getPartitionMetadata(partition, hiveReadEntry.getTable());
-    final List<LogicalInputSplit> splits = splitInputWithUGI(properties, partition.getSd(), partition);
+    final List<LogicalInputSplit> splits = getPartitionInputSplitsFromCache(partition);
     partitionInputSplitMap.put(partition, splits);
 
     return splits;
   }
 
+  /**
+   * Computes the InputSplits of the given partitions which are not loaded yet, using several threads when there is
+   * more than one such partition, since listing the files of a partition mostly waits on the file system.
+   */
+  private void loadPartitionInputSplits(final Collection<HivePartition> partitions) throws IOException {
+    final Set<HivePartition> partitionsToLoad = new LinkedHashSet<>();
+    for (HivePartition partition : partitions) {
+      if (!partitionInputSplitMap.containsKey(partition)) {
+        partitionsToLoad.add(partition);
+      }
+    }
+    if (partitionsToLoad.size() < 2) {
+      // a single partition is loaded in the calling thread on first access
+      return;
+    }
+
+    final List<TimedCallable<List<LogicalInputSplit>>> tasks = Lists.newArrayList();
+    for (final HivePartition partition : partitionsToLoad) {
+      tasks.add(new TimedCallable<List<LogicalInputSplit>>() {
+        @Override
+        protected List<LogicalInputSplit> runInner() throws Exception {
+          return getPartitionInputSplitsFromCache(partition);
+        }
+
+        @Override
+        public String toString() {
+          return partition.getSd().getLocation();
+        }
+      });
+    }
+
+    final List<List<LogicalInputSplit>> splits = TimedCallable.runAdaptive("Get Hive InputSplits", logger, tasks,
+        SPLIT_PARALLELISM, MAX_SPLIT_PARALLELISM);
+    int i = 0;
+    for (HivePartition partition : partitionsToLoad) {
+      partitionInputSplitMap.put(partition, splits.get(i++));
+    }
+  }
+
+  private List<LogicalInputSplit> getPartitionInputSplitsFromCache(final HivePartition partition) throws Exception {
+    final HiveTableWithColumnCache table = hiveReadEntry.getTable();
+    return splitCache.get(userName, table, partition, new Callable<List<LogicalInputSplit>>() {
+      @Override
+      public List<LogicalInputSplit> call() throws Exception {
+        return splitInputWithUGI(HiveUtilities.getPartitionMetadata(partition, table), partition.getSd(), partition);
+      }
+    });
+  }
+
   /**
    * Return {@link LogicalInputSplit}s for given {@link HiveReadEntry}. First splits are looked up in cache, if not
    * found go through {@link InputFormat#getSplits(JobConf, int)} to find the splits.
@@ -171,6 +241,7 @@ public class HiveMetadataProvider {
         return getTableInputSplits();
       }
 
+      loadPartitionInputSplits(hiveReadEntry.getPartitions());
       final List<LogicalInputSplit> splits = Lists.newArrayList();
       for (HivePartition p : hiveReadEntry.getPartitions()) {
         splits.addAll(getPartitionInputSplits(p));
@@ -260,7 +331,7 @@ public class HiveMetadataProvider {
    * @return list of logically grouped input splits
    */
   private List<LogicalInputSplit> splitInputWithUGI(final Properties properties, final StorageDescriptor sd, final Partition partition) {
-    watch.start();
+    final Stopwatch watch = Stopwatch.createStarted();
     try {
       return ugi.doAs(new PrivilegedExceptionAction<List<LogicalInputSplit>>() {
         public List<LogicalInputSplit> run() throws Exception {
@@ -299,7 +370,6 @@ public class HiveMetadataProvider {
       throw new DrillRuntimeException(errMsg, e);
     } finally {
       logger.trace("Took {} µs to get splits from {}", watch.elapsed(TimeUnit.NANOSECONDS) / 1000, sd.getLocation());
-      watch.stop();
     }
   }
 
@@ -90,7 +90,8 @@ public class HiveScan extends AbstractGroupScan {
     this.columns = columns;
     this.hiveStoragePlugin = hiveStoragePlugin;
     if (metadataProvider == null) {
-      this.metadataProvider = new HiveMetadataProvider(userName, hiveReadEntry, hiveStoragePlugin.getHiveConf());
+      this.metadataProvider = new HiveMetadataProvider(userName, hiveReadEntry, hiveStoragePlugin.getHiveConf(),
+          hiveStoragePlugin.getInputSplitCache());
     } else {
       this.metadataProvider = metadataProvider;
     }
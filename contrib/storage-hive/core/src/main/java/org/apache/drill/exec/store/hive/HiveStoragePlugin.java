@@ -34,7 +34,9 @@ import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.ops.OptimizerRulesContext;
+import org.apache.drill.exec.planner.sql.logical.ConvertHiveOrcScanToDrillOrcScan;
 import org.apache.drill.exec.planner.sql.logical.ConvertHiveParquetScanToDrillParquetScan;
+import org.apache.drill.exec.planner.sql.logical.HivePushFilterIntoOrcScan;
 import org.apache.drill.exec.planner.sql.logical.HivePushPartitionFilterIntoScan;
 import org.apache.drill.exec.server.DrillbitContext;
 import org.apache.drill.exec.store.AbstractStoragePlugin;
@@ -56,6 +58,7 @@ public class HiveStoragePlugin extends AbstractStoragePlugin {
   private final HiveStoragePluginConfig config;
   private HiveSchemaFactory schemaFactory;
   private final HiveConf hiveConf;
+  private final HiveInputSplitCache inputSplitCache;
 
   public HiveStoragePlugin(HiveStoragePluginConfig config, DrillbitContext context, String name)
       throws ExecutionSetupException {
@@ -63,12 +66,17 @@ public class HiveStoragePlugin extends AbstractStoragePlugin {
     this.config = config;
     this.hiveConf = createHiveConf(config.getHiveConfigOverride());
     this.schemaFactory = new HiveSchemaFactory(this, name, hiveConf);
+    this.inputSplitCache = new HiveInputSplitCache(hiveConf);
   }
 
   public HiveConf getHiveConf() {
     return hiveConf;
   }
 
+  public HiveInputSplitCache getInputSplitCache() {
+    return inputSplitCache;
+  }
+
   public HiveStoragePluginConfig getConfig() {
     return config;
   }
@@ -169,7 +177,8 @@ public class HiveStoragePlugin extends AbstractStoragePlugin {
     // once "store.parquet.reader.int96_as_timestamp" will be true by default
     if(optimizerRulesContext.getPlannerSettings().getOptions()
         .getOption(ExecConstants.HIVE_OPTIMIZE_SCAN_WITH_NATIVE_READERS).bool_val) {
-      return ImmutableSet.<StoragePluginOptimizerRule>of(ConvertHiveParquetScanToDrillParquetScan.INSTANCE);
+      return ImmutableSet.<StoragePluginOptimizerRule>of(ConvertHiveParquetScanToDrillParquetScan.INSTANCE,
+          ConvertHiveOrcScanToDrillOrcScan.INSTANCE, HivePushFilterIntoOrcScan.INSTANCE);
     }
 
     return ImmutableSet.of();
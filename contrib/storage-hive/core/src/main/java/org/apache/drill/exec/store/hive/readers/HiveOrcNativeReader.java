@@ -0,0 +1,544 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.hive.readers;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.drill.common.exceptions.DrillRuntimeException;
+import org.apache.drill.common.exceptions.ExecutionSetupException;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.store.hive.HivePartition;
+import org.apache.drill.exec.store.hive.HiveTableWithColumnCache;
+import org.apache.drill.exec.vector.AllocationHelper;
+import org.apache.drill.exec.vector.NullableBigIntVector;
+import org.apache.drill.exec.vector.NullableBitVector;
+import org.apache.drill.exec.vector.NullableDateVector;
+import org.apache.drill.exec.vector.NullableFloat4Vector;
+import org.apache.drill.exec.vector.NullableFloat8Vector;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.apache.drill.exec.vector.NullableTimeStampVector;
+import org.apache.drill.exec.vector.NullableVarBinaryVector;
+import org.apache.drill.exec.vector.NullableVarCharVector;
+import org.apache.drill.exec.vector.NullableVarDecimalVector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.hadoop.hive.conf.HiveConf;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.io.AcidUtils;
+import org.apache.hadoop.hive.ql.io.orc.OrcInputFormat;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector.PrimitiveCategory;
+import org.apache.hadoop.hive.serde2.typeinfo.PrimitiveTypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoUtils;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.orc.OrcFile;
+import org.apache.orc.Reader;
+import org.apache.orc.TypeDescription;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Reads ORC files of a Hive table directly with the ORC core reader instead of going through the Hive SerDe. Rows are
+ * read in {@link VectorizedRowBatch}es and copied into Drill value vectors a column at a time, which avoids
+ * deserializing each row into Hive objects and converting it field by field.
+ * <p>
+ * The filter pushed into the scan (if any) is converted into an ORC search argument, so stripes and row groups whose
+ * statistics do not match the filter are skipped. Columns are mapped to the file schema by position, as Hive does for
+ * non-transactional ORC tables. Values are converted with the same semantics as
+ * {@link org.apache.drill.exec.store.hive.HiveFieldConverter}.
+ */
+public class HiveOrcNativeReader extends HiveAbstractReader {
+
+  private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+  private LogicalExpression filter;
+  private SearchArgument searchArgument;
+  private String[] searchArgumentColumnNames;
+
+  // positions of the selected columns in the table (and file) schema
+  private int[] columnPositions;
+  private PrimitiveCategory[] columnCategories;
+
+  private org.apache.orc.RecordReader rows;
+  private VectorizedRowBatch batch;
+
+  public HiveOrcNativeReader(HiveTableWithColumnCache table, HivePartition partition, Collection<InputSplit> inputSplit,
+                             List<SchemaPath> projectedColumns, FragmentContext context, final HiveConf hiveConf,
+                             UserGroupInformation proxyUgi) throws ExecutionSetupException {
+    super(table, partition, inputSplit, projectedColumns, context, hiveConf, proxyUgi);
+  }
+
+  /**
+   * Checks whether the native ORC reader can read the given table: the table and all the partitions must be stored as
+   * ORC, must not be transactional, must have only primitive columns and all partitions must have the table schema.
+   *
+   * @param table Hive table
+   * @param partitions partitions to read, may be null
+   * @return true if the table can be read with this reader
+   */
+  public static boolean canRead(HiveTableWithColumnCache table, List<HivePartition> partitions) {
+    final String orcFormat = OrcInputFormat.class.getCanonicalName();
+    if (!orcFormat.equals(table.getSd().getInputFormat()) || AcidUtils.isTablePropertyTransactional(table.getParameters())) {
+      return false;
+    }
+    final List<FieldSchema> tableColumns = table.getColumnListsCache().getColumns(0);
+    for (FieldSchema column : tableColumns) {
+      if (TypeInfoUtils.getTypeInfoFromTypeString(column.getType()).getCategory() != TypeInfo.Category.PRIMITIVE) {
+        return false;
+      }
+    }
+    if (partitions != null) {
+      for (HivePartition partition : partitions) {
+        if (!orcFormat.equals(partition.getSd().getInputFormat())
+            || !tableColumns.equals(table.getColumnListsCache().getColumns(partition.getColumnListIndex()))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param filter filter of the scan, used to skip stripes and row groups; may be null
+   */
+  public void setFilter(LogicalExpression filter) {
+    this.filter = filter;
+  }
+
+  @Override
+  public void internalInit(Properties tableProperties, RecordReader<Object, Object> reader) {
+    // ORC readers are opened per split in initNextReader
+  }
+
+  /**
+   * @param table Hive table readable by this reader
+   * @return primitive categories of the table columns by lower case column name, in the table column order
+   */
+  public static Map<String, PrimitiveCategory> getColumnTypes(HiveTableWithColumnCache table) {
+    final Map<String, PrimitiveCategory> columnTypes = Maps.newLinkedHashMap();
+    for (FieldSchema column : table.getColumnListsCache().getColumns(0)) {
+      columnTypes.put(column.getName().toLowerCase(),
+          ((PrimitiveTypeInfo) TypeInfoUtils.getTypeInfoFromTypeString(column.getType())).getPrimitiveCategory());
+    }
+    return columnTypes;
+  }
+
+  private void initColumns() {
+    final Map<String, PrimitiveCategory> tableColumnTypes = getColumnTypes(table);
+    final List<String> tableColumnNames = Lists.newArrayList(tableColumnTypes.keySet());
+
+    columnPositions = new int[selectedColumnNames.size()];
+    columnCategories = new PrimitiveCategory[selectedColumnNames.size()];
+    for (int i = 0; i < selectedColumnNames.size(); i++) {
+      columnPositions[i] = tableColumnNames.indexOf(selectedColumnNames.get(i).toLowerCase());
+      columnCategories[i] = ((PrimitiveTypeInfo) selectedColumnTypes.get(i)).getPrimitiveCategory();
+    }
+
+    searchArgument = OrcSearchArgumentBuilder.build(filter, tableColumnTypes);
+    searchArgumentColumnNames = tableColumnNames.toArray(new String[tableColumnNames.size()]);
+  }
+
+  @Override
+  protected boolean initNextReader(JobConf job) throws ExecutionSetupException {
+    if (columnPositions == null) {
+      initColumns();
+    }
+    closeRows();
+    if (!inputSplitsIterator.hasNext()) {
+      return false;
+    }
+    final InputSplit inputSplit = inputSplitsIterator.next();
+    if (!(inputSplit instanceof FileSplit)) {
+      throw new ExecutionSetupException(
+          String.format("Native ORC reader can not read input split of type %s", inputSplit.getClass().getName()));
+    }
+    final FileSplit fileSplit = (FileSplit) inputSplit;
+    try {
+      final Reader orcReader = OrcFile.createReader(fileSplit.getPath(), OrcFile.readerOptions(job));
+      final TypeDescription fileSchema = orcReader.getSchema();
+      final List<TypeDescription> fileColumns = fileSchema.getChildren();
+
+      final boolean[] include = new boolean[fileSchema.getMaximumId() + 1];
+      include[0] = true;
+      for (int position : columnPositions) {
+        if (position < fileColumns.size()) {
+          final TypeDescription fileColumn = fileColumns.get(position);
+          for (int id = fileColumn.getId(); id <= fileColumn.getMaximumId(); id++) {
+            include[id] = true;
+          }
+        }
+      }
+
+      final Reader.Options options = orcReader.options()
+          .range(fileSplit.getStart(), fileSplit.getLength())
+          .include(include);
+      if (searchArgument != null) {
+        // search argument columns are looked up by file column id
+        final String[] columnNames = new String[fileSchema.getMaximumId() + 1];
+        for (int i = 0; i < fileColumns.size() && i < searchArgumentColumnNames.length; i++) {
+          columnNames[fileColumns.get(i).getId()] = searchArgumentColumnNames[i];
+        }
+        options.searchArgument(searchArgument, columnNames);
+      }
+
+      rows = orcReader.rows(options);
+      batch = fileSchema.createRowBatch(TARGET_RECORD_COUNT);
+      logger.trace("native ORC reader created for inputSplit {}", inputSplit);
+    } catch (IOException e) {
+      throw new ExecutionSetupException(
+          String.format("Failed to open ORC file %s with native reader", fileSplit.getPath()), e);
+    }
+    return true;
+  }
+
+  @Override
+  public int next() {
+    for (ValueVector vv : vectors) {
+      AllocationHelper.allocateNew(vv, TARGET_RECORD_COUNT);
+    }
+    if (empty) {
+      setValueCountAndPopulatePartitionVectors(0);
+      return 0;
+    }
+
+    try {
+      while (rows != null && !rows.nextBatch(batch)) {
+        initNextReader(job);
+      }
+    } catch (IOException | ExecutionSetupException e) {
+      throw new DrillRuntimeException(e);
+    }
+    if (rows == null) {
+      setValueCountAndPopulatePartitionVectors(0);
+      return 0;
+    }
+
+    final int recordCount = batch.size;
+    for (int i = 0; i < columnPositions.length; i++) {
+      if (columnPositions[i] < batch.numCols) {
+        copyColumn(batch.cols[columnPositions[i]], columnCategories[i], vectors.get(i), recordCount);
+      }
+    }
+    setValueCountAndPopulatePartitionVectors(recordCount);
+    return recordCount;
+  }
+
+  /**
+   * Copies one column of the batch, choosing the copy loop by the column type once per column, so that each loop
+   * runs over the rows with no per-row type dispatch. Fixed-width vectors are allocated for
+   * {@link HiveAbstractReader#TARGET_RECORD_COUNT} rows, which is also the size of the ORC batch, so their values
+   * are set without capacity checks.
+   */
+  private void copyColumn(ColumnVector column, PrimitiveCategory category, ValueVector vector, int recordCount) {
+    switch (category) {
+      case BOOLEAN:
+        copyBooleans(checkType(column, LongColumnVector.class, category), (NullableBitVector) vector, recordCount);
+        break;
+      case BYTE:
+      case SHORT:
+      case INT:
+        copyInts(checkType(column, LongColumnVector.class, category), (NullableIntVector) vector, recordCount);
+        break;
+      case LONG:
+        copyLongs(checkType(column, LongColumnVector.class, category), (NullableBigIntVector) vector, recordCount);
+        break;
+      case DATE:
+        copyDates(checkType(column, LongColumnVector.class, category), (NullableDateVector) vector, recordCount);
+        break;
+      case FLOAT:
+        copyFloats(checkType(column, DoubleColumnVector.class, category), (NullableFloat4Vector) vector,
+            recordCount);
+        break;
+      case DOUBLE:
+        copyDoubles(checkType(column, DoubleColumnVector.class, category), (NullableFloat8Vector) vector,
+            recordCount);
+        break;
+      case STRING:
+      case VARCHAR:
+        copyVarChars(checkType(column, BytesColumnVector.class, category), (NullableVarCharVector) vector,
+            recordCount, false);
+        break;
+      case CHAR:
+        copyVarChars(checkType(column, BytesColumnVector.class, category), (NullableVarCharVector) vector,
+            recordCount, true);
+        break;
+      case BINARY:
+        copyVarBinaries(checkType(column, BytesColumnVector.class, category), (NullableVarBinaryVector) vector,
+            recordCount);
+        break;
+      case TIMESTAMP:
+        copyTimestamps(checkType(column, TimestampColumnVector.class, category), (NullableTimeStampVector) vector,
+            recordCount);
+        break;
+      case DECIMAL:
+        copyDecimals(checkType(column, DecimalColumnVector.class, category), (NullableVarDecimalVector) vector,
+            recordCount);
+        break;
+      default:
+        throw new DrillRuntimeException(String.format("Native ORC reader does not support %s columns", category));
+    }
+  }
+
+  private static <T extends ColumnVector> T checkType(ColumnVector column, Class<T> expected, PrimitiveCategory category) {
+    if (!expected.isInstance(column)) {
+      throw new DrillRuntimeException(String.format("ORC file column of type %s can not be read as Hive %s column. " +
+          "Disable native readers to read it with the Hive SerDe.", column.getClass().getSimpleName(), category));
+    }
+    return expected.cast(column);
+  }
+
+  private static boolean isNull(ColumnVector column, int index) {
+    return !column.noNulls && column.isNull[index];
+  }
+
+  /**
+   * @return the number of rows to copy one by one: zero when the column repeats a null, which leaves the whole
+   *         (nullable) vector null, otherwise the record count
+   */
+  private static int rowsToCopy(ColumnVector column, int recordCount) {
+    return column.isRepeating && isNull(column, 0) ? 0 : recordCount;
+  }
+
+  private void copyBooleans(LongColumnVector column, NullableBitVector vector, int recordCount) {
+    final NullableBitVector.Mutator mutator = vector.getMutator();
+    final long[] values = column.vector;
+    final int rows = rowsToCopy(column, recordCount);
+    if (column.isRepeating) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, (int) values[0]);
+      }
+    } else if (column.noNulls) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, (int) values[i]);
+      }
+    } else {
+      final boolean[] isNull = column.isNull;
+      for (int i = 0; i < rows; i++) {
+        if (!isNull[i]) {
+          mutator.set(i, (int) values[i]);
+        }
+      }
+    }
+  }
+
+  private void copyInts(LongColumnVector column, NullableIntVector vector, int recordCount) {
+    final NullableIntVector.Mutator mutator = vector.getMutator();
+    final long[] values = column.vector;
+    final int rows = rowsToCopy(column, recordCount);
+    if (column.isRepeating) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, (int) values[0]);
+      }
+    } else if (column.noNulls) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, (int) values[i]);
+      }
+    } else {
+      final boolean[] isNull = column.isNull;
+      for (int i = 0; i < rows; i++) {
+        if (!isNull[i]) {
+          mutator.set(i, (int) values[i]);
+        }
+      }
+    }
+  }
+
+  private void copyLongs(LongColumnVector column, NullableBigIntVector vector, int recordCount) {
+    final NullableBigIntVector.Mutator mutator = vector.getMutator();
+    final long[] values = column.vector;
+    final int rows = rowsToCopy(column, recordCount);
+    if (column.isRepeating) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, values[0]);
+      }
+    } else if (column.noNulls) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, values[i]);
+      }
+    } else {
+      final boolean[] isNull = column.isNull;
+      for (int i = 0; i < rows; i++) {
+        if (!isNull[i]) {
+          mutator.set(i, values[i]);
+        }
+      }
+    }
+  }
+
+  private void copyDates(LongColumnVector column, NullableDateVector vector, int recordCount) {
+    final NullableDateVector.Mutator mutator = vector.getMutator();
+    final long[] values = column.vector;
+    final int rows = rowsToCopy(column, recordCount);
+    if (column.isRepeating) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, values[0] * MILLIS_PER_DAY);
+      }
+    } else if (column.noNulls) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, values[i] * MILLIS_PER_DAY);
+      }
+    } else {
+      final boolean[] isNull = column.isNull;
+      for (int i = 0; i < rows; i++) {
+        if (!isNull[i]) {
+          mutator.set(i, values[i] * MILLIS_PER_DAY);
+        }
+      }
+    }
+  }
+
+  private void copyFloats(DoubleColumnVector column, NullableFloat4Vector vector, int recordCount) {
+    final NullableFloat4Vector.Mutator mutator = vector.getMutator();
+    final double[] values = column.vector;
+    final int rows = rowsToCopy(column, recordCount);
+    if (column.isRepeating) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, (float) values[0]);
+      }
+    } else if (column.noNulls) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, (float) values[i]);
+      }
+    } else {
+      final boolean[] isNull = column.isNull;
+      for (int i = 0; i < rows; i++) {
+        if (!isNull[i]) {
+          mutator.set(i, (float) values[i]);
+        }
+      }
+    }
+  }
+
+  private void copyDoubles(DoubleColumnVector column, NullableFloat8Vector vector, int recordCount) {
+    final NullableFloat8Vector.Mutator mutator = vector.getMutator();
+    final double[] values = column.vector;
+    final int rows = rowsToCopy(column, recordCount);
+    if (column.isRepeating) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, values[0]);
+      }
+    } else if (column.noNulls) {
+      for (int i = 0; i < rows; i++) {
+        mutator.set(i, values[i]);
+      }
+    } else {
+      final boolean[] isNull = column.isNull;
+      for (int i = 0; i < rows; i++) {
+        if (!isNull[i]) {
+          mutator.set(i, values[i]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Variable-width values may outgrow the data buffer, so they are still set with <tt>setSafe()</tt>.
+   */
+  private void copyVarBinaries(BytesColumnVector column, NullableVarBinaryVector vector, int recordCount) {
+    final NullableVarBinaryVector.Mutator mutator = vector.getMutator();
+    final int rows = rowsToCopy(column, recordCount);
+    for (int i = 0; i < rows; i++) {
+      final int index = column.isRepeating ? 0 : i;
+      if (!isNull(column, index)) {
+        mutator.setSafe(i, column.vector[index], column.start[index], column.length[index]);
+      }
+    }
+  }
+
+  private void copyVarChars(BytesColumnVector column, NullableVarCharVector vector, int recordCount,
+                            boolean stripPadding) {
+    final NullableVarCharVector.Mutator mutator = vector.getMutator();
+    final int rows = rowsToCopy(column, recordCount);
+    for (int i = 0; i < rows; i++) {
+      final int index = column.isRepeating ? 0 : i;
+      if (isNull(column, index)) {
+        continue;
+      }
+      final byte[] bytes = column.vector[index];
+      final int start = column.start[index];
+      int length = column.length[index];
+      if (stripPadding) {
+        // char values are read without the padding, as HiveCharObjectInspector#getStrippedValue does
+        while (length > 0 && bytes[start + length - 1] == ' ') {
+          length--;
+        }
+      }
+      mutator.setSafe(i, bytes, start, length);
+    }
+  }
+
+  private void copyTimestamps(TimestampColumnVector column, NullableTimeStampVector vector, int recordCount) {
+    final NullableTimeStampVector.Mutator mutator = vector.getMutator();
+    for (int i = 0; i < recordCount; i++) {
+      final int index = column.isRepeating ? 0 : i;
+      if (!isNull(column, index)) {
+        mutator.setSafe(i, new DateTime(column.getTime(index)).withZoneRetainFields(DateTimeZone.UTC).getMillis());
+      }
+    }
+  }
+
+  private void copyDecimals(DecimalColumnVector column, NullableVarDecimalVector vector, int recordCount) {
+    final NullableVarDecimalVector.Mutator mutator = vector.getMutator();
+    final int scale = vector.getField().getScale();
+    for (int i = 0; i < recordCount; i++) {
+      final int index = column.isRepeating ? 0 : i;
+      if (!isNull(column, index)) {
+        mutator.setSafe(i,
+            column.vector[index].getHiveDecimal().bigDecimalValue().setScale(scale, RoundingMode.HALF_UP));
+      }
+    }
+  }
+
+  private void closeRows() {
+    try {
+      if (rows != null) {
+        rows.close();
+        rows = null;
+      }
+    } catch (IOException e) {
+      logger.warn("Failure while closing ORC record reader.", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    closeRows();
+    super.close();
+  }
+}
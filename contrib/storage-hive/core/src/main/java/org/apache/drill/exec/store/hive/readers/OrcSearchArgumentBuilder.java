@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.hive.readers;
+
+import java.util.Map;
+
+import org.apache.drill.common.expression.BooleanOperator;
+import org.apache.drill.common.expression.FunctionCall;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.expression.ValueExpressions;
+import org.apache.drill.exec.expr.fn.FunctionGenerationHelper;
+import org.apache.hadoop.hive.ql.io.sarg.PredicateLeaf;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument.TruthValue;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgumentFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector.PrimitiveCategory;
+
+/**
+ * Converts a Drill filter condition into an ORC {@link SearchArgument}, which lets the ORC reader skip stripes and
+ * row groups using the min / max statistics and bloom filters of the file.
+ * <p>
+ * Only comparisons of a column with a literal and null checks on a column are converted, combined with and, or and
+ * not. Any other condition is replaced by a "maybe" leaf, so the search argument never skips rows matching the
+ * filter. The filter itself is still evaluated by Drill.
+ */
+public class OrcSearchArgumentBuilder {
+
+  private final Map<String, PrimitiveCategory> columnTypes;
+  private final SearchArgument.Builder builder = SearchArgumentFactory.newBuilder();
+  private boolean converted;
+
+  private OrcSearchArgumentBuilder(Map<String, PrimitiveCategory> columnTypes) {
+    this.columnTypes = columnTypes;
+  }
+
+  /**
+   * @param filter filter condition
+   * @param columnTypes types of the columns stored in the ORC files, by lower case column name
+   * @return search argument, or null if no part of the filter could be converted
+   */
+  public static SearchArgument build(LogicalExpression filter, Map<String, PrimitiveCategory> columnTypes) {
+    if (filter == null) {
+      return null;
+    }
+    final OrcSearchArgumentBuilder sargBuilder = new OrcSearchArgumentBuilder(columnTypes);
+    sargBuilder.add(filter);
+    return sargBuilder.converted ? sargBuilder.builder.build() : null;
+  }
+
+  private void add(LogicalExpression expr) {
+    if (!(expr instanceof FunctionCall)) {
+      addUnknown();
+      return;
+    }
+    final FunctionCall call = (FunctionCall) expr;
+    if (call instanceof BooleanOperator) {
+      if ("booleanAnd".equals(call.getName())) {
+        builder.startAnd();
+      } else if ("booleanOr".equals(call.getName())) {
+        builder.startOr();
+      } else {
+        addUnknown();
+        return;
+      }
+      for (LogicalExpression arg : call.args) {
+        add(arg);
+      }
+      builder.end();
+      return;
+    }
+
+    switch (call.getName()) {
+      case "not":
+        builder.startNot();
+        add(call.args.get(0));
+        builder.end();
+        return;
+      case FunctionGenerationHelper.IS_NULL:
+      case FunctionGenerationHelper.IS_NOT_NULL:
+        addNullCheck(call);
+        return;
+      case FunctionGenerationHelper.EQ:
+      case FunctionGenerationHelper.NE:
+      case FunctionGenerationHelper.LT:
+      case FunctionGenerationHelper.LE:
+      case FunctionGenerationHelper.GT:
+      case FunctionGenerationHelper.GE:
+        addComparison(call);
+        return;
+      default:
+        addUnknown();
+    }
+  }
+
+  private void addNullCheck(FunctionCall call) {
+    final String column = getColumn(call.args.get(0));
+    final PredicateLeaf.Type type = column == null ? null : getLeafType(columnTypes.get(column));
+    if (type == null) {
+      addUnknown();
+      return;
+    }
+    if (FunctionGenerationHelper.IS_NULL.equals(call.getName())) {
+      builder.isNull(column, type);
+    } else {
+      builder.startNot().isNull(column, type).end();
+    }
+    converted = true;
+  }
+
+  private void addComparison(FunctionCall call) {
+    String function = call.getName();
+    LogicalExpression columnExpr = call.args.get(0);
+    LogicalExpression literalExpr = call.args.get(1);
+    if (getColumn(columnExpr) == null) {
+      // literal on the left side, swap the operands
+      columnExpr = call.args.get(1);
+      literalExpr = call.args.get(0);
+      function = swap(function);
+    }
+
+    final String column = getColumn(columnExpr);
+    final PredicateLeaf.Type type = column == null ? null : getLeafType(columnTypes.get(column));
+    final Object literal = type == null ? null : getLiteral(literalExpr, type);
+    if (literal == null) {
+      addUnknown();
+      return;
+    }
+
+    switch (function) {
+      case FunctionGenerationHelper.EQ:
+        builder.equals(column, type, literal);
+        break;
+      case FunctionGenerationHelper.NE:
+        builder.startNot().equals(column, type, literal).end();
+        break;
+      case FunctionGenerationHelper.LT:
+        builder.lessThan(column, type, literal);
+        break;
+      case FunctionGenerationHelper.LE:
+        builder.lessThanEquals(column, type, literal);
+        break;
+      case FunctionGenerationHelper.GT:
+        builder.startNot().lessThanEquals(column, type, literal).end();
+        break;
+      case FunctionGenerationHelper.GE:
+        builder.startNot().lessThan(column, type, literal).end();
+        break;
+      default:
+        addUnknown();
+        return;
+    }
+    converted = true;
+  }
+
+  private void addUnknown() {
+    builder.literal(TruthValue.YES_NO_NULL);
+  }
+
+  private String getColumn(LogicalExpression expr) {
+    if (!(expr instanceof SchemaPath) || !((SchemaPath) expr).getRootSegment().isLastPath()) {
+      return null;
+    }
+    final String column = ((SchemaPath) expr).getRootSegmentPath().toLowerCase();
+    return columnTypes.containsKey(column) ? column : null;
+  }
+
+  private static String swap(String function) {
+    switch (function) {
+      case FunctionGenerationHelper.LT:
+        return FunctionGenerationHelper.GT;
+      case FunctionGenerationHelper.LE:
+        return FunctionGenerationHelper.GE;
+      case FunctionGenerationHelper.GT:
+        return FunctionGenerationHelper.LT;
+      case FunctionGenerationHelper.GE:
+        return FunctionGenerationHelper.LE;
+      default:
+        return function;
+    }
+  }
+
+  /**
+   * Char columns are not supported since their values are compared padded by ORC but stripped by Drill.
+   */
+  private static PredicateLeaf.Type getLeafType(PrimitiveCategory category) {
+    if (category == null) {
+      return null;
+    }
+    switch (category) {
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+        return PredicateLeaf.Type.LONG;
+      case FLOAT:
+      case DOUBLE:
+        return PredicateLeaf.Type.FLOAT;
+      case STRING:
+      case VARCHAR:
+        return PredicateLeaf.Type.STRING;
+      case BOOLEAN:
+        return PredicateLeaf.Type.BOOLEAN;
+      default:
+        return null;
+    }
+  }
+
+  private static Object getLiteral(LogicalExpression expr, PredicateLeaf.Type type) {
+    switch (type) {
+      case LONG:
+        if (expr instanceof ValueExpressions.IntExpression) {
+          return (long) ((ValueExpressions.IntExpression) expr).getInt();
+        } else if (expr instanceof ValueExpressions.LongExpression) {
+          return ((ValueExpressions.LongExpression) expr).getLong();
+        }
+        return null;
+      case FLOAT:
+        if (expr instanceof ValueExpressions.DoubleExpression) {
+          return ((ValueExpressions.DoubleExpression) expr).getDouble();
+        } else if (expr instanceof ValueExpressions.FloatExpression) {
+          return (double) ((ValueExpressions.FloatExpression) expr).getFloat();
+        } else if (expr instanceof ValueExpressions.IntExpression) {
+          return (double) ((ValueExpressions.IntExpression) expr).getInt();
+        } else if (expr instanceof ValueExpressions.LongExpression) {
+          return (double) ((ValueExpressions.LongExpression) expr).getLong();
+        }
+        return null;
+      case STRING:
+        return expr instanceof ValueExpressions.QuotedString ? ((ValueExpressions.QuotedString) expr).getString() : null;
+      case BOOLEAN:
+        return expr instanceof ValueExpressions.BooleanExpression
+            ? ((ValueExpressions.BooleanExpression) expr).getBoolean() : null;
+      default:
+        return null;
+    }
+  }
+}
@@ -60,7 +60,19 @@ public class ReadersInitializer {
    * @return reader initializer
    */
   public static AbstractReadersInitializer getInitializer(FragmentContext context, HiveSubScan config) {
-    Class<? extends HiveAbstractReader> readerClass = getReaderClass(config);
+    return getInitializer(context, config, getReaderClass(config));
+  }
+
+  /**
+   * Determines which reader initializer should be used to create readers of the given class.
+   *
+   * @param context fragment context
+   * @param config Hive table config
+   * @param readerClass reader class
+   * @return reader initializer
+   */
+  public static AbstractReadersInitializer getInitializer(FragmentContext context, HiveSubScan config,
+                                                          Class<? extends HiveAbstractReader> readerClass) {
     if (config.getInputSplits().isEmpty()) {
       return new EmptyReadersInitializer(context, config, readerClass);
     } else {
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.drill.categories.HiveStorageTest;
+import org.apache.drill.categories.SlowTest;
+import org.apache.drill.exec.hive.HiveTestBase;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({SlowTest.class, HiveStorageTest.class})
+public class TestHiveDrillNativeOrcReader extends HiveTestBase {
+
+  @BeforeClass
+  public static void init() {
+    setSessionOption(ExecConstants.HIVE_OPTIMIZE_SCAN_WITH_NATIVE_READERS, true);
+    setSessionOption(PlannerSettings.ENABLE_DECIMAL_DATA_TYPE_KEY, true);
+  }
+
+  @AfterClass
+  public static void cleanup() {
+    resetSessionOption(ExecConstants.HIVE_OPTIMIZE_SCAN_WITH_NATIVE_READERS);
+    resetSessionOption(PlannerSettings.ENABLE_DECIMAL_DATA_TYPE_KEY);
+  }
+
+  @Test
+  public void testFilterPushDown() throws Exception {
+    String query = "select * from hive.kv_native_orc where key > 1";
+
+    int actualRowCount = testSql(query);
+    assertEquals("Expected and actual row count should match", 2, actualRowCount);
+
+    testPlanMatchingPatterns(query, new String[]{"HiveDrillNativeOrcScan", "filter="}, null);
+  }
+
+  @Test
+  public void testFilterPushDownWithNulls() throws Exception {
+    testBuilder()
+        .sqlQuery("select sub_key from hive.kv_native_orc where key is null or key <> 1")
+        .unOrdered()
+        .baselineColumns("sub_key")
+        .baselineValues(5)
+        .baselineValues(6)
+        .baselineValues(9)
+        .baselineValues(10)
+        .go();
+  }
+
+  @Test
+  public void testNotSupportedFilterIsNotPushed() throws Exception {
+    String query = "select * from hive.kv_native_orc where key + sub_key > 5";
+
+    int actualRowCount = testSql(query);
+    assertEquals("Expected and actual row count should match", 2, actualRowCount);
+
+    testPlanMatchingPatterns(query, new String[]{"HiveDrillNativeOrcScan"}, new String[]{"filter="});
+  }
+
+  @Test
+  public void testAllTypesAsHiveSerDe() throws Exception {
+    try {
+      testBuilder()
+          .sqlQuery("select * from hive.readtest_orc")
+          .unOrdered()
+          .optionSettingQueriesForBaseline("alter session set `%s` = false",
+              ExecConstants.HIVE_OPTIMIZE_SCAN_WITH_NATIVE_READERS)
+          .sqlBaselineQuery("select * from hive.readtest_orc")
+          .go();
+    } finally {
+      setSessionOption(ExecConstants.HIVE_OPTIMIZE_SCAN_WITH_NATIVE_READERS, true);
+    }
+  }
+
+  @Test
+  public void testProjectionAsHiveSerDe() throws Exception {
+    try {
+      testBuilder()
+          .sqlQuery("select char_field, date_field, int_field from hive.readtest_orc where int_field = 123456")
+          .unOrdered()
+          .optionSettingQueriesForBaseline("alter session set `%s` = false",
+              ExecConstants.HIVE_OPTIMIZE_SCAN_WITH_NATIVE_READERS)
+          .sqlBaselineQuery("select char_field, date_field, int_field from hive.readtest_orc where int_field = 123456")
+          .go();
+    } finally {
+      setSessionOption(ExecConstants.HIVE_OPTIMIZE_SCAN_WITH_NATIVE_READERS, true);
+    }
+  }
+
+  @Test
+  public void testCount() throws Exception {
+    testBuilder()
+        .sqlQuery("select count(*) as cnt from hive.kv_native_orc")
+        .unOrdered()
+        .baselineColumns("cnt")
+        .baselineValues(8L)
+        .go();
+  }
+
+  @Test
+  public void testSerDeScanWithoutNativeReaders() throws Exception {
+    String query = "select * from hive.kv_native_orc where key > 1";
+    try {
+      setSessionOption(ExecConstants.HIVE_OPTIMIZE_SCAN_WITH_NATIVE_READERS, false);
+      testPlanMatchingPatterns(query, new String[]{"HiveScan"}, new String[]{"HiveDrillNativeOrcScan", "filter="});
+    } finally {
+      setSessionOption(ExecConstants.HIVE_OPTIMIZE_SCAN_WITH_NATIVE_READERS, true);
+    }
+  }
+
+  @Test
+  public void testNonOrcTableIsNotConverted() throws Exception {
+    testPlanMatchingPatterns("select * from hive.kv where key > 1",
+        new String[]{"HiveScan"}, new String[]{"HiveDrillNativeOrcScan", "filter="});
+  }
+}
@@ -541,6 +541,7 @@ public class HiveTestDataGenerator {
     executeQuery(hiveDriver, loadData);
 
     createTestDataForDrillNativeParquetReaderTests(hiveDriver);
+    createTestDataForDrillNativeOrcReaderTests(hiveDriver);
 
     ss.close();
   }
@@ -594,6 +595,22 @@ public class HiveTestDataGenerator {
       "location '%s'", thirdPartition));
   }
 
+  private void createTestDataForDrillNativeOrcReaderTests(Driver hiveDriver) {
+    // Hive managed ORC table, the native reader skips the stripes of the files not matching the filter
+    executeQuery(hiveDriver, "create table kv_native_orc(key int, sub_key int) stored as orc");
+    // each insert is created in separate file
+    executeQuery(hiveDriver, "insert into table kv_native_orc values (1, 1), (1, 2)");
+    executeQuery(hiveDriver, "insert into table kv_native_orc values (1, 3), (1, 4)");
+    executeQuery(hiveDriver, "insert into table kv_native_orc values (2, 5), (2, 6)");
+    executeQuery(hiveDriver, "insert into table kv_native_orc values (null, 9), (null, 10)");
+
+    // ORC table with all the types supported by the native ORC reader
+    executeQuery(hiveDriver, "create table readtest_orc stored as orc as select " +
+        "binary_field, boolean_field, tinyint_field, decimal0_field, decimal9_field, decimal18_field, " +
+        "decimal28_field, decimal38_field, double_field, float_field, int_field, bigint_field, smallint_field, " +
+        "string_field, varchar_field, timestamp_field, date_field, char_field from readtest");
+  }
+
   private File getTempFile() throws Exception {
     return java.nio.file.Files.createTempFile("drill-hive-test", ".txt").toFile();
   }
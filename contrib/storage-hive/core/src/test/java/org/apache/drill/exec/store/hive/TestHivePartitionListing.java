@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.hive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.drill.categories.HiveStorageTest;
+import org.apache.drill.categories.SlowTest;
+import org.apache.drill.exec.hive.HiveTestBase;
+import org.apache.hadoop.hive.metastore.HiveMetaStoreClient;
+import org.apache.hadoop.hive.metastore.IMetaStoreClient;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Checks the metastore calls made to list the partitions of a table, against the metastore of the Hive test data.
+ */
+@Category({SlowTest.class, HiveStorageTest.class})
+public class TestHivePartitionListing extends HiveTestBase {
+
+  private static final String PARTITIONED_TABLE = "partition_pruning_test";
+
+  private static HiveMetaStoreClient metaStoreClient;
+  private static int partitionCount;
+
+  @BeforeClass
+  public static void setupClient() throws Exception {
+    HiveStoragePlugin plugin = (HiveStoragePlugin) getDrillbitContext().getStorage().getPlugin("hive");
+    metaStoreClient = new HiveMetaStoreClient(plugin.getHiveConf());
+    partitionCount = metaStoreClient.listPartitionNames("default", PARTITIONED_TABLE, (short) -1).size();
+  }
+
+  @AfterClass
+  public static void closeClient() {
+    if (metaStoreClient != null) {
+      metaStoreClient.close();
+    }
+  }
+
+  @Test
+  public void testSmallTableIsListedInOneCall() throws Exception {
+    CountingClient client = new CountingClient(metaStoreClient);
+    HiveReadEntry entry = DrillHiveMetaStoreClient.getHiveReadEntryHelper(client.proxy(), "default",
+        PARTITIONED_TABLE, partitionCount + 1);
+
+    assertEquals(partitionCount, entry.getHivePartitionWrappers().size());
+    assertEquals(1, client.calls("listPartitions"));
+    assertEquals(0, client.calls("listPartitionNames"));
+    assertEquals(0, client.calls("getPartitionsByNames"));
+  }
+
+  @Test
+  public void testLargeTableIsListedInBatches() throws Exception {
+    assertTrue("Test table needs more than two partitions", partitionCount > 2);
+    CountingClient client = new CountingClient(metaStoreClient);
+    HiveReadEntry entry = DrillHiveMetaStoreClient.getHiveReadEntryHelper(client.proxy(), "default",
+        PARTITIONED_TABLE, 2);
+
+    Set<String> locations = new HashSet<>();
+    for (HiveTableWrapper.HivePartitionWrapper partition : entry.getHivePartitionWrappers()) {
+      locations.add(partition.getPartition().getSd().getLocation());
+    }
+    assertEquals(partitionCount, entry.getHivePartitionWrappers().size());
+    assertEquals(partitionCount, locations.size());
+    assertEquals(1, client.calls("listPartitions"));
+    assertEquals(1, client.calls("listPartitionNames"));
+    assertEquals((partitionCount - 2 + 1) / 2, client.calls("getPartitionsByNames"));
+  }
+
+  @Test
+  public void testTableWithoutPartitionsIsNotListed() throws Exception {
+    CountingClient client = new CountingClient(metaStoreClient);
+    HiveReadEntry entry = DrillHiveMetaStoreClient.getHiveReadEntryHelper(client.proxy(), "default", "kv", 2);
+
+    assertNull(entry.getHivePartitionWrappers());
+    assertEquals(1, client.calls("getTable"));
+    assertEquals(0, client.calls("listPartitions"));
+    assertEquals(0, client.calls("listPartitionNames"));
+  }
+
+  /**
+   * Metastore client that delegates to a real client and counts the calls of each method.
+   */
+  private static class CountingClient implements InvocationHandler {
+    private final IMetaStoreClient delegate;
+    private final Map<String, Integer> calls = Maps.newHashMap();
+
+    private CountingClient(IMetaStoreClient delegate) {
+      this.delegate = delegate;
+    }
+
+    private IMetaStoreClient proxy() {
+      return (IMetaStoreClient) Proxy.newProxyInstance(IMetaStoreClient.class.getClassLoader(),
+          new Class<?>[] {IMetaStoreClient.class}, this);
+    }
+
+    private int calls(String methodName) {
+      Integer count = calls.get(methodName);
+      return count == null ? 0 : count;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      calls.put(method.getName(), calls(method.getName()) + 1);
+      try {
+        return method.invoke(delegate, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+}
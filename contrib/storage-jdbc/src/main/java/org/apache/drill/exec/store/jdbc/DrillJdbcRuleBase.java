@@ -28,6 +28,7 @@ import org.apache.calcite.plan.RelOptRuleCall;
 import org.apache.calcite.plan.RelTrait;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.convert.ConverterRule;
+import org.apache.calcite.rel.core.Sort;
 import org.apache.calcite.rel.logical.LogicalFilter;
 import org.apache.calcite.rel.logical.LogicalProject;
 import org.apache.calcite.rex.RexNode;
@@ -118,4 +119,22 @@ abstract class DrillJdbcRuleBase extends ConverterRule {
     }
   }
 
+  /**
+   * Converts a sort, unlike the rule of Calcite also when it has an offset or fetch, so that limits are pushed into
+   * the database and only the needed rows are transferred.
+   */
+  static class DrillJdbcSortRule extends DrillJdbcRuleBase {
+
+    public DrillJdbcSortRule(JdbcConvention out) {
+      super(Sort.class, Convention.NONE, out, "DrillJdbcSortRule");
+    }
+
+    public RelNode convert(RelNode rel) {
+      Sort sort = (Sort) rel;
+
+      return new JdbcRules.JdbcSort(rel.getCluster(), rel.getTraitSet().replace(this.out), convert(sort.getInput(),
+          sort.getInput().getTraitSet().replace(this.out).simplify()), sort.getCollation(), sort.offset, sort.fetch);
+    }
+  }
+
 }
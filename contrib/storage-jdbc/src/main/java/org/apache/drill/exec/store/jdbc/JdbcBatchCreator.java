@@ -28,6 +28,7 @@ import org.apache.drill.exec.record.RecordBatch;
 import org.apache.drill.exec.store.RecordReader;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 
 public class JdbcBatchCreator implements BatchCreator<JdbcSubScan> {
   @Override
@@ -35,7 +36,15 @@ public class JdbcBatchCreator implements BatchCreator<JdbcSubScan> {
       List<RecordBatch> children) throws ExecutionSetupException {
     Preconditions.checkArgument(children.isEmpty());
     JdbcStoragePlugin plugin = config.getPlugin();
-    RecordReader reader = new JdbcRecordReader(plugin.getSource(), config.getSql(), plugin.getName());
-    return new ScanBatch(config, context, Collections.singletonList(reader));
+    int fetchSize = plugin.getConfig().getFetchSize();
+    if (config.getPartitions().isEmpty()) {
+      RecordReader reader = new JdbcRecordReader(plugin.getSource(), config.getSql(), plugin.getName(), fetchSize);
+      return new ScanBatch(config, context, Collections.singletonList(reader));
+    }
+    List<RecordReader> readers = Lists.newArrayList();
+    for (String sql : config.getPartitions()) {
+      readers.add(new JdbcRecordReader(plugin.getSource(), sql, plugin.getName(), fetchSize));
+    }
+    return new ScanBatch(config, context, readers);
   }
 }
@@ -17,6 +17,7 @@
  */
 package org.apache.drill.exec.store.jdbc;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.drill.common.exceptions.ExecutionSetupException;
@@ -32,47 +33,63 @@ import org.apache.drill.exec.store.StoragePluginRegistry;
 
 import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.google.common.collect.Lists;
 
 @JsonTypeName("jdbc-scan")
 public class JdbcGroupScan extends AbstractGroupScan {
 
   private final String sql;
+  private final List<String> partitions;
   private final JdbcStoragePlugin plugin;
   private final double rows;
+  private int width = 1;
 
   @JsonCreator
   public JdbcGroupScan(
       @JsonProperty("sql") String sql,
+      @JsonProperty("partitions") List<String> partitions,
       @JsonProperty("config") StoragePluginConfig config,
       @JsonProperty("rows") double rows,
       @JacksonInject StoragePluginRegistry plugins) throws ExecutionSetupException {
     super("");
     this.sql = sql;
+    this.partitions = partitions == null ? Collections.<String>emptyList() : partitions;
     this.plugin = (JdbcStoragePlugin) plugins.getPlugin(config);
     this.rows = rows;
   }
 
-  JdbcGroupScan(String sql, JdbcStoragePlugin plugin, double rows) {
+  JdbcGroupScan(String sql, List<String> partitions, JdbcStoragePlugin plugin, double rows) {
     super("");
     this.sql = sql;
+    this.partitions = partitions;
     this.plugin = plugin;
     this.rows = rows;
   }
 
   @Override
   public void applyAssignments(List<DrillbitEndpoint> endpoints) throws PhysicalOperatorSetupException {
+    width = endpoints.size();
   }
 
   @Override
   public SubScan getSpecificScan(int minorFragmentId) throws ExecutionSetupException {
-    return new JdbcSubScan(sql, plugin);
+    if (partitions.isEmpty()) {
+      return new JdbcSubScan(sql, partitions, plugin);
+    }
+    // the ranges are dealt out round robin, there may be less fragments than ranges
+    List<String> assigned = Lists.newArrayList();
+    for (int i = minorFragmentId; i < partitions.size(); i += width) {
+      assigned.add(partitions.get(i));
+    }
+    return new JdbcSubScan(sql, assigned, plugin);
   }
 
   @Override
   public int getMaxParallelizationWidth() {
-    return 1;
+    return Math.max(partitions.size(), 1);
   }
 
   @Override
@@ -88,9 +105,18 @@ public class JdbcGroupScan extends AbstractGroupScan {
     return sql;
   }
 
+  /**
+   * @return queries reading the ranges of the partition column of a partitioned query, empty if the query is not
+   * partitioned
+   */
+  @JsonInclude(JsonInclude.Include.NON_EMPTY)
+  public List<String> getPartitions() {
+    return partitions;
+  }
+
   @Override
   public String getDigest() {
-    return sql + String.valueOf(plugin.getConfig());
+    return sql + partitions + String.valueOf(plugin.getConfig());
   }
 
   public StoragePluginConfig getConfig() {
@@ -99,9 +125,7 @@ public class JdbcGroupScan extends AbstractGroupScan {
 
   @Override
   public PhysicalOperator getNewWithChildren(List<PhysicalOperator> children) throws ExecutionSetupException {
-    return new JdbcGroupScan(sql, plugin, rows);
+    return new JdbcGroupScan(sql, partitions, plugin, rows);
   }
 
-
-
 }
\ No newline at end of file
@@ -18,11 +18,22 @@
 package org.apache.drill.exec.store.jdbc;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.calcite.adapter.java.JavaTypeFactory;
 import org.apache.calcite.adapter.jdbc.JdbcImplementor;
+import org.apache.calcite.adapter.jdbc.JdbcRules.JdbcFilter;
+import org.apache.calcite.adapter.jdbc.JdbcRules.JdbcProject;
+import org.apache.calcite.adapter.jdbc.JdbcTableScan;
 import org.apache.calcite.plan.ConventionTraitDef;
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelTraitSet;
@@ -31,8 +42,15 @@ import org.apache.calcite.rel.AbstractRelNode;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelShuttleImpl;
 import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.core.TableScan;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.sql.SqlDialect;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.Util;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.planner.physical.PhysicalPlanCreator;
 import org.apache.drill.exec.planner.physical.Prel;
@@ -40,11 +58,16 @@ import org.apache.drill.exec.planner.physical.visitor.PrelVisitor;
 import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
 import org.apache.drill.exec.store.jdbc.JdbcStoragePlugin.DrillJdbcConvention;
 
+import com.google.common.collect.Lists;
+
 /**
  * Represents a JDBC Plan once the children nodes have been rewritten into SQL.
  */
 public class JdbcPrel extends AbstractRelNode implements Prel {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(JdbcPrel.class);
+
   private final String sql;
+  private final List<String> partitions;
   private final double rows;
   private final DrillJdbcConvention convention;
 
@@ -55,14 +78,134 @@ public class JdbcPrel extends AbstractRelNode implements Prel {
     convention = (DrillJdbcConvention) input.getTraitSet().getTrait(ConventionTraitDef.INSTANCE);
 
     // generate sql for tree.
+    final RelNode tree = input.accept(new SubsetRemover());
+    sql = toSql(tree);
+    partitions = partition(tree);
+    rowType = input.getRowType();
+  }
+
+  private String toSql(RelNode tree) {
     final SqlDialect dialect = convention.getPlugin().getDialect();
     final JdbcImplementor jdbcImplementor = new JdbcImplementor(
         dialect,
         (JavaTypeFactory) getCluster().getTypeFactory());
     final JdbcImplementor.Result result =
-        jdbcImplementor.visitChild(0, input.accept(new SubsetRemover()));
-    sql = result.asStatement().toSqlString(dialect).getSql();
-    rowType = input.getRowType();
+        jdbcImplementor.visitChild(0, tree);
+    return result.asStatement().toSqlString(dialect).getSql();
+  }
+
+  /**
+   * Splits a query reading from a single table, which has a partition column configured in the storage plugin, into
+   * queries reading consecutive ranges of values of the partition column. The first range also reads the rows where
+   * the column is null. The bounds of the ranges are taken from the minimum and maximum value of the column.
+   *
+   * @return queries of the ranges, empty if the query is not split
+   */
+  private List<String> partition(RelNode tree) {
+    final JdbcStorageConfig config = convention.getPlugin().getConfig();
+    if (config.getPartitionCount() < 2 || config.getPartitionColumns().isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    // only filters and projects over a scan can be split without changing the results
+    RelNode node = tree;
+    while (node instanceof JdbcProject || node instanceof JdbcFilter) {
+      node = node.getInput(0);
+    }
+    if (!(node instanceof JdbcTableScan)) {
+      return Collections.emptyList();
+    }
+    final TableScan scan = (TableScan) node;
+    final String table = Util.last(scan.getTable().getQualifiedName());
+    String column = null;
+    for (Map.Entry<String, String> entry : config.getPartitionColumns().entrySet()) {
+      if (entry.getKey().equalsIgnoreCase(table)) {
+        column = entry.getValue();
+      }
+    }
+    final RelDataTypeField field = column == null ? null : scan.getRowType().getField(column, false, false);
+    if (field == null || !SqlTypeName.INT_TYPES.contains(field.getType().getSqlTypeName())) {
+      return Collections.emptyList();
+    }
+
+    final long[] bounds = getBounds(toSql(scan), field.getName());
+    if (bounds == null) {
+      return Collections.emptyList();
+    }
+    final BigInteger min = BigInteger.valueOf(bounds[0]);
+    final BigInteger size = BigInteger.valueOf(bounds[1]).subtract(min).add(BigInteger.ONE);
+    final int count = size.min(BigInteger.valueOf(config.getPartitionCount())).intValue();
+    if (count < 2) {
+      return Collections.emptyList();
+    }
+
+    final RexBuilder rexBuilder = getCluster().getRexBuilder();
+    final RexNode ref = rexBuilder.makeInputRef(scan, field.getIndex());
+    final List<String> queries = Lists.newArrayList();
+    for (int i = 0; i < count; i++) {
+      RexNode condition = null;
+      if (i > 0) {
+        final BigInteger lower = min.add(size.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count)));
+        condition = rexBuilder.makeCall(SqlStdOperatorTable.GREATER_THAN_OR_EQUAL, ref,
+            rexBuilder.makeBigintLiteral(new BigDecimal(lower)));
+      }
+      if (i < count - 1) {
+        final BigInteger upper = min.add(size.multiply(BigInteger.valueOf(i + 1)).divide(BigInteger.valueOf(count)));
+        final RexNode lessThan = rexBuilder.makeCall(SqlStdOperatorTable.LESS_THAN, ref,
+            rexBuilder.makeBigintLiteral(new BigDecimal(upper)));
+        condition = condition == null ? lessThan : rexBuilder.makeCall(SqlStdOperatorTable.AND, condition, lessThan);
+      }
+      if (i == 0) {
+        condition = rexBuilder.makeCall(SqlStdOperatorTable.OR, condition,
+            rexBuilder.makeCall(SqlStdOperatorTable.IS_NULL, ref));
+      }
+      queries.add(toSql(tree.accept(new ScanFilterInserter(condition))));
+    }
+    return queries;
+  }
+
+  /**
+   * @return minimum and maximum value of the column, null if the table is empty or they could not be queried
+   */
+  private long[] getBounds(String scanSql, String column) {
+    final SqlDialect dialect = convention.getPlugin().getDialect();
+    final String quotedColumn = dialect.quoteIdentifier(column);
+    final String boundsSql = String.format("SELECT MIN(%s), MAX(%s) FROM (%s) %s",
+        quotedColumn, quotedColumn, scanSql, dialect.quoteIdentifier("bounds"));
+    try (Connection connection = convention.getPlugin().getSource().getConnection();
+         Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(boundsSql)) {
+      if (!resultSet.next()) {
+        return null;
+      }
+      final long min = resultSet.getLong(1);
+      if (resultSet.wasNull()) {
+        return null;
+      }
+      return new long[] {min, resultSet.getLong(2)};
+    } catch (SQLException e) {
+      logger.warn("Failure while querying the bounds of the partition column, the query is not split: {}",
+          boundsSql, e);
+      return null;
+    }
+  }
+
+  /**
+   * Adds a filter with the given condition above the table scan of the tree.
+   */
+  private static class ScanFilterInserter extends RelShuttleImpl {
+
+    private final RexNode condition;
+
+    ScanFilterInserter(RexNode condition) {
+      this.condition = condition;
+    }
+
+    @Override
+    public RelNode visit(TableScan scan) {
+      return new JdbcFilter(scan.getCluster(), scan.getTraitSet(), scan, condition);
+    }
+
   }
 
   //Substitute newline. Also stripping away single line comments. Expecting hints to be nested in '/* <hint> */'
@@ -92,13 +235,15 @@ public class JdbcPrel extends AbstractRelNode implements Prel {
 
   @Override
   public PhysicalOperator getPhysicalOperator(PhysicalPlanCreator creator) throws IOException {
-    JdbcGroupScan output = new JdbcGroupScan(sql, convention.getPlugin(), rows);
+    JdbcGroupScan output = new JdbcGroupScan(sql, partitions, convention.getPlugin(), rows);
     return creator.addMetadata(this, output);
   }
 
   @Override
   public RelWriter explainTerms(RelWriter pw) {
-    return super.explainTerms(pw).item("sql", stripToOneLineSql(sql));
+    return super.explainTerms(pw)
+        .item("sql", stripToOneLineSql(sql))
+        .itemIf("partitions", partitions.size(), !partitions.isEmpty());
   }
 
   @Override
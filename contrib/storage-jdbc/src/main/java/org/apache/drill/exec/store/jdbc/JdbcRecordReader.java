@@ -73,13 +73,15 @@ class JdbcRecordReader extends AbstractRecordReader {
   private Connection connection;
   private Statement statement;
   private final String sql;
+  private final int fetchSize;
   private ImmutableList<ValueVector> vectors;
   private ImmutableList<Copier<?>> copiers;
 
-  public JdbcRecordReader(DataSource source, String sql, String storagePluginName) {
+  public JdbcRecordReader(DataSource source, String sql, String storagePluginName, int fetchSize) {
     this.source = source;
     this.sql = sql;
     this.storagePluginName = storagePluginName;
+    this.fetchSize = fetchSize;
   }
 
   static {
@@ -184,6 +186,9 @@ class JdbcRecordReader extends AbstractRecordReader {
     try {
       connection = source.getConnection();
       statement = connection.createStatement();
+      if (fetchSize > 0) {
+        statement.setFetchSize(fetchSize);
+      }
       resultSet = statement.executeQuery(sql);
 
       final ResultSetMetaData meta = resultSet.getMetaData();
@@ -17,6 +17,9 @@
  */
 package org.apache.drill.exec.store.jdbc;
 
+import java.util.Collections;
+import java.util.Map;
+
 import com.fasterxml.jackson.annotation.JsonFilter;
 import org.apache.drill.common.logical.StoragePluginConfig;
 
@@ -34,18 +37,37 @@ public class JdbcStorageConfig extends StoragePluginConfig {
   private final String url;
   private final String username;
   private final String password;
+  private final int fetchSize;
+  private final Map<String, String> partitionColumns;
+  private final int partitionCount;
 
+  /**
+   * @param fetchSize number of rows fetched from the database per round trip, 0 to use the default of the driver
+   * @param partitionColumns integer column of a table, by table name, on which queries reading only from that table
+   *                         are split into ranges read in parallel
+   * @param partitionCount number of ranges to split such queries into, 0 or 1 to disable the split
+   */
   @JsonCreator
   public JdbcStorageConfig(
       @JsonProperty("driver") String driver,
       @JsonProperty("url") String url,
       @JsonProperty("username") String username,
-      @JsonProperty("password") String password) {
+      @JsonProperty("password") String password,
+      @JsonProperty("fetchSize") int fetchSize,
+      @JsonProperty("partitionColumns") Map<String, String> partitionColumns,
+      @JsonProperty("partitionCount") int partitionCount) {
     super();
     this.driver = driver;
     this.url = url;
     this.username = username;
     this.password = password;
+    this.fetchSize = fetchSize;
+    this.partitionColumns = partitionColumns == null ? Collections.<String, String>emptyMap() : partitionColumns;
+    this.partitionCount = partitionCount;
+  }
+
+  public JdbcStorageConfig(String driver, String url, String username, String password) {
+    this(driver, url, username, password, 0, null, 0);
   }
 
   public String getDriver() {
@@ -64,6 +86,18 @@ public class JdbcStorageConfig extends StoragePluginConfig {
     return password;
   }
 
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  public Map<String, String> getPartitionColumns() {
+    return partitionColumns;
+  }
+
+  public int getPartitionCount() {
+    return partitionCount;
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
@@ -72,6 +106,9 @@ public class JdbcStorageConfig extends StoragePluginConfig {
     result = prime * result + ((password == null) ? 0 : password.hashCode());
     result = prime * result + ((url == null) ? 0 : url.hashCode());
     result = prime * result + ((username == null) ? 0 : username.hashCode());
+    result = prime * result + fetchSize;
+    result = prime * result + partitionColumns.hashCode();
+    result = prime * result + partitionCount;
     return result;
   }
 
@@ -115,7 +152,9 @@ public class JdbcStorageConfig extends StoragePluginConfig {
     } else if (!username.equals(other.username)) {
       return false;
     }
-    return true;
+    return fetchSize == other.fetchSize
+        && partitionCount == other.partitionCount
+        && partitionColumns.equals(other.partitionColumns);
   }
 
 
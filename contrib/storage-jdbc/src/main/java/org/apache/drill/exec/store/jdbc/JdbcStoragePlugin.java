@@ -61,6 +61,7 @@ import org.apache.drill.exec.store.AbstractStoragePlugin;
 import org.apache.drill.exec.store.SchemaConfig;
 import org.apache.drill.exec.store.jdbc.DrillJdbcRuleBase.DrillJdbcFilterRule;
 import org.apache.drill.exec.store.jdbc.DrillJdbcRuleBase.DrillJdbcProjectRule;
+import org.apache.drill.exec.store.jdbc.DrillJdbcRuleBase.DrillJdbcSortRule;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
@@ -72,7 +73,7 @@ public class JdbcStoragePlugin extends AbstractStoragePlugin {
 
   // Rules from Calcite's JdbcRules class that we want to avoid using.
   private static String[] RULES_TO_AVOID = {
-      "JdbcToEnumerableConverterRule", "JdbcFilterRule", "JdbcProjectRule"
+      "JdbcToEnumerableConverterRule", "JdbcFilterRule", "JdbcProjectRule", "JdbcSortRule"
   };
 
 
@@ -118,6 +119,7 @@ public class JdbcStoragePlugin extends AbstractStoragePlugin {
       builder.add(new JdbcDrelConverterRule(this));
       builder.add(new DrillJdbcProjectRule(this));
       builder.add(new DrillJdbcFilterRule(this));
+      builder.add(new DrillJdbcSortRule(this));
 
       outside: for (RelOptRule rule : JdbcRules.rules(this)) {
         final String description = rule.toString();
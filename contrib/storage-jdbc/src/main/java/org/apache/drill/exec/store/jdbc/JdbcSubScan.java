@@ -17,6 +17,9 @@
  */
 package org.apache.drill.exec.store.jdbc;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.common.logical.StoragePluginConfig;
 import org.apache.drill.exec.physical.base.AbstractSubScan;
@@ -25,6 +28,7 @@ import org.apache.drill.exec.store.StoragePluginRegistry;
 import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
@@ -32,21 +36,25 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 public class JdbcSubScan extends AbstractSubScan {
 
   private final String sql;
+  private final List<String> partitions;
   private final JdbcStoragePlugin plugin;
 
   @JsonCreator
   public JdbcSubScan(
       @JsonProperty("sql") String sql,
+      @JsonProperty("partitions") List<String> partitions,
       @JsonProperty("config") StoragePluginConfig config,
       @JacksonInject StoragePluginRegistry plugins) throws ExecutionSetupException {
     super("");
     this.sql = sql;
+    this.partitions = partitions == null ? Collections.<String>emptyList() : partitions;
     this.plugin = (JdbcStoragePlugin) plugins.getPlugin(config);
   }
 
-  JdbcSubScan(String sql, JdbcStoragePlugin plugin) {
+  JdbcSubScan(String sql, List<String> partitions, JdbcStoragePlugin plugin) {
     super("");
     this.sql = sql;
+    this.partitions = partitions;
     this.plugin = plugin;
   }
 
@@ -59,6 +67,14 @@ public class JdbcSubScan extends AbstractSubScan {
     return sql;
   }
 
+  /**
+   * @return queries of the ranges of a partitioned query read by this sub scan, empty if {@link #getSql()} is read
+   */
+  @JsonInclude(JsonInclude.Include.NON_EMPTY)
+  public List<String> getPartitions() {
+    return partitions;
+  }
+
   public StoragePluginConfig getConfig() {
     return plugin.getConfig();
   }
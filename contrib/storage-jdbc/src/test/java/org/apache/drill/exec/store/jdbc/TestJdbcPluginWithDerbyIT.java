@@ -136,4 +136,39 @@ public class TestJdbcPluginWithDerbyIT extends PlanTestBase {
     String query = "select * from DRILL_DERBY_TEST.PERSON where PERSON_ID = 1";
     testPlanMatchingPatterns(query, new String[]{}, new String[]{"Filter"});
   }
+
+  @Test
+  public void pushdownSortAndLimit() throws Exception {
+    final String query = "select PERSON_ID from derby.DRILL_DERBY_TEST.PERSON order by PERSON_ID desc limit 2 offset 1";
+    testPlanMatchingPatterns(query, new String[] {}, new String[] { "Limit", "Sort" });
+
+    testBuilder()
+        .sqlQuery(query)
+        .ordered()
+        .baselineColumns("PERSON_ID")
+        .baselineValues(4)
+        .baselineValues(3)
+        .go();
+  }
+
+  @Test
+  public void partitionedRead() throws Exception {
+    final String query = "select PERSON_ID from derby_partitioned.DRILL_DERBY_TEST.PERSON where PERSON_ID <> 3";
+    testPlanMatchingPatterns(query, new String[] { "partitions=2" }, new String[] { "Filter" });
+
+    testNoResult("SET `planner.slice_target` = 1");
+    try {
+      testBuilder()
+          .sqlQuery(query)
+          .unOrdered()
+          .baselineColumns("PERSON_ID")
+          .baselineValues(1)
+          .baselineValues(2)
+          .baselineValues(4)
+          .baselineValues(5)
+          .go();
+    } finally {
+      testNoResult("RESET `planner.slice_target`");
+    }
+  }
 }
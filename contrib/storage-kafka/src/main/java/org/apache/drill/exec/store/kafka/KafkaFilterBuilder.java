@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.kafka;
+
+import static org.apache.drill.exec.store.kafka.MetaDataField.KAFKA_OFFSET;
+import static org.apache.drill.exec.store.kafka.MetaDataField.KAFKA_PARTITION_ID;
+import static org.apache.drill.exec.store.kafka.MetaDataField.KAFKA_TIMESTAMP;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.apache.drill.common.expression.BooleanOperator;
+import org.apache.drill.common.expression.FunctionCall;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.expression.ValueExpressions;
+import org.apache.drill.exec.expr.fn.FunctionGenerationHelper;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Converts the conditions of a filter on the message metadata fields into a {@link KafkaScanSpec}:
+ * <ul>
+ *   <li>comparisons of kafkaMsgOffset with a literal restrict the offset range of each partition,</li>
+ *   <li>lower bounds on kafkaMsgTimestamp move the start of each partition to the first message with that timestamp,
+ *   upper bounds are not used since message timestamps are not guaranteed to increase with the offset,</li>
+ *   <li>equality of kafkaPartitionId with a literal restricts the partitions to scan.</li>
+ * </ul>
+ * Only conditions combined with and are converted, other conditions are ignored. The filter is still evaluated
+ * on the scanned messages.
+ */
+public class KafkaFilterBuilder {
+
+  private Set<Integer> partitionIds;
+  private Long minOffset;
+  private Long maxOffset;
+  private Long minTimestamp;
+  private boolean converted;
+
+  private KafkaFilterBuilder(KafkaScanSpec scanSpec) {
+    this.partitionIds = scanSpec.getPartitionIds();
+    this.minOffset = scanSpec.getMinOffset();
+    this.maxOffset = scanSpec.getMaxOffset();
+    this.minTimestamp = scanSpec.getMinTimestamp();
+  }
+
+  /**
+   * @param scanSpec scan spec of the group scan
+   * @param filter filter condition
+   * @return scan spec restricted by the filter, or null if no part of the filter could be converted
+   */
+  public static KafkaScanSpec build(KafkaScanSpec scanSpec, LogicalExpression filter) {
+    final KafkaFilterBuilder builder = new KafkaFilterBuilder(scanSpec);
+    builder.add(filter);
+    if (!builder.converted) {
+      return null;
+    }
+    return new KafkaScanSpec(scanSpec.getTopicName(), builder.partitionIds, builder.minOffset, builder.maxOffset,
+        builder.minTimestamp);
+  }
+
+  private void add(LogicalExpression expr) {
+    if (!(expr instanceof FunctionCall)) {
+      return;
+    }
+    final FunctionCall call = (FunctionCall) expr;
+    if (call instanceof BooleanOperator) {
+      if ("booleanAnd".equals(call.getName())) {
+        for (LogicalExpression arg : call.args) {
+          add(arg);
+        }
+      }
+      return;
+    }
+
+    switch (call.getName()) {
+      case FunctionGenerationHelper.EQ:
+      case FunctionGenerationHelper.LT:
+      case FunctionGenerationHelper.LE:
+      case FunctionGenerationHelper.GT:
+      case FunctionGenerationHelper.GE:
+        addComparison(call);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void addComparison(FunctionCall call) {
+    String function = call.getName();
+    String field = getField(call.args.get(0));
+    Long value = getValue(call.args.get(1));
+    if (field == null) {
+      // literal on the left side, swap the operands
+      field = getField(call.args.get(1));
+      value = getValue(call.args.get(0));
+      function = swap(function);
+    }
+    if (field == null || value == null) {
+      return;
+    }
+
+    if (KAFKA_OFFSET.getFieldName().equalsIgnoreCase(field)) {
+      addOffsetBound(function, value);
+    } else if (KAFKA_TIMESTAMP.getFieldName().equalsIgnoreCase(field)) {
+      addTimestampBound(function, value);
+    } else if (KAFKA_PARTITION_ID.getFieldName().equalsIgnoreCase(field)) {
+      addPartitionId(function, value);
+    }
+  }
+
+  private void addOffsetBound(String function, long value) {
+    switch (function) {
+      case FunctionGenerationHelper.EQ:
+        setMinOffset(value);
+        setMaxOffset(value + 1);
+        break;
+      case FunctionGenerationHelper.LT:
+        setMaxOffset(value);
+        break;
+      case FunctionGenerationHelper.LE:
+        setMaxOffset(value + 1);
+        break;
+      case FunctionGenerationHelper.GT:
+        setMinOffset(value + 1);
+        break;
+      case FunctionGenerationHelper.GE:
+        setMinOffset(value);
+        break;
+      default:
+        return;
+    }
+    converted = true;
+  }
+
+  private void addTimestampBound(String function, long value) {
+    switch (function) {
+      case FunctionGenerationHelper.EQ:
+      case FunctionGenerationHelper.GE:
+        setMinTimestamp(value);
+        break;
+      case FunctionGenerationHelper.GT:
+        setMinTimestamp(value + 1);
+        break;
+      default:
+        return;
+    }
+    converted = true;
+  }
+
+  private void addPartitionId(String function, long value) {
+    if (!FunctionGenerationHelper.EQ.equals(function)) {
+      return;
+    }
+    final Set<Integer> ids = value < Integer.MIN_VALUE || value > Integer.MAX_VALUE
+        ? Collections.<Integer>emptySet() : Collections.singleton((int) value);
+    partitionIds = partitionIds == null ? Sets.newHashSet(ids) : Sets.newHashSet(Sets.intersection(partitionIds, ids));
+    converted = true;
+  }
+
+  private void setMinOffset(long value) {
+    minOffset = minOffset == null ? value : Math.max(minOffset, value);
+  }
+
+  private void setMaxOffset(long value) {
+    maxOffset = maxOffset == null ? value : Math.min(maxOffset, value);
+  }
+
+  private void setMinTimestamp(long value) {
+    minTimestamp = minTimestamp == null ? value : Math.max(minTimestamp, value);
+  }
+
+  private static String getField(LogicalExpression expr) {
+    if (!(expr instanceof SchemaPath) || !((SchemaPath) expr).getRootSegment().isLastPath()) {
+      return null;
+    }
+    return ((SchemaPath) expr).getRootSegmentPath();
+  }
+
+  private static Long getValue(LogicalExpression expr) {
+    if (expr instanceof ValueExpressions.IntExpression) {
+      return (long) ((ValueExpressions.IntExpression) expr).getInt();
+    } else if (expr instanceof ValueExpressions.LongExpression) {
+      return ((ValueExpressions.LongExpression) expr).getLong();
+    }
+    return null;
+  }
+
+  private static String swap(String function) {
+    switch (function) {
+      case FunctionGenerationHelper.LT:
+        return FunctionGenerationHelper.GT;
+      case FunctionGenerationHelper.LE:
+        return FunctionGenerationHelper.GE;
+      case FunctionGenerationHelper.GT:
+        return FunctionGenerationHelper.LT;
+      case FunctionGenerationHelper.GE:
+        return FunctionGenerationHelper.LE;
+      default:
+        return function;
+    }
+  }
+}
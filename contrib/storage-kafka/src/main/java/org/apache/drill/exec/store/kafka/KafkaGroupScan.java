@@ -27,6 +27,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.physical.EndpointAffinity;
 import org.apache.drill.exec.physical.base.AbstractGroupScan;
 import org.apache.drill.exec.physical.base.GroupScan;
@@ -42,9 +43,11 @@ import org.apache.drill.exec.store.schedule.CompleteWork;
 import org.apache.drill.exec.store.schedule.EndpointByteMap;
 import org.apache.drill.exec.store.schedule.EndpointByteMapImpl;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
 import org.apache.kafka.common.Node;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.UnsupportedVersionException;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +78,7 @@ public class KafkaGroupScan extends AbstractGroupScan {
   private List<PartitionScanWork> partitionWorkList;
   private ListMultimap<Integer, PartitionScanWork> assignments;
   private List<EndpointAffinity> affinities;
+  private boolean filterPushedDown;
 
   @JsonCreator
   public KafkaGroupScan(@JsonProperty("userName") String userName,
@@ -114,6 +118,7 @@ public class KafkaGroupScan extends AbstractGroupScan {
     this.kafkaScanSpec = that.kafkaScanSpec;
     this.partitionWorkList = that.partitionWorkList;
     this.assignments = that.assignments;
+    this.filterPushedDown = that.filterPushedDown;
   }
 
   private static class PartitionScanWork implements CompleteWork {
@@ -161,7 +166,9 @@ public class KafkaGroupScan extends AbstractGroupScan {
 
   /**
    * Computes work per topic partition, based on start and end offset of each
-   * corresponding topicPartition
+   * corresponding topicPartition, restricted by the conditions of the scan spec.
+   * Partitions with more messages than {@link ExecConstants#KAFKA_PARTITION_SPLIT_SIZE}
+   * are split into several offset ranges.
    */
   private void init() {
     partitionWorkList = Lists.newArrayList();
@@ -173,6 +180,7 @@ public class KafkaGroupScan extends AbstractGroupScan {
 
     Map<TopicPartition, Long> startOffsetsMap = Maps.newHashMap();
     Map<TopicPartition, Long> endOffsetsMap = Maps.newHashMap();
+    Map<TopicPartition, OffsetAndTimestamp> timestampOffsetsMap = null;
     List<PartitionInfo> topicPartitions = null;
     String topicName = kafkaScanSpec.getTopicName();
 
@@ -204,28 +212,79 @@ public class KafkaGroupScan extends AbstractGroupScan {
       for (TopicPartition topicPartition : assignments) {
         endOffsetsMap.put(topicPartition, kafkaConsumer.position(topicPartition));
       }
+
+      // fetch offsets of the first messages not older than the pushed down timestamp
+      if (kafkaScanSpec.getMinTimestamp() != null) {
+        Map<TopicPartition, Long> timestampsToSearch = Maps.newHashMap();
+        for (TopicPartition topicPartition : assignments) {
+          timestampsToSearch.put(topicPartition, kafkaScanSpec.getMinTimestamp());
+        }
+        try {
+          timestampOffsetsMap = kafkaConsumer.offsetsForTimes(timestampsToSearch);
+        } catch (UnsupportedVersionException e) {
+          logger.warn("Kafka broker does not support searching offsets by timestamp, scanning {} from the beginning",
+              topicName, e);
+        }
+      }
     } catch (Exception e) {
       throw UserException.dataReadError(e).message("Failed to fetch start/end offsets of the topic  %s", topicName)
           .addContext(e.getMessage()).build(logger);
     }
 
+    long splitSize = kafkaStoragePlugin.getContext().getOptionManager()
+        .getLong(ExecConstants.KAFKA_PARTITION_SPLIT_SIZE);
+
     // computes work for each end point
     for (PartitionInfo partitionInfo : topicPartitions) {
+      if (kafkaScanSpec.getPartitionIds() != null
+          && !kafkaScanSpec.getPartitionIds().contains(partitionInfo.partition())) {
+        continue;
+      }
       TopicPartition topicPartition = new TopicPartition(topicName, partitionInfo.partition());
       long lastCommittedOffset = startOffsetsMap.get(topicPartition);
       long latestOffset = endOffsetsMap.get(topicPartition);
       logger.debug("Latest offset of {} is {}", topicPartition, latestOffset);
       logger.debug("Last committed offset of {} is {}", topicPartition, lastCommittedOffset);
-      PartitionScanWork work = new PartitionScanWork(topicPartition, lastCommittedOffset, latestOffset);
-      Node[] inSyncReplicas = partitionInfo.inSyncReplicas();
-      for (Node isr : inSyncReplicas) {
-        String host = isr.host();
-        DrillbitEndpoint ep = endpointMap.get(host);
-        if (ep != null) {
-          work.getByteMap().add(ep, work.getTotalBytes());
+
+      long beginOffset = lastCommittedOffset;
+      long endOffset = latestOffset;
+      if (kafkaScanSpec.getMinOffset() != null) {
+        beginOffset = Math.max(beginOffset, kafkaScanSpec.getMinOffset());
+      }
+      if (kafkaScanSpec.getMaxOffset() != null) {
+        endOffset = Math.min(endOffset, kafkaScanSpec.getMaxOffset());
+      }
+      if (timestampOffsetsMap != null) {
+        OffsetAndTimestamp offsetAndTimestamp = timestampOffsetsMap.get(topicPartition);
+        // no offset is returned if all messages of the partition are older than the timestamp
+        beginOffset = Math.max(beginOffset, offsetAndTimestamp == null ? endOffset : offsetAndTimestamp.offset());
+      }
+      if (beginOffset >= endOffset) {
+        logger.debug("No messages of {} match the filter", topicPartition);
+        continue;
+      }
+
+      long rangeEnd;
+      for (long offset = beginOffset; offset < endOffset; offset = rangeEnd) {
+        rangeEnd = endOffset - offset > splitSize ? offset + splitSize : endOffset;
+        PartitionScanWork work = new PartitionScanWork(topicPartition, offset, rangeEnd);
+        Node[] inSyncReplicas = partitionInfo.inSyncReplicas();
+        for (Node isr : inSyncReplicas) {
+          String host = isr.host();
+          DrillbitEndpoint ep = endpointMap.get(host);
+          if (ep != null) {
+            work.getByteMap().add(ep, work.getTotalBytes());
+          }
         }
+        partitionWorkList.add(work);
       }
-      partitionWorkList.add(work);
+    }
+
+    // a scan needs at least one reader to return the schema, so an empty range is read when no messages match
+    if (partitionWorkList.isEmpty() && !topicPartitions.isEmpty()) {
+      TopicPartition topicPartition = new TopicPartition(topicName, topicPartitions.get(0).partition());
+      long latestOffset = endOffsetsMap.get(topicPartition);
+      partitionWorkList.add(new PartitionScanWork(topicPartition, latestOffset, latestOffset));
     }
   }
 
@@ -313,6 +372,16 @@ public class KafkaGroupScan extends AbstractGroupScan {
     return kafkaStoragePlugin;
   }
 
+  @JsonIgnore
+  public boolean isFilterPushedDown() {
+    return filterPushedDown;
+  }
+
+  @JsonIgnore
+  public void setFilterPushedDown(boolean filterPushedDown) {
+    this.filterPushedDown = filterPushedDown;
+  }
+
   @Override
   public String toString() {
     return String.format("KafkaGroupScan [KafkaScanSpec=%s, columns=%s]", kafkaScanSpec, columns);
@@ -17,24 +17,82 @@
  */
 package org.apache.drill.exec.store.kafka;
 
+import java.util.Set;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+/**
+ * Topic to scan, optionally restricted by conditions on the message metadata pushed down from the query filter.
+ * The restrictions are resolved into offset ranges of each topic partition by {@link KafkaGroupScan}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class KafkaScanSpec {
   private String topicName;
 
+  // partitions to scan, all partitions if null
+  private Set<Integer> partitionIds;
+  // first offset to scan, inclusive
+  private Long minOffset;
+  // last offset to scan, exclusive
+  private Long maxOffset;
+  // scan starts at the first message with this or a later timestamp
+  private Long minTimestamp;
+
+  public KafkaScanSpec(String topicName) {
+    this(topicName, null, null, null, null);
+  }
+
   @JsonCreator
-  public KafkaScanSpec(@JsonProperty("topicName") String topicName) {
+  public KafkaScanSpec(@JsonProperty("topicName") String topicName,
+                       @JsonProperty("partitionIds") Set<Integer> partitionIds,
+                       @JsonProperty("minOffset") Long minOffset,
+                       @JsonProperty("maxOffset") Long maxOffset,
+                       @JsonProperty("minTimestamp") Long minTimestamp) {
     this.topicName = topicName;
+    this.partitionIds = partitionIds;
+    this.minOffset = minOffset;
+    this.maxOffset = maxOffset;
+    this.minTimestamp = minTimestamp;
   }
 
   public String getTopicName() {
     return topicName;
   }
 
+  public Set<Integer> getPartitionIds() {
+    return partitionIds;
+  }
+
+  public Long getMinOffset() {
+    return minOffset;
+  }
+
+  public Long getMaxOffset() {
+    return maxOffset;
+  }
+
+  public Long getMinTimestamp() {
+    return minTimestamp;
+  }
+
   @Override
   public String toString() {
-    return "KafkaScanSpec [topicName=" + topicName + "]";
+    StringBuilder sb = new StringBuilder("KafkaScanSpec [topicName=").append(topicName);
+    if (partitionIds != null) {
+      sb.append(", partitionIds=").append(partitionIds);
+    }
+    if (minOffset != null) {
+      sb.append(", minOffset=").append(minOffset);
+    }
+    if (maxOffset != null) {
+      sb.append(", maxOffset=").append(maxOffset);
+    }
+    if (minTimestamp != null) {
+      sb.append(", minTimestamp=").append(minTimestamp);
+    }
+    return sb.append("]").toString();
   }
 
 }
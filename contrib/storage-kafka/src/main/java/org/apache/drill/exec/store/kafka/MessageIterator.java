@@ -99,7 +99,13 @@ public class MessageIterator implements Iterator<ConsumerRecord<byte[], byte[]>>
     logger.debug("Time taken to fetch : {} milliseconds", lastFetchTime);
     totalFetchTime += lastFetchTime;
 
-    recordIter = consumerRecords.iterator();
+    // the last poll may return messages past the end of the offset range of this scan
+    List<ConsumerRecord<byte[], byte[]>> records = consumerRecords.records(topicPartition);
+    int count = records.size();
+    while (count > 0 && records.get(count - 1).offset() >= endOffset) {
+      count--;
+    }
+    recordIter = records.subList(0, count).iterator();
     return recordIter.hasNext();
   }
 
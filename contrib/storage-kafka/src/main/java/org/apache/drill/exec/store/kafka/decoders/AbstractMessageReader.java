@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.kafka.decoders;
+
+import static org.apache.drill.exec.store.kafka.MetaDataField.KAFKA_MSG_KEY;
+import static org.apache.drill.exec.store.kafka.MetaDataField.KAFKA_OFFSET;
+import static org.apache.drill.exec.store.kafka.MetaDataField.KAFKA_PARTITION_ID;
+import static org.apache.drill.exec.store.kafka.MetaDataField.KAFKA_TIMESTAMP;
+import static org.apache.drill.exec.store.kafka.MetaDataField.KAFKA_TOPIC;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.store.kafka.KafkaStoragePlugin;
+import org.apache.drill.exec.vector.complex.impl.VectorContainerWriter;
+import org.apache.drill.exec.vector.complex.writer.BaseWriter.MapWriter;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Sets;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * Base class of message readers which write the fields of a message directly into the value vectors, instead of
+ * converting the message into JSON text and parsing it again. The metadata fields of the message are written for
+ * every message, other top level fields only when they are projected.
+ */
+public abstract class AbstractMessageReader implements MessageReader {
+
+  private static final Logger logger = LoggerFactory.getLogger(AbstractMessageReader.class);
+
+  protected VectorContainerWriter writer;
+  protected DrillBuf buffer;
+
+  // lower case names of the projected top level fields, null for star queries
+  private Set<String> projectedFields;
+
+  @Override
+  public void init(DrillBuf buf, List<SchemaPath> columns, VectorContainerWriter writer, boolean allTextMode,
+      boolean readNumbersAsDouble) {
+    this.buffer = buf;
+    this.writer = writer;
+    for (SchemaPath column : columns) {
+      if (column.isDynamicStar()) {
+        projectedFields = null;
+        return;
+      }
+    }
+    projectedFields = Sets.newHashSet();
+    for (SchemaPath column : columns) {
+      projectedFields.add(column.getRootSegmentPath().toLowerCase());
+    }
+  }
+
+  @Override
+  public void readMessage(ConsumerRecord<?, ?> record) {
+    final MapWriter map = writer.rootAsMap();
+    writeMetadata(map, record);
+    readValue(map, (byte[]) record.value());
+  }
+
+  /**
+   * Writes the fields of the message value.
+   */
+  protected abstract void readValue(MapWriter map, byte[] value);
+
+  protected boolean isProjected(String field) {
+    return projectedFields == null || projectedFields.contains(field.toLowerCase());
+  }
+
+  protected void writeVarChar(MapWriter map, String field, byte[] bytes) {
+    buffer = buffer.reallocIfNeeded(bytes.length);
+    buffer.setBytes(0, bytes);
+    map.varChar(field).writeVarChar(0, bytes.length, buffer);
+  }
+
+  protected void writeVarBinary(MapWriter map, String field, byte[] bytes) {
+    buffer = buffer.reallocIfNeeded(bytes.length);
+    buffer.setBytes(0, bytes);
+    map.varBinary(field).writeVarBinary(0, bytes.length, buffer);
+  }
+
+  private void writeMetadata(MapWriter map, ConsumerRecord<?, ?> record) {
+    writeVarChar(map, KAFKA_TOPIC.getFieldName(), record.topic().getBytes(Charsets.UTF_8));
+    map.bigInt(KAFKA_PARTITION_ID.getFieldName()).writeBigInt(record.partition());
+    map.bigInt(KAFKA_OFFSET.getFieldName()).writeBigInt(record.offset());
+    map.bigInt(KAFKA_TIMESTAMP.getFieldName()).writeBigInt(record.timestamp());
+    if (record.key() != null) {
+      writeVarChar(map, KAFKA_MSG_KEY.getFieldName(), (byte[]) record.key());
+    }
+  }
+
+  @Override
+  public void ensureAtLeastOneField() {
+    // metadata fields are written for every message, create one of them for a batch without messages
+    writer.rootAsMap().bigInt(KAFKA_OFFSET.getFieldName());
+  }
+
+  @Override
+  public KafkaConsumer<byte[], byte[]> getConsumer(KafkaStoragePlugin plugin) {
+    return plugin.registerConsumer(new KafkaConsumer<>(plugin.getConfig().getKafkaConsumerProps(),
+        new ByteArrayDeserializer(), new ByteArrayDeserializer()));
+  }
+
+  @Override
+  public void close() {
+    this.writer.clear();
+    try {
+      this.writer.close();
+    } catch (Exception e) {
+      logger.warn("Error while closing {}", getClass().getSimpleName(), e);
+    }
+  }
+
+}
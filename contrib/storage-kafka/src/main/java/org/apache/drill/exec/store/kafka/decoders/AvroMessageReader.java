@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.kafka.decoders;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.apache.avro.LogicalType;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericArray;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.util.Utf8;
+import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.store.kafka.KafkaStoragePlugin;
+import org.apache.drill.exec.vector.complex.impl.MapOrListWriterImpl;
+import org.apache.drill.exec.vector.complex.writer.BaseWriter.MapWriter;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.joda.time.DateTimeConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+
+/**
+ * MessageReader for messages whose value is a single Avro record in binary encoding, without a schema registry
+ * header. Fields are written directly into the value vectors, like the Avro format plugin does for files.
+ * <p>
+ * The schema of the records is read from the file given by the {@value #AVRO_SCHEMA_FILE} property of the
+ * kafkaConsumerProps of the storage plugin configuration, the file must be available on every Drillbit.
+ */
+public class AvroMessageReader extends AbstractMessageReader {
+
+  private static final Logger logger = LoggerFactory.getLogger(AvroMessageReader.class);
+
+  public static final String AVRO_SCHEMA_FILE = "avro.schema.file";
+
+  private Schema schema;
+  private GenericDatumReader<GenericRecord> datumReader;
+  private BinaryDecoder decoder;
+  private GenericRecord record;
+
+  @Override
+  public KafkaConsumer<byte[], byte[]> getConsumer(KafkaStoragePlugin plugin) {
+    final String schemaFile = plugin.getConfig().getKafkaConsumerProps().getProperty(AVRO_SCHEMA_FILE);
+    if (Strings.isNullOrEmpty(schemaFile)) {
+      throw UserException.validationError()
+          .message("Please configure the Avro schema of the messages using the property '%s' of the " +
+              "kafkaConsumerProps of the storage plugin", AVRO_SCHEMA_FILE)
+          .build(logger);
+    }
+    try {
+      schema = new Schema.Parser().parse(new File(schemaFile));
+    } catch (IOException e) {
+      throw UserException.dataReadError(e).message("Failed to read Avro schema from %s", schemaFile)
+          .addContext("MessageReader", AvroMessageReader.class.getName()).build(logger);
+    }
+    if (schema.getType() != Schema.Type.RECORD) {
+      throw UserException.validationError().message("Root object must be record type. Found: %s", schema.getType())
+          .build(logger);
+    }
+    datumReader = new GenericDatumReader<>(schema);
+    return super.getConsumer(plugin);
+  }
+
+  @Override
+  protected void readValue(MapWriter map, byte[] value) {
+    if (value == null) {
+      return;
+    }
+    try {
+      decoder = DecoderFactory.get().binaryDecoder(value, decoder);
+      record = datumReader.read(record, decoder);
+    } catch (IOException e) {
+      throw UserException.dataReadError(e).message(e.getMessage())
+          .addContext("MessageReader", AvroMessageReader.class.getName()).build(logger);
+    }
+
+    processRecord(record, schema, new MapOrListWriterImpl(map), true);
+  }
+
+  private void processRecord(GenericRecord value, Schema schema, MapOrListWriterImpl writer, boolean topLevel) {
+    for (Schema.Field field : schema.getFields()) {
+      if (topLevel && !isProjected(field.name())) {
+        continue;
+      }
+      final Object fieldValue = value.get(field.pos());
+      if (fieldValue instanceof GenericRecord) {
+        process(fieldValue, field.schema(), field.name(), (MapOrListWriterImpl) writer.map(field.name()));
+      } else {
+        process(fieldValue, field.schema(), field.name(), writer);
+      }
+    }
+  }
+
+  private void process(Object value, Schema schema, String fieldName, MapOrListWriterImpl writer) {
+    if (value == null) {
+      return;
+    }
+
+    switch (schema.getType()) {
+      case RECORD:
+        // the writer is already the map of this record
+        processRecord((GenericRecord) value, schema, writer, false);
+        break;
+      case ARRAY:
+        final Schema elementSchema = schema.getElementType();
+        final Schema.Type elementType = elementSchema.getType();
+        final MapOrListWriterImpl listWriter = elementType == Schema.Type.RECORD || elementType == Schema.Type.MAP
+            ? (MapOrListWriterImpl) writer.list(fieldName).listoftmap(fieldName)
+            : (MapOrListWriterImpl) writer.list(fieldName);
+        for (Object element : (GenericArray<?>) value) {
+          listWriter.start();
+          process(element, elementSchema, fieldName, listWriter);
+          listWriter.end();
+        }
+        break;
+      case UNION:
+        // only nullable unions (optional fields) like ["null", "some-type"] are supported
+        if (schema.getTypes().size() != 2 || schema.getTypes().get(0).getType() != Schema.Type.NULL) {
+          throw UserException.unsupportedError()
+              .message("Avro union type must be of the format : [\"null\", \"some-type\"]")
+              .build(logger);
+        }
+        process(value, schema.getTypes().get(1), fieldName, writer);
+        break;
+      case MAP:
+        final MapOrListWriterImpl mapWriter = (MapOrListWriterImpl) writer.map(fieldName);
+        mapWriter.start();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+          process(entry.getValue(), schema.getValueType(), entry.getKey().toString(), mapWriter);
+        }
+        mapWriter.end();
+        break;
+      default:
+        processPrimitive(value, schema, fieldName, writer);
+    }
+  }
+
+  private void processPrimitive(Object value, Schema schema, String fieldName, MapOrListWriterImpl writer) {
+    final LogicalType logicalType = schema.getLogicalType();
+    final String logicalTypeName = logicalType != null ? logicalType.getName() : "";
+
+    switch (schema.getType()) {
+      case STRING:
+        if (value instanceof Utf8) {
+          final Utf8 utf8 = (Utf8) value;
+          writeVarChar(writer, fieldName, utf8.getBytes(), utf8.getByteLength());
+        } else {
+          final byte[] bytes = value.toString().getBytes(Charsets.UTF_8);
+          writeVarChar(writer, fieldName, bytes, bytes.length);
+        }
+        break;
+      case ENUM:
+        final byte[] symbol = value.toString().getBytes(Charsets.UTF_8);
+        writeVarChar(writer, fieldName, symbol, symbol.length);
+        break;
+      case INT:
+        if ("date".equals(logicalTypeName)) {
+          writer.date(fieldName).writeDate((int) value * (long) DateTimeConstants.MILLIS_PER_DAY);
+        } else {
+          writer.integer(fieldName).writeInt((Integer) value);
+        }
+        break;
+      case LONG:
+        if ("timestamp-millis".equals(logicalTypeName)) {
+          writer.timeStamp(fieldName).writeTimeStamp((Long) value);
+        } else {
+          writer.bigInt(fieldName).writeBigInt((Long) value);
+        }
+        break;
+      case FLOAT:
+        writer.float4(fieldName).writeFloat4((Float) value);
+        break;
+      case DOUBLE:
+        writer.float8(fieldName).writeFloat8((Double) value);
+        break;
+      case BOOLEAN:
+        writer.bit(fieldName).writeBit((Boolean) value ? 1 : 0);
+        break;
+      case BYTES:
+        final ByteBuffer bytes = (ByteBuffer) value;
+        final int length = bytes.remaining();
+        buffer = buffer.reallocIfNeeded(length);
+        buffer.setBytes(0, bytes);
+        writer.binary(fieldName).writeVarBinary(0, length, buffer);
+        break;
+      case FIXED:
+        final byte[] fixed = ((GenericFixed) value).bytes();
+        buffer = buffer.reallocIfNeeded(fixed.length);
+        buffer.setBytes(0, fixed);
+        writer.binary(fieldName).writeVarBinary(0, fixed.length, buffer);
+        break;
+      case NULL:
+        break;
+      default:
+        throw UserException.unsupportedError().message("Unhandled Avro type: %s", schema.getType()).build(logger);
+    }
+  }
+
+  private void writeVarChar(MapOrListWriterImpl writer, String fieldName, byte[] bytes, int length) {
+    buffer = buffer.reallocIfNeeded(length);
+    buffer.setBytes(0, bytes, 0, length);
+    writer.varChar(fieldName).writeVarChar(0, length, buffer);
+  }
+
+}
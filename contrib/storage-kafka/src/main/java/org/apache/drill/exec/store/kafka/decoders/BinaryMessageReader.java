@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.kafka.decoders;
+
+import org.apache.drill.exec.vector.complex.writer.BaseWriter.MapWriter;
+
+/**
+ * MessageReader which writes the message value as is into the VARBINARY column kafkaMsgValue, along with the
+ * metadata fields. Values can be decoded in the query, for example with convert_from.
+ */
+public class BinaryMessageReader extends AbstractMessageReader {
+
+  public static final String KAFKA_MSG_VALUE = "kafkaMsgValue";
+
+  @Override
+  protected void readValue(MapWriter map, byte[] value) {
+    if (value != null && isProjected(KAFKA_MSG_VALUE)) {
+      writeVarBinary(map, KAFKA_MSG_VALUE, value);
+    }
+  }
+
+}
@@ -17,8 +17,8 @@
  */
 package org.apache.drill.exec.store.kafka;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Random;
@@ -27,9 +27,11 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 import org.apache.avro.Schema;
-import org.apache.avro.generic.GenericData.Record;
+import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.GenericRecordBuilder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
 import org.apache.drill.common.exceptions.DrillRuntimeException;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -64,34 +66,42 @@ public class KafkaMessageGenerator {
     producerProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer);
   }
 
+  /**
+   * Publish Avro records of the drill-avro-test.avsc schema in binary encoding, as read by the
+   * AvroMessageReader. The values are derived from the message number: key1 is "value" + i, key2 is i,
+   * key3 is whether i is even, key5 is [i, 10 * i, 100 * i] and key6 maps key61 to i + 0.5 and key62 to 2.5 * i.
+   * Expects a generator created with the ByteArraySerializer.
+   */
   public void populateAvroMsgIntoKafka(String topic, int numMsg) throws IOException {
-    KafkaProducer<String, GenericRecord> producer = new KafkaProducer<String, GenericRecord>(producerProperties);
-    Schema.Parser parser = new Schema.Parser();
-    Schema schema = parser.parse(Resources.getResource("drill-avro-test.avsc").openStream());
+    Schema schema = new Schema.Parser().parse(Resources.getResource("drill-avro-test.avsc").openStream());
     GenericRecordBuilder builder = new GenericRecordBuilder(schema);
-    Random rand = new Random();
-    for (int i = 0; i < numMsg; ++i) {
-      builder.set("key1", UUID.randomUUID().toString());
-      builder.set("key2", rand.nextInt());
-      builder.set("key3", rand.nextBoolean());
-
-      List<Integer> list = Lists.newArrayList();
-      list.add(rand.nextInt(100));
-      list.add(rand.nextInt(100));
-      list.add(rand.nextInt(100));
-      builder.set("key5", list);
-
-      Map<String, Double> map = Maps.newHashMap();
-      map.put("key61", rand.nextDouble());
-      map.put("key62", rand.nextDouble());
-      builder.set("key6", map);
-
-      Record producerRecord = builder.build();
-
-      ProducerRecord<String, GenericRecord> record = new ProducerRecord<String, GenericRecord>(topic, producerRecord);
-      producer.send(record);
+    GenericDatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>(schema);
+    KafkaProducer<String, byte[]> producer = new KafkaProducer<String, byte[]>(producerProperties);
+    try {
+      for (int i = 0; i < numMsg; ++i) {
+        builder.set("key1", "value" + i);
+        builder.set("key2", i);
+        builder.set("key3", i % 2 == 0);
+        builder.set("key5", Lists.newArrayList(i, 10 * i, 100 * i));
+
+        Map<String, Double> map = Maps.newHashMap();
+        map.put("key61", i + 0.5);
+        map.put("key62", 2.5 * i);
+        builder.set("key6", map);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        datumWriter.write(builder.build(), encoder);
+        encoder.flush();
+
+        ProducerRecord<String, byte[]> message = new ProducerRecord<String, byte[]>(topic, out.toByteArray());
+        logger.info("Committed offset of the message : {}", producer.send(message).get().offset());
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new DrillRuntimeException(e.getMessage(), e);
+    } finally {
+      producer.close();
     }
-    producer.close();
   }
 
   public void populateJsonMsgIntoKafka(String topic, int numMsg) throws InterruptedException, ExecutionException {
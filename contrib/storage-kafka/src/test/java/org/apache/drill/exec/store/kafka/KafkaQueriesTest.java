@@ -23,7 +23,13 @@ import java.util.Set;
 
 import org.apache.drill.categories.KafkaStorageTest;
 import org.apache.drill.categories.SlowTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.base.GroupScan;
 import org.apache.drill.exec.rpc.RpcException;
+import org.apache.drill.exec.store.kafka.decoders.AvroMessageReader;
+import org.apache.drill.exec.store.kafka.decoders.BinaryMessageReader;
+import org.apache.drill.exec.store.kafka.decoders.JsonMessageReader;
+import org.apache.drill.test.TestBuilder;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
@@ -109,6 +115,86 @@ public class KafkaQueriesTest extends KafkaTestBase {
     return offsetsMap;
   }
 
+  @Test
+  public void testPushDownOnOffset() throws Exception {
+    long startOffset = fetchOffsets(-2).get(new TopicPartition(TestQueryConstants.JSON_TOPIC, 0));
+    String queryString = String.format(TestQueryConstants.MIN_OFFSET_FILTER_QUERY, TestQueryConstants.JSON_TOPIC,
+        startOffset + 5);
+    testHelper(queryString, String.format("minOffset=%d", startOffset + 5), TestKafkaSuit.NUM_JSON_MSG - 5);
+  }
+
+  @Test
+  public void testPushDownWithoutMatchingMessages() throws Exception {
+    String queryString = String.format(TestQueryConstants.MAX_OFFSET_FILTER_QUERY, TestQueryConstants.JSON_TOPIC, 0);
+    testHelper(queryString, "maxOffset=0", 0);
+  }
+
+  @Test
+  public void testPushDownOnTimestamp() throws Exception {
+    String queryString = String.format(TestQueryConstants.MIN_TIMESTAMP_FILTER_QUERY, TestQueryConstants.JSON_TOPIC,
+        0);
+    testHelper(queryString, "minTimestamp=1", TestKafkaSuit.NUM_JSON_MSG);
+  }
+
+  @Test
+  public void testBinaryMessageReader() throws Exception {
+    try {
+      testNoResult(String.format("alter session set `%s` = '%s'", ExecConstants.KAFKA_RECORD_READER,
+          BinaryMessageReader.class.getName()));
+      String queryString = String.format(TestQueryConstants.MSG_VALUE_COUNT_QUERY, TestQueryConstants.JSON_TOPIC);
+      testBuilder().sqlQuery(queryString).unOrdered().baselineColumns("cnt")
+          .baselineValues((long) TestKafkaSuit.NUM_JSON_MSG).go();
+    } finally {
+      testNoResult(String.format("alter session set `%s` = '%s'", ExecConstants.KAFKA_RECORD_READER,
+          JsonMessageReader.class.getName()));
+    }
+  }
+
+  @Test
+  public void testAvroMessageReader() throws Exception {
+    try {
+      testNoResult(String.format("alter session set `%s` = '%s'", ExecConstants.KAFKA_RECORD_READER,
+          AvroMessageReader.class.getName()));
+      String queryString = String.format("select t.key1, t.key2, t.key3, t.key5[1] as key5, t.key6.key62 as key62 " +
+          "from kafka.`%s` t", TestQueryConstants.AVRO_TOPIC);
+      TestBuilder builder = testBuilder().sqlQuery(queryString).unOrdered()
+          .baselineColumns("key1", "key2", "key3", "key5", "key62");
+      for (int i = 0; i < TestKafkaSuit.NUM_AVRO_MSG; i++) {
+        builder.baselineValues("value" + i, i, i % 2 == 0, 10 * i, 2.5 * i);
+      }
+      builder.go();
+    } finally {
+      testNoResult(String.format("alter session set `%s` = '%s'", ExecConstants.KAFKA_RECORD_READER,
+          JsonMessageReader.class.getName()));
+    }
+  }
+
+  @Test
+  public void testPartitionSplit() throws Exception {
+    KafkaStoragePlugin plugin = (KafkaStoragePlugin) getDrillbitContext().getStorage()
+        .getPlugin(KafkaStoragePluginConfig.NAME);
+    try {
+      testNoResult(String.format("alter system set `%s` = %d", ExecConstants.KAFKA_PARTITION_SPLIT_SIZE, 3));
+      // the single partition of the topic is read as ranges of 3, 3, 3 and 1 messages
+      KafkaGroupScan groupScan = new KafkaGroupScan(plugin, new KafkaScanSpec(TestQueryConstants.JSON_TOPIC),
+          GroupScan.ALL_COLUMNS);
+      Assert.assertEquals(4, groupScan.getMaxParallelizationWidth());
+
+      String queryString = String.format("select count(*) as cnt, count(distinct kafkaMsgOffset) as offsets, " +
+          "min(kafkaMsgOffset) as minOffset, max(kafkaMsgOffset) as maxOffset from kafka.`%s`",
+          TestQueryConstants.JSON_TOPIC);
+      long startOffset = fetchOffsets(-2).get(new TopicPartition(TestQueryConstants.JSON_TOPIC, 0));
+      long endOffset = fetchOffsets(-1).get(new TopicPartition(TestQueryConstants.JSON_TOPIC, 0));
+      testBuilder().sqlQuery(queryString).unOrdered()
+          .baselineColumns("cnt", "offsets", "minOffset", "maxOffset")
+          .baselineValues((long) TestKafkaSuit.NUM_JSON_MSG, (long) TestKafkaSuit.NUM_JSON_MSG,
+              startOffset, endOffset - 1)
+          .go();
+    } finally {
+      testNoResult(String.format("alter system reset `%s`", ExecConstants.KAFKA_PARTITION_SPLIT_SIZE));
+    }
+  }
+
   @Test
   public void testPhysicalPlanSubmission() throws Exception {
     String query = String.format(TestQueryConstants.MSG_SELECT_QUERY, TestQueryConstants.JSON_TOPIC);
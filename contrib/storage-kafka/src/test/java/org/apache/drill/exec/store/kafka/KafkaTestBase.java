@@ -19,6 +19,7 @@ package org.apache.drill.exec.store.kafka;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.File;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +29,7 @@ import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.rpc.user.QueryDataBatch;
 import org.apache.drill.exec.store.StoragePluginRegistry;
 import org.apache.drill.exec.store.kafka.cluster.EmbeddedKafkaCluster;
+import org.apache.drill.exec.store.kafka.decoders.AvroMessageReader;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -35,6 +37,7 @@ import org.junit.Assume;
 import org.junit.BeforeClass;
 
 import com.google.common.collect.Maps;
+import com.google.common.io.Resources;
 
 public class KafkaTestBase extends PlanTestBase {
   protected static KafkaStoragePluginConfig storagePluginConfig;
@@ -52,6 +55,8 @@ public class KafkaTestBase extends PlanTestBase {
     Map<String, String> kafkaConsumerProps = Maps.newHashMap();
     kafkaConsumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, embeddedKafkaCluster.getKafkaBrokerList());
     kafkaConsumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, "drill-test-consumer");
+    kafkaConsumerProps.put(AvroMessageReader.AVRO_SCHEMA_FILE,
+        new File(Resources.getResource("drill-avro-test.avsc").toURI()).getAbsolutePath());
     storagePluginConfig = new KafkaStoragePluginConfig(kafkaConsumerProps);
     storagePluginConfig.setEnabled(true);
     pluginRegistry.createOrUpdate(KafkaStoragePluginConfig.NAME, storagePluginConfig, true);
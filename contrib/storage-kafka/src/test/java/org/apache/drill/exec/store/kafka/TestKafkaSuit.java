@@ -27,6 +27,7 @@ import org.apache.drill.categories.SlowTest;
 import org.apache.drill.exec.ZookeeperTestUtil;
 import org.apache.drill.exec.store.kafka.cluster.EmbeddedKafkaCluster;
 import org.apache.drill.exec.store.kafka.decoders.MessageReaderFactoryTest;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.apache.kafka.common.security.JaasUtils;
 
@@ -56,6 +57,7 @@ public class TestKafkaSuit {
 
   private static volatile AtomicInteger initCount = new AtomicInteger(0);
   static final int NUM_JSON_MSG = 10;
+  static final int NUM_AVRO_MSG = 5;
   static final int CONN_TIMEOUT = 8 * 1000;
   static final int SESSION_TIMEOUT = 10 * 1000;
 
@@ -81,6 +83,11 @@ public class TestKafkaSuit {
         KafkaMessageGenerator generator = new KafkaMessageGenerator(embeddedKafkaCluster.getKafkaBrokerList(),
             StringSerializer.class);
         generator.populateJsonMsgIntoKafka(TestQueryConstants.JSON_TOPIC, NUM_JSON_MSG);
+
+        AdminUtils.createTopic(zkUtils, TestQueryConstants.AVRO_TOPIC, 1, 1, topicProps, RackAwareMode.Disabled$.MODULE$);
+        KafkaMessageGenerator avroGenerator = new KafkaMessageGenerator(embeddedKafkaCluster.getKafkaBrokerList(),
+            ByteArraySerializer.class);
+        avroGenerator.populateAvroMsgIntoKafka(TestQueryConstants.AVRO_TOPIC, NUM_AVRO_MSG);
       }
       initCount.incrementAndGet();
       runningSuite = true;
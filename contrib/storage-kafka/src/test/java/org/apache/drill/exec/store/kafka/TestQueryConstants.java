@@ -37,4 +37,8 @@ public interface TestQueryConstants {
   String MSG_SELECT_QUERY = "select * from kafka.`%s`";
   String MIN_OFFSET_QUERY = "select MIN(kafkaMsgOffset) as minOffset from kafka.`%s`";
   String MAX_OFFSET_QUERY = "select MAX(kafkaMsgOffset) as maxOffset from kafka.`%s`";
+  String MIN_OFFSET_FILTER_QUERY = "select kafkaMsgOffset from kafka.`%s` where kafkaMsgOffset >= %d";
+  String MAX_OFFSET_FILTER_QUERY = "select kafkaMsgOffset from kafka.`%s` where kafkaMsgOffset < %d";
+  String MIN_TIMESTAMP_FILTER_QUERY = "select kafkaMsgOffset from kafka.`%s` where kafkaMsgTimestamp > %d";
+  String MSG_VALUE_COUNT_QUERY = "select count(kafkaMsgValue) as cnt from kafka.`%s`";
 }
@@ -67,4 +67,12 @@ public class MessageReaderFactoryTest {
     MessageReader messageReader = MessageReaderFactory.getMessageReader(JsonMessageReader.class.getName());
     Assert.assertTrue(messageReader instanceof JsonMessageReader);
   }
+
+  @Test
+  public void testShouldReturnAvroAndBinaryMessageReaderInstances() {
+    Assert.assertTrue(MessageReaderFactory.getMessageReader(AvroMessageReader.class.getName())
+        instanceof AvroMessageReader);
+    Assert.assertTrue(MessageReaderFactory.getMessageReader(BinaryMessageReader.class.getName())
+        instanceof BinaryMessageReader);
+  }
 }
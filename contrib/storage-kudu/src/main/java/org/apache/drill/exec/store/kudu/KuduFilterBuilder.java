@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.kudu;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.drill.common.expression.BooleanOperator;
+import org.apache.drill.common.expression.FunctionCall;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.expression.ValueExpressions;
+import org.apache.drill.exec.expr.fn.FunctionGenerationHelper;
+import org.apache.drill.exec.store.kudu.KuduPredicateSpec.Operator;
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Converts the conditions of a filter on the columns of a Kudu table into {@link KuduPredicateSpec}s:
+ * <ul>
+ *   <li>comparisons of a column with a literal, except not equal,</li>
+ *   <li>or of equality comparisons of the same column, which is how IN lists reach the scan,</li>
+ *   <li>IS NULL and IS NOT NULL.</li>
+ * </ul>
+ * Only conditions combined with and are converted, other conditions are ignored. The filter is still evaluated
+ * on the scanned rows.
+ */
+public class KuduFilterBuilder {
+
+  private final Schema schema;
+  private final List<KuduPredicateSpec> predicates;
+
+  private KuduFilterBuilder(KuduScanSpec scanSpec, Schema schema) {
+    this.schema = schema;
+    this.predicates = Lists.newArrayList(scanSpec.getPredicates());
+  }
+
+  /**
+   * @param scanSpec scan spec of the group scan
+   * @param schema schema of the Kudu table
+   * @param filter filter condition
+   * @return scan spec with the predicates of the filter, or null if no part of the filter could be converted
+   */
+  public static KuduScanSpec build(KuduScanSpec scanSpec, Schema schema, LogicalExpression filter) {
+    final KuduFilterBuilder builder = new KuduFilterBuilder(scanSpec, schema);
+    final int existing = builder.predicates.size();
+    builder.add(filter);
+    if (builder.predicates.size() == existing) {
+      return null;
+    }
+    return new KuduScanSpec(scanSpec.getTableName(), builder.predicates, scanSpec.getLimit());
+  }
+
+  private void add(LogicalExpression expr) {
+    if (!(expr instanceof FunctionCall)) {
+      return;
+    }
+    final FunctionCall call = (FunctionCall) expr;
+    if (call instanceof BooleanOperator) {
+      if ("booleanAnd".equals(call.getName())) {
+        for (LogicalExpression arg : call.args) {
+          add(arg);
+        }
+      } else if ("booleanOr".equals(call.getName())) {
+        addInList(call);
+      }
+      return;
+    }
+
+    switch (call.getName()) {
+      case "isnull":
+      case "isNull":
+      case "is null":
+        addNullCheck(call, Operator.IS_NULL);
+        break;
+      case "isnotnull":
+      case "isNotNull":
+      case "is not null":
+        addNullCheck(call, Operator.IS_NOT_NULL);
+        break;
+      default:
+        addPredicate(getComparison(call));
+        break;
+    }
+  }
+
+  private void addNullCheck(FunctionCall call, Operator operator) {
+    final ColumnSchema column = getColumn(call.args.get(0));
+    if (column != null) {
+      addPredicate(new KuduPredicateSpec(column.getName(), operator, null));
+    }
+  }
+
+  /**
+   * Adds the predicate if it can be converted into a Kudu predicate on its column.
+   */
+  private void addPredicate(KuduPredicateSpec predicate) {
+    if (predicate != null && predicate.toKuduPredicate(schema.getColumn(predicate.getColumn())) != null) {
+      predicates.add(predicate);
+    }
+  }
+
+  /**
+   * Converts an or of equality comparisons of the same column with literals into an IN list predicate.
+   */
+  private void addInList(FunctionCall or) {
+    final List<FunctionCall> equalities = Lists.newArrayList();
+    if (!collectDisjuncts(or, equalities)) {
+      return;
+    }
+    String column = null;
+    final List<Object> values = Lists.newArrayList();
+    for (FunctionCall equality : equalities) {
+      KuduPredicateSpec comparison = getComparison(equality);
+      if (comparison == null || comparison.getOperator() != Operator.EQUAL
+          || (column != null && !column.equals(comparison.getColumn()))) {
+        return;
+      }
+      column = comparison.getColumn();
+      values.addAll(comparison.getValues());
+    }
+    if (column != null) {
+      addPredicate(new KuduPredicateSpec(column, Operator.IN_LIST, values));
+    }
+  }
+
+  /**
+   * @return false if one of the disjuncts is not a function call
+   */
+  private static boolean collectDisjuncts(FunctionCall or, List<FunctionCall> disjuncts) {
+    for (LogicalExpression arg : or.args) {
+      if (arg instanceof BooleanOperator && "booleanOr".equals(((BooleanOperator) arg).getName())) {
+        if (!collectDisjuncts((FunctionCall) arg, disjuncts)) {
+          return false;
+        }
+      } else if (arg instanceof FunctionCall) {
+        disjuncts.add((FunctionCall) arg);
+      } else {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private KuduPredicateSpec getComparison(FunctionCall call) {
+    Operator operator = getOperator(call.getName());
+    if (operator == null || call.args.size() != 2) {
+      return null;
+    }
+    ColumnSchema column = getColumn(call.args.get(0));
+    LogicalExpression literal = call.args.get(1);
+    if (column == null) {
+      // literal on the left side, swap the operands
+      column = getColumn(call.args.get(1));
+      literal = call.args.get(0);
+      operator = swap(operator);
+    }
+    if (column == null) {
+      return null;
+    }
+    final Object value = getValue(literal, column.getType());
+    if (value == null) {
+      return null;
+    }
+    return new KuduPredicateSpec(column.getName(), operator, Collections.singletonList(value));
+  }
+
+  private ColumnSchema getColumn(LogicalExpression expr) {
+    if (!(expr instanceof SchemaPath) || !((SchemaPath) expr).getRootSegment().isLastPath()) {
+      return null;
+    }
+    final String name = ((SchemaPath) expr).getRootSegmentPath();
+    for (ColumnSchema column : schema.getColumns()) {
+      if (column.getName().equals(name)) {
+        return column;
+      }
+    }
+    return null;
+  }
+
+  private static Object getValue(LogicalExpression expr, Type type) {
+    if (type == Type.UNIXTIME_MICROS) {
+      return expr instanceof ValueExpressions.TimeStampExpression
+          ? ((ValueExpressions.TimeStampExpression) expr).getTimeStamp() * 1000 : null;
+    }
+    if (expr instanceof ValueExpressions.IntExpression) {
+      return ((ValueExpressions.IntExpression) expr).getInt();
+    } else if (expr instanceof ValueExpressions.LongExpression) {
+      return ((ValueExpressions.LongExpression) expr).getLong();
+    } else if (expr instanceof ValueExpressions.FloatExpression) {
+      return ((ValueExpressions.FloatExpression) expr).getFloat();
+    } else if (expr instanceof ValueExpressions.DoubleExpression) {
+      return ((ValueExpressions.DoubleExpression) expr).getDouble();
+    } else if (expr instanceof ValueExpressions.BooleanExpression) {
+      return ((ValueExpressions.BooleanExpression) expr).getBoolean();
+    } else if (expr instanceof ValueExpressions.QuotedString) {
+      return ((ValueExpressions.QuotedString) expr).getString();
+    }
+    return null;
+  }
+
+  private static Operator getOperator(String function) {
+    switch (function) {
+      case FunctionGenerationHelper.EQ:
+        return Operator.EQUAL;
+      case FunctionGenerationHelper.LT:
+        return Operator.LESS;
+      case FunctionGenerationHelper.LE:
+        return Operator.LESS_EQUAL;
+      case FunctionGenerationHelper.GT:
+        return Operator.GREATER;
+      case FunctionGenerationHelper.GE:
+        return Operator.GREATER_EQUAL;
+      default:
+        return null;
+    }
+  }
+
+  private static Operator swap(Operator operator) {
+    switch (operator) {
+      case LESS:
+        return Operator.GREATER;
+      case LESS_EQUAL:
+        return Operator.GREATER_EQUAL;
+      case GREATER:
+        return Operator.LESS;
+      case GREATER_EQUAL:
+        return Operator.LESS_EQUAL;
+      default:
+        return operator;
+    }
+  }
+}
@@ -49,7 +49,13 @@ import org.apache.drill.exec.store.schedule.AssignmentCreator;
 import org.apache.drill.exec.store.schedule.CompleteWork;
 import org.apache.drill.exec.store.schedule.EndpointByteMap;
 import org.apache.drill.exec.store.schedule.EndpointByteMapImpl;
-import org.apache.kudu.client.LocatedTablet;
+import org.apache.drill.exec.util.Utilities;
+import org.apache.kudu.Schema;
+import org.apache.kudu.client.KuduClient;
+import org.apache.kudu.client.KuduPredicate;
+import org.apache.kudu.client.KuduScanToken;
+import org.apache.kudu.client.KuduScanToken.KuduScanTokenBuilder;
+import org.apache.kudu.client.KuduTable;
 import org.apache.kudu.client.LocatedTablet.Replica;
 
 @JsonTypeName("kudu-scan")
@@ -65,6 +71,7 @@ public class KuduGroupScan extends AbstractGroupScan {
   private List<KuduWork> kuduWorkList = Lists.newArrayList();
   private ListMultimap<Integer,KuduWork> assignments;
   private List<EndpointAffinity> affinities;
+  private Schema tableSchema;
 
 
   @JsonCreator
@@ -85,6 +92,10 @@ public class KuduGroupScan extends AbstractGroupScan {
     init();
   }
 
+  /**
+   * Creates a scan token for every tablet that may contain matching rows. The tokens carry the projection,
+   * the predicates and the limit, the tablet servers prune tablets and rows before sending them.
+   */
   private void init() {
     String tableName = kuduScanSpec.getTableName();
     Collection<DrillbitEndpoint> endpoints = kuduStoragePlugin.getContext().getBits();
@@ -93,10 +104,29 @@ public class KuduGroupScan extends AbstractGroupScan {
       endpointMap.put(endpoint.getAddress(), endpoint);
     }
     try {
-      List<LocatedTablet> locations = kuduStoragePlugin.getClient().openTable(tableName).getTabletsLocations(10000);
-      for (LocatedTablet tablet : locations) {
-        KuduWork work = new KuduWork(tablet.getPartition().getPartitionKeyStart(), tablet.getPartition().getPartitionKeyEnd());
-        for (Replica replica : tablet.getReplicas()) {
+      KuduClient client = kuduStoragePlugin.getClient();
+      KuduTable table = client.openTable(tableName);
+      tableSchema = table.getSchema();
+      KuduScanTokenBuilder builder = client.newScanTokenBuilder(table);
+      if (!Utilities.isStarQuery(columns)) {
+        List<String> colNames = Lists.newArrayList();
+        for (SchemaPath p : columns) {
+          colNames.add(p.getRootSegmentPath());
+        }
+        builder.setProjectedColumnNames(colNames);
+      }
+      for (KuduPredicateSpec predicate : kuduScanSpec.getPredicates()) {
+        KuduPredicate kuduPredicate = predicate.toKuduPredicate(tableSchema.getColumn(predicate.getColumn()));
+        if (kuduPredicate != null) {
+          builder.addPredicate(kuduPredicate);
+        }
+      }
+      if (kuduScanSpec.getLimit() > 0) {
+        builder.limit(kuduScanSpec.getLimit());
+      }
+      for (KuduScanToken token : builder.build()) {
+        KuduWork work = new KuduWork(token.serialize());
+        for (Replica replica : token.getTablet().getReplicas()) {
           String host = replica.getRpcHost();
           DrillbitEndpoint ep = endpointMap.get(host);
           if (ep != null) {
@@ -113,20 +143,14 @@ public class KuduGroupScan extends AbstractGroupScan {
   private static class KuduWork implements CompleteWork {
 
     private EndpointByteMapImpl byteMap = new EndpointByteMapImpl();
-    private byte[] partitionKeyStart;
-    private byte[] partitionKeyEnd;
+    private byte[] scanToken;
 
-    public KuduWork(byte[] partitionKeyStart, byte[] partitionKeyEnd) {
-      this.partitionKeyStart = partitionKeyStart;
-      this.partitionKeyEnd = partitionKeyEnd;
+    public KuduWork(byte[] scanToken) {
+      this.scanToken = scanToken;
     }
 
-    public byte[] getPartitionKeyStart() {
-      return partitionKeyStart;
-    }
-
-    public byte[] getPartitionKeyEnd() {
-      return partitionKeyEnd;
+    public byte[] getScanToken() {
+      return scanToken;
     }
 
     @Override
@@ -157,12 +181,35 @@ public class KuduGroupScan extends AbstractGroupScan {
     this.filterPushedDown = that.filterPushedDown;
     this.kuduWorkList = that.kuduWorkList;
     this.assignments = that.assignments;
+    this.tableSchema = that.tableSchema;
   }
 
   @Override
   public GroupScan clone(List<SchemaPath> columns) {
     KuduGroupScan newScan = new KuduGroupScan(this);
     newScan.columns = columns;
+    // the projection is part of the scan tokens
+    newScan.kuduWorkList = Lists.newArrayList();
+    newScan.assignments = null;
+    newScan.init();
+    return newScan;
+  }
+
+  @Override
+  @JsonIgnore
+  public boolean supportsLimitPushdown() {
+    return true;
+  }
+
+  @Override
+  @JsonIgnore
+  public GroupScan applyLimit(int maxRecords) {
+    if (maxRecords <= 0 || (kuduScanSpec.getLimit() > 0 && kuduScanSpec.getLimit() <= maxRecords)) {
+      return null;
+    }
+    KuduGroupScan newScan = new KuduGroupScan(kuduStoragePlugin,
+        new KuduScanSpec(getTableName(), kuduScanSpec.getPredicates(), maxRecords), columns);
+    newScan.filterPushedDown = filterPushedDown;
     return newScan;
   }
 
@@ -198,7 +245,7 @@ public class KuduGroupScan extends AbstractGroupScan {
     List<KuduSubScanSpec> scanSpecList = Lists.newArrayList();
 
     for (KuduWork work : workList) {
-      scanSpecList.add(new KuduSubScanSpec(getTableName(), work.getPartitionKeyStart(), work.getPartitionKeyEnd()));
+      scanSpecList.add(new KuduSubScanSpec(getTableName(), work.getScanToken()));
     }
 
     return new KuduSubScan(kuduStoragePlugin, scanSpecList, this.columns);
@@ -209,6 +256,13 @@ public class KuduGroupScan extends AbstractGroupScan {
   @Override
   public ScanStats getScanStats() {
     long recordCount = 100000 * kuduWorkList.size();
+    if (!kuduScanSpec.getPredicates().isEmpty()) {
+      // the usual selectivity of a filter the planner can't estimate
+      recordCount /= 4;
+    }
+    if (kuduScanSpec.getLimit() > 0) {
+      recordCount = Math.min(recordCount, kuduScanSpec.getLimit() * kuduWorkList.size());
+    }
     return new ScanStats(GroupScanProperty.NO_EXACT_ROW_COUNT, recordCount, 1, recordCount);
   }
 
@@ -224,6 +278,11 @@ public class KuduGroupScan extends AbstractGroupScan {
     return kuduStoragePlugin;
   }
 
+  @JsonIgnore
+  public Schema getTableSchema() {
+    return tableSchema;
+  }
+
   @JsonIgnore
   public String getTableName() {
     return getKuduScanSpec().getTableName();
@@ -264,7 +323,7 @@ public class KuduGroupScan extends AbstractGroupScan {
 
   @JsonIgnore
   public void setFilterPushedDown(boolean b) {
-    this.filterPushedDown = true;
+    this.filterPushedDown = b;
   }
 
   @JsonIgnore
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.kudu;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.client.KuduPredicate;
+import org.apache.kudu.client.KuduPredicate.ComparisonOp;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.Lists;
+
+/**
+ * Serializable form of a {@link KuduPredicate} pushed down into the scan. The values are the literals of the
+ * filter, they are converted to the type of the column when the predicate is created, so they survive a round
+ * trip through the JSON plan.
+ */
+public class KuduPredicateSpec {
+
+  public enum Operator {
+    EQUAL, LESS, LESS_EQUAL, GREATER, GREATER_EQUAL, IN_LIST, IS_NULL, IS_NOT_NULL
+  }
+
+  private final String column;
+  private final Operator operator;
+  private final List<Object> values;
+
+  @JsonCreator
+  public KuduPredicateSpec(@JsonProperty("column") String column,
+                           @JsonProperty("operator") Operator operator,
+                           @JsonProperty("values") List<Object> values) {
+    this.column = column;
+    this.operator = operator;
+    this.values = values == null ? Collections.emptyList() : values;
+  }
+
+  public String getColumn() {
+    return column;
+  }
+
+  public Operator getOperator() {
+    return operator;
+  }
+
+  public List<Object> getValues() {
+    return values;
+  }
+
+  /**
+   * @return the Kudu predicate on the given column, or null if a value can't be represented exactly
+   *         in the type of the column
+   */
+  public KuduPredicate toKuduPredicate(ColumnSchema columnSchema) {
+    switch (operator) {
+      case IS_NULL:
+        return KuduPredicate.newIsNullPredicate(columnSchema);
+      case IS_NOT_NULL:
+        return KuduPredicate.newIsNotNullPredicate(columnSchema);
+      case IN_LIST:
+        List<Object> inList = Lists.newArrayList();
+        for (Object value : values) {
+          Object converted = toColumnValue(columnSchema, value, true);
+          if (converted == null) {
+            return null;
+          }
+          inList.add(converted);
+        }
+        return KuduPredicate.newInListPredicate(columnSchema, inList);
+      default:
+        Object value = toColumnValue(columnSchema, values.get(0), false);
+        if (value == null) {
+          return null;
+        }
+        ComparisonOp op = ComparisonOp.valueOf(operator.name());
+        if (value instanceof Long) {
+          return KuduPredicate.newComparisonPredicate(columnSchema, op, (long) value);
+        } else if (value instanceof Float) {
+          return KuduPredicate.newComparisonPredicate(columnSchema, op, (float) value);
+        } else if (value instanceof Double) {
+          return KuduPredicate.newComparisonPredicate(columnSchema, op, (double) value);
+        } else if (value instanceof Boolean) {
+          return KuduPredicate.newComparisonPredicate(columnSchema, op, (boolean) value);
+        }
+        return KuduPredicate.newComparisonPredicate(columnSchema, op, (String) value);
+    }
+  }
+
+  /**
+   * Converts a literal into the java type Kudu expects for the column. Comparisons take any integer
+   * column value as a long, in lists need the exact java type of the column. Integer values must be
+   * in the range of the column either way.
+   */
+  private static Object toColumnValue(ColumnSchema columnSchema, Object value, boolean exactType) {
+    switch (columnSchema.getType()) {
+      case INT8:
+      case INT16:
+      case INT32:
+      case INT64:
+      case UNIXTIME_MICROS:
+        if (!(value instanceof Number) || ((Number) value).doubleValue() != ((Number) value).longValue()) {
+          return null;
+        }
+        long longValue = ((Number) value).longValue();
+        // Kudu rejects comparisons with values out of the range of the column
+        switch (columnSchema.getType()) {
+          case INT8:
+            if (longValue != (byte) longValue) {
+              return null;
+            }
+            return exactType ? (Object) (byte) longValue : longValue;
+          case INT16:
+            if (longValue != (short) longValue) {
+              return null;
+            }
+            return exactType ? (Object) (short) longValue : longValue;
+          case INT32:
+            if (longValue != (int) longValue) {
+              return null;
+            }
+            return exactType ? (Object) (int) longValue : longValue;
+          default:
+            return longValue;
+        }
+      case FLOAT:
+        if (!(value instanceof Number)) {
+          return null;
+        }
+        // the predicate must not change which rows match, so the literal must be exact as a float
+        float floatValue = ((Number) value).floatValue();
+        return floatValue == ((Number) value).doubleValue() ? floatValue : null;
+      case DOUBLE:
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+      case BOOL:
+        return value instanceof Boolean ? value : null;
+      case STRING:
+        return value instanceof String ? value : null;
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return column + " " + operator + (values.isEmpty() ? "" : " " + values);
+  }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.kudu;
+
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.rel.RelNode;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.exec.planner.logical.DrillOptiq;
+import org.apache.drill.exec.planner.logical.DrillParseContext;
+import org.apache.drill.exec.planner.logical.RelOptHelper;
+import org.apache.drill.exec.planner.physical.FilterPrel;
+import org.apache.drill.exec.planner.physical.PrelUtil;
+import org.apache.drill.exec.planner.physical.ScanPrel;
+import org.apache.drill.exec.store.StoragePluginOptimizerRule;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Pushes the conditions of a filter on the columns of a Kudu table into {@link KuduGroupScan} as Kudu predicates,
+ * so that the tablet servers only return the matching rows. The filter is kept above the scan.
+ */
+public class KuduPushDownFilterForScan extends StoragePluginOptimizerRule {
+
+  public static final StoragePluginOptimizerRule INSTANCE = new KuduPushDownFilterForScan();
+
+  private KuduPushDownFilterForScan() {
+    super(RelOptHelper.some(FilterPrel.class, RelOptHelper.any(ScanPrel.class)), "KuduPushDownFilterForScan");
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final FilterPrel filter = call.rel(0);
+    final ScanPrel scan = call.rel(1);
+
+    final KuduGroupScan groupScan = (KuduGroupScan) scan.getGroupScan();
+    if (groupScan.isFilterPushedDown() || groupScan.getKuduScanSpec().getLimit() > 0) {
+      return;
+    }
+
+    final LogicalExpression conditionExp = DrillOptiq.toDrill(
+        new DrillParseContext(PrelUtil.getPlannerSettings(call.getPlanner())), scan, filter.getCondition());
+    final KuduScanSpec newScanSpec = KuduFilterBuilder.build(groupScan.getKuduScanSpec(),
+        groupScan.getTableSchema(), conditionExp);
+    if (newScanSpec == null) {
+      return; // no filter pushdown so nothing to apply.
+    }
+
+    final KuduGroupScan newGroupScan = new KuduGroupScan(groupScan.getStoragePlugin(), newScanSpec,
+        groupScan.getColumns());
+    newGroupScan.setFilterPushedDown(true);
+
+    final ScanPrel newScanPrel = ScanPrel.create(scan, filter.getTraitSet(), newGroupScan, scan.getRowType());
+    call.transformTo(filter.copy(filter.getTraitSet(), ImmutableList.of((RelNode) newScanPrel)));
+  }
+
+  @Override
+  public boolean matches(RelOptRuleCall call) {
+    final ScanPrel scan = call.rel(1);
+    if (scan.getGroupScan() instanceof KuduGroupScan) {
+      return super.matches(call);
+    }
+    return false;
+  }
+
+}
@@ -55,15 +55,13 @@ import org.apache.kudu.ColumnSchema;
 import org.apache.kudu.Schema;
 import org.apache.kudu.Type;
 import org.apache.kudu.client.KuduClient;
+import org.apache.kudu.client.KuduScanToken;
 import org.apache.kudu.client.KuduScanner;
-import org.apache.kudu.client.KuduScanner.KuduScannerBuilder;
-import org.apache.kudu.client.KuduTable;
 import org.apache.kudu.client.RowResult;
 import org.apache.kudu.client.RowResultIterator;
 import org.apache.kudu.client.shaded.com.google.common.collect.ImmutableMap;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 
 public class KuduRecordReader extends AbstractRecordReader {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(KuduRecordReader.class);
@@ -98,23 +96,10 @@ public class KuduRecordReader extends AbstractRecordReader {
     this.output = output;
     this.context = context;
     try {
-      KuduTable table = client.openTable(scanSpec.getTableName());
-
-      KuduScannerBuilder builder = client.newScannerBuilder(table);
-      if (!isStarQuery()) {
-        List<String> colNames = Lists.newArrayList();
-        for (SchemaPath p : this.getColumns()) {
-          colNames.add(p.getRootSegmentPath());
-        }
-        builder.setProjectedColumnNames(colNames);
-      }
-
+      // the scan token carries the tablet, the projection, the predicates and the limit
       context.getStats().startWait();
       try {
-        scanner = builder
-            .lowerBoundRaw(scanSpec.getStartKey())
-            .exclusiveUpperBoundRaw(scanSpec.getEndKey())
-            .build();
+        scanner = KuduScanToken.deserializeIntoScanner(scanSpec.getScanToken(), client);
       } finally {
         context.getStats().stopWait();
       }
@@ -33,6 +33,7 @@ import org.apache.kudu.client.KuduSession;
 import org.apache.kudu.client.KuduTable;
 import org.apache.kudu.client.CreateTableOptions;
 import org.apache.kudu.client.OperationResponse;
+import org.apache.kudu.client.RowError;
 import org.apache.kudu.client.SessionConfiguration.FlushMode;
 
 import java.io.IOException;
@@ -43,7 +44,10 @@ import java.util.Map;
 public class KuduRecordWriterImpl extends KuduRecordWriter {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(KuduRecordWriterImpl.class);
 
-  private static final int FLUSH_FREQUENCY = 100;
+  // number of inserts buffered by the session, they are flushed in the background when the buffer fills up
+  private static final int MUTATION_BUFFER_SPACE = 10000;
+  // number of inserts after which rows rejected by the background flushes are reported
+  private static final int ERROR_CHECK_FREQUENCY = 1000;
 
   private final KuduClient client;
   private final String name;
@@ -52,14 +56,15 @@ public class KuduRecordWriterImpl extends KuduRecordWriter {
   private KuduSession session;
 
   private Insert insert;
-  private int recordsSinceFlush;
+  private int recordsSinceErrorCheck;
 
   public KuduRecordWriterImpl(OperatorContext context, KuduClient client, String name) {
     this.client = client;
     this.name = name;
     this.context = context;
     session = client.newSession();
-    session.setFlushMode(FlushMode.MANUAL_FLUSH);
+    session.setFlushMode(FlushMode.AUTO_FLUSH_BACKGROUND);
+    session.setMutationBufferSpace(MUTATION_BUFFER_SPACE);
   }
 
   @Override
@@ -137,10 +142,10 @@ public class KuduRecordWriterImpl extends KuduRecordWriter {
   public void endRecord() throws IOException {
     try {
       session.apply(insert);
-      recordsSinceFlush++;
-      if (recordsSinceFlush == FLUSH_FREQUENCY) {
-        flush();
-        recordsSinceFlush = 0;
+      recordsSinceErrorCheck++;
+      if (recordsSinceErrorCheck == ERROR_CHECK_FREQUENCY) {
+        checkPendingErrors();
+        recordsSinceErrorCheck = 0;
       }
       insert = null;
     } catch (Exception e) {
@@ -161,6 +166,7 @@ public class KuduRecordWriterImpl extends KuduRecordWriter {
           throw new IOException(response.getRowError().toString());
         }
       }
+      checkPendingErrors();
     } catch (Exception e) {
       throw new IOException(e);
     } finally {
@@ -168,8 +174,24 @@ public class KuduRecordWriterImpl extends KuduRecordWriter {
     }
   }
 
+  private void checkPendingErrors() throws IOException {
+    if (session.countPendingErrors() == 0) {
+      return;
+    }
+    RowError[] errors = session.getPendingErrors().getRowErrors();
+    if (errors.length > 0) {
+      throw new IOException(String.format("%d rows failed to be written, first error: %s",
+          errors.length, errors[0]));
+    }
+  }
+
   @Override
   public void cleanup() throws IOException {
     flush();
+    try {
+      session.close();
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
   }
 }
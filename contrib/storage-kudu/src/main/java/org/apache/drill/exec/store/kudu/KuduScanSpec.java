@@ -17,22 +17,51 @@
  */
 package org.apache.drill.exec.store.kudu;
 
+import java.util.Collections;
+import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class KuduScanSpec {
 
   private final String tableName;
+  private final List<KuduPredicateSpec> predicates;
+  // maximum number of rows read from each tablet, 0 for no limit
+  private final long limit;
+
+  public KuduScanSpec(String tableName) {
+    this(tableName, null, 0);
+  }
 
   @JsonCreator
-  public KuduScanSpec(@JsonProperty("tableName") String tableName) {
+  public KuduScanSpec(@JsonProperty("tableName") String tableName,
+                      @JsonProperty("predicates") List<KuduPredicateSpec> predicates,
+                      @JsonProperty("limit") long limit) {
     this.tableName = tableName;
+    this.predicates = predicates == null ? Collections.<KuduPredicateSpec>emptyList() : predicates;
+    this.limit = limit;
   }
 
   public String getTableName() {
     return tableName;
   }
 
+  @JsonInclude(JsonInclude.Include.NON_EMPTY)
+  public List<KuduPredicateSpec> getPredicates() {
+    return predicates;
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+  public long getLimit() {
+    return limit;
+  }
+
+  @Override
+  public String toString() {
+    return "KuduScanSpec [tableName=" + tableName + ", predicates=" + predicates
+        + (limit > 0 ? ", limit=" + limit : "") + "]";
+  }
 
 }
@@ -38,7 +38,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.google.common.base.Preconditions;
 
-// Class containing information for reading a single Kudu tablet
+// Class containing information for reading Kudu tablets
 @JsonTypeName("kudu-sub-scan")
 public class KuduSubScan extends AbstractBase implements SubScan {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(KuduSubScan.class);
@@ -106,28 +106,24 @@ public class KuduSubScan extends AbstractBase implements SubScan {
   public static class KuduSubScanSpec {
 
     private final String tableName;
-    private final byte[] startKey;
-    private final byte[] endKey;
+    private final byte[] scanToken;
 
     @JsonCreator
     public KuduSubScanSpec(@JsonProperty("tableName") String tableName,
-                           @JsonProperty("startKey") byte[] startKey,
-                           @JsonProperty("endKey") byte[] endKey) {
+                           @JsonProperty("scanToken") byte[] scanToken) {
       this.tableName = tableName;
-      this.startKey = startKey;
-      this.endKey = endKey;
+      this.scanToken = scanToken;
     }
 
     public String getTableName() {
       return tableName;
     }
 
-    public byte[] getStartKey() {
-      return startKey;
-    }
-
-    public byte[] getEndKey() {
-      return endKey;
+    /**
+     * @return serialized {@link org.apache.kudu.client.KuduScanToken} of the tablet to read
+     */
+    public byte[] getScanToken() {
+      return scanToken;
     }
 
   }
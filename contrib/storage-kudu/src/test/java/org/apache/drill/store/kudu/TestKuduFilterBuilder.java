@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.store.kudu;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+
+import org.apache.drill.categories.KuduStorageTest;
+import org.apache.drill.common.expression.BooleanOperator;
+import org.apache.drill.common.expression.ExpressionPosition;
+import org.apache.drill.common.expression.FunctionCall;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.expression.ValueExpressions;
+import org.apache.drill.exec.expr.fn.FunctionGenerationHelper;
+import org.apache.drill.exec.store.kudu.KuduFilterBuilder;
+import org.apache.drill.exec.store.kudu.KuduPredicateSpec;
+import org.apache.drill.exec.store.kudu.KuduPredicateSpec.Operator;
+import org.apache.drill.exec.store.kudu.KuduScanSpec;
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Conversion of filters into Kudu predicates, without a Kudu server.
+ */
+@Category(KuduStorageTest.class)
+public class TestKuduFilterBuilder {
+
+  private static final Schema SCHEMA = new Schema(Arrays.asList(
+      new ColumnSchema.ColumnSchemaBuilder("key", Type.INT32).key(true).build(),
+      new ColumnSchema.ColumnSchemaBuilder("tiny", Type.INT8).nullable(true).build(),
+      new ColumnSchema.ColumnSchemaBuilder("big", Type.INT64).nullable(true).build(),
+      new ColumnSchema.ColumnSchemaBuilder("name", Type.STRING).nullable(true).build()));
+
+  private static KuduScanSpec build(LogicalExpression filter) {
+    return KuduFilterBuilder.build(new KuduScanSpec("t"), SCHEMA, filter);
+  }
+
+  private static LogicalExpression call(String name, LogicalExpression... args) {
+    return new FunctionCall(name, Arrays.asList(args), ExpressionPosition.UNKNOWN);
+  }
+
+  private static LogicalExpression or(LogicalExpression... args) {
+    return new BooleanOperator("booleanOr", Arrays.asList(args), ExpressionPosition.UNKNOWN);
+  }
+
+  private static LogicalExpression and(LogicalExpression... args) {
+    return new BooleanOperator("booleanAnd", Arrays.asList(args), ExpressionPosition.UNKNOWN);
+  }
+
+  private static LogicalExpression eq(String column, LogicalExpression value) {
+    return call(FunctionGenerationHelper.EQ, SchemaPath.getSimplePath(column), value);
+  }
+
+  private static KuduPredicateSpec single(KuduScanSpec spec) {
+    assertNotNull(spec);
+    assertEquals(1, spec.getPredicates().size());
+    KuduPredicateSpec predicate = spec.getPredicates().get(0);
+    assertNotNull(predicate.toKuduPredicate(SCHEMA.getColumn(predicate.getColumn())));
+    return predicate;
+  }
+
+  @Test
+  public void testComparison() {
+    KuduPredicateSpec predicate = single(build(
+        call(FunctionGenerationHelper.GT, ValueExpressions.getInt(5), SchemaPath.getSimplePath("key"))));
+    assertEquals("key", predicate.getColumn());
+    assertEquals(Operator.LESS, predicate.getOperator());
+    assertEquals(Arrays.<Object>asList(5), predicate.getValues());
+
+    predicate = single(build(eq("big", ValueExpressions.getBigInt(5000000000L))));
+    assertEquals(Operator.EQUAL, predicate.getOperator());
+    assertEquals(Arrays.<Object>asList(5000000000L), predicate.getValues());
+  }
+
+  @Test
+  public void testOutOfRangeIntegerLiteral() {
+    assertNull(build(eq("key", ValueExpressions.getBigInt(5000000000L))));
+    assertNull(build(call(FunctionGenerationHelper.LT, SchemaPath.getSimplePath("tiny"), ValueExpressions.getInt(300))));
+    assertNull(build(or(eq("tiny", ValueExpressions.getInt(1)), eq("tiny", ValueExpressions.getInt(-129)))));
+
+    // In range values of a narrow column are still pushed
+    assertEquals(Operator.GREATER, single(build(
+        call(FunctionGenerationHelper.GT, SchemaPath.getSimplePath("tiny"), ValueExpressions.getInt(127)))).getOperator());
+  }
+
+  @Test
+  public void testFractionalLiteralOnIntegerColumn() {
+    assertNull(build(eq("key", ValueExpressions.getFloat8(2.5))));
+    assertNull(build(call(FunctionGenerationHelper.LT, SchemaPath.getSimplePath("big"), ValueExpressions.getFloat8(0.1))));
+    assertNull(build(or(eq("key", ValueExpressions.getInt(1)), eq("key", ValueExpressions.getFloat8(1.5)))));
+
+    // A whole number literal of a floating point type matches the same rows
+    KuduPredicateSpec predicate = single(build(eq("key", ValueExpressions.getFloat8(2.0))));
+    assertEquals(Operator.EQUAL, predicate.getOperator());
+  }
+
+  @Test
+  public void testInList() {
+    KuduPredicateSpec predicate = single(build(or(
+        eq("key", ValueExpressions.getInt(1)),
+        or(eq("key", ValueExpressions.getInt(2)), eq("key", ValueExpressions.getInt(3))))));
+    assertEquals("key", predicate.getColumn());
+    assertEquals(Operator.IN_LIST, predicate.getOperator());
+    assertEquals(Arrays.<Object>asList(1, 2, 3), predicate.getValues());
+
+    predicate = single(build(or(eq("name", ValueExpressions.getChar("a", 1)), eq("name", ValueExpressions.getChar("b", 1)))));
+    assertEquals(Operator.IN_LIST, predicate.getOperator());
+    assertEquals(Arrays.<Object>asList("a", "b"), predicate.getValues());
+  }
+
+  @Test
+  public void testMixedInList() {
+    // Different columns
+    assertNull(build(or(eq("key", ValueExpressions.getInt(1)), eq("big", ValueExpressions.getInt(2)))));
+    // Not an equality
+    assertNull(build(or(eq("key", ValueExpressions.getInt(1)),
+        call(FunctionGenerationHelper.GT, SchemaPath.getSimplePath("key"), ValueExpressions.getInt(5)))));
+    // Not a comparison
+    assertNull(build(or(eq("key", ValueExpressions.getInt(1)), call("isnull", SchemaPath.getSimplePath("key")))));
+  }
+
+  @Test
+  public void testNullChecks() {
+    KuduPredicateSpec predicate = single(build(call("isnull", SchemaPath.getSimplePath("name"))));
+    assertEquals("name", predicate.getColumn());
+    assertEquals(Operator.IS_NULL, predicate.getOperator());
+    assertEquals(0, predicate.getValues().size());
+
+    assertEquals(Operator.IS_NOT_NULL, single(build(call("isnotnull", SchemaPath.getSimplePath("big")))).getOperator());
+    assertNull(build(call("isnull", SchemaPath.getSimplePath("missing"))));
+  }
+
+  @Test
+  public void testAndKeepsConvertibleConditions() {
+    KuduScanSpec spec = build(and(
+        eq("key", ValueExpressions.getFloat8(2.5)),
+        call("isnull", SchemaPath.getSimplePath("name")),
+        or(eq("key", ValueExpressions.getInt(1)), eq("big", ValueExpressions.getInt(2))),
+        call(FunctionGenerationHelper.GT, SchemaPath.getSimplePath("tiny"), ValueExpressions.getInt(1000))));
+    assertEquals(Operator.IS_NULL, single(spec).getOperator());
+  }
+}
@@ -47,6 +47,20 @@ public class TestKuduPlugin extends BaseTestQuery {
     test("drop table kudu.regions");
   }
 
+  @Test
+  public void testFilterPushDown() throws Exception {
+    PlanTestBase.testPlanMatchingPatterns("select * from kudu.demo where `key` >= 1 and `string` is not null",
+        new String[] {"predicates=\\[key GREATER_EQUAL \\[1\\], string IS_NOT_NULL\\]"}, new String[] {});
+    PlanTestBase.testPlanMatchingPatterns("select * from kudu.demo where `key` in (0, 2)",
+        new String[] {"predicates=\\[key IN_LIST \\[0, 2\\]\\]"}, new String[] {});
+  }
+
+  @Test
+  public void testLimitPushDown() throws Exception {
+    PlanTestBase.testPlanMatchingPatterns("select * from kudu.demo limit 1",
+        new String[] {"limit=1"}, new String[] {});
+  }
+
   @Test
   public void testPhysicalPlanSubmission() throws Exception {
     PlanTestBase.testPhysicalPlanExecutionBasedOnQuery("select * from kudu.demo");
@@ -164,6 +164,14 @@ public class MongoGroupScan extends AbstractGroupScan implements
     this.filterPushedDown = filterPushedDown;
   }
 
+  /**
+   * @return true if the scan runs an aggregation pipeline instead of reading the documents
+   */
+  @JsonIgnore
+  public boolean isAggregatePushedDown() {
+    return scanSpec.getPipeline() != null;
+  }
+
   private boolean isShardedCluster(MongoClient client) {
     MongoDatabase db = client.getDatabase(scanSpec.getDbName());
     String msg = db.runCommand(new Document("isMaster", 1)).getString("msg");
@@ -375,6 +383,29 @@ public class MongoGroupScan extends AbstractGroupScan implements
     return true;
   }
 
+  @Override
+  @JsonIgnore
+  public boolean supportsLimitPushdown() {
+    return !isAggregatePushedDown();
+  }
+
+  /**
+   * The limit is applied to the cursor of every chunk, the limit operator above the scan is kept to apply it
+   * to the union of the chunks.
+   */
+  @Override
+  @JsonIgnore
+  public GroupScan applyLimit(int maxRecords) {
+    if (maxRecords <= 0 || isAggregatePushedDown()
+        || (scanSpec.getLimit() > 0 && scanSpec.getLimit() <= maxRecords)) {
+      return null;
+    }
+    MongoGroupScan clone = new MongoGroupScan(this);
+    clone.scanSpec = new MongoScanSpec(scanSpec.getDbName(), scanSpec.getCollectionName(),
+        scanSpec.getFilters(), null, null, maxRecords);
+    return clone;
+  }
+
   @Override
   public void applyAssignments(List<DrillbitEndpoint> endpoints)
       throws PhysicalOperatorSetupException {
@@ -382,6 +413,23 @@ public class MongoGroupScan extends AbstractGroupScan implements
     watch.reset();
     watch.start();
 
+    if (isAggregatePushedDown()) {
+      // The pipeline runs over the whole collection in a single fragment, for a
+      // sharded collection mongos merges the results of the shards.
+      MongoSubScanSpec subScanSpec = new MongoSubScanSpec()
+          .setDbName(scanSpec.getDbName())
+          .setCollectionName(scanSpec.getCollectionName())
+          .setHosts(storagePluginConfig.getHosts())
+          .setMinFilters(Collections.<String, Object> emptyMap())
+          .setMaxFilters(Collections.<String, Object> emptyMap())
+          .setFilter(scanSpec.getFilters())
+          .setPipeline(scanSpec.getPipeline())
+          .setEmptyResult(scanSpec.getEmptyResult());
+      endpointFragmentMapping = Maps.newHashMap();
+      endpointFragmentMapping.put(0, Lists.newArrayList(subScanSpec));
+      return;
+    }
+
     final int numSlots = endpoints.size();
     int totalAssignmentsTobeDone = chunksMapping.size();
 
@@ -475,7 +523,8 @@ public class MongoGroupScan extends AbstractGroupScan implements
         .setHosts(chunkInfo.getChunkLocList())
         .setMinFilters(chunkInfo.getMinFilters())
         .setMaxFilters(chunkInfo.getMaxFilters())
-        .setFilter(scanSpec.getFilters());
+        .setFilter(scanSpec.getFilters())
+        .setLimit(scanSpec.getLimit());
     return subScanSpec;
   }
 
@@ -488,7 +537,7 @@ public class MongoGroupScan extends AbstractGroupScan implements
 
   @Override
   public int getMaxParallelizationWidth() {
-    return chunksMapping.size();
+    return isAggregatePushedDown() ? 1 : chunksMapping.size();
   }
 
   @Override
@@ -512,6 +561,17 @@ public class MongoGroupScan extends AbstractGroupScan implements
         String json = collection.find().first().toJson(codec);
         approxDiskCost = json.getBytes().length * numDocs;
       }
+      if (isAggregatePushedDown()) {
+        // a global aggregation returns a single row, otherwise estimate the number of groups
+        // the same way the aggregate operator does
+        long numGroups = scanSpec.getEmptyResult() != null ? 1 : Math.max(1, numDocs / 10);
+        return new ScanStats(GroupScanProperty.NO_EXACT_ROW_COUNT, numGroups, 1, approxDiskCost);
+      }
+      if (scanSpec.getLimit() > 0) {
+        long maxRows = Math.min(numDocs, (long) scanSpec.getLimit() * chunksMapping.size());
+        return new ScanStats(GroupScanProperty.NO_EXACT_ROW_COUNT, maxRows, 1,
+            numDocs == 0 ? 0 : approxDiskCost * maxRows / numDocs);
+      }
       return new ScanStats(GroupScanProperty.EXACT_ROW_COUNT, numDocs, 1, approxDiskCost);
     } catch (Exception e) {
       throw new DrillRuntimeException(e.getMessage(), e);
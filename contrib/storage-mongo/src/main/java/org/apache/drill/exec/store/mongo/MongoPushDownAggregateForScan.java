@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.mongo;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelOptRuleOperand;
+import org.apache.calcite.rel.core.Aggregate;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.drill.common.exceptions.DrillRuntimeException;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.planner.logical.DrillAggregateRel;
+import org.apache.drill.exec.planner.logical.DrillFilterRel;
+import org.apache.drill.exec.planner.logical.DrillOptiq;
+import org.apache.drill.exec.planner.logical.DrillParseContext;
+import org.apache.drill.exec.planner.logical.DrillProjectRel;
+import org.apache.drill.exec.planner.logical.DrillScanRel;
+import org.apache.drill.exec.planner.logical.RelOptHelper;
+import org.apache.drill.exec.planner.physical.DrillDistributionTrait;
+import org.apache.drill.exec.planner.physical.Prel;
+import org.apache.drill.exec.planner.physical.PrelUtil;
+import org.apache.drill.exec.planner.physical.ProjectPrel;
+import org.apache.drill.exec.planner.physical.ScanPrel;
+import org.apache.drill.exec.store.StoragePluginOptimizerRule;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Converts an aggregation over a mongo collection into an aggregation pipeline run by mongo:
+ * <pre>
+ *    Agg(group keys, aggregate calls)              Project(casts to the aggregate types)
+ *       [Project(column references)]       =>         Scan($match, $group, $project)
+ *          [Filter]
+ *             Scan
+ * </pre>
+ * The rule is applied when the group keys and the aggregate arguments are top level fields, the filter, if any,
+ * can be converted entirely into a mongo query and all the aggregate calls are COUNT, SUM, $SUM0, MIN, MAX or AVG
+ * without DISTINCT. The pipeline runs in a single fragment and returns one document per group.
+ */
+public class MongoPushDownAggregateForScan extends StoragePluginOptimizerRule {
+  private static final Logger logger = LoggerFactory.getLogger(MongoPushDownAggregateForScan.class);
+
+  public static final StoragePluginOptimizerRule AGG_ON_SCAN = new MongoPushDownAggregateForScan(
+      RelOptHelper.some(DrillAggregateRel.class, RelOptHelper.any(DrillScanRel.class)), "Agg_on_scan");
+
+  public static final StoragePluginOptimizerRule AGG_ON_PROJ_ON_SCAN = new MongoPushDownAggregateForScan(
+      RelOptHelper.some(DrillAggregateRel.class,
+          RelOptHelper.some(DrillProjectRel.class, RelOptHelper.any(DrillScanRel.class))), "Agg_on_proj_on_scan");
+
+  public static final StoragePluginOptimizerRule AGG_ON_FILTER_ON_SCAN = new MongoPushDownAggregateForScan(
+      RelOptHelper.some(DrillAggregateRel.class,
+          RelOptHelper.some(DrillFilterRel.class, RelOptHelper.any(DrillScanRel.class))), "Agg_on_filter_on_scan");
+
+  public static final StoragePluginOptimizerRule AGG_ON_PROJ_ON_FILTER_ON_SCAN = new MongoPushDownAggregateForScan(
+      RelOptHelper.some(DrillAggregateRel.class,
+          RelOptHelper.some(DrillProjectRel.class,
+              RelOptHelper.some(DrillFilterRel.class, RelOptHelper.any(DrillScanRel.class)))),
+      "Agg_on_proj_on_filter_on_scan");
+
+  // names of the fields of the pipeline result, mongo doesn't allow every column alias as field name
+  private static final String GROUP_KEY_PREFIX = "k";
+  private static final String AGG_PREFIX = "a";
+  private static final String NON_NULL_COUNT_PREFIX = "c";
+
+  private MongoPushDownAggregateForScan(RelOptRuleOperand operand, String id) {
+    super(operand, "MongoPushDownAggregateForScan:" + id);
+  }
+
+  @Override
+  public boolean matches(RelOptRuleCall call) {
+    final DrillScanRel scan = call.rel(call.rels.length - 1);
+    if (!(scan.getGroupScan() instanceof MongoGroupScan)) {
+      return false;
+    }
+    final MongoGroupScan groupScan = (MongoGroupScan) scan.getGroupScan();
+    if (groupScan.isAggregatePushedDown() || groupScan.isFilterPushedDown()
+        || groupScan.getScanSpec().getLimit() > 0) {
+      return false;
+    }
+    return super.matches(call);
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final DrillAggregateRel agg = call.rel(0);
+    final DrillScanRel scan = call.rel(call.rels.length - 1);
+    DrillProjectRel project = null;
+    DrillFilterRel filter = null;
+    for (int i = 1; i < call.rels.length - 1; i++) {
+      if (call.rel(i) instanceof DrillProjectRel) {
+        project = call.rel(i);
+      } else {
+        filter = call.rel(i);
+      }
+    }
+
+    if (agg.containsDistinctCall() || agg.getGroupType() != Aggregate.Group.SIMPLE) {
+      return;
+    }
+
+    final MongoGroupScan groupScan = (MongoGroupScan) scan.getGroupScan();
+    Document filters = groupScan.getScanSpec().getFilters();
+    if (filter != null) {
+      LogicalExpression conditionExp = DrillOptiq.toDrill(
+          new DrillParseContext(PrelUtil.getPlannerSettings(call.getPlanner())), scan, filter.getCondition());
+      MongoFilterBuilder mongoFilterBuilder = new MongoFilterBuilder(groupScan, conditionExp);
+      MongoScanSpec filterSpec = mongoFilterBuilder.parseTree();
+      if (filterSpec == null || !mongoFilterBuilder.isAllExpressionsConverted()) {
+        return; // the aggregation must see the filtered documents only.
+      }
+      filters = filterSpec.getFilters();
+    }
+
+    final List<String> outputNames = Lists.newArrayList();
+    final Document groupKeys = new Document();
+    final Document projection = new Document(DrillMongoConstants.ID, 0);
+    for (int key : agg.getGroupSet()) {
+      String field = getField(key, project, scan);
+      if (field == null) {
+        return;
+      }
+      String name = GROUP_KEY_PREFIX + outputNames.size();
+      groupKeys.put(name, "$" + field);
+      projection.put(name, "$" + DrillMongoConstants.ID + "." + name);
+      outputNames.add(name);
+    }
+
+    final Document group = new Document(DrillMongoConstants.ID, groupKeys.isEmpty() ? null : groupKeys);
+    // mongo returns no document for a global aggregation over no documents, drill returns one row
+    final Document emptyResult = agg.getGroupCount() == 0 ? new Document() : null;
+    final List<AggregateCall> aggCalls = agg.getAggCallList();
+    for (int i = 0; i < aggCalls.size(); i++) {
+      AggregateCall aggCall = aggCalls.get(i);
+      String field = null;
+      if (aggCall.getArgList().size() == 1) {
+        field = getField(aggCall.getArgList().get(0), project, scan);
+        if (field == null) {
+          return;
+        }
+      } else if (!aggCall.getArgList().isEmpty()) {
+        return;
+      }
+
+      String name = AGG_PREFIX + i;
+      Object emptyValue = null;
+      switch (aggCall.getAggregation().getName().toLowerCase()) {
+        case "count":
+          group.put(name, new Document("$sum", field == null ? 1L : nonNullIndicator(field)));
+          projection.put(name, 1);
+          emptyValue = 0L;
+          break;
+        case "$sum0":
+          if (field == null) {
+            return;
+          }
+          group.put(name, new Document("$sum", "$" + field));
+          projection.put(name, 1);
+          emptyValue = 0L;
+          break;
+        case "sum":
+          if (field == null) {
+            return;
+          }
+          // $sum returns 0 for a group without numbers, sql returns null
+          String countName = NON_NULL_COUNT_PREFIX + i;
+          group.put(name, new Document("$sum", "$" + field));
+          group.put(countName, new Document("$sum", nonNullIndicator(field)));
+          projection.put(name, new Document("$cond", Arrays.asList(
+              new Document("$eq", Arrays.asList("$" + countName, 0L)), null, "$" + name)));
+          break;
+        case "min":
+        case "max":
+        case "avg":
+          if (field == null) {
+            return;
+          }
+          group.put(name, new Document("$" + aggCall.getAggregation().getName().toLowerCase(), "$" + field));
+          projection.put(name, 1);
+          break;
+        default:
+          return;
+      }
+      if (emptyResult != null) {
+        emptyResult.put(name, emptyValue);
+      }
+      outputNames.add(name);
+    }
+
+    final List<Document> pipeline = Arrays.asList(new Document("$group", group), new Document("$project", projection));
+    final MongoScanSpec newScanSpec = new MongoScanSpec(groupScan.getScanSpec().getDbName(),
+        groupScan.getScanSpec().getCollectionName(), filters, pipeline, emptyResult, 0);
+    final List<SchemaPath> columns = Lists.newArrayList();
+    for (String name : outputNames) {
+      columns.add(SchemaPath.getSimplePath(name));
+    }
+
+    MongoGroupScan newGroupScan;
+    try {
+      newGroupScan = new MongoGroupScan(groupScan.getUserName(), groupScan.getStoragePlugin(),
+          newScanSpec, columns);
+    } catch (IOException e) {
+      logger.error(e.getMessage(), e);
+      throw new DrillRuntimeException(e.getMessage(), e);
+    }
+    newGroupScan.setFilterPushedDown(filter != null);
+
+    final RelDataTypeFactory typeFactory = agg.getCluster().getTypeFactory();
+    final RelDataType anyType = typeFactory.createTypeWithNullability(
+        typeFactory.createSqlType(SqlTypeName.ANY), true);
+    final RelDataType scanRowType = typeFactory.createStructType(
+        Collections.nCopies(outputNames.size(), anyType), outputNames);
+
+    final ScanPrel newScan = ScanPrel.create(scan,
+        scan.getTraitSet().plus(Prel.DRILL_PHYSICAL).plus(DrillDistributionTrait.SINGLETON), newGroupScan,
+        scanRowType);
+
+    // the pipeline returns the types of the documents, cast them to the types of the aggregate
+    final RexBuilder rexBuilder = agg.getCluster().getRexBuilder();
+    final List<RexNode> expressions = Lists.newArrayList();
+    for (int i = 0; i < outputNames.size(); i++) {
+      RexNode expression = RexInputRef.of(i, scanRowType);
+      RelDataType aggType = agg.getRowType().getFieldList().get(i).getType();
+      if (aggType.getSqlTypeName() != SqlTypeName.ANY) {
+        expression = rexBuilder.makeCast(aggType, expression);
+      }
+      expressions.add(expression);
+    }
+
+    final ProjectPrel newProject = new ProjectPrel(agg.getCluster(),
+        agg.getTraitSet().plus(Prel.DRILL_PHYSICAL).plus(DrillDistributionTrait.SINGLETON), newScan, expressions,
+        agg.getRowType());
+
+    call.transformTo(newProject);
+  }
+
+  /**
+   * Finds the top level field of the scan referenced by the given input of the aggregate.
+   *
+   * @return the field name, or null if the input is an expression or a field that can't be
+   *         referenced in a pipeline
+   */
+  private static String getField(int index, DrillProjectRel project, DrillScanRel scan) {
+    if (project != null) {
+      RexNode expression = project.getProjects().get(index);
+      if (!(expression instanceof RexInputRef)) {
+        return null;
+      }
+      index = ((RexInputRef) expression).getIndex();
+    }
+    String field = scan.getRowType().getFieldNames().get(index);
+    // dots and leading dollar signs have a special meaning in the field paths of a pipeline
+    if (field.contains(".") || field.startsWith("$") || SchemaPath.DYNAMIC_STAR.equals(field)) {
+      return null;
+    }
+    return field;
+  }
+
+  /**
+   * @return expression evaluating to 1 when the field has a value, 0 when it is null or missing
+   */
+  private static Document nonNullIndicator(String field) {
+    Document isNull = new Document("$eq", Arrays.asList(new Document("$ifNull", Arrays.asList("$" + field, null)), null));
+    return new Document("$cond", Arrays.asList(isNull, 0L, 1L));
+  }
+
+}
@@ -57,6 +57,9 @@ public class MongoPushDownFilterForScan extends StoragePluginOptimizerRule {
     if (groupScan.isFilterPushedDown()) {
       return;
     }
+    if (groupScan.isAggregatePushedDown() || groupScan.getScanSpec().getLimit() > 0) {
+      return; // the filter is applied to the result of the pushed down aggregation or limit.
+    }
 
     LogicalExpression conditionExp = DrillOptiq.toDrill(
         new DrillParseContext(PrelUtil.getPlannerSettings(call.getPlanner())), scan, condition);
@@ -48,7 +48,9 @@ import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.mongodb.MongoClient;
+import com.mongodb.MongoException;
 import com.mongodb.ServerAddress;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
@@ -56,6 +58,10 @@ import com.mongodb.client.MongoDatabase;
 public class MongoRecordReader extends AbstractRecordReader {
   private static final Logger logger = LoggerFactory.getLogger(MongoRecordReader.class);
 
+  // The cursor fetches about this many bytes per round trip to the server.
+  private static final long TARGET_CURSOR_BATCH_BYTES = 4 * 1024 * 1024;
+  private static final int MIN_CURSOR_BATCH_SIZE = 100;
+
   private MongoCollection<BsonDocument> collection;
   private MongoCursor<BsonDocument> cursor;
 
@@ -65,6 +71,11 @@ public class MongoRecordReader extends AbstractRecordReader {
 
   private Document filters;
   private final Document fields;
+  private final List<Document> pipeline;
+  private final BsonDocument emptyResult;
+  private final int limit;
+  private int cursorBatchSize = MIN_CURSOR_BATCH_SIZE;
+  private long docsRead;
 
   private final FragmentContext fragmentContext;
 
@@ -90,6 +101,10 @@ public class MongoRecordReader extends AbstractRecordReader {
         subScanSpec.getMinFilters(), subScanSpec.getMaxFilters());
 
     buildFilters(subScanSpec.getFilter(), mergedFilters);
+    pipeline = subScanSpec.getPipeline();
+    emptyResult = subScanSpec.getEmptyResult() == null ? null : subScanSpec.getEmptyResult()
+        .toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry());
+    limit = subScanSpec.getLimit();
     enableAllTextMode = fragmentContext.getOptions().getOption(ExecConstants.MONGO_ALL_TEXT_MODE).bool_val;
     enableNanInf = fragmentContext.getOptions().getOption(ExecConstants.JSON_READER_NAN_INF_NUMBERS).bool_val;
     readNumbersAsDouble = fragmentContext.getOptions().getOption(ExecConstants.MONGO_READER_READ_NUMBERS_AS_DOUBLE).bool_val;
@@ -146,6 +161,25 @@ public class MongoRecordReader extends AbstractRecordReader {
     MongoDatabase db = client.getDatabase(subScanSpec.getDbName());
     this.unionEnabled = fragmentContext.getOptions().getBoolean(ExecConstants.ENABLE_UNION_TYPE_KEY);
     collection = db.getCollection(subScanSpec.getCollectionName(), BsonDocument.class);
+    cursorBatchSize = getCursorBatchSize(db, subScanSpec.getCollectionName());
+  }
+
+  /**
+   * Sizes the cursor batches by the average document size of the collection, so that narrow documents are
+   * fetched with few round trips and wide documents don't make the server build huge batches.
+   */
+  private int getCursorBatchSize(MongoDatabase db, String collectionName) {
+    try {
+      Document stats = db.runCommand(new Document("collStats", collectionName));
+      Object avgObjSize = stats.get("avgObjSize");
+      if (avgObjSize instanceof Number && ((Number) avgObjSize).longValue() > 0) {
+        long batchSize = TARGET_CURSOR_BATCH_BYTES / ((Number) avgObjSize).longValue();
+        return (int) Math.max(MIN_CURSOR_BATCH_SIZE, Math.min(BaseValueVector.INITIAL_VALUE_ALLOCATION, batchSize));
+      }
+    } catch (MongoException e) {
+      logger.debug("Failed to get the stats of collection {}, using the default cursor batch size", collectionName, e);
+    }
+    return MIN_CURSOR_BATCH_SIZE;
   }
 
   @Override
@@ -172,8 +206,22 @@ public class MongoRecordReader extends AbstractRecordReader {
   public int next() {
     if (cursor == null) {
       logger.info("Filters Applied : " + filters);
-      logger.info("Fields Selected :" + fields);
-      cursor = collection.find(filters).projection(fields).batchSize(100).iterator();
+      if (pipeline != null) {
+        logger.info("Pipeline Applied : " + pipeline);
+        List<Document> stages = Lists.newArrayList();
+        if (!filters.isEmpty()) {
+          stages.add(new Document("$match", filters));
+        }
+        stages.addAll(pipeline);
+        cursor = collection.aggregate(stages).batchSize(cursorBatchSize).iterator();
+      } else {
+        logger.info("Fields Selected :" + fields);
+        FindIterable<BsonDocument> documents = collection.find(filters).projection(fields).batchSize(cursorBatchSize);
+        if (limit > 0) {
+          documents = documents.limit(limit);
+        }
+        cursor = documents.iterator();
+      }
     }
 
     writer.allocate();
@@ -183,13 +231,13 @@ public class MongoRecordReader extends AbstractRecordReader {
     Stopwatch watch = Stopwatch.createStarted();
 
     try {
-      while (docCount < BaseValueVector.INITIAL_VALUE_ALLOCATION && cursor.hasNext()) {
+      BsonDocument bsonDocument;
+      while (docCount < BaseValueVector.INITIAL_VALUE_ALLOCATION && (bsonDocument = nextDocument()) != null) {
         writer.setPosition(docCount);
         if (isBsonRecordReader) {
-          BsonDocument bsonDocument = cursor.next();
           bsonReader.write(writer, new BsonDocumentReader(bsonDocument));
         } else {
-          String doc = cursor.next().toJson();
+          String doc = bsonDocument.toJson();
           jsonReader.setSource(doc.getBytes(Charsets.UTF_8));
           jsonReader.write(writer);
         }
@@ -212,8 +260,27 @@ public class MongoRecordReader extends AbstractRecordReader {
     }
   }
 
+  /**
+   * @return the next document of the cursor, or the empty result of a global aggregation if the
+   *         aggregation pipeline returned no document
+   */
+  private BsonDocument nextDocument() {
+    if (cursor.hasNext()) {
+      docsRead++;
+      return cursor.next();
+    }
+    if (emptyResult != null && docsRead == 0) {
+      docsRead++;
+      return emptyResult;
+    }
+    return null;
+  }
+
   @Override
   public void close() {
+    if (cursor != null) {
+      cursor.close();
+    }
   }
 
 }
@@ -17,9 +17,12 @@
  */
 package org.apache.drill.exec.store.mongo;
 
+import java.util.List;
+
 import org.bson.Document;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class MongoScanSpec {
@@ -28,9 +31,16 @@ public class MongoScanSpec {
 
   private Document filters;
 
-  @JsonCreator
-  public MongoScanSpec(@JsonProperty("dbName") String dbName,
-      @JsonProperty("collectionName") String collectionName) {
+  // stages of an aggregation pipeline run after the filters, null when the documents are read with find
+  private List<Document> pipeline;
+
+  // document returned for a global aggregation over no documents, since mongo returns no group at all
+  private Document emptyResult;
+
+  // maximum number of documents read by each sub scan, 0 for no limit
+  private int limit;
+
+  public MongoScanSpec(String dbName, String collectionName) {
     this.dbName = dbName;
     this.collectionName = collectionName;
   }
@@ -42,6 +52,21 @@ public class MongoScanSpec {
     this.filters = filters;
   }
 
+  @JsonCreator
+  public MongoScanSpec(@JsonProperty("dbName") String dbName,
+      @JsonProperty("collectionName") String collectionName,
+      @JsonProperty("filters") Document filters,
+      @JsonProperty("pipeline") List<Document> pipeline,
+      @JsonProperty("emptyResult") Document emptyResult,
+      @JsonProperty("limit") int limit) {
+    this.dbName = dbName;
+    this.collectionName = collectionName;
+    this.filters = filters;
+    this.pipeline = pipeline;
+    this.emptyResult = emptyResult;
+    this.limit = limit;
+  }
+
   public String getDbName() {
     return dbName;
   }
@@ -54,10 +79,27 @@ public class MongoScanSpec {
     return filters;
   }
 
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public List<Document> getPipeline() {
+    return pipeline;
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public Document getEmptyResult() {
+    return emptyResult;
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+  public int getLimit() {
+    return limit;
+  }
+
   @Override
   public String toString() {
     return "MongoScanSpec [dbName=" + dbName + ", collectionName="
-        + collectionName + ", filters=" + filters + "]";
+        + collectionName + ", filters=" + filters
+        + (pipeline != null ? ", pipeline=" + pipeline : "")
+        + (limit > 0 ? ", limit=" + limit : "") + "]";
   }
 
 }
@@ -94,7 +94,11 @@ public class MongoStoragePlugin extends AbstractStoragePlugin {
 
   @Override
   public Set<StoragePluginOptimizerRule> getPhysicalOptimizerRules(OptimizerRulesContext optimizerRulesContext) {
-    return ImmutableSet.of(MongoPushDownFilterForScan.INSTANCE);
+    return ImmutableSet.of(MongoPushDownFilterForScan.INSTANCE,
+        MongoPushDownAggregateForScan.AGG_ON_SCAN,
+        MongoPushDownAggregateForScan.AGG_ON_PROJ_ON_SCAN,
+        MongoPushDownAggregateForScan.AGG_ON_FILTER_ON_SCAN,
+        MongoPushDownAggregateForScan.AGG_ON_PROJ_ON_FILTER_ON_SCAN);
   }
 
 
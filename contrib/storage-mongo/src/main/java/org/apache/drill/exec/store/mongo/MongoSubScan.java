@@ -37,6 +37,7 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.google.common.base.Preconditions;
@@ -131,6 +132,9 @@ public class MongoSubScan extends AbstractBase implements SubScan {
     protected Map<String, Object> maxFilters;
 
     protected Document filter;
+    protected List<Document> pipeline;
+    protected Document emptyResult;
+    protected int limit;
 
     @JsonCreator
     public MongoSubScanSpec(@JsonProperty("dbName") String dbName,
@@ -138,13 +142,19 @@ public class MongoSubScan extends AbstractBase implements SubScan {
         @JsonProperty("hosts") List<String> hosts,
         @JsonProperty("minFilters") Map<String, Object> minFilters,
         @JsonProperty("maxFilters") Map<String, Object> maxFilters,
-        @JsonProperty("filters") Document filters) {
+        @JsonProperty("filters") Document filters,
+        @JsonProperty("pipeline") List<Document> pipeline,
+        @JsonProperty("emptyResult") Document emptyResult,
+        @JsonProperty("limit") int limit) {
       this.dbName = dbName;
       this.collectionName = collectionName;
       this.hosts = hosts;
       this.minFilters = minFilters;
       this.maxFilters = maxFilters;
       this.filter = filters;
+      this.pipeline = pipeline;
+      this.emptyResult = emptyResult;
+      this.limit = limit;
     }
 
     MongoSubScanSpec() {
@@ -205,11 +215,42 @@ public class MongoSubScan extends AbstractBase implements SubScan {
       return this;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<Document> getPipeline() {
+      return pipeline;
+    }
+
+    public MongoSubScanSpec setPipeline(List<Document> pipeline) {
+      this.pipeline = pipeline;
+      return this;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Document getEmptyResult() {
+      return emptyResult;
+    }
+
+    public MongoSubScanSpec setEmptyResult(Document emptyResult) {
+      this.emptyResult = emptyResult;
+      return this;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public int getLimit() {
+      return limit;
+    }
+
+    public MongoSubScanSpec setLimit(int limit) {
+      this.limit = limit;
+      return this;
+    }
+
     @Override
     public String toString() {
       return "MongoSubScanSpec [dbName=" + dbName + ", collectionName="
           + collectionName + ", hosts=" + hosts + ", minFilters=" + minFilters
-          + ", maxFilters=" + maxFilters + ", filter=" + filter + "]";
+          + ", maxFilters=" + maxFilters + ", filter=" + filter + ", pipeline="
+          + pipeline + ", limit=" + limit + "]";
     }
 
   }
@@ -79,4 +79,9 @@ public interface MongoTestConstants {
   public static final String TEST_STAR_QUERY_UNSHARDED_DB = "select * from mongo.%s.`%s`";
   public static final String TEST_STAR_QUERY_UNSHARDED_DB_PROJECT_FILTER = "select t.name as name,t.topping.type as type from mongo.%s.`%s` t where t.sales >= 150";
   public static final String TEST_STAR_QUERY_UNSHARDED_DB_GROUP_PROJECT_FILTER = "select t.topping.type as type,count(t.topping.type) as typeCount from mongo.%s.`%s` t group by t.topping.type order by typeCount";
+
+  public static final String TEST_AGGREGATE_PUSH_DOWN_GROUP_BY_QUERY_TEMPLATE = "select position_id, count(*) as cnt, max(rating) as max_rating from mongo.%s.`%s` group by position_id";
+  public static final String TEST_AGGREGATE_PUSH_DOWN_COUNT_WITH_FILTER_QUERY_TEMPLATE = "select count(*) as cnt, count(position_id) as position_cnt from mongo.%s.`%s` where isFTE = true";
+  public static final String TEST_AGGREGATE_PUSH_DOWN_EMPTY_QUERY_TEMPLATE = "select count(*) as cnt from mongo.%s.`%s` where isFTE = true";
+  public static final String TEST_LIMIT_PUSH_DOWN_QUERY_TEMPLATE = "select `employee_id` from mongo.%s.`%s` limit 3";
 }
@@ -83,6 +83,45 @@ public class TestMongoQueries extends MongoTestBase {
     runMongoSQLVerifyCount(queryString, 5);
   }
 
+  @Test
+  public void testAggregatePushDownWithGroupBy() throws Exception {
+    String queryString = String.format(TEST_AGGREGATE_PUSH_DOWN_GROUP_BY_QUERY_TEMPLATE,
+        EMPLOYEE_DB, EMPINFO_COLLECTION);
+    testHelper(queryString, "\"$group\"", 4);
+  }
+
+  @Test
+  public void testAggregatePushDownCountWithFilter() throws Exception {
+    String queryString = String.format(TEST_AGGREGATE_PUSH_DOWN_COUNT_WITH_FILTER_QUERY_TEMPLATE,
+        EMPLOYEE_DB, EMPINFO_COLLECTION);
+    testPhysicalPlan(queryString, "\"$group\"", "\"$eq\" : true");
+    testBuilder()
+        .sqlQuery(queryString)
+        .unOrdered()
+        .baselineColumns("cnt", "position_cnt")
+        .baselineValues(11L, 9L)
+        .go();
+  }
+
+  @Test
+  public void testAggregatePushDownOnEmptyCollection() throws Exception {
+    String queryString = String.format(TEST_AGGREGATE_PUSH_DOWN_EMPTY_QUERY_TEMPLATE,
+        EMPLOYEE_DB, EMPTY_COLLECTION);
+    testBuilder()
+        .sqlQuery(queryString)
+        .unOrdered()
+        .baselineColumns("cnt")
+        .baselineValues(0L)
+        .go();
+  }
+
+  @Test
+  public void testLimitPushDown() throws Exception {
+    String queryString = String.format(TEST_LIMIT_PUSH_DOWN_QUERY_TEMPLATE,
+        EMPLOYEE_DB, EMPINFO_COLLECTION);
+    testHelper(queryString, "\"limit\" : 3", 3);
+  }
+
   @Test
   public void testPhysicalPlanSubmission() throws Exception {
     String query = String.format(TEST_BOOLEAN_FILTER_QUERY_TEMPLATE1,
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.openTSDB;
+
+import org.apache.drill.common.expression.BooleanOperator;
+import org.apache.drill.common.expression.FunctionCall;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.expression.ValueExpressions;
+import org.apache.drill.exec.expr.fn.FunctionGenerationHelper;
+
+/**
+ * Converts comparisons of the timestamp column with timestamp literals into the time range of
+ * an {@link OpenTSDBScanSpec}, so that openTSDB only returns the data points of that range.
+ * Only conditions combined with and are converted, other conditions are ignored.
+ * The filter is still evaluated on the scanned rows.
+ */
+public class OpenTSDBFilterBuilder {
+
+  private static final String TIMESTAMP_COLUMN = "timestamp";
+
+  private Long startTime;
+  private Long endTime;
+  private boolean converted;
+
+  private OpenTSDBFilterBuilder(OpenTSDBScanSpec scanSpec) {
+    this.startTime = scanSpec.getStartTime();
+    this.endTime = scanSpec.getEndTime();
+  }
+
+  /**
+   * @param scanSpec scan spec of the group scan
+   * @param filter filter condition
+   * @return scan spec restricted to the time range of the filter, or null if no part of the filter could be converted
+   */
+  public static OpenTSDBScanSpec build(OpenTSDBScanSpec scanSpec, LogicalExpression filter) {
+    OpenTSDBFilterBuilder builder = new OpenTSDBFilterBuilder(scanSpec);
+    builder.add(filter);
+    if (!builder.converted) {
+      return null;
+    }
+    return new OpenTSDBScanSpec(scanSpec.getTableName(), builder.startTime, builder.endTime);
+  }
+
+  private void add(LogicalExpression expr) {
+    if (!(expr instanceof FunctionCall)) {
+      return;
+    }
+    FunctionCall call = (FunctionCall) expr;
+    if (call instanceof BooleanOperator) {
+      if ("booleanAnd".equals(call.getName())) {
+        for (LogicalExpression arg : call.args) {
+          add(arg);
+        }
+      }
+      return;
+    }
+
+    switch (call.getName()) {
+      case FunctionGenerationHelper.EQ:
+      case FunctionGenerationHelper.LT:
+      case FunctionGenerationHelper.LE:
+      case FunctionGenerationHelper.GT:
+      case FunctionGenerationHelper.GE:
+        addComparison(call);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void addComparison(FunctionCall call) {
+    String function = call.getName();
+    LogicalExpression column = call.args.get(0);
+    LogicalExpression literal = call.args.get(1);
+    if (!isTimestampColumn(column)) {
+      // literal on the left side, swap the operands
+      column = call.args.get(1);
+      literal = call.args.get(0);
+      function = swap(function);
+    }
+    if (!isTimestampColumn(column) || !(literal instanceof ValueExpressions.TimeStampExpression)) {
+      return;
+    }
+
+    long value = ((ValueExpressions.TimeStampExpression) literal).getTimeStamp();
+    switch (function) {
+      case FunctionGenerationHelper.EQ:
+        setStartTime(value);
+        setEndTime(value);
+        break;
+      case FunctionGenerationHelper.LT:
+        setEndTime(value - 1);
+        break;
+      case FunctionGenerationHelper.LE:
+        setEndTime(value);
+        break;
+      case FunctionGenerationHelper.GT:
+        setStartTime(value + 1);
+        break;
+      case FunctionGenerationHelper.GE:
+        setStartTime(value);
+        break;
+      default:
+        return;
+    }
+    converted = true;
+  }
+
+  private void setStartTime(long value) {
+    startTime = startTime == null ? value : Math.max(startTime, value);
+  }
+
+  private void setEndTime(long value) {
+    endTime = endTime == null ? value : Math.min(endTime, value);
+  }
+
+  private static boolean isTimestampColumn(LogicalExpression expr) {
+    return expr instanceof SchemaPath && ((SchemaPath) expr).getRootSegment().isLastPath()
+        && TIMESTAMP_COLUMN.equals(((SchemaPath) expr).getRootSegmentPath());
+  }
+
+  private static String swap(String function) {
+    switch (function) {
+      case FunctionGenerationHelper.LT:
+        return FunctionGenerationHelper.GT;
+      case FunctionGenerationHelper.LE:
+        return FunctionGenerationHelper.GE;
+      case FunctionGenerationHelper.GT:
+        return FunctionGenerationHelper.LT;
+      case FunctionGenerationHelper.GE:
+        return FunctionGenerationHelper.LE;
+      default:
+        return function;
+    }
+  }
+}
@@ -23,9 +23,11 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
-import com.madhukaraphatak.sizeof.SizeEstimator;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
 import org.apache.drill.common.exceptions.ExecutionSetupException;
+import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.exec.physical.base.AbstractGroupScan;
 import org.apache.drill.exec.physical.base.GroupScan;
@@ -34,25 +36,57 @@ import org.apache.drill.exec.physical.base.ScanStats;
 import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
 import org.apache.drill.exec.store.StoragePluginRegistry;
 import org.apache.drill.exec.store.openTSDB.OpenTSDBSubScan.OpenTSDBSubScanSpec;
-import org.apache.drill.exec.store.openTSDB.client.services.ServiceImpl;
-import org.apache.drill.exec.store.openTSDB.dto.MetricDTO;
+import org.apache.drill.exec.store.openTSDB.client.MetricReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import static org.apache.drill.exec.store.openTSDB.Constants.AGGREGATOR_PARAM;
+import static org.apache.drill.exec.store.openTSDB.Constants.DOWNSAMPLE_PARAM;
+import static org.apache.drill.exec.store.openTSDB.Constants.END_TIME_PARAM;
+import static org.apache.drill.exec.store.openTSDB.Constants.TIME_PARAM;
 import static org.apache.drill.exec.store.openTSDB.Util.fromRowData;
+import static org.apache.drill.exec.store.openTSDB.Util.toMillis;
+import static org.apache.drill.exec.store.openTSDB.Util.withTimeRange;
 
 @JsonTypeName("openTSDB-scan")
 public class OpenTSDBGroupScan extends AbstractGroupScan {
 
+  private static final Logger log = LoggerFactory.getLogger(OpenTSDBGroupScan.class);
+
+  /**
+   * Time ranges shorter than this are read by a single query.
+   */
+  private static final long MIN_SPLIT_INTERVAL = TimeUnit.HOURS.toMillis(1);
+  private static final int MAX_SPLITS = 64;
+
+  /**
+   * Aggregators that don't interpolate the values of a series between its data points. With other aggregators
+   * the values at the edges of a time range depend on the data points outside of it, so the range isn't split.
+   */
+  private static final Set<String> NON_INTERPOLATING_AGGREGATORS = ImmutableSet.of("none", "zimsum", "mimmin", "mimmax");
+
+  // timestamp, aggregated value and the tags of a data point
+  private static final int ESTIMATED_ROW_WIDTH = 64;
+
   private OpenTSDBStoragePluginConfig storagePluginConfig;
   private OpenTSDBScanSpec openTSDBScanSpec;
   private OpenTSDBStoragePlugin storagePlugin;
 
   private List<SchemaPath> columns;
 
+  private List<OpenTSDBSubScanSpec> timeRanges;
+  private ListMultimap<Integer, OpenTSDBSubScanSpec> assignments;
+  private boolean filterPushedDown;
+  private Long rowCount;
+
   @JsonCreator
   public OpenTSDBGroupScan(@JsonProperty("openTSDBScanSpec") OpenTSDBScanSpec openTSDBScanSpec,
                            @JsonProperty("storage") OpenTSDBStoragePluginConfig openTSDBStoragePluginConfig,
@@ -68,6 +102,7 @@ public class OpenTSDBGroupScan extends AbstractGroupScan {
     this.storagePluginConfig = storagePlugin.getConfig();
     this.openTSDBScanSpec = scanSpec;
     this.columns = columns == null || columns.size() == 0 ? ALL_COLUMNS : columns;
+    this.timeRanges = getTimeRanges(scanSpec);
   }
 
   /**
@@ -81,39 +116,96 @@ public class OpenTSDBGroupScan extends AbstractGroupScan {
     this.openTSDBScanSpec = that.openTSDBScanSpec;
     this.storagePlugin = that.storagePlugin;
     this.storagePluginConfig = that.storagePluginConfig;
+    this.timeRanges = that.timeRanges;
+    this.assignments = that.assignments;
+    this.filterPushedDown = that.filterPushedDown;
+    this.rowCount = that.rowCount;
+  }
+
+  /**
+   * Narrows the time range of the table name to the time range pushed down from the filter, and splits it into
+   * time ranges read by separate queries when both of its ends are known.
+   */
+  private static List<OpenTSDBSubScanSpec> getTimeRanges(OpenTSDBScanSpec scanSpec) {
+    String tableName = scanSpec.getTableName();
+    Map<String, String> params = fromRowData(tableName);
+    long now = System.currentTimeMillis();
+    Long tableStart = toMillis(params.get(TIME_PARAM), now);
+    Long tableEnd = params.containsKey(END_TIME_PARAM) ? toMillis(params.get(END_TIME_PARAM), now) : Long.valueOf(now);
+    boolean downsampled = params.containsKey(DOWNSAMPLE_PARAM);
+
+    // pushed bounds are only used when they narrow the bounds of the table name
+    Long start = scanSpec.getStartTime();
+    if (start != null && (tableStart == null || start <= tableStart)) {
+      start = null;
+    }
+    Long end = scanSpec.getEndTime();
+    // a downsampled data point aggregates the data points up to the end of its interval, so the end isn't pushed
+    if (end != null && (downsampled || tableEnd == null || end >= tableEnd)) {
+      end = null;
+    }
+
+    Long rangeStart = start != null ? start : tableStart;
+    Long rangeEnd = end != null ? end : params.containsKey(END_TIME_PARAM) ? tableEnd : null;
+    if (rangeStart == null || rangeEnd == null || downsampled
+        || !NON_INTERPOLATING_AGGREGATORS.contains(params.get(AGGREGATOR_PARAM))
+        || rangeEnd - rangeStart < MIN_SPLIT_INTERVAL) {
+      return Collections.singletonList(new OpenTSDBSubScanSpec(tableName, start, end));
+    }
+
+    long range = rangeEnd - rangeStart + 1;
+    int splits = (int) Math.min(MAX_SPLITS, (range + MIN_SPLIT_INTERVAL - 1) / MIN_SPLIT_INTERVAL);
+    long interval = (range + splits - 1) / splits;
+    List<OpenTSDBSubScanSpec> timeRanges = new ArrayList<>(splits);
+    for (long splitStart = rangeStart; splitStart <= rangeEnd; splitStart += interval) {
+      timeRanges.add(new OpenTSDBSubScanSpec(tableName, splitStart, Math.min(splitStart + interval - 1, rangeEnd)));
+    }
+    return timeRanges;
   }
 
   @Override
   public int getMaxParallelizationWidth() {
-    return 1;
+    return timeRanges.size();
   }
 
   @Override
   public void applyAssignments(List<DrillbitEndpoint> incomingEndpoints) {
+    assignments = ArrayListMultimap.create();
+    for (int i = 0; i < timeRanges.size(); i++) {
+      assignments.put(i % incomingEndpoints.size(), timeRanges.get(i));
+    }
   }
 
   @Override
   public OpenTSDBSubScan getSpecificScan(int minorFragmentId) {
-    List<OpenTSDBSubScanSpec> scanSpecList = Lists.newArrayList();
-    scanSpecList.add(new OpenTSDBSubScanSpec(getTableName()));
-    return new OpenTSDBSubScan(storagePlugin, storagePluginConfig, scanSpecList, this.columns);
+    return new OpenTSDBSubScan(storagePlugin, storagePluginConfig, assignments.get(minorFragmentId), this.columns);
   }
 
   @Override
   public ScanStats getScanStats() {
-    ServiceImpl client = storagePlugin.getClient();
-    Map<String, String> params = fromRowData(openTSDBScanSpec.getTableName());
-    Set<MetricDTO> allMetrics = client.getAllMetrics(params);
-    long numMetrics = allMetrics.size();
-    float approxDiskCost = 0;
-    if (numMetrics != 0) {
-      MetricDTO metricDTO  = allMetrics.iterator().next();
-      // This method estimates the sizes of Java objects (number of bytes of memory they occupy).
-      // more detailed information about how this estimation method work you can find in this article
-      // http://www.javaworld.com/javaworld/javaqa/2003-12/02-qa-1226-sizeof.html
-      approxDiskCost = SizeEstimator.estimate(metricDTO) * numMetrics;
+    if (rowCount == null) {
+      rowCount = countDataPoints();
     }
-    return new ScanStats(ScanStats.GroupScanProperty.EXACT_ROW_COUNT, numMetrics, 1, approxDiskCost);
+    return new ScanStats(ScanStats.GroupScanProperty.EXACT_ROW_COUNT, rowCount, 1, rowCount * ESTIMATED_ROW_WIDTH);
+  }
+
+  // Reads the data points of the whole time range without storing them
+  private long countDataPoints() {
+    Map<String, String> params = withTimeRange(fromRowData(getTableName()),
+        timeRanges.get(0).getStartTime(), timeRanges.get(timeRanges.size() - 1).getEndTime());
+    long count = 0;
+    try (MetricReader reader = storagePlugin.getClient().getMetricReader(params)) {
+      while (reader.nextSeries()) {
+        while (reader.nextDataPoint()) {
+          count++;
+        }
+      }
+    } catch (IOException e) {
+      throw UserException.connectionError(e)
+          .message("Cannot connect to the db. Maybe you have incorrect connection params or db unavailable now")
+          .build(log);
+    }
+    return count;
   }
 
   @Override
@@ -134,6 +226,21 @@ public class OpenTSDBGroupScan extends AbstractGroupScan {
     return true;
   }
 
+  @JsonIgnore
+  public boolean isFilterPushedDown() {
+    return filterPushedDown;
+  }
+
+  @JsonIgnore
+  public void setFilterPushedDown(boolean filterPushedDown) {
+    this.filterPushedDown = filterPushedDown;
+  }
+
+  @JsonIgnore
+  public OpenTSDBStoragePlugin getStoragePlugin() {
+    return storagePlugin;
+  }
+
   @JsonIgnore
   public String getTableName() {
     return getOpenTSDBScanSpec().getTableName();
@@ -33,11 +33,11 @@ import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.physical.impl.OutputMutator;
 import org.apache.drill.exec.record.MaterializedField;
 import org.apache.drill.exec.store.AbstractRecordReader;
+import org.apache.drill.exec.store.openTSDB.client.MetricReader;
 import org.apache.drill.exec.store.openTSDB.client.OpenTSDBTypes;
 import org.apache.drill.exec.store.openTSDB.client.Schema;
 import org.apache.drill.exec.store.openTSDB.client.Service;
 import org.apache.drill.exec.store.openTSDB.dto.ColumnDTO;
-import org.apache.drill.exec.store.openTSDB.dto.MetricDTO;
 import org.apache.drill.exec.vector.NullableFloat8Vector;
 import org.apache.drill.exec.vector.NullableTimeStampVector;
 import org.apache.drill.exec.vector.NullableVarCharVector;
@@ -47,14 +47,14 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.drill.exec.store.openTSDB.Constants.METRIC_PARAM;
 import static org.apache.drill.exec.store.openTSDB.Util.fromRowData;
+import static org.apache.drill.exec.store.openTSDB.Util.withTimeRange;
 
 public class OpenTSDBRecordReader extends AbstractRecordReader {
 
@@ -67,45 +67,46 @@ public class OpenTSDBRecordReader extends AbstractRecordReader {
 
   private Service db;
 
-  private Iterator<MetricDTO> tableIterator;
+  private MetricReader metricReader;
+  private boolean hasSeries;
   private OutputMutator output;
   private ImmutableList<ProjectedColumnInfo> projectedCols;
 
   private Map<String, String> params;
+  private Long startTime;
+  private Long endTime;
 
   public OpenTSDBRecordReader(Service client, OpenTSDBSubScan.OpenTSDBSubScanSpec subScanSpec,
                        List<SchemaPath> projectedColumns) throws IOException {
     setColumns(projectedColumns);
     this.db = client;
+    this.startTime = subScanSpec.getStartTime();
+    this.endTime = subScanSpec.getEndTime();
     this.params =
-            fromRowData(subScanSpec.getTableName());
+            withTimeRange(fromRowData(subScanSpec.getTableName()), startTime, endTime);
     log.debug("Scan spec: {}", subScanSpec);
   }
 
   @Override
   public void setup(OperatorContext context, OutputMutator output) throws ExecutionSetupException {
     this.output = output;
-    Set<MetricDTO> metrics =
-            db.getAllMetrics(params);
-    if (metrics == null) {
-      throw UserException.validationError()
-              .message(String.format("Table '%s' not found", params.get(METRIC_PARAM)))
-              .build(log);
-    }
-    this.tableIterator = metrics.iterator();
+    this.metricReader = db.getMetricReader(params);
   }
 
   @Override
   public int next() {
     try {
       return processOpenTSDBTablesData();
-    } catch (SchemaChangeException e) {
+    } catch (SchemaChangeException | IOException e) {
       throw new DrillRuntimeException(e);
     }
   }
 
   @Override
   public void close() throws Exception {
+    if (metricReader != null) {
+      metricReader.close();
+    }
   }
 
   static {
@@ -121,21 +122,21 @@ public class OpenTSDBRecordReader extends AbstractRecordReader {
     ColumnDTO openTSDBColumn;
   }
 
-  private int processOpenTSDBTablesData() throws SchemaChangeException {
-    int rowCounter = 0;
-    while (tableIterator.hasNext() && rowCounter < TARGET_RECORD_COUNT) {
-      MetricDTO metricDTO = tableIterator.next();
-      rowCounter = addRowResult(metricDTO, rowCounter);
-    }
-    return rowCounter;
-  }
-
-  private int addRowResult(MetricDTO table, int rowCounter) throws SchemaChangeException {
+  // Data points are written as they are read from the response, a batch may end in the middle of a series
+  private int processOpenTSDBTablesData() throws SchemaChangeException, IOException {
     setupProjectedColsIfItNull();
-    for (String time : table.getDps().keySet()) {
-      String value = table.getDps().get(time);
-      setupDataToDrillTable(table, time, value, table.getTags(), rowCounter);
-      rowCounter++;
+    int rowCounter = 0;
+    while (rowCounter < TARGET_RECORD_COUNT) {
+      if (hasSeries && metricReader.nextDataPoint()) {
+        long timestamp = TimeUnit.SECONDS.toMillis(metricReader.getTimestamp());
+        // the time range of a split scan must not return the data points at the edges of the neighbour ranges
+        if ((startTime == null || timestamp >= startTime) && (endTime == null || timestamp <= endTime)) {
+          setupDataToDrillTable(metricReader, timestamp, rowCounter);
+          rowCounter++;
+        }
+      } else if (!(hasSeries = metricReader.nextSeries())) {
+        break;
+      }
     }
     return rowCounter;
   }
@@ -146,35 +147,27 @@ public class OpenTSDBRecordReader extends AbstractRecordReader {
     }
   }
 
-  private void setupDataToDrillTable(MetricDTO table, String timestamp, String value, Map<String, String> tags, int rowCount) {
+  private void setupDataToDrillTable(MetricReader series, long timestamp, int rowCount) {
     for (ProjectedColumnInfo pci : projectedCols) {
       switch (pci.openTSDBColumn.getColumnName()) {
         case "metric":
-          setStringColumnValue(table.getMetric(), pci, rowCount);
+          setStringColumnValue(series.getMetric(), pci, rowCount);
           break;
         case "aggregate tags":
-          setStringColumnValue(table.getAggregateTags().toString(), pci, rowCount);
+          setStringColumnValue(series.getAggregateTags().toString(), pci, rowCount);
           break;
         case "timestamp":
           setTimestampColumnValue(timestamp, pci, rowCount);
           break;
         case "aggregated value":
-          setDoubleColumnValue(value, pci, rowCount);
+          setDoubleColumnValue(series.getValue(), pci, rowCount);
           break;
         default:
-          setStringColumnValue(tags.get(pci.openTSDBColumn.getColumnName()), pci, rowCount);
+          setStringColumnValue(series.getTags().get(pci.openTSDBColumn.getColumnName()), pci, rowCount);
       }
     }
   }
 
-  private void setTimestampColumnValue(String timestamp, ProjectedColumnInfo pci, int rowCount) {
-    setTimestampColumnValue(timestamp != null ? Long.parseLong(timestamp) : Long.parseLong("0"), pci, rowCount);
-  }
-
-  private void setDoubleColumnValue(String value, ProjectedColumnInfo pci, int rowCount) {
-    setDoubleColumnValue(value != null ? Double.parseDouble(value) : 0.0, pci, rowCount);
-  }
-
   private void setStringColumnValue(String data, ProjectedColumnInfo pci, int rowCount) {
     if (data == null) {
       data = "null";
@@ -184,12 +177,12 @@ public class OpenTSDBRecordReader extends AbstractRecordReader {
         .setSafe(rowCount, value, 0, value.remaining());
   }
 
-  private void setTimestampColumnValue(Long data, ProjectedColumnInfo pci, int rowCount) {
+  private void setTimestampColumnValue(long data, ProjectedColumnInfo pci, int rowCount) {
     ((NullableTimeStampVector.Mutator) pci.vv.getMutator())
-        .setSafe(rowCount, data * 1000);
+        .setSafe(rowCount, data);
   }
 
-  private void setDoubleColumnValue(Double data, ProjectedColumnInfo pci, int rowCount) {
+  private void setDoubleColumnValue(double data, ProjectedColumnInfo pci, int rowCount) {
     ((NullableFloat8Vector.Mutator) pci.vv.getMutator())
         .setSafe(rowCount, data);
   }
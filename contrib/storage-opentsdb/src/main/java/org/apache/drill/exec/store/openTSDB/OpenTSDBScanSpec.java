@@ -18,25 +18,53 @@
 package org.apache.drill.exec.store.openTSDB;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class OpenTSDBScanSpec {
 
   private final String tableName;
 
+  /**
+   * Bounds of the timestamps pushed down from the filter, in milliseconds, both inclusive.
+   * They narrow the start and end times given in the table name.
+   */
+  private final Long startTime;
+  private final Long endTime;
+
+  public OpenTSDBScanSpec(String tableName) {
+    this(tableName, null, null);
+  }
+
   @JsonCreator
-  public OpenTSDBScanSpec(@JsonProperty("tableName") String tableName) {
+  public OpenTSDBScanSpec(@JsonProperty("tableName") String tableName,
+                          @JsonProperty("startTime") Long startTime,
+                          @JsonProperty("endTime") Long endTime) {
     this.tableName = tableName;
+    this.startTime = startTime;
+    this.endTime = endTime;
   }
 
   public String getTableName() {
     return tableName;
   }
 
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public Long getStartTime() {
+    return startTime;
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public Long getEndTime() {
+    return endTime;
+  }
+
   @Override
   public String toString() {
     return "OpenTSDBScanSpec{" +
             "tableName='" + tableName + '\'' +
+            (startTime != null ? ", startTime=" + startTime : "") +
+            (endTime != null ? ", endTime=" + endTime : "") +
             '}';
   }
 }
@@ -19,15 +19,19 @@ package org.apache.drill.exec.store.openTSDB;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
 import org.apache.calcite.schema.SchemaPlus;
 import org.apache.drill.common.JSONOptions;
+import org.apache.drill.exec.ops.OptimizerRulesContext;
 import org.apache.drill.exec.server.DrillbitContext;
 import org.apache.drill.exec.store.AbstractStoragePlugin;
 import org.apache.drill.exec.store.SchemaConfig;
+import org.apache.drill.exec.store.StoragePluginOptimizerRule;
 import org.apache.drill.exec.store.openTSDB.client.services.ServiceImpl;
 import org.apache.drill.exec.store.openTSDB.schema.OpenTSDBSchemaFactory;
 
 import java.io.IOException;
+import java.util.Set;
 
 public class OpenTSDBStoragePlugin extends AbstractStoragePlugin {
 
@@ -61,6 +65,11 @@ public class OpenTSDBStoragePlugin extends AbstractStoragePlugin {
     return new OpenTSDBGroupScan(this, scanSpec, null);
   }
 
+  @Override
+  public Set<StoragePluginOptimizerRule> getPhysicalOptimizerRules(OptimizerRulesContext optimizerRulesContext) {
+    return ImmutableSet.of(OpenTSDBPushDownFilterForScan.INSTANCE);
+  }
+
   @Override
   public void registerSchemas(SchemaConfig schemaConfig, SchemaPlus parent) throws IOException {
     schemaFactory.registerSchemas(schemaConfig, parent);
@@ -20,6 +20,7 @@ package org.apache.drill.exec.store.openTSDB;
 import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.google.common.base.Preconditions;
@@ -118,15 +119,48 @@ public class OpenTSDBSubScan extends AbstractBase implements SubScan {
   public static class OpenTSDBSubScanSpec {
 
     private final String tableName;
+    private final Long startTime;
+    private final Long endTime;
 
+    public OpenTSDBSubScanSpec(String tableName) {
+      this(tableName, null, null);
+    }
+
+    /**
+     * @param tableName table name with the query params
+     * @param startTime start of the time range to read in milliseconds, or null for the start time of the table name
+     * @param endTime end of the time range to read in milliseconds, or null for the end time of the table name
+     */
     @JsonCreator
-    public OpenTSDBSubScanSpec(@JsonProperty("tableName") String tableName) {
+    public OpenTSDBSubScanSpec(@JsonProperty("tableName") String tableName,
+                               @JsonProperty("startTime") Long startTime,
+                               @JsonProperty("endTime") Long endTime) {
       this.tableName = tableName;
+      this.startTime = startTime;
+      this.endTime = endTime;
     }
 
     public String getTableName() {
       return tableName;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long getStartTime() {
+      return startTime;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long getEndTime() {
+      return endTime;
+    }
+
+    @Override
+    public String toString() {
+      return "OpenTSDBSubScanSpec{" +
+          "tableName='" + tableName + '\'' +
+          ", startTime=" + startTime +
+          ", endTime=" + endTime +
+          '}';
+    }
   }
 }
@@ -22,12 +22,21 @@ import org.apache.drill.common.exceptions.UserException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.drill.exec.store.openTSDB.Constants.END_TIME_PARAM;
+import static org.apache.drill.exec.store.openTSDB.Constants.TIME_PARAM;
+
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class Util {
 
   private static final Logger log = LoggerFactory.getLogger(Util.class);
 
+  private static final Pattern RELATIVE_TIME = Pattern.compile("(\\d+)(ms|s|m|h|d|w|n|y)-ago");
+
   /**
    * Parse FROM parameters to Map representation
    *
@@ -63,4 +72,75 @@ public class Util {
   public static boolean isTableNameValid(String name) {
     return !name.contains("=");
   }
+
+  /**
+   * Converts an openTSDB start or end time into milliseconds since the epoch. Relative times such as 1h-ago
+   * are resolved against the local clock, the same way the TSD resolves them against its own clock.
+   *
+   * @param time absolute time in seconds or milliseconds, or relative time
+   * @param now current time in milliseconds
+   * @return time in milliseconds, or null if the format isn't supported (for example yyyy/MM/dd dates)
+   */
+  public static Long toMillis(String time, long now) {
+    if (time == null) {
+      return null;
+    }
+    if (time.matches("\\d{1,13}")) {
+      long value = Long.parseLong(time);
+      // openTSDB treats timestamps with more than 10 digits as milliseconds
+      return time.length() > 10 ? value : TimeUnit.SECONDS.toMillis(value);
+    }
+    Matcher matcher = RELATIVE_TIME.matcher(time);
+    if (!matcher.matches()) {
+      return null;
+    }
+    long amount = Long.parseLong(matcher.group(1));
+    switch (matcher.group(2)) {
+      case "ms":
+        return now - amount;
+      case "s":
+        return now - TimeUnit.SECONDS.toMillis(amount);
+      case "m":
+        return now - TimeUnit.MINUTES.toMillis(amount);
+      case "h":
+        return now - TimeUnit.HOURS.toMillis(amount);
+      case "d":
+        return now - TimeUnit.DAYS.toMillis(amount);
+      case "w":
+        return now - TimeUnit.DAYS.toMillis(7 * amount);
+      case "n":
+        return now - TimeUnit.DAYS.toMillis(30 * amount);
+      default:
+        return now - TimeUnit.DAYS.toMillis(365 * amount);
+    }
+  }
+
+  /**
+   * Replaces the start and end times of the query params with the given bounds.
+   *
+   * @param params query params parsed from the table name
+   * @param startTime start time in milliseconds, or null to keep the start time of the params
+   * @param endTime end time in milliseconds, or null to keep the end time of the params
+   * @return query params with the time range
+   */
+  public static Map<String, String> withTimeRange(Map<String, String> params, Long startTime, Long endTime) {
+    Map<String, String> result = new HashMap<>(params);
+    if (startTime != null) {
+      result.put(TIME_PARAM, toQueryTime(startTime, false));
+    }
+    if (endTime != null) {
+      result.put(END_TIME_PARAM, toQueryTime(endTime, true));
+    }
+    return result;
+  }
+
+  // openTSDB only reads timestamps with 13 digits as milliseconds, earlier times are rounded to seconds
+  // so that the range covers the given bound
+  private static String toQueryTime(long millis, boolean roundUp) {
+    if (millis >= 1_000_000_000_000L) {
+      return String.valueOf(millis);
+    }
+    long seconds = roundUp ? (millis + 999) / 1000 : millis / 1000;
+    return String.valueOf(seconds);
+  }
 }
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.openTSDB.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import okhttp3.ResponseBody;
+import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.store.openTSDB.client.query.DBQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the responses of openTSDB queries one data point at a time, without deserializing them into
+ * {@link org.apache.drill.exec.store.openTSDB.dto.MetricDTO}s. The queries are sent one after the other,
+ * a series returned by several of them is only read once.
+ * <p>
+ * The fields of a series are expected before its data points, which is the order in which the TSD writes them.
+ */
+public class MetricReader implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(MetricReader.class);
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final OpenTSDB client;
+  private final Iterator<DBQuery> queries;
+  private final Set<List<Object>> readSeries = new HashSet<>();
+
+  private ResponseBody body;
+  private JsonParser parser;
+  private boolean inDataPoints;
+
+  private String metric;
+  private Map<String, String> tags;
+  private List<String> aggregateTags;
+  private long timestamp;
+  private double value;
+
+  public MetricReader(OpenTSDB client, List<DBQuery> queries) {
+    this.client = client;
+    this.queries = queries.iterator();
+  }
+
+  /**
+   * Moves to the next series, the data points of the current series that weren't read are skipped.
+   *
+   * @return false if there are no more series
+   */
+  public boolean nextSeries() throws IOException {
+    while (true) {
+      while (nextDataPoint()) {
+        // skip the rest of the current series
+      }
+      if (parser == null) {
+        if (!queries.hasNext()) {
+          return false;
+        }
+        open(queries.next());
+      }
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        // end of the response
+        closeResponse();
+        continue;
+      }
+      readSeriesFields();
+      if (readSeries.add(Arrays.<Object>asList(metric, tags, aggregateTags))) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Moves to the next data point of the current series.
+   *
+   * @return false if there are no more data points in the current series
+   */
+  public boolean nextDataPoint() throws IOException {
+    if (!inDataPoints) {
+      return false;
+    }
+    if (parser.nextToken() == JsonToken.FIELD_NAME) {
+      timestamp = Long.parseLong(parser.getCurrentName());
+      parser.nextToken();
+      value = parser.getValueAsDouble();
+      return true;
+    }
+    inDataPoints = false;
+    skipFields();
+    return false;
+  }
+
+  public String getMetric() {
+    return metric;
+  }
+
+  public Map<String, String> getTags() {
+    return tags;
+  }
+
+  public List<String> getAggregateTags() {
+    return aggregateTags;
+  }
+
+  /**
+   * @return timestamp of the current data point in seconds
+   */
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public double getValue() {
+    return value;
+  }
+
+  @Override
+  public void close() throws IOException {
+    closeResponse();
+  }
+
+  private void open(DBQuery query) throws IOException {
+    Response<ResponseBody> response = client.getTablesAsStream(query).execute();
+    if (!response.isSuccessful()) {
+      String error = response.errorBody() != null ? response.errorBody().string() : "";
+      throw UserException.dataReadError()
+          .message("OpenTSDB query failed with HTTP status %s", response.code())
+          .addContext("Query", query.toString())
+          .addContext("Response", error)
+          .build(log);
+    }
+    body = response.body();
+    parser = JSON_FACTORY.createParser(body.byteStream());
+    if (parser.nextToken() != JsonToken.START_ARRAY) {
+      throw UserException.dataReadError()
+          .message("Unexpected response of openTSDB, an array of series was expected")
+          .addContext("Query", query.toString())
+          .build(log);
+    }
+  }
+
+  /**
+   * Reads the fields of a series up to its data points.
+   */
+  private void readSeriesFields() throws IOException {
+    metric = null;
+    tags = new HashMap<>();
+    aggregateTags = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      switch (field) {
+        case "metric":
+          metric = parser.getText();
+          break;
+        case "tags":
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String tag = parser.getCurrentName();
+            parser.nextToken();
+            tags.put(tag, parser.getText());
+          }
+          break;
+        case "aggregateTags":
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            aggregateTags.add(parser.getText());
+          }
+          break;
+        case "dps":
+          inDataPoints = true;
+          return;
+        default:
+          parser.skipChildren();
+          break;
+      }
+    }
+    // series without data points
+    inDataPoints = false;
+  }
+
+  /**
+   * Skips the fields following the data points of a series.
+   */
+  private void skipFields() throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      parser.nextToken();
+      parser.skipChildren();
+    }
+  }
+
+  private void closeResponse() throws IOException {
+    inDataPoints = false;
+    if (parser != null) {
+      parser.close();
+      parser = null;
+    }
+    if (body != null) {
+      body.close();
+      body = null;
+    }
+  }
+}
@@ -18,11 +18,13 @@
 package org.apache.drill.exec.store.openTSDB.client;
 
 import org.apache.drill.exec.store.openTSDB.client.query.DBQuery;
+import okhttp3.ResponseBody;
 import org.apache.drill.exec.store.openTSDB.dto.MetricDTO;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.POST;
+import retrofit2.http.Streaming;
 
 import java.util.Set;
 
@@ -47,4 +49,15 @@ public interface OpenTSDB {
    */
   @POST("api/query")
   Call<Set<MetricDTO>> getTables(@Body DBQuery query);
+
+  /**
+   * Same request as {@link #getTables(DBQuery)}, but the response isn't buffered,
+   * so that it can be read with a {@link MetricReader}
+   *
+   * @param query Query for for selecting data
+   * @return body of the response
+   */
+  @Streaming
+  @POST("api/query")
+  Call<ResponseBody> getTablesAsStream(@Body DBQuery query);
 }
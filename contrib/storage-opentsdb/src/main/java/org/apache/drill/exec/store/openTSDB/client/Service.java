@@ -52,4 +52,14 @@ public interface Service {
    * @return List<ColumnDTO> columns based on tags
    */
   List<ColumnDTO> getUnfixedColumns(Map<String, String> queryParam);
+
+  /**
+   *
+   * Used for reading the data points of all metrics from openTSDB as a stream.
+   * Must be present required params: metric, start, aggregator
+   *
+   * @param queryParam parameters for the API request
+   * @return MetricReader positioned before the first series, it must be closed by the caller
+   */
+  MetricReader getMetricReader(Map<String, String> queryParam);
 }
@@ -18,6 +18,7 @@
 package org.apache.drill.exec.store.openTSDB.client.services;
 
 import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.store.openTSDB.client.MetricReader;
 import org.apache.drill.exec.store.openTSDB.client.OpenTSDB;
 import org.apache.drill.exec.store.openTSDB.client.OpenTSDBTypes;
 import org.apache.drill.exec.store.openTSDB.client.Service;
@@ -32,7 +33,7 @@ import retrofit2.converter.jackson.JacksonConverterFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
-
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -72,20 +73,63 @@ public class ServiceImpl implements Service {
 
   @Override
   public List<ColumnDTO> getUnfixedColumns(Map<String, String> queryParam) {
-    Set<MetricDTO> metrics = getAllMetricsByTags(queryParam);
     List<ColumnDTO> unfixedColumns = new ArrayList<>();
 
-    for (MetricDTO metric : metrics) {
-      for (String tag : metric.getTags().keySet()) {
-        ColumnDTO tmp = new ColumnDTO(tag, OpenTSDBTypes.STRING);
-        if (!unfixedColumns.contains(tmp)) {
-          unfixedColumns.add(tmp);
+    try (MetricReader reader = getMetricReader(queryParam)) {
+      while (reader.nextSeries()) {
+        for (String tag : reader.getTags().keySet()) {
+          ColumnDTO tmp = new ColumnDTO(tag, OpenTSDBTypes.STRING);
+          if (!unfixedColumns.contains(tmp)) {
+            unfixedColumns.add(tmp);
+          }
         }
       }
+    } catch (IOException e) {
+      throw UserException.connectionError(e)
+              .message("Cannot connect to the db. " +
+                      "Maybe you have incorrect connection params or db unavailable now")
+              .build(log);
     }
     return unfixedColumns;
   }
 
+  @Override
+  public MetricReader getMetricReader(Map<String, String> queryParams) {
+    try {
+      List<DBQuery> queries = new ArrayList<>();
+      for (String tag : getTagsFromDB(queryParams)) {
+        queries.add(getConfiguredDbQuery(getTransformedTag(tag), queryParams));
+      }
+      return new MetricReader(client, queries);
+    } catch (IOException e) {
+      throw UserException.connectionError(e)
+              .message("Cannot connect to the db. " +
+                      "Maybe you have incorrect connection params or db unavailable now")
+              .build(log);
+    }
+  }
+
+  // Reads the tags of the series of the metric, the data points of the response are skipped
+  private Set<String> getTagsFromDB(Map<String, String> queryParams) throws IOException {
+    DBQuery baseQuery = getConfiguredDbQuery(new HashMap<String, String>(), queryParams);
+    Set<String> extractedTags = new HashSet<>();
+    boolean found = false;
+
+    try (MetricReader reader = new MetricReader(client, Collections.singletonList(baseQuery))) {
+      while (reader.nextSeries()) {
+        found = true;
+        extractedTags.addAll(reader.getAggregateTags());
+        extractedTags.addAll(reader.getTags().keySet());
+      }
+    }
+    if (!found) {
+      throw UserException.validationError()
+              .message(String.format("Table '%s' not found. Please check your query and params", queryParams.get(METRIC_PARAM)))
+              .build(log);
+    }
+    return extractedTags;
+  }
+
   private Set<MetricDTO> getAllMetricsByTags(Map<String, String> queryParams) {
     try {
       return getAllMetricsFromDBByTags(queryParams);
@@ -37,6 +37,7 @@ import java.net.ServerSocket;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static org.apache.drill.store.openTSDB.TestDataHolder.DOWNSAMPLE_REQUEST_WITH_TAGS;
@@ -169,6 +170,41 @@ public class TestOpenTSDBPlugin extends PlanTestBase {
     Assert.assertEquals(5, testSql(query));
   }
 
+  @Test
+  public void testTimestampFilterPushDown() throws Exception {
+    String query = "select * from openTSDB.`(metric=warp.speed.test, start=47y-ago, aggregator=sum)` " +
+        "where `timestamp` <= timestamp '2014-08-04 15:16:43'";
+    testPlanMatchingPatterns(query, new String[] {"endTime=1407165403000"}, new String[] {});
+    Assert.assertEquals(5, testSql(query));
+  }
+
+  @Test
+  public void testSplitTimeRange() throws Exception {
+    // the aggregator doesn't interpolate, so the time range of almost 3 hours is read by one query per hour
+    wireMockRule.stubFor(post(urlEqualTo("/api/query"))
+        .withRequestBody(matchingJsonPath("$.queries[?(@.aggregator == 'zimsum')]"))
+        .atPriority(2)
+        .willReturn(aResponse()
+            .withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(SAMPLE_DATA_FOR_GET_TABLE_REQUEST)));
+
+    wireMockRule.stubFor(post(urlEqualTo("/api/query"))
+        .withRequestBody(matchingJsonPath("$.queries[?(@.aggregator == 'zimsum')]"))
+        .withRequestBody(matchingJsonPath("$.queries[0].tags.symbol"))
+        .atPriority(1)
+        .willReturn(aResponse()
+            .withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(SAMPLE_DATA_FOR_POST_REQUEST_WITH_TAGS)));
+
+    String query =
+        "select * from openTSDB.`(metric=warp.speed.test, aggregator=zimsum, start=1407165000, end=1407175000)`";
+    // the mock server ignores the time range, each split only returns the data points of its own range,
+    // so the data point of 2017 is not returned and the others are returned once
+    Assert.assertEquals(17, testSql(query));
+  }
+
   @Test(expected = UserRemoteException.class)
   public void testBasicQueryWithoutTableName() throws Exception {
     test("select * from openTSDB.``;");
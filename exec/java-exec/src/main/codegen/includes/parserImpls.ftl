@@ -231,7 +231,9 @@ SqlNode SqlDropView() :
 
 /**
  * Parses a CTAS or CTTAS statement.
- * CREATE [TEMPORARY] TABLE [IF NOT EXISTS] tblname [ (field1, field2, ...) ] AS select_statement.
+ * CREATE [TEMPORARY] TABLE [IF NOT EXISTS] tblname [ (field1, field2, ...) ]
+ *   [ PARTITION BY (field1, field2, ...) ] [ CLUSTER BY (field1, field2, ...) [ INTO n BUCKETS ] ]
+ *   AS select_statement.
  */
 SqlNode SqlCreateTable() :
 {
@@ -239,6 +241,8 @@ SqlNode SqlCreateTable() :
     SqlIdentifier tblName;
     SqlNodeList fieldList;
     SqlNodeList partitionFieldList;
+    SqlNodeList clusterFieldList;
+    SqlLiteral bucketCount = null;
     SqlNode query;
     boolean isTemporary = false;
     boolean tableNonExistenceCheck = false;
@@ -246,6 +250,7 @@ SqlNode SqlCreateTable() :
 {
     {
         partitionFieldList = SqlNodeList.EMPTY;
+        clusterFieldList = SqlNodeList.EMPTY;
     }
     <CREATE> { pos = getPos(); }
     ( <TEMPORARY> { isTemporary = true; } )?
@@ -256,10 +261,14 @@ SqlNode SqlCreateTable() :
     (   <PARTITION> <BY>
         partitionFieldList = ParseRequiredFieldList("Partition")
     )?
+    (   <CLUSTER> <BY>
+        clusterFieldList = ParseRequiredFieldList("Cluster")
+        (   <INTO> bucketCount = UnsignedNumericLiteral() <BUCKETS> )?
+    )?
     <AS>
     query = OrderedQueryOrExpr(ExprContext.ACCEPT_QUERY)
     {
-        return new SqlCreateTable(pos, tblName, fieldList, partitionFieldList, query,
+        return new SqlCreateTable(pos, tblName, fieldList, partitionFieldList, clusterFieldList, bucketCount, query,
                                     SqlLiteral.createBoolean(isTemporary, getPos()),
                                     SqlLiteral.createBoolean(tableNonExistenceCheck, getPos()));
     }
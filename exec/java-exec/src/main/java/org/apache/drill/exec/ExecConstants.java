@@ -52,6 +52,7 @@ public final class ExecConstants {
   public static final String INITIAL_BIT_PORT = "drill.exec.rpc.bit.server.port";
   public static final String INITIAL_DATA_PORT = "drill.exec.rpc.bit.server.dataport";
   public static final String BIT_RPC_TIMEOUT = "drill.exec.rpc.bit.timeout";
+  public static final String BIT_LOCAL_EXCHANGE = "drill.exec.rpc.bit.local_exchange";
   public static final String INITIAL_USER_PORT = "drill.exec.rpc.user.server.port";
   public static final String USER_RPC_TIMEOUT = "drill.exec.rpc.user.timeout";
   public static final String METRICS_CONTEXT_NAME = "drill.exec.metrics.context";
@@ -79,6 +80,9 @@ public final class ExecConstants {
   public static final String SPILL_FILESYSTEM = "drill.exec.spill.fs";
   public static final String SPILL_DIRS = "drill.exec.spill.directories";
 
+  public static final String OPERATOR_BUFFER_CACHE_MAX_BUFFER_SIZE = "drill.exec.memory.operator.buffer_cache.max_buffer_size";
+  public static final String OPERATOR_BUFFER_CACHE_CAPACITY = "drill.exec.memory.operator.buffer_cache.capacity";
+
   public static final String OUTPUT_BATCH_SIZE = "drill.exec.memory.operator.output_batch_size";
   // Output Batch Size in Bytes. We have a small lower bound so we can test with unit tests without the
   // need to produce very large batches that take up lot of memory.
@@ -188,6 +192,13 @@ public final class ExecConstants {
   public static final String SYS_STORE_PROVIDER_LOCAL_ENABLE_WRITE = "drill.exec.sys.store.provider.local.write";
   public static final String PROFILES_STORE_INMEMORY = "drill.exec.profiles.store.inmemory";
   public static final String PROFILES_STORE_CAPACITY = "drill.exec.profiles.store.capacity";
+  public static final String PROFILES_STORE_INDEX_ENABLED = "drill.exec.profiles.store.index.enabled";
+  public static final String PROFILES_STORE_INDEX_QUERY_LENGTH = "drill.exec.profiles.store.index.query_length";
+  public static final String PROFILES_STORE_INDEX_COMPACTION_THRESHOLD = "drill.exec.profiles.store.index.compaction_threshold";
+  public static final String PROFILES_STORE_RETENTION_MAX_COUNT = "drill.exec.profiles.store.retention.max_count";
+  public static final String PROFILES_STORE_RETENTION_MAX_AGE_HOURS = "drill.exec.profiles.store.retention.max_age_hours";
+  public static final String PLAN_CACHE_MAX_SIZE = "drill.exec.planner.plan_cache.max_size";
+  public static final String PLAN_CACHE_EXPIRY_SECS = "drill.exec.planner.plan_cache.expiry_secs";
   public static final String IMPERSONATION_ENABLED = "drill.exec.impersonation.enabled";
   public static final String IMPERSONATION_MAX_CHAINED_USER_HOPS = "drill.exec.impersonation.max_chained_user_hops";
   public static final String AUTHENTICATION_MECHANISMS = "drill.exec.security.auth.mechanisms";
@@ -276,6 +287,14 @@ public final class ExecConstants {
   public static final OptionValidator PARQUET_WRITER_LOGICAL_TYPE_FOR_DECIMALS_VALIDATOR
       = new EnumeratedStringValidator(PARQUET_WRITER_LOGICAL_TYPE_FOR_DECIMALS, "fixed_len_byte_array", "binary");
 
+  /**
+   * Writes the metadata cache file of a parquet table created by CTAS once the query succeeded,
+   * so that the first queries on the new table don't have to read the footers of its files.
+   */
+  public static final String PARQUET_WRITER_CREATE_METADATA_CACHE = "store.parquet.writer.create_metadata_cache";
+  public static final OptionValidator PARQUET_WRITER_CREATE_METADATA_CACHE_VALIDATOR = new BooleanValidator(
+      PARQUET_WRITER_CREATE_METADATA_CACHE);
+
   public static final String PARQUET_VECTOR_FILL_THRESHOLD = "store.parquet.vector_fill_threshold";
   public static final OptionValidator PARQUET_VECTOR_FILL_THRESHOLD_VALIDATOR = new PositiveLongValidator(PARQUET_VECTOR_FILL_THRESHOLD, 99l);
   public static final String PARQUET_VECTOR_FILL_CHECK_THRESHOLD = "store.parquet.vector_fill_check_threshold";
@@ -316,6 +335,12 @@ public final class ExecConstants {
   public static final String PARQUET_FLAT_READER_BULK = "store.parquet.flat.reader.bulk";
   public static final OptionValidator PARQUET_FLAT_READER_BULK_VALIDATOR = new BooleanValidator(PARQUET_FLAT_READER_BULK);
 
+  // Number of files from which the Foreman only lists parquet files and leaves reading the footers and pruning the
+  // row groups to the scan fragments, when no metadata cache file is used. 0 disables distributed planning.
+  public static final String PARQUET_DISTRIBUTED_PLANNING_THRESHOLD = "store.parquet.distributed_planning.threshold";
+  public static final LongValidator PARQUET_DISTRIBUTED_PLANNING_THRESHOLD_VALIDATOR =
+      new RangeLongValidator(PARQUET_DISTRIBUTED_PLANNING_THRESHOLD, 0, Integer.MAX_VALUE);
+
   public static final String JSON_ALL_TEXT_MODE = "store.json.all_text_mode";
   public static final BooleanValidator JSON_READER_ALL_TEXT_MODE_VALIDATOR = new BooleanValidator(JSON_ALL_TEXT_MODE);
   public static final BooleanValidator JSON_EXTENDED_TYPES = new BooleanValidator("store.json.extended_types");
@@ -363,6 +388,13 @@ public final class ExecConstants {
   public static final String JSON_READ_NUMBERS_AS_DOUBLE = "store.json.read_numbers_as_double";
   public static final BooleanValidator JSON_READ_NUMBERS_AS_DOUBLE_VALIDATOR = new BooleanValidator(JSON_READ_NUMBERS_AS_DOUBLE);
 
+  /**
+   * Decodes Avro records straight into vectors, skipping the fields that are not projected,
+   * rather than reading each record as a GenericRecord.
+   */
+  public static final String AVRO_NATIVE_READER = "store.avro.native_reader";
+  public static final BooleanValidator AVRO_NATIVE_READER_VALIDATOR = new BooleanValidator(AVRO_NATIVE_READER);
+
   public static final String MONGO_ALL_TEXT_MODE = "store.mongo.all_text_mode";
   public static final OptionValidator MONGO_READER_ALL_TEXT_MODE_VALIDATOR = new BooleanValidator(MONGO_ALL_TEXT_MODE);
   public static final String MONGO_READER_READ_NUMBERS_AS_DOUBLE = "store.mongo.read_numbers_as_double";
@@ -384,6 +416,11 @@ public final class ExecConstants {
   public static final String KAFKA_POLL_TIMEOUT = "store.kafka.poll.timeout";
   public static final PositiveLongValidator KAFKA_POLL_TIMEOUT_VALIDATOR = new PositiveLongValidator(KAFKA_POLL_TIMEOUT,
       Long.MAX_VALUE);
+  // Maximum number of messages of a topic partition read by a single scan, larger partitions are split into several
+  // offset ranges which can be read by different fragments.
+  public static final String KAFKA_PARTITION_SPLIT_SIZE = "store.kafka.partition_split_size";
+  public static final PositiveLongValidator KAFKA_PARTITION_SPLIT_SIZE_VALIDATOR = new PositiveLongValidator(
+      KAFKA_PARTITION_SPLIT_SIZE, Long.MAX_VALUE);
 
   // TODO: We need to add a feature that enables storage plugins to add their own options. Currently we have to declare
   // in core which is not right. Move this option and above two mongo plugin related options once we have the feature.
@@ -527,6 +564,23 @@ public final class ExecConstants {
 
   public static final DoubleValidator QUEUE_MEMORY_RESERVE = new RangeDoubleValidator("exec.queue.memory_reserve_ratio", 0, 1.0);
 
+  // Admission policy of the distributed queue: "count" admits a fixed number of
+  // small and large queries, "memory" reserves memory for each query based on
+  // the estimated size of its buffered operators.
+
+  public static final String QUEUE_ADMISSION_KEY = "exec.queue.admission";
+  public static final StringValidator QUEUE_ADMISSION = new EnumeratedStringValidator(QUEUE_ADMISSION_KEY, "count", "memory");
+
+  // Estimated bytes held per row by a buffered operator, used to convert the
+  // planner's row count estimates to a memory reservation.
+
+  public static final LongValidator QUEUE_MEMORY_ROW_WIDTH = new PositiveLongValidator("exec.queue.memory_row_width", Integer.MAX_VALUE);
+
+  // Weighted admission pools used by memory-based admission, as a list of
+  // { name, weight, users, groups } objects in the boot config.
+
+  public static final String QUEUE_POOLS = "drill.exec.queue.pools";
+
   public static final String ENABLE_VERBOSE_ERRORS_KEY = "exec.errors.verbose";
   public static final OptionValidator ENABLE_VERBOSE_ERRORS = new BooleanValidator(ENABLE_VERBOSE_ERRORS_KEY);
 
@@ -24,6 +24,11 @@ import com.google.common.annotations.VisibleForTesting;
 public class RootAllocatorFactory {
 
   public static final String TOP_LEVEL_MAX_ALLOC = "drill.memory.top.max";
+  public static final String PROFILER_ENABLED = "drill.memory.profiler.enabled";
+  public static final String PROFILER_SAMPLE_RATE = "drill.memory.profiler.sample_rate";
+  public static final String PROFILER_INTERVAL_MS = "drill.memory.profiler.interval_ms";
+  public static final String PROFILER_WINDOW = "drill.memory.profiler.window";
+  public static final String PROFILER_MAX_SITES = "drill.memory.profiler.max_sites";
 
   /**
    * Constructor to prevent instantiation of this static utility class.
@@ -40,6 +45,35 @@ public class RootAllocatorFactory {
     return newRoot(drillConfig.getLong(TOP_LEVEL_MAX_ALLOC));
   }
 
+  /**
+   * Create a new Root Allocator that reports to an allocation profiler.
+   * @param drillConfig
+   *          the DrillConfig
+   * @param profiler
+   *          the profiler, or null for none
+   * @return a new root allocator
+   */
+  public static BufferAllocator newRoot(final DrillConfig drillConfig, final AllocationProfiler profiler) {
+    return new RootAllocator(Math.min(DrillConfig.getMaxDirectMemory(),
+        drillConfig.getLong(TOP_LEVEL_MAX_ALLOC)), profiler);
+  }
+
+  /**
+   * Create the allocation profiler for a Drillbit, if enabled.
+   * @param drillConfig
+   *          the DrillConfig
+   * @return the profiler, or null if disabled
+   */
+  public static AllocationProfiler newProfiler(final DrillConfig drillConfig) {
+    if (!drillConfig.getBoolean(PROFILER_ENABLED)) {
+      return null;
+    }
+    return new AllocationProfiler(drillConfig.getInt(PROFILER_SAMPLE_RATE),
+        drillConfig.getLong(PROFILER_INTERVAL_MS),
+        drillConfig.getInt(PROFILER_WINDOW),
+        drillConfig.getInt(PROFILER_MAX_SITES));
+  }
+
   @VisibleForTesting
   public static BufferAllocator newRoot(long maxAlloc) {
     return new RootAllocator(Math.min(DrillConfig.getMaxDirectMemory(), maxAlloc));
@@ -18,6 +18,7 @@
 package org.apache.drill.exec.ops;
 
 import org.apache.drill.exec.coord.ClusterCoordinator;
+import org.apache.drill.exec.memory.AllocationProfiler;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.physical.impl.OperatorCreatorRegistry;
 import org.apache.drill.exec.planner.PhysicalPlanReader;
@@ -42,6 +43,12 @@ public interface ExecutorFragmentContext extends RootFragmentContext {
    */
   BufferAllocator getRootAllocator();
 
+  /**
+   * Returns the allocation profiler of the Drillbit's root allocator.
+   * @return The profiler, or null if allocation profiling is disabled.
+   */
+  AllocationProfiler getAllocationProfiler();
+
   PhysicalPlanReader getPlanReader();
 
   ClusterCoordinator getClusterCoordinator();
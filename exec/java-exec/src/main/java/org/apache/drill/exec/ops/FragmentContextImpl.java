@@ -34,6 +34,7 @@ import org.apache.drill.exec.coord.ClusterCoordinator;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.expr.fn.FunctionImplementationRegistry;
 import org.apache.drill.exec.expr.holders.ValueHolder;
+import org.apache.drill.exec.memory.AllocationProfiler;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.physical.impl.OperatorCreatorRegistry;
@@ -361,6 +362,11 @@ public class FragmentContextImpl extends BaseFragmentContext implements Executor
     return context.getAllocator();
   }
 
+  @Override
+  public AllocationProfiler getAllocationProfiler() {
+    return context.getAllocationProfiler();
+  }
+
   @Override
   public BufferAllocator getNewChildAllocator(final String operatorName,
       final int operatorId,
@@ -20,6 +20,8 @@ package org.apache.drill.exec.ops;
 import java.security.PrivilegedExceptionAction;
 import java.util.concurrent.Callable;
 
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.hadoop.security.UserGroupInformation;
@@ -52,6 +54,7 @@ class OperatorContextImpl extends BaseOperatorContext implements AutoCloseable {
           context.getNewChildAllocator(popConfig.getClass().getSimpleName(),
               popConfig.getOperatorId(), popConfig.getInitialAllocation(), popConfig.getMaxAllocation()),
           popConfig);
+    enableBufferCache(popConfig, context.getConfig());
     if (stats != null) {
       this.stats = stats;
     } else {
@@ -62,6 +65,22 @@ class OperatorContextImpl extends BaseOperatorContext implements AutoCloseable {
     }
   }
 
+  /**
+   * Operators that do not buffer batches allocate the same vectors for every
+   * batch, so let them reuse released buffers. Buffering operators are left
+   * out: they size batches and decide to spill from changes in their
+   * allocated memory, which the cache would distort.
+   */
+  private void enableBufferCache(PhysicalOperator popConfig, DrillConfig config) {
+    if (config == null || popConfig.isBufferedOperator(null)) {
+      return;
+    }
+    final long capacity = config.getLong(ExecConstants.OPERATOR_BUFFER_CACHE_CAPACITY);
+    if (capacity > 0) {
+      allocator.enableBufferCache(config.getInt(ExecConstants.OPERATOR_BUFFER_CACHE_MAX_BUFFER_SIZE), capacity);
+    }
+  }
+
   public boolean isClosed() {
     return closed;
   }
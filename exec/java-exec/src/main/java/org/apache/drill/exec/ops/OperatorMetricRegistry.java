@@ -20,6 +20,7 @@ package org.apache.drill.exec.ops;
 import org.apache.drill.exec.physical.impl.ScreenCreator;
 import org.apache.drill.exec.physical.impl.SingleSenderCreator;
 import org.apache.drill.exec.physical.impl.aggregate.HashAggTemplate;
+import org.apache.drill.exec.physical.impl.aggregate.HashDistinctBatch;
 import org.apache.drill.exec.physical.impl.broadcastsender.BroadcastSenderRootExec;
 import org.apache.drill.exec.physical.impl.flatten.FlattenRecordBatch;
 import org.apache.drill.exec.physical.impl.join.HashJoinBatch;
@@ -30,6 +31,7 @@ import org.apache.drill.exec.physical.impl.unorderedreceiver.UnorderedReceiverBa
 import org.apache.drill.exec.physical.impl.xsort.ExternalSortBatch;
 import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
 import org.apache.drill.exec.record.AbstractBinaryRecordBatch;
+import org.apache.drill.exec.store.ResultSetLoaderRecordReader;
 import org.apache.drill.exec.store.parquet.columnreaders.ParquetRecordReader;
 
 /**
@@ -49,6 +51,7 @@ public class OperatorMetricRegistry {
     register(CoreOperatorType.MERGING_RECEIVER_VALUE, MergingRecordBatch.Metric.class);
     register(CoreOperatorType.UNORDERED_RECEIVER_VALUE, UnorderedReceiverBatch.Metric.class);
     register(CoreOperatorType.HASH_AGGREGATE_VALUE, HashAggTemplate.Metric.class);
+    register(CoreOperatorType.HASH_DISTINCT_VALUE, HashDistinctBatch.Metric.class);
     register(CoreOperatorType.HASH_JOIN_VALUE, HashJoinBatch.Metric.class);
     register(CoreOperatorType.EXTERNAL_SORT_VALUE, ExternalSortBatch.Metric.class);
     register(CoreOperatorType.PARQUET_ROW_GROUP_SCAN_VALUE, ParquetRecordReader.Metric.class);
@@ -57,6 +60,9 @@ public class OperatorMetricRegistry {
     register(CoreOperatorType.LATERAL_JOIN_VALUE, AbstractBinaryRecordBatch.Metric.class);
     register(CoreOperatorType.UNNEST_VALUE, UnnestRecordBatch.Metric.class);
     register(CoreOperatorType.UNION_VALUE, AbstractBinaryRecordBatch.Metric.class);
+    register(CoreOperatorType.HBASE_SUB_SCAN_VALUE, ResultSetLoaderRecordReader.Metric.class);
+    register(CoreOperatorType.SEQUENCE_SUB_SCAN_VALUE, ResultSetLoaderRecordReader.Metric.class);
+    register(CoreOperatorType.AVRO_SUB_SCAN_VALUE, ResultSetLoaderRecordReader.Metric.class);
   }
 
   private static void register(final int operatorType, final Class<? extends MetricDef> metricDef) {
@@ -33,6 +33,7 @@ import org.apache.drill.exec.expr.holders.ValueHolder;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.planner.physical.PlannerSettings;
 import org.apache.drill.exec.planner.sql.DrillOperatorTable;
+import org.apache.drill.exec.planner.sql.PlanCache;
 import org.apache.drill.exec.proto.BitControl.QueryContextInformation;
 import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
 import org.apache.drill.exec.proto.UserBitShared.QueryId;
@@ -60,6 +61,7 @@ import io.netty.buffer.DrillBuf;
 // TODO - consider re-name to PlanningContext, as the query execution context actually appears
 // in fragment contexts
 public class QueryContext implements AutoCloseable, OptimizerRulesContext, SchemaConfigInfoProvider {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(QueryContext.class);
 
   private final DrillbitContext drillbitContext;
   private final UserSession session;
@@ -76,6 +78,8 @@ public class QueryContext implements AutoCloseable, OptimizerRulesContext, Schem
   private final SchemaTreeProvider schemaTreeProvider;
   /** Stores constants and their holders by type */
   private final Map<String, Map<MinorType, ValueHolder>> constantValueHolderCache;
+  /** Actions to run once the query completed successfully */
+  private final List<Runnable> completionActions = Lists.newArrayList();
 
   /*
    * Flag to indicate if close has been called, after calling close the first
@@ -205,6 +209,10 @@ public class QueryContext implements AutoCloseable, OptimizerRulesContext, Schem
     return drillbitContext.getStorage();
   }
 
+  public PlanCache getPlanCache() {
+    return drillbitContext.getPlanCache();
+  }
+
   public LogicalPlanPersistence getLpPersistence() {
     return drillbitContext.getLpPersistence();
   }
@@ -299,6 +307,30 @@ public class QueryContext implements AutoCloseable, OptimizerRulesContext, Schem
     return valueHolder;
   }
 
+  /**
+   * Registers an action the Foreman runs once all fragments of the query completed successfully,
+   * before the final result is sent to the client. Used by statements which have work left after
+   * the fragments finished, such as writing the metadata cache of a table created by CTAS.
+   */
+  public void addCompletionAction(Runnable action) {
+    completionActions.add(action);
+  }
+
+  /**
+   * Runs the completion actions of the query. The data of the query is already written, so a failing
+   * action is only logged and doesn't fail the query.
+   */
+  public void runCompletionActions() {
+    for (Runnable action : completionActions) {
+      try {
+        action.run();
+      } catch (Exception e) {
+        logger.warn("Failed to run completion action of query {}", QueryIdHelper.getQueryId(queryId), e);
+      }
+    }
+    completionActions.clear();
+  }
+
   @Override
   public void close() throws Exception {
     try {
@@ -125,6 +125,40 @@ public abstract class AbstractGroupScan extends AbstractBase implements GroupSca
     throw new UnsupportedOperationException(String.format("%s does not have exact column value count!", this.getClass().getCanonicalName()));
   }
 
+  @Override
+  public boolean hasExactColumnMinMax(SchemaPath column) {
+    return false;
+  }
+
+  /**
+   * By default, throw exception, since group scan does not have exact column min/max values.
+   */
+  @Override
+  public Object getColumnMinValue(SchemaPath column) {
+    throw new UnsupportedOperationException(String.format("%s does not have exact column min value!", this.getClass().getCanonicalName()));
+  }
+
+  /**
+   * By default, throw exception, since group scan does not have exact column min/max values.
+   */
+  @Override
+  public Object getColumnMaxValue(SchemaPath column) {
+    throw new UnsupportedOperationException(String.format("%s does not have exact column max value!", this.getClass().getCanonicalName()));
+  }
+
+  @Override
+  public boolean hasExactColumnSum(SchemaPath column) {
+    return false;
+  }
+
+  /**
+   * By default, throw exception, since group scan does not have exact column sum.
+   */
+  @Override
+  public Object getColumnSum(SchemaPath column) {
+    throw new UnsupportedOperationException(String.format("%s does not have exact column sum!", this.getClass().getCanonicalName()));
+  }
+
   @Override
   public int getOperatorType() {
     throw new UnsupportedOperationException();
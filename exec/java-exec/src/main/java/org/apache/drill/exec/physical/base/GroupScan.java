@@ -101,6 +101,36 @@ public interface GroupScan extends Scan, HasAffinity{
    */
   long getColumnValueCount(SchemaPath column);
 
+  /**
+   * Whether the minimum and maximum values of the specified column are known exactly
+   * from metadata, without reading the data.
+   */
+  boolean hasExactColumnMinMax(SchemaPath column);
+
+  /**
+   * Return the minimum non-null value of the specified column, or null if the column
+   * holds only nulls. Raise exception, if groupscan does not have exact column min/max values.
+   */
+  Object getColumnMinValue(SchemaPath column);
+
+  /**
+   * Return the maximum non-null value of the specified column, or null if the column
+   * holds only nulls. Raise exception, if groupscan does not have exact column min/max values.
+   */
+  Object getColumnMaxValue(SchemaPath column);
+
+  /**
+   * Whether the sum of the values of the specified column is known exactly
+   * from metadata, without reading the data.
+   */
+  boolean hasExactColumnSum(SchemaPath column);
+
+  /**
+   * Return the sum of the non-null values of the specified column, or null if the column
+   * holds only nulls. Raise exception, if groupscan does not have exact column sum.
+   */
+  Object getColumnSum(SchemaPath column);
+
   /**
    * Whether or not this GroupScan supports pushdown of partition filters (directories for filesystems)
    */
@@ -17,6 +17,9 @@
  */
 package org.apache.drill.exec.physical.base;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 public class ScanStats {
 
   public static final ScanStats TRIVIAL_TABLE = new ScanStats(GroupScanProperty.NO_EXACT_ROW_COUNT, 20, 1, 1);
@@ -28,7 +31,11 @@ public class ScanStats {
   private final double diskCost;
   private final GroupScanProperty property;
 
-  public ScanStats(GroupScanProperty property, double recordCount, double cpuCost, double diskCost) {
+  @JsonCreator
+  public ScanStats(@JsonProperty("groupScanProperty") GroupScanProperty property,
+                   @JsonProperty("recordCount") double recordCount,
+                   @JsonProperty("cpuCost") double cpuCost,
+                   @JsonProperty("diskCost") double diskCost) {
     this.recordCount = recordCount;
     this.cpuCost = cpuCost;
     this.diskCost = diskCost;
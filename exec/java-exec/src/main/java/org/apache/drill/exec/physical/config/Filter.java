@@ -47,6 +47,10 @@ public class Filter extends AbstractSingle {
     return expr;
   }
 
+  public float getSelectivity() {
+    return selectivity;
+  }
+
   @Override
   public <T, X, E extends Throwable> T accept(PhysicalVisitor<T, X, E> physicalVisitor, X value) throws E{
     return physicalVisitor.visitFilter(this, value);
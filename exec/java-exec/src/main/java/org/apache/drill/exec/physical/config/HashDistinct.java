@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.config;
+
+import java.util.List;
+
+import org.apache.drill.common.logical.data.NamedExpression;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.ops.QueryContext;
+import org.apache.drill.exec.physical.base.AbstractSingle;
+import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.physical.base.PhysicalVisitor;
+import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Removes duplicate rows using a key-only hash table. Unlike a hash aggregate
+ * with no aggregate expressions, the first occurrence of each key is passed
+ * downstream as soon as it is seen, so a LIMIT above the operator can complete
+ * without consuming the whole input.
+ * <p>
+ * The keys must cover every column of the input. The operator shares the
+ * partitioning and spill options of the hash aggregate.
+ */
+@JsonTypeName("hash-distinct")
+public class HashDistinct extends AbstractSingle {
+
+  private final List<NamedExpression> keys;
+
+  @JsonCreator
+  public HashDistinct(@JsonProperty("child") PhysicalOperator child,
+                      @JsonProperty("keys") List<NamedExpression> keys) {
+    super(child);
+    this.keys = keys;
+  }
+
+  public List<NamedExpression> getKeys() {
+    return keys;
+  }
+
+  @Override
+  public <T, X, E extends Throwable> T accept(PhysicalVisitor<T, X, E> physicalVisitor, X value) throws E {
+    return physicalVisitor.visitOp(this, value);
+  }
+
+  @Override
+  protected PhysicalOperator getNewWithChild(PhysicalOperator child) {
+    HashDistinct newDistinct = new HashDistinct(child, keys);
+    newDistinct.setMaxAllocation(getMaxAllocation());
+    return newDistinct;
+  }
+
+  @Override
+  public int getOperatorType() {
+    return CoreOperatorType.HASH_DISTINCT_VALUE;
+  }
+
+  @Override
+  public void setMaxAllocation(long maxAllocation) {
+    this.maxAllocation = maxAllocation;
+  }
+
+  /**
+   * The Hash Distinct operator supports spilling
+   * @return true (unless a single partition is forced)
+   * @param queryContext
+   */
+  @Override
+  public boolean isBufferedOperator(QueryContext queryContext) {
+    return queryContext == null ||
+      1 < (int)queryContext.getOptions().getOption(ExecConstants.HASHAGG_NUM_PARTITIONS_VALIDATOR);
+  }
+}
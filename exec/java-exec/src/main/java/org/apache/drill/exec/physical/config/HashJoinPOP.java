@@ -37,18 +37,47 @@ import org.apache.drill.exec.physical.base.AbstractJoinPop;
 public class HashJoinPOP extends AbstractJoinPop {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(HashJoinPOP.class);
 
+  /**
+   * Semi-join mode of the hash join. A SEMI join (join type INNER) emits
+   * each probe row at most once, when it has at least one match on the
+   * build side, regardless of how many build rows share its key.
+   * An ANTI join (join type LEFT) emits only the probe rows that have no
+   * match on the build side. In both modes the hash table links only the
+   * first build row of each key; build rows with a key already present are
+   * skipped while the hash table is built.
+   */
+  public enum SemiJoinType { NONE, SEMI, ANTI }
+
+  private final SemiJoinType semiJoinType;
+
+  public HashJoinPOP(PhysicalOperator left, PhysicalOperator right,
+                     List<JoinCondition> conditions, JoinRelType joinType) {
+        this(left, right, conditions, joinType, SemiJoinType.NONE);
+  }
+
   @JsonCreator
   public HashJoinPOP(@JsonProperty("left") PhysicalOperator left, @JsonProperty("right") PhysicalOperator right,
                        @JsonProperty("conditions") List<JoinCondition> conditions,
-                       @JsonProperty("joinType") JoinRelType joinType) {
+                       @JsonProperty("joinType") JoinRelType joinType,
+                       @JsonProperty("semiJoinType") SemiJoinType semiJoinType) {
         super(left, right, joinType, null, conditions);
         Preconditions.checkArgument(joinType != null, "Join type is missing for HashJoin Pop");
+        this.semiJoinType = semiJoinType == null ? SemiJoinType.NONE : semiJoinType;
+        Preconditions.checkArgument(this.semiJoinType != SemiJoinType.SEMI || joinType == JoinRelType.INNER,
+            "Semi join requires an inner join type");
+        Preconditions.checkArgument(this.semiJoinType != SemiJoinType.ANTI || joinType == JoinRelType.LEFT,
+            "Anti join requires a left join type");
+  }
+
+  @JsonProperty("semiJoinType")
+  public SemiJoinType getSemiJoinType() {
+        return semiJoinType;
   }
 
   @Override
   public PhysicalOperator getNewWithChildren(List<PhysicalOperator> children) {
         Preconditions.checkArgument(children.size() == 2);
-        HashJoinPOP newHashJoin = new HashJoinPOP(children.get(0), children.get(1), conditions, joinType);
+        HashJoinPOP newHashJoin = new HashJoinPOP(children.get(0), children.get(1), conditions, joinType, semiJoinType);
         newHashJoin.setMaxAllocation(getMaxAllocation());
         return newHashJoin;
   }
@@ -579,6 +579,9 @@ public abstract class HashAggTemplate implements HashAggregator {
       if (EXTRA_DEBUG_1) {
         logger.debug("Starting outer loop of doWork()...");
       }
+      if (underlyingIndex == 0 && currentBatchRecordCount > 0) {
+        htables[0].computeBuildHashCodes(); // hash the key columns of the whole (new) batch at once
+      }
       while (underlyingIndex < currentBatchRecordCount) {
         if (EXTRA_DEBUG_2) {
           logger.debug("Doing loop with values underlying {}, current {}", underlyingIndex, currentIndex);
@@ -0,0 +1,651 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.aggregate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.drill.common.exceptions.RetryAfterSpillException;
+import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.cache.VectorSerializer.Writer;
+import org.apache.drill.exec.exception.ClassTransformationException;
+import org.apache.drill.exec.exception.OutOfMemoryException;
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.expr.TypeHelper;
+import org.apache.drill.exec.memory.BaseAllocator;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.ops.MetricDef;
+import org.apache.drill.exec.ops.OperatorStats;
+import org.apache.drill.exec.physical.base.AbstractBase;
+import org.apache.drill.exec.physical.config.HashDistinct;
+import org.apache.drill.exec.physical.impl.common.ChainedHashTable;
+import org.apache.drill.exec.physical.impl.common.Comparator;
+import org.apache.drill.exec.physical.impl.common.HashTable;
+import org.apache.drill.exec.physical.impl.common.HashTableConfig;
+import org.apache.drill.exec.physical.impl.common.HashTableStats;
+import org.apache.drill.exec.physical.impl.common.IndexPointer;
+import org.apache.drill.exec.physical.impl.spill.SpillSet;
+import org.apache.drill.exec.record.AbstractSingleRecordBatch;
+import org.apache.drill.exec.record.BatchSchema;
+import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.RecordBatchSizer;
+import org.apache.drill.exec.record.TransferPair;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.record.WritableBatch;
+import org.apache.drill.exec.record.selection.SelectionVector2;
+import org.apache.drill.exec.vector.AllocationHelper;
+import org.apache.drill.exec.vector.ValueVector;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Streaming duplicate elimination. Each incoming batch is passed through with
+ * a selection vector that picks the rows whose key was not seen before; the
+ * keys alone are kept in a hash table, with no aggregate workspace.
+ * <p>
+ * Keys are hash partitioned as in {@link HashAggTemplate}. When memory runs
+ * short, the largest partition writes its keys to disk and becomes "spilled":
+ * from then on, rows that hash to it are not emitted but buffered and written
+ * to a second spill file. Once the input is exhausted, each spilled partition
+ * is processed in turn: its keys are loaded back into the (now empty) hash
+ * table without output, then the buffered rows are read and the first
+ * occurrence of each new key is emitted. Spilled partitions are not spilled
+ * again; if a single partition does not fit in memory, the query fails with a
+ * resource error.
+ */
+public class HashDistinctBatch extends AbstractSingleRecordBatch<HashDistinct> {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(HashDistinctBatch.class);
+
+  // Rows of a spilled partition are buffered in batches of this many rows
+  private static final int PENDING_BATCH_SIZE = 4096;
+  // Initial guess for the width of variable-length columns in a buffered batch
+  private static final int PENDING_FIELD_WIDTH = 50;
+
+  public enum Metric implements MetricDef {
+
+    NUM_BUCKETS,
+    NUM_ENTRIES,
+    NUM_RESIZING,
+    RESIZING_TIME_MS,
+    NUM_PARTITIONS,
+    SPILLED_PARTITIONS, // number of partitions spilled to disk
+    SPILL_MB,           // MB of keys and buffered rows written to disk, each is read back once
+    EMITTED_EARLY       // rows emitted while the incoming was read, before any spilled partition was drained
+    ;
+
+    @Override
+    public int metricId() {
+      return ordinal();
+    }
+  }
+
+  /**
+   * Spill files of one partition: the keys held in memory when the
+   * partition spilled, and the rows received after it spilled.
+   */
+  private static class SpilledPartition {
+    private String keysFile;
+    private int keysBatches;
+    private String pendingFile;
+    private int pendingBatches;
+    private Writer pendingWriter;
+    private VectorContainer pending;
+  }
+
+  private final List<Comparator> comparators;
+  private final SelectionVector2 sv2;
+  private final IndexPointer htIdxHolder = new IndexPointer();
+  private TransferPair[] transfers;
+  private BatchSchema incomingSchema;
+
+  private HashTable[] htables;
+  private SpilledPartition[] spilledPartitions;
+  private int numPartitions;
+  private int partitionMask;
+  private int bitsInMask;
+  private boolean canSpill;
+  private long memoryLimit;
+  private int numSpilled;
+  private SpillSet spillSet;
+  private long emittedEarly;
+
+  // Partition being drained once the incoming is exhausted; -1 while reading the incoming
+  private int drainPartition = -1;
+  private SpilledRecordbatch drainBatch;
+
+  public HashDistinctBatch(HashDistinct popConfig, RecordBatch incoming, FragmentContext context) throws OutOfMemoryException {
+    super(popConfig, context, incoming);
+    comparators = Lists.newArrayListWithExpectedSize(popConfig.getKeys().size());
+    for (int i = 0; i < popConfig.getKeys().size(); i++) {
+      // nulls are equal in distinct, as in group by
+      comparators.add(Comparator.IS_NOT_DISTINCT_FROM);
+    }
+    sv2 = new SelectionVector2(oContext.getAllocator());
+
+    // As in the hash aggregate: this operator manages its memory use, so ask
+    // for leniency from the allocator.
+    boolean allowed = oContext.getAllocator().setLenient();
+    logger.debug("Config: Is allocator lenient? {}", allowed);
+  }
+
+  @Override
+  public int getRecordCount() {
+    return sv2.getCount();
+  }
+
+  @Override
+  public SelectionVector2 getSelectionVector2() {
+    return sv2;
+  }
+
+  @Override
+  protected boolean setupNewSchema() throws SchemaChangeException {
+    BatchSchema schema = incoming.getSchema();
+    if (schema.getSelectionVectorMode() != SelectionVectorMode.NONE) {
+      throw new UnsupportedOperationException("Hash distinct does not accept an input with a selection vector");
+    }
+    if (schema.getFieldCount() != popConfig.getKeys().size()) {
+      throw new UnsupportedOperationException("Hash distinct keys must cover all input columns");
+    }
+
+    if (htables == null) {
+      incomingSchema = schema;
+      setupHashTables();
+    } else if (schema.isEquivalent(incomingSchema)) {
+      for (HashTable htable : htables) {
+        htable.updateIncoming(incoming.getContainer(), null);
+      }
+    } else {
+      throw new SchemaChangeException("Hash distinct does not support schema changes");
+    }
+
+    List<TransferPair> pairs = Lists.newArrayList();
+    for (VectorWrapper<?> w : incoming) {
+      pairs.add(w.getValueVector().makeTransferPair(container.addOrGet(w.getField(), callBack)));
+    }
+    transfers = pairs.toArray(new TransferPair[pairs.size()]);
+
+    if (container.isSchemaChanged()) {
+      container.buildSchema(SelectionVectorMode.TWO_BYTE);
+      return true;
+    }
+    return false;
+  }
+
+  private void setupHashTables() {
+    final BufferAllocator allocator = oContext.getAllocator();
+    HashTableConfig htConfig =
+        new HashTableConfig((int) context.getOptions().getOption(ExecConstants.MIN_HASH_TABLE_SIZE),
+            HashTable.DEFAULT_LOAD_FACTOR, popConfig.getKeys(), null /* no probe exprs */, comparators);
+    ChainedHashTable baseHashTable =
+        new ChainedHashTable(htConfig, context, allocator, incoming, null /* no incoming probe */, null /* keys are never output */);
+
+    // Same partitioning and memory options as the hash aggregate
+    numPartitions = BaseAllocator.nextPowerOfTwo(
+        (int) context.getOptions().getOption(ExecConstants.HASHAGG_NUM_PARTITIONS_VALIDATOR));
+    canSpill = numPartitions > 1;
+    memoryLimit = allocator.getLimit();
+    long configLimit = context.getOptions().getOption(ExecConstants.HASHAGG_MAX_MEMORY_VALIDATOR);
+    if (configLimit > 0) {
+      logger.warn("Memory limit was changed to {}", configLimit);
+      memoryLimit = Math.min(memoryLimit, configLimit);
+      allocator.setLimit(memoryLimit);
+    }
+    if (!canSpill) {
+      // a single partition can't make progress by spilling; behave like the unlimited hash aggregate
+      allocator.setLimit(AbstractBase.MAX_ALLOCATION);
+    }
+    partitionMask = numPartitions - 1;
+    bitsInMask = Integer.bitCount(partitionMask);
+    logger.debug("Number of partitions: {}. {} spill", numPartitions, canSpill ? "Can" : "Cannot");
+
+    htables = new HashTable[numPartitions];
+    spilledPartitions = new SpilledPartition[numPartitions];
+    for (int i = 0; i < numPartitions; i++) {
+      try {
+        htables[i] = baseHashTable.createAndSetupHashTable(null);
+      } catch (ClassTransformationException e) {
+        throw UserException.unsupportedError(e)
+            .message("Code generation error - likely an error in the code.")
+            .build(logger);
+      } catch (IOException e) {
+        throw UserException.resourceError(e)
+            .message("IO Error while creating a hash table.")
+            .build(logger);
+      } catch (SchemaChangeException sce) {
+        throw new IllegalStateException("Unexpected Schema Change while creating a hash table", sce);
+      }
+    }
+    spillSet = new SpillSet(context, popConfig);
+  }
+
+  @Override
+  public IterOutcome innerNext() {
+    if (drainPartition < 0) {
+      IterOutcome outcome = super.innerNext();
+      if (outcome != IterOutcome.NONE || numSpilled == 0) {
+        return outcome;
+      }
+      finishIncoming();
+    }
+    return drainSpilledPartitions();
+  }
+
+  @Override
+  protected IterOutcome doWork() {
+    int recordCount = incoming.getRecordCount();
+    spillIfNeeded();
+    sv2.allocateNew(Math.max(recordCount, 1));
+    int outputCount = 0;
+    try {
+      for (int row = 0; row < recordCount; row++) {
+        // The low bits of the hash code pick the partition, the rest the bucket
+        int hashCode = htables[0].getBuildHashCode(row);
+        int part = hashCode & partitionMask;
+        if (addKey(part, row, hashCode >>> bitsInMask)) {
+          sv2.setIndex(outputCount++, row);
+        }
+      }
+    } catch (SchemaChangeException e) {
+      throw UserException.unsupportedError(e)
+          .message("Hash distinct does not support schema changes")
+          .build(logger);
+    }
+    sv2.setRecordCount(outputCount);
+    emittedEarly += outputCount;
+    for (TransferPair tp : transfers) {
+      tp.transfer();
+    }
+
+    if (getLastKnownOutcome() == IterOutcome.EMIT) {
+      // Rows after an EMIT belong to a new group of input (e.g. the next row of a lateral join)
+      if (numSpilled > 0) {
+        throw UserException.unsupportedError()
+            .message("Hash distinct can not spill below a lateral join")
+            .build(logger);
+      }
+      for (HashTable htable : htables) {
+        htable.reset();
+      }
+    }
+    return getFinalOutcome(false);
+  }
+
+  /**
+   * Add the key of an incoming row to its partition.
+   *
+   * @return true if the row is the first with its key, and should be emitted
+   */
+  private boolean addKey(int part, int row, int hashCode) throws SchemaChangeException {
+    while (spilledPartitions[part] == null) {
+      try {
+        return htables[part].put(row, htIdxHolder, hashCode) != HashTable.PutStatus.KEY_PRESENT;
+      } catch (RetryAfterSpillException e) {
+        if (!spillLargestPartition()) {
+          throw UserException.resourceError()
+              .message("Hash distinct ran out of memory and has no partition left to spill")
+              .build(logger);
+        }
+      }
+    }
+    appendPendingRow(spilledPartitions[part], row);
+    return false;
+  }
+
+  /**
+   * Make room for the next batch: the hash tables may grow by up to one
+   * batch of keys, and the buffered rows of spilled partitions by as much.
+   */
+  private void spillIfNeeded() {
+    if (!canSpill) {
+      return;
+    }
+    long reserve = 2 * new RecordBatchSizer(incoming).actualSize();
+    while (oContext.getAllocator().getAllocatedMemory() + reserve > memoryLimit) {
+      if (!spillLargestPartition()) {
+        break;
+      }
+    }
+  }
+
+  private boolean spillLargestPartition() {
+    if (!canSpill) {
+      return false;
+    }
+    int victim = -1;
+    long victimSize = 0;
+    for (int i = 0; i < numPartitions; i++) {
+      if (spilledPartitions[i] != null || htables[i].size() == 0) {
+        continue;
+      }
+      long size = htables[i].getActualSize();
+      if (victim < 0 || size > victimSize) {
+        victim = i;
+        victimSize = size;
+      }
+    }
+    if (victim < 0) {
+      return false;
+    }
+    spillPartition(victim);
+    return true;
+  }
+
+  /**
+   * Write the keys of the given partition to disk and release its hash table.
+   */
+  private void spillPartition(int part) {
+    HashTable htable = htables[part];
+    SpilledPartition spilled = new SpilledPartition();
+    int numKeys = htable.size();
+    spilled.keysFile = spillSet.getNextSpillFile("keys");
+    VectorContainer keys = newSpillContainer();
+    Writer writer = null;
+    try {
+      writer = spillSet.writer(spilled.keysFile);
+      for (int batchIdx = 0; batchIdx * HashTable.BATCH_SIZE < numKeys; batchIdx++) {
+        int count = Math.min(HashTable.BATCH_SIZE, numKeys - batchIdx * HashTable.BATCH_SIZE);
+        htable.outputKeys(batchIdx, keys, 0, count, count);
+        keys.setRecordCount(count);
+        writeBatch(writer, keys, spilled.keysFile);
+        keys.zeroVectors();
+        spilled.keysBatches++;
+      }
+      logger.trace("HASH DISTINCT: Took {} us to spill {} keys of partition {}",
+          writer.time(TimeUnit.MICROSECONDS), numKeys, part);
+    } catch (IOException ioe) {
+      throw UserException.resourceError(ioe)
+          .message("Hash Distinct failed to open spill file: " + spilled.keysFile)
+          .build(logger);
+    } finally {
+      keys.clear();
+      closeWriter(writer);
+    }
+    htable.reset();
+    spilledPartitions[part] = spilled;
+    numSpilled++;
+    logger.debug("HASH DISTINCT: Spilled partition {} with {} keys", part, numKeys);
+  }
+
+  private void appendPendingRow(SpilledPartition spilled, int row) {
+    if (spilled.pending == null) {
+      spilled.pending = newSpillContainer();
+      for (VectorWrapper<?> w : spilled.pending) {
+        AllocationHelper.allocate(w.getValueVector(), PENDING_BATCH_SIZE, PENDING_FIELD_WIDTH);
+      }
+      spilled.pending.setRecordCount(0);
+    }
+    if (spilled.pending.appendRow(incoming.getContainer(), row) == PENDING_BATCH_SIZE) {
+      writePendingBatch(spilled);
+    }
+  }
+
+  private void writePendingBatch(SpilledPartition spilled) {
+    if (spilled.pending == null) {
+      return;
+    }
+    try {
+      if (spilled.pendingWriter == null) {
+        spilled.pendingFile = spillSet.getNextSpillFile("rows");
+        spilled.pendingWriter = spillSet.writer(spilled.pendingFile);
+      }
+      writeBatch(spilled.pendingWriter, spilled.pending, spilled.pendingFile);
+      spilled.pendingBatches++;
+    } catch (IOException ioe) {
+      throw UserException.resourceError(ioe)
+          .message("Hash Distinct failed to open spill file: " + spilled.pendingFile)
+          .build(logger);
+    } finally {
+      spilled.pending.clear();
+      spilled.pending = null;
+    }
+  }
+
+  private void writeBatch(Writer writer, VectorContainer batch, String fileName) {
+    int numRecords = batch.getRecordCount();
+    for (VectorWrapper<?> w : batch) {
+      w.getValueVector().getMutator().setValueCount(numRecords);
+    }
+    WritableBatch wBatch = WritableBatch.getBatchNoHVWrap(numRecords, batch, false);
+    try {
+      writer.write(wBatch, null);
+    } catch (IOException ioe) {
+      throw UserException.dataWriteError(ioe)
+          .message("Hash Distinct failed to write to output file: " + fileName)
+          .build(logger);
+    } finally {
+      wBatch.clear();
+    }
+  }
+
+  private void closeWriter(Writer writer) {
+    if (writer == null) {
+      return;
+    }
+    try {
+      spillSet.close(writer);
+    } catch (IOException ioe) {
+      throw UserException.resourceError(ioe)
+          .message("IO Error while closing a Hash Distinct spill file")
+          .build(logger);
+    }
+  }
+
+  /**
+   * An empty container with the layout of the incoming (and of the keys).
+   */
+  private VectorContainer newSpillContainer() {
+    VectorContainer batch = new VectorContainer();
+    for (MaterializedField field : incomingSchema) {
+      batch.add(TypeHelper.getNewVector(field, oContext.getAllocator()));
+    }
+    batch.buildSchema(SelectionVectorMode.NONE);
+    return batch;
+  }
+
+  /**
+   * The incoming is exhausted: every key of an in-memory partition was
+   * already emitted, so free those tables, and flush the buffered rows of the
+   * spilled partitions.
+   */
+  private void finishIncoming() {
+    updateStats();
+    for (int i = 0; i < numPartitions; i++) {
+      SpilledPartition spilled = spilledPartitions[i];
+      if (spilled == null) {
+        htables[i].clear();
+        continue;
+      }
+      writePendingBatch(spilled);
+      closeWriter(spilled.pendingWriter);
+      spilled.pendingWriter = null;
+    }
+  }
+
+  private IterOutcome drainSpilledPartitions() {
+    while (true) {
+      IterOutcome outcome;
+      if (drainBatch == null) {
+        if (!loadNextSpilledPartition()) {
+          state = BatchState.DONE;
+          return IterOutcome.NONE;
+        }
+        outcome = drainBatch.getInitialOutcome();
+      } else {
+        outcome = drainBatch.next();
+      }
+
+      switch (outcome) {
+        case NONE:
+          drainBatch.close();
+          drainBatch = null;
+          htables[drainPartition].clear();
+          break;
+        case OK:
+          if (emitSpilledBatch() > 0) {
+            return IterOutcome.OK;
+          }
+          break;
+        default:
+          return outcome;
+      }
+    }
+  }
+
+  /**
+   * Move to the next spilled partition that has buffered rows, and load the
+   * keys it held when it spilled into its hash table.
+   *
+   * @return false if no spilled partition is left
+   */
+  private boolean loadNextSpilledPartition() {
+    while (++drainPartition < numPartitions) {
+      SpilledPartition spilled = spilledPartitions[drainPartition];
+      if (spilled == null || spilled.pendingBatches == 0) {
+        continue;
+      }
+      HashTable htable = htables[drainPartition];
+      SpilledRecordbatch keys = new SpilledRecordbatch(spilled.keysFile, spilled.keysBatches, context, incomingSchema, oContext, spillSet);
+      try {
+        IterOutcome outcome = keys.getInitialOutcome();
+        while (outcome == IterOutcome.OK) {
+          htable.updateIncoming(keys.getContainer(), null);
+          int count = keys.getRecordCount();
+          for (int row = 0; row < count; row++) {
+            addSpilledKey(htable, row);
+          }
+          outcome = keys.next();
+        }
+      } finally {
+        keys.close();
+      }
+      drainBatch = new SpilledRecordbatch(spilled.pendingFile, spilled.pendingBatches, context, incomingSchema, oContext, spillSet);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Output the rows of the current spilled batch whose keys are new.
+   *
+   * @return the number of rows selected
+   */
+  private int emitSpilledBatch() {
+    container.zeroVectors();
+    HashTable htable = htables[drainPartition];
+    VectorContainer batch = drainBatch.getContainer();
+    htable.updateIncoming(batch, null);
+    int count = drainBatch.getRecordCount();
+    sv2.allocateNew(Math.max(count, 1));
+    int outputCount = 0;
+    for (int row = 0; row < count; row++) {
+      if (addSpilledKey(htable, row)) {
+        sv2.setIndex(outputCount++, row);
+      }
+    }
+    sv2.setRecordCount(outputCount);
+    for (int i = 0; i < batch.getNumberOfColumns(); i++) {
+      batch.getValueVector(i).getValueVector()
+          .makeTransferPair(container.getValueVector(i).getValueVector()).transfer();
+    }
+    return outputCount;
+  }
+
+  private boolean addSpilledKey(HashTable htable, int row) {
+    try {
+      int hashCode = htable.getBuildHashCode(row) >>> bitsInMask;
+      return htable.put(row, htIdxHolder, hashCode) != HashTable.PutStatus.KEY_PRESENT;
+    } catch (SchemaChangeException e) {
+      throw UserException.unsupportedError(e)
+          .message("Schema change while reading spilled partition %d of the hash distinct", drainPartition)
+          .build(logger);
+    } catch (RetryAfterSpillException e) {
+      throw UserException.resourceError()
+          .message("Not enough memory to process spilled partition %d of the hash distinct", drainPartition)
+          .addContext("Consider increasing", ExecConstants.HASHAGG_NUM_PARTITIONS_KEY)
+          .build(logger);
+    }
+  }
+
+  private void updateStats() {
+    if (htables == null) {
+      return;
+    }
+    HashTableStats htStats = new HashTableStats();
+    HashTableStats partitionStats = new HashTableStats();
+    for (HashTable htable : htables) {
+      htable.getStats(partitionStats);
+      htStats.addStats(partitionStats);
+    }
+    OperatorStats stats = oContext.getStats();
+    stats.setLongStat(Metric.NUM_BUCKETS, htStats.numBuckets);
+    stats.setLongStat(Metric.NUM_ENTRIES, htStats.numEntries);
+    stats.setLongStat(Metric.NUM_RESIZING, htStats.numResizing);
+    stats.setLongStat(Metric.RESIZING_TIME_MS, htStats.resizingTime);
+    stats.setLongStat(Metric.NUM_PARTITIONS, numPartitions);
+    stats.setLongStat(Metric.EMITTED_EARLY, emittedEarly);
+    if (numSpilled > 0) {
+      stats.setLongStat(Metric.SPILLED_PARTITIONS, numSpilled);
+      stats.setLongStat(Metric.SPILL_MB, (int) Math.round(spillSet.getWriteBytes() / 1024.0D / 1024.0));
+    }
+  }
+
+  @Override
+  public void close() {
+    if (drainPartition < 0) {
+      updateStats();
+    }
+    if (drainBatch != null) {
+      drainBatch.close();
+      drainBatch = null;
+    }
+    if (htables != null) {
+      for (HashTable htable : htables) {
+        htable.clear();
+      }
+    }
+    if (spilledPartitions != null) {
+      for (SpilledPartition spilled : spilledPartitions) {
+        if (spilled == null) {
+          continue;
+        }
+        if (spilled.pending != null) {
+          spilled.pending.clear();
+        }
+        if (spilled.pendingWriter != null) {
+          try {
+            spillSet.close(spilled.pendingWriter);
+          } catch (IOException e) {
+            logger.warn("Cleanup: Failed to close spill file {}", spilled.pendingFile, e);
+          }
+        }
+      }
+    }
+    if (spillSet != null) {
+      spillSet.close(); // delete the spill directory(ies)
+    }
+    sv2.clear();
+    super.close();
+  }
+}
@@ -228,7 +228,11 @@ public class ChainedHashTable {
     setupGetHash(cg /* use top level code generator for getHash */, GetHashIncomingProbeMapping, incomingProbe, keyExprsProbe, true);
 
     HashTable ht = context.getImplementationClass(top);
-    ht.setup(htConfig, allocator, incomingBuild.getContainer(), incomingProbe, outgoing, htContainerOrig);
+    // hash codes of plain key columns may also be computed a column at a time, as the generated getHash methods do
+    final ColumnHasher buildHasher = ColumnHasher.create(keyExprsBuild, incomingProbe != null, 0);
+    final ColumnHasher probeHasher = incomingProbe == null ? null : ColumnHasher.create(keyExprsProbe, true, 0);
+    ht.setup(htConfig, allocator, incomingBuild.getContainer(), incomingProbe, outgoing, htContainerOrig,
+        buildHasher, probeHasher);
 
     return ht;
   }
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.common;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.drill.common.expression.FunctionHolderExpression;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.ValueExpressions;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.exec.expr.ValueVectorReadExpression;
+import org.apache.drill.exec.expr.fn.impl.HashHelper;
+import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.record.VectorAccessible;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableBigIntVector;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.apache.drill.exec.vector.NullableVarCharVector;
+import org.apache.drill.exec.vector.UInt1Vector;
+import org.apache.drill.exec.vector.UInt4Vector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.exec.vector.VarCharVector;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Computes the hash codes of all rows of a batch a column at a time: the hash codes start as the seed, and each key
+ * column is folded into them in one loop over the column. The result is the same as evaluating the hash32 (or
+ * hash32AsDouble) expression chain built by {@link org.apache.drill.exec.planner.physical.HashPrelUtil} row by row,
+ * so operators may mix precomputed and generated hash codes.
+ * <p>
+ * Only keys that are plain INT, BIGINT or VARCHAR columns (required or nullable) are supported; for other keys no
+ * hasher is created and the generated code is used. Hash codes are indexed by vector position, so batches with a
+ * two byte selection vector are supported too.
+ */
+public class ColumnHasher {
+
+  private final TypedFieldId[] keyFieldIds;
+  private final boolean hashAsDouble;
+  private final int seed;
+
+  private int[] hashCodes = new int[0];
+  // number of rows of the current batch hashed, 0 if not computed for the current batch
+  private int count;
+
+  private ColumnHasher(TypedFieldId[] keyFieldIds, boolean hashAsDouble, int seed) {
+    this.keyFieldIds = keyFieldIds;
+    this.hashAsDouble = hashAsDouble;
+    this.seed = seed;
+  }
+
+  /**
+   * @param keys materialized key expressions
+   * @param hashAsDouble whether numeric keys are hashed as double, as for hash32AsDouble
+   * @param seed seed of the first key
+   * @return the hasher, or null if a key is not a supported column
+   */
+  public static ColumnHasher create(LogicalExpression[] keys, boolean hashAsDouble, int seed) {
+    if (keys == null || keys.length == 0) {
+      return null;
+    }
+    final TypedFieldId[] keyFieldIds = new TypedFieldId[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      keyFieldIds[i] = getColumn(keys[i]);
+      if (keyFieldIds[i] == null) {
+        return null;
+      }
+    }
+    return new ColumnHasher(keyFieldIds, hashAsDouble, seed);
+  }
+
+  /**
+   * @param hashExpression materialized chain of hash32 or hash32AsDouble calls, each hashing a key with the hash of
+   *                       the previous keys, starting with an int literal seed
+   * @return the hasher, or null if the expression is not such a chain over supported columns
+   */
+  public static ColumnHasher create(LogicalExpression hashExpression) {
+    final List<LogicalExpression> keys = Lists.newArrayList();
+    String name = null;
+    LogicalExpression expr = hashExpression;
+    while (expr instanceof FunctionHolderExpression) {
+      final FunctionHolderExpression call = (FunctionHolderExpression) expr;
+      if (call.args.size() != 2 || (name != null && !name.equals(call.getName()))) {
+        return null;
+      }
+      name = call.getName();
+      keys.add(0, call.args.get(0));
+      expr = call.args.get(1);
+    }
+    if (!(expr instanceof ValueExpressions.IntExpression)
+        || !("hash32".equals(name) || "hash32AsDouble".equals(name))) {
+      return null;
+    }
+    return create(keys.toArray(new LogicalExpression[keys.size()]), "hash32AsDouble".equals(name),
+        ((ValueExpressions.IntExpression) expr).getInt());
+  }
+
+  private static TypedFieldId getColumn(LogicalExpression key) {
+    if (!(key instanceof ValueVectorReadExpression)) {
+      return null;
+    }
+    final ValueVectorReadExpression read = (ValueVectorReadExpression) key;
+    final TypedFieldId fieldId = read.getTypedFieldId();
+    final MajorType type = read.getMajorType();
+    if (read.hasReadPath() || fieldId.isHyperReader() || fieldId.getFieldIds().length != 1
+        || type.getMode() == DataMode.REPEATED) {
+      return null;
+    }
+    switch (type.getMinorType()) {
+      case INT:
+      case BIGINT:
+      case VARCHAR:
+        return fieldId;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Compute the hash codes of all rows of the batch. If a key vector is not of the expected type, no hash codes are
+   * available until the next call.
+   */
+  public void hash(VectorAccessible batch) {
+    count = 0;
+    final ValueVector[] keys = new ValueVector[keyFieldIds.length];
+    int valueCount = Integer.MAX_VALUE;
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = batch.getValueAccessorById(ValueVector.class, keyFieldIds[i].getFieldIds()).getValueVector();
+      valueCount = Math.min(valueCount, keys[i].getAccessor().getValueCount());
+    }
+    if (hashCodes.length < valueCount) {
+      hashCodes = new int[valueCount];
+    }
+    Arrays.fill(hashCodes, 0, valueCount, seed);
+
+    for (ValueVector key : keys) {
+      if (key instanceof IntVector) {
+        hashInts((IntVector) key, null, valueCount);
+      } else if (key instanceof NullableIntVector) {
+        final NullableIntVector vector = (NullableIntVector) key;
+        hashInts(vector.getValuesVector(), vector.getBitsVector().getAccessor(), valueCount);
+      } else if (key instanceof BigIntVector) {
+        hashBigInts((BigIntVector) key, null, valueCount);
+      } else if (key instanceof NullableBigIntVector) {
+        final NullableBigIntVector vector = (NullableBigIntVector) key;
+        hashBigInts(vector.getValuesVector(), vector.getBitsVector().getAccessor(), valueCount);
+      } else if (key instanceof VarCharVector) {
+        hashVarChars((VarCharVector) key, null, valueCount);
+      } else if (key instanceof NullableVarCharVector) {
+        final NullableVarCharVector vector = (NullableVarCharVector) key;
+        hashVarChars(vector.getValuesVector(), vector.getBitsVector().getAccessor(), valueCount);
+      } else {
+        return;
+      }
+    }
+    count = valueCount;
+  }
+
+  /**
+   * Forget the hash codes, e.g. when the batch they were computed for is replaced.
+   */
+  public void invalidate() {
+    count = 0;
+  }
+
+  /**
+   * @return number of rows with a hash code, 0 if the hash codes were not computed for the current batch
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * @param index vector position, less than {@link #getCount()}
+   */
+  public int getHashCode(int index) {
+    return hashCodes[index];
+  }
+
+  // null values leave the hash code unchanged, like the nullable hash functions
+
+  private void hashInts(IntVector vector, UInt1Vector.Accessor bits, int valueCount) {
+    final IntVector.Accessor values = vector.getAccessor();
+    for (int i = 0; i < valueCount; i++) {
+      if (bits == null || bits.get(i) != 0) {
+        hashCodes[i] = hashAsDouble ? HashHelper.hash32((double) values.get(i), hashCodes[i])
+            : HashHelper.hash32(values.get(i), hashCodes[i]);
+      }
+    }
+  }
+
+  private void hashBigInts(BigIntVector vector, UInt1Vector.Accessor bits, int valueCount) {
+    final BigIntVector.Accessor values = vector.getAccessor();
+    for (int i = 0; i < valueCount; i++) {
+      if (bits == null || bits.get(i) != 0) {
+        hashCodes[i] = hashAsDouble ? HashHelper.hash32((double) values.get(i), hashCodes[i])
+            : HashHelper.hash32(values.get(i), hashCodes[i]);
+      }
+    }
+  }
+
+  private void hashVarChars(VarCharVector vector, UInt1Vector.Accessor bits, int valueCount) {
+    final UInt4Vector.Accessor offsets = vector.getOffsetVector().getAccessor();
+    for (int i = 0; i < valueCount; i++) {
+      if (bits == null || bits.get(i) != 0) {
+        hashCodes[i] = HashHelper.hash32(offsets.get(i), offsets.get(i + 1), vector.getBuffer(), hashCodes[i]);
+      }
+    }
+  }
+}
@@ -117,6 +117,7 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
   private RecordBatch probeBatch;
   private int cycleNum;
   private int numPartitions;
+  private boolean distinctKeys; // semi and anti joins need just one build row per key
   private List<HashJoinMemoryCalculator.BatchStat> inMemoryBatchStats = Lists.newArrayList();
   private long partitionInMemorySize;
   private long numInMemoryRecords;
@@ -124,6 +125,19 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
   public HashPartition(FragmentContext context, BufferAllocator allocator, ChainedHashTable baseHashTable,
                        RecordBatch buildBatch, RecordBatch probeBatch,
                        int recordsPerBatch, SpillSet spillSet, int partNum, int cycleNum, int numPartitions) {
+    this(context, allocator, baseHashTable, buildBatch, probeBatch, recordsPerBatch, spillSet, partNum, cycleNum,
+      numPartitions, false);
+  }
+
+  /**
+   * @param distinctKeys if true, only the first build row of each key is linked
+   *                     from the hash table; later rows with a key already present
+   *                     are skipped when the hash table is built
+   */
+  public HashPartition(FragmentContext context, BufferAllocator allocator, ChainedHashTable baseHashTable,
+                       RecordBatch buildBatch, RecordBatch probeBatch,
+                       int recordsPerBatch, SpillSet spillSet, int partNum, int cycleNum, int numPartitions,
+                       boolean distinctKeys) {
     this.allocator = allocator;
     this.buildBatch = buildBatch;
     this.probeBatch = probeBatch;
@@ -132,6 +146,7 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
     this.partitionNum = partNum;
     this.cycleNum = cycleNum;
     this.numPartitions = numPartitions;
+    this.distinctKeys = distinctKeys;
 
     try {
       this.hashTable = baseHashTable.createAndSetupHashTable(null);
@@ -277,6 +292,7 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
     currHVVector = new IntVector(MaterializedField.create(HASH_VALUE_COLUMN_NAME, HVtype), allocator);
     currHVVector.allocateNew(recordCount /* recordsPerBatch */);
     try {
+      computeBuildHashCodes();
       // For every record in the build batch, hash the key columns and keep the result
       for (int ind = 0; ind < recordCount; ind++) {
         int hashCode = getBuildHashCode(ind);
@@ -393,6 +409,12 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
   public int getProbeHashCode(int ind) throws SchemaChangeException {
     return hashTable.getProbeHashCode(ind);
   }
+  public void computeBuildHashCodes() {
+    hashTable.computeBuildHashCodes();
+  }
+  public void computeProbeHashCodes() {
+    hashTable.computeProbeHashCodes();
+  }
   public ArrayList<VectorContainer> getContainers() {
     return containers;
   }
@@ -497,11 +519,15 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
 
       for (int recInd = 0; recInd < currentRecordCount; recInd++) {
         int hashCode = HV_vector.getAccessor().get(recInd);
+        final HashTable.PutStatus putStatus;
         try {
-          hashTable.put(recInd, htIndex, hashCode);
+          putStatus = hashTable.put(recInd, htIndex, hashCode);
         } catch (RetryAfterSpillException RE) {
           throw new OutOfMemoryException("HT put");
         } // Hash Join does not retry
+        if (distinctKeys && putStatus == HashTable.PutStatus.KEY_PRESENT) {
+          continue; // a duplicate key; the probe only ever needs the first row
+        }
         /* Use the global index returned by the hash table, to store
          * the current record index and batch index. This will be used
          * later when we probe and find a match.
@@ -47,17 +47,19 @@ public interface HashTable {
   int BATCH_MASK = 0x0000FFFF;
 
   /**
-   * {@link HashTable#setup(HashTableConfig, BufferAllocator, VectorContainer, RecordBatch, RecordBatch, VectorContainer)} must be called before anything can be done to the
-   * {@link HashTable}.
+   * {@link HashTable#setup(HashTableConfig, BufferAllocator, VectorContainer, RecordBatch, RecordBatch, VectorContainer, ColumnHasher, ColumnHasher)}
+   * must be called before anything can be done to the {@link HashTable}.
    * @param htConfig
    * @param allocator
    * @param incomingBuild
    * @param incomingProbe
    * @param outgoing
    * @param htContainerOrig
+   * @param buildHasher Computes the build side hash codes a column at a time, null if the keys are not supported.
+   * @param probeHasher Computes the probe side hash codes a column at a time, null if the keys are not supported.
    */
   void setup(HashTableConfig htConfig, BufferAllocator allocator, VectorContainer incomingBuild, RecordBatch incomingProbe, RecordBatch outgoing,
-             VectorContainer htContainerOrig);
+             VectorContainer htContainerOrig, ColumnHasher buildHasher, ColumnHasher probeHasher);
 
   /**
    * Updates the incoming (build and probe side) value vectors references in the {@link HashTableTemplate.BatchHolder}s.
@@ -82,6 +84,20 @@ public interface HashTable {
    */
   int getProbeHashCode(int incomingRowIdx) throws SchemaChangeException;
 
+  /**
+   * Computes the hash codes of all the records of the current build side batch at once, if the keys allow it.
+   * {@link #getBuildHashCode(int)} then returns them until the build side batch changes; the caller must call this
+   * again for every new batch it reads into the same container.
+   */
+  void computeBuildHashCodes();
+
+  /**
+   * Computes the hash codes of all the records of the current probe side batch at once, if the keys allow it.
+   * {@link #getProbeHashCode(int)} then returns them until the probe side batch changes; the caller must call this
+   * again for every new probe batch.
+   */
+  void computeProbeHashCodes();
+
   PutStatus put(int incomingRowIdx, IndexPointer htIdxHolder, int hashCode) throws SchemaChangeException, RetryAfterSpillException;
 
   /**
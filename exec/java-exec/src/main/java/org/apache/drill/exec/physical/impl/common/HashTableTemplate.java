@@ -96,6 +96,10 @@ public abstract class HashTableTemplate implements HashTable {
   // The outgoing record batch
   private RecordBatch outgoing;
 
+  // Compute the build and probe side hash codes a column at a time (null if the keys are not supported)
+  private ColumnHasher buildHasher;
+  private ColumnHasher probeHasher;
+
   // Hash table configuration parameters
   private HashTableConfig htConfig;
 
@@ -444,7 +448,8 @@ public abstract class HashTableTemplate implements HashTable {
   }
 
   @Override
-  public void setup(HashTableConfig htConfig, BufferAllocator allocator, VectorContainer incomingBuild, RecordBatch incomingProbe, RecordBatch outgoing, VectorContainer htContainerOrig) {
+  public void setup(HashTableConfig htConfig, BufferAllocator allocator, VectorContainer incomingBuild, RecordBatch incomingProbe, RecordBatch outgoing, VectorContainer htContainerOrig,
+                    ColumnHasher buildHasher, ColumnHasher probeHasher) {
     float loadf = htConfig.getLoadFactor();
     int initialCap = htConfig.getInitialCapacity();
 
@@ -468,6 +473,8 @@ public abstract class HashTableTemplate implements HashTable {
     this.incomingProbe = incomingProbe;
     this.outgoing = outgoing;
     this.htContainerOrig = htContainerOrig;
+    this.buildHasher = buildHasher;
+    this.probeHasher = probeHasher;
     this.allocationTracker = new HashTableAllocationTracker(htConfig, BATCH_SIZE);
 
     // round up the initial capacity to nearest highest power of 2
@@ -506,6 +513,7 @@ public abstract class HashTableTemplate implements HashTable {
 
   @Override
   public void updateBatches() throws SchemaChangeException {
+    invalidateHashCodes();
     doSetup(incomingBuild, incomingProbe);
     for (BatchHolder batchHolder : batchHolders) {
       batchHolder.setup();
@@ -552,6 +560,7 @@ public abstract class HashTableTemplate implements HashTable {
     startIndices.clear();
     // currentIdxHolder = null; // keep IndexPointer in case HT is reused
     numEntries = 0;
+    invalidateHashCodes();
   }
 
   private int getBucketIndex(int hash, int numBuckets) {
@@ -590,6 +599,9 @@ public abstract class HashTableTemplate implements HashTable {
    */
   @Override
   public int getBuildHashCode(int incomingRowIdx) throws SchemaChangeException {
+    if (buildHasher != null && incomingRowIdx < buildHasher.getCount()) {
+      return buildHasher.getHashCode(incomingRowIdx);
+    }
     return getHashBuild(incomingRowIdx, 0);
   }
 
@@ -602,9 +614,35 @@ public abstract class HashTableTemplate implements HashTable {
    */
   @Override
   public int getProbeHashCode(int incomingRowIdx) throws SchemaChangeException {
+    if (probeHasher != null && incomingRowIdx < probeHasher.getCount()) {
+      return probeHasher.getHashCode(incomingRowIdx);
+    }
     return getHashProbe(incomingRowIdx, 0);
   }
 
+  @Override
+  public void computeBuildHashCodes() {
+    if (buildHasher != null) {
+      buildHasher.hash(incomingBuild);
+    }
+  }
+
+  @Override
+  public void computeProbeHashCodes() {
+    if (probeHasher != null && incomingProbe != null) {
+      probeHasher.hash(incomingProbe);
+    }
+  }
+
+  private void invalidateHashCodes() {
+    if (buildHasher != null) {
+      buildHasher.invalidate();
+    }
+    if (probeHasher != null) {
+      probeHasher.invalidate();
+    }
+  }
+
   /** put() uses the hash code (from gethashCode() above) to insert the key(s) from the incoming
    * row into the hash table. The code selects the bucket in the startIndices, then the keys are
    * placed into the chained list - by storing the key values into a batch, and updating its
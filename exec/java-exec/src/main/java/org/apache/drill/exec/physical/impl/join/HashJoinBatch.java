@@ -338,7 +338,7 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> {
         // Update the hash table related stats for the operator
         updateStats();
         // Initialize various settings for the probe side
-        hashJoinProbe.setupHashJoinProbe(probeBatch, this, joinType, leftUpstream, partitions, cycleNum, container, spilledInners, buildSideIsEmpty, numPartitions, rightHVColPosition);
+        hashJoinProbe.setupHashJoinProbe(probeBatch, this, joinType, popConfig.getSemiJoinType(), leftUpstream, partitions, cycleNum, container, spilledInners, buildSideIsEmpty, numPartitions, rightHVColPosition);
       }
 
       // Try to probe and project, or recursively handle a spilled partition
@@ -525,7 +525,8 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> {
     // Recreate the partitions every time build is initialized
     for (int part = 0; part < numPartitions; part++ ) {
       partitions[part] = new HashPartition(context, allocator, baseHashTable, buildBatch, probeBatch,
-        RECORDS_PER_BATCH, spillSet, part, cycleNum, numPartitions);
+        RECORDS_PER_BATCH, spillSet, part, cycleNum, numPartitions,
+        popConfig.getSemiJoinType() != HashJoinPOP.SemiJoinType.NONE);
     }
 
     spilledInners = new HJSpilledPartition[numPartitions];
@@ -697,6 +698,8 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> {
 
         if ( cycleNum > 0 ) {
           read_right_HV_vector = (IntVector) buildBatch.getContainer().getLast();
+        } else {
+          partitions[0].computeBuildHashCodes(); // hash the key columns of the whole batch at once
         }
 
         // For every record in the build batch, hash the key columns and keep the result
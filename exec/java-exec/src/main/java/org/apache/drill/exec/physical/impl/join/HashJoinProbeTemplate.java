@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.physical.config.HashJoinPOP;
 import org.apache.drill.exec.physical.impl.common.HashPartition;
 import org.apache.drill.exec.record.BatchSchema;
 import org.apache.drill.exec.record.RecordBatch;
@@ -45,6 +46,9 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
   // Join type, INNER, LEFT, RIGHT or OUTER
   private JoinRelType joinType;
 
+  // Semi join mode; SEMI emits only the first match of each probe row, ANTI only the unmatched probe rows
+  private HashJoinPOP.SemiJoinType semiJoinType = HashJoinPOP.SemiJoinType.NONE;
+
   private HashJoinBatch outgoingJoinBatch = null;
 
   // Number of records to process on the probe side
@@ -100,6 +104,7 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
    * @param probeBatch
    * @param outgoing
    * @param joinRelType
+   * @param semiJoinType
    * @param leftStartState
    * @param partitions
    * @param cycleNum
@@ -110,12 +115,13 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
    * @param rightHVColPosition
    */
   @Override
-  public void setupHashJoinProbe(RecordBatch probeBatch, HashJoinBatch outgoing, JoinRelType joinRelType, IterOutcome leftStartState, HashPartition[] partitions, int cycleNum, VectorContainer container, HashJoinBatch.HJSpilledPartition[] spilledInners, boolean buildSideIsEmpty, int numPartitions, int rightHVColPosition) {
+  public void setupHashJoinProbe(RecordBatch probeBatch, HashJoinBatch outgoing, JoinRelType joinRelType, HashJoinPOP.SemiJoinType semiJoinType, IterOutcome leftStartState, HashPartition[] partitions, int cycleNum, VectorContainer container, HashJoinBatch.HJSpilledPartition[] spilledInners, boolean buildSideIsEmpty, int numPartitions, int rightHVColPosition) {
     this.container = container;
     this.spilledInners = spilledInners;
     this.probeBatch = probeBatch;
     this.probeSchema = probeBatch.getSchema();
     this.joinType = joinRelType;
+    this.semiJoinType = semiJoinType;
     this.outgoingJoinBatch = outgoing;
     this.partitions = partitions;
     this.cycleNum = cycleNum;
@@ -151,6 +157,8 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
       if ( leftStartState != IterOutcome.NONE ) { // Skip when outer spill was empty
         read_left_HV_vector = (IntVector) probeBatch.getContainer().getLast();
       }
+    } else if ( leftStartState != IterOutcome.NONE ) {
+      partitions[0].computeProbeHashCodes(); // hash the key columns of the first (already read) left batch
     }
   }
 
@@ -281,6 +289,8 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
             }
             if ( cycleNum > 0 ) {
               read_left_HV_vector = (IntVector) probeBatch.getContainer().getLast(); // Needed ?
+            } else {
+              partitions[0].computeProbeHashCodes(); // hash the key columns of the whole batch at once
             }
         }
       }
@@ -313,7 +323,17 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
 
         }
 
-        if (probeIndex != -1) {
+        if (probeIndex != -1 && semiJoinType == HashJoinPOP.SemiJoinType.ANTI) {
+          // Anti join: a matched probe row is never projected
+          recordsProcessed++;
+        } else if (probeIndex != -1 && semiJoinType == HashJoinPOP.SemiJoinType.SEMI) {
+          // Semi join: project the probe row once, paired with the first matching build row
+          // (the build side links no other rows with the same key)
+          outputRecords =
+            outputRow(currPartition.getContainers(), currPartition.getStartIndex(probeIndex),
+              probeBatch.getContainer(), recordsProcessed);
+          recordsProcessed++;
+        } else if (probeIndex != -1) {
 
           /* The current probe record has a key that matches. Get the index
            * of the first row in the build side that matches the current key
@@ -41,6 +41,7 @@ import org.apache.drill.exec.ops.RootFragmentContext;
 import org.apache.drill.exec.physical.MinorFragmentEndpoint;
 import org.apache.drill.exec.physical.config.HashPartitionSender;
 import org.apache.drill.exec.physical.impl.BaseRootExec;
+import org.apache.drill.exec.physical.impl.common.ColumnHasher;
 import org.apache.drill.exec.planner.physical.PlannerSettings;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
 import org.apache.drill.exec.record.BatchSchema;
@@ -64,6 +65,8 @@ public class PartitionSenderRootExec extends BaseRootExec {
   private RecordBatch incoming;
   private HashPartitionSender operator;
   private PartitionerDecorator partitioner;
+  // computes the partitioning hash a column at a time, null if the expression is not a plain column hash
+  private ColumnHasher hasher;
 
   private ExchangeFragmentContext context;
   private final int outGoingBatchCount;
@@ -211,6 +214,9 @@ public class PartitionSenderRootExec extends BaseRootExec {
         }
       case OK:
         try {
+          if (hasher != null) {
+            hasher.hash(incoming);
+          }
           partitioner.partitionBatch(incoming);
         } catch (ExecutionException e) {
           context.getExecutorState().fail(e.getCause());
@@ -246,7 +252,7 @@ public class PartitionSenderRootExec extends BaseRootExec {
         }
         final OperatorStats partitionStats = new OperatorStats(stats, true);
         subPartitioners.get(i).setup(context, incoming, popConfig, partitionStats, oContext,
-            startIndex, endIndex);
+            startIndex, endIndex, hasher);
       }
 
       partitioner = new PartitionerDecorator(subPartitioners, stats, context);
@@ -284,6 +290,8 @@ public class PartitionSenderRootExec extends BaseRootExec {
           collector.toErrorString()));
     }
 
+    hasher = ColumnHasher.create(materializedExpr);
+
     // generate code to copy from an incoming value vector to the destination partition's outgoing value vector
     JExpression bucket = JExpr.direct("bucket");
 
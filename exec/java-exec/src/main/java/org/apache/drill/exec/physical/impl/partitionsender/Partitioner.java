@@ -26,6 +26,7 @@ import org.apache.drill.exec.ops.ExchangeFragmentContext;
 import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.ops.OperatorStats;
 import org.apache.drill.exec.physical.config.HashPartitionSender;
+import org.apache.drill.exec.physical.impl.common.ColumnHasher;
 import org.apache.drill.exec.record.RecordBatch;
 
 public interface Partitioner {
@@ -34,7 +35,8 @@ public interface Partitioner {
              HashPartitionSender popConfig,
              OperatorStats stats,
              OperatorContext oContext,
-             int start, int count) throws SchemaChangeException;
+             int start, int count,
+             ColumnHasher hasher) throws SchemaChangeException;
 
   void partitionBatch(RecordBatch incoming) throws IOException;
   void flushOutgoingBatches(boolean isLastBatch, boolean schemaChanged) throws IOException;
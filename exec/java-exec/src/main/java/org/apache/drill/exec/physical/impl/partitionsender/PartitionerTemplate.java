@@ -35,6 +35,7 @@ import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.ops.OperatorStats;
 import org.apache.drill.exec.physical.MinorFragmentEndpoint;
 import org.apache.drill.exec.physical.config.HashPartitionSender;
+import org.apache.drill.exec.physical.impl.common.ColumnHasher;
 import org.apache.drill.exec.physical.impl.partitionsender.PartitionSenderRootExec.Metric;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
 import org.apache.drill.exec.record.BatchSchema;
@@ -64,6 +65,8 @@ public abstract class PartitionerTemplate implements Partitioner {
   private OperatorStats stats;
   private int start;
   private int end;
+  private ColumnHasher hasher;
+  private int outgoingCount;
   private List<OutgoingRecordBatch> outgoingBatches = Lists.newArrayList();
 
   private int outgoingRecordBatchSize = DEFAULT_RECORD_BATCH_SIZE;
@@ -87,12 +90,15 @@ public abstract class PartitionerTemplate implements Partitioner {
                           HashPartitionSender popConfig,
                           OperatorStats stats,
                           OperatorContext oContext,
-                          int start, int end) throws SchemaChangeException {
+                          int start, int end,
+                          ColumnHasher hasher) throws SchemaChangeException {
 
     this.incoming = incoming;
     this.stats = stats;
     this.start = start;
     this.end = end;
+    this.hasher = hasher;
+    this.outgoingCount = popConfig.getDestinations().size();
     doSetup(context, incoming, null);
 
     // Half the outgoing record batch size if the number of senders exceeds 1000 to reduce the total amount of memory
@@ -213,10 +219,15 @@ public abstract class PartitionerTemplate implements Partitioner {
    */
   private void doCopy(int svIndex) throws IOException {
     int index;
-    try {
-      index = doEval(svIndex);
-    } catch (SchemaChangeException e) {
-      throw new UnsupportedOperationException(e);
+    if (hasher != null && svIndex < hasher.getCount()) {
+      // same bucket as doEval(), from the hash codes computed for the whole batch
+      index = Math.abs(hasher.getHashCode(svIndex) % outgoingCount);
+    } else {
+      try {
+        index = doEval(svIndex);
+      } catch (SchemaChangeException e) {
+        throw new UnsupportedOperationException(e);
+      }
     }
     if ( index >= start && index < end) {
       OutgoingRecordBatch outgoingBatch = outgoingBatches.get(index - start);
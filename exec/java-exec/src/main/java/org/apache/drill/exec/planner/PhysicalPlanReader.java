@@ -91,6 +91,11 @@ public class PhysicalPlanReader {
     return mapper.writeValueAsString(op);
   }
 
+  public PhysicalOperator readPhysicalOperator(String json) throws JsonProcessingException, IOException {
+    logger.debug("Reading physical operator {}", json);
+    return operatorReader.readValue(json);
+  }
+
   public PhysicalPlan readPhysicalPlan(String json) throws JsonProcessingException, IOException {
     logger.debug("Reading physical plan {}", json);
     return physicalPlanReader.readValue(json);
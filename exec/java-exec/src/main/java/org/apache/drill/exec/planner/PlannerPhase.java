@@ -59,7 +59,9 @@ import org.apache.drill.exec.planner.physical.CorrelatePrule;
 import org.apache.drill.exec.planner.physical.DirectScanPrule;
 import org.apache.drill.exec.planner.physical.FilterPrule;
 import org.apache.drill.exec.planner.physical.HashAggPrule;
+import org.apache.drill.exec.planner.physical.HashDistinctPrule;
 import org.apache.drill.exec.planner.physical.HashJoinPrule;
+import org.apache.drill.exec.planner.physical.HashSemiJoinPrule;
 import org.apache.drill.exec.planner.physical.LimitPrule;
 import org.apache.drill.exec.planner.physical.LimitUnionExchangeTransposeRule;
 import org.apache.drill.exec.planner.physical.MergeJoinPrule;
@@ -460,6 +462,10 @@ public enum PlannerPhase {
       ruleList.add(HashAggPrule.INSTANCE);
     }
 
+    if (ps.isHashDistinctEnabled()) {
+      ruleList.add(HashDistinctPrule.INSTANCE);
+    }
+
     if (ps.isStreamAggEnabled()) {
       ruleList.add(StreamAggPrule.INSTANCE);
     }
@@ -472,6 +478,16 @@ public enum PlannerPhase {
       }
     }
 
+    if (ps.isHashSemiJoinEnabled()) {
+      ruleList.add(HashSemiJoinPrule.SEMI_DIST_INSTANCE);
+      ruleList.add(HashSemiJoinPrule.ANTI_DIST_INSTANCE);
+
+      if(ps.isBroadcastJoinEnabled()){
+        ruleList.add(HashSemiJoinPrule.SEMI_BROADCAST_INSTANCE);
+        ruleList.add(HashSemiJoinPrule.ANTI_BROADCAST_INSTANCE);
+      }
+    }
+
     if (ps.isMergeJoinEnabled()) {
       ruleList.add(MergeJoinPrule.DIST_INSTANCE);
 
@@ -17,6 +17,7 @@
  */
 package org.apache.drill.exec.planner.logical;
 
+import java.util.Collections;
 import java.util.List;
 
 import com.google.common.base.Preconditions;
@@ -26,6 +27,7 @@ import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.drill.common.logical.data.LogicalOperator;
 import org.apache.drill.common.logical.data.Writer;
 import org.apache.drill.exec.planner.common.DrillWriterRelBase;
+import org.apache.drill.exec.planner.physical.WriterPrel;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelTraitSet;
@@ -33,16 +35,33 @@ import org.apache.calcite.plan.RelTraitSet;
 public class DrillWriterRel extends DrillWriterRelBase implements DrillRel {
 
   private final List<Integer> partitionKeys;
+  private final List<String> clusterColumns;
+  private final List<Integer> clusterKeys;
+  private final Integer bucketKey;
 
   public DrillWriterRel(RelOptCluster cluster, RelTraitSet traitSet, RelNode input, CreateTableEntry createTableEntry) {
+    this(cluster, traitSet, input, createTableEntry, Collections.<String>emptyList());
+  }
+
+  /**
+   * @param clusterColumns columns the rows are distributed and sorted by before they are written. If the input
+   *                       has a {@link WriterPrel#BUCKET_FIELD} column, the rows are distributed by that bucket
+   *                       and each bucket is written to its own files.
+   */
+  public DrillWriterRel(RelOptCluster cluster, RelTraitSet traitSet, RelNode input, CreateTableEntry createTableEntry,
+                        List<String> clusterColumns) {
     super(DRILL_LOGICAL, cluster, traitSet, input, createTableEntry);
     setRowType();
     this.partitionKeys = resolvePartitionKeys();
+    this.clusterColumns = clusterColumns;
+    this.clusterKeys = resolveKeys(clusterColumns, "cluster");
+    final RelDataTypeField bucketField = getInput().getRowType().getField(WriterPrel.BUCKET_FIELD, false, false);
+    this.bucketKey = bucketField == null ? null : bucketField.getIndex();
   }
 
   @Override
   public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
-    return new DrillWriterRel(getCluster(), traitSet, sole(inputs), getCreateTableEntry());
+    return new DrillWriterRel(getCluster(), traitSet, sole(inputs), getCreateTableEntry(), clusterColumns);
   }
 
   @Override
@@ -57,14 +76,17 @@ public class DrillWriterRel extends DrillWriterRelBase implements DrillRel {
 
 
   private List<Integer> resolvePartitionKeys(){
+    return resolveKeys(getCreateTableEntry().getPartitionColumns(), "partition");
+  }
+
+  private List<Integer> resolveKeys(List<String> columns, String kind) {
     final List<Integer> keys = Lists.newArrayList();
     final RelDataType inputRowType = getInput().getRowType();
-    final List<String> partitionCol = getCreateTableEntry().getPartitionColumns();
 
-    for (final String col : partitionCol) {
+    for (final String col : columns) {
       final RelDataTypeField field = inputRowType.getField(col, false, false);
       Preconditions.checkArgument(field != null,
-          String.format("partition col %s could not be resolved in table's column lists!", col));
+          String.format("%s col %s could not be resolved in table's column lists!", kind, col));
       keys.add(field.getIndex());
     }
 
@@ -75,5 +97,16 @@ public class DrillWriterRel extends DrillWriterRelBase implements DrillRel {
     return this.partitionKeys;
   }
 
+  public List<Integer> getClusterKeys() {
+    return this.clusterKeys;
+  }
+
+  /**
+   * @return index of the bucket column, null if the table is not bucketed
+   */
+  public Integer getBucketKey() {
+    return this.bucketKey;
+  }
+
 
 }
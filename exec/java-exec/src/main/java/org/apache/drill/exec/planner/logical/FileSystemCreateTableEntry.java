@@ -33,6 +33,7 @@ import org.apache.drill.exec.store.dfs.FormatPlugin;
 
 import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
@@ -86,6 +87,16 @@ public class FileSystemCreateTableEntry implements CreateTableEntry {
     return formatPlugin.getConfig();
   }
 
+  @JsonProperty("location")
+  public String getLocation() {
+    return location;
+  }
+
+  @JsonIgnore
+  public FormatPlugin getFormatPlugin() {
+    return formatPlugin;
+  }
+
   @Override
   public Writer getWriter(PhysicalOperator child) throws IOException {
     if (!(formatPlugin.supportsAutoPartitioning() ||
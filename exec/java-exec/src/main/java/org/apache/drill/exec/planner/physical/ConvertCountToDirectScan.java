@@ -17,10 +17,9 @@
  */
 package org.apache.drill.exec.planner.physical;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,15 +29,19 @@ import com.google.common.collect.ImmutableMap;
 import org.apache.calcite.plan.RelOptRule;
 import org.apache.calcite.plan.RelOptRuleCall;
 import org.apache.calcite.plan.RelOptRuleOperand;
+import org.apache.calcite.rel.core.Aggregate;
 import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.rel.type.RelDataTypeFieldImpl;
 import org.apache.calcite.rel.type.RelRecordType;
+import org.apache.calcite.rex.RexBuilder;
 import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.sql.type.SqlTypeName;
 import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.physical.base.GroupScan;
 import org.apache.drill.exec.physical.base.ScanStats;
 import org.apache.drill.exec.planner.logical.DrillAggregateRel;
@@ -46,8 +49,9 @@ import org.apache.drill.exec.planner.logical.DrillProjectRel;
 import org.apache.drill.exec.planner.logical.DrillScanRel;
 import org.apache.drill.exec.planner.logical.RelOptHelper;
 import org.apache.drill.exec.store.ColumnExplorer;
-
 import org.apache.drill.exec.store.direct.MetadataDirectGroupScan;
+import org.apache.drill.exec.store.parquet.AbstractParquetGroupScan;
+import org.apache.drill.exec.store.parquet.ParquetGroupScanStatistics;
 import org.apache.drill.exec.store.pojo.DynamicPojoRecordReader;
 
 /**
@@ -70,9 +74,25 @@ import org.apache.drill.exec.store.pojo.DynamicPojoRecordReader;
  * </p>
  *
  * <p>
- * Currently, only parquet group scan has the exact row count and column value count,
- * obtained from parquet row group info. This will save the cost to
- * scan the whole parquet files.
+ * <b>" select min(column), max(column), sum(column) from table "</b> is converted the same way
+ * when the group scan knows the exact minimum, maximum and sum of the column, and min, max,
+ * sum and count expressions may be combined in one query. Parquet statistics hold no sums,
+ * so a sum is known only when each row group holds a single distinct value of the column.
+ * </p>
+ *
+ * <p>
+ * <b>" select dir0, count(*), max(column) from table group by dir0 "</b> is converted into
+ * a direct scan with a row per partition, when all group keys are partition (directory)
+ * columns. The values of each row come from the statistics of the row groups of its
+ * partition.
+ * </p>
+ *
+ * <p>
+ * Currently, only parquet group scan has the exact row count, column value count
+ * and column min/max values, obtained from parquet row group info. This will save the cost to
+ * scan the whole parquet files. The rule is not applied when a value is not exact for some
+ * row group; reading just those row groups and combining them with the metadata would need
+ * a plan that this rule does not build.
  * </p>
  */
 public class ConvertCountToDirectScan extends Prule {
@@ -104,28 +124,39 @@ public class ConvertCountToDirectScan extends Prule {
 
     // Only apply the rule when:
     //    1) scan knows the exact row count in getSize() call,
-    //    2) No GroupBY key,
+    //    2) No grouping sets,
     //    3) No distinct agg call.
     if (!(oldGrpScan.getScanStats(settings).getGroupScanProperty().hasExactRowCount()
-        && agg.getGroupCount() == 0
+        && agg.getGroupType() == Aggregate.Group.SIMPLE
         && !agg.containsDistinctCall())) {
       return;
     }
 
-    Map<String, Long> result = collectCounts(settings, agg, scan, project);
-    logger.trace("Calculated the following aggregate counts: ", result);
-    // if could not determine the counts, rule won't be applied
-    if (result.isEmpty()) {
-      return;
+    final LinkedHashMap<String, Class<?>> schema = new LinkedHashMap<>();
+    final List<List<Object>> records;
+    if (agg.getGroupCount() == 0) {
+      final Map<String, Object> result = collectAggregates(settings, agg, scan, project,
+          forGroupScan(oldGrpScan, settings), schema);
+      logger.trace("Calculated the following aggregate values: {}", result);
+      // if could not determine the aggregate values, rule won't be applied
+      if (result.isEmpty()) {
+        return;
+      }
+      records = Collections.singletonList((List<Object>) new ArrayList<>(result.values()));
+    } else {
+      records = collectPartitionAggregates(settings, agg, scan, project, schema);
+      logger.trace("Calculated the following aggregate values per partition: {}", records);
+      if (records == null) {
+        return;
+      }
     }
 
-    final RelDataType scanRowType = constructDataType(agg, result.keySet());
+    final RelDataType scanRowType = constructDataType(agg, schema);
 
-    final DynamicPojoRecordReader<Long> reader = new DynamicPojoRecordReader<>(
-        buildSchema(scanRowType.getFieldNames()),
-        Collections.singletonList((List<Long>) new ArrayList<>(result.values())));
+    final DynamicPojoRecordReader<Object> reader = new DynamicPojoRecordReader<>(schema, records);
 
-    final ScanStats scanStats = new ScanStats(ScanStats.GroupScanProperty.EXACT_ROW_COUNT, 1, 1, scanRowType.getFieldCount());
+    final ScanStats scanStats = new ScanStats(ScanStats.GroupScanProperty.EXACT_ROW_COUNT, records.size(), 1,
+        scanRowType.getFieldCount());
     final GroupScan directScan = new MetadataDirectGroupScan(reader, oldGrpScan.getFiles(), scanStats);
 
     final ScanPrel newScan = ScanPrel.create(scan,
@@ -133,37 +164,78 @@ public class ConvertCountToDirectScan extends Prule {
         scanRowType);
 
     final ProjectPrel newProject = new ProjectPrel(agg.getCluster(), agg.getTraitSet().plus(Prel.DRILL_PHYSICAL)
-        .plus(DrillDistributionTrait.SINGLETON), newScan, prepareFieldExpressions(scanRowType), agg.getRowType());
+        .plus(DrillDistributionTrait.SINGLETON), newScan, prepareFieldExpressions(agg, scanRowType), agg.getRowType());
 
     call.transformTo(newProject);
   }
 
   /**
-   * Collects counts for each aggregation call.
-   * Will return empty result map if was not able to determine count for at least one aggregation call,
+   * Collects values for each aggregation call.
+   * Will return empty result map if was not able to determine value for at least one aggregation call,
    *
-   * For each aggregate call will determine if count can be calculated. Collects counts only for COUNT function.
-   * For star, not null expressions and implicit columns sets count to total record number.
-   * For other cases obtains counts from group scan operator. Also count can not be calculated for parition columns.
+   * For each aggregate call will determine if its value can be calculated. Collects values only for COUNT,
+   * MIN, MAX and SUM functions. For MIN, MAX and SUM obtains exact column values from the metadata.
+   * For COUNT with star, not null expressions and implicit columns sets count to total record number.
+   * For other cases obtains counts from the metadata. Also values can not be calculated for parition columns.
    *
    * @param agg aggregate relational expression
    * @param scan scan relational expression
    * @param project project relational expression
-   * @return result map where key is count column name, value is count value
+   * @param metadata metadata of the rows to aggregate
+   * @param schema filled with the class of each value, in the same order as the result map; classes already
+   *               present are kept
+   * @return result map where key is aggregate column name, value is aggregate value
    */
-  private Map<String, Long> collectCounts(PlannerSettings settings, DrillAggregateRel agg, DrillScanRel scan, DrillProjectRel project) {
+  private Map<String, Object> collectAggregates(PlannerSettings settings, DrillAggregateRel agg, DrillScanRel scan,
+                                                DrillProjectRel project, AggregateMetadata metadata,
+                                                LinkedHashMap<String, Class<?>> schema) {
     final Set<String> implicitColumnsNames = ColumnExplorer.initImplicitFileColumns(settings.getOptions()).keySet();
-    final GroupScan oldGrpScan = scan.getGroupScan();
-    final long totalRecordCount = (long)oldGrpScan.getScanStats(settings).getRecordCount();
-    final LinkedHashMap<String, Long> result = new LinkedHashMap<>();
+    final long totalRecordCount = metadata.getRowCount();
+    final LinkedHashMap<String, Object> result = new LinkedHashMap<>();
 
     for (int i = 0; i < agg.getAggCallList().size(); i++) {
       AggregateCall aggCall = agg.getAggCallList().get(i);
-    //for (AggregateCall aggCall : agg.getAggCallList()) {
+      String functionName = aggCall.getAggregation().getName().toLowerCase();
+      String callName = aggCall.getName() == null ? aggCall.toString() : aggCall.getName();
+
+      if ("min".equals(functionName) || "max".equals(functionName)
+          || "sum".equals(functionName) || "$sum0".equals(functionName)) {
+        SchemaPath column = aggCall.getArgList().size() == 1 ? getColumn(aggCall.getArgList().get(0), scan, project) : null;
+        if (column == null
+            || implicitColumnsNames.contains(column.getRootSegmentPath())
+            || ColumnExplorer.isPartitionColumn(settings.getOptions(), column)) {
+          return ImmutableMap.of();
+        }
+        Object value;
+        if ("min".equals(functionName) || "max".equals(functionName)) {
+          if (!metadata.hasExactColumnMinMax(column)) {
+            return ImmutableMap.of();
+          }
+          value = "min".equals(functionName) ? metadata.getColumnMinValue(column) : metadata.getColumnMaxValue(column);
+        } else {
+          if (!metadata.hasExactColumnSum(column)) {
+            return ImmutableMap.of();
+          }
+          value = metadata.getColumnSum(column);
+        }
+        String name = functionName.replace("$", "") + i + "$" + callName;
+        Class<?> valueClass = schema.containsKey(name) ? schema.get(name) : getValueClass(aggCall, value);
+        if ("$sum0".equals(functionName)) {
+          // $SUM0 is not nullable, it is zero when there are no values
+          valueClass = valueClass == Double.class || valueClass == double.class ? double.class : long.class;
+          if (value == null) {
+            value = valueClass == double.class ? (Object) 0.0 : (Object) 0L;
+          }
+        }
+        result.put(name, value);
+        schema.put(name, valueClass);
+        continue;
+      }
+
       long cnt;
 
-      // rule can be applied only for count function, return empty counts
-      if (!"count".equalsIgnoreCase(aggCall.getAggregation().getName()) ) {
+      // rule can be applied only for count, min, max and sum functions, return empty values
+      if (!"count".equals(functionName)) {
         return ImmutableMap.of();
       }
 
@@ -202,7 +274,7 @@ public class ConvertCountToDirectScan extends Prule {
             return ImmutableMap.of();
           }
 
-          cnt = oldGrpScan.getColumnValueCount(simplePath);
+          cnt = metadata.getColumnValueCount(simplePath);
           if (cnt == GroupScan.NO_COLUMN_STATS) {
             // if column stats is not available don't apply this rule, return empty counts
             return ImmutableMap.of();
@@ -212,11 +284,109 @@ public class ConvertCountToDirectScan extends Prule {
         return ImmutableMap.of();
       }
 
-      String name = "count" + i + "$" + (aggCall.getName() == null ? aggCall.toString() : aggCall.getName());
+      String name = "count" + i + "$" + callName;
       result.put(name, cnt);
+      schema.put(name, long.class);
     }
 
-    return ImmutableMap.copyOf(result);
+    // ImmutableMap does not allow null values, which min, max and sum may produce
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * Collects a record per partition when the aggregate groups by partition (directory) columns only: the values
+   * of the group keys, followed by the value of each aggregation call over the row groups of the partition.
+   *
+   * @param agg aggregate relational expression
+   * @param scan scan relational expression
+   * @param project project relational expression
+   * @param schema filled with the class of each value, group keys first
+   * @return the records, or null if a group key is not a partition column or some value can not be determined
+   */
+  private List<List<Object>> collectPartitionAggregates(PlannerSettings settings, DrillAggregateRel agg,
+                                                        DrillScanRel scan, DrillProjectRel project,
+                                                        LinkedHashMap<String, Class<?>> schema) {
+    final GroupScan groupScan = scan.getGroupScan();
+    if (!(groupScan instanceof AbstractParquetGroupScan)) {
+      return null;
+    }
+    final String partitionDesignator = settings.getOptions().getString(ExecConstants.FILESYSTEM_PARTITION_COLUMN_LABEL);
+    final List<Integer> partitionIndexes = new ArrayList<>();
+    for (int key : agg.getGroupSet()) {
+      SchemaPath column = getColumn(key, scan, project);
+      if (column == null || !ColumnExplorer.isPartitionColumn(settings.getOptions(), column)) {
+        return null;
+      }
+      partitionIndexes.add(Integer.parseInt(column.getRootSegmentPath().substring(partitionDesignator.length())));
+      schema.put("key" + schema.size() + "$" + column.getRootSegmentPath(), String.class);
+    }
+
+    final Map<List<String>, ParquetGroupScanStatistics> statisticsByPartition =
+        ((AbstractParquetGroupScan) groupScan).getStatisticsByPartition(partitionIndexes);
+    if (statisticsByPartition == null) {
+      return null;
+    }
+
+    // the values of the whole scan tell whether each value is exact, and its class
+    final LinkedHashMap<String, Class<?>> valueSchema = new LinkedHashMap<>();
+    final Map<String, Object> total = collectAggregates(settings, agg, scan, project,
+        forGroupScan(groupScan, settings), valueSchema);
+    if (total.size() != agg.getAggCallList().size()) {
+      return null;
+    }
+
+    final List<List<Object>> records = new ArrayList<>(statisticsByPartition.size());
+    for (Map.Entry<List<String>, ParquetGroupScanStatistics> partition : statisticsByPartition.entrySet()) {
+      final Map<String, Object> values = collectAggregates(settings, agg, scan, project,
+          forStatistics(partition.getValue()), new LinkedHashMap<>(valueSchema));
+      if (values.size() != total.size()) {
+        return null;
+      }
+      final List<Object> record = new ArrayList<Object>(partition.getKey());
+      record.addAll(values.values());
+      records.add(record);
+    }
+    schema.putAll(valueSchema);
+    return records;
+  }
+
+  /**
+   * Finds the scan column referenced by an input field of the aggregate, looking through
+   * the project if present.
+   *
+   * @param index index of the input field of the aggregate
+   * @return column schema path, or null if the field is not a simple column reference
+   */
+  private SchemaPath getColumn(int index, DrillScanRel scan, DrillProjectRel project) {
+    if (project != null) {
+      if (!(project.getProjects().get(index) instanceof RexInputRef)) {
+        return null;
+      }
+      index = ((RexInputRef) project.getProjects().get(index)).getIndex();
+    }
+    return SchemaPath.getSimplePath(scan.getRowType().getFieldNames().get(index).toLowerCase());
+  }
+
+  /**
+   * @return the class of a min, max or sum value: the class of the value, or for null the class
+   *         matching the type of the aggregate call
+   */
+  private static Class<?> getValueClass(AggregateCall aggCall, Object value) {
+    if (value != null) {
+      return value.getClass();
+    }
+    switch (aggCall.getType().getSqlTypeName()) {
+      case FLOAT:
+      case REAL:
+      case DOUBLE:
+        return Double.class;
+      case DATE:
+      case TIME:
+      case TIMESTAMP:
+        return Timestamp.class;
+      default:
+        return Long.class;
+    }
   }
 
   /**
@@ -237,54 +407,154 @@ public class ConvertCountToDirectScan extends Prule {
   }
 
   /**
-   * For each aggregate call creates field based on its name with bigint type.
+   * For each value creates field based on its name and class: not-null bigint or double for counts
+   * and $SUM0 values, nullable bigint, double or timestamp for min, max and sum values, nullable
+   * varchar for partition values.
    * Constructs record type for created fields.
    *
    * @param aggregateRel aggregate relation expression
-   * @param fieldNames field names
+   * @param schema field names and value classes
    * @return record type
    */
-  private RelDataType constructDataType(DrillAggregateRel aggregateRel, Collection<String> fieldNames) {
+  private RelDataType constructDataType(DrillAggregateRel aggregateRel, LinkedHashMap<String, Class<?>> schema) {
+    final RelDataTypeFactory typeFactory = aggregateRel.getCluster().getTypeFactory();
     List<RelDataTypeField> fields = new ArrayList<>();
-    Iterator<String> filedNamesIterator = fieldNames.iterator();
     int fieldIndex = 0;
-    while (filedNamesIterator.hasNext()) {
-      RelDataTypeField field = new RelDataTypeFieldImpl(
-          filedNamesIterator.next(),
-          fieldIndex++,
-          aggregateRel.getCluster().getTypeFactory().createSqlType(SqlTypeName.BIGINT));
-      fields.add(field);
+    for (Map.Entry<String, Class<?>> entry : schema.entrySet()) {
+      final Class<?> valueClass = entry.getValue();
+      final SqlTypeName typeName;
+      if (valueClass == long.class || valueClass == Long.class) {
+        typeName = SqlTypeName.BIGINT;
+      } else if (valueClass == double.class || valueClass == Double.class) {
+        typeName = SqlTypeName.DOUBLE;
+      } else if (valueClass == Timestamp.class) {
+        typeName = SqlTypeName.TIMESTAMP;
+      } else {
+        typeName = SqlTypeName.VARCHAR;
+      }
+      RelDataType type = typeFactory.createSqlType(typeName);
+      if (!valueClass.isPrimitive()) {
+        type = typeFactory.createTypeWithNullability(type, true);
+      }
+      fields.add(new RelDataTypeFieldImpl(entry.getKey(), fieldIndex++, type));
     }
     return new RelRecordType(fields);
   }
 
   /**
-   * Builds schema based on given field names.
-   * Type for each schema is set to long.class.
-   *
-   * @param fieldNames field names
-   * @return schema
-   */
-  private LinkedHashMap<String, Class<?>> buildSchema(List<String> fieldNames) {
-    LinkedHashMap<String, Class<?>> schema = new LinkedHashMap<>();
-    for (String fieldName: fieldNames) {
-      schema.put(fieldName, long.class);
-    }
-    return schema;
-  }
-
-  /**
-   * For each field creates row expression.
+   * For each field creates row expression, casting values
+   * to the type of the corresponding aggregate field.
    *
+   * @param agg aggregate relational expression
    * @param rowType row type
    * @return list of row expressions
    */
-  private List<RexNode> prepareFieldExpressions(RelDataType rowType) {
+  private List<RexNode> prepareFieldExpressions(DrillAggregateRel agg, RelDataType rowType) {
+    final RexBuilder rexBuilder = agg.getCluster().getRexBuilder();
     List<RexNode> expressions = new ArrayList<>();
     for (int i = 0; i < rowType.getFieldCount(); i++) {
-      expressions.add(RexInputRef.of(i, rowType));
+      RexNode expression = RexInputRef.of(i, rowType);
+      RelDataType aggType = agg.getRowType().getFieldList().get(i).getType();
+      if (aggType.getSqlTypeName() != SqlTypeName.ANY
+          && !aggType.equals(rowType.getFieldList().get(i).getType())) {
+        expression = rexBuilder.makeCast(aggType, expression);
+      }
+      expressions.add(expression);
     }
     return expressions;
   }
 
+  /**
+   * Metadata the aggregate values are taken from: that of the whole scan,
+   * or that of the row groups of one partition.
+   */
+  private interface AggregateMetadata {
+    long getRowCount();
+    long getColumnValueCount(SchemaPath column);
+    boolean hasExactColumnMinMax(SchemaPath column);
+    Object getColumnMinValue(SchemaPath column);
+    Object getColumnMaxValue(SchemaPath column);
+    boolean hasExactColumnSum(SchemaPath column);
+    Object getColumnSum(SchemaPath column);
+  }
+
+  private static AggregateMetadata forGroupScan(final GroupScan groupScan, final PlannerSettings settings) {
+    final long rowCount = (long) groupScan.getScanStats(settings).getRecordCount();
+    return new AggregateMetadata() {
+      @Override
+      public long getRowCount() {
+        return rowCount;
+      }
+
+      @Override
+      public long getColumnValueCount(SchemaPath column) {
+        return groupScan.getColumnValueCount(column);
+      }
+
+      @Override
+      public boolean hasExactColumnMinMax(SchemaPath column) {
+        return groupScan.hasExactColumnMinMax(column);
+      }
+
+      @Override
+      public Object getColumnMinValue(SchemaPath column) {
+        return groupScan.getColumnMinValue(column);
+      }
+
+      @Override
+      public Object getColumnMaxValue(SchemaPath column) {
+        return groupScan.getColumnMaxValue(column);
+      }
+
+      @Override
+      public boolean hasExactColumnSum(SchemaPath column) {
+        return groupScan.hasExactColumnSum(column);
+      }
+
+      @Override
+      public Object getColumnSum(SchemaPath column) {
+        return groupScan.getColumnSum(column);
+      }
+    };
+  }
+
+  private static AggregateMetadata forStatistics(final ParquetGroupScanStatistics statistics) {
+    return new AggregateMetadata() {
+      @Override
+      public long getRowCount() {
+        return statistics.getRowCount();
+      }
+
+      @Override
+      public long getColumnValueCount(SchemaPath column) {
+        return statistics.getColumnValueCount(column);
+      }
+
+      @Override
+      public boolean hasExactColumnMinMax(SchemaPath column) {
+        return statistics.hasExactColumnMinMax(column);
+      }
+
+      @Override
+      public Object getColumnMinValue(SchemaPath column) {
+        return statistics.getColumnMinValue(column);
+      }
+
+      @Override
+      public Object getColumnMaxValue(SchemaPath column) {
+        return statistics.getColumnMaxValue(column);
+      }
+
+      @Override
+      public boolean hasExactColumnSum(SchemaPath column) {
+        return statistics.hasExactColumnSum(column);
+      }
+
+      @Override
+      public Object getColumnSum(SchemaPath column) {
+        return statistics.getColumnSum(column);
+      }
+    };
+  }
+
 }
@@ -66,6 +66,12 @@ public class HashAggPrule extends AggPruleBase {
       return;
     }
 
+    if (PrelUtil.getPlannerSettings(call.getPlanner()).isHashDistinctEnabled()
+        && HashDistinctPrel.isDistinctOnly(aggregate)) {
+      // planned by HashDistinctPrule instead
+      return;
+    }
+
     RelTraitSet traits;
 
     try {
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.physical;
+
+import org.apache.drill.exec.planner.logical.DrillAggregateRel;
+import org.apache.drill.exec.planner.logical.RelOptHelper;
+import org.apache.drill.exec.planner.physical.AggPrelBase.OperatorPhase;
+import org.apache.calcite.rel.InvalidRelException;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTrait;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.util.trace.CalciteTrace;
+
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+
+/**
+ * Plans a duplicate-removing aggregate (SELECT DISTINCT, or UNION after it is
+ * rewritten to UNION ALL plus an aggregate) as a {@link HashDistinctPrel}.
+ * Takes over such aggregates from {@link HashAggPrule} when
+ * {@link PlannerSettings#HASH_DISTINCT} is set.
+ */
+public class HashDistinctPrule extends AggPruleBase {
+  public static final RelOptRule INSTANCE = new HashDistinctPrule();
+  protected static final Logger tracer = CalciteTrace.getPlannerTracer();
+
+  private HashDistinctPrule() {
+    super(RelOptHelper.some(DrillAggregateRel.class, RelOptHelper.any(RelNode.class)), "HashDistinctPrule");
+  }
+
+  @Override
+  public boolean matches(RelOptRuleCall call) {
+    DrillAggregateRel aggregate = call.rel(0);
+    return PrelUtil.getPlannerSettings(call.getPlanner()).isHashDistinctEnabled()
+        && HashDistinctPrel.isDistinctOnly(aggregate);
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final DrillAggregateRel aggregate = call.rel(0);
+    final RelNode input = call.rel(1);
+
+    try {
+      // hash distribute on all keys
+      DrillDistributionTrait distOnAllKeys =
+          new DrillDistributionTrait(DrillDistributionTrait.DistributionType.HASH_DISTRIBUTED,
+                                     ImmutableList.copyOf(getDistributionField(aggregate, true /* get all grouping keys */)));
+
+      RelTraitSet traits = call.getPlanner().emptyTraitSet().plus(Prel.DRILL_PHYSICAL).plus(distOnAllKeys);
+      createTransformRequest(call, aggregate, input, traits);
+
+      // hash distribute on single key
+      DrillDistributionTrait distOnOneKey =
+          new DrillDistributionTrait(DrillDistributionTrait.DistributionType.HASH_DISTRIBUTED,
+                                     ImmutableList.copyOf(getDistributionField(aggregate, false /* get single grouping key */)));
+
+      traits = call.getPlanner().emptyTraitSet().plus(Prel.DRILL_PHYSICAL).plus(distOnOneKey);
+      createTransformRequest(call, aggregate, input, traits);
+
+      if (create2PhasePlan(call, aggregate)) {
+        traits = call.getPlanner().emptyTraitSet().plus(Prel.DRILL_PHYSICAL);
+
+        RelNode convertedInput = convert(input, traits);
+        new TwoPhaseSubset(call, distOnAllKeys).go(aggregate, convertedInput);
+      }
+    } catch (InvalidRelException e) {
+      tracer.warn(e.toString());
+    }
+  }
+
+  /**
+   * Removing duplicates is idempotent, so both phases are the same operator:
+   * each minor fragment drops its local duplicates before the exchange.
+   */
+  private class TwoPhaseSubset extends SubsetTransformer<DrillAggregateRel, InvalidRelException> {
+    final RelTrait distOnAllKeys;
+
+    public TwoPhaseSubset(RelOptRuleCall call, RelTrait distOnAllKeys) {
+      super(call);
+      this.distOnAllKeys = distOnAllKeys;
+    }
+
+    @Override
+    public RelNode convertChild(DrillAggregateRel aggregate, RelNode input) throws InvalidRelException {
+
+      RelTraitSet traits = newTraitSet(Prel.DRILL_PHYSICAL, input.getTraitSet().getTrait(DrillDistributionTraitDef.INSTANCE));
+      RelNode newInput = convert(input, traits);
+
+      HashDistinctPrel phase1Distinct = new HashDistinctPrel(
+          aggregate.getCluster(),
+          traits,
+          newInput,
+          aggregate.getGroupSet(),
+          OperatorPhase.PHASE_1of2);
+
+      HashToRandomExchangePrel exch =
+          new HashToRandomExchangePrel(phase1Distinct.getCluster(), phase1Distinct.getTraitSet().plus(Prel.DRILL_PHYSICAL).plus(distOnAllKeys),
+              phase1Distinct, ImmutableList.copyOf(getDistributionField(aggregate, true)));
+
+      return new HashDistinctPrel(
+          aggregate.getCluster(),
+          exch.getTraitSet(),
+          exch,
+          remapGroupSet(aggregate.getGroupSet()),
+          OperatorPhase.PHASE_2of2);
+    }
+  }
+
+  private void createTransformRequest(RelOptRuleCall call, DrillAggregateRel aggregate,
+                                      RelNode input, RelTraitSet traits) throws InvalidRelException {
+
+    final RelNode convertedInput = convert(input, PrelUtil.fixTraits(call, traits));
+
+    HashDistinctPrel newDistinct = new HashDistinctPrel(
+        aggregate.getCluster(),
+        traits,
+        convertedInput,
+        aggregate.getGroupSet(),
+        OperatorPhase.PHASE_1of1);
+
+    call.transformTo(newDistinct);
+  }
+}
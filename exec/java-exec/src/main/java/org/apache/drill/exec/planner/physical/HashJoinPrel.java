@@ -25,12 +25,14 @@ import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.drill.common.logical.data.JoinCondition;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.physical.config.HashJoinPOP;
+import org.apache.drill.exec.physical.config.HashJoinPOP.SemiJoinType;
 import org.apache.drill.exec.physical.impl.join.JoinUtils;
 import org.apache.drill.exec.physical.impl.join.JoinUtils.JoinCategory;
 import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
 import org.apache.calcite.rel.InvalidRelException;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelOptCost;
 import org.apache.calcite.plan.RelOptPlanner;
@@ -42,6 +44,7 @@ import com.google.common.collect.Lists;
 public class HashJoinPrel  extends JoinPrel {
 
   private boolean swapped = false;
+  private final SemiJoinType semiJoinType;
 
   public HashJoinPrel(RelOptCluster cluster, RelTraitSet traits, RelNode left, RelNode right, RexNode condition,
                       JoinRelType joinType) throws InvalidRelException {
@@ -50,15 +53,21 @@ public class HashJoinPrel  extends JoinPrel {
 
   public HashJoinPrel(RelOptCluster cluster, RelTraitSet traits, RelNode left, RelNode right, RexNode condition,
       JoinRelType joinType, boolean swapped) throws InvalidRelException {
+    this(cluster, traits, left, right, condition, joinType, swapped, SemiJoinType.NONE);
+  }
+
+  public HashJoinPrel(RelOptCluster cluster, RelTraitSet traits, RelNode left, RelNode right, RexNode condition,
+      JoinRelType joinType, boolean swapped, SemiJoinType semiJoinType) throws InvalidRelException {
     super(cluster, traits, left, right, condition, joinType);
     this.swapped = swapped;
+    this.semiJoinType = semiJoinType;
     joincategory = JoinUtils.getJoinCategory(left, right, condition, leftKeys, rightKeys, filterNulls);
   }
 
   @Override
   public Join copy(RelTraitSet traitSet, RexNode conditionExpr, RelNode left, RelNode right, JoinRelType joinType, boolean semiJoinDone) {
     try {
-      return new HashJoinPrel(this.getCluster(), traitSet, left, right, conditionExpr, joinType, this.swapped);
+      return new HashJoinPrel(this.getCluster(), traitSet, left, right, conditionExpr, joinType, this.swapped, this.semiJoinType);
     }catch (InvalidRelException e) {
       throw new AssertionError(e);
     }
@@ -75,6 +84,12 @@ public class HashJoinPrel  extends JoinPrel {
     return computeHashJoinCost(planner, mq);
   }
 
+  @Override
+  public RelWriter explainTerms(RelWriter pw) {
+    return super.explainTerms(pw)
+        .itemIf("semiJoinType", semiJoinType, semiJoinType != SemiJoinType.NONE);
+  }
+
   @Override
   public PhysicalOperator getPhysicalOperator(PhysicalPlanCreator creator) throws IOException {
     // Depending on whether the left/right is swapped for hash inner join, pass in different
@@ -113,7 +128,7 @@ public class HashJoinPrel  extends JoinPrel {
 
     buildJoinConditions(conditions, leftFields, rightFields, leftKeys, rightKeys);
 
-    HashJoinPOP hjoin = new HashJoinPOP(leftPop, rightPop, conditions, jtype);
+    HashJoinPOP hjoin = new HashJoinPOP(leftPop, rightPop, conditions, jtype, semiJoinType);
     return creator.addMetadata(this, hjoin);
   }
 
@@ -125,4 +140,12 @@ public class HashJoinPrel  extends JoinPrel {
     return this.swapped;
   }
 
+  /**
+   * @return the semi-join mode; a semi or anti join must keep the subquery
+   * input on the build side, so it is never swapped
+   */
+  public SemiJoinType getSemiJoinType() {
+    return semiJoinType;
+  }
+
 }
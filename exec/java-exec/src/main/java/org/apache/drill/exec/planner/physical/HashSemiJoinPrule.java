@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.physical;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.drill.exec.physical.config.HashJoinPOP.SemiJoinType;
+import org.apache.drill.exec.physical.impl.join.JoinUtils;
+import org.apache.drill.exec.physical.impl.join.JoinUtils.JoinCategory;
+import org.apache.drill.exec.planner.logical.DrillAggregateRel;
+import org.apache.drill.exec.planner.logical.DrillFilterRel;
+import org.apache.drill.exec.planner.logical.DrillJoinRel;
+import org.apache.drill.exec.planner.logical.DrillProjectRel;
+import org.apache.drill.exec.planner.logical.RelOptHelper;
+import org.apache.calcite.rel.InvalidRelException;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelOptRuleOperand;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.trace.CalciteTrace;
+import org.slf4j.Logger;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+/**
+ * Plans semi and anti hash joins for decorrelated subqueries.
+ * <p>
+ * IN and EXISTS subqueries arrive as an inner join against a distinct
+ * aggregate over the subquery: <tt>Join(INNER, left, Aggregate(group by all))</tt>.
+ * When every output column of the aggregate is a join key, the aggregate
+ * only removes duplicate keys, which a semi hash join does by itself by
+ * emitting each probe row once on its first match. The aggregate is dropped
+ * and its input becomes the build side.
+ * <p>
+ * NOT EXISTS subqueries and hand-written anti joins arrive as
+ * <tt>Filter(IS NULL(r), Join(LEFT, left, right))</tt>, where <tt>r</tt> is a
+ * right column that is non-null in every joined row: for NOT EXISTS, the
+ * <tt>MIN(true)</tt> indicator of the aggregate over the subquery. The filter
+ * and the join are replaced by an anti hash join that emits only unmatched
+ * probe rows. NOT IN is not matched: its condition also checks for nulls in
+ * the subquery, which an anti join would ignore. When the right input has
+ * columns besides the join keys and the checked column, the rule first
+ * rewrites the filter and join over a project of just those columns, with
+ * the other right columns as typed nulls above the filter, so that the
+ * build side carries no payload.
+ * <p>
+ * Both forms keep the row type of the original join, with the right columns
+ * filled from the first match (semi) or null (anti).
+ */
+public class HashSemiJoinPrule extends JoinPruleBase {
+  public static final RelOptRule SEMI_DIST_INSTANCE = new HashSemiJoinPrule("Prel.HashSemiJoinDistPrule",
+      RelOptHelper.some(DrillJoinRel.class, RelOptHelper.any(RelNode.class), RelOptHelper.any(DrillAggregateRel.class)),
+      SemiJoinType.SEMI, true);
+  public static final RelOptRule SEMI_BROADCAST_INSTANCE = new HashSemiJoinPrule("Prel.HashSemiJoinBroadcastPrule",
+      RelOptHelper.some(DrillJoinRel.class, RelOptHelper.any(RelNode.class), RelOptHelper.any(DrillAggregateRel.class)),
+      SemiJoinType.SEMI, false);
+  public static final RelOptRule ANTI_DIST_INSTANCE = new HashSemiJoinPrule("Prel.HashAntiJoinDistPrule",
+      RelOptHelper.some(DrillFilterRel.class, RelOptHelper.any(DrillJoinRel.class)),
+      SemiJoinType.ANTI, true);
+  public static final RelOptRule ANTI_BROADCAST_INSTANCE = new HashSemiJoinPrule("Prel.HashAntiJoinBroadcastPrule",
+      RelOptHelper.some(DrillFilterRel.class, RelOptHelper.any(DrillJoinRel.class)),
+      SemiJoinType.ANTI, false);
+
+  protected static final Logger tracer = CalciteTrace.getPlannerTracer();
+
+  private final SemiJoinType semiJoinType;
+  private final boolean isDist;
+
+  private HashSemiJoinPrule(String name, RelOptRuleOperand operand, SemiJoinType semiJoinType, boolean isDist) {
+    super(operand, name);
+    this.semiJoinType = semiJoinType;
+    this.isDist = isDist;
+  }
+
+  @Override
+  public boolean matches(RelOptRuleCall call) {
+    return PrelUtil.getPlannerSettings(call.getPlanner()).isHashSemiJoinEnabled();
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final DrillJoinRel join = call.rel(semiJoinType == SemiJoinType.SEMI ? 0 : 1);
+    final RelNode left = join.getLeft();
+    final RelNode right;
+
+    List<Integer> leftKeys = Lists.newArrayList();
+    List<Integer> rightKeys = Lists.newArrayList();
+    List<Boolean> filterNulls = Lists.newArrayList();
+    if (JoinUtils.getJoinCategory(left, join.getRight(), join.getCondition(),
+        leftKeys, rightKeys, filterNulls) != JoinCategory.EQUALITY) {
+      return;
+    }
+
+    if (semiJoinType == SemiJoinType.SEMI) {
+      final DrillAggregateRel aggregate = call.rel(2);
+      if (join.getJoinType() != JoinRelType.INNER || !isKeyOnlyDistinct(aggregate, rightKeys)) {
+        return;
+      }
+      right = aggregate.getInput();
+    } else {
+      final DrillFilterRel filter = call.rel(0);
+      final int checkedColumn = getUnmatchedCheckColumn(filter.getCondition(), join, rightKeys, filterNulls);
+      if (join.getJoinType() != JoinRelType.LEFT || checkedColumn < 0) {
+        return;
+      }
+      final List<Integer> buildColumns = Lists.newArrayList();
+      for (int column : Iterables.concat(rightKeys, Collections.singleton(checkedColumn))) {
+        if (!buildColumns.contains(column)) {
+          buildColumns.add(column);
+        }
+      }
+      if (buildColumns.size() < join.getRight().getRowType().getFieldCount()) {
+        call.transformTo(projectBuildColumns(filter, join, buildColumns, checkedColumn));
+        return;
+      }
+      right = join.getRight();
+    }
+
+    try {
+      if (isDist) {
+        createDistBothPlan(call, join, PhysicalJoinType.HASH_JOIN, left, right,
+            null /* left collation */, null /* right collation */,
+            PrelUtil.getPlannerSettings(call.getPlanner()).isHashSingleKey(), semiJoinType);
+      } else if (checkBroadcastConditions(call.getPlanner(), join, left, right)) {
+        createBroadcastPlan(call, join, join.getCondition(), PhysicalJoinType.HASH_JOIN, left, right,
+            null /* left collation */, null /* right collation */, semiJoinType);
+      }
+    } catch (InvalidRelException e) {
+      tracer.warn(e.toString());
+    }
+  }
+
+  /**
+   * @return true if the aggregate is a plain DISTINCT whose every output
+   * column is a join key, so that it can only remove duplicate keys
+   */
+  private static boolean isKeyOnlyDistinct(DrillAggregateRel aggregate, List<Integer> rightKeys) {
+    return HashDistinctPrel.isDistinctOnly(aggregate) &&
+        ImmutableBitSet.of(rightKeys).contains(ImmutableBitSet.range(aggregate.getRowType().getFieldCount()));
+  }
+
+  /**
+   * @return the index in the right input of the column that the filter checks
+   * with <tt>IS NULL</tt>, when that column cannot be null in a matched row:
+   * either a null-rejecting join key, or a column declared non-nullable by the
+   * right input; -1 otherwise
+   */
+  private static int getUnmatchedCheckColumn(RexNode condition, DrillJoinRel join,
+                                             List<Integer> rightKeys, List<Boolean> filterNulls) {
+    if (condition.getKind() != SqlKind.IS_NULL) {
+      return -1;
+    }
+    final RexNode operand = ((RexCall) condition).getOperands().get(0);
+    if (!(operand instanceof RexInputRef)) {
+      return -1;
+    }
+    final int rightIndex = ((RexInputRef) operand).getIndex() - join.getLeft().getRowType().getFieldCount();
+    if (rightIndex < 0) {
+      return -1;
+    }
+    final int keyIndex = rightKeys.indexOf(rightIndex);
+    if (keyIndex >= 0 && filterNulls.get(keyIndex)) {
+      return rightIndex;
+    }
+    return join.getRight().getRowType().getFieldList().get(rightIndex).getType().isNullable() ? -1 : rightIndex;
+  }
+
+  /**
+   * Rewrite <tt>Filter(IS NULL(r), Join(LEFT, left, right))</tt> as
+   * <tt>Project(left, nulls, Filter(IS NULL(r), Join(LEFT, left, Project(right, buildColumns))))</tt>.
+   * The anti join planned for the rewritten filter and join then builds on
+   * the given columns only.
+   */
+  private static RelNode projectBuildColumns(DrillFilterRel filter, DrillJoinRel join,
+                                             List<Integer> buildColumns, int checkedColumn) {
+    final RexBuilder rexBuilder = join.getCluster().getRexBuilder();
+    final RelNode right = join.getRight();
+    final int leftCount = join.getLeft().getRowType().getFieldCount();
+    final List<RelDataTypeField> rightFields = right.getRowType().getFieldList();
+
+    final List<RexNode> buildExprs = Lists.newArrayList();
+    final List<String> buildNames = Lists.newArrayList();
+    for (int column : buildColumns) {
+      buildExprs.add(rexBuilder.makeInputRef(right, column));
+      buildNames.add(rightFields.get(column).getName());
+    }
+    final RelNode buildInput = DrillProjectRel.create(join.getCluster(), join.getTraitSet(), right, buildExprs,
+        RexUtil.createStructType(join.getCluster().getTypeFactory(), buildExprs, buildNames, null));
+
+    // Every right column of an equality condition is a join key, and so among the build columns
+    final RexNode condition = join.getCondition().accept(new RexShuttle() {
+      @Override
+      public RexNode visitInputRef(RexInputRef inputRef) {
+        final int index = inputRef.getIndex();
+        if (index < leftCount) {
+          return inputRef;
+        }
+        return new RexInputRef(leftCount + buildColumns.indexOf(index - leftCount), inputRef.getType());
+      }
+    });
+    final DrillJoinRel newJoin = new DrillJoinRel(join.getCluster(), join.getTraitSet(), join.getLeft(),
+        buildInput, condition, JoinRelType.LEFT);
+    final RelNode newFilter = DrillFilterRel.create(newJoin,
+        rexBuilder.makeCall(SqlStdOperatorTable.IS_NULL,
+            rexBuilder.makeInputRef(newJoin, leftCount + buildColumns.indexOf(checkedColumn))));
+
+    final List<RexNode> outputExprs = Lists.newArrayList();
+    for (int i = 0; i < leftCount; i++) {
+      outputExprs.add(rexBuilder.makeInputRef(newFilter, i));
+    }
+    for (RelDataTypeField field : filter.getRowType().getFieldList().subList(leftCount, filter.getRowType().getFieldCount())) {
+      outputExprs.add(rexBuilder.makeNullLiteral(field.getType()));
+    }
+    return DrillProjectRel.create(join.getCluster(), join.getTraitSet(), newFilter, outputExprs, filter.getRowType());
+  }
+}
@@ -54,9 +54,11 @@ public class PlannerSettings implements Context{
   public static final OptionValidator CONSTANT_FOLDING = new BooleanValidator("planner.enable_constant_folding");
   public static final OptionValidator EXCHANGE = new BooleanValidator("planner.disable_exchanges");
   public static final OptionValidator HASHAGG = new BooleanValidator("planner.enable_hashagg");
+  public static final OptionValidator HASH_DISTINCT = new BooleanValidator("planner.enable_hash_distinct");
   public static final OptionValidator STREAMAGG = new BooleanValidator("planner.enable_streamagg");
   public static final OptionValidator TOPN = new BooleanValidator("planner.enable_topn");
   public static final OptionValidator HASHJOIN = new BooleanValidator("planner.enable_hashjoin");
+  public static final OptionValidator HASH_SEMI_JOIN = new BooleanValidator("planner.enable_hash_semijoin");
   public static final OptionValidator MERGEJOIN = new BooleanValidator("planner.enable_mergejoin");
   public static final OptionValidator NESTEDLOOPJOIN = new BooleanValidator("planner.enable_nestedloopjoin");
   public static final OptionValidator MULTIPHASE = new BooleanValidator("planner.enable_multiphase_agg");
@@ -141,6 +143,10 @@ public class PlannerSettings implements Context{
      the need to turn off join optimization may go away.
    */
   public static final BooleanValidator JOIN_OPTIMIZATION = new BooleanValidator("planner.enable_join_optimization");
+  /**
+   * Reuse the plans of repeated queries; see {@link org.apache.drill.exec.planner.sql.PlanCache}.
+   */
+  public static final BooleanValidator PLAN_CACHE = new BooleanValidator("planner.enable_plan_cache");
   // for testing purpose
   public static final String FORCE_2PHASE_AGGR_KEY = "planner.force_2phase_aggr";
   public static final BooleanValidator FORCE_2PHASE_AGGR = new BooleanValidator(FORCE_2PHASE_AGGR_KEY);
@@ -201,6 +207,10 @@ public class PlannerSettings implements Context{
     return options.getOption(HASHAGG.getOptionName()).bool_val;
   }
 
+  public boolean isHashDistinctEnabled() {
+    return isHashAggEnabled() && options.getOption(HASH_DISTINCT.getOptionName()).bool_val;
+  }
+
   public boolean isConstantFoldingEnabled() {
     return options.getOption(CONSTANT_FOLDING.getOptionName()).bool_val;
   }
@@ -213,6 +223,10 @@ public class PlannerSettings implements Context{
     return options.getOption(HASHJOIN.getOptionName()).bool_val;
   }
 
+  public boolean isHashSemiJoinEnabled() {
+    return isHashJoinEnabled() && options.getOption(HASH_SEMI_JOIN.getOptionName()).bool_val;
+  }
+
   public boolean isMergeJoinEnabled() {
     return options.getOption(MERGEJOIN.getOptionName()).bool_val;
   }
@@ -34,6 +34,7 @@ public class WriterPrel extends DrillWriterRelBase implements Prel {
 
   public static final String PARTITION_COMPARATOR_FIELD = "P_A_R_T_I_T_I_O_N_C_O_M_P_A_R_A_T_O_R";
   public static final String PARTITION_COMPARATOR_FUNC = "newPartitionValue";
+  public static final String BUCKET_FIELD = "B_U_C_K_E_T";
 
   public WriterPrel(RelOptCluster cluster, RelTraitSet traits, RelNode child, CreateTableEntry createTableEntry) {
     super(Prel.DRILL_PHYSICAL, cluster, traits, child, createTableEntry);
@@ -50,11 +50,26 @@ public class WriterPrule extends Prule{
     final RelNode input = call.rel(1);
 
     final List<Integer> keys = writer.getPartitionKeys();
-    final RelCollation collation = getCollation(keys);
     final boolean hashDistribute = PrelUtil.getPlannerSettings(call.getPlanner()).getOptions().getOption(ExecConstants.CTAS_PARTITIONING_HASH_DISTRIBUTE_VALIDATOR);
-    final RelTraitSet traits = hashDistribute ?
-        input.getTraitSet().plus(Prel.DRILL_PHYSICAL).plus(collation).plus(getDistribution(keys)) :
-        input.getTraitSet().plus(Prel.DRILL_PHYSICAL).plus(collation);
+
+    // Rows are sorted by partition, bucket and cluster columns, so that each fragment writes the rows of a
+    // partition and bucket into consecutive files, and the files of a bucket have narrow min/max statistics
+    // on the cluster columns.
+    final List<Integer> sortKeys = Lists.newArrayList(keys);
+    // A bucket is written by a single fragment, unbucketed clustered tables are distributed by their cluster columns.
+    final List<Integer> distributionKeys = hashDistribute ? Lists.newArrayList(keys) : Lists.<Integer>newArrayList();
+    if (writer.getBucketKey() != null) {
+      sortKeys.add(writer.getBucketKey());
+      distributionKeys.add(writer.getBucketKey());
+    } else {
+      addKeys(distributionKeys, writer.getClusterKeys());
+    }
+    addKeys(sortKeys, writer.getClusterKeys());
+
+    final RelCollation collation = getCollation(sortKeys);
+    final RelTraitSet traits = distributionKeys.isEmpty() ?
+        input.getTraitSet().plus(Prel.DRILL_PHYSICAL).plus(collation) :
+        input.getTraitSet().plus(Prel.DRILL_PHYSICAL).plus(collation).plus(getDistribution(distributionKeys));
 
     final RelNode convertedInput = convert(input, traits);
 
@@ -66,6 +81,14 @@ public class WriterPrule extends Prule{
     }
   }
 
+  private void addKeys(List<Integer> keys, List<Integer> newKeys) {
+    for (Integer key : newKeys) {
+      if (!keys.contains(key)) {
+        keys.add(key);
+      }
+    }
+  }
+
   private RelCollation getCollation(List<Integer> keys){
     List<RelFieldCollation> fields = Lists.newArrayList();
     for (int key : keys) {
@@ -19,6 +19,7 @@ package org.apache.drill.exec.planner.physical.visitor;
 
 import com.google.common.collect.Lists;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.drill.exec.physical.config.HashJoinPOP;
 import org.apache.drill.exec.planner.physical.HashJoinPrel;
 import org.apache.drill.exec.planner.physical.JoinPrel;
 import org.apache.drill.exec.planner.physical.Prel;
@@ -63,8 +64,10 @@ public class SwapHashJoinVisitor extends BasePrelVisitor<Prel, Double, RuntimeEx
   public Prel visitJoin(JoinPrel prel, Double value) throws RuntimeException {
     JoinPrel newJoin = (JoinPrel) visitPrel(prel, value);
 
-    if (prel instanceof HashJoinPrel) {
+    if (prel instanceof HashJoinPrel &&
+        ((HashJoinPrel) prel).getSemiJoinType() == HashJoinPOP.SemiJoinType.NONE) {
       // Mark left/right is swapped, when INNER hash join's left row count < ( 1+ margin factor) right row count.
+      // Semi joins are never swapped: the build side must remain the subquery input.
       RelMetadataQuery mq = newJoin.getCluster().getMetadataQuery();
       if (newJoin.getLeft().estimateRowCount(mq) < (1 + value) * newJoin.getRight().estimateRowCount(mq) &&
           newJoin.getJoinType() == JoinRelType.INNER) {
@@ -37,6 +37,10 @@ import org.apache.drill.exec.planner.sql.handlers.SqlHandlerConfig;
 import org.apache.drill.exec.planner.sql.parser.DrillSqlCall;
 import org.apache.drill.exec.planner.sql.parser.DrillSqlDescribeTable;
 import org.apache.drill.exec.planner.sql.parser.SqlCreateTable;
+import org.apache.drill.exec.planner.sql.parser.SqlShowFiles;
+import org.apache.drill.exec.planner.sql.parser.SqlShowSchemas;
+import org.apache.drill.exec.planner.sql.parser.SqlShowTables;
+import org.apache.drill.exec.planner.sql.parser.SqlUseSchema;
 import org.apache.drill.exec.testing.ControlsInjector;
 import org.apache.drill.exec.testing.ControlsInjectorFactory;
 import org.apache.drill.exec.util.Pointer;
@@ -106,6 +110,17 @@ public class DrillSqlWorker {
 
     injector.injectChecked(context.getExecutionControls(), "sql-parsing", ForemanSetupException.class);
     final SqlNode sqlNode = parser.parse(sql);
+
+    final PlanCache planCache = context.getPlanCache();
+    final PlanCache.Key cacheKey = planCache.getKey(context, sql, sqlNode);
+    if (cacheKey != null) {
+      final PhysicalPlan cachedPlan = planCache.get(cacheKey, textPlan);
+      if (cachedPlan != null) {
+        logger.debug("Using cached plan for query {}.", context.getQueryId());
+        return cachedPlan;
+      }
+    }
+
     final AbstractSqlHandler handler;
     final SqlHandlerConfig config = new SqlHandlerConfig(context, parser);
 
@@ -141,8 +156,16 @@ public class DrillSqlWorker {
       handler = new DefaultSqlHandler(config, textPlan);
     }
 
+    if (changesSchema(sqlNode)) {
+      planCache.invalidateAll();
+    }
+
     try {
-      return handler.getPlan(sqlNode);
+      final PhysicalPlan plan = handler.getPlan(sqlNode);
+      if (cacheKey != null) {
+        planCache.put(cacheKey, sqlNode, context, plan, textPlan == null ? null : textPlan.value);
+      }
+      return plan;
     } catch(ValidationException e) {
       String errorMessage = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
       throw UserException.validationError(e)
@@ -158,4 +181,16 @@ public class DrillSqlWorker {
       throw new QueryInputException("Failure handling SQL.", e);
     }
   }
+
+  /**
+   * @return whether the statement may change the tables, views or functions that queries refer to
+   */
+  private static boolean changesSchema(SqlNode sqlNode) {
+    return sqlNode instanceof DrillSqlCall
+        && !(sqlNode instanceof DrillSqlDescribeTable
+            || sqlNode instanceof SqlShowFiles
+            || sqlNode instanceof SqlShowSchemas
+            || sqlNode instanceof SqlShowTables
+            || sqlNode instanceof SqlUseSchema);
+  }
 }
@@ -0,0 +1,735 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.sql;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlCharStringLiteral;
+import org.apache.calcite.sql.SqlDynamicParam;
+import org.apache.calcite.sql.SqlFunction;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNumericLiteral;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.SqlOrderBy;
+import org.apache.calcite.sql.SqlSelect;
+import org.apache.calcite.sql.SqlSyntax;
+import org.apache.calcite.sql.util.SqlBasicVisitor;
+import org.apache.calcite.sql.util.SqlShuttle;
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.common.exceptions.ExecutionSetupException;
+import org.apache.drill.common.expression.BooleanOperator;
+import org.apache.drill.common.expression.CastExpression;
+import org.apache.drill.common.expression.ConvertExpression;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.ValueExpressions.IntExpression;
+import org.apache.drill.common.expression.ValueExpressions.LongExpression;
+import org.apache.drill.common.expression.ValueExpressions.QuotedString;
+import org.apache.drill.common.logical.data.NamedExpression;
+import org.apache.drill.common.logical.PlanProperties;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.expr.CloneVisitor;
+import org.apache.drill.exec.expr.fn.DrillFuncHolder;
+import org.apache.drill.exec.expr.fn.WorkspaceReference;
+import org.apache.drill.exec.ops.ContextInformation;
+import org.apache.drill.exec.ops.QueryContext;
+import org.apache.drill.exec.physical.PhysicalPlan;
+import org.apache.drill.exec.physical.base.AbstractPhysicalVisitor;
+import org.apache.drill.exec.physical.base.GroupScan;
+import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.physical.config.Filter;
+import org.apache.drill.exec.physical.config.Project;
+import org.apache.drill.exec.physical.config.Values;
+import org.apache.drill.exec.planner.PhysicalPlanReader;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.planner.sql.handlers.DefaultSqlHandler;
+import org.apache.drill.exec.server.options.OptionValue;
+import org.apache.drill.exec.store.ClassPathFileSystem;
+import org.apache.drill.exec.store.LocalSyncableFileSystem;
+import org.apache.drill.exec.store.direct.DirectGroupScan;
+import org.apache.drill.exec.util.Pointer;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Lists;
+import com.google.common.primitives.Ints;
+
+/**
+ * Cache of the physical plans of repeated SQL queries. A hit skips validation and all planner phases.
+ * <p>
+ * Entries are keyed by the statement text together with everything else the plan depends on: the query user, the
+ * session's default schema, the function registry version, the query's option values and the schema version of this
+ * cache. Most literals are part of the statement text on purpose: Drill folds literals into the plan itself (partition
+ * pruning, filter and limit push down into scans), so a plan is only valid for the literals it was planned with.
+ * <p>
+ * Integer and character literals that can not reach a scan are the exception: those of the select list of the
+ * outermost query, outside of subqueries and window clauses, and those compared with an aggregate in its HAVING clause.
+ * They are replaced by parameters in the key, along with their types, and the cached plan is re-bound to the literals
+ * of each hit. This is only done when each such literal shows up exactly once among the expressions of the projects
+ * and filters of the plan; when the planner folded a literal away or copied it, the entry is only used for the
+ * literals it was planned with. The text plan of a re-bound entry still shows the literals it was planned with.
+ * <p>
+ * The optimized plan itself is kept, and each hit gets its own copy of the operators, made the way fragments are
+ * materialized: scans share the metadata read while planning, Parquet footers are not read again. Direct scans, such
+ * as the answer of a count(*) from metadata, are copied through their JSON form, since their record reader keeps the
+ * state of the query reading it. Plans that can not be copied are not cached. Queries that call functions depending on
+ * the query context, such as now(), user() or random(), are not cached, nor are queries of sessions with temporary
+ * tables.
+ * <p>
+ * A plan, and a direct scan in particular, is only valid for the files it was planned with. The modification times of
+ * the directories holding the scanned files are kept with the plan and checked on each hit, so files added to or
+ * removed from those directories cause the query to be planned again. Any statement other than a query (CREATE VIEW,
+ * DROP TABLE, CTAS...) run through this Drillbit bumps the schema version, which makes all cached plans unreachable.
+ * Other changes, such as a file rewritten in place, are picked up when entries expire
+ * ({@link ExecConstants#PLAN_CACHE_EXPIRY_SECS}).
+ */
+public class PlanCache {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(PlanCache.class);
+
+  private final PhysicalPlanReader reader;
+  private final Cache<Key, Entry> cache;
+  private final AtomicLong schemaVersion = new AtomicLong();
+  private final Configuration fsConf;
+
+  public PlanCache(DrillConfig config, PhysicalPlanReader reader) {
+    this.reader = reader;
+    // the scanned files are fully qualified, only the file systems Drill adds itself need to be known
+    fsConf = new Configuration();
+    fsConf.set("fs.classpath.impl", ClassPathFileSystem.class.getName());
+    fsConf.set("fs.drill-local.impl", LocalSyncableFileSystem.class.getName());
+    cache = CacheBuilder.newBuilder()
+        .maximumSize(config.getLong(ExecConstants.PLAN_CACHE_MAX_SIZE))
+        .expireAfterWrite(config.getLong(ExecConstants.PLAN_CACHE_EXPIRY_SECS), TimeUnit.SECONDS)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Key of a statement in the given query context.
+   *
+   * @param sql statement text
+   * @param sqlNode parsed statement
+   * @return the key, or null if the plan of the statement must not be cached
+   */
+  public Key getKey(QueryContext context, String sql, SqlNode sqlNode) {
+    if (!context.getOptions().getOption(PlannerSettings.PLAN_CACHE) || context.getSession().hasTemporaryTables()) {
+      return null;
+    }
+    String statement = sql;
+    final List<String> literalTypes = new ArrayList<>();
+    final List<Object> literals = new ArrayList<>();
+    final List<SqlLiteral> bindable = getBindableLiterals(sqlNode);
+    if (!bindable.isEmpty()) {
+      try {
+        statement = replaceLiterals(sqlNode, bindable).toString();
+        for (SqlLiteral literal : bindable) {
+          literalTypes.add(getLiteralType(literal));
+          literals.add(getLiteralValue(literal));
+        }
+      } catch (RuntimeException e) {
+        logger.debug("Statement can not be parameterized, caching its plan by its text.", e);
+        statement = sql;
+        literalTypes.clear();
+        literals.clear();
+      }
+    }
+    return new Key(statement, literalTypes, literals, context.getQueryUserName(),
+        context.getSession().getDefaultSchemaPath(), context.getDrillOperatorTable().getFunctionRegistryVersion(),
+        schemaVersion.get(), new HashSet<>(context.getOptions().getOptionList()));
+  }
+
+  /**
+   * Get a new copy of a cached plan.
+   *
+   * @param textPlan set to the text plan of the cached plan, if not null
+   * @return the plan, or null if none is cached or the scanned directories changed
+   */
+  public PhysicalPlan get(Key key, Pointer<String> textPlan) {
+    final Entry entry = cache.getIfPresent(key);
+    if (entry == null) {
+      return null;
+    }
+    if (!entry.bindable && !entry.literals.equals(key.literals)) {
+      logger.debug("Cached plan can not be re-bound to other literals, planning the query again.");
+      return null;
+    }
+    try {
+      if (!entry.isCurrent(fsConf)) {
+        logger.debug("Scanned directories changed, planning the query again.");
+        cache.invalidate(key);
+        return null;
+      }
+      final PhysicalPlan plan = copy(entry.plan, new LiteralBinder(entry.literals, key.literals));
+      if (textPlan != null) {
+        textPlan.value = entry.textPlan;
+      }
+      return plan;
+    } catch (IOException | ExecutionSetupException | IllegalArgumentException e) {
+      logger.warn("Failure reading cached plan, planning the query again.", e);
+      cache.invalidate(key);
+      return null;
+    }
+  }
+
+  /**
+   * Cache the plan of a statement, unless the statement is not a query or depends on the query context.
+   *
+   * @param sqlNode parsed statement
+   * @param plan plan of the query, which the query may go on to use, a copy is cached
+   * @param textPlan text plan of the query
+   */
+  public void put(Key key, SqlNode sqlNode, QueryContext context, PhysicalPlan plan, String textPlan) {
+    if (!SqlKind.QUERY.contains(sqlNode.getKind()) || dependsOnContext(sqlNode, context.getDrillOperatorTable())) {
+      return;
+    }
+    final Entry entry;
+    try {
+      final PhysicalPlan copy = copy(plan, null);
+      entry = new Entry(copy, textPlan, key.literals, isBindable(copy, key.literals), getDirectories(copy), fsConf);
+    } catch (IOException | ExecutionSetupException | RuntimeException e) {
+      logger.debug("Plan of query can not be cached.", e);
+      return;
+    }
+    cache.put(key, entry);
+  }
+
+  /**
+   * Called for statements other than queries, which may change the schema seen by cached plans.
+   */
+  public void invalidateAll() {
+    schemaVersion.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  /**
+   * Literals of a query that can be re-bound in its plan: the integer and character literals of the select list of the
+   * outermost query and those compared with an aggregate in its HAVING clause. Neither can be pushed into a scan.
+   */
+  private static List<SqlLiteral> getBindableLiterals(SqlNode sqlNode) {
+    final List<SqlLiteral> literals = new ArrayList<>();
+    final SqlNode query = sqlNode instanceof SqlOrderBy ? ((SqlOrderBy) sqlNode).query : sqlNode;
+    if (!(query instanceof SqlSelect)) {
+      return literals;
+    }
+    final SqlSelect select = (SqlSelect) query;
+    select.getSelectList().accept(new SqlBasicVisitor<Void>() {
+      @Override
+      public Void visit(SqlLiteral literal) {
+        if (getLiteralType(literal) != null) {
+          literals.add(literal);
+        }
+        return null;
+      }
+
+      @Override
+      public Void visit(SqlCall call) {
+        // literals of subqueries may be pushed into their scans, those of window clauses are not projected
+        if (call instanceof SqlSelect || SqlKind.QUERY.contains(call.getKind()) || call.getKind() == SqlKind.OVER) {
+          return null;
+        }
+        return super.visit(call);
+      }
+    });
+    if (select.getHaving() != null) {
+      addAggregateComparisonLiterals(select.getHaving(), literals);
+    }
+    return literals;
+  }
+
+  /**
+   * Add the literals of a HAVING condition that are compared with an aggregate, looking through AND, OR and NOT.
+   */
+  private static void addAggregateComparisonLiterals(SqlNode condition, List<SqlLiteral> literals) {
+    if (!(condition instanceof SqlCall)) {
+      return;
+    }
+    final SqlCall call = (SqlCall) condition;
+    if (call.getKind() == SqlKind.AND || call.getKind() == SqlKind.OR || call.getKind() == SqlKind.NOT) {
+      for (SqlNode operand : call.getOperandList()) {
+        addAggregateComparisonLiterals(operand, literals);
+      }
+    } else if (SqlKind.COMPARISON.contains(call.getKind()) && call.operandCount() == 2) {
+      for (int i = 0; i < 2; i++) {
+        final SqlNode operand = call.operand(i);
+        if (operand instanceof SqlLiteral && getLiteralType((SqlLiteral) operand) != null
+            && isAggregate(call.operand(1 - i))) {
+          literals.add((SqlLiteral) operand);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return whether the expression calls an aggregate function and has no subquery
+   */
+  private static boolean isAggregate(SqlNode expression) {
+    final boolean[] found = { false, false };
+    expression.accept(new SqlBasicVisitor<Void>() {
+      @Override
+      public Void visit(SqlCall call) {
+        if (call instanceof SqlSelect || SqlKind.QUERY.contains(call.getKind())) {
+          found[1] = true;
+          return null;
+        }
+        found[0] |= call.getOperator().isAggregator();
+        return super.visit(call);
+      }
+    });
+    return found[0] && !found[1];
+  }
+
+  /**
+   * @return the type of a literal as it is part of a key, or null if the literal can not be re-bound
+   */
+  private static String getLiteralType(SqlLiteral literal) {
+    if (literal instanceof SqlNumericLiteral) {
+      final SqlNumericLiteral number = (SqlNumericLiteral) literal;
+      if (!number.isExact() || number.getScale() != 0) {
+        return null;
+      }
+      // same as the type Calcite gives the literal
+      final long value = ((BigDecimal) number.getValue()).longValue();
+      return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? "INTEGER" : "BIGINT";
+    }
+    if (literal instanceof SqlCharStringLiteral) {
+      return "CHAR(" + ((SqlCharStringLiteral) literal).getNlsString().getValue().length() + ")";
+    }
+    return null;
+  }
+
+  private static Object getLiteralValue(SqlLiteral literal) {
+    if (literal instanceof SqlNumericLiteral) {
+      return ((BigDecimal) literal.getValue()).longValueExact();
+    }
+    return ((SqlCharStringLiteral) literal).getNlsString().getValue();
+  }
+
+  /**
+   * @return a copy of the statement with the given literals replaced by parameters
+   */
+  private static SqlNode replaceLiterals(SqlNode sqlNode, List<SqlLiteral> literals) {
+    final Set<SqlLiteral> replaced = Collections.newSetFromMap(new IdentityHashMap<SqlLiteral, Boolean>());
+    replaced.addAll(literals);
+    return sqlNode.accept(new SqlShuttle() {
+      @Override
+      public SqlNode visit(SqlLiteral literal) {
+        return replaced.contains(literal) ? new SqlDynamicParam(0, literal.getParserPosition()) : literal;
+      }
+    });
+  }
+
+  /**
+   * @return whether each of the literals of the key shows up exactly once among the expressions of the projects and
+   * filters of the plan, and in no other operator that keeps rows of literals
+   */
+  private static boolean isBindable(PhysicalPlan plan, List<Object> literals) {
+    if (literals.isEmpty()) {
+      return true;
+    }
+    final LiteralBinder binder = new LiteralBinder(literals, literals);
+    for (PhysicalOperator op : plan.getSortedOperators(false)) {
+      if (op instanceof Values) {
+        // a project of literals over values is folded into the values
+        return false;
+      } else if (op instanceof Project) {
+        for (NamedExpression expr : ((Project) op).getExprs()) {
+          expr.getExpr().accept(binder, null);
+        }
+      } else if (op instanceof Filter) {
+        ((Filter) op).getExpr().accept(binder, null);
+      }
+    }
+    return binder.isBoundOnce();
+  }
+
+  private static boolean dependsOnContext(SqlNode sqlNode, final DrillOperatorTable table) {
+    final boolean[] found = { false };
+    sqlNode.accept(new SqlBasicVisitor<Void>() {
+      @Override
+      public Void visit(SqlCall call) {
+        final SqlOperator operator = call.getOperator();
+        found[0] |= dependsOnContext(operator)
+            || operator instanceof SqlFunction && dependsOnContext(table, operator.getNameAsId(), SqlSyntax.FUNCTION);
+        return super.visit(call);
+      }
+
+      @Override
+      public Void visit(SqlIdentifier id) {
+        // niladic functions are parsed as identifiers
+        if (id.isSimple()) {
+          found[0] |= dependsOnContext(table, id, SqlSyntax.FUNCTION_ID);
+        }
+        return null;
+      }
+    });
+    return found[0];
+  }
+
+  private static boolean dependsOnContext(DrillOperatorTable table, SqlIdentifier name, SqlSyntax syntax) {
+    final List<SqlOperator> operators = Lists.newArrayList();
+    table.lookupOperatorOverloads(name, null, syntax, operators);
+    for (SqlOperator operator : operators) {
+      if (dependsOnContext(operator)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean dependsOnContext(SqlOperator operator) {
+    if (operator.isDynamicFunction() || !operator.isDeterministic()) {
+      return true;
+    }
+    if (operator instanceof DrillSqlOperator) {
+      for (DrillFuncHolder holder : ((DrillSqlOperator) operator).getFunctions()) {
+        if (!holder.isDeterministic()) {
+          return true;
+        }
+        for (WorkspaceReference workspace : holder.getWorkspaceVars()) {
+          if (workspace.isInject() && workspace.getType() == ContextInformation.class) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Statement and everything else its plan depends on. The values of the literals replaced by parameters in the
+   * statement are kept with the key but are not part of it.
+   */
+  public static class Key {
+    private final String sql;
+    private final List<String> literalTypes;
+    private final List<Object> literals;
+    private final String userName;
+    private final String defaultSchema;
+    private final long functionRegistryVersion;
+    private final long schemaVersion;
+    private final Set<OptionValue> options;
+
+    private Key(String sql, List<String> literalTypes, List<Object> literals, String userName, String defaultSchema,
+        long functionRegistryVersion, long schemaVersion, Set<OptionValue> options) {
+      this.sql = sql;
+      this.literalTypes = literalTypes;
+      this.literals = literals;
+      this.userName = userName;
+      this.defaultSchema = defaultSchema;
+      this.functionRegistryVersion = functionRegistryVersion;
+      this.schemaVersion = schemaVersion;
+      this.options = options;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(sql, literalTypes, userName, defaultSchema, functionRegistryVersion, schemaVersion, options);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return sql.equals(other.sql)
+          && literalTypes.equals(other.literalTypes)
+          && Objects.equals(userName, other.userName)
+          && Objects.equals(defaultSchema, other.defaultSchema)
+          && functionRegistryVersion == other.functionRegistryVersion
+          && schemaVersion == other.schemaVersion
+          && options.equals(other.options);
+    }
+  }
+
+  /**
+   * Copy of a plan with its own operators, see {@link PlanCopier}.
+   *
+   * @param binder binds the literals of the projects and filters of the copy, if not null
+   */
+  private PhysicalPlan copy(PhysicalPlan plan, LiteralBinder binder) throws ExecutionSetupException {
+    final PhysicalOperator root = plan.getSortedOperators(false).iterator().next().accept(new PlanCopier(binder), null);
+    final PlanProperties properties = plan.getProperties();
+    final PlanProperties propertiesCopy = PlanProperties.builder()
+        .type(properties.type)
+        .version(properties.version)
+        .generator(properties.generator)
+        .resultMode(properties.resultMode)
+        .options(properties.options)
+        .queue(properties.queue)
+        .generator(properties.hasResourcePlan)
+        .build();
+    return new PhysicalPlan(propertiesCopy, DefaultSqlHandler.getPops(root));
+  }
+
+  /**
+   * Directories holding the files of the scans of a plan, along with the directories between them and their common
+   * ancestor, in which new partitions would show up.
+   */
+  private static Set<Path> getDirectories(PhysicalPlan plan) {
+    final Set<Path> parents = new LinkedHashSet<>();
+    for (PhysicalOperator op : plan.getSortedOperators(false)) {
+      if (op instanceof GroupScan && ((GroupScan) op).hasFiles()) {
+        for (String file : ((GroupScan) op).getFiles()) {
+          parents.add(new Path(file).getParent());
+        }
+      }
+    }
+    Path root = null;
+    for (Path parent : parents) {
+      root = root == null ? parent : getCommonAncestor(root, parent);
+    }
+    final Set<Path> directories = new LinkedHashSet<>(parents);
+    if (root != null) {
+      for (Path parent : parents) {
+        for (Path dir = parent.getParent(); dir != null && dir.depth() >= root.depth(); dir = dir.getParent()) {
+          directories.add(dir);
+        }
+      }
+    }
+    return directories;
+  }
+
+  /**
+   * @return the common ancestor of two directories, or null if they are on different file systems
+   */
+  private static Path getCommonAncestor(Path a, Path b) {
+    while (a != null && a.depth() > b.depth()) {
+      a = a.getParent();
+    }
+    while (b != null && a != null && b.depth() > a.depth()) {
+      b = b.getParent();
+    }
+    while (a != null && b != null && !a.equals(b)) {
+      a = a.getParent();
+      b = b.getParent();
+    }
+    return a;
+  }
+
+  /**
+   * Copies the operators of a plan with {@link PhysicalOperator#getNewWithChildren}, as done to materialize fragments,
+   * except for direct scans, which are copied through their JSON form so that each copy gets its own record reader,
+   * and for projects and filters, whose literals are re-bound.
+   */
+  private class PlanCopier extends AbstractPhysicalVisitor<PhysicalOperator, Void, ExecutionSetupException> {
+    private final LiteralBinder binder;
+
+    private PlanCopier(LiteralBinder binder) {
+      this.binder = binder;
+    }
+
+    @Override
+    public PhysicalOperator visitProject(Project project, Void value) throws ExecutionSetupException {
+      if (binder == null) {
+        return visitOp(project, value);
+      }
+      final List<NamedExpression> exprs = Lists.newArrayList();
+      for (NamedExpression expr : project.getExprs()) {
+        exprs.add(new NamedExpression(expr.getExpr().accept(binder, null), expr.getRef()));
+      }
+      return copyProperties(project, new Project(exprs, project.getChild().accept(this, value), project.isOutputProj()));
+    }
+
+    @Override
+    public PhysicalOperator visitFilter(Filter filter, Void value) throws ExecutionSetupException {
+      if (binder == null) {
+        return visitOp(filter, value);
+      }
+      return copyProperties(filter, new Filter(filter.getChild().accept(this, value),
+          filter.getExpr().accept(binder, null), filter.getSelectivity()));
+    }
+
+    @Override
+    public PhysicalOperator visitGroupScan(GroupScan groupScan, Void value) throws ExecutionSetupException {
+      if (!(groupScan instanceof DirectGroupScan)) {
+        return visitOp(groupScan, value);
+      }
+      try {
+        return copyProperties(groupScan, reader.readPhysicalOperator(reader.writeJson(groupScan)));
+      } catch (IOException e) {
+        throw new ExecutionSetupException("Failure copying direct scan.", e);
+      }
+    }
+
+    @Override
+    public PhysicalOperator visitOp(PhysicalOperator op, Void value) throws ExecutionSetupException {
+      final List<PhysicalOperator> children = Lists.newArrayList();
+      for (PhysicalOperator child : op) {
+        children.add(child.accept(this, value));
+      }
+      return copyProperties(op, op.getNewWithChildren(children));
+    }
+
+    private PhysicalOperator copyProperties(PhysicalOperator op, PhysicalOperator copy) {
+      copy.setOperatorId(op.getOperatorId());
+      copy.setCost(op.getCost());
+      copy.setMaxAllocation(op.getMaxAllocation());
+      return copy;
+    }
+  }
+
+  /**
+   * Replaces the literals of an expression that match one of the literals a plan was made with by the literal of the
+   * same position of a hit. Matching integers keep the type the planner gave them, which may be wider than that of
+   * the literal in the statement, as when compared with a count.
+   */
+  private static class LiteralBinder extends CloneVisitor {
+    private final List<Object> from;
+    private final List<Object> to;
+    private final int[] matches;
+    private boolean ambiguous;
+
+    private LiteralBinder(List<Object> from, List<Object> to) {
+      this.from = from;
+      this.to = to;
+      this.matches = new int[from.size()];
+    }
+
+    /**
+     * @return whether each literal matched exactly one expression, and no expression matched several literals
+     */
+    private boolean isBoundOnce() {
+      for (int count : matches) {
+        if (count != 1) {
+          return false;
+        }
+      }
+      return !ambiguous;
+    }
+
+    private int find(Object value) {
+      int found = -1;
+      for (int i = 0; i < from.size(); i++) {
+        if (from.get(i).equals(value)) {
+          ambiguous |= found >= 0;
+          found = i;
+        }
+      }
+      if (found >= 0) {
+        matches[found]++;
+      }
+      return found;
+    }
+
+    @Override
+    public LogicalExpression visitIntConstant(IntExpression e, Void value) {
+      final int i = find((long) e.getInt());
+      return i < 0 ? e : new IntExpression(Ints.checkedCast((Long) to.get(i)), e.getPosition());
+    }
+
+    @Override
+    public LogicalExpression visitLongConstant(LongExpression e, Void value) {
+      final int i = find(e.getLong());
+      return i < 0 ? e : new LongExpression((Long) to.get(i), e.getPosition());
+    }
+
+    @Override
+    public LogicalExpression visitQuotedStringConstant(QuotedString e, Void value) {
+      final int i = find(e.getString());
+      return i < 0 ? e : new QuotedString((String) to.get(i), e.getMajorType().getPrecision(), e.getPosition());
+    }
+
+    @Override
+    public LogicalExpression visitBooleanOperator(BooleanOperator op, Void value) {
+      final List<LogicalExpression> args = Lists.newArrayList();
+      for (LogicalExpression arg : op.args) {
+        args.add(arg.accept(this, value));
+      }
+      return new BooleanOperator(op.getName(), args, op.getPosition());
+    }
+
+    @Override
+    public LogicalExpression visitCastExpression(CastExpression e, Void value) {
+      return new CastExpression(e.getInput().accept(this, value), e.getMajorType(), e.getPosition());
+    }
+
+    @Override
+    public LogicalExpression visitConvertExpression(ConvertExpression e, Void value) {
+      return new ConvertExpression(e.getConvertFunction(), e.getEncodingType(), e.getInput().accept(this, value),
+          e.getPosition());
+    }
+  }
+
+  private static class Entry {
+    private final PhysicalPlan plan;
+    private final String textPlan;
+    private final List<Object> literals;
+    private final boolean bindable;
+    private final List<Path> directories;
+    private final long[] modificationTimes;
+
+    private Entry(PhysicalPlan plan, String textPlan, List<Object> literals, boolean bindable,
+        Collection<Path> directories, Configuration fsConf) throws IOException {
+      this.plan = plan;
+      this.textPlan = textPlan;
+      this.literals = literals;
+      this.bindable = bindable;
+      this.directories = new ArrayList<>(directories);
+      modificationTimes = new long[this.directories.size()];
+      for (int i = 0; i < modificationTimes.length; i++) {
+        modificationTimes[i] = getModificationTime(this.directories.get(i), fsConf);
+      }
+    }
+
+    /**
+     * @return whether none of the scanned directories changed since the plan was cached
+     */
+    private boolean isCurrent(Configuration fsConf) throws IOException {
+      for (int i = 0; i < modificationTimes.length; i++) {
+        if (getModificationTime(directories.get(i), fsConf) != modificationTimes[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static long getModificationTime(Path path, Configuration fsConf) throws IOException {
+      return path.getFileSystem(fsConf).getFileStatus(path).getModificationTime();
+    }
+  }
+}
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelTraitSet;
@@ -36,6 +37,7 @@ import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.tools.RelConversionException;
 import org.apache.calcite.tools.ValidationException;
 import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.common.exceptions.DrillRuntimeException;
 import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.physical.PhysicalPlan;
@@ -43,9 +45,11 @@ import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.planner.sql.DirectPlan;
 import org.apache.drill.exec.rpc.user.UserSession;
 import org.apache.drill.exec.store.StorageStrategy;
+import org.apache.drill.exec.planner.logical.CreateTableEntry;
 import org.apache.drill.exec.planner.logical.DrillRel;
 import org.apache.drill.exec.planner.logical.DrillScreenRel;
 import org.apache.drill.exec.planner.logical.DrillWriterRel;
+import org.apache.drill.exec.planner.logical.FileSystemCreateTableEntry;
 import org.apache.drill.exec.planner.physical.Prel;
 import org.apache.drill.exec.planner.physical.ProjectAllowDupPrel;
 import org.apache.drill.exec.planner.physical.ProjectPrel;
@@ -55,12 +59,17 @@ import org.apache.drill.exec.planner.sql.DrillSqlOperator;
 import org.apache.drill.exec.planner.sql.SchemaUtilites;
 import org.apache.drill.exec.planner.sql.parser.SqlCreateTable;
 import org.apache.drill.exec.store.AbstractSchema;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.drill.exec.store.parquet.ParquetFormatPlugin;
+import org.apache.drill.exec.store.parquet.metadata.Metadata;
+import org.apache.drill.exec.util.ImpersonationUtil;
 import org.apache.drill.exec.util.Pointer;
 import org.apache.drill.exec.work.foreman.ForemanSetupException;
 import org.apache.drill.exec.work.foreman.SqlUnsupportedException;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 public class CreateTableHandler extends DefaultSqlHandler {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(CreateTableHandler.class);
@@ -92,8 +101,22 @@ public class CreateTableHandler extends DefaultSqlHandler {
         String.format("A table or view with given name [%s] already exists in schema [%s]", originalTableName, schemaPath));
     }
 
-    final RelNode newTblRelNodeWithPCol = SqlHandlerUtil.qualifyPartitionCol(newTblRelNode,
-        sqlCreateTable.getPartitionColumns());
+    final List<String> partitionColumns = sqlCreateTable.getPartitionColumns();
+    final List<String> clusterColumns = sqlCreateTable.getClusterColumns();
+    final Integer bucketCount = sqlCreateTable.getBucketCount();
+    if (bucketCount != null && bucketCount <= 0) {
+      throw UserException.validationError()
+          .message("Number of buckets must be positive, got %s", bucketCount)
+          .build(logger);
+    }
+
+    final Set<String> writerColumns = Sets.newLinkedHashSet(partitionColumns);
+    writerColumns.addAll(clusterColumns);
+    RelNode newTblRelNodeWithPCol = SqlHandlerUtil.qualifyPartitionCol(newTblRelNode,
+        ImmutableList.copyOf(writerColumns));
+    if (bucketCount != null) {
+      newTblRelNodeWithPCol = SqlHandlerUtil.addBucketCol(newTblRelNodeWithPCol, clusterColumns, bucketCount);
+    }
 
     log("Calcite", newTblRelNodeWithPCol, logger, null);
     // Convert the query to Drill Logical plan and insert a writer operator on top.
@@ -107,14 +130,18 @@ public class CreateTableHandler extends DefaultSqlHandler {
     String newTableName = sqlCreateTable.isTemporary() ?
         context.getSession().registerTemporaryTable(drillSchema, originalTableName, drillConfig) : originalTableName;
 
-    DrillRel drel = convertToDrel(newTblRelNodeWithPCol, drillSchema, newTableName,
-        sqlCreateTable.getPartitionColumns(), newTblRelNode.getRowType(), storageStrategy);
-    Prel prel = convertToPrel(drel, newTblRelNode.getRowType(), sqlCreateTable.getPartitionColumns());
+    CreateTableEntry createTableEntry = drillSchema.createNewTable(newTableName, partitionColumns, storageStrategy);
+    DrillRel drel = convertToDrel(newTblRelNodeWithPCol, createTableEntry, clusterColumns, newTblRelNode.getRowType());
+    Prel prel = convertToPrel(drel, newTblRelNode.getRowType(), partitionColumns, bucketCount != null);
     logAndSetTextPlan("Drill Physical", prel, logger);
     PhysicalOperator pop = convertToPop(prel);
     PhysicalPlan plan = convertToPlan(pop);
     log("Drill Plan", plan, logger);
 
+    if (context.getOption(ExecConstants.PARQUET_WRITER_CREATE_METADATA_CACHE).bool_val) {
+      createMetadataCacheOnCompletion(createTableEntry);
+    }
+
     String message = String.format("Creating %s table [%s].",
         sqlCreateTable.isTemporary()  ? "temporary" : "persistent", originalTableName);
     logger.info(message);
@@ -122,11 +149,9 @@ public class CreateTableHandler extends DefaultSqlHandler {
   }
 
   private DrillRel convertToDrel(RelNode relNode,
-                                 AbstractSchema schema,
-                                 String tableName,
-                                 List<String> partitionColumns,
-                                 RelDataType queryRowType,
-                                 StorageStrategy storageStrategy)
+                                 CreateTableEntry createTableEntry,
+                                 List<String> clusterColumns,
+                                 RelDataType queryRowType)
       throws RelConversionException, SqlUnsupportedException {
     final DrillRel convertedRelNode = convertToRawDrel(relNode);
 
@@ -137,15 +162,15 @@ public class CreateTableHandler extends DefaultSqlHandler {
 
     final RelTraitSet traits = convertedRelNode.getCluster().traitSet().plus(DrillRel.DRILL_LOGICAL);
     final DrillWriterRel writerRel = new DrillWriterRel(convertedRelNode.getCluster(),
-        traits, topPreservedNameProj, schema.createNewTable(tableName, partitionColumns, storageStrategy));
+        traits, topPreservedNameProj, createTableEntry, clusterColumns);
     return new DrillScreenRel(writerRel.getCluster(), writerRel.getTraitSet(), writerRel);
   }
 
-  private Prel convertToPrel(RelNode drel, RelDataType inputRowType, List<String> partitionColumns)
+  private Prel convertToPrel(RelNode drel, RelDataType inputRowType, List<String> partitionColumns, boolean bucketed)
       throws RelConversionException, SqlUnsupportedException {
     Prel prel = convertToPrel(drel, inputRowType);
 
-    prel = prel.accept(new ProjectForWriterVisitor(inputRowType, partitionColumns), null);
+    prel = prel.accept(new ProjectForWriterVisitor(inputRowType, partitionColumns, bucketed), null);
 
     return prel;
   }
@@ -162,15 +187,20 @@ public class CreateTableHandler extends DefaultSqlHandler {
    *                                    || newPartitionValue(Partition_colB)
    *                                    || ...
    *                                    || newPartitionValue(Partition_colN).
+   *
+   * For bucketed tables, newPartitionValue(bucket) is added to the comparator, so that each bucket is written
+   * to its own files, and the bucket column is removed.
    */
   private class ProjectForWriterVisitor extends BasePrelVisitor<Prel, Void, RuntimeException> {
 
     private final RelDataType queryRowType;
     private final List<String> partitionColumns;
+    private final boolean bucketed;
 
-    ProjectForWriterVisitor(RelDataType queryRowType, List<String> partitionColumns) {
+    ProjectForWriterVisitor(RelDataType queryRowType, List<String> partitionColumns, boolean bucketed) {
       this.queryRowType = queryRowType;
       this.partitionColumns = partitionColumns;
+      this.bucketed = bucketed;
     }
 
     @Override
@@ -202,7 +232,7 @@ public class CreateTableHandler extends DefaultSqlHandler {
       }
 
       // No partition columns.
-      if (partitionColumns.size() == 0) {
+      if (partitionColumns.size() == 0 && !bucketed) {
         final ProjectPrel projectUnderWriter = new ProjectAllowDupPrel(cluster,
             cluster.getPlanner().emptyTraitSet().plus(Prel.DRILL_PHYSICAL), child, exprs, queryRowType);
 
@@ -223,6 +253,11 @@ public class CreateTableHandler extends DefaultSqlHandler {
           partitionColumnExprs.add(RexInputRef.of(field.getIndex(), childRowType));
         }
 
+        if (bucketed) {
+          final RelDataTypeField field = childRowType.getField(WriterPrel.BUCKET_FIELD, false, false);
+          partitionColumnExprs.add(RexInputRef.of(field.getIndex(), childRowType));
+        }
+
         // Add partition column comparator to Project's field name list.
         fieldNames.add(WriterPrel.PARTITION_COMPARATOR_FIELD);
 
@@ -243,6 +278,32 @@ public class CreateTableHandler extends DefaultSqlHandler {
 
   }
 
+  /**
+   * Writes the parquet metadata cache of the new table once the CTAS query completed, so that the first queries
+   * on the table don't have to read the footers of all its files.
+   */
+  private void createMetadataCacheOnCompletion(CreateTableEntry createTableEntry) {
+    if (!(createTableEntry instanceof FileSystemCreateTableEntry)
+        || !(((FileSystemCreateTableEntry) createTableEntry).getFormatPlugin() instanceof ParquetFormatPlugin)) {
+      return;
+    }
+    final String location = ((FileSystemCreateTableEntry) createTableEntry).getLocation();
+    final ParquetFormatPlugin formatPlugin =
+        (ParquetFormatPlugin) ((FileSystemCreateTableEntry) createTableEntry).getFormatPlugin();
+    final String queryUserName = context.getQueryUserName();
+    context.addCompletionAction(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          final DrillFileSystem fs = ImpersonationUtil.createFileSystem(queryUserName, formatPlugin.getFsConf());
+          Metadata.createMeta(fs, location, formatPlugin.getConfig());
+        } catch (IOException e) {
+          throw new DrillRuntimeException(String.format("Failed to create metadata cache for table [%s]", location), e);
+        }
+      }
+    });
+  }
+
   private RexNode createPartitionColComparator(final RexBuilder rexBuilder, List<RexNode> inputs) {
     final DrillSqlOperator op = new DrillSqlOperator(WriterPrel.PARTITION_COMPARATOR_FUNC, 1, true, false);
 
@@ -27,12 +27,16 @@ import org.apache.calcite.schema.Table;
 import org.apache.calcite.sql.SqlNodeList;
 import org.apache.calcite.sql.SqlWriter;
 import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
 import org.apache.calcite.tools.RelConversionException;
 import org.apache.drill.common.exceptions.DrillRuntimeException;
 import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.exec.planner.common.DrillRelOptUtil;
 import org.apache.drill.exec.planner.logical.DrillRelFactories;
+import org.apache.drill.exec.planner.physical.HashPrelUtil;
+import org.apache.drill.exec.planner.physical.WriterPrel;
+import org.apache.drill.exec.planner.sql.DrillSqlOperator;
 import org.apache.drill.exec.store.AbstractSchema;
 
 import org.apache.calcite.tools.ValidationException;
@@ -40,6 +44,7 @@ import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.type.RelDataType;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.AbstractList;
 import java.util.HashSet;
 import java.util.List;
@@ -213,6 +218,60 @@ public class SqlHandlerUtil {
     }
   }
 
+  /**
+   * Adds the bucket column of "CLUSTER BY ... INTO n BUCKETS" clause of CTAS statement to the select list.
+   * The bucket of a row is the hash of its cluster columns modulo the number of buckets.
+   *
+   * @param input : the RelNode represents the select statement in CTAS, with qualified cluster columns.
+   * @param clusterColumns : the list of cluster columns.
+   * @param bucketCount : the number of buckets.
+   * @return : a new Project with the {@link WriterPrel#BUCKET_FIELD} column added after the input columns.
+   */
+  public static RelNode addBucketCol(RelNode input, List<String> clusterColumns, int bucketCount) {
+    final RelDataType inputRowType = input.getRowType();
+    final RexBuilder builder = input.getCluster().getRexBuilder();
+    final RelDataType intType = input.getCluster().getTypeFactory().createSqlType(SqlTypeName.INTEGER);
+
+    final List<RexNode> exprs = Lists.newArrayList();
+    final List<String> names = Lists.newArrayList(inputRowType.getFieldNames());
+    for (int i = 0; i < inputRowType.getFieldCount(); i++) {
+      exprs.add(RexInputRef.of(i, inputRowType));
+    }
+
+    final List<RexNode> clusterExprs = Lists.newArrayList();
+    for (final String col : clusterColumns) {
+      final RelDataTypeField field = inputRowType.getField(col, false, false);
+      if (field == null) {
+        throw UserException.validationError()
+            .message("Cluster column %s is not in the SELECT list of CTAS!", col)
+            .build(logger);
+      }
+      clusterExprs.add(RexInputRef.of(field.getIndex(), inputRowType));
+    }
+
+    final RexNode hash = HashPrelUtil.createHashExpression(clusterExprs,
+        builder.makeExactLiteral(BigDecimal.valueOf(HashPrelUtil.DIST_SEED)),
+        new HashPrelUtil.HashExpressionCreatorHelper<RexNode>() {
+          @Override
+          public RexNode createCall(String funcName, List<RexNode> inputFields) {
+            return builder.makeCall(new DrillSqlOperator(funcName, inputFields.size(), true, intType, false), inputFields);
+          }
+        }, false);
+
+    // the hash may be negative, so the remainder is shifted into [0, bucketCount)
+    final RexNode buckets = builder.makeExactLiteral(BigDecimal.valueOf(bucketCount));
+    final RexNode remainder = builder.makeCall(SqlStdOperatorTable.MOD, hash, buckets);
+    exprs.add(builder.makeCall(SqlStdOperatorTable.MOD,
+        builder.makeCall(SqlStdOperatorTable.PLUS, remainder, buckets), buckets));
+    names.add(WriterPrel.BUCKET_FIELD);
+
+    return DrillRelFactories.LOGICAL_BUILDER
+        .create(input.getCluster(), null)
+        .push(input)
+        .projectNamed(exprs, names, true)
+        .build();
+  }
+
   public static Table getTableFromSchema(AbstractSchema drillSchema, String tblName) {
     try {
       return drillSchema.getTable(tblName);
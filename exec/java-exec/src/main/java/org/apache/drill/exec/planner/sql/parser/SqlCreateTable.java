@@ -44,20 +44,24 @@ public class SqlCreateTable extends DrillSqlCall {
   public static final SqlSpecialOperator OPERATOR = new SqlSpecialOperator("CREATE_TABLE", SqlKind.OTHER) {
     @Override
     public SqlCall createCall(SqlLiteral functionQualifier, SqlParserPos pos, SqlNode... operands) {
-      Preconditions.checkArgument(operands.length == 6, "SqlCreateTable.createCall() has to get 6 operands!");
+      Preconditions.checkArgument(operands.length == 8, "SqlCreateTable.createCall() has to get 8 operands!");
       return new SqlCreateTable(pos,
           (SqlIdentifier) operands[0],
           (SqlNodeList) operands[1],
           (SqlNodeList) operands[2],
-          operands[3],
+          (SqlNodeList) operands[3],
           (SqlLiteral) operands[4],
-          (SqlLiteral) operands[5]);
+          operands[5],
+          (SqlLiteral) operands[6],
+          (SqlLiteral) operands[7]);
     }
   };
 
   private final SqlIdentifier tblName;
   private final SqlNodeList fieldList;
   private final SqlNodeList partitionColumns;
+  private final SqlNodeList clusterColumns;
+  private final SqlLiteral bucketCount;
   private final SqlNode query;
   private final SqlLiteral isTemporary;
   private final SqlLiteral tableNonExistenceCheck;
@@ -66,6 +70,8 @@ public class SqlCreateTable extends DrillSqlCall {
                         SqlIdentifier tblName,
                         SqlNodeList fieldList,
                         SqlNodeList partitionColumns,
+                        SqlNodeList clusterColumns,
+                        SqlLiteral bucketCount,
                         SqlNode query,
                         SqlLiteral isTemporary,
                         SqlLiteral tableNonExistenceCheck) {
@@ -73,6 +79,8 @@ public class SqlCreateTable extends DrillSqlCall {
     this.tblName = tblName;
     this.fieldList = fieldList;
     this.partitionColumns = partitionColumns;
+    this.clusterColumns = clusterColumns;
+    this.bucketCount = bucketCount;
     this.query = query;
     this.isTemporary = isTemporary;
     this.tableNonExistenceCheck = tableNonExistenceCheck;
@@ -89,6 +97,8 @@ public class SqlCreateTable extends DrillSqlCall {
     ops.add(tblName);
     ops.add(fieldList);
     ops.add(partitionColumns);
+    ops.add(clusterColumns);
+    ops.add(bucketCount);
     ops.add(query);
     ops.add(isTemporary);
     ops.add(tableNonExistenceCheck);
@@ -115,6 +125,15 @@ public class SqlCreateTable extends DrillSqlCall {
       writer.keyword("PARTITION BY");
       SqlHandlerUtil.unparseSqlNodeList(writer, leftPrec, rightPrec, partitionColumns);
     }
+    if (clusterColumns.size() > 0) {
+      writer.keyword("CLUSTER BY");
+      SqlHandlerUtil.unparseSqlNodeList(writer, leftPrec, rightPrec, clusterColumns);
+      if (bucketCount != null) {
+        writer.keyword("INTO");
+        bucketCount.unparse(writer, leftPrec, rightPrec);
+        writer.keyword("BUCKETS");
+      }
+    }
     writer.keyword("AS");
     query.unparse(writer, leftPrec, rightPrec);
   }
@@ -162,6 +181,21 @@ public class SqlCreateTable extends DrillSqlCall {
     return columnNames;
   }
 
+  public List<String> getClusterColumns() {
+    List<String> columnNames = Lists.newArrayList();
+    for(SqlNode node : clusterColumns.getList()) {
+      columnNames.add(node.toString());
+    }
+    return columnNames;
+  }
+
+  /**
+   * @return number of buckets the rows are hashed into by their cluster columns, null if the table is not bucketed
+   */
+  public Integer getBucketCount() {
+    return bucketCount == null ? null : bucketCount.intValue(true);
+  }
+
   public SqlNode getQuery() { return query; }
 
   public boolean isTemporary() { return isTemporary.booleanValue(); }
@@ -31,6 +31,7 @@ import com.google.protobuf.MessageLite;
 import com.google.protobuf.Parser;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.DrillBuf;
+import org.apache.drill.exec.proto.BitControl.BitStatus;
 import org.apache.drill.exec.proto.BitControl.CustomMessage;
 import org.apache.drill.exec.proto.BitControl.FinishedReceiver;
 import org.apache.drill.exec.proto.BitControl.FragmentStatus;
@@ -90,6 +91,16 @@ public class ControlTunnel {
     return b.getFuture();
   }
 
+  /**
+   * Send the statuses of several fragments, usually all those of this Drillbit that report to the same Foreman, in one
+   * message.
+   */
+  public DrillRpcFuture<Ack> sendBitStatus(BitStatus status) {
+    SendBitStatus b = new SendBitStatus(status);
+    manager.runCommand(b);
+    return b.getFuture();
+  }
+
   public DrillRpcFuture<QueryProfile> requestQueryProfile(QueryId queryId) {
     RequestProfile b = new RequestProfile(queryId);
     manager.runCommand(b);
@@ -121,6 +132,31 @@ public class ControlTunnel {
 
   }
 
+  public static class SendBitStatus extends FutureBitCommand<Ack, ControlConnection, RpcType, BitStatus> {
+    final BitStatus status;
+
+    public SendBitStatus(BitStatus status) {
+      super();
+      this.status = status;
+    }
+
+    @Override
+    public void doRpcCall(RpcOutcomeListener<Ack> outcomeListener, ControlConnection connection) {
+      connection.sendUnsafe(outcomeListener, getRpcType(), status, Ack.class);
+    }
+
+    @Override
+    public RpcType getRpcType() {
+      return RpcType.REQ_BIT_STATUS;
+    }
+
+    @Override
+    public BitStatus getMessage() {
+      return status;
+    }
+
+  }
+
   public static class ReceiverFinished extends ListeningCommand<Ack, ControlConnection, RpcType, FinishedReceiver> {
     final FinishedReceiver finishedReceiver;
 
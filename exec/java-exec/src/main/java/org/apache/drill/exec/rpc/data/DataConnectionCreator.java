@@ -37,13 +37,18 @@ public class DataConnectionCreator implements AutoCloseable {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DataConnectionCreator.class);
 
   private volatile DataServer server;
+  private volatile DrillbitEndpoint localEndpoint;
   private final ConcurrentMap<DrillbitEndpoint, DataConnectionManager> connectionManager = Maps.newConcurrentMap();
 
   private final DataConnectionConfig config;
+  private final DataServerRequestHandler handler;
+  private final boolean localExchange;
 
   public DataConnectionCreator(BootStrapContext context, BufferAllocator allocator, WorkEventBus workBus,
                                WorkerBee bee) throws DrillbitStartupException {
-    config = new DataConnectionConfig(allocator, context, new DataServerRequestHandler(workBus, bee));
+    handler = new DataServerRequestHandler(workBus, bee);
+    config = new DataConnectionConfig(allocator, context, handler);
+    localExchange = context.getConfig().getBoolean(ExecConstants.BIT_LOCAL_EXCHANGE);
 
     // Initialize the singleton instance of DataRpcMetrics.
     ((DataRpcMetrics) DataRpcMetrics.getInstance()).initialize(config.isEncryptionEnabled(), allocator);
@@ -56,10 +61,18 @@ public class DataConnectionCreator implements AutoCloseable {
       port = config.getBootstrapContext().getConfig().getInt(ExecConstants.INITIAL_DATA_PORT);
     }
     port = server.bind(port, allowPortHunting);
-    return partialEndpoint.toBuilder().setDataPort(port).build();
+    localEndpoint = partialEndpoint.toBuilder().setDataPort(port).build();
+    return localEndpoint;
   }
 
+  /**
+   * Returns a tunnel to the given Drillbit. Batches sent to this Drillbit are handed to their receivers in-process,
+   * unless disabled by {@link ExecConstants#BIT_LOCAL_EXCHANGE}.
+   */
   public DataTunnel getTunnel(DrillbitEndpoint endpoint) {
+    if (localExchange && isLocal(endpoint)) {
+      return new LocalDataTunnel(handler, config.getAllocator());
+    }
     DataConnectionManager newManager = new DataConnectionManager(endpoint, config);
     DataConnectionManager oldManager = connectionManager.putIfAbsent(endpoint, newManager);
     if (oldManager != null) {
@@ -68,6 +81,13 @@ public class DataConnectionCreator implements AutoCloseable {
     return new DataTunnel(newManager);
   }
 
+  private boolean isLocal(DrillbitEndpoint endpoint) {
+    final DrillbitEndpoint local = localEndpoint;
+    return local != null
+        && local.getAddress().equals(endpoint.getAddress())
+        && local.getDataPort() == endpoint.getDataPort();
+  }
+
   @Override
   public void close() throws Exception {
     AutoCloseables.close(server, config.getAllocator());
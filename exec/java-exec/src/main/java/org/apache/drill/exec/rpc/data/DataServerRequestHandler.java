@@ -55,13 +55,29 @@ class DataServerRequestHandler implements RequestHandler<DataServerConnection> {
     assert rpcType == BitData.RpcType.REQ_RECORD_BATCH_VALUE;
 
     final FragmentRecordBatch fragmentBatch = RpcBus.get(pBody, FragmentRecordBatch.PARSER);
+    handle(fragmentBatch, (DrillBuf) dBody, sender);
+  }
+
+  /**
+   * Hand a batch to its receiving fragments. Each receiver takes ownership of (a reference to) the body, so the caller
+   * still releases its own reference afterwards. Also used by {@link LocalDataTunnel} for batches sent within this
+   * Drillbit.
+   *
+   * @param fragmentBatch
+   *          Batch header
+   * @param body
+   *          Batch data, may be null
+   * @param sender
+   *          Sent the ack once all receivers have consumed the batch
+   */
+  void handle(FragmentRecordBatch fragmentBatch, DrillBuf body, ResponseSender sender) {
     final AckSender ack = new AckSender(sender);
 
     // increment so we don't get false returns.
     ack.increment();
 
     try {
-      final IncomingDataBatch batch = new IncomingDataBatch(fragmentBatch, (DrillBuf) dBody, ack);
+      final IncomingDataBatch batch = new IncomingDataBatch(fragmentBatch, body, ack);
       final int targetCount = fragmentBatch.getReceivingMinorFragmentIdCount();
 
       // randomize who gets first transfer (and thus ownership) so memory usage is balanced when we're sharing amongst
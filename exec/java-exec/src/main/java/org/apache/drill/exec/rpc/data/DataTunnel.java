@@ -68,7 +68,6 @@ public class DataTunnel {
   }
 
   public void sendRecordBatch(RpcOutcomeListener<Ack> outcomeListener, FragmentWritableBatch batch) {
-    SendBatchAsyncListen b = new SendBatchAsyncListen(outcomeListener, batch);
     try {
       if (isInjectionControlSet) {
         // Wait for interruption if set. Used to simulate the fragment interruption while the fragment is waiting for
@@ -77,7 +76,7 @@ public class DataTunnel {
       }
 
       sendingSemaphore.acquire();
-      manager.runCommand(b);
+      send(outcomeListener, batch);
     } catch (final InterruptedException e) {
       // Release the buffers first before informing the listener about the interrupt.
       for (ByteBuf buffer : batch.getBuffers()) {
@@ -92,6 +91,18 @@ public class DataTunnel {
     }
   }
 
+  /**
+   * Send a batch once a sending slot has been acquired. The listener passed to the transport must be wrapped with
+   * {@link #newThrottlingListener(RpcOutcomeListener)} so that the slot is released when the batch is acked, or fails.
+   */
+  protected void send(RpcOutcomeListener<Ack> outcomeListener, FragmentWritableBatch batch) {
+    manager.runCommand(new SendBatchAsyncListen(outcomeListener, batch));
+  }
+
+  protected RpcOutcomeListener<Ack> newThrottlingListener(RpcOutcomeListener<Ack> inner) {
+    return new ThrottlingOutcomeListener(inner);
+  }
+
   private class ThrottlingOutcomeListener implements RpcOutcomeListener<Ack>{
     RpcOutcomeListener<Ack> inner;
 
@@ -129,7 +140,7 @@ public class DataTunnel {
 
     @Override
     public void doRpcCall(RpcOutcomeListener<Ack> outcomeListener, DataClientConnection connection) {
-      connection.send(new ThrottlingOutcomeListener(outcomeListener), getRpcType(), batch.getHeader(),
+      connection.send(newThrottlingListener(outcomeListener), getRpcType(), batch.getHeader(),
         Ack.class, batch.getBuffers());
     }
 
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.rpc.data;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DrillBuf;
+
+import org.apache.drill.exec.exception.OutOfMemoryException;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.proto.GeneralRPCProtos.Ack;
+import org.apache.drill.exec.record.FragmentWritableBatch;
+import org.apache.drill.exec.rpc.Response;
+import org.apache.drill.exec.rpc.ResponseSender;
+import org.apache.drill.exec.rpc.RpcException;
+import org.apache.drill.exec.rpc.RpcOutcomeListener;
+
+/**
+ * Tunnel to fragments running on this Drillbit. Batches are handed to the receiving fragments' incoming buffers
+ * in-process instead of being encoded, written to the local data connection, and decoded again.
+ * <p>
+ * This is not a zero-copy exchange. Receivers load a batch from a single body buffer by field offset, see
+ * {@link org.apache.drill.exec.record.RecordBatchLoader}, while a batch usually holds several buffers per vector
+ * (values, offsets, bits). Such a batch is gathered into one body in a single copy, which replaces the copies into
+ * and out of the local connection made by the remote path. Only a batch whose data is already a single buffer, such as
+ * one required fixed-width column, is passed without copying: the receivers take ownership of the sender's buffer.
+ * <p>
+ * Acks and the limit on batches in flight are the same as for remote tunnels; the ack is delivered on the thread that
+ * consumes the batch.
+ */
+class LocalDataTunnel extends DataTunnel {
+
+  private final DataServerRequestHandler handler;
+  private final BufferAllocator allocator;
+
+  /**
+   * @param handler
+   *          Handler of this Drillbit's data server
+   * @param allocator
+   *          Data RPC allocator, from which gathered batch bodies are allocated
+   */
+  LocalDataTunnel(DataServerRequestHandler handler, BufferAllocator allocator) {
+    super(null);
+    this.handler = handler;
+    this.allocator = allocator;
+  }
+
+  @Override
+  protected void send(RpcOutcomeListener<Ack> outcomeListener, FragmentWritableBatch batch) {
+    final RpcOutcomeListener<Ack> listener = newThrottlingListener(outcomeListener);
+    final DrillBuf body;
+    try {
+      body = gather(batch.getBuffers());
+    } catch (OutOfMemoryException e) {
+      listener.failed(new RpcException("Failure while gathering local batch.", e));
+      return;
+    }
+
+    try {
+      handler.handle(batch.getHeader(), body, new ResponseSender() {
+        @Override
+        public void send(Response r) {
+          listener.success((Ack) r.pBody, null);
+        }
+      });
+    } finally {
+      // the receivers hold their own references
+      if (body != null) {
+        body.release();
+      }
+    }
+  }
+
+  /**
+   * Combine the batch buffers into one body, consuming the sender's references.
+   *
+   * @return the body, or null for a batch without data
+   */
+  private DrillBuf gather(ByteBuf[] buffers) {
+    // receivers load fields by offset from the start of the body
+    if (buffers.length == 1 && buffers[0] instanceof DrillBuf && buffers[0].readerIndex() == 0
+        && buffers[0].readableBytes() > 0) {
+      return (DrillBuf) buffers[0];
+    }
+
+    try {
+      int length = 0;
+      for (ByteBuf buffer : buffers) {
+        length += buffer.readableBytes();
+      }
+      if (length == 0) {
+        return null;
+      }
+
+      final DrillBuf body = allocator.buffer(length);
+      int offset = 0;
+      for (ByteBuf buffer : buffers) {
+        final int readable = buffer.readableBytes();
+        body.setBytes(offset, buffer, buffer.readerIndex(), readable);
+        offset += readable;
+      }
+      body.writerIndex(length);
+      return body;
+    } finally {
+      for (ByteBuf buffer : buffers) {
+        buffer.release();
+      }
+    }
+  }
+}
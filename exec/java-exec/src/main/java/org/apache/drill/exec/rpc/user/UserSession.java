@@ -287,6 +287,13 @@ public class UserSession implements AutoCloseable {
     return temporaryTables.get(tableName.toLowerCase());
   }
 
+  /**
+   * @return true if any temporary tables were registered in this session
+   */
+  public boolean hasTemporaryTables() {
+    return !temporaryTables.isEmpty();
+  }
+
   public String getOriginalTableNameFromTemporaryTable(String tableName) {
     for (String originalTableName : temporaryTables.keySet()) {
       if (temporaryTables.get(originalTableName).equals(tableName)) {
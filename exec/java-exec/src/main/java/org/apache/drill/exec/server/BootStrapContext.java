@@ -35,6 +35,7 @@ import org.apache.drill.common.map.CaseInsensitiveMap;
 import org.apache.drill.common.scanner.persistence.ScanResult;
 import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.DrillbitStartupException;
+import org.apache.drill.exec.memory.AllocationProfiler;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.memory.RootAllocatorFactory;
 import org.apache.drill.exec.metrics.DrillMetrics;
@@ -67,6 +68,7 @@ public class BootStrapContext implements AutoCloseable {
   private final EventLoopGroup loop2;
   private final MetricRegistry metrics;
   private final BufferAllocator allocator;
+  private final AllocationProfiler profiler;
   private final ScanResult classpathScan;
   private final ExecutorService executor;
   private final ExecutorService scanExecutor;
@@ -85,7 +87,8 @@ public class BootStrapContext implements AutoCloseable {
     this.loop2 = TransportCheck.createEventLoopGroup(config.getInt(ExecConstants.BIT_SERVER_RPC_THREADS), "BitClient-");
     // Note that metrics are stored in a static instance
     this.metrics = DrillMetrics.getRegistry();
-    this.allocator = RootAllocatorFactory.newRoot(config);
+    this.profiler = RootAllocatorFactory.newProfiler(config);
+    this.allocator = RootAllocatorFactory.newRoot(config, profiler);
     this.executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
         new SynchronousQueue<Runnable>(),
         new NamedThreadFactory("drill-executor-")) {
@@ -210,6 +213,13 @@ public class BootStrapContext implements AutoCloseable {
     return allocator;
   }
 
+  /**
+   * @return the profiler of the root allocator, or null if disabled
+   */
+  public AllocationProfiler getAllocationProfiler() {
+    return profiler;
+  }
+
   public ScanResult getClasspathScan() {
     return classpathScan;
   }
@@ -256,7 +266,7 @@ public class BootStrapContext implements AutoCloseable {
     }
 
     try {
-      AutoCloseables.close(allocator, authProvider);
+      AutoCloseables.close(allocator, profiler, authProvider);
       shutdown(loop);
       shutdown(loop2);
 
@@ -26,10 +26,12 @@ import org.apache.drill.exec.compile.CodeCompiler;
 import org.apache.drill.exec.coord.ClusterCoordinator;
 import org.apache.drill.exec.expr.fn.FunctionImplementationRegistry;
 import org.apache.drill.exec.expr.fn.registry.RemoteFunctionRegistry;
+import org.apache.drill.exec.memory.AllocationProfiler;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.physical.impl.OperatorCreatorRegistry;
 import org.apache.drill.exec.planner.PhysicalPlanReader;
 import org.apache.drill.exec.planner.sql.DrillOperatorTable;
+import org.apache.drill.exec.planner.sql.PlanCache;
 import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
 import org.apache.drill.exec.rpc.control.Controller;
 import org.apache.drill.exec.rpc.control.WorkEventBus;
@@ -73,6 +75,7 @@ public class DrillbitContext implements AutoCloseable {
   // operator table for standard SQL operators and functions, Drill built-in UDFs
   private final DrillOperatorTable table;
   private final QueryProfileStoreContext profileStoreContext;
+  private final PlanCache planCache;
   private ResourceManager resourceManager;
 
   public DrillbitContext(
@@ -115,12 +118,13 @@ public class DrillbitContext implements AutoCloseable {
     systemOptions = new SystemOptionManager(lpPersistence, provider, config, context.getDefinitions());
     functionRegistry = new FunctionImplementationRegistry(config, classpathScan, systemOptions);
     compiler = new CodeCompiler(config, systemOptions);
+    planCache = new PlanCache(config, reader);
 
     // This operator table is built once and used for all queries which do not need dynamic UDF support.
     table = new DrillOperatorTable(functionRegistry, systemOptions);
 
     //This profile store context is built from the profileStoreProvider
-    profileStoreContext = new QueryProfileStoreContext(context.getConfig(), profileStoreProvider, coord);
+    profileStoreContext = new QueryProfileStoreContext(context.getConfig(), profileStoreProvider, coord, endpoint);
   }
 
   public QueryProfileStoreContext getProfileStoreContext() {
@@ -199,6 +203,10 @@ public class DrillbitContext implements AutoCloseable {
     return context.getAllocator();
   }
 
+  public AllocationProfiler getAllocationProfiler() {
+    return context.getAllocationProfiler();
+  }
+
   public OperatorCreatorRegistry getOperatorCreatorRegistry() {
     return operatorCreatorRegistry;
   }
@@ -227,6 +235,10 @@ public class DrillbitContext implements AutoCloseable {
     return reader;
   }
 
+  public PlanCache getPlanCache() {
+    return planCache;
+  }
+
   public PersistentStoreProvider getStoreProvider() {
     return provider;
   }
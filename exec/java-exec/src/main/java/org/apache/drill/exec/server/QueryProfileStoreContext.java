@@ -17,18 +17,30 @@
  */
 package org.apache.drill.exec.server;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.drill.common.config.DrillConfig;
 import org.apache.drill.common.exceptions.DrillRuntimeException;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.coord.ClusterCoordinator;
 import org.apache.drill.exec.coord.store.TransientStore;
 import org.apache.drill.exec.coord.store.TransientStoreConfig;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
 import org.apache.drill.exec.proto.SchemaUserBitShared;
 import org.apache.drill.exec.proto.UserBitShared;
 import org.apache.drill.exec.proto.UserBitShared.QueryInfo;
 import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.apache.drill.exec.server.profile.IndexedProfileStore;
+import org.apache.drill.exec.server.profile.ProfileSummary;
 import org.apache.drill.exec.store.sys.PersistentStore;
 import org.apache.drill.exec.store.sys.PersistentStoreConfig;
 import org.apache.drill.exec.store.sys.PersistentStoreProvider;
+import org.apache.drill.exec.store.sys.store.LocalPersistentStore;
+
+import com.google.common.base.Predicate;
 
 public class QueryProfileStoreContext {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(QueryProfileStoreContext.class);
@@ -43,16 +55,19 @@ public class QueryProfileStoreContext {
 
   private final PersistentStoreConfig<QueryProfile> profileStoreConfig;
 
+  private final int maxQueryLength;
+
   public QueryProfileStoreContext(DrillConfig config, PersistentStoreProvider storeProvider,
-                                  ClusterCoordinator coordinator) {
+                                  ClusterCoordinator coordinator, DrillbitEndpoint endpoint) {
     profileStoreConfig = PersistentStoreConfig.newProtoBuilder(SchemaUserBitShared.QueryProfile.WRITE,
         SchemaUserBitShared.QueryProfile.MERGE)
         .name(PROFILES)
         .blob()
         .build();
 
+    maxQueryLength = config.getInt(ExecConstants.PROFILES_STORE_INDEX_QUERY_LENGTH);
     try {
-      completedProfiles = storeProvider.getOrCreateStore(profileStoreConfig);
+      completedProfiles = createCompletedProfileStore(config, storeProvider, coordinator, endpoint);
     } catch (final Exception e) {
       throw new DrillRuntimeException(e);
     }
@@ -63,6 +78,20 @@ public class QueryProfileStoreContext {
         .build());
   }
 
+  /**
+   * Profiles kept in files are wrapped with a summary index, so that they
+   * can be listed without reading every profile. Other stores are used as is.
+   */
+  private PersistentStore<QueryProfile> createCompletedProfileStore(DrillConfig config,
+      PersistentStoreProvider storeProvider, ClusterCoordinator coordinator, DrillbitEndpoint endpoint)
+      throws Exception {
+    PersistentStore<QueryProfile> store = storeProvider.getOrCreateStore(profileStoreConfig);
+    if (!(store instanceof LocalPersistentStore) || !config.getBoolean(ExecConstants.PROFILES_STORE_INDEX_ENABLED)) {
+      return store;
+    }
+    return new IndexedProfileStore(config, (LocalPersistentStore<QueryProfile>) store, coordinator, endpoint);
+  }
+
   public PersistentStoreConfig<QueryProfile> getProfileStoreConfig() {
     return profileStoreConfig;
   }
@@ -74,4 +103,38 @@ public class QueryProfileStoreContext {
   public TransientStore<QueryInfo> getRunningProfileStore() {
     return runningProfiles;
   }
+
+  /**
+   * Page through the summaries of completed profiles, newest first. Served
+   * from the summary index when the store has one; otherwise the profiles
+   * are read from the store and summarized.
+   *
+   * @param skip number of matching profiles to skip
+   * @param take maximum number of profiles to return
+   * @param filter profiles to include
+   * @return the matching summaries
+   */
+  public List<ProfileSummary> getCompletedProfileSummaries(int skip, int take, Predicate<ProfileSummary> filter) {
+    if (completedProfiles instanceof IndexedProfileStore) {
+      return ((IndexedProfileStore) completedProfiles).getSummaries(skip, take, filter);
+    }
+    List<ProfileSummary> summaries = new ArrayList<>();
+    Iterator<Map.Entry<String, QueryProfile>> profiles = completedProfiles.getAll();
+    while (profiles.hasNext() && summaries.size() < take) {
+      Map.Entry<String, QueryProfile> entry = profiles.next();
+      if (entry.getValue() == null) {
+        continue;
+      }
+      ProfileSummary summary = ProfileSummary.of(entry.getKey(), entry.getValue(), maxQueryLength);
+      if (!filter.apply(summary)) {
+        continue;
+      }
+      if (skip > 0) {
+        skip--;
+        continue;
+      }
+      summaries.add(summary);
+    }
+    return summaries;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.server.profile;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.drill.common.AutoCloseables;
+import org.apache.drill.common.collections.ImmutableEntry;
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.coord.ClusterCoordinator;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
+import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.apache.drill.exec.rpc.NamedThreadFactory;
+import org.apache.drill.exec.store.sys.BasePersistentStore;
+import org.apache.drill.exec.store.sys.PersistentStoreMode;
+import org.apache.drill.exec.store.sys.store.LocalPersistentStore;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Iterators;
+
+/**
+ * Profile store that keeps a {@link ProfileIndex} of profile summaries
+ * beside a file-based store of full profiles. Listing, paging and filtering
+ * profiles is served from the index; full profiles are read from the
+ * underlying store only when requested.
+ * <p>
+ * Profiles beyond the configured retention (count or age) are deleted by a
+ * background maintenance task, which also compacts the index log. Each
+ * Drillbit deletes its own profiles and those of Drillbits that left the
+ * cluster. The task runs once the log has grown by the configured number
+ * of records and, when an age limit is set, every hour on a schedule, so
+ * that an idle Drillbit still expires old profiles.
+ * <p>
+ * Profiles that no Drillbit has indexed, as when upgrading from a release
+ * without the index, are indexed in the background when the Drillbit
+ * starts; until then they are missing from the listings.
+ */
+public class IndexedProfileStore extends BasePersistentStore<QueryProfile> {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(IndexedProfileStore.class);
+
+  private static final long MAINTENANCE_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+
+  private final LocalPersistentStore<QueryProfile> store;
+  private final ClusterCoordinator coordinator;
+  private final ProfileIndex index;
+  private final int maxQueryLength;
+  private final int maxCount;
+  private final long maxAgeMs;
+  private final int compactionThreshold;
+  private final Clock clock;
+  private final ScheduledExecutorService maintenanceExecutor;
+  private final AtomicBoolean maintenancePending = new AtomicBoolean();
+
+  public IndexedProfileStore(DrillConfig config, LocalPersistentStore<QueryProfile> store,
+                             ClusterCoordinator coordinator, DrillbitEndpoint endpoint) throws IOException {
+    this(config, store, coordinator, endpoint, Clock.systemUTC(), MAINTENANCE_INTERVAL_MS);
+  }
+
+  @VisibleForTesting
+  IndexedProfileStore(DrillConfig config, LocalPersistentStore<QueryProfile> store,
+                      ClusterCoordinator coordinator, DrillbitEndpoint endpoint,
+                      Clock clock, long maintenanceIntervalMs) throws IOException {
+    this.store = store;
+    this.clock = clock;
+    this.coordinator = coordinator;
+    this.maxQueryLength = config.getInt(ExecConstants.PROFILES_STORE_INDEX_QUERY_LENGTH);
+    this.maxCount = config.getInt(ExecConstants.PROFILES_STORE_RETENTION_MAX_COUNT);
+    this.maxAgeMs = TimeUnit.HOURS.toMillis(config.getLong(ExecConstants.PROFILES_STORE_RETENTION_MAX_AGE_HOURS));
+    this.compactionThreshold = config.getInt(ExecConstants.PROFILES_STORE_INDEX_COMPACTION_THRESHOLD);
+    this.index = new ProfileIndex(store.getFileSystem().getConf(), store.getBasePath(), getOwner(endpoint));
+    boolean hasOwnLog = index.hasOwnLog();
+    index.compact();
+    maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("profile-store-maintenance-"));
+    if (!hasOwnLog) {
+      maintenanceExecutor.submit(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            indexMissing();
+          } catch (Exception e) {
+            logger.warn("Failed to index existing profiles", e);
+          }
+        }
+      });
+    }
+    if (maxCount > 0 || maxAgeMs > 0) {
+      scheduleMaintenance();
+    }
+    if (maxAgeMs > 0) {
+      // Profiles age without any new ones being added
+      maintenanceExecutor.scheduleAtFixedRate(new Runnable() {
+        @Override
+        public void run() {
+          scheduleMaintenance();
+        }
+      }, maintenanceIntervalMs, maintenanceIntervalMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static String getOwner(DrillbitEndpoint endpoint) {
+    return ProfileIndex.toLogOwner(endpoint.getAddress() + "-" + endpoint.getUserPort());
+  }
+
+  /**
+   * Index the profiles in the store that no Drillbit has indexed yet. Only
+   * the names of the profile files are listed; just the profiles missing
+   * from the index are read.
+   */
+  private void indexMissing() throws IOException {
+    int count = 0;
+    for (String queryId : store.getKeys()) {
+      if (index.contains(queryId)) {
+        continue;
+      }
+      try {
+        QueryProfile profile = store.get(queryId);
+        if (profile != null) {
+          index.add(summarize(queryId, profile));
+          count++;
+        }
+      } catch (RuntimeException e) {
+        logger.warn("Skipping unreadable profile {} while building the profile index", queryId, e);
+      }
+    }
+    logger.info("Indexed {} existing profiles", count);
+  }
+
+  private ProfileSummary summarize(String queryId, QueryProfile profile) {
+    return ProfileSummary.of(queryId, profile, maxQueryLength);
+  }
+
+  /**
+   * Page through profile summaries, newest first.
+   *
+   * @param skip number of matching summaries to skip
+   * @param take maximum number of summaries to return
+   * @param filter summaries to include
+   * @return the matching summaries
+   */
+  public List<ProfileSummary> getSummaries(int skip, int take, Predicate<ProfileSummary> filter) {
+    return index.getRange(skip, take, filter);
+  }
+
+  @Override
+  public PersistentStoreMode getMode() {
+    return store.getMode();
+  }
+
+  @Override
+  public boolean contains(String key) {
+    return store.contains(key);
+  }
+
+  @Override
+  public QueryProfile get(String key) {
+    return store.get(key);
+  }
+
+  @Override
+  public void put(String key, QueryProfile value) {
+    store.put(key, value);
+    addToIndex(key, value);
+  }
+
+  @Override
+  public boolean putIfAbsent(String key, QueryProfile value) {
+    if (!store.putIfAbsent(key, value)) {
+      return false;
+    }
+    addToIndex(key, value);
+    return true;
+  }
+
+  @Override
+  public void delete(String key) {
+    store.delete(key);
+    try {
+      index.remove(key);
+    } catch (IOException e) {
+      logger.warn("Failed to record removal of profile {} in the profile index", key, e);
+    }
+  }
+
+  /**
+   * Returns full profiles in index order, newest first, reading each
+   * profile only as the iterator reaches it.
+   */
+  @Override
+  public Iterator<Map.Entry<String, QueryProfile>> getRange(int skip, int take) {
+    List<ProfileSummary> summaries = index.getRange(skip, take, Predicates.<ProfileSummary>alwaysTrue());
+    Iterator<Map.Entry<String, QueryProfile>> entries = Iterators.transform(summaries.iterator(),
+        new Function<ProfileSummary, Map.Entry<String, QueryProfile>>() {
+          @Override
+          public Map.Entry<String, QueryProfile> apply(ProfileSummary summary) {
+            return new ImmutableEntry<>(summary.getQueryId(), store.get(summary.getQueryId()));
+          }
+        });
+
+    // A profile may have been removed by another Drillbit since it was indexed
+    return Iterators.filter(entries, new Predicate<Map.Entry<String, QueryProfile>>() {
+      @Override
+      public boolean apply(Map.Entry<String, QueryProfile> entry) {
+        return entry.getValue() != null;
+      }
+    });
+  }
+
+  private void addToIndex(String key, QueryProfile value) {
+    try {
+      index.add(summarize(key, value));
+    } catch (IOException e) {
+      logger.warn("Failed to add profile {} to the profile index", key, e);
+    }
+    if (index.getAppendsSinceCompaction() >= compactionThreshold) {
+      scheduleMaintenance();
+    }
+  }
+
+  private void scheduleMaintenance() {
+    if (!maintenancePending.compareAndSet(false, true)) {
+      return;
+    }
+    maintenanceExecutor.submit(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          maintain();
+        } catch (Exception e) {
+          logger.warn("Profile store maintenance failed", e);
+        } finally {
+          maintenancePending.set(false);
+        }
+      }
+    });
+  }
+
+  /**
+   * Delete the profiles of this Drillbit and of departed Drillbits that are
+   * beyond the retention limits, then compact the index log.
+   */
+  private void maintain() throws IOException {
+    long minStart = maxAgeMs > 0 ? clock.millis() - maxAgeMs : 0;
+    Set<String> liveOwners = new HashSet<>();
+    for (DrillbitEndpoint endpoint : coordinator.getOnlineEndPoints()) {
+      liveOwners.add(getOwner(endpoint));
+    }
+    List<String> expired = index.getExpired(maxCount, minStart, liveOwners);
+    for (String queryId : expired) {
+      store.delete(queryId);
+      index.remove(queryId);
+    }
+    if (!expired.isEmpty()) {
+      logger.info("Removed {} profiles beyond the retention limits", expired.size());
+    }
+    index.compact();
+  }
+
+  @Override
+  public void close() throws Exception {
+    maintenanceExecutor.shutdown();
+    maintenanceExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    AutoCloseables.close(index, store);
+  }
+}
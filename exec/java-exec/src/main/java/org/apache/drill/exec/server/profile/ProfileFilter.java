@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.server.profile;
+
+import com.google.common.base.Predicate;
+
+/**
+ * Filter applied to profile summaries while paging through the
+ * {@link ProfileIndex}. Unset criteria match every profile. Start
+ * time bounds are in milliseconds since the epoch; the lower bound is
+ * inclusive, the upper bound exclusive.
+ */
+public class ProfileFilter implements Predicate<ProfileSummary> {
+
+  public static final ProfileFilter ALL = new ProfileFilter(null, null, null, 0, Long.MAX_VALUE);
+
+  private final String user;
+  private final String state;
+  private final String queue;
+  private final long startFrom;
+  private final long startTo;
+
+  public ProfileFilter(String user, String state, String queue, long startFrom, long startTo) {
+    this.user = user;
+    this.state = state;
+    this.queue = queue;
+    this.startFrom = startFrom;
+    this.startTo = startTo;
+  }
+
+  public static ProfileFilter forUser(String user) {
+    return new ProfileFilter(user, null, null, 0, Long.MAX_VALUE);
+  }
+
+  @Override
+  public boolean apply(ProfileSummary summary) {
+    return (user == null || user.equals(summary.getUser())) &&
+        (state == null || state.equalsIgnoreCase(summary.getState())) &&
+        (queue == null || queue.equals(summary.getQueue())) &&
+        summary.getStart() >= startFrom &&
+        summary.getStart() < startTo;
+  }
+
+  /**
+   * Summaries are ordered newest first, so once a summary starts before
+   * the lower bound, no later summary can match.
+   *
+   * @param summary a summary that failed to match
+   * @return true if no summary after this one can match
+   */
+  public boolean isPastRange(ProfileSummary summary) {
+    return summary.getStart() < startFrom;
+  }
+}
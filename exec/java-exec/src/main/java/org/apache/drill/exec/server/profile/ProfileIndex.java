@@ -0,0 +1,568 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.server.profile;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Predicate;
+
+/**
+ * Append-only index of profile summaries, kept beside the profiles of a
+ * file-based profile store so that profiles can be listed, paged and
+ * filtered without reading (or even listing) the profile files.
+ * <p>
+ * Each Drillbit appends to its own log in the index directory, named
+ * <tt>&lt;owner>.&lt;generation>.idx</tt>. A log is a series of lines:
+ * <ul>
+ * <li><tt>#owner</tt>: header,</li>
+ * <li><tt>+{json}</tt>: a summary was added,</li>
+ * <li><tt>-queryId</tt>: a profile was removed,</li>
+ * <li><tt>.</tt>: the compacted base of the log is complete.</li>
+ * </ul>
+ * Compaction writes the live entries of the Drillbit to the next
+ * generation, ends the base with <tt>.</tt>, continues appending to the
+ * new log and deletes the old one. A log without the base marker is a
+ * compaction in progress (or one interrupted by a crash) and is ignored
+ * in favor of the previous generation.
+ * <p>
+ * A removal recorded in one log of a profile added in another log is a
+ * tombstone: it is written again by each compaction, until the log that
+ * added the profile no longer holds it, so that the profile does not come
+ * back when the logs are read again.
+ * <p>
+ * The in-memory view merges the logs of all Drillbits sharing the store.
+ * Logs of other Drillbits are re-read incrementally, from the last
+ * offset seen, at most once per {@link #REFRESH_INTERVAL_MS}.
+ */
+public class ProfileIndex implements AutoCloseable {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ProfileIndex.class);
+
+  public static final String INDEX_DIR = ".index";
+  private static final String INDEX_SUFFIX = ".idx";
+  private static final long REFRESH_INTERVAL_MS = 2000;
+
+  private static final char HEADER = '#';
+  private static final char ADD = '+';
+  private static final char REMOVE = '-';
+  private static final char BASE_COMPLETE = '.';
+
+  /**
+   * Newest profiles first; ties broken by query id for a stable order.
+   */
+  private static final Comparator<ProfileSummary> NEWEST_FIRST = new Comparator<ProfileSummary>() {
+    @Override
+    public int compare(ProfileSummary o1, ProfileSummary o2) {
+      int result = Long.compare(o2.getStart(), o1.getStart());
+      return result != 0 ? result : o1.getQueryId().compareTo(o2.getQueryId());
+    }
+  };
+
+  /**
+   * Read position within the current log of another Drillbit.
+   */
+  private static class LogPosition {
+    final long generation;
+    long offset;
+
+    LogPosition(long generation, long offset) {
+      this.generation = generation;
+      this.offset = offset;
+    }
+  }
+
+  /**
+   * Result of parsing a chunk of log.
+   */
+  private static class LogChunk {
+    final List<ProfileSummary> added = new ArrayList<>();
+    final List<String> removed = new ArrayList<>();
+    boolean baseComplete;
+    long bytesConsumed;
+  }
+
+  private final FileSystem fs;
+  private final Path indexDir;
+  private final String owner;
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private final NavigableSet<ProfileSummary> ordered = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+  private final Map<String, ProfileSummary> byId = new ConcurrentHashMap<>();
+  private final Map<String, String> ownerOf = new ConcurrentHashMap<>();
+  // removed profiles still added by the log of their owner: query id to owner
+  private final Map<String, String> tombstones = new ConcurrentHashMap<>();
+  private final Map<String, LogPosition> foreignLogs = new HashMap<>();
+
+  private FSDataOutputStream out;
+  private long generation;
+  private boolean hasOwnLog;
+  private int appendsSinceCompaction;
+  private long lastRefresh;
+
+  /**
+   * Open the index, loading the logs of all Drillbits found in the index
+   * directory. Does not start a new log; call {@link #compact()} once
+   * the index is ready for writing.
+   *
+   * @param conf file system configuration of the profile store
+   * @param storePath directory of the profile store
+   * @param owner name of the log of this Drillbit; must be unique among
+   * the Drillbits sharing the store
+   * @throws IOException if the index directory cannot be read
+   */
+  public ProfileIndex(Configuration conf, Path storePath, String owner) throws IOException {
+    this.indexDir = new Path(storePath, INDEX_DIR);
+    this.owner = toLogOwner(owner);
+
+    // A private instance: the logs of other Drillbits are read while they
+    // are being written, so checksums are neither written nor verified.
+    this.fs = FileSystem.newInstance(indexDir.toUri(), conf);
+    fs.setVerifyChecksum(false);
+    fs.setWriteChecksum(false);
+    fs.mkdirs(indexDir);
+
+    Map<String, LogChunk> chunks = new HashMap<>();
+    for (Map.Entry<String, List<Long>> log : listLogs().entrySet()) {
+      String logOwner = log.getKey();
+      for (long gen : log.getValue()) {
+        LogChunk chunk = readLog(logPath(logOwner, gen), 0);
+        if (chunk == null || !chunk.baseComplete) {
+          continue;
+        }
+        chunks.put(logOwner, chunk);
+        if (logOwner.equals(this.owner)) {
+          generation = gen;
+          hasOwnLog = true;
+        } else {
+          foreignLogs.put(logOwner, new LogPosition(gen, chunk.bytesConsumed));
+        }
+        break;
+      }
+    }
+    // A log may remove a profile added by a log read after it, so removals are applied last
+    for (Map.Entry<String, LogChunk> chunk : chunks.entrySet()) {
+      for (ProfileSummary summary : chunk.getValue().added) {
+        index(chunk.getKey(), summary);
+      }
+    }
+    for (Map.Entry<String, LogChunk> chunk : chunks.entrySet()) {
+      applyRemovals(chunk.getKey(), chunk.getValue().removed);
+    }
+    lastRefresh = System.currentTimeMillis();
+    logger.debug("Loaded profile index {} with {} summaries", indexDir, byId.size());
+  }
+
+  /**
+   * @param name name of a Drillbit
+   * @return the name of its log, as used in the index directory
+   */
+  public static String toLogOwner(String name) {
+    return name.replaceAll("[^A-Za-z0-9_\\-]", "_");
+  }
+
+  /**
+   * @return true if this Drillbit had written a log before, false if the
+   * index must be rebuilt from the profiles in the store
+   */
+  public boolean hasOwnLog() {
+    return hasOwnLog;
+  }
+
+  public boolean contains(String queryId) {
+    return byId.containsKey(queryId);
+  }
+
+  public int size() {
+    return byId.size();
+  }
+
+  public int getAppendsSinceCompaction() {
+    return appendsSinceCompaction;
+  }
+
+  /**
+   * Add a summary to the index, owned by this Drillbit. Replaces any
+   * existing summary for the same query.
+   */
+  public synchronized void add(ProfileSummary summary) throws IOException {
+    index(owner, summary);
+    if (out != null) {
+      append(ADD + mapper.writeValueAsString(summary));
+    }
+  }
+
+  /**
+   * Remove a profile from the index. Removing a profile owned by another
+   * Drillbit is recorded in this Drillbit's log.
+   */
+  public synchronized void remove(String queryId) throws IOException {
+    applyRemovals(owner, Collections.singletonList(queryId));
+    if (out != null) {
+      append(REMOVE + queryId);
+    }
+  }
+
+  /**
+   * Page through the summaries, newest first.
+   *
+   * @param skip number of matching summaries to skip
+   * @param take maximum number of summaries to return
+   * @param filter summaries to include
+   * @return the matching summaries
+   */
+  public List<ProfileSummary> getRange(int skip, int take, Predicate<ProfileSummary> filter) {
+    refresh(false);
+    List<ProfileSummary> result = new ArrayList<>(Math.min(take, 1024));
+    ProfileFilter rangeFilter = filter instanceof ProfileFilter ? (ProfileFilter) filter : null;
+    Iterator<ProfileSummary> iter = ordered.iterator();
+    while (iter.hasNext() && result.size() < take) {
+      ProfileSummary summary = iter.next();
+      if (!filter.apply(summary)) {
+        if (rangeFilter != null && rangeFilter.isPastRange(summary)) {
+          break;
+        }
+        continue;
+      }
+      if (skip > 0) {
+        skip--;
+        continue;
+      }
+      result.add(summary);
+    }
+    return result;
+  }
+
+  /**
+   * Select the profiles that fall outside the retention limits and are
+   * owned by this Drillbit or by a Drillbit that left the cluster. The
+   * count limit applies to all profiles in the index, so that each
+   * Drillbit removes its own profiles beyond the overall limit, and the
+   * profiles of departed Drillbits are removed by the others.
+   *
+   * @param maxCount number of profiles to retain, or 0 for no limit
+   * @param minStart start time before which profiles are expired, or 0
+   * for no limit
+   * @param liveOwners log names of the Drillbits in the cluster, see
+   * {@link #toLogOwner(String)}
+   * @return ids of the expired profiles
+   */
+  public List<String> getExpired(int maxCount, long minStart, Set<String> liveOwners) {
+    List<String> expired = new ArrayList<>();
+    int rank = 0;
+    for (ProfileSummary summary : ordered) {
+      boolean overCount = maxCount > 0 && rank >= maxCount;
+      String summaryOwner = ownerOf.get(summary.getQueryId());
+      boolean removable = owner.equals(summaryOwner) || !liveOwners.contains(summaryOwner);
+      if ((overCount || summary.getStart() < minStart) && removable) {
+        expired.add(summary.getQueryId());
+      }
+      rank++;
+    }
+    return expired;
+  }
+
+  /**
+   * Rewrite this Drillbit's log with only its live entries and the
+   * tombstones still needed, then continue appending to the new log.
+   */
+  public synchronized void compact() throws IOException {
+    // pick up removals of this Drillbit's profiles, and drop the tombstones no longer needed
+    refresh(true);
+    long newGeneration = generation + 1;
+    Path newPath = logPath(owner, newGeneration);
+    FSDataOutputStream newOut = fs.create(newPath, true);
+    StringBuilder buf = new StringBuilder();
+    buf.append(HEADER).append(owner).append('\n');
+    for (ProfileSummary summary : ordered) {
+      if (owner.equals(ownerOf.get(summary.getQueryId()))) {
+        buf.append(ADD).append(mapper.writeValueAsString(summary)).append('\n');
+      }
+      if (buf.length() > 64 * 1024) {
+        newOut.write(buf.toString().getBytes(StandardCharsets.UTF_8));
+        buf.setLength(0);
+      }
+    }
+    Iterator<Map.Entry<String, String>> iter = tombstones.entrySet().iterator();
+    while (iter.hasNext()) {
+      Map.Entry<String, String> tombstone = iter.next();
+      if (owner.equals(tombstone.getValue())) {
+        // the new base of this log no longer adds the profile
+        iter.remove();
+      } else {
+        buf.append(REMOVE).append(tombstone.getKey()).append('\n');
+      }
+    }
+    buf.append(BASE_COMPLETE).append('\n');
+    newOut.write(buf.toString().getBytes(StandardCharsets.UTF_8));
+    newOut.hflush();
+
+    FSDataOutputStream oldOut = out;
+    long oldGeneration = generation;
+    out = newOut;
+    generation = newGeneration;
+    hasOwnLog = true;
+    appendsSinceCompaction = 0;
+    if (oldOut != null) {
+      oldOut.close();
+    }
+    List<Long> generations = listLogs().get(owner);
+    if (generations != null) {
+      for (long gen : generations) {
+        if (gen <= oldGeneration) {
+          fs.delete(logPath(owner, gen), false);
+        }
+      }
+    }
+  }
+
+  /**
+   * Pick up summaries written by other Drillbits since the last refresh.
+   */
+  private synchronized void refresh(boolean force) {
+    long now = System.currentTimeMillis();
+    if (!force && now - lastRefresh < REFRESH_INTERVAL_MS) {
+      return;
+    }
+    lastRefresh = now;
+    try {
+      for (Map.Entry<String, List<Long>> log : listLogs().entrySet()) {
+        String logOwner = log.getKey();
+        if (logOwner.equals(owner)) {
+          continue;
+        }
+        LogPosition position = foreignLogs.get(logOwner);
+        long latest = log.getValue().get(0);
+        if (position != null && position.generation == latest) {
+          LogChunk chunk = readLog(logPath(logOwner, latest), position.offset);
+          if (chunk != null) {
+            apply(logOwner, chunk);
+            position.offset += chunk.bytesConsumed;
+          }
+          continue;
+        }
+
+        // New Drillbit, or the Drillbit compacted its log: reload it
+        // once the new base is complete.
+        LogChunk chunk = readLog(logPath(logOwner, latest), 0);
+        if (chunk == null || !chunk.baseComplete) {
+          continue;
+        }
+        for (Map.Entry<String, String> entry : ownerOf.entrySet()) {
+          if (entry.getValue().equals(logOwner)) {
+            unindex(entry.getKey());
+          }
+        }
+        apply(logOwner, chunk);
+        reapplyTombstones(logOwner, chunk);
+        foreignLogs.put(logOwner, new LogPosition(latest, chunk.bytesConsumed));
+      }
+    } catch (IOException e) {
+      logger.warn("Failed to refresh profile index {}", indexDir, e);
+    }
+  }
+
+  private void append(String record) throws IOException {
+    out.write((record + '\n').getBytes(StandardCharsets.UTF_8));
+    out.hflush();
+    appendsSinceCompaction++;
+  }
+
+  private void index(String logOwner, ProfileSummary summary) {
+    unindex(summary.getQueryId());
+    byId.put(summary.getQueryId(), summary);
+    ownerOf.put(summary.getQueryId(), logOwner);
+    ordered.add(summary);
+  }
+
+  private void unindex(String queryId) {
+    ProfileSummary old = byId.remove(queryId);
+    if (old != null) {
+      ordered.remove(old);
+    }
+    ownerOf.remove(queryId);
+  }
+
+  private void apply(String logOwner, LogChunk chunk) {
+    for (ProfileSummary summary : chunk.added) {
+      index(logOwner, summary);
+    }
+    applyRemovals(logOwner, chunk.removed);
+  }
+
+  /**
+   * Remove profiles, keeping a tombstone for those added by another log.
+   */
+  private void applyRemovals(String logOwner, List<String> removed) {
+    for (String queryId : removed) {
+      String removedOwner = ownerOf.get(queryId);
+      unindex(queryId);
+      if (removedOwner != null && !removedOwner.equals(logOwner)) {
+        tombstones.put(queryId, removedOwner);
+      } else if (logOwner.equals(tombstones.get(queryId))) {
+        // the owner recorded the removal itself
+        tombstones.remove(queryId);
+      }
+    }
+  }
+
+  /**
+   * After reloading the compacted log of another Drillbit, remove again the
+   * profiles it still adds, and forget the tombstones of those it dropped.
+   */
+  private void reapplyTombstones(String logOwner, LogChunk chunk) {
+    Set<String> added = new HashSet<>();
+    for (ProfileSummary summary : chunk.added) {
+      added.add(summary.getQueryId());
+    }
+    Iterator<Map.Entry<String, String>> iter = tombstones.entrySet().iterator();
+    while (iter.hasNext()) {
+      Map.Entry<String, String> tombstone = iter.next();
+      if (!tombstone.getValue().equals(logOwner)) {
+        continue;
+      }
+      if (added.contains(tombstone.getKey())) {
+        unindex(tombstone.getKey());
+      } else {
+        iter.remove();
+      }
+    }
+  }
+
+  /**
+   * Read the complete lines of a log from the given offset. A partial
+   * last line (a record being written) is left for the next read.
+   *
+   * @return the records read, or null if the log no longer exists
+   */
+  private LogChunk readLog(Path path, long offset) throws IOException {
+    byte[] bytes;
+    try (FSDataInputStream in = fs.open(path)) {
+      in.seek(offset);
+      bytes = IOUtils.toByteArray((InputStream) in);
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+    LogChunk chunk = new LogChunk();
+    int lineStart = 0;
+    for (int i = 0; i < bytes.length; i++) {
+      if (bytes[i] != '\n') {
+        continue;
+      }
+      String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+      lineStart = i + 1;
+      if (line.isEmpty()) {
+        continue;
+      }
+      switch (line.charAt(0)) {
+        case ADD:
+          try {
+            chunk.added.add(mapper.readValue(line.substring(1), ProfileSummary.class));
+          } catch (IOException e) {
+            logger.warn("Skipping malformed profile index record in {}", path, e);
+          }
+          break;
+        case REMOVE:
+          chunk.removed.add(line.substring(1));
+          break;
+        case BASE_COMPLETE:
+          chunk.baseComplete = true;
+          break;
+        case HEADER:
+          break;
+        default:
+          logger.warn("Skipping unknown profile index record in {}", path);
+      }
+    }
+    chunk.bytesConsumed = lineStart;
+    return chunk;
+  }
+
+  /**
+   * @return the generations of each log in the index directory, newest first
+   */
+  private Map<String, List<Long>> listLogs() throws IOException {
+    Map<String, List<Long>> logs = new HashMap<>();
+    for (FileStatus status : fs.listStatus(indexDir)) {
+      String name = status.getPath().getName();
+      if (!name.endsWith(INDEX_SUFFIX)) {
+        continue;
+      }
+      String stem = name.substring(0, name.length() - INDEX_SUFFIX.length());
+      int dot = stem.lastIndexOf('.');
+      if (dot <= 0) {
+        continue;
+      }
+      long gen;
+      try {
+        gen = Long.parseLong(stem.substring(dot + 1));
+      } catch (NumberFormatException e) {
+        continue;
+      }
+      String logOwner = stem.substring(0, dot);
+      List<Long> generations = logs.get(logOwner);
+      if (generations == null) {
+        generations = new ArrayList<>();
+        logs.put(logOwner, generations);
+      }
+      generations.add(gen);
+    }
+    for (List<Long> generations : logs.values()) {
+      generations.sort(Comparator.reverseOrder());
+    }
+    return logs;
+  }
+
+  private Path logPath(String logOwner, long gen) {
+    return new Path(indexDir, logOwner + "." + gen + INDEX_SUFFIX);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      if (out != null) {
+        out.close();
+        out = null;
+      }
+    } finally {
+      fs.close();
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.server.profile;
+
+import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Compact, immutable summary of a completed query profile: just the
+ * fields needed to list profiles in the Web UI and in
+ * <tt>sys.profiles</tt>. The query text is truncated to a prefix, the
+ * full text of a truncated query is read from the profile when needed.
+ * Summaries are kept in memory by the {@link ProfileIndex} and persisted
+ * in its append-only log as one JSON object per line.
+ */
+public class ProfileSummary {
+
+  private final String queryId;
+  private final String user;
+  private final String state;
+  private final String queue;
+  private final String foreman;
+  private final long start;
+  private final long planEnd;
+  private final long queueWaitEnd;
+  private final long end;
+  private final int totalFragments;
+  private final double totalCost;
+  private final String query;
+  private final boolean queryTruncated;
+
+  @JsonCreator
+  public ProfileSummary(@JsonProperty("queryId") String queryId,
+                        @JsonProperty("user") String user,
+                        @JsonProperty("state") String state,
+                        @JsonProperty("queue") String queue,
+                        @JsonProperty("foreman") String foreman,
+                        @JsonProperty("start") long start,
+                        @JsonProperty("planEnd") long planEnd,
+                        @JsonProperty("queueWaitEnd") long queueWaitEnd,
+                        @JsonProperty("end") long end,
+                        @JsonProperty("totalFragments") int totalFragments,
+                        @JsonProperty("totalCost") double totalCost,
+                        @JsonProperty("query") String query,
+                        @JsonProperty("queryTruncated") boolean queryTruncated) {
+    this.queryId = queryId;
+    this.user = user;
+    this.state = state;
+    this.queue = queue;
+    this.foreman = foreman;
+    this.start = start;
+    this.planEnd = planEnd;
+    this.queueWaitEnd = queueWaitEnd;
+    this.end = end;
+    this.totalFragments = totalFragments;
+    this.totalCost = totalCost;
+    this.query = query;
+    this.queryTruncated = queryTruncated;
+  }
+
+  /**
+   * Summarize a profile.
+   *
+   * @param queryId query id, as used as the key of the profile store
+   * @param profile the full profile
+   * @param maxQueryLength maximum number of characters of query text to retain
+   * @return the summary
+   */
+  public static ProfileSummary of(String queryId, QueryProfile profile, int maxQueryLength) {
+    String query = profile.getQuery();
+    boolean truncated = query.length() > maxQueryLength;
+    if (truncated) {
+      query = query.substring(0, maxQueryLength);
+    }
+    return new ProfileSummary(queryId, profile.getUser(), profile.getState().name(),
+        profile.getQueueName(), profile.getForeman().getAddress(),
+        profile.getStart(), profile.getPlanEnd(), profile.getQueueWaitEnd(), profile.getEnd(),
+        profile.getTotalFragments(), profile.getTotalCost(), query, truncated);
+  }
+
+  public String getQueryId() { return queryId; }
+
+  public String getUser() { return user; }
+
+  /**
+   * @return name of the final {@link org.apache.drill.exec.proto.UserBitShared.QueryResult.QueryState}
+   */
+  public String getState() { return state; }
+
+  public String getQueue() { return queue; }
+
+  public String getForeman() { return foreman; }
+
+  public long getStart() { return start; }
+
+  public long getPlanEnd() { return planEnd; }
+
+  public long getQueueWaitEnd() { return queueWaitEnd; }
+
+  public long getEnd() { return end; }
+
+  public int getTotalFragments() { return totalFragments; }
+
+  public double getTotalCost() { return totalCost; }
+
+  /**
+   * @return the query text, possibly truncated
+   */
+  public String getQuery() { return query; }
+
+  /**
+   * @return true if {@link #getQuery()} is a prefix of the query text
+   */
+  public boolean isQueryTruncated() { return queryTruncated; }
+
+  @Override
+  public String toString() {
+    return "ProfileSummary[queryId=" + queryId + ", user=" + user + ", state=" + state + ", start=" + start + "]";
+  }
+}
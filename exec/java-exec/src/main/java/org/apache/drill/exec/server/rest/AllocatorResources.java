@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.server.rest;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.apache.drill.exec.memory.AllocationProfiler;
+import org.apache.drill.exec.memory.AllocationProfiler.AllocatorProfile;
+import org.apache.drill.exec.server.rest.auth.DrillUserPrincipal;
+import org.apache.drill.exec.work.WorkManager;
+
+/**
+ * Allocation profile of this Drillbit: recent usage and estimated bytes
+ * per allocation site for each open allocator.
+ */
+@Path("/allocators.json")
+@RolesAllowed(DrillUserPrincipal.AUTHENTICATED_ROLE)
+public class AllocatorResources {
+  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(AllocatorResources.class);
+
+  @Inject WorkManager work;
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<AllocatorProfile> getAllocatorsJSON() {
+    AllocationProfiler profiler = work.getContext().getAllocationProfiler();
+    if (profiler == null) {
+      return Collections.emptyList();
+    }
+    List<AllocatorProfile> profiles = profiler.getProfiles();
+    Collections.sort(profiles, new Comparator<AllocatorProfile>() {
+      @Override
+      public int compare(AllocatorProfile o1, AllocatorProfile o2) {
+        return o1.getName().compareTo(o2.getName());
+      }
+    });
+    return profiles;
+  }
+}
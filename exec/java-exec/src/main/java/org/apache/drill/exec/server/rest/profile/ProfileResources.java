@@ -47,9 +47,12 @@ import org.apache.drill.exec.proto.GeneralRPCProtos.Ack;
 import org.apache.drill.exec.proto.UserBitShared.QueryId;
 import org.apache.drill.exec.proto.UserBitShared.QueryInfo;
 import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.apache.drill.exec.proto.UserBitShared.QueryResult.QueryState;
 import org.apache.drill.exec.proto.helper.QueryIdHelper;
 import org.apache.drill.exec.server.rest.DrillRestServer.UserAuthEnabled;
 import org.apache.drill.exec.server.QueryProfileStoreContext;
+import org.apache.drill.exec.server.profile.ProfileFilter;
+import org.apache.drill.exec.server.profile.ProfileSummary;
 import org.apache.drill.exec.server.rest.ViewableWithPermissions;
 import org.apache.drill.exec.server.rest.auth.DrillUserPrincipal;
 import org.apache.drill.exec.store.sys.PersistentStore;
@@ -58,6 +61,8 @@ import org.apache.drill.exec.work.WorkManager;
 import org.apache.drill.exec.work.foreman.Foreman;
 import org.glassfish.jersey.server.mvc.Viewable;
 
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
 import com.google.common.collect.Lists;
 
 @Path("/")
@@ -224,6 +229,16 @@ public class ProfileResources {
 
   //max Param to cap listing of profiles
   private static final String MAX_QPROFILES_PARAM = "max";
+  //Params to page through and filter completed profiles
+  private static final String SKIP_QPROFILES_PARAM = "skip";
+  private static final String USER_QPROFILES_PARAM = "user";
+  private static final String STATE_QPROFILES_PARAM = "state";
+  private static final String QUEUE_QPROFILES_PARAM = "queue";
+
+  private static int getIntParam(UriInfo uriInfo, String name, int defaultValue) {
+    String value = uriInfo.getQueryParameters().getFirst(name);
+    return value == null || value.isEmpty() ? defaultValue : Integer.valueOf(value);
+  }
 
   @SuppressWarnings("resource")
   @GET
@@ -232,7 +247,6 @@ public class ProfileResources {
   public QProfiles getProfilesJSON(@Context UriInfo uriInfo) {
     try {
       final QueryProfileStoreContext profileStoreContext = work.getContext().getProfileStoreContext();
-      final PersistentStore<QueryProfile> completed = profileStoreContext.getCompletedProfileStore();
       final TransientStore<QueryInfo> running = profileStoreContext.getRunningProfileStore();
 
       final List<String> errors = Lists.newArrayList();
@@ -264,25 +278,32 @@ public class ProfileResources {
 
       //Defining #Profiles to load
       int maxProfilesToLoad = work.getContext().getConfig().getInt(ExecConstants.HTTP_MAX_PROFILES);
-      String maxProfilesParams = uriInfo.getQueryParameters().getFirst(MAX_QPROFILES_PARAM);
-      if (maxProfilesParams != null && !maxProfilesParams.isEmpty()) {
-        maxProfilesToLoad = Integer.valueOf(maxProfilesParams);
-      }
+      maxProfilesToLoad = getIntParam(uriInfo, MAX_QPROFILES_PARAM, maxProfilesToLoad);
+
+      final int skip = getIntParam(uriInfo, SKIP_QPROFILES_PARAM, 0);
+      final ProfileFilter filter = new ProfileFilter(
+          uriInfo.getQueryParameters().getFirst(USER_QPROFILES_PARAM),
+          uriInfo.getQueryParameters().getFirst(STATE_QPROFILES_PARAM),
+          uriInfo.getQueryParameters().getFirst(QUEUE_QPROFILES_PARAM),
+          0, Long.MAX_VALUE);
+      final Predicate<ProfileSummary> authorized = new Predicate<ProfileSummary>() {
+        @Override
+        public boolean apply(ProfileSummary summary) {
+          return principal.canManageProfileOf(summary.getUser());
+        }
+      };
 
-      final Iterator<Map.Entry<String, QueryProfile>> range = completed.getRange(0, maxProfilesToLoad);
+      final List<ProfileSummary> summaries = profileStoreContext.getCompletedProfileSummaries(
+          skip, maxProfilesToLoad, Predicates.and(filter, authorized));
 
-      while (range.hasNext()) {
+      for (ProfileSummary summary : summaries) {
         try {
-          final Map.Entry<String, QueryProfile> profileEntry = range.next();
-          final QueryProfile profile = profileEntry.getValue();
-          if (principal.canManageProfileOf(profile.getUser())) {
-            finishedQueries.add(
-                new ProfileInfo(work.getContext().getConfig(),
-                    profileEntry.getKey(), profile.getStart(), profile.getEnd(),
-                    profile.getForeman().getAddress(), profile.getQuery(),
-                    ProfileUtil.getQueryStateDisplayName(profile.getState()),
-                    profile.getUser(), profile.getTotalCost(), profile.getQueueName()));
-          }
+          finishedQueries.add(
+              new ProfileInfo(work.getContext().getConfig(),
+                  summary.getQueryId(), summary.getStart(), summary.getEnd(),
+                  summary.getForeman(), summary.getQuery(),
+                  ProfileUtil.getQueryStateDisplayName(QueryState.valueOf(summary.getState())),
+                  summary.getUser(), summary.getTotalCost(), summary.getQueue()));
         } catch (Exception e) {
           errors.add(e.getMessage());
           logger.error("Error getting finished query profile.", e);
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.drill.common.exceptions.ExecutionSetupException;
+import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.exception.OutOfMemoryException;
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.ops.MetricDef;
+import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.ops.OperatorStats;
+import org.apache.drill.exec.physical.impl.OutputMutator;
+import org.apache.drill.exec.physical.rowSet.ResultSetLoader;
+import org.apache.drill.exec.physical.rowSet.RowSetLoader;
+import org.apache.drill.exec.physical.rowSet.impl.OptionBuilder;
+import org.apache.drill.exec.physical.rowSet.impl.ResultSetLoaderImpl;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.vector.ValueVector;
+
+/**
+ * Base class for record readers that write rows through a
+ * {@link ResultSetLoader} rather than directly into value vectors.
+ * The loader limits each batch both by row count and by the memory
+ * target given by {@link ExecConstants#OUTPUT_BATCH_SIZE}, rolling any
+ * row that overflows the limit into the next batch. This avoids both
+ * oversized batches for wide or nested rows and the vector doubling
+ * that comes from calling <tt>setSafe()</tt> on undersized vectors.
+ * <p>
+ * The loader owns its own vectors. On each call to {@link #next()},
+ * the harvested vectors are transferred (without copying) into the
+ * vectors provided by the scan operator's {@link OutputMutator}, so
+ * the scan operator sees no difference from a classic reader.
+ * <p>
+ * Subclasses open their data source in {@link #open(RowSetLoader)},
+ * write rows in {@link #readBatch(RowSetLoader)} and release resources
+ * in {@link #cleanup()}.
+ * <p>
+ * Readers built on <tt>JsonReader</tt> (JSON, MongoDB, Kafka) still write
+ * through the complex writers: JSON may produce repeated lists and union
+ * vectors, which the column writers do not yet support.
+ */
+
+public abstract class ResultSetLoaderRecordReader extends AbstractRecordReader {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ResultSetLoaderRecordReader.class);
+
+  /**
+   * Batch size metrics reported in the query profile for scans
+   * that use this reader.
+   */
+
+  public enum Metric implements MetricDef {
+    BATCH_COUNT,      // Number of non-empty batches produced by the readers
+    MAX_BATCH_BYTES,  // Largest batch, in bytes of vector memory
+    AVG_BATCH_BYTES;  // Average batch size, in bytes of vector memory
+
+    @Override
+    public int metricId() {
+      return ordinal();
+    }
+  }
+
+  private final MetricDef batchCountMetric;
+  private final MetricDef maxBatchBytesMetric;
+  private final MetricDef avgBatchBytesMetric;
+  private OperatorContext operatorContext;
+  private OutputMutator outputMutator;
+  private ResultSetLoader loader;
+  private Map<String, ValueVector> outputVectors;
+  private boolean eof;
+  private long batchCount;
+  private long totalBatchBytes;
+  private long maxBatchBytes;
+
+  protected ResultSetLoaderRecordReader() {
+    this(Metric.BATCH_COUNT, Metric.MAX_BATCH_BYTES, Metric.AVG_BATCH_BYTES);
+  }
+
+  /**
+   * For readers whose scan operator has metrics of its own: report the
+   * batch sizes under the given metrics of that operator instead.
+   */
+
+  protected ResultSetLoaderRecordReader(MetricDef batchCountMetric, MetricDef maxBatchBytesMetric,
+                                        MetricDef avgBatchBytesMetric) {
+    this.batchCountMetric = batchCountMetric;
+    this.maxBatchBytesMetric = maxBatchBytesMetric;
+    this.avgBatchBytesMetric = avgBatchBytesMetric;
+  }
+
+  @Override
+  public final void setup(OperatorContext context, OutputMutator output) throws ExecutionSetupException {
+    this.operatorContext = context;
+    this.outputMutator = output;
+    OptionBuilder options = new OptionBuilder()
+        .setBatchSizeLimit((int) context.getFragmentContext().getOptions()
+            .getOption(ExecConstants.OUTPUT_BATCH_SIZE_VALIDATOR));
+    loader = new ResultSetLoaderImpl(context.getAllocator(), options.build());
+    open(loader.writer());
+  }
+
+  protected OperatorContext operatorContext() { return operatorContext; }
+
+  /**
+   * Open the underlying data source and, optionally, define the columns
+   * known up front.
+   *
+   * @param writer writer for the top-level row, used to add columns
+   * @throws ExecutionSetupException if the data source cannot be opened
+   */
+
+  protected abstract void open(RowSetLoader writer) throws ExecutionSetupException;
+
+  /**
+   * Write rows until either the writer reports that the batch is full or
+   * the input is exhausted. The typical loop is:<pre><code>
+   * while (!writer.isFull()) {
+   *   if (! nextRecord()) { return false; }
+   *   writer.start();
+   *   ... write columns ...
+   *   writer.save();
+   * }
+   * return true;</code></pre>
+   *
+   * @param writer writer for the top-level row
+   * @return true if more rows may be available, false at end of input
+   */
+
+  protected abstract boolean readBatch(RowSetLoader writer);
+
+  /**
+   * Release resources held by the reader. Called once from
+   * {@link #close()}.
+   */
+
+  protected abstract void cleanup();
+
+  /**
+   * Vectors are allocated by the result set loader, so there is nothing
+   * to allocate here. Remember the scan's vectors, however, so that any
+   * column created by an earlier reader, but not written by this one,
+   * can be filled with empty values.
+   */
+
+  @Override
+  public void allocate(Map<String, ValueVector> vectorMap) throws OutOfMemoryException {
+    outputVectors = vectorMap;
+  }
+
+  @Override
+  public int next() {
+    loader.startBatch();
+    if (!eof) {
+      eof = !readBatch(loader.writer());
+    }
+    VectorContainer batch = loader.harvest();
+    int rowCount = batch.getRecordCount();
+    long batchBytes = 0;
+    Set<ValueVector> written = new HashSet<>();
+    for (VectorWrapper<?> w : batch) {
+      ValueVector vector = w.getValueVector();
+      batchBytes += vector.getBufferSize();
+      written.add(transferToOutput(vector));
+    }
+    if (outputVectors != null) {
+      for (ValueVector vector : outputVectors.values()) {
+        if (!written.contains(vector)) {
+          vector.allocateNew();
+        }
+      }
+    }
+    if (rowCount > 0) {
+      updateStats(batchBytes);
+    }
+    return rowCount;
+  }
+
+  @SuppressWarnings("resource")
+  private ValueVector transferToOutput(ValueVector vector) {
+    ValueVector target;
+    try {
+      target = outputMutator.addField(vector.getField(), vector.getClass());
+    } catch (SchemaChangeException e) {
+      throw UserException.unsupportedError(e)
+          .message("Column type changed within a scan")
+          .addContext("Column", vector.getField().getName())
+          .build(logger);
+    }
+    vector.makeTransferPair(target).transfer();
+    return target;
+  }
+
+  private void updateStats(long batchBytes) {
+    batchCount++;
+    totalBatchBytes += batchBytes;
+    maxBatchBytes = Math.max(maxBatchBytes, batchBytes);
+
+    // Several readers may share one scan operator; combine with
+    // the values recorded by readers that ran earlier.
+
+    OperatorStats stats = operatorContext.getStats();
+    stats.addLongStat(batchCountMetric, 1);
+    long scanBatches = stats.getLongStat(batchCountMetric);
+    stats.setLongStat(maxBatchBytesMetric,
+        Math.max(stats.getLongStat(maxBatchBytesMetric), batchBytes));
+    long priorAvg = stats.getLongStat(avgBatchBytesMetric);
+    stats.setLongStat(avgBatchBytesMetric,
+        priorAvg + (batchBytes - priorAvg) / scanBatches);
+  }
+
+  @Override
+  public void close() {
+    try {
+      cleanup();
+    } finally {
+      if (loader != null) {
+        logger.debug("Read {} rows in {} batches, max batch {} bytes, avg batch {} bytes",
+            loader.totalRowCount(), batchCount, maxBatchBytes,
+            batchCount == 0 ? 0 : totalBatchBytes / batchCount);
+        loader.close();
+        loader = null;
+      }
+    }
+  }
+}
@@ -18,6 +18,9 @@
 package org.apache.drill.exec.store;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
@@ -51,8 +54,11 @@ public abstract class TimedCallable<V> implements Callable<V> {
 
   private static long TIMEOUT_PER_RUNNABLE_IN_MSECS = 15000;
 
+  private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
   private volatile long startTime = 0;
   private volatile long executionTime = -1;
+  private volatile long cpuTime = -1;
 
   private static class FutureMapper<V> implements Function<Future<V>, V> {
     int count;
@@ -158,6 +164,7 @@ public abstract class TimedCallable<V> implements Callable<V> {
   public final V call() throws Exception {
     long start = System.nanoTime();
     startTime = start;
+    final long cpuStart = currentThreadCpuTime();
     try {
       logger.debug("Started execution of '{}' task at {} ms", this, TimeUnit.MILLISECONDS.convert(start, TimeUnit.NANOSECONDS));
       return runInner();
@@ -174,10 +181,17 @@ public abstract class TimedCallable<V> implements Callable<V> {
           logger.debug("Task '{}' execution time is {} ms", this, timeMillis);
         }
       }
+      if (cpuStart != -1) {
+        cpuTime = currentThreadCpuTime() - cpuStart;
+      }
       executionTime = time;
     }
   }
 
+  private static long currentThreadCpuTime() {
+    return THREAD_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_BEAN.getCurrentThreadCpuTime() : -1;
+  }
+
   protected abstract V runInner() throws Exception;
 
   private long getStartTime(TimeUnit unit) {
@@ -189,6 +203,53 @@ public abstract class TimedCallable<V> implements Callable<V> {
   }
 
 
+  /**
+   * Execute the list of runnables like {@link #run}, with a parallelism that adapts to how long the tasks wait, for
+   * example on a high latency file system. The first {@code parallelism} tasks are run with the given parallelism.
+   * The remaining tasks are run with enough threads to keep the processors busy while tasks wait, estimated from the
+   * first tasks as processors * (1 + wait time / compute time), but no fewer than {@code parallelism} and no more
+   * than {@code maxParallelism}.
+   * @param activity Name of activity for reporting in logger.
+   * @param logger The logger to use to report results.
+   * @param tasks List of callable that should be executed and timed.
+   * @param parallelism The number of threads to start with.
+   * @param maxParallelism The maximum number of threads.
+   * @return The list of outcome objects, in the order of the tasks.
+   * @throws IOException All exceptions are coerced to IOException since this was build for storage system tasks initially.
+   */
+  public static <V> List<V> runAdaptive(final String activity, final Logger logger, final List<TimedCallable<V>> tasks,
+      int parallelism, int maxParallelism) throws IOException {
+    Preconditions.checkArgument(maxParallelism >= parallelism);
+    if (tasks.size() <= parallelism) {
+      return run(activity, logger, tasks, parallelism);
+    }
+    final List<TimedCallable<V>> first = tasks.subList(0, parallelism);
+    final List<V> results = new ArrayList<>(tasks.size());
+    results.addAll(run(activity, logger, first, parallelism));
+    final int adapted = adaptParallelism(first, parallelism, maxParallelism);
+    logger.debug("{}: running remaining {} tasks using {} threads.", activity, tasks.size() - parallelism, adapted);
+    results.addAll(run(activity, logger, tasks.subList(parallelism, tasks.size()), adapted));
+    return results;
+  }
+
+  /**
+   * Estimate the parallelism for further tasks like the given completed ones.
+   */
+  static int adaptParallelism(final List<? extends TimedCallable<?>> completed, int parallelism, int maxParallelism) {
+    long totalExecution = 0;
+    long totalCpu = 0;
+    for (TimedCallable<?> task : completed) {
+      if (task.executionTime == -1 || task.cpuTime == -1) {
+        return parallelism;
+      }
+      totalExecution += task.executionTime;
+      totalCpu += task.cpuTime;
+    }
+    final double waitRatio = (double) Math.max(totalExecution - totalCpu, 0) / Math.max(totalCpu, 1);
+    final double estimate = Math.ceil(Runtime.getRuntime().availableProcessors() * (1 + waitRatio));
+    return (int) Math.max(parallelism, Math.min(maxParallelism, estimate));
+  }
+
   /**
    * Execute the list of runnables with the given parallelization.  At end, return values and report completion time
    * stats to provided logger. Each runnable is allowed a certain timeout. If the timeout exceeds, existing/pending
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.avro;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.file.SeekableInput;
+import org.apache.avro.generic.GenericContainer;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.drill.common.exceptions.ExecutionSetupException;
+import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.physical.rowSet.RowSetLoader;
+import org.apache.drill.exec.server.options.OptionManager;
+import org.apache.drill.exec.store.ResultSetLoaderRecordReader;
+import org.apache.drill.exec.vector.complex.fn.FieldSelection;
+import org.apache.hadoop.fs.Path;
+
+import com.google.common.base.Stopwatch;
+
+/**
+ * Reads an Avro data file by decoding the binary encoding of its records
+ * straight into the vectors of the result set loader, without building a
+ * <tt>GenericRecord</tt> per record. Fields that are not projected are
+ * skipped at the byte level using the writer schema of the file, and a
+ * query that projects no column only counts the records of each block.
+ * <p>
+ * The split is read a block at a time. While the records of one block
+ * are decoded, the next block is read and decompressed on the scan
+ * thread pool, so that I/O and decompression overlap with decoding. A
+ * block belongs to the split when it starts before the end of the split,
+ * the rule used by {@link DataFileReader#pastSync(long)}.
+ * <p>
+ * Created by {@link AvroRecordReader} when the schema of the file and
+ * the projection are supported, see {@link AvroColumnDecoder#isSupported}.
+ * Takes ownership of the file reader, which is positioned at the start
+ * of the split.
+ */
+class AvroBinaryRecordReader extends ResultSetLoaderRecordReader {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(AvroBinaryRecordReader.class);
+
+  private final BlockReader reader;
+  private final Path path;
+  private final long end;
+  private final FieldSelection fieldSelection;
+  private final OptionManager optionManager;
+
+  private AvroColumnDecoder rootDecoder;
+  private ExecutorService executor;
+  private Future<Block> nextBlock;
+  private Block currentBlock;
+  private BinaryDecoder decoder;
+  private long remaining;
+
+  /**
+   * File reader that can also be read a block at a time.
+   * {@link DataFileReader#nextBlock()} does not move the start of the
+   * current block used by {@link DataFileReader#pastSync(long)}, which is
+   * otherwise only moved when the last record of a block is read, so
+   * {@link #finishBlock()} must be called after each block.
+   */
+  static class BlockReader extends DataFileReader<GenericContainer> {
+    BlockReader(SeekableInput input) throws IOException {
+      super(input, new GenericDatumReader<GenericContainer>());
+    }
+
+    void finishBlock() throws IOException {
+      blockFinished();
+    }
+  }
+
+  /**
+   * Decompressed data of a block. The file reader reuses its buffer, so
+   * the data is copied into an array owned by the block.
+   */
+  private static class Block {
+    private final byte[] data;
+    private final int length;
+    private final long recordCount;
+
+    private Block(byte[] data, int length, long recordCount) {
+      this.data = data;
+      this.length = length;
+      this.recordCount = recordCount;
+    }
+  }
+
+  AvroBinaryRecordReader(BlockReader reader, Path path, long end,
+                         List<SchemaPath> projectedColumns, OptionManager optionManager) {
+    this.reader = reader;
+    this.path = path;
+    this.end = end;
+    this.optionManager = optionManager;
+    setColumns(projectedColumns);
+    this.fieldSelection = FieldSelection.getFieldSelection(projectedColumns);
+  }
+
+  @Override
+  protected void open(RowSetLoader writer) throws ExecutionSetupException {
+    if (!isSkipQuery()) {
+      rootDecoder = AvroColumnDecoder.build(reader.getSchema(), fieldSelection, writer, optionManager);
+    }
+    executor = operatorContext().getScanExecutor();
+    nextBlock = fetch(null);
+  }
+
+  @Override
+  protected boolean readBatch(RowSetLoader writer) {
+    final Stopwatch watch = Stopwatch.createStarted();
+    try {
+      while (!writer.isFull()) {
+        while (remaining == 0) {
+          if (!advance()) {
+            return false;
+          }
+        }
+        writer.start();
+        if (rootDecoder != null) {
+          rootDecoder.decode(decoder);
+        }
+        writer.save();
+        remaining--;
+      }
+      return true;
+    } catch (IOException | RuntimeException e) {
+      throw UserException.dataReadError(e)
+          .message("Error reading Avro data")
+          .addContext("File Path", path.toString())
+          .build(logger);
+    } finally {
+      logger.debug("Read {} records in {} ms", writer.rowCount(), watch.elapsed(TimeUnit.MILLISECONDS));
+    }
+  }
+
+  /**
+   * Moves to the block read ahead and starts reading the one after it,
+   * into the array of the block that was just decoded.
+   *
+   * @return false at the end of the split
+   */
+  private boolean advance() throws IOException {
+    final Block block = waitForBlock();
+    if (block == null) {
+      return false;
+    }
+    final byte[] spare = currentBlock == null ? null : currentBlock.data;
+    currentBlock = block;
+    nextBlock = fetch(spare);
+    decoder = DecoderFactory.get().binaryDecoder(block.data, 0, block.length, decoder);
+    remaining = block.recordCount;
+    return true;
+  }
+
+  private Future<Block> fetch(final byte[] buffer) {
+    return executor.submit(new Callable<Block>() {
+      @Override
+      public Block call() throws IOException {
+        return readBlock(buffer);
+      }
+    });
+  }
+
+  /**
+   * Reads and decompresses the next block of the split. Runs on the scan
+   * thread pool, at most one such read is outstanding.
+   *
+   * @param buffer array to reuse for the data of the block, may be null
+   * @return the block, or null at the end of the split
+   */
+  private Block readBlock(byte[] buffer) throws IOException {
+    if (!reader.hasNext() || reader.pastSync(end)) {
+      return null;
+    }
+    final long recordCount = reader.getBlockCount();
+    final ByteBuffer data = reader.nextBlock();
+    reader.finishBlock();
+    final int length = data.remaining();
+    if (buffer == null || buffer.length < length) {
+      buffer = new byte[length];
+    }
+    data.get(buffer, 0, length);
+    return new Block(buffer, length, recordCount);
+  }
+
+  private Block waitForBlock() throws IOException {
+    if (nextBlock == null) {
+      return null;
+    }
+    try {
+      return nextBlock.get();
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading an Avro block");
+    } finally {
+      nextBlock = null;
+    }
+  }
+
+  @Override
+  protected void cleanup() {
+    // The file reader is not thread safe, let the read ahead finish before closing it.
+    if (nextBlock != null) {
+      try {
+        nextBlock.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        logger.debug("Error reading ahead an Avro block", e);
+      }
+      nextBlock = null;
+    }
+    try {
+      reader.close();
+    } catch (IOException e) {
+      logger.warn("Error closing Avro reader", e);
+    }
+  }
+}
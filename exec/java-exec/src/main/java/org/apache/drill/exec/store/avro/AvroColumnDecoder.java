@@ -0,0 +1,516 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.avro;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.avro.LogicalType;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Type;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.server.options.OptionManager;
+import org.apache.drill.exec.store.parquet.ParquetReaderUtility;
+import org.apache.drill.exec.vector.accessor.ArrayWriter;
+import org.apache.drill.exec.vector.accessor.ScalarWriter;
+import org.apache.drill.exec.vector.accessor.TupleWriter;
+import org.apache.drill.exec.vector.complex.fn.FieldSelection;
+import org.joda.time.DateTimeConstants;
+
+import com.google.common.base.Charsets;
+
+/**
+ * Decodes one value from the Avro binary encoding and writes it through
+ * a column writer. A tree of decoders is built once per file from the
+ * writer schema and the projection: fields that are not projected get a
+ * decoder that skips their bytes, so they are never materialized.
+ * <p>
+ * Columns get the types given by the generic path of
+ * {@link AvroRecordReader}: optional scalars, maps for records, repeated
+ * scalars or repeated maps for arrays. Null values are not written, the
+ * result set loader fills them in.
+ */
+abstract class AvroColumnDecoder {
+
+  abstract void decode(BinaryDecoder in) throws IOException;
+
+  /**
+   * Checks whether the projected part of a schema can be decoded by
+   * {@link #build}. Avro maps, unions other than <tt>["null", type]</tt>,
+   * arrays of arrays, fixed values that are not decimals and recursive
+   * records are left to the generic path.
+   *
+   * @param schema writer schema of the file
+   * @param selection projected columns
+   * @return true if the projected fields have decoders
+   */
+  static boolean isSupported(Schema schema, FieldSelection selection) {
+    return schema.getType() == Type.RECORD && isSupportedRecord(schema, selection, new HashSet<String>());
+  }
+
+  private static boolean isSupportedRecord(Schema schema, FieldSelection selection, Set<String> parents) {
+    if (!parents.add(schema.getFullName())) {
+      // recursive record
+      return false;
+    }
+    final Set<String> names = new HashSet<>();
+    for (Schema.Field field : schema.getFields()) {
+      final FieldSelection child = selection.getChild(field.name());
+      if (child.isNeverValid()) {
+        continue;
+      }
+      // column names are case insensitive
+      if (!names.add(field.name().toLowerCase()) || !isSupportedColumn(field.schema(), child, parents)) {
+        return false;
+      }
+    }
+    parents.remove(schema.getFullName());
+    return true;
+  }
+
+  private static boolean isSupportedColumn(Schema schema, FieldSelection selection, Set<String> parents) {
+    switch (schema.getType()) {
+      case UNION:
+        return isNullable(schema) && isSupportedColumn(schema.getTypes().get(1), selection, parents);
+      case RECORD:
+        return isSupportedRecord(schema, selection, parents);
+      case ARRAY:
+        Schema element = schema.getElementType();
+        if (isNullable(element)) {
+          element = element.getTypes().get(1);
+        }
+        switch (element.getType()) {
+          case RECORD:
+            return isSupportedRecord(element, selection, parents);
+          case ARRAY:
+          case MAP:
+          case UNION:
+          case NULL:
+            return false;
+          default:
+            return isSupportedScalar(element);
+        }
+      case MAP:
+        return false;
+      case NULL:
+        return true;
+      default:
+        return isSupportedScalar(schema);
+    }
+  }
+
+  private static boolean isSupportedScalar(Schema schema) {
+    return schema.getType() != Type.FIXED || schema.getLogicalType() instanceof LogicalTypes.Decimal;
+  }
+
+  private static boolean isNullable(Schema schema) {
+    return schema.getType() == Type.UNION
+        && schema.getTypes().size() == 2
+        && schema.getTypes().get(0).getType() == Type.NULL;
+  }
+
+  /**
+   * Builds the decoder of a record, adding a column to the writer for each
+   * projected field. The schema must be supported, see {@link #isSupported}.
+   *
+   * @param schema schema of the record
+   * @param selection projected fields of the record
+   * @param writer writer of the row or map the fields are written to
+   * @param options options of the query, used to check that decimals are enabled
+   * @return decoder of the record
+   */
+  static AvroColumnDecoder build(Schema schema, FieldSelection selection, TupleWriter writer, OptionManager options) {
+    final List<AvroColumnDecoder> fields = new ArrayList<>();
+    for (Schema.Field field : schema.getFields()) {
+      final FieldSelection child = selection.getChild(field.name());
+      fields.add(child.isNeverValid()
+          ? new SkipDecoder(field.schema())
+          : column(field.name(), field.schema(), child, writer, options));
+    }
+    return new RecordDecoder(fields);
+  }
+
+  private static AvroColumnDecoder column(String name, Schema schema, FieldSelection selection,
+                                          TupleWriter writer, OptionManager options) {
+    switch (schema.getType()) {
+      case NULL:
+        return new SkipDecoder(schema);
+      case UNION:
+        return new NullableDecoder(column(name, schema.getTypes().get(1), selection, writer, options));
+      case RECORD:
+        final int mapIndex = writer.addColumn(MaterializedField.create(name, Types.required(MinorType.MAP)));
+        return build(schema, selection, writer.tuple(mapIndex), options);
+      case ARRAY:
+        final boolean nullable = isNullable(schema.getElementType());
+        final Schema element = nullable ? schema.getElementType().getTypes().get(1) : schema.getElementType();
+        final ArrayWriter array;
+        AvroColumnDecoder elementDecoder;
+        if (element.getType() == Type.RECORD) {
+          array = writer.array(writer.addColumn(MaterializedField.create(name, Types.repeated(MinorType.MAP))));
+          elementDecoder = build(element, selection, array.tuple(), options);
+        } else {
+          array = writer.array(writer.addColumn(
+              MaterializedField.create(name, scalarType(element, DataMode.REPEATED, options))));
+          elementDecoder = scalar(element, array.scalar());
+        }
+        if (nullable) {
+          elementDecoder = new NullableDecoder(elementDecoder);
+        }
+        return new ArrayDecoder(array, elementDecoder, element.getType() == Type.RECORD);
+      default:
+        final int index = writer.addColumn(
+            MaterializedField.create(name, scalarType(schema, DataMode.OPTIONAL, options)));
+        return scalar(schema, writer.scalar(index));
+    }
+  }
+
+  private static String logicalTypeName(Schema schema) {
+    final LogicalType logicalType = schema.getLogicalType();
+    return logicalType != null ? logicalType.getName() : "";
+  }
+
+  private static MajorType scalarType(Schema schema, DataMode mode, OptionManager options) {
+    switch (schema.getType()) {
+      case STRING:
+      case ENUM:
+        return Types.withMode(MinorType.VARCHAR, mode);
+      case INT:
+        switch (logicalTypeName(schema)) {
+          case "date":
+            return Types.withMode(MinorType.DATE, mode);
+          case "time-millis":
+            return Types.withMode(MinorType.TIME, mode);
+          default:
+            return Types.withMode(MinorType.INT, mode);
+        }
+      case LONG:
+        switch (logicalTypeName(schema)) {
+          case "date":
+            return Types.withMode(MinorType.DATE, mode);
+          case "time-micros":
+            return Types.withMode(MinorType.TIME, mode);
+          case "timestamp-millis":
+          case "timestamp-micros":
+            return Types.withMode(MinorType.TIMESTAMP, mode);
+          default:
+            return Types.withMode(MinorType.BIGINT, mode);
+        }
+      case FLOAT:
+        return Types.withMode(MinorType.FLOAT4, mode);
+      case DOUBLE:
+        return Types.withMode(MinorType.FLOAT8, mode);
+      case BOOLEAN:
+        return Types.withMode(MinorType.BIT, mode);
+      case BYTES:
+      case FIXED:
+        if (schema.getLogicalType() instanceof LogicalTypes.Decimal) {
+          ParquetReaderUtility.checkDecimalTypeEnabled(options);
+          final LogicalTypes.Decimal decimalType = (LogicalTypes.Decimal) schema.getLogicalType();
+          return Types.withScaleAndPrecision(MinorType.VARDECIMAL, mode,
+              decimalType.getScale(), decimalType.getPrecision());
+        }
+        return Types.withMode(MinorType.VARBINARY, mode);
+      default:
+        throw new UnsupportedOperationException("Unhandled Avro type: " + schema.getType());
+    }
+  }
+
+  private static AvroColumnDecoder scalar(Schema schema, ScalarWriter writer) {
+    switch (schema.getType()) {
+      case STRING:
+      case BYTES:
+        // decimal bytes are the big-endian unscaled value, as in a VARDECIMAL vector
+        return new BytesDecoder(writer);
+      case FIXED:
+        return new FixedDecoder(writer, schema.getFixedSize());
+      case ENUM:
+        return new EnumDecoder(writer, schema.getEnumSymbols());
+      case INT:
+        switch (logicalTypeName(schema)) {
+          case "date":
+            return new DateDecoder(writer);
+          default:
+            return new IntDecoder(writer);
+        }
+      case LONG:
+        switch (logicalTypeName(schema)) {
+          case "time-micros":
+            return new TimeMicrosDecoder(writer);
+          case "timestamp-micros":
+            return new LongDecoder(writer, 1000);
+          default:
+            return new LongDecoder(writer, 1);
+        }
+      case FLOAT:
+        return new FloatDecoder(writer);
+      case DOUBLE:
+        return new DoubleDecoder(writer);
+      case BOOLEAN:
+        return new BooleanDecoder(writer);
+      default:
+        throw new UnsupportedOperationException("Unhandled Avro type: " + schema.getType());
+    }
+  }
+
+  /**
+   * Skips a value that is not projected, without materializing it.
+   */
+  static class SkipDecoder extends AvroColumnDecoder {
+    private final Schema schema;
+
+    SkipDecoder(Schema schema) {
+      this.schema = schema;
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      GenericDatumReader.skip(schema, in);
+    }
+  }
+
+  static class RecordDecoder extends AvroColumnDecoder {
+    private final AvroColumnDecoder[] fields;
+
+    RecordDecoder(List<AvroColumnDecoder> fields) {
+      this.fields = fields.toArray(new AvroColumnDecoder[fields.size()]);
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      for (AvroColumnDecoder field : fields) {
+        field.decode(in);
+      }
+    }
+  }
+
+  /**
+   * Decodes a <tt>["null", type]</tt> union, nothing is written for null.
+   */
+  static class NullableDecoder extends AvroColumnDecoder {
+    private final AvroColumnDecoder value;
+
+    NullableDecoder(AvroColumnDecoder value) {
+      this.value = value;
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      if (in.readIndex() != 0) {
+        value.decode(in);
+      }
+    }
+  }
+
+  static class ArrayDecoder extends AvroColumnDecoder {
+    private final ArrayWriter writer;
+    private final AvroColumnDecoder element;
+    private final boolean tupleEntries;
+
+    ArrayDecoder(ArrayWriter writer, AvroColumnDecoder element, boolean tupleEntries) {
+      this.writer = writer;
+      this.element = element;
+      this.tupleEntries = tupleEntries;
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      for (long count = in.readArrayStart(); count != 0; count = in.arrayNext()) {
+        for (long i = 0; i < count; i++) {
+          element.decode(in);
+          // scalar entries advance on write, map entries must be saved
+          if (tupleEntries) {
+            writer.save();
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Decodes strings and bytes, which share their encoding: a length
+   * followed by the bytes of the value.
+   */
+  static class BytesDecoder extends AvroColumnDecoder {
+    private final ScalarWriter writer;
+    private byte[] buffer = new byte[256];
+
+    BytesDecoder(ScalarWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      final int length = in.readInt();
+      if (buffer.length < length) {
+        buffer = new byte[Math.max(length, buffer.length * 2)];
+      }
+      in.readFixed(buffer, 0, length);
+      writer.setBytes(buffer, length);
+    }
+  }
+
+  static class FixedDecoder extends AvroColumnDecoder {
+    private final ScalarWriter writer;
+    private final byte[] buffer;
+
+    FixedDecoder(ScalarWriter writer, int size) {
+      this.writer = writer;
+      this.buffer = new byte[size];
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      in.readFixed(buffer, 0, buffer.length);
+      writer.setBytes(buffer, buffer.length);
+    }
+  }
+
+  /**
+   * Writes the symbol of an enum as a string, the UTF-8 bytes of the
+   * symbols are computed once.
+   */
+  static class EnumDecoder extends AvroColumnDecoder {
+    private final ScalarWriter writer;
+    private final byte[][] symbols;
+
+    EnumDecoder(ScalarWriter writer, List<String> symbols) {
+      this.writer = writer;
+      this.symbols = new byte[symbols.size()][];
+      for (int i = 0; i < symbols.size(); i++) {
+        this.symbols[i] = symbols.get(i).getBytes(Charsets.UTF_8);
+      }
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      final byte[] symbol = symbols[in.readEnum()];
+      writer.setBytes(symbol, symbol.length);
+    }
+  }
+
+  static class IntDecoder extends AvroColumnDecoder {
+    private final ScalarWriter writer;
+
+    IntDecoder(ScalarWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      writer.setInt(in.readInt());
+    }
+  }
+
+  /**
+   * Converts the days of an int <tt>date</tt> into the milliseconds of a
+   * DATE vector.
+   */
+  static class DateDecoder extends AvroColumnDecoder {
+    private final ScalarWriter writer;
+
+    DateDecoder(ScalarWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      writer.setLong(in.readInt() * (long) DateTimeConstants.MILLIS_PER_DAY);
+    }
+  }
+
+  /**
+   * Decodes longs, dividing them by the given factor to convert
+   * <tt>timestamp-micros</tt> into milliseconds.
+   */
+  static class LongDecoder extends AvroColumnDecoder {
+    private final ScalarWriter writer;
+    private final long divisor;
+
+    LongDecoder(ScalarWriter writer, long divisor) {
+      this.writer = writer;
+      this.divisor = divisor;
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      writer.setLong(in.readLong() / divisor);
+    }
+  }
+
+  static class TimeMicrosDecoder extends AvroColumnDecoder {
+    private final ScalarWriter writer;
+
+    TimeMicrosDecoder(ScalarWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      writer.setInt((int) (in.readLong() / 1000));
+    }
+  }
+
+  static class FloatDecoder extends AvroColumnDecoder {
+    private final ScalarWriter writer;
+
+    FloatDecoder(ScalarWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      writer.setDouble(in.readFloat());
+    }
+  }
+
+  static class DoubleDecoder extends AvroColumnDecoder {
+    private final ScalarWriter writer;
+
+    DoubleDecoder(ScalarWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      writer.setDouble(in.readDouble());
+    }
+  }
+
+  static class BooleanDecoder extends AvroColumnDecoder {
+    private final ScalarWriter writer;
+
+    BooleanDecoder(ScalarWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    void decode(BinaryDecoder in) throws IOException {
+      writer.setInt(in.readBoolean() ? 1 : 0);
+    }
+  }
+}
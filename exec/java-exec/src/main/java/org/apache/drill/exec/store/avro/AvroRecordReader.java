@@ -25,6 +25,7 @@ import java.nio.ByteBuffer;
 import java.security.PrivilegedExceptionAction;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
@@ -32,10 +33,8 @@ import org.apache.avro.LogicalType;
 import org.apache.avro.LogicalTypes;
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Type;
-import org.apache.avro.file.DataFileReader;
 import org.apache.avro.generic.GenericArray;
 import org.apache.avro.generic.GenericContainer;
-import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericFixed;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.mapred.FsInput;
@@ -43,6 +42,8 @@ import org.apache.avro.util.Utf8;
 import org.apache.drill.common.exceptions.DrillRuntimeException;
 import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.physical.impl.OutputMutator;
@@ -50,6 +51,7 @@ import org.apache.drill.exec.server.options.OptionManager;
 import org.apache.drill.exec.store.AbstractRecordReader;
 import org.apache.drill.exec.store.parquet.ParquetReaderUtility;
 import org.apache.drill.exec.util.ImpersonationUtil;
+import org.apache.drill.exec.vector.ValueVector;
 import org.apache.drill.exec.vector.complex.fn.FieldSelection;
 import org.apache.drill.exec.vector.complex.impl.MapOrListWriterImpl;
 import org.apache.drill.exec.vector.complex.impl.VectorContainerWriter;
@@ -65,6 +67,11 @@ import org.joda.time.DateTimeConstants;
 
 /**
  * A RecordReader implementation for Avro data files.
+ * <p>
+ * When <tt>store.avro.native_reader</tt> is enabled and the projected
+ * part of the schema is supported, the records are decoded directly into
+ * vectors by an {@link AvroBinaryRecordReader}, to which this reader
+ * delegates. Otherwise each record is read as a <tt>GenericRecord</tt>.
  *
  * @see RecordReader
  */
@@ -75,12 +82,14 @@ public class AvroRecordReader extends AbstractRecordReader {
   private final Path hadoop;
   private final long start;
   private final long end;
+  private final List<SchemaPath> projectedColumns;
   private final FieldSelection fieldSelection;
   private final OptionManager optionManager;
   private DrillBuf buffer;
   private VectorContainerWriter writer;
 
-  private DataFileReader<GenericContainer> reader = null;
+  private AvroBinaryRecordReader.BlockReader reader = null;
+  private AvroBinaryRecordReader binaryReader;
   private FileSystem fs;
 
   private final String opUserName;
@@ -103,18 +112,19 @@ public class AvroRecordReader extends AbstractRecordReader {
     this.fs = fileSystem;
     this.opUserName = userName;
     this.queryUserName = fragmentContext.getQueryUserName();
+    this.projectedColumns = projectedColumns;
     setColumns(projectedColumns);
     this.fieldSelection = FieldSelection.getFieldSelection(projectedColumns);
     optionManager = fragmentContext.getOptions();
   }
 
-  private DataFileReader<GenericContainer> getReader(final Path hadoop, final FileSystem fs) throws ExecutionSetupException {
+  private AvroBinaryRecordReader.BlockReader getReader(final Path hadoop, final FileSystem fs) throws ExecutionSetupException {
     try {
       final UserGroupInformation ugi = ImpersonationUtil.createProxyUgi(this.opUserName, this.queryUserName);
-      return ugi.doAs(new PrivilegedExceptionAction<DataFileReader<GenericContainer>>() {
+      return ugi.doAs(new PrivilegedExceptionAction<AvroBinaryRecordReader.BlockReader>() {
         @Override
-        public DataFileReader<GenericContainer> run() throws Exception {
-          return new DataFileReader<>(new FsInput(hadoop, fs.getConf()), new GenericDatumReader<GenericContainer>());
+        public AvroBinaryRecordReader.BlockReader run() throws Exception {
+          return new AvroBinaryRecordReader.BlockReader(new FsInput(hadoop, fs.getConf()));
         }
       });
     } catch (IOException | InterruptedException e) {
@@ -125,8 +135,6 @@ public class AvroRecordReader extends AbstractRecordReader {
 
   @Override
   public void setup(final OperatorContext context, final OutputMutator output) throws ExecutionSetupException {
-    writer = new VectorContainerWriter(output);
-
     try {
       reader = getReader(hadoop, fs);
       logger.debug("Processing file : {}, start position : {}, end position : {} ", hadoop, start, end);
@@ -134,10 +142,31 @@ public class AvroRecordReader extends AbstractRecordReader {
     } catch (IOException e) {
       throw new ExecutionSetupException(e);
     }
+
+    if (optionManager.getOption(ExecConstants.AVRO_NATIVE_READER_VALIDATOR)
+        && (isSkipQuery() || AvroColumnDecoder.isSupported(reader.getSchema(), fieldSelection))) {
+      binaryReader = new AvroBinaryRecordReader(reader, hadoop, end, projectedColumns, optionManager);
+      reader = null;
+      binaryReader.setup(context, output);
+      return;
+    }
+    writer = new VectorContainerWriter(output);
+  }
+
+  @Override
+  public void allocate(Map<String, ValueVector> vectorMap) throws OutOfMemoryException {
+    if (binaryReader != null) {
+      binaryReader.allocate(vectorMap);
+    } else {
+      super.allocate(vectorMap);
+    }
   }
 
   @Override
   public int next() {
+    if (binaryReader != null) {
+      return binaryReader.next();
+    }
     final Stopwatch watch = Stopwatch.createStarted();
 
     if (reader == null) {
@@ -388,6 +417,10 @@ public class AvroRecordReader extends AbstractRecordReader {
 
   @Override
   public void close() {
+    if (binaryReader != null) {
+      binaryReader.close();
+      binaryReader = null;
+    }
     if (reader != null) {
       try {
         reader.close();
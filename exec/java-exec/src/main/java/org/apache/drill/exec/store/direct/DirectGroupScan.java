@@ -17,6 +17,9 @@
  */
 package org.apache.drill.exec.store.direct;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.common.expression.SchemaPath;
@@ -31,17 +34,25 @@ import org.apache.drill.exec.store.RecordReader;
 
 import java.util.List;
 
+import static com.fasterxml.jackson.annotation.JsonTypeInfo.Id.NAME;
+import static com.fasterxml.jackson.annotation.JsonTypeInfo.As.WRAPPER_OBJECT;
+
 @JsonTypeName("direct-scan")
 public class DirectGroupScan extends AbstractGroupScan {
 
+  @JsonProperty
+  @JsonTypeInfo(use=NAME, include=WRAPPER_OBJECT)
   protected final RecordReader reader;
+  @JsonProperty
   protected final ScanStats stats;
 
   public DirectGroupScan(RecordReader reader) {
     this(reader, ScanStats.TRIVIAL_TABLE);
   }
 
-  public DirectGroupScan(RecordReader reader, ScanStats stats) {
+  @JsonCreator
+  public DirectGroupScan(@JsonProperty("reader") RecordReader reader,
+                         @JsonProperty("stats") ScanStats stats) {
     super((String) null);
     this.reader = reader;
     this.stats = stats;
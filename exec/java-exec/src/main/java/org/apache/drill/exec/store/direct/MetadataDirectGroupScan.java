@@ -17,6 +17,8 @@
  */
 package org.apache.drill.exec.store.direct;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.common.expression.SchemaPath;
@@ -44,11 +46,24 @@ public class MetadataDirectGroupScan extends DirectGroupScan {
     this.files = files;
   }
 
-  public MetadataDirectGroupScan(RecordReader reader, Collection<String> files, ScanStats stats) {
+  @JsonCreator
+  public MetadataDirectGroupScan(@JsonProperty("reader") RecordReader reader,
+                                 @JsonProperty("files") Collection<String> files,
+                                 @JsonProperty("stats") ScanStats stats) {
     super(reader, stats);
     this.files = files;
   }
 
+  @Override
+  public boolean hasFiles() {
+    return files != null;
+  }
+
+  @Override
+  public Collection<String> getFiles() {
+    return files;
+  }
+
   @Override
   public PhysicalOperator getNewWithChildren(List<PhysicalOperator> children) throws ExecutionSetupException {
     assert children == null || children.isEmpty();
@@ -22,6 +22,7 @@ import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.common.logical.StoragePluginConfig;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.base.AbstractGroupScan;
+import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
 import org.apache.drill.exec.server.DrillbitContext;
 import org.apache.drill.exec.store.RecordReader;
 import org.apache.drill.exec.store.RecordWriter;
@@ -76,7 +77,7 @@ public class SequenceFileFormatPlugin extends EasyFormatPlugin<SequenceFileForma
 
   @Override
   public int getReaderOperatorType() {
-    return 4001;
+    return CoreOperatorType.SEQUENCE_SUB_SCAN_VALUE;
   }
 
   @Override
@@ -29,15 +29,13 @@ import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.common.types.TypeProtos;
 import org.apache.drill.common.types.Types;
-import org.apache.drill.exec.exception.SchemaChangeException;
-import org.apache.drill.exec.ops.OperatorContext;
-import org.apache.drill.exec.physical.impl.OutputMutator;
+import org.apache.drill.exec.physical.rowSet.RowSetLoader;
 import org.apache.drill.exec.record.MaterializedField;
-import org.apache.drill.exec.store.AbstractRecordReader;
+import org.apache.drill.exec.store.ResultSetLoaderRecordReader;
 import org.apache.drill.common.types.TypeProtos.MajorType;
 import org.apache.drill.exec.store.dfs.DrillFileSystem;
 import org.apache.drill.exec.util.ImpersonationUtil;
-import org.apache.drill.exec.vector.NullableVarBinaryVector;
+import org.apache.drill.exec.vector.accessor.ScalarWriter;
 import org.apache.hadoop.io.BytesWritable;
 import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.JobConf;
@@ -47,20 +45,17 @@ import org.apache.hadoop.mapred.SequenceFileAsBinaryInputFormat;
 import org.apache.hadoop.security.UserGroupInformation;
 
 
-public class SequenceFileRecordReader extends AbstractRecordReader {
+public class SequenceFileRecordReader extends ResultSetLoaderRecordReader {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SequenceFileRecordReader.class);
 
-  private static final int PER_BATCH_RECORD_COUNT = 4096;
-  private static final int PER_BATCH_BYTES = 256*1024;
-
   private static final MajorType KEY_TYPE = Types.optional(TypeProtos.MinorType.VARBINARY);
   private static final MajorType VALUE_TYPE = Types.optional(TypeProtos.MinorType.VARBINARY);
 
   private final String keySchema = "binary_key";
   private final String valueSchema = "binary_value";
 
-  private NullableVarBinaryVector keyVector;
-  private NullableVarBinaryVector valueVector;
+  private ScalarWriter keyWriter;
+  private ScalarWriter valueWriter;
   private final FileSplit split;
   private org.apache.hadoop.mapred.RecordReader<BytesWritable, BytesWritable> reader;
   private final BytesWritable key = new BytesWritable();
@@ -107,53 +102,41 @@ public class SequenceFileRecordReader extends AbstractRecordReader {
   }
 
   @Override
-  public void setup(OperatorContext context, OutputMutator output) throws ExecutionSetupException {
+  protected void open(RowSetLoader writer) throws ExecutionSetupException {
     final SequenceFileAsBinaryInputFormat inputFormat = new SequenceFileAsBinaryInputFormat();
     final JobConf jobConf = new JobConf(dfs.getConf());
     jobConf.setInputFormat(inputFormat.getClass());
     reader = getRecordReader(inputFormat, jobConf);
-    final MaterializedField keyField = MaterializedField.create(keySchema, KEY_TYPE);
-    final MaterializedField valueField = MaterializedField.create(valueSchema, VALUE_TYPE);
-    try {
-      keyVector = output.addField(keyField, NullableVarBinaryVector.class);
-      valueVector = output.addField(valueField, NullableVarBinaryVector.class);
-    } catch (SchemaChangeException sce) {
-      throw new ExecutionSetupException("Error in setting up sequencefile reader.", sce);
-    }
+    writer.addColumn(MaterializedField.create(keySchema, KEY_TYPE));
+    writer.addColumn(MaterializedField.create(valueSchema, VALUE_TYPE));
+    keyWriter = writer.scalar(keySchema);
+    valueWriter = writer.scalar(valueSchema);
   }
 
   @Override
-  public int next() {
+  protected boolean readBatch(RowSetLoader writer) {
     final Stopwatch watch = Stopwatch.createStarted();
-    if (keyVector != null) {
-      keyVector.clear();
-      keyVector.allocateNew();
-    }
-    if (valueVector != null) {
-      valueVector.clear();
-      valueVector.allocateNew();
-    }
-    int recordCount = 0;
-    int batchSize = 0;
     try {
-      while (recordCount < PER_BATCH_RECORD_COUNT && batchSize < PER_BATCH_BYTES && reader.next(key, value)) {
-        keyVector.getMutator().setSafe(recordCount, key.getBytes(), 0, key.getLength());
-        valueVector.getMutator().setSafe(recordCount, value.getBytes(), 0, value.getLength());
-        batchSize += (key.getLength() + value.getLength());
-        ++recordCount;
+      while (!writer.isFull()) {
+        if (!reader.next(key, value)) {
+          return false;
+        }
+        writer.start();
+        keyWriter.setBytes(key.getBytes(), key.getLength());
+        valueWriter.setBytes(value.getBytes(), value.getLength());
+        writer.save();
       }
-      keyVector.getMutator().setValueCount(recordCount);
-      valueVector.getMutator().setValueCount(recordCount);
-      logger.debug("Read {} records in {} ms", recordCount, watch.elapsed(TimeUnit.MILLISECONDS));
-      return recordCount;
+      return true;
     } catch (IOException ioe) {
       close();
       throw UserException.dataReadError(ioe).addContext("File Path", split.getPath().toString()).build(logger);
+    } finally {
+      logger.debug("Read {} records in {} ms", writer.rowCount(), watch.elapsed(TimeUnit.MILLISECONDS));
     }
   }
 
   @Override
-  public void close() {
+  protected void cleanup() {
     try {
       if (reader != null) {
         reader.close();
@@ -163,4 +146,4 @@ public class SequenceFileRecordReader extends AbstractRecordReader {
       logger.warn("Exception closing reader: {}", e);
     }
   }
-}
\ No newline at end of file
+}
@@ -57,6 +57,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -80,6 +81,8 @@ public abstract class AbstractParquetGroupScan extends AbstractFileGroupScan {
   protected List<RowGroupInfo> rowGroupInfos;
   protected ListMultimap<Integer, RowGroupInfo> mappings;
   protected Set<String> fileSet;
+  // true if the metadata has one row group per file and the scans read the footers and prune the row groups
+  protected boolean distributedPlanning;
 
   private List<EndpointAffinity> endpointAffinities;
   private ParquetGroupScanStatistics parquetGroupScanStatistics;
@@ -103,6 +106,7 @@ public abstract class AbstractParquetGroupScan extends AbstractFileGroupScan {
     this.parquetGroupScanStatistics = that.parquetGroupScanStatistics == null ? null : new ParquetGroupScanStatistics(that.parquetGroupScanStatistics);
     this.fileSet = that.fileSet == null ? null : new HashSet<>(that.fileSet);
     this.entries = that.entries == null ? null : new ArrayList<>(that.entries);
+    this.distributedPlanning = that.distributedPlanning;
   }
 
   @JsonProperty
@@ -144,6 +148,59 @@ public abstract class AbstractParquetGroupScan extends AbstractFileGroupScan {
     return parquetGroupScanStatistics.getColumnValueCount(column);
   }
 
+  @Override
+  public boolean hasExactColumnMinMax(SchemaPath column) {
+    return parquetGroupScanStatistics.hasExactColumnMinMax(column);
+  }
+
+  @Override
+  public Object getColumnMinValue(SchemaPath column) {
+    return parquetGroupScanStatistics.getColumnMinValue(column);
+  }
+
+  @Override
+  public Object getColumnMaxValue(SchemaPath column) {
+    return parquetGroupScanStatistics.getColumnMaxValue(column);
+  }
+
+  @Override
+  public boolean hasExactColumnSum(SchemaPath column) {
+    return parquetGroupScanStatistics.hasExactColumnSum(column);
+  }
+
+  @Override
+  public Object getColumnSum(SchemaPath column) {
+    return parquetGroupScanStatistics.getColumnSum(column);
+  }
+
+  /**
+   * Groups the row groups by the values of the given partition (directory) columns, and collects the statistics
+   * of each group.
+   *
+   * @param partitionIndexes index of each partition column, 0 for dir0
+   * @return statistics of the row groups of each combination of partition values, with null for the directories
+   *         a file is not nested in; null if the scan has no partition columns
+   */
+  public Map<List<String>, ParquetGroupScanStatistics> getStatisticsByPartition(List<Integer> partitionIndexes) {
+    if (!supportsFileImplicitColumns()) {
+      return null;
+    }
+    Map<List<String>, List<RowGroupInfo>> rowGroupsByPartition = new LinkedHashMap<>();
+    for (RowGroupInfo rowGroup : rowGroupInfos) {
+      List<String> partitionValues = getPartitionValues(rowGroup);
+      List<String> key = new ArrayList<>(partitionIndexes.size());
+      for (int index : partitionIndexes) {
+        key.add(index < partitionValues.size() ? partitionValues.get(index) : null);
+      }
+      rowGroupsByPartition.computeIfAbsent(key, k -> new ArrayList<>()).add(rowGroup);
+    }
+    Map<List<String>, ParquetGroupScanStatistics> statistics = new LinkedHashMap<>();
+    for (Map.Entry<List<String>, List<RowGroupInfo>> entry : rowGroupsByPartition.entrySet()) {
+      statistics.put(entry.getKey(), new ParquetGroupScanStatistics(entry.getValue(), parquetTableMetadata));
+    }
+    return statistics;
+  }
+
   /**
    * Calculates the affinity each endpoint has for this scan,
    * by adding up the affinity each endpoint has for each rowGroup.
@@ -174,7 +231,8 @@ public abstract class AbstractParquetGroupScan extends AbstractFileGroupScan {
   public ScanStats getScanStats() {
     int columnCount = columns == null ? 20 : columns.size();
     long rowCount = parquetGroupScanStatistics.getRowCount();
-    ScanStats scanStats = new ScanStats(GroupScanProperty.EXACT_ROW_COUNT, rowCount, 1, rowCount * columnCount);
+    GroupScanProperty property = distributedPlanning ? GroupScanProperty.NO_EXACT_ROW_COUNT : GroupScanProperty.EXACT_ROW_COUNT;
+    ScanStats scanStats = new ScanStats(property, rowCount, 1, rowCount * columnCount);
     logger.trace("Drill parquet scan statistics: {}", scanStats);
     return scanStats;
   }
@@ -212,6 +270,13 @@ public abstract class AbstractParquetGroupScan extends AbstractFileGroupScan {
   public GroupScan applyFilter(LogicalExpression filterExpr, UdfUtilities udfUtilities,
                                FunctionImplementationRegistry functionImplementationRegistry, OptionManager optionManager) {
 
+    if (distributedPlanning) {
+      // row group statistics are not known yet, the scans prune the row groups of their files with the filter
+      AbstractParquetGroupScan newScan = (AbstractParquetGroupScan) clone(columns);
+      newScan.setFilter(filterExpr);
+      return newScan;
+    }
+
     if (rowGroupInfos.size() == 1 ||
         ! (parquetTableMetadata.isRowGroupPrunable()) ||
         rowGroupInfos.size() > optionManager.getOption(PlannerSettings.PARQUET_ROWGROUP_FILTER_PUSHDOWN_PLANNING_THRESHOLD)
@@ -305,6 +370,10 @@ public abstract class AbstractParquetGroupScan extends AbstractFileGroupScan {
 
   @Override
   public GroupScan applyLimit(int maxRecords) {
+    if (distributedPlanning) {
+      // row counts are estimates only
+      return null;
+    }
     maxRecords = Math.max(maxRecords, 1); // Make sure it request at least 1 row -> 1 rowGroup.
     // further optimization : minimize # of files chosen, or the affinity of files chosen.
 
@@ -399,7 +468,8 @@ public abstract class AbstractParquetGroupScan extends AbstractFileGroupScan {
       int rgIndex = 0;
       for (RowGroupMetadata rg : file.getRowGroups()) {
         RowGroupInfo rowGroupInfo =
-            new RowGroupInfo(file.getPath(), rg.getStart(), rg.getLength(), rgIndex, rg.getRowCount());
+            new RowGroupInfo(file.getPath(), rg.getStart(), rg.getLength(),
+                distributedPlanning ? RowGroupReadEntry.ALL_ROW_GROUPS : rgIndex, rg.getRowCount());
         EndpointByteMap endpointByteMap = new EndpointByteMapImpl();
         rg.getHostAffinity().keySet().stream()
             .filter(hostEndpointMap::containsKey)
@@ -21,6 +21,8 @@ import com.google.common.base.Functions;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Maps;
 import org.apache.drill.common.exceptions.ExecutionSetupException;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.ValueExpressions;
 import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.ops.ExecutorFragmentContext;
 import org.apache.drill.exec.ops.OperatorContext;
@@ -37,6 +39,7 @@ import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.CodecFactory;
 import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.Type;
@@ -73,7 +76,7 @@ public abstract class AbstractParquetScanBatchCreator {
     List<RecordReader> readers = new LinkedList<>();
     List<Map<String, String>> implicitColumns = new ArrayList<>();
     Map<String, String> mapWithMaxColumns = new LinkedHashMap<>();
-    for (RowGroupReadEntry rowGroup : rowGroupScan.getRowGroupReadEntries()) {
+    for (RowGroupReadEntry rowGroup : expandRowGroups(context, rowGroupScan, columnExplorer, fsManager, footers)) {
       /*
       Here we could store a map from file names to footers, to prevent re-reading the footer for each row group in a file
       TODO - to prevent reading the footer again in the parquet record reader (it is read earlier in the ParquetStorageEngine)
@@ -143,6 +146,59 @@ public abstract class AbstractParquetScanBatchCreator {
     return new ScanBatch(context, oContext, readers, implicitColumns);
   }
 
+  /**
+   * Replaces the entries for all row groups of a file, left by distributed planning, with the row groups in the file's
+   * footer that the filter of the scan can not drop. Footers read are added to the given map.
+   */
+  private List<RowGroupReadEntry> expandRowGroups(ExecutorFragmentContext context,
+                                                  AbstractParquetRowGroupScan rowGroupScan,
+                                                  ColumnExplorer columnExplorer,
+                                                  AbstractDrillFileSystemManager fsManager,
+                                                  Map<String, ParquetMetadata> footers) throws ExecutionSetupException {
+    LogicalExpression filter = rowGroupScan.getFilter();
+    boolean applyFilter = filter != null && !filter.equals(ValueExpressions.BooleanExpression.TRUE);
+
+    List<RowGroupReadEntry> rowGroups = new ArrayList<>();
+    RowGroupReadEntry firstDropped = null;
+    for (RowGroupReadEntry entry : rowGroupScan.getRowGroupReadEntries()) {
+      if (entry.getRowGroupIndex() != RowGroupReadEntry.ALL_ROW_GROUPS) {
+        rowGroups.add(entry);
+        continue;
+      }
+      try {
+        DrillFileSystem fs = fsManager.get(rowGroupScan.getFsConf(entry), entry.getPath());
+        ParquetMetadata footer = readFooter(fs.getConf(), entry.getPath());
+        footers.put(entry.getPath(), footer);
+
+        Map<String, String> implicitValues = applyFilter ? columnExplorer.populateImplicitColumns(entry.getPath(),
+            rowGroupScan.getPartitionValues(entry), rowGroupScan.supportsFileImplicitColumns()) : null;
+        List<BlockMetaData> blocks = footer.getBlocks();
+        for (int rowGroupIndex = 0; rowGroupIndex < blocks.size(); rowGroupIndex++) {
+          BlockMetaData block = blocks.get(rowGroupIndex);
+          RowGroupReadEntry rowGroup = new RowGroupReadEntry(entry.getPath(), block.getStartingPos(),
+              block.getCompressedSize(), rowGroupIndex, block.getRowCount());
+          if (applyFilter && ParquetRGFilterEvaluator.evalFilter(filter, footer, rowGroupIndex, context.getOptions(),
+              context, implicitValues)) {
+            if (firstDropped == null) {
+              firstDropped = rowGroup;
+            }
+            continue;
+          }
+          rowGroups.add(rowGroup);
+        }
+      } catch (IOException e) {
+        throw new ExecutionSetupException(e);
+      }
+    }
+
+    if (rowGroups.isEmpty() && firstDropped != null) {
+      // keep one row group to get the schema from
+      rowGroups.add(firstDropped);
+    }
+    logger.debug("Reading {} row groups of {} read entries.", rowGroups.size(), rowGroupScan.getRowGroupReadEntries().size());
+    return rowGroups;
+  }
+
   protected abstract AbstractDrillFileSystemManager getDrillFileSystemCreator(OperatorContext operatorContext, OptionManager optionManager);
 
   private ParquetMetadata readFooter(Configuration conf, String path) throws IOException {
@@ -20,6 +20,7 @@ package org.apache.drill.exec.store.parquet;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +33,7 @@ import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.common.expression.ValueExpressions;
 import org.apache.drill.common.logical.FormatPluginConfig;
 import org.apache.drill.common.logical.StoragePluginConfig;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.physical.base.GroupScan;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
@@ -46,6 +48,7 @@ import org.apache.drill.exec.store.dfs.MetadataContext.PruneStatus;
 import org.apache.drill.exec.store.dfs.ReadEntryWithPath;
 import org.apache.drill.exec.store.parquet.metadata.MetadataBase.ParquetFileMetadata;
 import org.apache.drill.exec.store.parquet.metadata.MetadataBase.ParquetTableMetadataBase;
+import org.apache.drill.exec.store.parquet.metadata.Metadata_V3.ParquetTableMetadata_v3;
 import org.apache.drill.exec.util.ImpersonationUtil;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
@@ -191,6 +194,10 @@ public class ParquetGroupScan extends AbstractParquetGroupScan {
   public GroupScan clone(List<SchemaPath> columns) {
     ParquetGroupScan newScan = new ParquetGroupScan(this);
     newScan.columns = columns;
+    if (!usedMetadataCache && !distributedPlanning && parquetTableMetadata instanceof ParquetTableMetadata_v3) {
+      // the footers were read before the projection was pushed down
+      newScan.retainColumnMetadata((ParquetTableMetadata_v3) parquetTableMetadata);
+    }
     return newScan;
   }
 
@@ -211,6 +218,9 @@ public class ParquetGroupScan extends AbstractParquetGroupScan {
     builder.append(", numFiles=").append(getEntries().size());
     builder.append(", numRowGroups=").append(rowGroupInfos.size());
     builder.append(", usedMetadataFile=").append(usedMetadataCache);
+    if (distributedPlanning) {
+      builder.append(", distributedPlanning=true");
+    }
 
     String filterString = getFilterString();
     if (!filterString.isEmpty()) {
@@ -248,10 +258,15 @@ public class ParquetGroupScan extends AbstractParquetGroupScan {
         parquetTableMetadata = Metadata.readBlockMeta(processUserFileSystem, metaPath, metaContext, formatConfig);
         if (parquetTableMetadata != null) {
           usedMetadataCache = true;
+          distributedPlanning = false;
         }
       }
       if (!usedMetadataCache) {
-        parquetTableMetadata = Metadata.getParquetTableMetadata(processUserFileSystem, p.toString(), formatConfig);
+        long threshold = getDistributedPlanningThreshold();
+        List<FileStatus> fileStatuses = threshold > 0 ? DrillFileSystemUtil.listFiles(fs, p, true) : null;
+        distributedPlanning = fileStatuses != null && fileStatuses.size() >= threshold;
+        parquetTableMetadata = distributedPlanning ? Metadata.getFileLevelTableMetadata(fileStatuses)
+            : Metadata.getParquetTableMetadata(processUserFileSystem, p.toString(), formatConfig, columns);
       }
     } else {
       Path p = Path.getPathWithoutSchemeAndAuthority(new Path(selectionRoot));
@@ -263,6 +278,7 @@ public class ParquetGroupScan extends AbstractParquetGroupScan {
         }
         if (parquetTableMetadata != null) {
           usedMetadataCache = true;
+          distributedPlanning = false;
           if (fileSet != null) {
             parquetTableMetadata = removeUnneededRowGroups(parquetTableMetadata);
           }
@@ -275,15 +291,21 @@ public class ParquetGroupScan extends AbstractParquetGroupScan {
               DrillFileSystemUtil.listFiles(fs, Path.getPathWithoutSchemeAndAuthority(new Path(entry.getPath())), true));
         }
 
-        Map<FileStatus, FileSystem> statusMap = fileStatuses.stream()
-            .collect(
-                Collectors.toMap(
-                    Function.identity(),
-                    s -> processUserFileSystem,
-                    (oldFs, newFs) -> newFs,
-                    LinkedHashMap::new));
-
-        parquetTableMetadata = Metadata.getParquetTableMetadata(statusMap, formatConfig);
+        long threshold = getDistributedPlanningThreshold();
+        distributedPlanning = threshold > 0 && fileStatuses.size() >= threshold;
+        if (distributedPlanning) {
+          parquetTableMetadata = Metadata.getFileLevelTableMetadata(fileStatuses);
+        } else {
+          Map<FileStatus, FileSystem> statusMap = fileStatuses.stream()
+              .collect(
+                  Collectors.toMap(
+                      Function.identity(),
+                      s -> processUserFileSystem,
+                      (oldFs, newFs) -> newFs,
+                      LinkedHashMap::new));
+
+          parquetTableMetadata = Metadata.getParquetTableMetadata(statusMap, formatConfig, columns);
+        }
       }
     }
   }
@@ -311,6 +333,46 @@ public class ParquetGroupScan extends AbstractParquetGroupScan {
   // overridden protected methods block end
 
   // private methods block start
+  /**
+   * Keep the column statistics of the projected columns only. The table metadata and the row group infos are shared
+   * with the scan this one was copied from, so both are replaced by copies.
+   *
+   * @param tableMetadata table metadata read from the footers
+   */
+  private void retainColumnMetadata(ParquetTableMetadata_v3 tableMetadata) {
+    ParquetTableMetadata_v3 retained = Metadata.retainColumns(tableMetadata, columns);
+    if (retained == tableMetadata) {
+      return;
+    }
+    Map<String, ParquetFileMetadata> filesByPath = new HashMap<>();
+    for (ParquetFileMetadata file : retained.getFiles()) {
+      filesByPath.put(file.getPath(), file);
+    }
+    List<RowGroupInfo> newRowGroupInfos = new ArrayList<>(rowGroupInfos.size());
+    for (RowGroupInfo rowGroupInfo : rowGroupInfos) {
+      RowGroupInfo newRowGroupInfo = new RowGroupInfo(rowGroupInfo.getPath(), rowGroupInfo.getStart(),
+          rowGroupInfo.getLength(), rowGroupInfo.getRowGroupIndex(), rowGroupInfo.getRowCount());
+      newRowGroupInfo.setNumRecordsToRead(rowGroupInfo.getNumRecordsToRead());
+      newRowGroupInfo.setEndpointByteMap(rowGroupInfo.getByteMap());
+      newRowGroupInfo.setColumns(filesByPath.get(rowGroupInfo.getPath()).getRowGroups()
+          .get(rowGroupInfo.getRowGroupIndex()).getColumns());
+      newRowGroupInfos.add(newRowGroupInfo);
+    }
+    parquetTableMetadata = retained;
+    rowGroupInfos = newRowGroupInfos;
+  }
+
+  /**
+   * Number of files from which only the files are listed during planning, and the scans read the footers and prune
+   * the row groups.
+   *
+   * @return the threshold, 0 if distributed planning is disabled
+   */
+  private long getDistributedPlanningThreshold() {
+    return formatPlugin.getContext().getOptionManager()
+        .getOption(ExecConstants.PARQUET_DISTRIBUTED_PLANNING_THRESHOLD_VALIDATOR);
+  }
+
   /**
    * Expands the selection's folders if metadata cache is found for the selection root.<br>
    * If the selection has already been expanded or no metadata cache was found, does nothing
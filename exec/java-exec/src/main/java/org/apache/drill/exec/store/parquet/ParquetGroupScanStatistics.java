@@ -17,16 +17,21 @@
  */
 package org.apache.drill.exec.store.parquet;
 
+import com.google.common.base.Preconditions;
 import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.common.types.TypeProtos;
 import org.apache.drill.exec.physical.base.GroupScan;
 import org.apache.parquet.schema.OriginalType;
 import org.apache.parquet.schema.PrimitiveType;
+import org.joda.time.DateTimeConstants;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.apache.drill.exec.store.parquet.metadata.MetadataBase.ColumnMetadata;
 import static org.apache.drill.exec.store.parquet.metadata.MetadataBase.ParquetTableMetadataBase;
@@ -45,6 +50,16 @@ public class ParquetGroupScanStatistics {
   private Map<SchemaPath, TypeProtos.MajorType> partitionColTypeMap;
   // total number of non-null value for each column in parquet files
   private Map<SchemaPath, Long> columnValueCounts;
+  // minimum and maximum non-null value for each numeric or date and time column in parquet files,
+  // null if all values seen so far are null; normalized to Long, Double or Timestamp
+  private Map<SchemaPath, Object> columnMinValues;
+  private Map<SchemaPath, Object> columnMaxValues;
+  // columns for which at least one row group has no usable min/max statistics
+  private Set<SchemaPath> inexactMinMaxColumns;
+  // sum of the values of each numeric column, null if all values seen so far are null; Long or Double
+  private Map<SchemaPath, Object> columnSums;
+  // columns for which at least one row group holds more than one distinct value, or has no statistics
+  private Set<SchemaPath> inexactSumColumns;
   // total number of rows (obtained from parquet footer)
   private long rowCount;
 
@@ -57,6 +72,11 @@ public class ParquetGroupScanStatistics {
     this.partitionValueMap = new HashMap<>(that.partitionValueMap);
     this.partitionColTypeMap = new HashMap<>(that.partitionColTypeMap);
     this.columnValueCounts = new HashMap<>(that.columnValueCounts);
+    this.columnMinValues = new HashMap<>(that.columnMinValues);
+    this.columnMaxValues = new HashMap<>(that.columnMaxValues);
+    this.inexactMinMaxColumns = new HashSet<>(that.inexactMinMaxColumns);
+    this.columnSums = new HashMap<>(that.columnSums);
+    this.inexactSumColumns = new HashSet<>(that.inexactSumColumns);
     this.rowCount = that.rowCount;
   }
 
@@ -64,6 +84,46 @@ public class ParquetGroupScanStatistics {
     return columnValueCounts.containsKey(column) ? columnValueCounts.get(column) : 0;
   }
 
+  /**
+   * Checks whether the minimum and maximum values of the column are known
+   * exactly: every row group with non-null values for the column carries
+   * min/max statistics, and the column has a numeric or date and time type
+   * whose statistics are trustworthy.
+   *
+   * @param column column schema path
+   * @return true if {@link #getColumnMinValue} and {@link #getColumnMaxValue} are exact
+   */
+  public boolean hasExactColumnMinMax(SchemaPath column) {
+    return columnMinValues.containsKey(column) && !inexactMinMaxColumns.contains(column);
+  }
+
+  public Object getColumnMinValue(SchemaPath column) {
+    Preconditions.checkState(hasExactColumnMinMax(column), "No exact min value for column %s", column);
+    return columnMinValues.get(column);
+  }
+
+  public Object getColumnMaxValue(SchemaPath column) {
+    Preconditions.checkState(hasExactColumnMinMax(column), "No exact max value for column %s", column);
+    return columnMaxValues.get(column);
+  }
+
+  /**
+   * Checks whether the sum of the values of the column is known exactly.
+   * Parquet statistics hold no sums, so the sum is known only when each row
+   * group holds a single distinct value for the column, or only nulls.
+   *
+   * @param column column schema path
+   * @return true if {@link #getColumnSum} is exact
+   */
+  public boolean hasExactColumnSum(SchemaPath column) {
+    return columnSums.containsKey(column) && !inexactSumColumns.contains(column);
+  }
+
+  public Object getColumnSum(SchemaPath column) {
+    Preconditions.checkState(hasExactColumnSum(column), "No exact sum for column %s", column);
+    return columnSums.get(column);
+  }
+
   public List<SchemaPath> getPartitionColumns() {
     return new ArrayList<>(partitionColTypeMap.keySet());
   }
@@ -101,6 +161,8 @@ public class ParquetGroupScanStatistics {
             columnValueCounts.put(schemaPath, GroupScan.NO_COLUMN_STATS);
           }
         }
+        collectMinMax(schemaPath, column, rowCount, parquetTableMetadata);
+        collectSum(schemaPath, column, rowCount, parquetTableMetadata);
         boolean partitionColumn = checkForPartitionColumn(column, first, rowCount, parquetTableMetadata);
         if (partitionColumn) {
           Map<SchemaPath, Object> map = partitionValueMap.computeIfAbsent(rowGroup.getPath(), key -> new HashMap<>());
@@ -135,9 +197,196 @@ public class ParquetGroupScanStatistics {
     this.partitionValueMap = new HashMap<>();
     this.partitionColTypeMap = new HashMap<>();
     this.columnValueCounts = new HashMap<>();
+    this.columnMinValues = new HashMap<>();
+    this.columnMaxValues = new HashMap<>();
+    this.inexactMinMaxColumns = new HashSet<>();
+    this.columnSums = new HashMap<>();
+    this.inexactSumColumns = new HashSet<>();
     this.rowCount = 0;
   }
 
+  /**
+   * Merges the min/max statistics of one column chunk into the table-level
+   * min/max values. Only plain and signed integer, floating point and date
+   * and time columns are considered: for other types, such as strings and
+   * decimals, statistics written by older Parquet libraries may use an
+   * incorrect sort order.
+   *
+   * @param schemaPath column schema path
+   * @param columnMetadata column chunk metadata
+   * @param rowCount rows count in the row group
+   * @param parquetTableMetadata parquet table metadata
+   */
+  private void collectMinMax(SchemaPath schemaPath,
+                             ColumnMetadata columnMetadata,
+                             long rowCount,
+                             ParquetTableMetadataBase parquetTableMetadata) {
+    if (inexactMinMaxColumns.contains(schemaPath)) {
+      return;
+    }
+    final PrimitiveType.PrimitiveTypeName primitiveType = getPrimitiveType(columnMetadata, parquetTableMetadata);
+    final OriginalType originalType = getOriginalType(columnMetadata, parquetTableMetadata);
+    if (!supportsMinMax(primitiveType, originalType)) {
+      inexactMinMaxColumns.add(schemaPath);
+      return;
+    }
+    Object min = normalizeMinMax(primitiveType, originalType, columnMetadata.getMinValue());
+    Object max = normalizeMinMax(primitiveType, originalType, columnMetadata.getMaxValue());
+    if (min == null || max == null) {
+      Long nulls = columnMetadata.getNulls();
+      if (nulls != null && nulls == rowCount) {
+        // only nulls in this row group, min/max values are not affected
+        columnMinValues.putIfAbsent(schemaPath, null);
+        columnMaxValues.putIfAbsent(schemaPath, null);
+      } else {
+        inexactMinMaxColumns.add(schemaPath);
+      }
+      return;
+    }
+    Object previousMin = columnMinValues.get(schemaPath);
+    if (previousMin != null && previousMin.getClass() != min.getClass()) {
+      // column type differs between files
+      inexactMinMaxColumns.add(schemaPath);
+      return;
+    }
+    // merge() replaces a previous null (all nulls) value with the new one
+    columnMinValues.merge(schemaPath, min, (a, b) -> compareMinMax(a, b) <= 0 ? a : b);
+    columnMaxValues.merge(schemaPath, max, (a, b) -> compareMinMax(a, b) >= 0 ? a : b);
+  }
+
+  /**
+   * Adds the values of one column chunk to the sum of the column. The sum
+   * of a chunk is known only if it holds a single distinct value, or only
+   * nulls. Integer sums that overflow are not exact either.
+   *
+   * @param schemaPath column schema path
+   * @param columnMetadata column chunk metadata
+   * @param rowCount rows count in the row group
+   * @param parquetTableMetadata parquet table metadata
+   */
+  private void collectSum(SchemaPath schemaPath,
+                          ColumnMetadata columnMetadata,
+                          long rowCount,
+                          ParquetTableMetadataBase parquetTableMetadata) {
+    if (inexactSumColumns.contains(schemaPath)) {
+      return;
+    }
+    final PrimitiveType.PrimitiveTypeName primitiveType = getPrimitiveType(columnMetadata, parquetTableMetadata);
+    final OriginalType originalType = getOriginalType(columnMetadata, parquetTableMetadata);
+    final Long nulls = columnMetadata.getNulls();
+    if (!supportsMinMax(primitiveType, originalType) || isDateTime(originalType) || nulls == null) {
+      inexactSumColumns.add(schemaPath);
+      return;
+    }
+    if (nulls == rowCount) {
+      columnSums.putIfAbsent(schemaPath, null);
+      return;
+    }
+    Object min = normalizeMinMax(primitiveType, originalType, columnMetadata.getMinValue());
+    Object max = normalizeMinMax(primitiveType, originalType, columnMetadata.getMaxValue());
+    Object previousSum = columnSums.get(schemaPath);
+    if (min == null || !min.equals(max) || (previousSum != null && previousSum.getClass() != min.getClass())) {
+      inexactSumColumns.add(schemaPath);
+      return;
+    }
+    long valueCount = rowCount - nulls;
+    try {
+      Object sum;
+      if (min instanceof Long) {
+        sum = Math.multiplyExact((Long) min, valueCount);
+        if (previousSum != null) {
+          sum = Math.addExact((Long) previousSum, (Long) sum);
+        }
+      } else {
+        sum = (Double) min * valueCount + (previousSum == null ? 0 : (Double) previousSum);
+      }
+      columnSums.put(schemaPath, sum);
+    } catch (ArithmeticException e) {
+      inexactSumColumns.add(schemaPath);
+    }
+  }
+
+  private static PrimitiveType.PrimitiveTypeName getPrimitiveType(ColumnMetadata columnMetadata,
+                                                                  ParquetTableMetadataBase parquetTableMetadata) {
+    return parquetTableMetadata.hasColumnMetadata()
+        ? parquetTableMetadata.getPrimitiveType(columnMetadata.getName())
+        : columnMetadata.getPrimitiveType();
+  }
+
+  private static OriginalType getOriginalType(ColumnMetadata columnMetadata,
+                                              ParquetTableMetadataBase parquetTableMetadata) {
+    return parquetTableMetadata.hasColumnMetadata()
+        ? parquetTableMetadata.getOriginalType(columnMetadata.getName())
+        : columnMetadata.getOriginalType();
+  }
+
+  private static boolean isDateTime(OriginalType originalType) {
+    return originalType == OriginalType.DATE || originalType == OriginalType.TIME_MILLIS
+        || originalType == OriginalType.TIMESTAMP_MILLIS;
+  }
+
+  private static boolean supportsMinMax(PrimitiveType.PrimitiveTypeName primitiveType, OriginalType originalType) {
+    if (primitiveType == null) {
+      return false;
+    }
+    if (originalType == OriginalType.DATE || originalType == OriginalType.TIME_MILLIS) {
+      return primitiveType == PrimitiveType.PrimitiveTypeName.INT32;
+    }
+    if (originalType == OriginalType.TIMESTAMP_MILLIS) {
+      return primitiveType == PrimitiveType.PrimitiveTypeName.INT64;
+    }
+    if (originalType != null && originalType != OriginalType.INT_8 && originalType != OriginalType.INT_16
+        && originalType != OriginalType.INT_32 && originalType != OriginalType.INT_64) {
+      return false;
+    }
+    switch (primitiveType) {
+      case INT32:
+      case INT64:
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Converts a min/max statistics value to {@code Long}, {@code Double}, or
+   * to a {@code Timestamp} in milliseconds for date and time columns, as
+   * Drill represents them.
+   *
+   * @return normalized value, or null if the value is absent
+   */
+  private static Object normalizeMinMax(PrimitiveType.PrimitiveTypeName primitiveType, OriginalType originalType,
+                                        Object value) {
+    if (!(value instanceof Number)) {
+      return null;
+    }
+    if (originalType == OriginalType.DATE) {
+      return new Timestamp(((Number) value).longValue() * DateTimeConstants.MILLIS_PER_DAY);
+    } else if (originalType == OriginalType.TIME_MILLIS || originalType == OriginalType.TIMESTAMP_MILLIS) {
+      return new Timestamp(((Number) value).longValue());
+    }
+    switch (primitiveType) {
+      case INT32:
+      case INT64:
+        return ((Number) value).longValue();
+      default:
+        double doubleValue = ((Number) value).doubleValue();
+        return Double.isNaN(doubleValue) ? null : doubleValue;
+    }
+  }
+
+  private static int compareMinMax(Object a, Object b) {
+    if (a instanceof Long && b instanceof Long) {
+      return Long.compare((Long) a, (Long) b);
+    }
+    if (a instanceof Timestamp && b instanceof Timestamp) {
+      return ((Timestamp) a).compareTo((Timestamp) b);
+    }
+    return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+  }
+
   /**
    * When reading the very first footer, any column is a potential partition column. So for the first footer, we check
    * every column to see if it is single valued, and if so, add it to the list of potential partition columns. For the
@@ -212,6 +212,8 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
     if (fieldId != null) {
       VectorWrapper w = batch.getValueAccessorById(BitVector.class, fieldId.getFieldIds());
       setPartitionVector((BitVector) w.getValueVector());
+      // bucketed tables have the comparator without partition columns, each bucket starts a new file too
+      hasPartitions = true;
     }
   }
 
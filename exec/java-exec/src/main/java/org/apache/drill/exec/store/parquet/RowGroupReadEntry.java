@@ -25,6 +25,11 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class RowGroupReadEntry extends ReadEntryFromHDFS {
 
+  /**
+   * Row group index of an entry for all row groups of the file, which the scan finds in the footer.
+   */
+  public static final int ALL_ROW_GROUPS = -1;
+
   private int rowGroupIndex;
   private long numRecordsToRead;
 
@@ -118,7 +118,10 @@ public class ParquetRecordReader extends AbstractRecordReader {
     TIME_DISK_SCAN,                // Time in nanos spent in reading data from disk.
     TIME_FIXEDCOLUMN_READ,         // Time in nanos spent in converting fixed width data to value vectors
     TIME_VARCOLUMN_READ,           // Time in nanos spent in converting varwidth data to value vectors
-    TIME_PROCESS;                  // Time in nanos spent in processing
+    TIME_PROCESS,                  // Time in nanos spent in processing
+    BATCH_COUNT,                   // Number of non-empty batches produced by DrillParquetReader
+    MAX_BATCH_BYTES,               // Largest batch produced by DrillParquetReader, in bytes of vector memory
+    AVG_BATCH_BYTES;               // Average batch produced by DrillParquetReader, in bytes of vector memory
 
     @Override public int metricId() {
       return ordinal();
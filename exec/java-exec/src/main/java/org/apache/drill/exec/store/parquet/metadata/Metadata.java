@@ -25,6 +25,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
@@ -39,16 +41,19 @@ import org.apache.drill.exec.store.parquet.ParquetFormatConfig;
 import org.apache.drill.exec.store.parquet.ParquetReaderUtility;
 import org.apache.drill.exec.util.DrillFileSystemUtil;
 import org.apache.drill.exec.util.ImpersonationUtil;
+import org.apache.drill.exec.util.Utilities;
 import org.apache.hadoop.fs.BlockLocation;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.schema.GroupType;
 import org.apache.parquet.schema.MessageType;
@@ -62,10 +67,13 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -88,14 +96,50 @@ public class Metadata {
   public static final String METADATA_FILENAME = ".drill.parquet_metadata";
   public static final String METADATA_DIRECTORIES_FILENAME = ".drill.parquet_metadata_directories";
 
+  /**
+   * Footers read in parallel at first; the parallelism grows up to the maximum when reads wait on the file system.
+   */
+  private static final int FOOTER_READ_PARALLELISM = 16;
+  private static final int MAX_FOOTER_READ_PARALLELISM = 64;
+
+  // compressed bytes per row assumed to estimate the row count of files whose footers are not read
+  private static final long ESTIMATED_ROW_WIDTH = 100;
+
   private final ParquetFormatConfig formatConfig;
+  // lower case root names of the columns to keep statistics for, null for all columns
+  private final Set<String> projectedColumns;
+
+  // Files usually share their schema and hosts, so column types, names and host affinities are shared between files
+  private final Map<MessageType, Map<ColumnPath, ColumnTypeMetadata_v3>> columnTypesBySchema = new ConcurrentHashMap<>();
+  private final Map<ColumnTypeMetadata_v3.Key, String[]> columnNames = new ConcurrentHashMap<>();
+  private final Interner<String> hosts = Interners.newStrongInterner();
+  private final Interner<Map<String, Float>> hostAffinities = Interners.newStrongInterner();
 
   private ParquetTableMetadataBase parquetTableMetadata;
   private ParquetTableMetadataDirs parquetTableMetadataDirs;
 
 
   private Metadata(ParquetFormatConfig formatConfig) {
+    this(formatConfig, null);
+  }
+
+  private Metadata(ParquetFormatConfig formatConfig, @Nullable List<SchemaPath> columns) {
     this.formatConfig = formatConfig;
+    this.projectedColumns = getProjectedColumns(columns);
+  }
+
+  /**
+   * @return lower case root names of the given columns, null if all columns are projected
+   */
+  private static Set<String> getProjectedColumns(@Nullable List<SchemaPath> columns) {
+    if (columns == null || Utilities.isStarQuery(columns)) {
+      return null;
+    }
+    Set<String> projectedColumns = new HashSet<>();
+    for (SchemaPath column : columns) {
+      projectedColumns.add(column.getRootSegmentPath().toLowerCase());
+    }
+    return projectedColumns;
   }
 
   /**
@@ -118,7 +162,22 @@ public class Metadata {
    */
   public static ParquetTableMetadata_v3 getParquetTableMetadata(FileSystem fs, String path, ParquetFormatConfig formatConfig)
       throws IOException {
-    Metadata metadata = new Metadata(formatConfig);
+    return getParquetTableMetadata(fs, path, formatConfig, null);
+  }
+
+  /**
+   * Get the parquet metadata for the parquet files in the given directory, including those in subdirectories,
+   * with column statistics for the given columns only.
+   *
+   * @param fs file system
+   * @param path path
+   * @param formatConfig parquet format config
+   * @param columns columns to keep statistics for, all columns if null or a star query
+   * @return parquet table metadata
+   */
+  public static ParquetTableMetadata_v3 getParquetTableMetadata(FileSystem fs, String path,
+      ParquetFormatConfig formatConfig, @Nullable List<SchemaPath> columns) throws IOException {
+    Metadata metadata = new Metadata(formatConfig, columns);
     return metadata.getParquetTableMetadata(path, fs);
   }
 
@@ -131,10 +190,77 @@ public class Metadata {
    */
   public static ParquetTableMetadata_v3 getParquetTableMetadata(Map<FileStatus, FileSystem> fileStatusMap,
                                                                 ParquetFormatConfig formatConfig) throws IOException {
-    Metadata metadata = new Metadata(formatConfig);
+    return getParquetTableMetadata(fileStatusMap, formatConfig, null);
+  }
+
+  /**
+   * Get the parquet metadata for a list of parquet files, with column statistics for the given columns only.
+   *
+   * @param fileStatusMap file statuses and corresponding file systems
+   * @param formatConfig parquet format config
+   * @param columns columns to keep statistics for, all columns if null or a star query
+   * @return parquet table metadata
+   */
+  public static ParquetTableMetadata_v3 getParquetTableMetadata(Map<FileStatus, FileSystem> fileStatusMap,
+      ParquetFormatConfig formatConfig, @Nullable List<SchemaPath> columns) throws IOException {
+    Metadata metadata = new Metadata(formatConfig, columns);
     return metadata.getParquetTableMetadata(fileStatusMap);
   }
 
+  /**
+   * Get a copy of parquet table metadata with the column statistics of the given columns only, as when the footers
+   * were read before the projection of the scan was known. The given metadata is left unchanged, the copy shares its
+   * column types, host affinities and the statistics it keeps.
+   *
+   * @param tableMetadata parquet table metadata
+   * @param columns columns to keep statistics for, all columns if null or a star query
+   * @return the copy, or the given metadata if all columns are projected
+   */
+  public static ParquetTableMetadata_v3 retainColumns(ParquetTableMetadata_v3 tableMetadata,
+      @Nullable List<SchemaPath> columns) {
+    Set<String> projectedColumns = getProjectedColumns(columns);
+    if (projectedColumns == null) {
+      return tableMetadata;
+    }
+    List<ParquetFileMetadata_v3> files = new ArrayList<>(tableMetadata.files.size());
+    for (ParquetFileMetadata_v3 file : tableMetadata.files) {
+      List<RowGroupMetadata_v3> rowGroups = new ArrayList<>(file.rowGroups.size());
+      for (RowGroupMetadata_v3 rowGroup : file.rowGroups) {
+        List<ColumnMetadata_v3> columnMetadataList = new ArrayList<>();
+        for (ColumnMetadata_v3 columnMetadata : rowGroup.columns) {
+          if (isProjected(projectedColumns, columnMetadata.name)) {
+            columnMetadataList.add(columnMetadata);
+          }
+        }
+        rowGroups.add(new RowGroupMetadata_v3(rowGroup.start, rowGroup.length, rowGroup.rowCount,
+            rowGroup.hostAffinity, columnMetadataList));
+      }
+      files.add(new ParquetFileMetadata_v3(file.path, file.length, rowGroups));
+    }
+    return new ParquetTableMetadata_v3(tableMetadata.getMetadataVersion(), files, tableMetadata.directories,
+        tableMetadata.columnTypeInfo, tableMetadata.getDrillVersion());
+  }
+
+  /**
+   * Get file level parquet metadata for a list of parquet files, without reading their footers. Each file has a
+   * single row group spanning the whole file, with a row count estimated from the file length and without column
+   * statistics or host affinity. Used when the scan fragments read the footers and prune the row groups themselves.
+   *
+   * @param fileStatuses parquet file statuses
+   * @return parquet table metadata
+   */
+  public static ParquetTableMetadata_v3 getFileLevelTableMetadata(List<FileStatus> fileStatuses) {
+    List<ParquetFileMetadata_v3> files = new ArrayList<>(fileStatuses.size());
+    for (FileStatus file : fileStatuses) {
+      RowGroupMetadata_v3 rowGroup = new RowGroupMetadata_v3(0L, file.getLen(),
+          Math.max(1L, file.getLen() / ESTIMATED_ROW_WIDTH), new HashMap<>(), new ArrayList<>());
+      String path = Path.getPathWithoutSchemeAndAuthority(file.getPath()).toString();
+      files.add(new ParquetFileMetadata_v3(path, file.getLen(), Lists.newArrayList(rowGroup)));
+    }
+    return new ParquetTableMetadata_v3(SUPPORTED_VERSIONS.last().toString(), files, new ArrayList<>(),
+        new ConcurrentHashMap<>(), DrillVersionInfo.getVersion());
+  }
+
   /**
    * Get the parquet metadata for the table by reading the metadata file
    *
@@ -335,10 +461,13 @@ public class Metadata {
    */
   private List<ParquetFileMetadata_v3> getParquetFileMetadata_v3(
       ParquetTableMetadata_v3 parquetTableMetadata_v3, Map<FileStatus, FileSystem> fileStatusMap) throws IOException {
-    return TimedCallable.run("Fetch parquet metadata", logger,
+    if (parquetTableMetadata_v3.columnTypeInfo == null) {
+      parquetTableMetadata_v3.columnTypeInfo = new ConcurrentHashMap<>();
+    }
+    return TimedCallable.runAdaptive("Fetch parquet metadata", logger,
         Collectors.toList(fileStatusMap,
             (fileStatus, fileSystem) -> new MetadataGatherer(parquetTableMetadata_v3, fileStatus, fileSystem)),
-        16
+        FOOTER_READ_PARALLELISM, MAX_FOOTER_READ_PARALLELISM
     );
   }
 
@@ -419,13 +548,7 @@ public class Metadata {
     }
 
     MessageType schema = metadata.getFileMetaData().getSchema();
-
-//    Map<SchemaPath, OriginalType> originalTypeMap = Maps.newHashMap();
-    Map<SchemaPath, ColTypeInfo> colTypeInfoMap = Maps.newHashMap();
-    schema.getPaths();
-    for (String[] path : schema.getPaths()) {
-      colTypeInfoMap.put(SchemaPath.getCompoundPath(path), getColTypeInfo(schema, schema, path, 0));
-    }
+    Map<ColumnPath, ColumnTypeMetadata_v3> columnTypes = getColumnTypes(schema);
 
     List<RowGroupMetadata_v3> rowGroupMetadataList = Lists.newArrayList();
 
@@ -436,29 +559,28 @@ public class Metadata {
     if (logger.isDebugEnabled()) {
       logger.debug(containsCorruptDates.toString());
     }
+    if (!metadata.getBlocks().isEmpty()) {
+      // Save the column schema info. We'll merge it into one list
+      for (ColumnTypeMetadata_v3 columnTypeMetadata : columnTypes.values()) {
+        parquetTableMetadata.columnTypeInfo
+            .put(new ColumnTypeMetadata_v3.Key(columnTypeMetadata.name), columnTypeMetadata);
+      }
+    }
     for (BlockMetaData rowGroup : metadata.getBlocks()) {
       List<ColumnMetadata_v3> columnMetadataList = Lists.newArrayList();
       long length = 0;
       for (ColumnChunkMetaData col : rowGroup.getColumns()) {
+        length += col.getTotalSize();
+        ColumnTypeMetadata_v3 columnTypeMetadata = columnTypes.get(col.getPath());
+        if (!isProjected(projectedColumns, columnTypeMetadata.name)) {
+          continue;
+        }
+
         ColumnMetadata_v3 columnMetadata;
 
         boolean statsAvailable = (col.getStatistics() != null && !col.getStatistics().isEmpty());
 
         Statistics<?> stats = col.getStatistics();
-        String[] columnName = col.getPath().toArray();
-        SchemaPath columnSchemaName = SchemaPath.getCompoundPath(columnName);
-        ColTypeInfo colTypeInfo = colTypeInfoMap.get(columnSchemaName);
-
-        ColumnTypeMetadata_v3 columnTypeMetadata =
-            new ColumnTypeMetadata_v3(columnName, col.getType(), colTypeInfo.originalType,
-                colTypeInfo.precision, colTypeInfo.scale, colTypeInfo.repetitionLevel, colTypeInfo.definitionLevel);
-
-        if (parquetTableMetadata.columnTypeInfo == null) {
-          parquetTableMetadata.columnTypeInfo = new ConcurrentHashMap<>();
-        }
-        // Save the column schema info. We'll merge it into one list
-        parquetTableMetadata.columnTypeInfo
-            .put(new ColumnTypeMetadata_v3.Key(columnTypeMetadata.name), columnTypeMetadata);
         if (statsAvailable) {
           // Write stats when they are not null
           Object minValue = null;
@@ -479,7 +601,6 @@ public class Metadata {
           columnMetadata = new ColumnMetadata_v3(columnTypeMetadata.name, col.getType(), null, null, null);
         }
         columnMetadataList.add(columnMetadata);
-        length += col.getTotalSize();
       }
 
       // DRILL-5009: Skip the RowGroup if it is empty
@@ -498,6 +619,34 @@ public class Metadata {
     return new ParquetFileMetadata_v3(path, file.getLen(), rowGroupMetadataList);
   }
 
+  /**
+   * Get the column types of a file schema, shared by all files with the same schema.
+   */
+  private Map<ColumnPath, ColumnTypeMetadata_v3> getColumnTypes(MessageType schema) {
+    Map<ColumnPath, ColumnTypeMetadata_v3> columnTypes = columnTypesBySchema.get(schema);
+    if (columnTypes != null) {
+      return columnTypes;
+    }
+    columnTypes = new HashMap<>();
+    for (ColumnDescriptor column : schema.getColumns()) {
+      String[] path = column.getPath();
+      String[] name = columnNames.computeIfAbsent(new ColumnTypeMetadata_v3.Key(path), key -> path);
+      ColTypeInfo colTypeInfo = getColTypeInfo(schema, schema, path, 0);
+      columnTypes.put(ColumnPath.get(path),
+          new ColumnTypeMetadata_v3(name, column.getType(), colTypeInfo.originalType,
+              colTypeInfo.precision, colTypeInfo.scale, colTypeInfo.repetitionLevel, colTypeInfo.definitionLevel));
+    }
+    Map<ColumnPath, ColumnTypeMetadata_v3> previous = columnTypesBySchema.putIfAbsent(schema, columnTypes);
+    return previous != null ? previous : columnTypes;
+  }
+
+  /**
+   * @return whether statistics are kept for the column
+   */
+  private static boolean isProjected(Set<String> projectedColumns, String[] name) {
+    return projectedColumns == null || projectedColumns.contains(name[0].toLowerCase());
+  }
+
   /**
    * Get the host affinity for a row group.
    *
@@ -511,7 +660,8 @@ public class Metadata {
     BlockLocation[] blockLocations = fs.getFileBlockLocations(fileStatus, start, length);
     Map<String, Float> hostAffinityMap = Maps.newHashMap();
     for (BlockLocation blockLocation : blockLocations) {
-      for (String host : blockLocation.getHosts()) {
+      for (String blockHost : blockLocation.getHosts()) {
+        String host = hosts.intern(blockHost);
         Float currentAffinity = hostAffinityMap.get(host);
         float blockStart = blockLocation.getOffset();
         float blockEnd = blockStart + blockLocation.getLength();
@@ -525,7 +675,7 @@ public class Metadata {
         }
       }
     }
-    return hostAffinityMap;
+    return hostAffinities.intern(hostAffinityMap);
   }
 
   /**
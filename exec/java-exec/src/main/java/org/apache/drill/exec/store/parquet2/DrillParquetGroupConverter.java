@@ -29,75 +29,62 @@ import com.google.common.primitives.Longs;
 import org.apache.drill.common.exceptions.DrillRuntimeException;
 import org.apache.drill.common.expression.PathSegment;
 import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.common.types.Types;
 import org.apache.drill.exec.ExecConstants;
-import org.apache.drill.exec.expr.holders.BigIntHolder;
-import org.apache.drill.exec.expr.holders.BitHolder;
-import org.apache.drill.exec.expr.holders.DateHolder;
-import org.apache.drill.exec.expr.holders.Float4Holder;
-import org.apache.drill.exec.expr.holders.Float8Holder;
-import org.apache.drill.exec.expr.holders.IntHolder;
-import org.apache.drill.exec.expr.holders.IntervalHolder;
-import org.apache.drill.exec.expr.holders.TimeHolder;
-import org.apache.drill.exec.expr.holders.TimeStampHolder;
-import org.apache.drill.exec.expr.holders.VarBinaryHolder;
-import org.apache.drill.exec.expr.holders.VarCharHolder;
-import org.apache.drill.exec.expr.holders.VarDecimalHolder;
-import org.apache.drill.exec.physical.impl.OutputMutator;
+import org.apache.drill.exec.record.MaterializedField;
 import org.apache.drill.exec.server.options.OptionManager;
 import org.apache.drill.exec.store.parquet.ParquetReaderUtility;
 import org.apache.drill.exec.store.parquet.columnreaders.ParquetColumnMetadata;
-import org.apache.drill.exec.vector.complex.impl.ComplexWriterImpl;
-import org.apache.drill.exec.vector.complex.writer.BaseWriter.MapWriter;
-import org.apache.drill.exec.vector.complex.writer.BigIntWriter;
-import org.apache.drill.exec.vector.complex.writer.BitWriter;
-import org.apache.drill.exec.vector.complex.writer.DateWriter;
-import org.apache.drill.exec.vector.complex.writer.Float4Writer;
-import org.apache.drill.exec.vector.complex.writer.Float8Writer;
-import org.apache.drill.exec.vector.complex.writer.IntWriter;
-import org.apache.drill.exec.vector.complex.writer.IntervalWriter;
-import org.apache.drill.exec.vector.complex.writer.TimeStampWriter;
-import org.apache.drill.exec.vector.complex.writer.TimeWriter;
-import org.apache.drill.exec.vector.complex.writer.VarBinaryWriter;
-import org.apache.drill.exec.vector.complex.writer.VarCharWriter;
-import org.apache.drill.exec.vector.complex.writer.VarDecimalWriter;
+import org.apache.drill.exec.vector.accessor.ArrayWriter;
+import org.apache.drill.exec.vector.accessor.ScalarWriter;
+import org.apache.drill.exec.vector.accessor.TupleWriter;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.io.api.Converter;
 import org.apache.parquet.io.api.GroupConverter;
 import org.apache.parquet.io.api.PrimitiveConverter;
 import org.apache.parquet.schema.DecimalMetadata;
 import org.apache.parquet.schema.GroupType;
-import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.PrimitiveType;
 import org.apache.parquet.schema.Type;
 import org.apache.parquet.schema.Type.Repetition;
 import org.joda.time.DateTimeConstants;
+import org.joda.time.Period;
 
 import com.google.common.collect.Lists;
 
-import io.netty.buffer.DrillBuf;
-
+/**
+ * Converts a Parquet group into the columns of a row or map, written
+ * through the column writers of a result set loader. Optional and required
+ * Parquet fields become nullable columns, repeated fields become repeated
+ * columns; a repeated group becomes a repeated map.
+ */
 public class DrillParquetGroupConverter extends GroupConverter {
 
   private List<Converter> converters;
-  private MapWriter mapWriter;
-  private final OutputMutator mutator;
+  private final TupleWriter tupleWriter;
+
+  // Set when this group is the element of a repeated group
+  private final ArrayWriter arrayWriter;
   private final OptionManager options;
   // See DRILL-4203
   private final ParquetReaderUtility.DateCorruptionStatus containsCorruptedDates;
 
-  public DrillParquetGroupConverter(OutputMutator mutator, ComplexWriterImpl complexWriter, MessageType schema,
-                                    Collection<SchemaPath> columns, OptionManager options,
-                                    ParquetReaderUtility.DateCorruptionStatus containsCorruptedDates) {
-    this(mutator, complexWriter.rootAsMap(), schema, columns, options, containsCorruptedDates);
-  }
-
   // This function assumes that the fields in the schema parameter are in the same order as the fields in the columns parameter. The
   // columns parameter may have fields that are not present in the schema, though.
-  public DrillParquetGroupConverter(OutputMutator mutator, MapWriter mapWriter, GroupType schema,
+  public DrillParquetGroupConverter(TupleWriter tupleWriter, GroupType schema,
                                     Collection<SchemaPath> columns, OptionManager options,
                                     ParquetReaderUtility.DateCorruptionStatus containsCorruptedDates) {
-    this.mapWriter = mapWriter;
-    this.mutator = mutator;
+    this(tupleWriter, null, schema, columns, options, containsCorruptedDates);
+  }
+
+  private DrillParquetGroupConverter(TupleWriter tupleWriter, ArrayWriter arrayWriter, GroupType schema,
+                                     Collection<SchemaPath> columns, OptionManager options,
+                                     ParquetReaderUtility.DateCorruptionStatus containsCorruptedDates) {
+    this.tupleWriter = tupleWriter;
+    this.arrayWriter = arrayWriter;
     this.containsCorruptedDates = containsCorruptedDates;
     converters = Lists.newArrayList();
     this.options = options;
@@ -146,12 +133,15 @@ public class DrillParquetGroupConverter extends GroupConverter {
           c.add(s);
         }
         if (rep != Repetition.REPEATED) {
+          int index = tupleWriter.addColumn(MaterializedField.create(name, Types.required(MinorType.MAP)));
           DrillParquetGroupConverter converter = new DrillParquetGroupConverter(
-              mutator, mapWriter.map(name), type.asGroupType(), c, options, containsCorruptedDates);
+              tupleWriter.tuple(index), null, type.asGroupType(), c, options, containsCorruptedDates);
           converters.add(converter);
         } else {
+          int index = tupleWriter.addColumn(MaterializedField.create(name, Types.repeated(MinorType.MAP)));
+          ArrayWriter elements = tupleWriter.array(index);
           DrillParquetGroupConverter converter = new DrillParquetGroupConverter(
-              mutator, mapWriter.list(name).map(), type.asGroupType(), c, options, containsCorruptedDates);
+              elements.tuple(), elements, type.asGroupType(), c, options, containsCorruptedDates);
           converters.add(converter);
         }
       } else {
@@ -161,14 +151,36 @@ public class DrillParquetGroupConverter extends GroupConverter {
     }
   }
 
-  @SuppressWarnings("resource")
+  /**
+   * Add a column for a primitive field and return its writer. For a
+   * repeated field, the writer is that of the array elements.
+   */
+  private ScalarWriter addScalar(String name, PrimitiveType type, MinorType minorType) {
+    return addScalar(name, type, Types.withMode(minorType, modeOf(type)));
+  }
+
+  private ScalarWriter addDecimal(String name, PrimitiveType type, DecimalMetadata metadata) {
+    return addScalar(name, type, Types.withScaleAndPrecision(MinorType.VARDECIMAL, modeOf(type),
+        metadata.getScale(), metadata.getPrecision()));
+  }
+
+  private ScalarWriter addScalar(String name, PrimitiveType type, MajorType majorType) {
+    int index = tupleWriter.addColumn(MaterializedField.create(name, majorType));
+    return type.getRepetition() == Repetition.REPEATED
+        ? tupleWriter.array(index).scalar()
+        : tupleWriter.scalar(index);
+  }
+
+  private static DataMode modeOf(PrimitiveType type) {
+    return type.getRepetition() == Repetition.REPEATED ? DataMode.REPEATED : DataMode.OPTIONAL;
+  }
+
   private PrimitiveConverter getConverterForType(String name, PrimitiveType type) {
 
     switch(type.getPrimitiveTypeName()) {
       case INT32: {
         if (type.getOriginalType() == null) {
-          IntWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).integer() : mapWriter.integer(name);
-          return new DrillIntConverter(writer);
+          return new DrillIntConverter(addScalar(name, type, MinorType.INT));
         }
         switch(type.getOriginalType()) {
           case UINT_8 :
@@ -177,19 +189,14 @@ public class DrillParquetGroupConverter extends GroupConverter {
           case INT_8  :
           case INT_16 :
           case INT_32 : {
-            IntWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).integer() : mapWriter.integer(name);
-            return new DrillIntConverter(writer);
+            return new DrillIntConverter(addScalar(name, type, MinorType.INT));
           }
           case DECIMAL: {
             ParquetReaderUtility.checkDecimalTypeEnabled(options);
-            VarDecimalWriter writer = type.getRepetition() == Repetition.REPEATED
-                ? mapWriter.list(name).varDecimal(type.getDecimalMetadata().getScale(), type.getDecimalMetadata().getPrecision())
-                : mapWriter.varDecimal(name, type.getDecimalMetadata().getScale(), type.getDecimalMetadata().getPrecision());
-            return new DrillVarDecimalConverter(writer, type.getDecimalMetadata().getPrecision(),
-                type.getDecimalMetadata().getScale(), mutator.getManagedBuffer());
+            return new DrillVarDecimalConverter(addDecimal(name, type, type.getDecimalMetadata()));
           }
           case DATE: {
-            DateWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).date() : mapWriter.date(name);
+            ScalarWriter writer = addScalar(name, type, MinorType.DATE);
             switch(containsCorruptedDates) {
               case META_SHOWS_CORRUPTION:
                 return new DrillCorruptedDateConverter(writer);
@@ -205,8 +212,7 @@ public class DrillParquetGroupConverter extends GroupConverter {
             }
           }
           case TIME_MILLIS: {
-            TimeWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).time() : mapWriter.time(name);
-            return new DrillTimeConverter(writer);
+            return new DrillTimeConverter(addScalar(name, type, MinorType.TIME));
           }
           default: {
             throw new UnsupportedOperationException("Unsupported type: " + type.getOriginalType());
@@ -215,26 +221,19 @@ public class DrillParquetGroupConverter extends GroupConverter {
       }
       case INT64: {
         if (type.getOriginalType() == null) {
-          BigIntWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).bigInt() : mapWriter.bigInt(name);
-          return new DrillBigIntConverter(writer);
+          return new DrillBigIntConverter(addScalar(name, type, MinorType.BIGINT));
         }
         switch(type.getOriginalType()) {
           case UINT_64:
           case INT_64 : {
-            BigIntWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).bigInt() : mapWriter.bigInt(name);
-            return new DrillBigIntConverter(writer);
+            return new DrillBigIntConverter(addScalar(name, type, MinorType.BIGINT));
           }
           case DECIMAL: {
             ParquetReaderUtility.checkDecimalTypeEnabled(options);
-            VarDecimalWriter writer = type.getRepetition() == Repetition.REPEATED
-                ? mapWriter.list(name).varDecimal(type.getDecimalMetadata().getScale(), type.getDecimalMetadata().getPrecision())
-                : mapWriter.varDecimal(name, type.getDecimalMetadata().getScale(), type.getDecimalMetadata().getPrecision());
-            return new DrillVarDecimalConverter(writer, type.getDecimalMetadata().getPrecision(),
-                type.getDecimalMetadata().getScale(), mutator.getManagedBuffer());
+            return new DrillVarDecimalConverter(addDecimal(name, type, type.getDecimalMetadata()));
           }
           case TIMESTAMP_MILLIS: {
-            TimeStampWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).timeStamp() : mapWriter.timeStamp(name);
-            return new DrillTimeStampConverter(writer);
+            return new DrillTimeStampConverter(addScalar(name, type, MinorType.TIMESTAMP));
           }
           default: {
             throw new UnsupportedOperationException("Unsupported type " + type.getOriginalType());
@@ -245,50 +244,38 @@ public class DrillParquetGroupConverter extends GroupConverter {
         // TODO: replace null with TIMESTAMP_NANOS once parquet support such type annotation.
         if (type.getOriginalType() == null) {
           if (options.getOption(ExecConstants.PARQUET_READER_INT96_AS_TIMESTAMP).bool_val) {
-            TimeStampWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).timeStamp() : mapWriter.timeStamp(name);
-            return new DrillFixedBinaryToTimeStampConverter(writer);
+            return new DrillFixedBinaryToTimeStampConverter(addScalar(name, type, MinorType.TIMESTAMP));
           } else {
-            VarBinaryWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).varBinary() : mapWriter.varBinary(name);
-            return new DrillFixedBinaryToVarbinaryConverter(writer, ParquetColumnMetadata.getTypeLengthInBits(type.getPrimitiveTypeName()) / 8, mutator.getManagedBuffer());
+            return new DrillFixedBinaryToVarbinaryConverter(addScalar(name, type, MinorType.VARBINARY),
+                ParquetColumnMetadata.getTypeLengthInBits(type.getPrimitiveTypeName()) / 8);
           }
         }
 
       }
       case FLOAT: {
-        Float4Writer writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).float4() : mapWriter.float4(name);
-        return new DrillFloat4Converter(writer);
+        return new DrillFloat4Converter(addScalar(name, type, MinorType.FLOAT4));
       }
       case DOUBLE: {
-        Float8Writer writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).float8() : mapWriter.float8(name);
-        return new DrillFloat8Converter(writer);
+        return new DrillFloat8Converter(addScalar(name, type, MinorType.FLOAT8));
       }
       case BOOLEAN: {
-        BitWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).bit() : mapWriter.bit(name);
-        return new DrillBoolConverter(writer);
+        return new DrillBoolConverter(addScalar(name, type, MinorType.BIT));
       }
       case BINARY: {
         if (type.getOriginalType() == null) {
-          VarBinaryWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).varBinary() : mapWriter.varBinary(name);
-          return new DrillVarBinaryConverter(writer, mutator.getManagedBuffer());
+          return new DrillVarBinaryConverter(addScalar(name, type, MinorType.VARBINARY));
         }
         switch(type.getOriginalType()) {
           case UTF8: {
-            VarCharWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).varChar() : mapWriter.varChar(name);
-            return new DrillVarCharConverter(writer, mutator.getManagedBuffer());
+            return new DrillVarCharConverter(addScalar(name, type, MinorType.VARCHAR));
           }
           case ENUM: {
-            VarCharWriter writer = type.getRepetition() == Repetition.REPEATED ? mapWriter.list(name).varChar() : mapWriter.varChar(name);
-            return new DrillVarCharConverter(writer, mutator.getManagedBuffer());
+            return new DrillVarCharConverter(addScalar(name, type, MinorType.VARCHAR));
           }
           // See DRILL-4184 and DRILL-4834. Support for this is added using new VarDecimal type.
           case DECIMAL: {
             ParquetReaderUtility.checkDecimalTypeEnabled(options);
-            DecimalMetadata metadata = type.getDecimalMetadata();
-            VarDecimalWriter writer =
-                type.getRepetition() == Repetition.REPEATED
-                    ? mapWriter.list(name).varDecimal(metadata.getScale(), metadata.getPrecision())
-                    : mapWriter.varDecimal(name, metadata.getScale(), metadata.getPrecision());
-            return new DrillVarDecimalConverter(writer, metadata.getPrecision(), metadata.getScale(), mutator.getManagedBuffer());
+            return new DrillVarDecimalConverter(addDecimal(name, type, type.getDecimalMetadata()));
           }
           default: {
             throw new UnsupportedOperationException("Unsupported type " + type.getOriginalType());
@@ -299,24 +286,14 @@ public class DrillParquetGroupConverter extends GroupConverter {
         switch (type.getOriginalType()) {
           case DECIMAL: {
             ParquetReaderUtility.checkDecimalTypeEnabled(options);
-            DecimalMetadata metadata = type.getDecimalMetadata();
-            VarDecimalWriter writer = type.getRepetition() == Repetition.REPEATED
-                ? mapWriter.list(name).varDecimal(metadata.getScale(), metadata.getPrecision())
-                : mapWriter.varDecimal(name, metadata.getScale(), metadata.getPrecision());
-            return new DrillVarDecimalConverter(writer, metadata.getPrecision(), metadata.getScale(), mutator.getManagedBuffer());
+            return new DrillVarDecimalConverter(addDecimal(name, type, type.getDecimalMetadata()));
           }
           case INTERVAL: {
-            IntervalWriter writer = type.getRepetition() == Repetition.REPEATED
-                ? mapWriter.list(name).interval()
-                : mapWriter.interval(name);
-            return new DrillFixedLengthByteArrayToInterval(writer);
-
+            return new DrillFixedLengthByteArrayToInterval(addScalar(name, type, MinorType.INTERVAL));
           }
           default: {
-            VarBinaryWriter writer = type.getRepetition() == Repetition.REPEATED
-                ? mapWriter.list(name).varBinary()
-                : mapWriter.varBinary(name);
-            return new DrillFixedBinaryToVarbinaryConverter(writer, type.getTypeLength(), mutator.getManagedBuffer());
+            return new DrillFixedBinaryToVarbinaryConverter(addScalar(name, type, MinorType.VARBINARY),
+                type.getTypeLength());
           }
         }
       default:
@@ -330,267 +307,220 @@ public class DrillParquetGroupConverter extends GroupConverter {
   }
 
   @Override
-  public void start() {
-    mapWriter.start();
-  }
+  public void start() { }
 
   @Override
   public void end() {
-    mapWriter.end();
+    // Each group of a repeated group is one element of the repeated map
+    if (arrayWriter != null) {
+      arrayWriter.save();
+    }
   }
 
   public static class DrillIntConverter extends PrimitiveConverter {
-    private IntWriter writer;
-    private IntHolder holder = new IntHolder();
+    private final ScalarWriter writer;
 
-    public DrillIntConverter(IntWriter writer) {
+    public DrillIntConverter(ScalarWriter writer) {
       super();
       this.writer = writer;
     }
 
     @Override
     public void addInt(int value) {
-      holder.value = value;
-      writer.write(holder);
+      writer.setInt(value);
     }
   }
 
   public static class CorruptionDetectingDateConverter extends PrimitiveConverter {
-    private DateWriter writer;
-    private DateHolder holder = new DateHolder();
+    private final ScalarWriter writer;
 
-    public CorruptionDetectingDateConverter(DateWriter writer) {
+    public CorruptionDetectingDateConverter(ScalarWriter writer) {
       this.writer = writer;
     }
 
     @Override
     public void addInt(int value) {
       if (value > ParquetReaderUtility.DATE_CORRUPTION_THRESHOLD) {
-        holder.value = (value - ParquetReaderUtility.CORRECT_CORRUPT_DATE_SHIFT) * DateTimeConstants.MILLIS_PER_DAY;
+        writer.setLong((value - ParquetReaderUtility.CORRECT_CORRUPT_DATE_SHIFT) * DateTimeConstants.MILLIS_PER_DAY);
       } else {
-        holder.value = value * (long) DateTimeConstants.MILLIS_PER_DAY;
+        writer.setLong(value * (long) DateTimeConstants.MILLIS_PER_DAY);
       }
-      writer.write(holder);
     }
   }
 
   public static class DrillCorruptedDateConverter extends PrimitiveConverter {
-    private DateWriter writer;
-    private DateHolder holder = new DateHolder();
+    private final ScalarWriter writer;
 
-    public DrillCorruptedDateConverter(DateWriter writer) {
+    public DrillCorruptedDateConverter(ScalarWriter writer) {
       this.writer = writer;
     }
 
     @Override
     public void addInt(int value) {
-      holder.value = (value - ParquetReaderUtility.CORRECT_CORRUPT_DATE_SHIFT) * DateTimeConstants.MILLIS_PER_DAY;
-      writer.write(holder);
+      writer.setLong((value - ParquetReaderUtility.CORRECT_CORRUPT_DATE_SHIFT) * DateTimeConstants.MILLIS_PER_DAY);
     }
   }
 
   public static class DrillDateConverter extends PrimitiveConverter {
-    private DateWriter writer;
-    private DateHolder holder = new DateHolder();
+    private final ScalarWriter writer;
 
-    public DrillDateConverter(DateWriter writer) {
+    public DrillDateConverter(ScalarWriter writer) {
       this.writer = writer;
     }
 
     @Override
     public void addInt(int value) {
-      holder.value = value * (long) DateTimeConstants.MILLIS_PER_DAY;
-      writer.write(holder);
+      writer.setLong(value * (long) DateTimeConstants.MILLIS_PER_DAY);
     }
   }
 
   public static class DrillTimeConverter extends PrimitiveConverter {
-    private TimeWriter writer;
-    private TimeHolder holder = new TimeHolder();
+    private final ScalarWriter writer;
 
-    public DrillTimeConverter(TimeWriter writer) {
+    public DrillTimeConverter(ScalarWriter writer) {
       this.writer = writer;
     }
 
     @Override
     public void addInt(int value) {
-      holder.value = value;
-      writer.write(holder);
+      writer.setInt(value);
     }
   }
 
   public static class DrillBigIntConverter extends PrimitiveConverter {
-    private BigIntWriter writer;
-    private BigIntHolder holder = new BigIntHolder();
+    private final ScalarWriter writer;
 
-    public DrillBigIntConverter(BigIntWriter writer) {
+    public DrillBigIntConverter(ScalarWriter writer) {
       this.writer = writer;
     }
 
     @Override
     public void addLong(long value) {
-      holder.value = value;
-      writer.write(holder);
+      writer.setLong(value);
     }
   }
 
   public static class DrillTimeStampConverter extends PrimitiveConverter {
-    private TimeStampWriter writer;
-    private TimeStampHolder holder = new TimeStampHolder();
+    private final ScalarWriter writer;
 
-    public DrillTimeStampConverter(TimeStampWriter writer) {
+    public DrillTimeStampConverter(ScalarWriter writer) {
       this.writer = writer;
     }
 
     @Override
     public void addLong(long value) {
-      holder.value = value;
-      writer.write(holder);
+      writer.setLong(value);
     }
   }
 
   public static class DrillFloat4Converter extends PrimitiveConverter {
-    private Float4Writer writer;
-    private Float4Holder holder = new Float4Holder();
+    private final ScalarWriter writer;
 
-    public DrillFloat4Converter(Float4Writer writer) {
+    public DrillFloat4Converter(ScalarWriter writer) {
       this.writer = writer;
     }
 
     @Override
     public void addFloat(float value) {
-      holder.value = value;
-      writer.write(holder);
+      writer.setDouble(value);
     }
   }
 
   public static class DrillFloat8Converter extends PrimitiveConverter {
-    private Float8Writer writer;
-    private Float8Holder holder = new Float8Holder();
+    private final ScalarWriter writer;
 
-    public DrillFloat8Converter(Float8Writer writer) {
+    public DrillFloat8Converter(ScalarWriter writer) {
       this.writer = writer;
     }
 
     @Override
     public void addDouble(double value) {
-      holder.value = value;
-      writer.write(holder);
+      writer.setDouble(value);
     }
   }
 
   public static class DrillBoolConverter extends PrimitiveConverter {
-    private BitWriter writer;
-    private BitHolder holder = new BitHolder();
+    private final ScalarWriter writer;
 
-    public DrillBoolConverter(BitWriter writer) {
+    public DrillBoolConverter(ScalarWriter writer) {
       this.writer = writer;
     }
 
     @Override
     public void addBoolean(boolean value) {
-      holder.value = value ? 1 : 0;
-      writer.write(holder);
+      writer.setInt(value ? 1 : 0);
     }
   }
 
   public static class DrillVarBinaryConverter extends PrimitiveConverter {
-    private VarBinaryWriter writer;
-    private DrillBuf buf;
-    private VarBinaryHolder holder = new VarBinaryHolder();
+    private final ScalarWriter writer;
 
-    public DrillVarBinaryConverter(VarBinaryWriter writer, DrillBuf buf) {
+    public DrillVarBinaryConverter(ScalarWriter writer) {
       this.writer = writer;
-      this.buf = buf;
     }
 
     @Override
     public void addBinary(Binary value) {
-      holder.buffer = buf = buf.reallocIfNeeded(value.length());
-      buf.setBytes(0, value.toByteBuffer());
-      holder.start = 0;
-      holder.end = value.length();
-      writer.write(holder);
+      writer.setBytes(value.getBytes(), value.length());
     }
   }
 
   public static class DrillVarCharConverter extends PrimitiveConverter {
-    private VarCharWriter writer;
-    private VarCharHolder holder = new VarCharHolder();
-    private DrillBuf buf;
+    private final ScalarWriter writer;
 
-    public DrillVarCharConverter(VarCharWriter writer,  DrillBuf buf) {
+    public DrillVarCharConverter(ScalarWriter writer) {
       this.writer = writer;
-      this.buf = buf;
     }
 
     @Override
     public void addBinary(Binary value) {
-      holder.buffer = buf = buf.reallocIfNeeded(value.length());
-      buf.setBytes(0, value.toByteBuffer());
-      holder.start = 0;
-      holder.end = value.length();
-      writer.write(holder);
+      writer.setBytes(value.getBytes(), value.length());
     }
   }
 
+  /**
+   * Writes the unscaled value as stored by Parquet, big-endian two's
+   * complement, which is also the VarDecimal representation.
+   */
   public static class DrillVarDecimalConverter extends PrimitiveConverter {
-    private VarDecimalWriter writer;
-    private VarDecimalHolder holder = new VarDecimalHolder();
-    private DrillBuf buf;
+    private final ScalarWriter writer;
 
-    public DrillVarDecimalConverter(VarDecimalWriter writer, int precision, int scale, DrillBuf buf) {
+    public DrillVarDecimalConverter(ScalarWriter writer) {
       this.writer = writer;
-      holder.scale = scale;
-      holder.precision = precision;
-      this.buf = buf;
     }
 
     @Override
     public void addBinary(Binary value) {
-      holder.buffer = buf.reallocIfNeeded(value.length());
-      holder.buffer.setBytes(0, value.toByteBuffer());
-      holder.start = 0;
-      holder.end = value.length();
-      writer.write(holder);
+      writer.setBytes(value.getBytes(), value.length());
     }
 
     @Override
     public void addInt(int value) {
       byte[] bytes = Ints.toByteArray(value);
-      holder.buffer = buf.reallocIfNeeded(bytes.length);
-      holder.buffer.setBytes(0, bytes);
-      holder.start = 0;
-      holder.end = bytes.length;
-      writer.write(holder);
+      writer.setBytes(bytes, bytes.length);
     }
 
     @Override
     public void addLong(long value) {
       byte[] bytes = Longs.toByteArray(value);
-      holder.buffer = buf.reallocIfNeeded(bytes.length);
-      holder.buffer.setBytes(0, bytes);
-      holder.start = 0;
-      holder.end = bytes.length;
-      writer.write(holder);
+      writer.setBytes(bytes, bytes.length);
     }
   }
 
   public static class DrillFixedLengthByteArrayToInterval extends PrimitiveConverter {
-    final private IntervalWriter writer;
-    final private IntervalHolder holder = new IntervalHolder();
+    final private ScalarWriter writer;
 
-    public DrillFixedLengthByteArrayToInterval(IntervalWriter writer) {
+    public DrillFixedLengthByteArrayToInterval(ScalarWriter writer) {
       this.writer = writer;
     }
 
     @Override
     public void addBinary(Binary value) {
       final byte[] input = value.getBytes();
-      holder.months = ParquetReaderUtility.getIntFromLEBytes(input, 0);
-      holder.days = ParquetReaderUtility.getIntFromLEBytes(input, 4);
-      holder.milliseconds = ParquetReaderUtility.getIntFromLEBytes(input, 8);
-      writer.write(holder);
+      writer.setPeriod(new Period(0,
+          ParquetReaderUtility.getIntFromLEBytes(input, 0), 0,
+          ParquetReaderUtility.getIntFromLEBytes(input, 4), 0, 0, 0,
+          ParquetReaderUtility.getIntFromLEBytes(input, 8)));
     }
   }
   /**
@@ -598,21 +528,17 @@ public class DrillParquetGroupConverter extends GroupConverter {
    * data will be read in a s varbinary and the same length will be recorded for each value.
    */
   public static class DrillFixedBinaryToVarbinaryConverter extends PrimitiveConverter {
-    private VarBinaryWriter writer;
-    private VarBinaryHolder holder = new VarBinaryHolder();
+    private final ScalarWriter writer;
+    private final int length;
 
-    @SuppressWarnings("resource")
-    public DrillFixedBinaryToVarbinaryConverter(VarBinaryWriter writer, int length, DrillBuf buf) {
+    public DrillFixedBinaryToVarbinaryConverter(ScalarWriter writer, int length) {
       this.writer = writer;
-      holder.buffer = buf = buf.reallocIfNeeded(length);
-      holder.start = 0;
-      holder.end = length;
+      this.length = length;
     }
 
     @Override
     public void addBinary(Binary value) {
-      holder.buffer.setBytes(0, value.toByteBuffer());
-      writer.write(holder);
+      writer.setBytes(value.getBytes(), length);
     }
   }
 
@@ -621,17 +547,15 @@ public class DrillParquetGroupConverter extends GroupConverter {
    * with nanoseconds precision.
    */
   public static class DrillFixedBinaryToTimeStampConverter extends PrimitiveConverter {
-    private TimeStampWriter writer;
-    private TimeStampHolder holder = new TimeStampHolder();
+    private final ScalarWriter writer;
 
-    public DrillFixedBinaryToTimeStampConverter(TimeStampWriter writer) {
+    public DrillFixedBinaryToTimeStampConverter(ScalarWriter writer) {
       this.writer = writer;
     }
 
     @Override
     public void addBinary(Binary value) {
-      holder.value = getDateTimeValueFromBinary(value, true);
-      writer.write(holder);
+      writer.setLong(getDateTimeValueFromBinary(value, true));
     }
   }
 }
@@ -32,20 +32,17 @@ import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.common.expression.PathSegment;
 import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.common.types.TypeProtos;
-import org.apache.drill.exec.exception.OutOfMemoryException;
-import org.apache.drill.exec.expr.TypeHelper;
+import org.apache.drill.common.types.Types;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.ops.OperatorContext;
-import org.apache.drill.exec.physical.impl.OutputMutator;
+import org.apache.drill.exec.physical.rowSet.RowSetLoader;
 import org.apache.drill.exec.record.MaterializedField;
-import org.apache.drill.exec.store.AbstractRecordReader;
+import org.apache.drill.exec.store.ResultSetLoaderRecordReader;
 import org.apache.drill.exec.store.dfs.DrillFileSystem;
 import org.apache.drill.exec.store.parquet.ParquetDirectByteBufferAllocator;
 import org.apache.drill.exec.store.parquet.ParquetReaderUtility;
 import org.apache.drill.exec.store.parquet.RowGroupReadEntry;
-import org.apache.drill.exec.vector.AllocationHelper;
-import org.apache.drill.exec.vector.NullableIntVector;
-import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.exec.store.parquet.columnreaders.ParquetRecordReader;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.hadoop.CodecFactory;
@@ -65,13 +62,16 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
-public class DrillParquetReader extends AbstractRecordReader {
+/**
+ * Reads row groups with nested or repeated columns, which the columnar
+ * {@link ParquetRecordReader} does not handle. Records are assembled by the
+ * Parquet record reader and written through the column writers of a result
+ * set loader, so batches are limited by the output batch size rather than
+ * a fixed record count.
+ */
+public class DrillParquetReader extends ResultSetLoaderRecordReader {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DrillParquetReader.class);
 
-  // same as the DEFAULT_RECORDS_TO_READ_IF_NOT_FIXED_WIDTH in ParquetRecordReader
-
-  private static final char DEFAULT_RECORDS_TO_READ = 32*1024;
-
   private ParquetMetadata footer;
   private MessageType schema;
   private DrillFileSystem fileSystem;
@@ -80,13 +80,11 @@ public class DrillParquetReader extends AbstractRecordReader {
   private RecordReader<Void> recordReader;
   private DrillParquetRecordMaterializer recordMaterializer;
   private int recordCount;
-  private OperatorContext operatorContext;
   private FragmentContext fragmentContext;
 
   // For columns not found in the file, we need to return a schema element with the correct number of values
-  // at that position in the schema. Currently this requires a vector be present. Here is a list of all of these vectors
-  // that need only have their value count set at the end of each call to next(), as the values default to null.
-  private List<NullableIntVector> nullFilledVectors;
+  // at that position in the schema. These are added as nullable columns that are never written, so the
+  // result set loader fills them with nulls.
   // Keeps track of the number of records returned in the case where only columns outside of the file were selected.
   // No actual data needs to be read out of the file, we only need to return batches until we have 'read' the number of
   // records specified in the row group metadata
@@ -99,6 +97,9 @@ public class DrillParquetReader extends AbstractRecordReader {
 
   public DrillParquetReader(FragmentContext fragmentContext, ParquetMetadata footer, RowGroupReadEntry entry,
       List<SchemaPath> columns, DrillFileSystem fileSystem, ParquetReaderUtility.DateCorruptionStatus containsCorruptedDates) {
+    // The scan operator already reports the metrics of ParquetRecordReader
+    super(ParquetRecordReader.Metric.BATCH_COUNT, ParquetRecordReader.Metric.MAX_BATCH_BYTES,
+        ParquetRecordReader.Metric.AVG_BATCH_BYTES);
     this.containsCorruptedDates = containsCorruptedDates;
     this.footer = footer;
     this.fileSystem = fileSystem;
@@ -179,21 +180,10 @@ public class DrillParquetReader extends AbstractRecordReader {
   }
 
   @Override
-  public void allocate(Map<String, ValueVector> vectorMap) throws OutOfMemoryException {
-    try {
-      for (final ValueVector v : vectorMap.values()) {
-        AllocationHelper.allocate(v, Character.MAX_VALUE, 50, 10);
-      }
-    } catch (NullPointerException e) {
-      throw new OutOfMemoryException();
-    }
-  }
-
-  @Override
-  public void setup(OperatorContext context, OutputMutator output) throws ExecutionSetupException {
+  protected void open(RowSetLoader writer) throws ExecutionSetupException {
 
     try {
-      this.operatorContext = context;
+      OperatorContext operatorContext = operatorContext();
       schema = footer.getFileMetaData().getSchema();
       MessageType projection;
 
@@ -206,14 +196,9 @@ public class DrillParquetReader extends AbstractRecordReader {
             projection = schema;
         }
         if (columnsNotFound != null && columnsNotFound.size() > 0) {
-          nullFilledVectors = new ArrayList<>();
           for (SchemaPath col: columnsNotFound) {
             // col.toExpr() is used here as field name since we don't want to see these fields in the existing maps
-            nullFilledVectors.add(
-              (NullableIntVector) output.addField(MaterializedField.create(col.toExpr(),
-                  org.apache.drill.common.types.Types.optional(TypeProtos.MinorType.INT)),
-                (Class<? extends ValueVector>) TypeHelper.getValueVectorClass(TypeProtos.MinorType.INT,
-                  TypeProtos.DataMode.OPTIONAL)));
+            writer.addColumn(MaterializedField.create(col.toExpr(), Types.optional(TypeProtos.MinorType.INT)));
           }
           if (columnsNotFound.size() == getColumns().size()) {
             noColumnsFound = true;
@@ -254,7 +239,7 @@ public class DrillParquetReader extends AbstractRecordReader {
         // Discard the columns not found in the schema when create DrillParquetRecordMaterializer, since they have been added to output already.
         @SuppressWarnings("unchecked")
         final Collection<SchemaPath> columns = columnsNotFound == null || columnsNotFound.size() == 0 ? getColumns(): CollectionUtils.subtract(getColumns(), columnsNotFound);
-        recordMaterializer = new DrillParquetRecordMaterializer(output, projection, columns, fragmentContext.getOptions(), containsCorruptedDates);
+        recordMaterializer = new DrillParquetRecordMaterializer(writer, projection, columns, fragmentContext.getOptions(), containsCorruptedDates);
         recordReader = columnIO.getRecordReader(pageReadStore, recordMaterializer);
       }
     } catch (Exception e) {
@@ -282,48 +267,35 @@ public class DrillParquetReader extends AbstractRecordReader {
   private long totalRead = 0;
 
   @Override
-  public int next() {
-    int count = 0;
+  protected boolean readBatch(RowSetLoader writer) {
 
-    // No columns found in the file were selected, simply return a full batch of null records for each column requested
+    // No columns found in the file were selected, simply return rows of nulls for each column requested
     if (noColumnsFound) {
-      if (mockRecordsRead == footer.getBlocks().get(entry.getRowGroupIndex()).getRowCount()) {
-        return 0;
+      while (!writer.isFull() && mockRecordsRead < recordCount) {
+        writer.start();
+        writer.save();
+        mockRecordsRead++;
       }
-      long recordsToRead = 0;
-      recordsToRead = Math.min(DEFAULT_RECORDS_TO_READ, footer.getBlocks().get(entry.getRowGroupIndex()).getRowCount() - mockRecordsRead);
-      for (ValueVector vv : nullFilledVectors ) {
-        vv.getMutator().setValueCount( (int) recordsToRead);
-      }
-      mockRecordsRead += recordsToRead;
-      return (int) recordsToRead;
+      return mockRecordsRead < recordCount;
     }
 
-    while (count < 4000 && totalRead < recordCount) {
-      recordMaterializer.setPosition(count);
+    // A record that overflows the batch is carried over to the next batch by the loader
+    while (!writer.isFull() && totalRead < recordCount) {
+      writer.start();
       recordReader.read();
-      count++;
+      writer.save();
       totalRead++;
     }
-    recordMaterializer.setValueCount(count);
-    // if we have requested columns that were not found in the file fill their vectors with null
-    // (by simply setting the value counts inside of them, as they start null filled)
-    if (nullFilledVectors != null) {
-      for (final ValueVector vv : nullFilledVectors) {
-        vv.getMutator().setValueCount(count);
-      }
-    }
-    return count;
+    return totalRead < recordCount;
   }
 
   @Override
-  public void close() {
+  protected void cleanup() {
     footer = null;
     fileSystem = null;
     entry = null;
     recordReader = null;
     recordMaterializer = null;
-    nullFilledVectors = null;
     columnsNotFound = null;
     try {
       if (pageReadStore != null) {
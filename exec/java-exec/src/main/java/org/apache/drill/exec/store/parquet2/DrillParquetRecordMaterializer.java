@@ -20,11 +20,9 @@ package org.apache.drill.exec.store.parquet2;
 import java.util.Collection;
 
 import org.apache.drill.common.expression.SchemaPath;
-import org.apache.drill.exec.physical.impl.OutputMutator;
 import org.apache.drill.exec.server.options.OptionManager;
 import org.apache.drill.exec.store.parquet.ParquetReaderUtility;
-import org.apache.drill.exec.vector.complex.impl.VectorContainerWriter;
-import org.apache.drill.exec.vector.complex.writer.BaseWriter.ComplexWriter;
+import org.apache.drill.exec.vector.accessor.TupleWriter;
 import org.apache.parquet.io.api.GroupConverter;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
@@ -32,21 +30,11 @@ import org.apache.parquet.schema.MessageType;
 public class DrillParquetRecordMaterializer extends RecordMaterializer<Void> {
 
   private final DrillParquetGroupConverter root;
-  private final ComplexWriter writer;
 
-  public DrillParquetRecordMaterializer(OutputMutator mutator, MessageType schema,
+  public DrillParquetRecordMaterializer(TupleWriter rowWriter, MessageType schema,
                                         Collection<SchemaPath> columns, OptionManager options,
                                         ParquetReaderUtility.DateCorruptionStatus containsCorruptedDates) {
-    writer = new VectorContainerWriter(mutator);
-    root = new DrillParquetGroupConverter(mutator, writer.rootAsMap(), schema, columns, options, containsCorruptedDates);
-  }
-
-  public void setPosition(int position) {
-    writer.setPosition(position);
-  }
-
-  public void setValueCount(int count) {
-    writer.setValueCount(count);
+    root = new DrillParquetGroupConverter(rowWriter, schema, columns, options, containsCorruptedDates);
   }
 
   @Override
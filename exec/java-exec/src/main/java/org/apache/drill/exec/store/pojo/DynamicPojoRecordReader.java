@@ -29,7 +29,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.util.StdConverter;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -108,13 +107,17 @@ public class DynamicPojoRecordReader<T> extends AbstractPojoRecordReader<List<T>
     public DynamicPojoRecordReader convert(JsonNode value) {
       LinkedHashMap<String, Class<?>> schema = mapper.convertValue(value.get("schema"), schemaType);
 
-      ArrayList records = new ArrayList(schema.size());
-      final Iterator<JsonNode> recordsIterator = value.get("records").get(0).elements();
-      for (Class<?> fieldType : schema.values()) {
-        records.add(mapper.convertValue(recordsIterator.next(), fieldType));
+      List<List<Object>> records = new ArrayList<>();
+      for (JsonNode recordNode : value.get("records")) {
+        List<Object> record = new ArrayList<>(schema.size());
+        final Iterator<JsonNode> recordIterator = recordNode.elements();
+        for (Class<?> fieldType : schema.values()) {
+          record.add(mapper.convertValue(recordIterator.next(), fieldType));
+        }
+        records.add(record);
       }
       int maxRecordsToRead = value.get("recordsPerBatch").asInt();
-      return new DynamicPojoRecordReader(schema, Collections.singletonList(records), maxRecordsToRead);
+      return new DynamicPojoRecordReader<>(schema, records, maxRecordsToRead);
     }
   }
 }
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.sys;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.drill.exec.memory.AllocationProfiler;
+import org.apache.drill.exec.memory.AllocationProfiler.AllocatorProfile;
+import org.apache.drill.exec.ops.ExecutorFragmentContext;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+
+/**
+ * Iterator for <tt>sys.allocators</tt>: one row per open allocator on
+ * each Drillbit, from the allocation profiler. Empty if the profiler is
+ * disabled.
+ */
+public class AllocatorsIterator implements Iterator<Object> {
+
+  private final Iterator<Object> iter;
+
+  public AllocatorsIterator(final ExecutorFragmentContext context) {
+    final DrillbitEndpoint endpoint = context.getEndpoint();
+    final AllocationProfiler profiler = context.getAllocationProfiler();
+    final List<AllocatorProfile> profiles = profiler == null
+        ? Collections.<AllocatorProfile>emptyList()
+        : profiler.getProfiles();
+    iter = Iterators.transform(profiles.iterator(), new Function<AllocatorProfile, Object>() {
+      @Override
+      public Object apply(AllocatorProfile profile) {
+        return new AllocatorInfo(endpoint, profile);
+      }
+    });
+  }
+
+  @Override
+  public boolean hasNext() {
+    return iter.hasNext();
+  }
+
+  @Override
+  public Object next() {
+    return iter.next();
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static class AllocatorInfo {
+    public String hostname;
+    public long user_port;
+    public String name;
+    public String parent;
+    public long allocated;
+    public long peak;
+    public long allocation_limit;
+    public long window_peak;
+    public long window_average;
+    public String top_site;
+    public long top_site_bytes;
+
+    public AllocatorInfo(DrillbitEndpoint endpoint, AllocatorProfile profile) {
+      hostname = endpoint.getAddress();
+      user_port = endpoint.getUserPort();
+      name = profile.getName();
+      parent = profile.getParent();
+      allocated = profile.getAllocated();
+      peak = profile.getPeak();
+      allocation_limit = profile.getLimit();
+      window_peak = profile.getWindowPeak();
+      window_average = profile.getWindowAverage();
+
+      // Sites are ordered by estimated bytes, largest first
+      Iterator<Map.Entry<String, Long>> sites = profile.getSites().entrySet().iterator();
+      if (sites.hasNext()) {
+        Map.Entry<String, Long> site = sites.next();
+        top_site = site.getKey();
+        top_site_bytes = site.getValue();
+      } else {
+        top_site = null;
+        top_site_bytes = 0;
+      }
+    }
+  }
+}
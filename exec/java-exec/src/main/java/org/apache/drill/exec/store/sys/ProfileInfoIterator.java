@@ -21,8 +21,8 @@ import com.google.common.base.Function;
 import com.google.common.collect.Iterators;
 
 import org.apache.drill.exec.ops.ExecutorFragmentContext;
-import org.apache.drill.exec.proto.UserBitShared;
 import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.apache.drill.exec.server.profile.ProfileSummary;
 
 import javax.annotation.Nullable;
 import java.sql.Timestamp;
@@ -52,8 +52,8 @@ public class ProfileInfoIterator extends ProfileIterator {
   //Returns an iterator for authorized profiles
   private Iterator<ProfileInfo> iterateProfileInfo() {
     try {
-      //Transform authorized profiles to iterator for ProfileInfo
-      return transform(getAuthorizedProfiles(queryingUsername, isAdmin));
+      //Transform authorized profile summaries to iterator for ProfileInfo
+      return transform(getAuthorizedProfileSummaries());
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return Iterators.singletonIterator(ProfileInfo.getDefault());
@@ -61,39 +61,45 @@ public class ProfileInfoIterator extends ProfileIterator {
   }
 
   /**
-   * Iterating persistentStore as a iterator of {@link org.apache.drill.exec.store.sys.ProfileInfoIterator.ProfileInfo}.
+   * Iterating profile summaries as a iterator of {@link org.apache.drill.exec.store.sys.ProfileInfoIterator.ProfileInfo}.
+   * The query text is read from the profile only when the summary keeps just a prefix of it.
    */
-  private Iterator<ProfileInfo> transform(Iterator<Entry<String, UserBitShared.QueryProfile>> all) {
-    return Iterators.transform(all, new Function<Entry<String, UserBitShared.QueryProfile>, ProfileInfo>() {
+  private Iterator<ProfileInfo> transform(Iterator<ProfileSummary> all) {
+    return Iterators.transform(all, new Function<ProfileSummary, ProfileInfo>() {
       @Nullable
       @Override
-      public ProfileInfo apply(@Nullable Entry<String, UserBitShared.QueryProfile> input) {
-        if (input == null || input.getValue() == null) {
+      public ProfileInfo apply(@Nullable ProfileSummary profile) {
+        if (profile == null) {
           return ProfileInfo.getDefault();
         }
 
-        //Constructing ProfileInfo
-        final String queryID = input.getKey();
-        final QueryProfile profile = input.getValue();
         //For cases where query was never queued
         final long assumedQueueEndTime = profile.getQueueWaitEnd()> 0 ? profile.getQueueWaitEnd() : profile.getPlanEnd();
         return new ProfileInfo(
-            queryID,
+            profile.getQueryId(),
             new Timestamp(profile.getStart()),
-            profile.getForeman().getAddress(),
+            profile.getForeman(),
             profile.getTotalFragments(),
             profile.getUser(),
-            profile.getQueueName(),
+            profile.getQueue(),
             computeDuration(profile.getStart(), profile.getPlanEnd()),
             computeDuration(profile.getPlanEnd(), assumedQueueEndTime),
             computeDuration(assumedQueueEndTime, profile.getEnd()),
-            profile.getState().name(),
-            profile.getQuery()
+            profile.getState(),
+            getQuery(profile)
          );
       }
     });
   }
 
+  private String getQuery(ProfileSummary summary) {
+    if (!summary.isQueryTruncated()) {
+      return summary.getQuery();
+    }
+    final QueryProfile profile = profileStoreContext.getCompletedProfileStore().get(summary.getQueryId());
+    return profile == null ? summary.getQuery() : profile.getQuery();
+  }
+
   @Override
   public boolean hasNext() {
     return itr.hasNext();
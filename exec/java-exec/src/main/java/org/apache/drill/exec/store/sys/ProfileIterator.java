@@ -27,6 +27,8 @@ import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.ops.ExecutorFragmentContext;
 import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
 import org.apache.drill.exec.server.QueryProfileStoreContext;
+import org.apache.drill.exec.server.profile.ProfileFilter;
+import org.apache.drill.exec.server.profile.ProfileSummary;
 import org.apache.drill.exec.server.options.OptionManager;
 import org.apache.drill.exec.util.ImpersonationUtil;
 
@@ -107,6 +109,20 @@ public abstract class ProfileIterator implements Iterator<Object> {
     return authorizedProfiles.iterator();
   }
 
+  /**
+   * Returns summaries of the profiles the querying user may see, newest
+   * first, without reading the profiles themselves.
+   *
+   * @return summaries iterator
+   */
+  protected Iterator<ProfileSummary> getAuthorizedProfileSummaries() {
+    if (maxRecords == 0) {
+      return Collections.emptyIterator();
+    }
+    ProfileFilter filter = isAdmin ? ProfileFilter.ALL : ProfileFilter.forUser(queryingUsername);
+    return profileStoreContext.getCompletedProfileSummaries(0, maxRecords, filter).iterator();
+  }
+
   protected long computeDuration(long startTime, long endTime) {
     if (endTime > startTime && startTime > 0) {
       return (endTime - startTime);
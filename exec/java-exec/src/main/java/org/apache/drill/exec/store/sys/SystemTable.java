@@ -87,6 +87,13 @@ public enum SystemTable {
     }
   },
 
+  ALLOCATORS("allocators", true, AllocatorsIterator.AllocatorInfo.class) {
+    @Override
+    public Iterator<Object> getIterator(final ExecutorFragmentContext context, final int maxRecords) {
+      return new AllocatorsIterator(context);
+    }
+  },
+
   CONNECTIONS("connections", true, BitToUserConnectionIterator.ConnectionInfo.class) {
     @Override
     public Iterator<Object> getIterator(final ExecutorFragmentContext context, final int maxRecords) {
@@ -70,10 +70,14 @@ public class LocalPersistentStore<V> extends BasePersistentStore<V> {
     }
   }
 
-  protected Path getBasePath() {
+  public Path getBasePath() {
     return basePath;
   }
 
+  public DrillFileSystem getFileSystem() {
+    return fs;
+  }
+
   @Override
   public PersistentStoreMode getMode() {
     return PersistentStoreMode.PERSISTENT;
@@ -107,30 +111,37 @@ public class LocalPersistentStore<V> extends BasePersistentStore<V> {
     return fs;
   }
 
+  /**
+   * @return the sorted keys of the store, listed without reading any value
+   */
+  public List<String> getKeys() throws IOException {
+    // list only files with sys file suffix
+    PathFilter sysFileSuffixFilter = new PathFilter() {
+      @Override
+      public boolean accept(Path path) {
+        return path.getName().endsWith(DRILL_SYS_FILE_SUFFIX);
+      }
+    };
+
+    List<FileStatus> fileStatuses = DrillFileSystemUtil.listFiles(fs, basePath, false, sysFileSuffixFilter);
+    List<String> files = Lists.newArrayList();
+    for (FileStatus stat : fileStatuses) {
+      String s = stat.getPath().getName();
+      files.add(s.substring(0, s.length() - DRILL_SYS_FILE_SUFFIX.length()));
+    }
+
+    Collections.sort(files);
+    return files;
+  }
+
   @Override
   public Iterator<Map.Entry<String, V>> getRange(int skip, int take) {
     try {
-      // list only files with sys file suffix
-      PathFilter sysFileSuffixFilter = new PathFilter() {
-        @Override
-        public boolean accept(Path path) {
-          return path.getName().endsWith(DRILL_SYS_FILE_SUFFIX);
-        }
-      };
-
-      List<FileStatus> fileStatuses = DrillFileSystemUtil.listFiles(fs, basePath, false, sysFileSuffixFilter);
-      if (fileStatuses.isEmpty()) {
+      List<String> files = getKeys();
+      if (files.isEmpty()) {
         return Collections.emptyIterator();
       }
 
-      List<String> files = Lists.newArrayList();
-      for (FileStatus stat : fileStatuses) {
-        String s = stat.getPath().getName();
-        files.add(s.substring(0, s.length() - DRILL_SYS_FILE_SUFFIX.length()));
-      }
-
-      Collections.sort(files);
-
       return Iterables.transform(Iterables.limit(Iterables.skip(files, skip), take), new Function<String, Entry<String, V>>() {
         @Nullable
         @Override
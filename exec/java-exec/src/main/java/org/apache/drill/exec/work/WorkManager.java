@@ -19,12 +19,12 @@ package org.apache.drill.exec.work;
 
 import com.codahale.metrics.Gauge;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.drill.common.SelfCleaningRunnable;
 import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.exec.coord.ClusterCoordinator;
 import org.apache.drill.exec.metrics.DrillMetrics;
+import org.apache.drill.exec.proto.BitControl.BitStatus;
 import org.apache.drill.exec.proto.BitControl.FragmentStatus;
 import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
@@ -44,10 +44,10 @@ import org.apache.drill.exec.work.batch.ControlMessageHandler;
 import org.apache.drill.exec.work.foreman.Foreman;
 import org.apache.drill.exec.work.fragment.FragmentExecutor;
 import org.apache.drill.exec.work.fragment.FragmentManager;
+import org.apache.drill.exec.work.fragment.FragmentStatusBatcher;
 import org.apache.drill.exec.work.user.UserWorker;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
@@ -401,8 +401,11 @@ public class WorkManager implements AutoCloseable {
       final Controller controller = dContext.getController();
       final DrillbitEndpoint localBitEndPoint = dContext.getEndpoint();
 
+      // Statuses for remote Foremen are sent in one message per Foreman, with delta-encoded operator profiles
+      final FragmentStatusBatcher batcher = new FragmentStatusBatcher();
+
       while (true) {
-        final List<DrillRpcFuture<Ack>> futures = Lists.newArrayList();
+        batcher.reset(runningFragments.keySet());
         for (final FragmentExecutor fragmentExecutor : runningFragments.values()) {
           final FragmentStatus status = fragmentExecutor.getStatus();
           if (status == null) {
@@ -415,14 +418,20 @@ public class WorkManager implements AutoCloseable {
           // Control Tunnel
           if (localBitEndPoint.equals(foremanEndpoint)) {
             workBus.statusUpdate(status);
-          } else { // else send the status to remote Foreman over Control Tunnel
-            futures.add(controller.getTunnel(foremanEndpoint).sendFragmentStatus(status));
+          } else { // else batch the status for the remote Foreman
+            batcher.add(foremanEndpoint, status);
           }
         }
 
-        for (final DrillRpcFuture<Ack> future : futures) {
+        final Map<DrillbitEndpoint, DrillRpcFuture<Ack>> futures = Maps.newHashMap();
+        for (final Map.Entry<DrillbitEndpoint, BitStatus> batch : batcher.getBatches().entrySet()) {
+          futures.put(batch.getKey(), controller.getTunnel(batch.getKey()).sendBitStatus(batch.getValue()));
+        }
+
+        for (final Map.Entry<DrillbitEndpoint, DrillRpcFuture<Ack>> future : futures.entrySet()) {
           try {
-            future.checkedGet();
+            future.getValue().checkedGet();
+            batcher.acknowledged(future.getKey());
           } catch (final RpcException ex) {
             logger.info("Failure while sending intermediate fragment status to Foreman", ex);
           }
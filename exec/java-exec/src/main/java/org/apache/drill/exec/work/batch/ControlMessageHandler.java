@@ -21,6 +21,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.DrillBuf;
 import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.exec.ops.FragmentContextImpl;
+import org.apache.drill.exec.proto.BitControl.BitStatus;
 import org.apache.drill.exec.proto.BitControl.CustomMessage;
 import org.apache.drill.exec.proto.BitControl.FinishedReceiver;
 import org.apache.drill.exec.proto.BitControl.FragmentStatus;
@@ -97,6 +98,15 @@ public class ControlMessageHandler implements RequestHandler<ControlConnection>
       sender.send(ControlRpcConfig.OK);
       break;
 
+    case RpcType.REQ_BIT_STATUS_VALUE: {
+      final BitStatus bitStatus = get(pBody, BitStatus.PARSER);
+      for (final FragmentStatus fragmentStatus : bitStatus.getFragmentStatusList()) {
+        requestFragmentStatus(fragmentStatus);
+      }
+      sender.send(ControlRpcConfig.OK);
+      break;
+    }
+
     case RpcType.REQ_QUERY_CANCEL_VALUE: {
       final QueryId queryId = get(pBody, QueryId.PARSER);
       final Ack cancelStatus = requestQueryCancel(queryId);
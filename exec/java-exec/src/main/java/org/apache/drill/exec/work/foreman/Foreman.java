@@ -729,6 +729,11 @@ public class Foreman implements Runnable {
       drillbitContext.getWorkBus().removeFragmentStatusListener(queryId);
       drillbitContext.getClusterCoordinator().removeDrillbitStatusListener(queryManager.getDrillbitStatusListener());
 
+      // finish the work the planner left for a successful query before the client is told it completed
+      if (resultState == QueryState.COMPLETED) {
+        queryContext.runCompletionActions();
+      }
+
       suppressingClose(queryContext);
 
       /*
@@ -24,53 +24,109 @@ import org.apache.drill.exec.proto.UserBitShared.FragmentState;
 import org.apache.drill.exec.proto.UserBitShared.MinorFragmentProfile;
 import org.apache.drill.exec.proto.UserBitShared.OperatorProfile;
 
+import com.carrotsearch.hppc.IntIntHashMap;
+
 public class FragmentData {
 //  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(FragmentData.class);
 
   private final boolean isLocal;
-  private volatile FragmentStatus status;
+  private final FragmentHandle handle;
+  private volatile FragmentState state;
   private volatile long lastStatusUpdate = System.currentTimeMillis();
   private volatile long lastProgress = System.currentTimeMillis();
+  // Operator profiles are replaced in place as updates arrive, the rest of the profile is copied from each update.
+  private final MinorFragmentProfile.Builder profileBuilder;
+  // Position of each operator in the builder, by operator id. Operators keep the order they were first reported in.
+  private final IntIntHashMap operatorIndexes = new IntIntHashMap();
+  // Built when the query profile is requested, dropped by the next update
+  private MinorFragmentProfile profile;
   private final DrillbitEndpoint endpoint;
 
   public FragmentData(final FragmentHandle handle, final DrillbitEndpoint endpoint, final boolean isLocal) {
+    this.handle = handle;
     this.endpoint = endpoint;
     this.isLocal = isLocal;
-    final MinorFragmentProfile f = MinorFragmentProfile.newBuilder()
+    this.state = FragmentState.SENDING;
+    profileBuilder = MinorFragmentProfile.newBuilder()
         .setState(FragmentState.SENDING)
         .setMinorFragmentId(handle.getMinorFragmentId())
-        .setEndpoint(endpoint)
-        .build();
-    status = FragmentStatus.newBuilder()
-        .setHandle(handle)
-        .setProfile(f)
-        .build();
+        .setEndpoint(endpoint);
   }
 
   /**
-   * Update the status for this fragment. Also records last update and last progress time.
+   * Update the status for this fragment. Also records last update and last progress time. Operator profiles missing
+   * from the new status are unchanged since the previous one (see
+   * {@link org.apache.drill.exec.work.fragment.FragmentStatusBatcher}), and are kept; only the operators present in
+   * the new status are replaced. Callers synchronize on this object.
    * @param newStatus Updated status
    */
-  public void setStatus(final FragmentStatus newStatus) {
+  public synchronized void setStatus(final FragmentStatus newStatus) {
+    final MinorFragmentProfile current = newStatus.getProfile();
+    boolean progress = state != current.getState();
+    for (final OperatorProfile operator : current.getOperatorProfileList()) {
+      final int operatorId = operator.getOperatorId();
+      final int index = operatorIndexes.getOrDefault(operatorId, -1);
+      if (index < 0) {
+        operatorIndexes.put(operatorId, profileBuilder.getOperatorProfileCount());
+        profileBuilder.addOperatorProfile(operator);
+        progress = true;
+      } else {
+        progress |= madeProgress(profileBuilder.getOperatorProfile(index), operator);
+        profileBuilder.setOperatorProfile(index, operator);
+      }
+    }
+    copyFragmentFields(current);
+
     final long time = System.currentTimeMillis();
     lastStatusUpdate = time;
-    if (madeProgress(status, newStatus)) {
+    if (progress) {
       lastProgress = time;
     }
-    status = newStatus;
+    state = current.getState();
+    profile = null;
+  }
+
+  /**
+   * Copies the fields of the new profile other than the operator profiles. Fields the new profile does not set keep
+   * their previous value.
+   */
+  private void copyFragmentFields(final MinorFragmentProfile current) {
+    profileBuilder.setState(current.getState());
+    if (current.hasError()) {
+      profileBuilder.setError(current.getError());
+    }
+    if (current.hasMinorFragmentId()) {
+      profileBuilder.setMinorFragmentId(current.getMinorFragmentId());
+    }
+    if (current.hasStartTime()) {
+      profileBuilder.setStartTime(current.getStartTime());
+    }
+    if (current.hasEndTime()) {
+      profileBuilder.setEndTime(current.getEndTime());
+    }
+    if (current.hasMemoryUsed()) {
+      profileBuilder.setMemoryUsed(current.getMemoryUsed());
+    }
+    if (current.hasMaxMemoryUsed()) {
+      profileBuilder.setMaxMemoryUsed(current.getMaxMemoryUsed());
+    }
+    if (current.hasEndpoint()) {
+      profileBuilder.setEndpoint(current.getEndpoint());
+    }
   }
 
   public FragmentState getState() {
-    return status.getProfile().getState();
+    return state;
   }
 
-  public MinorFragmentProfile getProfile() {
-    return status
-        .getProfile()
-        .toBuilder()
-        .setLastUpdate(lastStatusUpdate)
-        .setLastProgress(lastProgress)
-        .build();
+  public synchronized MinorFragmentProfile getProfile() {
+    if (profile == null) {
+      profile = profileBuilder
+          .setLastUpdate(lastStatusUpdate)
+          .setLastProgress(lastProgress)
+          .build();
+    }
+    return profile;
   }
 
   public boolean isLocal() {
@@ -82,28 +138,7 @@ public class FragmentData {
   }
 
   public FragmentHandle getHandle() {
-    return status.getHandle();
-  }
-
-  private boolean madeProgress(final FragmentStatus prev, final FragmentStatus cur) {
-    final MinorFragmentProfile previous = prev.getProfile();
-    final MinorFragmentProfile current = cur.getProfile();
-
-    if (previous.getState() != current.getState()) {
-      return true;
-    }
-
-    if (previous.getOperatorProfileCount() != current.getOperatorProfileCount()) {
-      return true;
-    }
-
-    for(int i =0; i < current.getOperatorProfileCount(); i++){
-      if (madeProgress(previous.getOperatorProfile(i), current.getOperatorProfile(i))) {
-        return true;
-      }
-    }
-
-    return false;
+    return handle;
   }
 
   private boolean madeProgress(final OperatorProfile prev, final OperatorProfile cur) {
@@ -115,7 +150,7 @@ public class FragmentData {
 
   @Override
   public String toString() {
-    return "FragmentData [isLocal=" + isLocal + ", status=" + status + ", lastStatusUpdate=" + lastStatusUpdate
-        + ", endpoint=" + endpoint + "]";
+    return "FragmentData [isLocal=" + isLocal + ", handle=" + handle + ", state=" + state + ", lastStatusUpdate="
+        + lastStatusUpdate + ", endpoint=" + endpoint + "]";
   }
-}
\ No newline at end of file
+}
@@ -131,19 +131,23 @@ public class QueryManager implements AutoCloseable {
     final int minorFragmentId = fragmentHandle.getMinorFragmentId();
     final FragmentData data = fragmentDataMap.get(majorFragmentId).get(minorFragmentId);
 
-    final FragmentState oldState = data.getState();
-    final boolean inTerminalState = isTerminal(oldState);
-    final FragmentState currentState = fragmentStatus.getProfile().getState();
-
-    if (inTerminalState || (oldState == FragmentState.CANCELLATION_REQUESTED && !isTerminal(currentState))) {
-      // Already in a terminal state, or invalid state transition from CANCELLATION_REQUESTED. This shouldn't happen.
-      logger.warn(String.format("Received status message for fragment %s after fragment was in state %s. New state was %s",
-        QueryIdHelper.getQueryIdentifier(fragmentHandle), oldState, currentState));
-      return false;
-    }
+    // Updates of different fragments, which arrive on different RPC threads, proceed concurrently; each only merges
+    // the changed operators into its own fragment's profile.
+    synchronized (data) {
+      final FragmentState oldState = data.getState();
+      final boolean inTerminalState = isTerminal(oldState);
+      final FragmentState currentState = fragmentStatus.getProfile().getState();
+
+      if (inTerminalState || (oldState == FragmentState.CANCELLATION_REQUESTED && !isTerminal(currentState))) {
+        // Already in a terminal state, or invalid state transition from CANCELLATION_REQUESTED. This shouldn't happen.
+        logger.warn(String.format("Received status message for fragment %s after fragment was in state %s. New state was %s",
+          QueryIdHelper.getQueryIdentifier(fragmentHandle), oldState, currentState));
+        return false;
+      }
 
-    data.setStatus(fragmentStatus);
-    return oldState != currentState;
+      data.setStatus(fragmentStatus);
+      return oldState != currentState;
+    }
   }
 
   private void fragmentDone(final FragmentStatus status) {
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.work.foreman.rm;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.ExecConstants;
+
+import com.google.common.collect.ImmutableSet;
+import com.typesafe.config.Config;
+
+/**
+ * Admission pool used by memory-based admission control. A query belongs
+ * to the first pool that names its user or one of the user's groups; a pool
+ * that names neither accepts any query. When queries wait for memory, each
+ * pool is entitled to a share of the memory in proportion to its weight.
+ * <p>
+ * Pools are defined in the boot config:<pre>
+ * drill.exec.queue.pools: [
+ *   { name: "interactive", weight: 3, users: [], groups: ["analysts"] },
+ *   { name: "etl", weight: 1 }
+ * ]</pre>
+ */
+
+public class AdmissionPool {
+
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(AdmissionPool.class);
+
+  private final String name;
+  private final double weight;
+  private final Set<String> users;
+  private final Set<String> groups;
+
+  public AdmissionPool(String name, double weight,
+      Collection<String> users, Collection<String> groups) {
+    this.name = name;
+    this.weight = weight;
+    this.users = ImmutableSet.copyOf(users);
+    this.groups = ImmutableSet.copyOf(groups);
+  }
+
+  public String name() { return name; }
+
+  public double weight() { return weight; }
+
+  public boolean isDefault() {
+    return users.isEmpty() && groups.isEmpty();
+  }
+
+  public boolean accepts(String user, String[] userGroups) {
+    if (isDefault() || users.contains(user)) {
+      return true;
+    }
+    if (userGroups != null) {
+      for (String group : userGroups) {
+        if (groups.contains(group)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Find the pool for a query.
+   *
+   * @param pools pools in configuration order
+   * @param user query user
+   * @param userGroups groups of the query user, may be null
+   * @return the first pool that accepts the user, or the last pool if
+   * none does
+   */
+
+  public static AdmissionPool select(List<AdmissionPool> pools,
+      String user, String[] userGroups) {
+    for (AdmissionPool pool : pools) {
+      if (pool.accepts(user, userGroups)) {
+        return pool;
+      }
+    }
+    return pools.get(pools.size() - 1);
+  }
+
+  public static List<AdmissionPool> fromConfig(DrillConfig config) {
+    List<AdmissionPool> pools = new ArrayList<>();
+    for (Config poolConfig : config.getConfigList(ExecConstants.QUEUE_POOLS)) {
+      String name = poolConfig.getString("name");
+      double weight = poolConfig.hasPath("weight") ? poolConfig.getDouble("weight") : 1;
+      if (weight <= 0) {
+        throw UserException.validationError()
+            .message("Admission pool %s must have a positive weight, found %s", name, weight)
+            .build(logger);
+      }
+      pools.add(new AdmissionPool(name, weight,
+          stringList(poolConfig, "users"), stringList(poolConfig, "groups")));
+    }
+    if (pools.isEmpty()) {
+      pools.add(new AdmissionPool("default", 1,
+          Collections.<String>emptyList(), Collections.<String>emptyList()));
+    }
+    return pools;
+  }
+
+  private static List<String> stringList(Config config, String path) {
+    return config.hasPath(path) ? config.getStringList(path) : Collections.<String>emptyList();
+  }
+
+  @Override
+  public String toString() {
+    return "AdmissionPool[name=" + name + ", weight=" + weight + "]";
+  }
+}
@@ -27,7 +27,8 @@ import org.apache.drill.exec.work.foreman.rm.DistributedQueryQueue.StatusAdapter
 
 /**
  * Wrapper around the default and/or distributed resource managers
- * to allow dynamically enabling and disabling queueing.
+ * to allow dynamically enabling and disabling queueing, and switching
+ * between count-based and memory-based admission.
  */
 
 public class DynamicResourceManager implements ResourceManager {
@@ -37,6 +38,7 @@ public class DynamicResourceManager implements ResourceManager {
   private final DrillbitContext context;
   private ResourceManager defaultRm;
   private ResourceManager queueingRm;
+  private ResourceManager memoryRm;
   private ResourceManager activeRm;
   public long nextUpdateTime;
   public final int recheckDelayMs = 5000;
@@ -81,7 +83,16 @@ public class DynamicResourceManager implements ResourceManager {
     nextUpdateTime = now + recheckDelayMs;
     @SuppressWarnings("resource")
     SystemOptionManager systemOptions = context.getOptionManager();
-    if (systemOptions.getOption(ExecConstants.ENABLE_QUEUE)) {
+    if (systemOptions.getOption(ExecConstants.ENABLE_QUEUE) &&
+        "memory".equalsIgnoreCase(systemOptions.getOption(ExecConstants.QUEUE_ADMISSION))) {
+      if (memoryRm == null) {
+        memoryRm = new MemoryAdmissionResourceManager(context);
+      }
+      if (activeRm != memoryRm) {
+        logger.debug("Enabling memory-based admission control.");
+        activeRm = memoryRm;
+      }
+    } else if (systemOptions.getOption(ExecConstants.ENABLE_QUEUE)) {
       if (queueingRm == null) {
         StatusAdapter statusAdapter = new StatusAdapter() {
           @Override
@@ -132,6 +143,15 @@ public class DynamicResourceManager implements ResourceManager {
     } finally {
       queueingRm = null;
     }
+    try {
+      if (memoryRm != null) {
+        memoryRm.close();
+      }
+    } catch (RuntimeException e) {
+      ex = ex == null ? e : ex;
+    } finally {
+      memoryRm = null;
+    }
     activeRm = null;
     if (ex == null) {
       return;
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.work.foreman.rm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admits queries by reserving per-node memory, queuing those that do not
+ * fit. Reservations are never revoked: a running query keeps its memory
+ * until it completes, so queuing is free of preemption.
+ * <p>
+ * Waiting queries are held in one FIFO queue per {@link AdmissionPool}.
+ * Whenever memory may have become available, the controller visits the
+ * pools in order of their reserved memory relative to their weight, and
+ * admits the query at the head of a pool if it fits. A small query in one
+ * pool therefore does not wait behind a large query in another. To keep
+ * large queries from starving, memory that a pool below its weighted share
+ * is waiting for is set aside: other pools may only admit queries that fit
+ * in the remaining memory.
+ * <p>
+ * The memory available to this controller comes from a
+ * {@link ClusterMemory}, which accounts for reservations made by the other
+ * Drillbits acting as Foreman.
+ */
+
+public class MemoryAdmissionController {
+
+  /**
+   * Memory state of the cluster as seen by this controller.
+   */
+
+  public interface ClusterMemory {
+
+    /**
+     * @return memory per node available to queries admitted by this
+     * controller: the admission capacity less the memory reserved by
+     * queries admitted elsewhere
+     */
+
+    long availableMemoryPerNode();
+
+    /**
+     * @return the smallest free direct memory reported by any Drillbit,
+     * or <tt>Long.MAX_VALUE</tt> if not known
+     */
+
+    long minFreeMemoryPerNode();
+  }
+
+  /**
+   * Memory reserved, or waiting to be reserved, for a single query.
+   */
+
+  public static class Reservation {
+    private final String queryId;
+    private final AdmissionPool pool;
+    private final long memoryPerNode;
+    private boolean granted;
+
+    private Reservation(String queryId, AdmissionPool pool, long memoryPerNode) {
+      this.queryId = queryId;
+      this.pool = pool;
+      this.memoryPerNode = memoryPerNode;
+    }
+
+    public String queryId() { return queryId; }
+
+    public AdmissionPool pool() { return pool; }
+
+    public long memoryPerNode() { return memoryPerNode; }
+
+    @Override
+    public String toString() {
+      return String.format("Reservation of %,d bytes per node for query %s in pool %s",
+          memoryPerNode, queryId, pool.name());
+    }
+  }
+
+  private static class PoolState {
+    private final AdmissionPool pool;
+    private final Deque<Reservation> waiting = new ArrayDeque<>();
+    private long reserved;
+
+    private PoolState(AdmissionPool pool) {
+      this.pool = pool;
+    }
+
+    private double load() {
+      return reserved / pool.weight();
+    }
+
+    private boolean isActive() {
+      return reserved > 0 || !waiting.isEmpty();
+    }
+  }
+
+  private static final Comparator<PoolState> BY_LOAD = new Comparator<PoolState>() {
+    @Override
+    public int compare(PoolState a, PoolState b) {
+      return Double.compare(a.load(), b.load());
+    }
+  };
+
+  private final ClusterMemory cluster;
+  private final Map<AdmissionPool, PoolState> pools = new LinkedHashMap<>();
+  private long reserved;
+
+  public MemoryAdmissionController(List<AdmissionPool> pools, ClusterMemory cluster) {
+    this.cluster = cluster;
+    for (AdmissionPool pool : pools) {
+      this.pools.put(pool, new PoolState(pool));
+    }
+  }
+
+  /**
+   * Reserve memory for a query, waiting until the memory is available.
+   *
+   * @param queryId query id, for logging
+   * @param pool pool of the query, one of those given to the constructor
+   * @param memoryPerNode memory to reserve on each node
+   * @param timeoutMs maximum time to wait
+   * @return the granted reservation, or null if the wait timed out
+   * @throws InterruptedException if interrupted while waiting
+   */
+
+  public synchronized Reservation reserve(String queryId, AdmissionPool pool,
+      long memoryPerNode, long timeoutMs) throws InterruptedException {
+    Reservation reservation = new Reservation(queryId, pool, memoryPerNode);
+    PoolState state = pools.get(pool);
+    state.waiting.addLast(reservation);
+    dispatch();
+    long deadline = System.currentTimeMillis() + timeoutMs;
+    try {
+      while (!reservation.granted) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+          break;
+        }
+        wait(remaining);
+      }
+    } finally {
+      if (!reservation.granted) {
+
+        // Timed out or interrupted. Leaving the queue may let the
+        // queries behind this one proceed.
+
+        state.waiting.remove(reservation);
+        dispatch();
+      }
+    }
+    return reservation.granted ? reservation : null;
+  }
+
+  /**
+   * Return the memory of a completed query, admitting waiting queries
+   * that now fit.
+   */
+
+  public synchronized void release(Reservation reservation) {
+    if (!reservation.granted) {
+      return;
+    }
+    reservation.granted = false;
+    pools.get(reservation.pool).reserved -= reservation.memoryPerNode;
+    reserved -= reservation.memoryPerNode;
+    dispatch();
+  }
+
+  /**
+   * Admit waiting queries that fit in the available memory. Called
+   * internally as reservations change, and by the owner of the
+   * controller when the cluster memory state changes.
+   */
+
+  public synchronized void dispatch() {
+    long available = cluster.availableMemoryPerNode();
+
+    // Free memory is reported periodically, so charge each query admitted
+    // here against it until the next report.
+
+    long free = cluster.minFreeMemoryPerNode();
+    boolean admitted = false;
+    for (;;) {
+      Reservation next = admitNext(available, free);
+      if (next == null) {
+        break;
+      }
+      free -= next.memoryPerNode;
+      admitted = true;
+    }
+    if (admitted) {
+      notifyAll();
+    }
+  }
+
+  private Reservation admitNext(long available, long free) {
+    double activeWeight = 0;
+    List<PoolState> candidates = new ArrayList<>();
+    for (PoolState state : pools.values()) {
+      if (state.isActive()) {
+        activeWeight += state.pool.weight();
+      }
+      if (!state.waiting.isEmpty()) {
+        candidates.add(state);
+      }
+    }
+    Collections.sort(candidates, BY_LOAD);
+
+    long setAside = 0;
+    for (PoolState state : candidates) {
+      Reservation next = state.waiting.peekFirst();
+      if (reserved + setAside + next.memoryPerNode <= available &&
+          next.memoryPerNode <= free) {
+        state.waiting.removeFirst();
+        state.reserved += next.memoryPerNode;
+        reserved += next.memoryPerNode;
+        next.granted = true;
+        return next;
+      }
+      double share = available * state.pool.weight() / activeWeight;
+      if (state.reserved < share) {
+        setAside += next.memoryPerNode;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return memory per node reserved by queries admitted by this controller
+   */
+
+  public synchronized long reservedMemoryPerNode() { return reserved; }
+
+  public synchronized long reservedMemoryPerNode(AdmissionPool pool) {
+    return pools.get(pool).reserved;
+  }
+
+  public synchronized int waitingCount(AdmissionPool pool) {
+    return pools.get(pool).waiting.size();
+  }
+}
@@ -0,0 +1,450 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.work.foreman.rm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.coord.store.TransientStore;
+import org.apache.drill.exec.coord.store.TransientStoreConfig;
+import org.apache.drill.exec.ops.QueryContext;
+import org.apache.drill.exec.physical.PhysicalPlan;
+import org.apache.drill.exec.physical.base.FragmentRoot;
+import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.physical.config.HashJoinPOP;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
+import org.apache.drill.exec.proto.helper.QueryIdHelper;
+import org.apache.drill.exec.rpc.NamedThreadFactory;
+import org.apache.drill.exec.server.DrillbitContext;
+import org.apache.drill.exec.server.options.SystemOptionManager;
+import org.apache.drill.exec.util.ImpersonationUtil;
+import org.apache.drill.exec.work.QueryWorkUnit;
+import org.apache.drill.exec.work.QueryWorkUnit.MinorFragmentDefn;
+import org.apache.drill.exec.work.foreman.Foreman;
+import org.apache.drill.exec.work.foreman.rm.MemoryAdmissionController.ClusterMemory;
+import org.apache.drill.exec.work.foreman.rm.MemoryAdmissionController.Reservation;
+import org.apache.drill.exec.work.foreman.rm.QueryQueue.QueryQueueException;
+import org.apache.drill.exec.work.foreman.rm.QueryQueue.QueueTimeoutException;
+import org.apache.drill.exec.work.foreman.rm.ThrottledResourceManager.QueuedResourceAllocator.BufferedOpFinder;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Resource manager that admits queries based on the memory they are
+ * expected to use, rather than on a fixed number of query slots.
+ * <p>
+ * At plan time, the memory of each buffered operator (sort, hash
+ * aggregate, hash join) is estimated from the planner's row count for the
+ * operator (for a hash join, for its build side), divided across the minor
+ * fragments of the operator and multiplied by
+ * <tt>exec.queue.memory_row_width</tt>. The estimate is bounded below by
+ * <tt>planner.memory.min_memory_per_buffered_op</tt> and becomes the
+ * operator's memory limit, so that an operator with more data than
+ * estimated spills rather than exceeding its reservation. The query
+ * reserves the largest total of its operators on any one node.
+ * <p>
+ * Admission is done by a {@link MemoryAdmissionController} with the
+ * weighted pools of <tt>drill.exec.queue.pools</tt>. Each Drillbit
+ * periodically publishes, in a transient (ephemeral) Zookeeper store, its
+ * admission capacity, the memory reserved by the queries for which it is
+ * Foreman, and its free direct memory, keyed by its registered endpoint.
+ * Only the status of the online (registered, not quiescent) endpoints is
+ * read. A Drillbit admits a query if it fits in the smallest capacity of
+ * any online Drillbit less all their reservations, and in the smallest free
+ * memory reported.
+ * <p>
+ * The status is not carried in the {@link DrillbitEndpoint} itself: the
+ * endpoint identifies a Drillbit in fragment assignments, connection
+ * registries and unregistration notices, all of which compare endpoints
+ * with <tt>equals()</tt>, and changing it every refresh would also make
+ * every Drillbit re-read the whole service registry. Pool weights are
+ * applied among the queries of one Foreman; reservations are shared
+ * across the cluster. Because reservations of other Drillbits are seen as of
+ * their last report, concurrent admissions on several Foremen may briefly
+ * overcommit memory; the operator memory limits still apply.
+ * <p>
+ * Enabled with <tt>exec.queue.enable</tt> and <tt>exec.queue.admission</tt>
+ * set to <tt>memory</tt>. The capacity of a node is its direct memory less
+ * <tt>exec.queue.memory_reserve_ratio</tt>; queries wait at most
+ * <tt>exec.queue.timeout_millis</tt>.
+ */
+
+public class MemoryAdmissionResourceManager extends AbstractResourceManager {
+
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MemoryAdmissionResourceManager.class);
+
+  public static final String STORE_NAME = "memory_admission";
+
+  private static final int REFRESH_INTERVAL_MS = 1000;
+
+  /**
+   * Memory state of a Drillbit, as published to the other Drillbits.
+   */
+
+  public static class NodeMemoryStatus {
+    private final long capacity;
+    private final long reserved;
+    private final long free;
+
+    @JsonCreator
+    public NodeMemoryStatus(@JsonProperty("capacity") long capacity,
+                            @JsonProperty("reserved") long reserved,
+                            @JsonProperty("free") long free) {
+      this.capacity = capacity;
+      this.reserved = reserved;
+      this.free = free;
+    }
+
+    /**
+     * @return memory per node that admitted queries may use
+     */
+    public long getCapacity() { return capacity; }
+
+    /**
+     * @return memory per node reserved by the queries for which this
+     * Drillbit is Foreman
+     */
+    public long getReserved() { return reserved; }
+
+    /**
+     * @return direct memory not currently allocated on this Drillbit
+     */
+    public long getFree() { return free; }
+  }
+
+  /**
+   * Estimates the memory of the buffered operators of a query and sets
+   * their memory limits.
+   */
+
+  public static class MemoryEstimatingAllocator implements QueryResourceAllocator {
+
+    protected final MemoryAdmissionResourceManager rm;
+    protected final QueryContext queryContext;
+    protected PhysicalPlan plan;
+    protected long queryMemoryPerNode;
+
+    protected MemoryEstimatingAllocator(MemoryAdmissionResourceManager rm, QueryContext queryContext) {
+      this.rm = rm;
+      this.queryContext = queryContext;
+    }
+
+    @Override
+    public void visitAbstractPlan(PhysicalPlan plan) {
+      this.plan = plan;
+    }
+
+    @Override
+    public void visitPhysicalPlan(QueryWorkUnit work) {
+      if (plan.getProperties().hasResourcePlan) {
+        logger.debug("Memory already planned.");
+        return;
+      }
+
+      List<MinorFragmentDefn> fragments = new ArrayList<>(work.getMinorFragmentDefns());
+      fragments.add(work.getRootFragmentDefn());
+
+      Map<Integer, Integer> widths = new HashMap<>();
+      for (MinorFragmentDefn defn : fragments) {
+        int majorId = defn.fragment().getHandle().getMajorFragmentId();
+        Integer width = widths.get(majorId);
+        widths.put(majorId, width == null ? 1 : width + 1);
+      }
+
+      long rowWidth = rm.optionManager().getOption(ExecConstants.QUEUE_MEMORY_ROW_WIDTH);
+      long minOpMemory = rm.optionManager().getOption(ExecConstants.MIN_MEMORY_PER_BUFFERED_OP);
+      Map<String, Long> nodeMemory = new HashMap<>();
+      List<PhysicalOperator> bufferedOps = new ArrayList<>();
+      for (MinorFragmentDefn defn : fragments) {
+        List<PhysicalOperator> ops = getBufferedOps(defn.root());
+        if (ops.isEmpty()) {
+          continue;
+        }
+        int width = widths.get(defn.fragment().getHandle().getMajorFragmentId());
+        String node = defn.fragment().getAssignment().getAddress();
+        long memory = nodeMemory.containsKey(node) ? nodeMemory.get(node) : 0;
+        for (PhysicalOperator op : ops) {
+          long alloc = estimateMemory(op, width, rowWidth, minOpMemory);
+          op.setMaxAllocation(alloc);
+          memory += alloc;
+        }
+        nodeMemory.put(node, memory);
+        bufferedOps.addAll(ops);
+      }
+
+      queryMemoryPerNode = 0;
+      for (long memory : nodeMemory.values()) {
+        queryMemoryPerNode = Math.max(queryMemoryPerNode, memory);
+      }
+
+      // A query larger than the node capacity is scaled down to run alone,
+      // relying on its operators to spill.
+
+      long capacity = rm.capacityPerNode();
+      if (queryMemoryPerNode > capacity) {
+        double scale = (double) capacity / queryMemoryPerNode;
+        logger.debug("Query: {}, estimated memory of {} bytes per node exceeds capacity of {}, scaling by {}",
+            QueryIdHelper.getQueryId(queryContext.getQueryId()), queryMemoryPerNode, capacity, scale);
+        for (PhysicalOperator op : bufferedOps) {
+          op.setMaxAllocation(Math.max(minOpMemory, Math.round(op.getMaxAllocation() * scale)));
+        }
+        queryMemoryPerNode = capacity;
+      }
+      logger.debug("Query: {}, estimated memory of {} bytes per node for {} buffered operator(s)",
+          QueryIdHelper.getQueryId(queryContext.getQueryId()), queryMemoryPerNode, bufferedOps.size());
+    }
+
+    private long estimateMemory(PhysicalOperator op, int width, long rowWidth, long minOpMemory) {
+
+      // A hash join buffers its build (right) side; other buffered
+      // operators hold about as many rows as they produce.
+
+      double rows = op instanceof HashJoinPOP
+          ? ((HashJoinPOP) op).getRight().getCost()
+          : op.getCost();
+      long estimate = Math.round(rows / width * rowWidth);
+      long alloc = Math.max(estimate, minOpMemory);
+      alloc = Math.max(alloc, op.getInitialAllocation());
+      return Math.min(alloc, op.getMaxAllocation());
+    }
+
+    private List<PhysicalOperator> getBufferedOps(FragmentRoot root) {
+      List<PhysicalOperator> bufferedOps = new ArrayList<>();
+      root.accept(new BufferedOpFinder(), bufferedOps);
+      return bufferedOps;
+    }
+  }
+
+  /**
+   * Per-query resource manager: reserves the estimated memory of the query
+   * on admission and returns it on exit.
+   */
+
+  public static class MemoryAdmissionQueryResourceManager extends MemoryEstimatingAllocator
+      implements QueryResourceManager {
+
+    private final Foreman foreman;
+    private Reservation reservation;
+    private String poolName;
+
+    public MemoryAdmissionQueryResourceManager(MemoryAdmissionResourceManager rm, Foreman foreman) {
+      super(rm, foreman.getQueryContext());
+      this.foreman = foreman;
+    }
+
+    @Override
+    public void setCost(double cost) {
+      // Admission is based on the memory estimate, not on the total cost.
+    }
+
+    @Override
+    public void admit() throws QueueTimeoutException, QueryQueueException {
+      String user = queryContext.getQueryUserName();
+      AdmissionPool pool = AdmissionPool.select(rm.pools, user, rm.groupsOf(user));
+      poolName = pool.name();
+      int timeoutMs = (int) rm.optionManager().getOption(ExecConstants.QUEUE_TIMEOUT);
+      String queryId = QueryIdHelper.getQueryId(foreman.getQueryId());
+      logger.debug("Query {} requests {} bytes per node in pool {}", queryId, queryMemoryPerNode, poolName);
+      try {
+        reservation = rm.controller.reserve(queryId, pool, queryMemoryPerNode, timeoutMs);
+      } catch (InterruptedException e) {
+        throw new QueryQueueException("Interrupted while waiting for memory.", e);
+      }
+      if (reservation == null) {
+        logger.warn("Queue timeout: {} after {} ms.", poolName, String.format("%,d", timeoutMs));
+        throw new QueueTimeoutException(foreman.getQueryId(), poolName, timeoutMs);
+      }
+      rm.publishStatus();
+    }
+
+    @Override
+    public void exit() {
+      if (reservation != null) {
+        rm.controller.release(reservation);
+        rm.publishStatus();
+      }
+      reservation = null;
+    }
+
+    @Override
+    public boolean hasQueue() { return true; }
+
+    @Override
+    public String queueName() { return poolName; }
+  }
+
+  private final SystemOptionManager optionManager;
+  private final List<AdmissionPool> pools;
+  private final MemoryAdmissionController controller;
+  private final TransientStore<NodeMemoryStatus> statusStore;
+  private final String nodeKey;
+  private final ScheduledExecutorService refresher;
+
+  // Cluster state as of the last refresh
+
+  private volatile long clusterCapacity;
+  private volatile long otherReserved;
+  private volatile long minFree = Long.MAX_VALUE;
+  private volatile long reservedAtRefresh;
+
+  public MemoryAdmissionResourceManager(final DrillbitContext context) {
+    super(context);
+    optionManager = context.getOptionManager();
+    pools = AdmissionPool.fromConfig(context.getConfig());
+    clusterCapacity = capacityPerNode();
+    controller = new MemoryAdmissionController(pools, new ClusterMemory() {
+      @Override
+      public long availableMemoryPerNode() {
+        return Math.max(0, clusterCapacity - otherReserved);
+      }
+
+      @Override
+      public long minFreeMemoryPerNode() {
+
+        // Charge queries admitted since the last refresh against free
+        // memory, as they are unlikely to have allocated much yet.
+
+        long admitted = Math.max(0, controller.reservedMemoryPerNode() - reservedAtRefresh);
+        return minFree == Long.MAX_VALUE ? minFree : minFree - admitted;
+      }
+    });
+    statusStore = context.getClusterCoordinator().getOrCreateTransientStore(TransientStoreConfig
+        .newJacksonBuilder(context.getLpPersistence().getMapper(), NodeMemoryStatus.class)
+        .name(STORE_NAME)
+        .build());
+    DrillbitEndpoint endpoint = context.getEndpoint();
+    nodeKey = keyOf(endpoint);
+    refresher = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("memory-admission-"));
+    refresher.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        refresh();
+      }
+    }, 0, REFRESH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    logger.info("Memory-based admission enabled with pools {}", pools);
+  }
+
+  protected SystemOptionManager optionManager() { return optionManager; }
+
+  /**
+   * @return memory per node available to admitted queries on this Drillbit
+   */
+
+  public long capacityPerNode() {
+    double reserveRatio = optionManager.getOption(ExecConstants.QUEUE_MEMORY_RESERVE);
+    return Math.round(memoryPerNode() * (1.0 - reserveRatio));
+  }
+
+  private static String keyOf(DrillbitEndpoint endpoint) {
+    return endpoint.getAddress() + "-" + endpoint.getUserPort();
+  }
+
+  private String[] groupsOf(String user) {
+    try {
+      return ImpersonationUtil.createProxyUgi(user).getGroupNames();
+    } catch (RuntimeException e) {
+      logger.debug("Cannot resolve groups of user {}", user, e);
+      return null;
+    }
+  }
+
+  private void publishStatus() {
+    try {
+      refresher.execute(new Runnable() {
+        @Override
+        public void run() {
+          publish();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // Shutting down: the status is removed on close.
+    }
+  }
+
+  private void publish() {
+    long free = memoryPerNode() - context.getAllocator().getAllocatedMemory();
+    statusStore.put(nodeKey, new NodeMemoryStatus(capacityPerNode(),
+        controller.reservedMemoryPerNode(), free));
+  }
+
+  /**
+   * Publish the status of this Drillbit, gather the status of the other
+   * online Drillbits, and admit waiting queries that now fit.
+   */
+
+  private void refresh() {
+    try {
+      publish();
+      long capacity = capacityPerNode();
+      long reserved = 0;
+      long free = Long.MAX_VALUE;
+      for (DrillbitEndpoint endpoint : context.getClusterCoordinator().getOnlineEndPoints()) {
+        String key = keyOf(endpoint);
+        NodeMemoryStatus status = statusStore.get(key);
+        if (status == null) {
+          // Not yet published, or not using memory-based admission.
+          continue;
+        }
+        capacity = Math.min(capacity, status.getCapacity());
+        free = Math.min(free, status.getFree());
+        if (!key.equals(nodeKey)) {
+          reserved += status.getReserved();
+        }
+      }
+      clusterCapacity = capacity;
+      otherReserved = reserved;
+      minFree = free;
+      reservedAtRefresh = controller.reservedMemoryPerNode();
+      controller.dispatch();
+    } catch (Exception e) {
+      logger.warn("Failed to refresh cluster memory status", e);
+    }
+  }
+
+  @Override
+  public QueryResourceAllocator newResourceAllocator(QueryContext queryContext) {
+    return new MemoryEstimatingAllocator(this, queryContext);
+  }
+
+  @Override
+  public QueryResourceManager newQueryRM(Foreman foreman) {
+    return new MemoryAdmissionQueryResourceManager(this, foreman);
+  }
+
+  @Override
+  public void close() {
+    refresher.shutdownNow();
+    try {
+      refresher.awaitTermination(10, TimeUnit.SECONDS);
+      statusStore.remove(nodeKey);
+      statusStore.close();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      logger.warn("Failure while closing the memory admission status store", e);
+    }
+  }
+}
@@ -34,7 +34,8 @@ import org.apache.drill.exec.server.DrillbitContext;
  * </ul></li>
  * <li>If the Drillbit is in a cluster<ul>
  * <li>If queues are enabled, then the admission-controlled resource manager
- * with the distributed query queue.</li>
+ * with the distributed query queue, or the memory-based admission resource
+ * manager if <tt>exec.queue.admission</tt> is <tt>memory</tt>.</li>
  * <li>Otherwise, the default resource manager and no queues.</li>
  * </ul></li>
  * </ul>
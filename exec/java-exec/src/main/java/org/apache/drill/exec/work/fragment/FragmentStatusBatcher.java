@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.work.fragment;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.drill.exec.proto.BitControl.BitStatus;
+import org.apache.drill.exec.proto.BitControl.FragmentStatus;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
+import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
+import org.apache.drill.exec.proto.UserBitShared.MinorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.OperatorProfile;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Groups the periodic statuses of the fragments running on this Drillbit into one {@link BitStatus} per Foreman, and
+ * delta-encodes their operator profiles: an operator profile is left out if it is unchanged since the last status
+ * the Foreman acknowledged. The Foreman keeps the operator profiles it has for operators left out of a status.
+ * <p>
+ * Deltas are relative to acknowledged batches only, so a batch that fails is simply covered by the next one.
+ * Not thread safe; used by the single status thread.
+ */
+public class FragmentStatusBatcher {
+
+  private static class Batch {
+    private final BitStatus.Builder status = BitStatus.newBuilder();
+    private final List<FragmentStatus> fullStatuses = Lists.newArrayList();
+  }
+
+  /**
+   * Operator profiles, by operator id, last acknowledged by the Foreman of each fragment.
+   */
+  private final Map<FragmentHandle, Map<Integer, OperatorProfile>> acknowledged = new HashMap<>();
+  private final Map<DrillbitEndpoint, Batch> batches = new HashMap<>();
+
+  /**
+   * Add the current status of a fragment to the batch for its Foreman.
+   */
+  public void add(DrillbitEndpoint foreman, FragmentStatus status) {
+    Batch batch = batches.get(foreman);
+    if (batch == null) {
+      batch = new Batch();
+      batches.put(foreman, batch);
+    }
+    batch.status.addFragmentStatus(delta(status));
+    batch.fullStatuses.add(status);
+  }
+
+  private FragmentStatus delta(FragmentStatus status) {
+    final Map<Integer, OperatorProfile> previous = acknowledged.get(status.getHandle());
+    if (previous == null) {
+      return status;
+    }
+    final MinorFragmentProfile profile = status.getProfile();
+    final MinorFragmentProfile.Builder delta = profile.toBuilder().clearOperatorProfile();
+    for (final OperatorProfile operator : profile.getOperatorProfileList()) {
+      if (!operator.equals(previous.get(operator.getOperatorId()))) {
+        delta.addOperatorProfile(operator);
+      }
+    }
+    return status.toBuilder().setProfile(delta).build();
+  }
+
+  /**
+   * @return the batched statuses, one per Foreman
+   */
+  public Map<DrillbitEndpoint, BitStatus> getBatches() {
+    final Map<DrillbitEndpoint, BitStatus> result = new HashMap<>();
+    for (final Map.Entry<DrillbitEndpoint, Batch> entry : batches.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().status.build());
+    }
+    return result;
+  }
+
+  /**
+   * Record that the Foreman received its batch; later deltas are relative to it.
+   */
+  public void acknowledged(DrillbitEndpoint foreman) {
+    final Batch batch = batches.get(foreman);
+    if (batch == null) {
+      return;
+    }
+    for (final FragmentStatus status : batch.fullStatuses) {
+      final Map<Integer, OperatorProfile> operators = new HashMap<>();
+      for (final OperatorProfile operator : status.getProfile().getOperatorProfileList()) {
+        operators.put(operator.getOperatorId(), operator);
+      }
+      acknowledged.put(status.getHandle(), operators);
+    }
+  }
+
+  /**
+   * Start the next round of batches, forgetting fragments that are no longer running.
+   *
+   * @param running handles of the running fragments
+   */
+  public void reset(Collection<FragmentHandle> running) {
+    batches.clear();
+    acknowledged.keySet().retainAll(running);
+  }
+}
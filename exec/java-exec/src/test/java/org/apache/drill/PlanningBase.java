@@ -41,6 +41,7 @@ import org.apache.drill.exec.physical.PhysicalPlan;
 import org.apache.drill.exec.planner.physical.PlannerSettings;
 import org.apache.drill.exec.planner.sql.DrillOperatorTable;
 import org.apache.drill.exec.planner.sql.DrillSqlWorker;
+import org.apache.drill.exec.planner.sql.PlanCache;
 import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
 import org.apache.drill.exec.rpc.user.UserSession;
 import org.apache.drill.exec.server.DrillbitContext;
@@ -123,6 +124,7 @@ public class PlanningBase extends ExecTest {
     when(context.getAllocator()).thenReturn(allocator);
     when(context.getExecutionControls()).thenReturn(executionControls);
     when(context.getLpPersistence()).thenReturn(logicalPlanPersistence);
+    when(context.getPlanCache()).thenReturn(mock(PlanCache.class));
     // mocks for org.apache.drill.TestTpchPlanning#tpch06 test.
     // With changes for decimal types, subtract udf for decimals is used.
     when(context.getManagedBuffer()).thenReturn(allocator.buffer(4));
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.agg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.categories.SlowTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.impl.aggregate.HashDistinctBatch;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.proto.UserBitShared;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.ProfileParser;
+import org.apache.drill.test.QueryBuilder;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test the streaming Hash Distinct operator, which replaces the hash
+ * aggregate for SELECT DISTINCT and UNION.
+ */
+@Category(OperatorTest.class)
+public class TestHashDistinct extends ClusterTest {
+
+  private static final String DISTINCT_REGIONS = "SELECT DISTINCT n_regionkey FROM cp.`tpch/nation.parquet`";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(PlannerSettings.HASH_DISTINCT.getOptionName(), true)
+        .maxParallelization(1)
+        .saveProfiles();
+    startCluster(builder);
+  }
+
+  @Test
+  public void testDistinctPlan() throws Exception {
+    String plan = queryBuilder().sql(DISTINCT_REGIONS).explainText();
+    assertTrue(plan.contains("HashDistinct"));
+    assertFalse(plan.contains("HashAgg"));
+  }
+
+  @Test
+  public void testDistinct() throws Exception {
+    testBuilder()
+        .sqlQuery(DISTINCT_REGIONS)
+        .unOrdered()
+        .baselineColumns("n_regionkey")
+        .baselineValues(0)
+        .baselineValues(1)
+        .baselineValues(2)
+        .baselineValues(3)
+        .baselineValues(4)
+        .go();
+  }
+
+  @Test
+  public void testDistinctMultipleColumns() throws Exception {
+    String sql = "SELECT DISTINCT n_regionkey, n_nationkey / 10 AS decade FROM cp.`tpch/nation.parquet`";
+    String baseline = "SELECT n_regionkey, n_nationkey / 10 AS decade FROM cp.`tpch/nation.parquet` " +
+        "GROUP BY n_regionkey, n_nationkey / 10";
+    testBuilder()
+        .sqlQuery(sql)
+        .unOrdered()
+        .sqlBaselineQuery(baseline)
+        .go();
+  }
+
+  @Test
+  public void testUnionDistinct() throws Exception {
+    String sql = "SELECT n_regionkey AS k FROM cp.`tpch/nation.parquet` " +
+        "UNION SELECT r_regionkey AS k FROM cp.`tpch/region.parquet`";
+    assertTrue(queryBuilder().sql(sql).explainText().contains("HashDistinct"));
+    testBuilder()
+        .sqlQuery(sql)
+        .unOrdered()
+        .baselineColumns("k")
+        .baselineValues(0)
+        .baselineValues(1)
+        .baselineValues(2)
+        .baselineValues(3)
+        .baselineValues(4)
+        .go();
+  }
+
+  @Test
+  public void testDistinctWithLimit() throws Exception {
+    QueryBuilder.QuerySummary summary = queryBuilder()
+        .sql("SELECT DISTINCT dept_i FROM `mock`.`employee_1200K` LIMIT 2")
+        .run();
+    assertEquals(2, summary.recordCount());
+
+    // The limit is satisfied by the first batch, the rest of the input is never read
+    ProfileParser.OperatorProfile op = getDistinctProfile(summary);
+    assertTrue(op.records < 1_200_000);
+    assertTrue(op.getMetric(HashDistinctBatch.Metric.EMITTED_EARLY.ordinal()) >= 2);
+    assertEquals(0, op.getMetric(HashDistinctBatch.Metric.SPILLED_PARTITIONS.ordinal()));
+  }
+
+  @Test
+  @Category(SlowTest.class)
+  public void testSpill() throws Exception {
+    try {
+      client.alterSession(ExecConstants.HASHAGG_MAX_MEMORY_KEY, 40_000_000);
+      client.alterSession(ExecConstants.HASHAGG_NUM_PARTITIONS_KEY, 16);
+      QueryBuilder.QuerySummary summary = queryBuilder()
+          .sql("SELECT DISTINCT empid_s17, dept_i, branch_i FROM `mock`.`employee_1200K`")
+          .run();
+      assertEquals(1_200_000, summary.recordCount());
+
+      ProfileParser.OperatorProfile op = getDistinctProfile(summary);
+      assertEquals(1_200_000, op.records);
+      assertTrue(op.getMetric(HashDistinctBatch.Metric.SPILLED_PARTITIONS.ordinal()) > 0);
+    } finally {
+      client.resetSession(ExecConstants.HASHAGG_MAX_MEMORY_KEY);
+      client.resetSession(ExecConstants.HASHAGG_NUM_PARTITIONS_KEY);
+    }
+  }
+
+  private ProfileParser.OperatorProfile getDistinctProfile(QueryBuilder.QuerySummary summary) throws Exception {
+    ProfileParser profile = client.parseProfile(summary.queryIdString());
+    assertTrue(profile.getOpsOfType(UserBitShared.CoreOperatorType.HASH_AGGREGATE_VALUE).isEmpty());
+    List<ProfileParser.OperatorProfile> ops = profile.getOpsOfType(UserBitShared.CoreOperatorType.HASH_DISTINCT_VALUE);
+    assertFalse(ops.isEmpty());
+    return ops.get(0);
+  }
+}
@@ -146,6 +146,82 @@ public class HashPartitionTest {
     });
   }
 
+  @Test
+  public void distinctKeysBuildSideTest() throws Exception
+  {
+    new HashPartitionFixture().run(new HashPartitionTestCase() {
+      private RowSet buildRowSet;
+      private RowSet probeRowSet;
+
+      @Override
+      public RecordBatch createBuildBatch(BatchSchema schema, BufferAllocator allocator) {
+        buildRowSet = new RowSetBuilder(allocator, schema)
+          .addRow(1, "green")
+          .addRow(3, "blue")
+          .addRow(2, "blue")
+          .build();
+        return new RowSetBatch(buildRowSet);
+      }
+
+      @Override
+      public void createResultBuildBatch(BatchSchema schema, BufferAllocator allocator) {
+      }
+
+      @Override
+      public RecordBatch createProbeBatch(BatchSchema schema, BufferAllocator allocator) {
+        probeRowSet = new RowSetBuilder(allocator, schema)
+          .addRow(1.5, "blue")
+          .build();
+        return new RowSetBatch(probeRowSet);
+      }
+
+      @Override
+      public void run(SpillSet spillSet,
+                      BatchSchema buildSchema,
+                      BatchSchema probeSchema,
+                      RecordBatch buildBatch,
+                      RecordBatch probeBatch,
+                      ChainedHashTable baseHashTable,
+                      FragmentContext context,
+                      OperatorContext operatorContext) throws Exception {
+
+        final HashPartition hashPartition = new HashPartition(context,
+          context.getAllocator(),
+          baseHashTable,
+          buildBatch,
+          probeBatch,
+          10,
+          spillSet,
+          0,
+          0,
+          2,
+          true); // as for a semi or anti join
+
+        final HashJoinMemoryCalculator.BuildSidePartitioning noopCalc = new HashJoinMemoryCalculatorImpl.NoopBuildSidePartitioningImpl();
+
+        hashPartition.appendInnerRow(buildRowSet.container(), 0, 10, noopCalc);
+        hashPartition.appendInnerRow(buildRowSet.container(), 1, 12, noopCalc);
+        hashPartition.appendInnerRow(buildRowSet.container(), 2, 12, noopCalc);
+        hashPartition.completeAnInnerBatch(false, false);
+        hashPartition.buildContainersHashTableAndHelper();
+
+        {
+          // Only the first build row with the key is linked, the duplicate was skipped
+          int compositeIndex = hashPartition.probeForKey(0, 12);
+          int startIndex = hashPartition.getStartIndex(compositeIndex);
+          int nextIndex = hashPartition.getNextIndex(startIndex);
+
+          Assert.assertEquals(1, startIndex);
+          Assert.assertEquals(-1, nextIndex);
+        }
+
+        buildRowSet.clear();
+        probeRowSet.clear();
+        hashPartition.close();
+      }
+    });
+  }
+
   @Test
   public void spillSingleIncompleteBatchBuildSideTest() throws Exception
   {
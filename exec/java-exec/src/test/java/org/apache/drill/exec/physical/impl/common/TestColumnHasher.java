@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.expression.ValueExpressions;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.expr.ValueVectorReadExpression;
+import org.apache.drill.exec.expr.fn.impl.HashHelper;
+import org.apache.drill.exec.expr.holders.NullableVarCharHolder;
+import org.apache.drill.exec.record.BatchSchema;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableBigIntVector;
+import org.apache.drill.exec.vector.NullableVarCharVector;
+import org.apache.drill.test.SubOperatorTest;
+import org.apache.drill.test.rowSet.RowSet.SingleRowSet;
+import org.apache.drill.test.rowSet.schema.SchemaBuilder;
+import org.junit.Test;
+
+public class TestColumnHasher extends SubOperatorTest {
+
+  private static final BatchSchema SCHEMA = new SchemaBuilder()
+      .add("a", MinorType.INT)
+      .addNullable("b", MinorType.BIGINT)
+      .addNullable("c", MinorType.VARCHAR)
+      .addNullable("d", MinorType.FLOAT8)
+      .build();
+
+  private static SingleRowSet rowSet() {
+    return fixture.rowSetBuilder(SCHEMA)
+        .addRow(1, 10L, "fred", 1.5)
+        .addRow(2, null, "wilma", null)
+        .addRow(-3, 30L, null, 2.5)
+        .addRow(Integer.MAX_VALUE, Long.MIN_VALUE, "", 3.5)
+        .build();
+  }
+
+  private static LogicalExpression column(VectorContainer container, String name) {
+    return new ValueVectorReadExpression(container.getValueVectorId(SchemaPath.getSimplePath(name)));
+  }
+
+  @Test
+  public void testSameAsRowByRow() {
+    final SingleRowSet rowSet = rowSet();
+    try {
+      final VectorContainer container = rowSet.container();
+      final LogicalExpression[] keys = { column(container, "a"), column(container, "b"), column(container, "c") };
+      for (boolean hashAsDouble : new boolean[] { false, true }) {
+        final ColumnHasher hasher = ColumnHasher.create(keys, hashAsDouble, 17);
+        assertNotNull(hasher);
+        hasher.hash(container);
+        assertEquals(rowSet.rowCount(), hasher.getCount());
+
+        final IntVector.Accessor a = ((IntVector) container.getValueVector(0).getValueVector()).getAccessor();
+        final NullableBigIntVector.Accessor b =
+            ((NullableBigIntVector) container.getValueVector(1).getValueVector()).getAccessor();
+        final NullableVarCharVector.Accessor c =
+            ((NullableVarCharVector) container.getValueVector(2).getValueVector()).getAccessor();
+        final NullableVarCharHolder holder = new NullableVarCharHolder();
+        for (int i = 0; i < rowSet.rowCount(); i++) {
+          int expected = hashAsDouble ? HashHelper.hash32((double) a.get(i), 17) : HashHelper.hash32(a.get(i), 17);
+          if (!b.isNull(i)) {
+            expected = hashAsDouble ? HashHelper.hash32((double) b.get(i), expected)
+                : HashHelper.hash32(b.get(i), expected);
+          }
+          c.get(i, holder);
+          if (holder.isSet != 0) {
+            expected = HashHelper.hash32(holder.start, holder.end, holder.buffer, expected);
+          }
+          assertEquals(expected, hasher.getHashCode(i));
+        }
+
+        hasher.invalidate();
+        assertEquals(0, hasher.getCount());
+      }
+    } finally {
+      rowSet.clear();
+    }
+  }
+
+  @Test
+  public void testUnsupportedKeys() {
+    final SingleRowSet rowSet = rowSet();
+    try {
+      final VectorContainer container = rowSet.container();
+      assertNull(ColumnHasher.create(new LogicalExpression[] { column(container, "a"), column(container, "d") },
+          false, 0));
+      assertNull(ColumnHasher.create(new LogicalExpression[] { ValueExpressions.getInt(1) }, false, 0));
+      assertNull(ColumnHasher.create(column(container, "a")));
+    } finally {
+      rowSet.clear();
+    }
+  }
+}
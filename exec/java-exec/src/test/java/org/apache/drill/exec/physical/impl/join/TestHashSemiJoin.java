@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.join;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test the semi and anti modes of the hash join, planned for IN subqueries
+ * and for left joins filtered on an unmatched build side.
+ */
+@Category(OperatorTest.class)
+public class TestHashSemiJoin extends ClusterTest {
+
+  private static final String IN_REGIONS = "SELECT n_name FROM cp.`tpch/nation.parquet` " +
+      "WHERE n_regionkey IN (SELECT r_regionkey FROM cp.`tpch/region.parquet` WHERE r_name LIKE 'A%')";
+
+  private static final String UNMATCHED_REGIONS = "SELECT n.n_name FROM cp.`tpch/nation.parquet` n " +
+      "LEFT JOIN (SELECT r_regionkey FROM cp.`tpch/region.parquet` WHERE r_name LIKE 'A%') r " +
+      "ON n.n_regionkey = r.r_regionkey WHERE r.r_regionkey IS NULL";
+
+  private static final String NOT_EXISTS_REGIONS = "SELECT n.n_name FROM cp.`tpch/nation.parquet` n " +
+      "WHERE NOT EXISTS (SELECT 1 FROM cp.`tpch/region.parquet` r " +
+      "WHERE r.r_regionkey = n.n_regionkey AND r.r_name LIKE 'A%')";
+
+  private static final String NOT_IN_REGIONS = "SELECT n_name FROM cp.`tpch/nation.parquet` " +
+      "WHERE n_regionkey NOT IN (SELECT r_regionkey FROM cp.`tpch/region.parquet` WHERE r_name LIKE 'A%')";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(PlannerSettings.HASH_SEMI_JOIN.getOptionName(), true)
+        .maxParallelization(1);
+    startCluster(builder);
+  }
+
+  @Test
+  public void testSemiJoinPlan() throws Exception {
+    String plan = queryBuilder().sql(IN_REGIONS).explainText();
+    assertTrue(plan.contains("semiJoinType=[SEMI]"));
+    assertFalse(plan.contains("HashAgg"));
+  }
+
+  @Test
+  public void testSemiJoin() throws Exception {
+    testBuilder()
+        .sqlQuery(IN_REGIONS)
+        .unOrdered()
+        .sqlBaselineQuery("SELECT n_name FROM cp.`tpch/nation.parquet` WHERE n_regionkey < 3")
+        .go();
+  }
+
+  @Test
+  public void testSemiJoinDuplicateBuildKeys() throws Exception {
+    // Each region has five nations; every region must still be returned exactly once
+    String sql = "SELECT r_name FROM cp.`tpch/region.parquet` " +
+        "WHERE r_regionkey IN (SELECT n_regionkey FROM cp.`tpch/nation.parquet`)";
+    assertTrue(queryBuilder().sql(sql).explainText().contains("semiJoinType=[SEMI]"));
+    assertEquals(5, queryBuilder().sql(sql).run().recordCount());
+  }
+
+  @Test
+  public void testAntiJoinPlan() throws Exception {
+    String plan = queryBuilder().sql(UNMATCHED_REGIONS).explainText();
+    assertTrue(plan.contains("semiJoinType=[ANTI]"));
+  }
+
+  @Test
+  public void testAntiJoin() throws Exception {
+    testBuilder()
+        .sqlQuery(UNMATCHED_REGIONS)
+        .unOrdered()
+        .sqlBaselineQuery("SELECT n_name FROM cp.`tpch/nation.parquet` WHERE n_regionkey >= 3")
+        .go();
+  }
+
+  @Test
+  public void testAntiJoinWithRightPayload() throws Exception {
+    // The build side keeps only the join key, the right columns come back as nulls
+    String sql = "SELECT n.n_name, r.r_name, r.r_comment FROM cp.`tpch/nation.parquet` n " +
+        "LEFT JOIN (SELECT r_regionkey, r_name, r_comment FROM cp.`tpch/region.parquet` WHERE r_name LIKE 'A%') r " +
+        "ON n.n_regionkey = r.r_regionkey WHERE r.r_regionkey IS NULL";
+    assertTrue(queryBuilder().sql(sql).explainText().contains("semiJoinType=[ANTI]"));
+    try {
+      testBuilder()
+          .sqlQuery(sql)
+          .unOrdered()
+          .optionSettingQueriesForBaseline(String.format("ALTER SESSION SET `%s` = false",
+              PlannerSettings.HASH_SEMI_JOIN.getOptionName()))
+          .sqlBaselineQuery(sql)
+          .go();
+    } finally {
+      client.alterSession(PlannerSettings.HASH_SEMI_JOIN.getOptionName(), true);
+    }
+  }
+
+  @Test
+  public void testNotExistsPlan() throws Exception {
+    String plan = queryBuilder().sql(NOT_EXISTS_REGIONS).explainText();
+    assertTrue(plan.contains("semiJoinType=[ANTI]"));
+  }
+
+  @Test
+  public void testNotExists() throws Exception {
+    testBuilder()
+        .sqlQuery(NOT_EXISTS_REGIONS)
+        .unOrdered()
+        .sqlBaselineQuery("SELECT n_name FROM cp.`tpch/nation.parquet` WHERE n_regionkey >= 3")
+        .go();
+  }
+
+  @Test
+  public void testNotIn() throws Exception {
+    // NOT IN keeps its null-aware plan, an anti join would ignore nulls of the subquery
+    assertFalse(queryBuilder().sql(NOT_IN_REGIONS).explainText().contains("semiJoinType=[ANTI]"));
+    testBuilder()
+        .sqlQuery(NOT_IN_REGIONS)
+        .unOrdered()
+        .sqlBaselineQuery("SELECT n_name FROM cp.`tpch/nation.parquet` WHERE n_regionkey >= 3")
+        .go();
+  }
+
+  @Test
+  public void testNotInWithNullBuildKey() throws Exception {
+    // A null in the subquery makes NOT IN unknown for every row that has no match
+    String sql = "SELECT n_name FROM cp.`tpch/nation.parquet` " +
+        "WHERE n_regionkey NOT IN (SELECT CASE WHEN r_regionkey = 4 THEN NULL ELSE r_regionkey END " +
+        "FROM cp.`tpch/region.parquet` WHERE r_name LIKE 'A%' OR r_regionkey = 4)";
+    assertFalse(queryBuilder().sql(sql).explainText().contains("semiJoinType=[ANTI]"));
+    assertEquals(0, queryBuilder().sql(sql).run().recordCount());
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    try {
+      client.alterSession(PlannerSettings.HASH_SEMI_JOIN.getOptionName(), false);
+      assertFalse(queryBuilder().sql(IN_REGIONS).explainText().contains("semiJoinType"));
+    } finally {
+      client.alterSession(PlannerSettings.HASH_SEMI_JOIN.getOptionName(), true);
+    }
+  }
+}
@@ -23,6 +23,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import org.apache.calcite.rel.RelFieldCollation;
 import org.apache.drill.exec.coord.ClusterCoordinator;
+import org.apache.drill.exec.memory.AllocationProfiler;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.AccountingDataTunnel;
 import org.apache.drill.exec.ops.AccountingUserConnection;
@@ -342,6 +343,11 @@ public class PhysicalOpUnitTestBase extends ExecTest {
       return null;
     }
 
+    @Override
+    public AllocationProfiler getAllocationProfiler() {
+      return null;
+    }
+
     @Override
     public PhysicalPlanReader getPlanReader() {
       throw new UnsupportedOperationException();
@@ -25,6 +25,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.nio.file.Paths;
+import java.time.LocalDate;
 
 @Category(PlannerTest.class)
 public class TestConvertCountToDirectScan extends PlanTestBase {
@@ -32,6 +33,7 @@ public class TestConvertCountToDirectScan extends PlanTestBase {
   @BeforeClass
   public static void setupTestFiles() {
     dirTestWatcher.copyResourceToRoot(Paths.get("directcount.parquet"));
+    dirTestWatcher.copyResourceToRoot(Paths.get("multilevel", "parquet"));
   }
 
   @Test
@@ -159,4 +161,175 @@ public class TestConvertCountToDirectScan extends PlanTestBase {
     }
   }
 
+  @Test
+  public void ensureConvertMinMaxToDirectScan() throws Exception {
+    test("use dfs.tmp");
+    final String tableName = "parquet_table_min_max";
+
+    try {
+      test("create table %s as select n_nationkey, n_regionkey, n_name from cp.`tpch/nation.parquet`", tableName);
+
+      final String sql = String.format("select\n" +
+          "min(n_nationkey) as min_key,\n" +
+          "max(n_nationkey) as max_key,\n" +
+          "max(n_regionkey) as max_region,\n" +
+          "count(*) as star_count\n" +
+          "from %s", tableName);
+
+      testPlanMatchingPatterns(
+          sql,
+          new String[] { "DynamicPojoRecordReader" },
+          new String[]{});
+
+      testBuilder()
+          .sqlQuery(sql)
+          .unOrdered()
+          .baselineColumns("min_key", "max_key", "max_region", "star_count")
+          .baselineValues(0, 24, 4, 25L)
+          .go();
+
+    } finally {
+      test("drop table if exists %s", tableName);
+    }
+  }
+
+  @Test
+  public void ensureDoesNotConvertMinMaxForVarchar() throws Exception {
+    test("use dfs.tmp");
+    final String tableName = "parquet_table_min_max_varchar";
+
+    try {
+      test("create table %s as select n_nationkey, n_name from cp.`tpch/nation.parquet`", tableName);
+
+      final String sql = String.format("select min(n_nationkey) as min_key, max(n_name) as max_name from %s", tableName);
+
+      testPlanMatchingPatterns(
+          sql,
+          new String[] { "ParquetGroupScan" },
+          new String[] { "DynamicPojoRecordReader" });
+
+      testBuilder()
+          .sqlQuery(sql)
+          .unOrdered()
+          .baselineColumns("min_key", "max_name")
+          .baselineValues(0, "VIETNAM")
+          .go();
+
+    } finally {
+      test("drop table if exists %s", tableName);
+    }
+  }
+
+  @Test
+  public void ensureConvertSumOfSingleValuedRowGroups() throws Exception {
+    test("use dfs.tmp");
+    final String tableName = "parquet_table_sum";
+
+    try {
+      test("create table %s partition by (n_regionkey) as " +
+          "select n_regionkey, n_nationkey from cp.`tpch/nation.parquet`", tableName);
+
+      final String sql = String.format("select sum(n_regionkey) as sum_region, count(*) as star_count from %s",
+          tableName);
+
+      testPlanMatchingPatterns(
+          sql,
+          new String[] { "DynamicPojoRecordReader" },
+          new String[]{});
+
+      testBuilder()
+          .sqlQuery(sql)
+          .unOrdered()
+          .baselineColumns("sum_region", "star_count")
+          .baselineValues(50L, 25L)
+          .go();
+
+    } finally {
+      test("drop table if exists %s", tableName);
+    }
+  }
+
+  @Test
+  public void ensureDoesNotConvertSumOfMultiValuedRowGroups() throws Exception {
+    test("use dfs.tmp");
+    final String tableName = "parquet_table_sum_multi_valued";
+
+    try {
+      test("create table %s as select n_nationkey from cp.`tpch/nation.parquet`", tableName);
+
+      final String sql = String.format("select sum(n_nationkey) as sum_key from %s", tableName);
+
+      testPlanMatchingPatterns(
+          sql,
+          new String[] { "ParquetGroupScan" },
+          new String[] { "DynamicPojoRecordReader" });
+
+      testBuilder()
+          .sqlQuery(sql)
+          .unOrdered()
+          .baselineColumns("sum_key")
+          .baselineValues(300L)
+          .go();
+
+    } finally {
+      test("drop table if exists %s", tableName);
+    }
+  }
+
+  @Test
+  public void ensureConvertDateMinMaxToDirectScan() throws Exception {
+    test("use dfs.tmp");
+    final String tableName = "parquet_table_min_max_date";
+
+    try {
+      test("create table %s as select cast(date_add(date '1990-01-01', n_nationkey) as date) as d " +
+          "from cp.`tpch/nation.parquet`", tableName);
+
+      final String sql = String.format("select min(d) as min_date, max(d) as max_date from %s", tableName);
+
+      testPlanMatchingPatterns(
+          sql,
+          new String[] { "DynamicPojoRecordReader" },
+          new String[]{});
+
+      testBuilder()
+          .sqlQuery(sql)
+          .unOrdered()
+          .baselineColumns("min_date", "max_date")
+          .baselineValues(LocalDate.of(1990, 1, 1), LocalDate.of(1990, 1, 25))
+          .go();
+
+    } finally {
+      test("drop table if exists %s", tableName);
+    }
+  }
+
+  @Test
+  public void ensureConvertGroupByDirectoryToDirectScan() throws Exception {
+    final String sql = "select dir0, count(*) as cnt from dfs.`multilevel/parquet` group by dir0";
+
+    testPlanMatchingPatterns(
+        sql,
+        new String[] { "DynamicPojoRecordReader" },
+        new String[] { "ParquetGroupScan" });
+
+    // count of an expression is not converted
+    testBuilder()
+        .sqlQuery(sql)
+        .unOrdered()
+        .sqlBaselineQuery("select dir0, count(o_orderkey + 0) as cnt " +
+            "from dfs.`multilevel/parquet` group by dir0")
+        .go();
+  }
+
+  @Test
+  public void ensureDoesNotConvertGroupByRegularColumn() throws Exception {
+    final String sql = "select o_custkey, count(*) as cnt from dfs.`multilevel/parquet` group by o_custkey";
+
+    testPlanMatchingPatterns(
+        sql,
+        new String[] { "ParquetGroupScan" },
+        new String[] { "DynamicPojoRecordReader" });
+  }
+
 }
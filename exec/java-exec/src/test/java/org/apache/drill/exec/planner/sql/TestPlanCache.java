@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.apache.drill.categories.PlannerTest;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.proto.UserProtos.CreatePreparedStatementResp;
+import org.apache.drill.exec.proto.UserProtos.PreparedStatementHandle;
+import org.apache.drill.exec.proto.UserProtos.RequestStatus;
+import org.apache.drill.exec.rpc.user.QueryDataBatch;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(PlannerTest.class)
+public class TestPlanCache extends ClusterTest {
+
+  private static PlanCache planCache;
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(PlannerSettings.PLAN_CACHE.getOptionName(), true);
+    startCluster(builder);
+    planCache = cluster.drillbit().getContext().getPlanCache();
+  }
+
+  private long hits() {
+    return planCache.getStats().hitCount();
+  }
+
+  @Test
+  public void testRepeatedQuery() throws Exception {
+    final String sql = "SELECT count(*) FROM cp.`tpch/nation.parquet` WHERE n_regionkey = 1";
+    assertEquals(5, queryBuilder().sql(sql).singletonLong());
+
+    final long hits = hits();
+    assertEquals(5, queryBuilder().sql(sql).singletonLong());
+    assertEquals(hits + 1, hits());
+
+    // Other literals are planned separately
+    assertEquals(5, queryBuilder().sql(sql.replace("= 1", "= 2")).singletonLong());
+    assertEquals(hits + 1, hits());
+  }
+
+  @Test
+  public void testProjectedLiteralIsBound() throws Exception {
+    final String sql = "SELECT n_name, 'aa' AS tag FROM cp.`tpch/nation.parquet` WHERE n_nationkey = 7";
+    testBuilder()
+        .sqlQuery(sql)
+        .unOrdered()
+        .baselineColumns("n_name", "tag")
+        .baselineValues("GERMANY", "aa")
+        .go();
+
+    // A literal only projected is a parameter of the cached plan
+    final long size = planCache.size();
+    final long hits = hits();
+    testBuilder()
+        .sqlQuery(sql.replace("'aa'", "'bb'"))
+        .unOrdered()
+        .baselineColumns("n_name", "tag")
+        .baselineValues("GERMANY", "bb")
+        .go();
+    assertEquals(hits + 1, hits());
+    assertEquals(size, planCache.size());
+  }
+
+  @Test
+  public void testHavingLiteralIsBound() throws Exception {
+    final String sql = "SELECT n_regionkey, count(*) AS c FROM cp.`tpch/nation.parquet` " +
+        "GROUP BY n_regionkey HAVING count(*) > 4";
+    assertEquals(5, queryBuilder().sql(sql).run().recordCount());
+
+    // A filter on an aggregate can not be pushed into the scan
+    final long size = planCache.size();
+    final long hits = hits();
+    assertEquals(0, queryBuilder().sql(sql.replace("> 4", "> 5")).run().recordCount());
+    assertEquals(hits + 1, hits());
+    assertEquals(size, planCache.size());
+  }
+
+  @Test
+  public void testDirectScanPlanIsCached() throws Exception {
+    final String sql = "SELECT count(*) FROM cp.`tpch/region.parquet`";
+    assertTrue(queryBuilder().sql(sql).explainText().contains("DirectScan"));
+    assertEquals(5, queryBuilder().sql(sql).singletonLong());
+
+    final long hits = hits();
+    assertEquals(5, queryBuilder().sql(sql).singletonLong());
+    assertEquals(hits + 1, hits());
+
+    // each hit gets its own reader of the counts
+    assertEquals(5, queryBuilder().sql(sql).singletonLong());
+    assertEquals(hits + 2, hits());
+  }
+
+  @Test
+  public void testOptionChangeMisses() throws Exception {
+    final String sql = "SELECT count(*) FROM cp.`tpch/nation.parquet` WHERE n_regionkey = 4";
+    queryBuilder().sql(sql).run();
+    try {
+      client.alterSession(PlannerSettings.HASH_DISTINCT.getOptionName(), true);
+      final long hits = hits();
+      final long misses = planCache.getStats().missCount();
+      queryBuilder().sql(sql).run();
+      assertEquals(hits, hits());
+      assertEquals(misses + 1, planCache.getStats().missCount());
+    } finally {
+      client.resetSession(PlannerSettings.HASH_DISTINCT.getOptionName());
+    }
+
+    // the plan made with the original options is still cached
+    final long hits = hits();
+    queryBuilder().sql(sql).run();
+    assertEquals(hits + 1, hits());
+  }
+
+  @Test
+  public void testAddedFileIsSeen() throws Exception {
+    final File first = dirTestWatcher.copyResourceToTestTmp(Paths.get("directcount.parquet"),
+        Paths.get("plan_cache_count", "0.parquet"));
+    final File table = first.getParentFile();
+
+    final String sql = "SELECT count(*) FROM dfs.tmp.`plan_cache_count`";
+    final long count = queryBuilder().sql(sql).singletonLong();
+    assertEquals(count, queryBuilder().sql(sql).singletonLong());
+
+    Files.copy(first.toPath(), new File(table, "1.parquet").toPath());
+    // file systems with a coarse modification time may not see the copy made in the same second
+    assertTrue(table.setLastModified(table.lastModified() + 1000));
+    assertEquals(2 * count, queryBuilder().sql(sql).singletonLong());
+
+    final long hits = hits();
+    assertEquals(2 * count, queryBuilder().sql(sql).singletonLong());
+    assertEquals(hits + 1, hits());
+  }
+
+  @Test
+  public void testContextDependentQueryNotCached() throws Exception {
+    final String sql = "SELECT now() AS t FROM (VALUES(1))";
+    queryBuilder().sql(sql).run();
+    final long hits = hits();
+    queryBuilder().sql(sql).run();
+    assertEquals(hits, hits());
+  }
+
+  @Test
+  public void testDdlInvalidates() throws Exception {
+    final String sql = "SELECT count(*) FROM cp.`tpch/nation.parquet` WHERE n_regionkey = 3";
+    queryBuilder().sql(sql).run();
+    try {
+      queryBuilder().sql("CREATE VIEW dfs.tmp.plan_cache_view AS SELECT 1 AS a FROM (VALUES(1))").run();
+      final long hits = hits();
+      queryBuilder().sql(sql).run();
+      assertEquals(hits, hits());
+    } finally {
+      queryBuilder().sql("DROP VIEW IF EXISTS dfs.tmp.plan_cache_view").run();
+    }
+  }
+
+  @Test
+  public void testPreparedStatement() throws Exception {
+    final CreatePreparedStatementResp resp = client.client()
+        .createPreparedStatement("SELECT n_name FROM cp.`tpch/nation.parquet` WHERE n_nationkey = 7").get();
+    assertEquals(RequestStatus.OK, resp.getStatus());
+
+    final PreparedStatementHandle handle = resp.getPreparedStatement().getServerHandle();
+    assertEquals(1, countAndRelease(client.client().executePreparedStatement(handle)));
+    final long hits = hits();
+    assertEquals(1, countAndRelease(client.client().executePreparedStatement(handle)));
+    assertEquals(hits + 1, hits());
+  }
+
+  private int countAndRelease(List<QueryDataBatch> results) {
+    final int count = client.countResults(results);
+    for (QueryDataBatch result : results) {
+      result.release();
+    }
+    return count;
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.drill.exec.rpc.data;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DrillBuf;
 import org.apache.drill.common.config.DrillConfig;
 import org.apache.drill.common.scanner.ClassPathScanner;
 import org.apache.drill.common.types.TypeProtos.MinorType;
@@ -55,6 +56,9 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -94,9 +98,91 @@ public class TestBitRpc extends ExecTest {
     Thread.sleep(5000);
   }
 
+  @Test
+  public void testLocalTunnel() throws Exception {
+    final WorkerBee bee = mock(WorkerBee.class);
+    final WorkEventBus workBus = mock(WorkEventBus.class);
+    final DrillConfig config1 = DrillConfig.create();
+    final BootStrapContext c = new BootStrapContext(config1, SystemOptionManager.createDefaultOptionDefinitions(),
+        ClassPathScanner.fromPrescan(config1));
+    final HoldingFragmentManager fman = new HoldingFragmentManager(c);
+    when(workBus.getFragmentManager(any(FragmentHandle.class))).thenReturn(fman);
+
+    final DataTunnel tunnel = new LocalDataTunnel(new DataServerRequestHandler(workBus, bee), c.getAllocator());
+    final AtomicLong acks = new AtomicLong();
+    final RpcOutcomeListener<Ack> listener = new RpcOutcomeListener<Ack>() {
+      @Override
+      public void failed(RpcException ex) {
+        throw new AssertionError(ex);
+      }
+
+      @Override
+      public void success(Ack value, ByteBuf buffer) {
+        assertTrue(value.getOk());
+        acks.incrementAndGet();
+      }
+
+      @Override
+      public void interrupted(InterruptedException e) {
+      }
+    };
+
+    final FragmentWritableBatch batch = new FragmentWritableBatch(false, QueryId.getDefaultInstance(), 1, 1, 1, 1,
+        getRandomBatch(c.getAllocator(), 100, 5));
+    final long byteCount = batch.getByteCount();
+    final ByteBuf[] senderBuffers = batch.getBuffers();
+    final byte[] expected = new byte[(int) byteCount];
+    int offset = 0;
+    for (ByteBuf buffer : senderBuffers) {
+      buffer.getBytes(buffer.readerIndex(), expected, offset, buffer.readableBytes());
+      offset += buffer.readableBytes();
+    }
+    tunnel.sendRecordBatch(listener, batch);
+
+    // The vector buffers are gathered into one body in a single copy, and the sender's buffers are released
+    assertEquals(1, fman.batches.size());
+    final DrillBuf body = fman.batches.get(0).getBody();
+    assertEquals(byteCount, body.readableBytes());
+    final byte[] actual = new byte[(int) byteCount];
+    body.getBytes(body.readerIndex(), actual);
+    assertArrayEquals(expected, actual);
+    for (ByteBuf buffer : senderBuffers) {
+      assertEquals(0, buffer.refCnt());
+    }
+
+    // The receiver holds the gathered batch; the sender is acked only once it is consumed
+    assertEquals(0, acks.get());
+    fman.batches.get(0).sendOk();
+    fman.batches.get(0).release();
+    assertEquals(1, acks.get());
+
+    // A batch of a single buffer is passed as is
+    final FragmentWritableBatch single = new FragmentWritableBatch(false, QueryId.getDefaultInstance(), 1, 1, 1, 1,
+        getRandomBatch(c.getAllocator(), 100, 1));
+    assertEquals(1, single.getBuffers().length);
+    final long address = ((DrillBuf) single.getBuffers()[0]).memoryAddress();
+    tunnel.sendRecordBatch(listener, single);
+    assertEquals(2, fman.batches.size());
+    assertEquals(address, fman.batches.get(1).getBody().memoryAddress());
+    fman.batches.get(1).sendOk();
+    fman.batches.get(1).release();
+    assertEquals(2, acks.get());
+
+    // A batch without data
+    tunnel.sendRecordBatch(listener, FragmentWritableBatch.getEmptyLast(QueryId.getDefaultInstance(), 1, 1, 1, 1));
+    assertEquals(3, fman.batches.size());
+    assertNull(fman.batches.get(2).getBody());
+    fman.batches.get(2).sendOk();
+    assertEquals(3, acks.get());
+  }
+
   private static WritableBatch getRandomBatch(BufferAllocator allocator, int records) {
+    return getRandomBatch(allocator, records, 5);
+  }
+
+  private static WritableBatch getRandomBatch(BufferAllocator allocator, int records, int columns) {
     List<ValueVector> vectors = Lists.newArrayList();
-    for (int i = 0; i < 5; i++) {
+    for (int i = 0; i < columns; i++) {
       Float8Vector v = (Float8Vector) TypeHelper.getNewVector(
           MaterializedField.create("a", Types.required(MinorType.FLOAT8)),
           allocator);
@@ -142,6 +228,25 @@ public class TestBitRpc extends ExecTest {
     }
   }
 
+  /**
+   * Keeps the batches it receives, to be consumed by the test.
+   */
+  private static class HoldingFragmentManager extends MockFragmentManager {
+    private final BootStrapContext c;
+    private final List<RawFragmentBatch> batches = Lists.newArrayList();
+
+    public HoldingFragmentManager(BootStrapContext c) {
+      super(c);
+      this.c = c;
+    }
+
+    @Override
+    public boolean handle(IncomingDataBatch batch) {
+      batches.add(batch.newRawFragmentBatch(c.getAllocator()));
+      return false;
+    }
+  }
+
   public static class MockFragmentManager implements FragmentManager
   {
     private final BootStrapContext c;
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.server.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.coord.local.LocalClusterCoordinator;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
+import org.apache.drill.exec.proto.SchemaUserBitShared;
+import org.apache.drill.exec.proto.UserBitShared.QueryProfile;
+import org.apache.drill.exec.proto.UserBitShared.QueryResult.QueryState;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.drill.exec.store.sys.PersistentStoreConfig;
+import org.apache.drill.exec.store.sys.store.LocalPersistentStore;
+import org.apache.drill.test.BaseDirTestWatcher;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigValueFactory;
+
+public class TestIndexedProfileStore {
+  private static final long MAINTENANCE_INTERVAL_MS = 50;
+
+  @Rule
+  public final BaseDirTestWatcher dirTestWatcher = new BaseDirTestWatcher();
+
+  /**
+   * Clock that only moves when the test advances it.
+   */
+  private static class ManualClock extends Clock {
+    private final AtomicLong millis = new AtomicLong(TimeUnit.DAYS.toMillis(1));
+
+    void advance(long delta, TimeUnit unit) {
+      millis.addAndGet(unit.toMillis(delta));
+    }
+
+    @Override
+    public long millis() {
+      return millis.get();
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis());
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private LocalPersistentStore<QueryProfile> newStore() throws Exception {
+    Configuration conf = new Configuration();
+    conf.set(FileSystem.FS_DEFAULT_NAME_KEY, FileSystem.DEFAULT_FS);
+    PersistentStoreConfig<QueryProfile> storeConfig = PersistentStoreConfig
+        .newProtoBuilder(SchemaUserBitShared.QueryProfile.WRITE, SchemaUserBitShared.QueryProfile.MERGE)
+        .name("profiles")
+        .blob()
+        .build();
+    return new LocalPersistentStore<>(new DrillFileSystem(conf),
+        new Path(new File(dirTestWatcher.getTmpDir(), "store").toURI()), storeConfig);
+  }
+
+  private static QueryProfile profile(DrillbitEndpoint foreman, long start) {
+    return QueryProfile.newBuilder()
+        .setUser("alice")
+        .setQuery("SELECT 1")
+        .setState(QueryState.COMPLETED)
+        .setForeman(foreman)
+        .setStart(start)
+        .setEnd(start + 10)
+        .build();
+  }
+
+  private static boolean awaitSummaries(IndexedProfileStore store, int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+    while (System.currentTimeMillis() < deadline) {
+      if (store.getSummaries(0, 100, ProfileFilter.ALL).size() == count) {
+        return true;
+      }
+      Thread.sleep(MAINTENANCE_INTERVAL_MS);
+    }
+    return false;
+  }
+
+  @Test
+  public void testIdleStoreExpiresProfilesByAge() throws Exception {
+    DrillConfig config = new DrillConfig(DrillConfig.create()
+        .withValue(ExecConstants.PROFILES_STORE_RETENTION_MAX_AGE_HOURS, ConfigValueFactory.fromAnyRef(1)));
+    DrillbitEndpoint endpoint = DrillbitEndpoint.newBuilder().setAddress("localhost").setUserPort(31010).build();
+    ManualClock clock = new ManualClock();
+
+    try (LocalClusterCoordinator coordinator = new LocalClusterCoordinator();
+         IndexedProfileStore store = new IndexedProfileStore(config, newStore(), coordinator, endpoint,
+             clock, MAINTENANCE_INTERVAL_MS)) {
+      coordinator.register(endpoint);
+      store.put("a", profile(endpoint, clock.millis()));
+      clock.advance(30, TimeUnit.MINUTES);
+      store.put("b", profile(endpoint, clock.millis()));
+
+      // Several scheduled runs go by without anything being old enough
+      Thread.sleep(MAINTENANCE_INTERVAL_MS * 5);
+      assertEquals(2, store.getSummaries(0, 100, ProfileFilter.ALL).size());
+
+      // With no new profiles, only the schedule can expire the older one
+      clock.advance(45, TimeUnit.MINUTES);
+      assertTrue(awaitSummaries(store, 1));
+      assertEquals("b", store.getSummaries(0, 100, ProfileFilter.ALL).get(0).getQueryId());
+      assertFalse(store.contains("a"));
+      assertTrue(store.contains("b"));
+
+      clock.advance(1, TimeUnit.HOURS);
+      assertTrue(awaitSummaries(store, 0));
+      assertFalse(store.contains("b"));
+    }
+  }
+}
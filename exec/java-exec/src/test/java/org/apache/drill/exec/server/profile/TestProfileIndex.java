@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.server.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.drill.test.BaseDirTestWatcher;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+public class TestProfileIndex {
+  @Rule
+  public final BaseDirTestWatcher dirTestWatcher = new BaseDirTestWatcher();
+
+  private Path storePath() {
+    return new Path(new File(dirTestWatcher.getTmpDir(), "profiles").toURI());
+  }
+
+  private static ProfileSummary summary(String queryId, String user, String state, long start) {
+    return new ProfileSummary(queryId, user, state, "default", "localhost",
+        start, start + 1, 0, start + 10, 1, 1.0, "SELECT " + queryId, false);
+  }
+
+  private static String ids(List<ProfileSummary> summaries) {
+    StringBuilder buf = new StringBuilder();
+    for (ProfileSummary summary : summaries) {
+      buf.append(summary.getQueryId());
+    }
+    return buf.toString();
+  }
+
+  @Test
+  public void testPagingAndFiltering() throws Exception {
+    try (ProfileIndex index = new ProfileIndex(new Configuration(), storePath(), "bit1")) {
+      index.compact();
+      index.add(summary("a", "alice", "COMPLETED", 100));
+      index.add(summary("b", "bob", "FAILED", 300));
+      index.add(summary("c", "alice", "COMPLETED", 200));
+      index.add(summary("d", "alice", "CANCELED", 400));
+
+      assertEquals("dbca", ids(index.getRange(0, 10, ProfileFilter.ALL)));
+      assertEquals("bc", ids(index.getRange(1, 2, ProfileFilter.ALL)));
+      assertEquals("dca", ids(index.getRange(0, 10, ProfileFilter.forUser("alice"))));
+      assertEquals("a", ids(index.getRange(2, 10, ProfileFilter.forUser("alice"))));
+      assertEquals("ca", ids(index.getRange(0, 10,
+          new ProfileFilter(null, "completed", null, 0, Long.MAX_VALUE))));
+      assertEquals("bc", ids(index.getRange(0, 10,
+          new ProfileFilter(null, null, null, 200, 400))));
+    }
+  }
+
+  @Test
+  public void testReopen() throws Exception {
+    try (ProfileIndex index = new ProfileIndex(new Configuration(), storePath(), "bit1")) {
+      assertFalse(index.hasOwnLog());
+      index.add(summary("a", "alice", "COMPLETED", 100));
+      index.compact();
+      index.add(summary("b", "alice", "COMPLETED", 200));
+      index.add(summary("c", "alice", "COMPLETED", 300));
+      index.remove("b");
+    }
+
+    try (ProfileIndex index = new ProfileIndex(new Configuration(), storePath(), "bit1")) {
+      assertTrue(index.hasOwnLog());
+      assertEquals("ca", ids(index.getRange(0, 10, ProfileFilter.ALL)));
+
+      // Compaction drops the removed entry but keeps the live ones
+      index.compact();
+      assertEquals(0, index.getAppendsSinceCompaction());
+    }
+
+    try (ProfileIndex index = new ProfileIndex(new Configuration(), storePath(), "bit1")) {
+      assertEquals("ca", ids(index.getRange(0, 10, ProfileFilter.ALL)));
+    }
+  }
+
+  @Test
+  public void testIncompleteCompactionIgnored() throws Exception {
+    try (ProfileIndex index = new ProfileIndex(new Configuration(), storePath(), "bit1")) {
+      index.compact();
+      index.add(summary("a", "alice", "COMPLETED", 100));
+    }
+
+    // A later generation without the base marker, as left by a crash during compaction
+    File partial = new File(new File(storePath().toUri().getPath(), ProfileIndex.INDEX_DIR), "bit1.99.idx");
+    try (FileOutputStream out = new FileOutputStream(partial)) {
+      out.write("#bit1\n+{\"queryId\":\"x\"".getBytes(StandardCharsets.UTF_8));
+    }
+
+    try (ProfileIndex index = new ProfileIndex(new Configuration(), storePath(), "bit1")) {
+      assertEquals("a", ids(index.getRange(0, 10, ProfileFilter.ALL)));
+    }
+  }
+
+  @Test
+  public void testSharedStore() throws Exception {
+    try (ProfileIndex first = new ProfileIndex(new Configuration(), storePath(), "bit1")) {
+      first.compact();
+      first.add(summary("a", "alice", "COMPLETED", 100));
+      first.add(summary("b", "alice", "COMPLETED", 200));
+
+      try (ProfileIndex second = new ProfileIndex(new Configuration(), storePath(), "bit2")) {
+        second.compact();
+        second.add(summary("c", "bob", "COMPLETED", 300));
+        assertEquals("cba", ids(second.getRange(0, 10, ProfileFilter.ALL)));
+
+        // Retention by count spans all Drillbits, but each expires only its own profiles
+        Set<String> bothLive = ImmutableSet.of("bit1", "bit2");
+        assertTrue(second.getExpired(1, 0, bothLive).isEmpty());
+        assertEquals(Collections.singletonList("c"), second.getExpired(0, 1000, bothLive));
+
+        // ... and those of the Drillbits that left the cluster
+        assertEquals("ba", String.join("", second.getExpired(1, 0, ImmutableSet.of("bit2"))));
+      }
+    }
+  }
+
+  @Test
+  public void testRemovalOfForeignProfileSurvivesCompaction() throws Exception {
+    try (ProfileIndex first = new ProfileIndex(new Configuration(), storePath(), "bit1")) {
+      first.compact();
+      first.add(summary("a", "alice", "COMPLETED", 100));
+      first.add(summary("b", "alice", "COMPLETED", 200));
+    }
+
+    try (ProfileIndex second = new ProfileIndex(new Configuration(), storePath(), "bit2")) {
+      second.compact();
+      assertEquals("ba", ids(second.getRange(0, 10, ProfileFilter.ALL)));
+      second.remove("a");
+      second.compact();
+      assertEquals("b", ids(second.getRange(0, 10, ProfileFilter.ALL)));
+    }
+
+    // bit1 never saw the removal, its log still adds the profile
+    try (ProfileIndex second = new ProfileIndex(new Configuration(), storePath(), "bit2")) {
+      assertEquals("b", ids(second.getRange(0, 10, ProfileFilter.ALL)));
+    }
+    try (ProfileIndex first = new ProfileIndex(new Configuration(), storePath(), "bit1")) {
+      assertEquals("b", ids(first.getRange(0, 10, ProfileFilter.ALL)));
+      // bit1 drops the profile from its own log once compacted
+      first.compact();
+    }
+    try (ProfileIndex second = new ProfileIndex(new Configuration(), storePath(), "bit2")) {
+      second.compact();
+      assertEquals("b", ids(second.getRange(0, 10, ProfileFilter.ALL)));
+    }
+  }
+
+  @Test
+  public void testExpiredByAge() throws Exception {
+    try (ProfileIndex index = new ProfileIndex(new Configuration(), storePath(), "bit1")) {
+      index.compact();
+      index.add(summary("a", "alice", "COMPLETED", 100));
+      index.add(summary("b", "alice", "COMPLETED", 200));
+      index.add(summary("c", "alice", "COMPLETED", 300));
+
+      Set<String> live = Collections.singleton("bit1");
+      List<String> expired = index.getExpired(0, 250, live);
+      assertEquals(2, expired.size());
+      assertTrue(expired.contains("a"));
+      assertTrue(expired.contains("b"));
+      assertEquals("ba", String.join("", index.getExpired(1, 0, live)));
+    }
+  }
+}
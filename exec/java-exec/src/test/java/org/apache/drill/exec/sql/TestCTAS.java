@@ -25,8 +25,11 @@ import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.proto.UserBitShared;
 import org.apache.drill.exec.rpc.user.QueryDataBatch;
 import org.apache.drill.exec.store.StorageStrategy;
+import org.apache.drill.exec.store.parquet.metadata.Metadata;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
@@ -34,6 +37,7 @@ import java.util.Map;
 
 import static org.apache.drill.exec.util.StoragePluginTestUtils.DFS_TMP_SCHEMA;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @Category(SqlTest.class)
 public class TestCTAS extends BaseTestQuery {
@@ -203,6 +207,75 @@ public class TestCTAS extends BaseTestQuery {
         .run();
   }
 
+  @Test
+  public void ctasWithBuckets() throws Exception {
+    final String newTblName = "ctasWithBuckets";
+
+    test("CREATE TABLE dfs.tmp.%s CLUSTER BY (n_regionkey) INTO 2 BUCKETS AS " +
+      "SELECT n_nationkey, n_name, n_regionkey from cp.`tpch/nation.parquet`", newTblName);
+
+    testBuilder()
+        .sqlQuery("select * from dfs.tmp.%s", newTblName)
+        .unOrdered()
+        .sqlBaselineQuery("select n_nationkey, n_name, n_regionkey from cp.`tpch/nation.parquet`")
+        .build()
+        .run();
+
+    final Path tableLocation = new Path(dirTestWatcher.getDfsTestTmpDir().getAbsolutePath(), newTblName);
+    final FileStatus[] files = getLocalFileSystem().listStatus(tableLocation, new PathFilter() {
+      @Override
+      public boolean accept(Path path) {
+        return path.getName().endsWith(".parquet");
+      }
+    });
+    assertTrue("Each bucket should be written to a single file", files.length > 0 && files.length <= 2);
+  }
+
+  @Test
+  public void ctasClusterByWithPartition() throws Exception {
+    final String newTblName = "ctasClusterByWithPartition";
+
+    test("CREATE TABLE dfs.tmp.%s PARTITION BY (n_regionkey) CLUSTER BY (n_nationkey) AS " +
+      "SELECT n_nationkey, n_name, n_regionkey from cp.`tpch/nation.parquet`", newTblName);
+
+    testBuilder()
+        .sqlQuery("select * from dfs.tmp.%s", newTblName)
+        .unOrdered()
+        .sqlBaselineQuery("select n_nationkey, n_name, n_regionkey from cp.`tpch/nation.parquet`")
+        .build()
+        .run();
+  }
+
+  @Test
+  public void ctasWithZeroBuckets() throws Exception {
+    final String ctasQuery = "CREATE TABLE dfs.tmp.ctasWithZeroBuckets CLUSTER BY (n_regionkey) INTO 0 BUCKETS AS " +
+      "SELECT n_nationkey, n_regionkey from cp.`tpch/nation.parquet`";
+
+    errorMsgTestHelper(ctasQuery, "Number of buckets must be positive");
+  }
+
+  @Test
+  public void ctasCreatesMetadataCache() throws Exception {
+    final String newTblName = "ctasCreatesMetadataCache";
+    try {
+      test("alter session set `%s` = true", ExecConstants.PARQUET_WRITER_CREATE_METADATA_CACHE);
+      test("CREATE TABLE dfs.tmp.%s AS SELECT n_nationkey, n_regionkey from cp.`tpch/nation.parquet`", newTblName);
+
+      final Path tableLocation = new Path(dirTestWatcher.getDfsTestTmpDir().getAbsolutePath(), newTblName);
+      assertTrue("Metadata cache file should be created",
+          getLocalFileSystem().exists(new Path(tableLocation, Metadata.METADATA_FILENAME)));
+
+      testBuilder()
+          .sqlQuery("select * from dfs.tmp.%s", newTblName)
+          .unOrdered()
+          .sqlBaselineQuery("select n_nationkey, n_regionkey from cp.`tpch/nation.parquet`")
+          .build()
+          .run();
+    } finally {
+      test("alter session reset `%s`", ExecConstants.PARQUET_WRITER_CREATE_METADATA_CACHE);
+    }
+  }
+
   @Test
   public void testPartitionByForAllTypes() throws Exception {
     final String location = "partitioned_tables_with_nulls";
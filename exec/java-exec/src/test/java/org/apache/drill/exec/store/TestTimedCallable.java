@@ -32,6 +32,7 @@ import java.util.List;
 
 import static org.apache.commons.lang3.builder.ToStringStyle.SHORT_PREFIX_STYLE;
 import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -110,4 +111,18 @@ public class TestTimedCallable extends DrillTest {
 
     TimedCallable.run("Execution with lots of tasks", logger, tasks, 16);
   }
+
+  @Test
+  public void withAdaptiveParallelism() throws Exception {
+    int count = 64;
+    List<TimedCallable<TestTask>> tasks = new ArrayList<>(count);
+
+    for (int i = 0; i < count; i++) {
+      tasks.add(new TestTask(100));
+    }
+
+    TimedCallable.runAdaptive("Execution with adaptive parallelism", logger, tasks, 4, 32);
+    // sleeping tasks hardly use any CPU, so the parallelism grows to the maximum
+    assertEquals(32, TimedCallable.adaptParallelism(tasks.subList(0, 4), 4, 32));
+  }
 }
@@ -431,6 +431,16 @@ public class AvroFormatTest extends BaseTestQuery {
     simpleAvroTestHelper(generateDoubleNestedSchema_NoNullValues(), "select * from dfs.`%s`");
   }
 
+  @Test
+  public void testDoubleNestedSchema_GenericReader() throws Exception {
+    try {
+      alterSession(ExecConstants.AVRO_NATIVE_READER, false);
+      simpleAvroTestHelper(generateDoubleNestedSchema_NoNullValues(), "select * from dfs.`%s`");
+    } finally {
+      resetSessionOption(ExecConstants.AVRO_NATIVE_READER);
+    }
+  }
+
   private static void simpleAvroTestHelper(AvroTestUtil.AvroTestRecordWriter testSetup, final String sql) throws Exception {
     testBuilder()
         .sqlQuery(sql, testSetup.getFileName())
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.avro;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.physical.base.GroupScan;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.store.TestOutputMutator;
+import org.apache.drill.exec.util.ImpersonationUtil;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.test.BaseDirTestWatcher;
+import org.apache.drill.test.DrillTest;
+import org.apache.drill.test.OperatorFixture;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+/**
+ * Reads an Avro file with many small blocks as several splits, the
+ * splits must return each record exactly once with both the binary and
+ * the generic readers.
+ */
+public class TestAvroSplits extends DrillTest {
+
+  private static final int RECORD_COUNT = 20_000;
+  private static final int SPLIT_COUNT = 7;
+
+  @ClassRule
+  public static final BaseDirTestWatcher dirTestWatcher = new BaseDirTestWatcher();
+
+  private static ExecutorService scanExecutor;
+  private static OperatorFixture fixture;
+  private static File file;
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    scanExecutor = Executors.newSingleThreadExecutor();
+    fixture = OperatorFixture.builder(dirTestWatcher)
+        .setScanExecutor(scanExecutor)
+        .build();
+
+    final Schema schema = SchemaBuilder.record("split_record").fields()
+        .requiredString("a_string")
+        .requiredInt("b_int")
+        .endRecord();
+    file = new File(dirTestWatcher.getRootDir(), "splits.avro");
+    try (DataFileWriter<GenericData.Record> writer =
+             new DataFileWriter<>(new GenericDatumWriter<GenericData.Record>(schema))) {
+      // small blocks, so that every split starts and ends in the middle of a block
+      writer.setSyncInterval(1024);
+      writer.create(schema, file);
+      for (int i = 0; i < RECORD_COUNT; i++) {
+        final GenericData.Record record = new GenericData.Record(schema);
+        record.put("a_string", "value_" + i);
+        record.put("b_int", i);
+        writer.append(record);
+      }
+    }
+  }
+
+  @AfterClass
+  public static void tearDown() throws Exception {
+    fixture.close();
+    scanExecutor.shutdownNow();
+  }
+
+  @Test
+  public void testBinaryReaderSplits() throws Exception {
+    assertEquals(RECORD_COUNT, readSplits(true, GroupScan.ALL_COLUMNS));
+    assertEquals((long) RECORD_COUNT * (RECORD_COUNT - 1) / 2,
+        sumSplits(true, Collections.singletonList(SchemaPath.getSimplePath("b_int"))));
+  }
+
+  @Test
+  public void testBinaryReaderSplitsCountOnly() throws Exception {
+    assertEquals(RECORD_COUNT, readSplits(true, Collections.<SchemaPath>emptyList()));
+  }
+
+  @Test
+  public void testGenericReaderSplits() throws Exception {
+    assertEquals(RECORD_COUNT, readSplits(false, GroupScan.ALL_COLUMNS));
+    assertEquals((long) RECORD_COUNT * (RECORD_COUNT - 1) / 2,
+        sumSplits(false, Collections.singletonList(SchemaPath.getSimplePath("b_int"))));
+  }
+
+  private long readSplits(boolean nativeReader, List<SchemaPath> columns) throws Exception {
+    return scanSplits(nativeReader, columns, false);
+  }
+
+  private long sumSplits(boolean nativeReader, List<SchemaPath> columns) throws Exception {
+    return scanSplits(nativeReader, columns, true);
+  }
+
+  /**
+   * @return the number of records of all the splits, or the sum of the
+   *         int column when <tt>sum</tt> is set
+   */
+  private long scanSplits(boolean nativeReader, List<SchemaPath> columns, boolean sum) throws Exception {
+    fixture.getOptionManager().setLocalOption(ExecConstants.AVRO_NATIVE_READER, nativeReader);
+    final FileSystem fs = FileSystem.getLocal(new Configuration());
+    final long length = file.length();
+    final long splitLength = length / SPLIT_COUNT + 1;
+    long result = 0;
+    for (long start = 0; start < length; start += splitLength) {
+      final AvroRecordReader reader = new AvroRecordReader(fixture.getFragmentContext(), file.toURI().toString(),
+          start, Math.min(splitLength, length - start), fs, columns, ImpersonationUtil.getProcessUserName());
+      final OperatorContext context = new OperatorFixture.MockOperatorContext(fixture.getFragmentContext(),
+          fixture.allocator().newChildAllocator("avro-split", 0, Long.MAX_VALUE), null);
+      final TestOutputMutator mutator = new TestOutputMutator(fixture.allocator());
+      try {
+        reader.setup(context, mutator);
+        int rowCount;
+        do {
+          reader.allocate(Collections.<String, ValueVector>emptyMap());
+          rowCount = reader.next();
+          if (!sum) {
+            result += rowCount;
+          } else {
+            for (VectorWrapper<?> w : mutator) {
+              final ValueVector.Accessor accessor = w.getValueVector().getAccessor();
+              for (int i = 0; i < rowCount; i++) {
+                result += ((Number) accessor.getObject(i)).longValue();
+              }
+            }
+          }
+        } while (rowCount > 0);
+      } finally {
+        reader.close();
+        mutator.clear();
+        context.close();
+      }
+    }
+    return result;
+  }
+}
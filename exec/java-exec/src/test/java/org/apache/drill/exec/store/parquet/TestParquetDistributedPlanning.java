@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Paths;
+
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TestParquetDistributedPlanning extends ClusterTest {
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    dirTestWatcher.copyResourceToRoot(Paths.get("multilevel", "parquet"));
+    dirTestWatcher.copyResourceToRoot(Paths.get("parquet", "multirowgroup.parquet"));
+    startCluster(ClusterFixture.builder(dirTestWatcher));
+  }
+
+  @After
+  public void resetThreshold() {
+    client.resetSystem(ExecConstants.PARQUET_DISTRIBUTED_PLANNING_THRESHOLD);
+  }
+
+  @Test
+  public void testFileLevelPlanning() throws Exception {
+    final String sql = "select count(*) from dfs.`multilevel/parquet` where o_custkey < 1000";
+    final long expected = queryBuilder().sql(sql).singletonLong();
+    assertFalse(queryBuilder().sql(sql).explainText().contains("distributedPlanning=true"));
+
+    client.alterSystem(ExecConstants.PARQUET_DISTRIBUTED_PLANNING_THRESHOLD, 2);
+    final String plan = queryBuilder().sql(sql).explainText();
+    assertTrue(plan.contains("distributedPlanning=true"));
+    assertTrue(plan.contains("filter="));
+    assertEquals(expected, queryBuilder().sql(sql).singletonLong());
+  }
+
+  @Test
+  public void testCountIsNotTakenFromEstimates() throws Exception {
+    final String sql = "select count(*) from dfs.`multilevel/parquet`";
+    final long expected = queryBuilder().sql(sql).singletonLong();
+
+    client.alterSystem(ExecConstants.PARQUET_DISTRIBUTED_PLANNING_THRESHOLD, 1);
+    assertEquals(expected, queryBuilder().sql(sql).singletonLong());
+  }
+
+  @Test
+  public void testRowGroupsPrunedByScan() throws Exception {
+    // multirowgroup.parquet has a row group with a = 1 and one with a = 2
+    final String sql = "select count(*) from dfs.`parquet/multirowgroup.parquet` where a > %d";
+    final long expected = queryBuilder().sql(sql, 1).singletonLong();
+
+    client.alterSystem(ExecConstants.PARQUET_DISTRIBUTED_PLANNING_THRESHOLD, 1);
+    assertEquals(expected, queryBuilder().sql(sql, 1).singletonLong());
+    assertEquals(0, queryBuilder().sql(sql, 2).singletonLong());
+  }
+}
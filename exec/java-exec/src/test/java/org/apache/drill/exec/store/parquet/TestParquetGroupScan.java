@@ -17,10 +17,22 @@
  */
 package org.apache.drill.exec.store.parquet;
 
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.physical.base.GroupScan;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.drill.exec.store.dfs.FileSelection;
+import org.apache.drill.exec.store.dfs.FileSystemPlugin;
+import org.apache.drill.exec.store.parquet.metadata.MetadataBase.ParquetFileMetadata;
+import org.apache.drill.exec.store.parquet.metadata.MetadataBase.RowGroupMetadata;
+import org.apache.drill.exec.util.ImpersonationUtil;
 import org.apache.drill.test.BaseTestQuery;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TestParquetGroupScan extends BaseTestQuery {
 
@@ -99,4 +111,51 @@ public class TestParquetGroupScan extends BaseTestQuery {
     assertEquals(String.format("Received unexpected number of rows in output: expected = %d, received = %s",
         expectedRecordCount, actualRecordCount), expectedRecordCount, actualRecordCount);
   }
+
+  @Test
+  public void testProjectionPrunesColumnMetadata() throws Exception {
+    dirTestWatcher.copyResourceToRoot(Paths.get("multilevel", "parquet"));
+    FileSystemPlugin plugin = (FileSystemPlugin) getDrillbitContext().getStorage().getPlugin("dfs");
+    ParquetFormatPlugin formatPlugin = (ParquetFormatPlugin) plugin.getFormatPlugin(new ParquetFormatConfig());
+    FileSelection selection = FileSelection.create(new DrillFileSystem(formatPlugin.getFsConf()),
+        dirTestWatcher.getRootDir().getCanonicalPath(), "multilevel/parquet", false);
+
+    // the footers are read before the projection is pushed down
+    ParquetGroupScan scan = new ParquetGroupScan(ImpersonationUtil.getProcessUserName(), selection, formatPlugin,
+        GroupScan.ALL_COLUMNS);
+    int rowGroupCount = scan.rowGroupInfos.size();
+    int allColumnCount = columnMetadataCount(scan);
+    assertTrue(rowGroupCount > 0);
+    assertTrue(allColumnCount > rowGroupCount);
+
+    ParquetGroupScan projected = (ParquetGroupScan) scan.clone(
+        Collections.singletonList(SchemaPath.getSimplePath("o_custkey")));
+    assertEquals(rowGroupCount, projected.rowGroupInfos.size());
+    assertEquals(rowGroupCount, columnMetadataCount(projected));
+    for (RowGroupInfo rowGroup : projected.rowGroupInfos) {
+      assertEquals("o_custkey", rowGroup.getColumns().get(0).getName()[0]);
+    }
+
+    // the scan it was cloned from keeps the statistics of all columns
+    assertEquals(allColumnCount, columnMetadataCount(scan));
+  }
+
+  /**
+   * @return the number of column metadata entries of the row groups of the scan, which must agree with its table
+   * metadata
+   */
+  private static int columnMetadataCount(AbstractParquetGroupScan scan) {
+    int count = 0;
+    for (RowGroupInfo rowGroup : scan.rowGroupInfos) {
+      count += rowGroup.getColumns().size();
+    }
+    int tableCount = 0;
+    for (ParquetFileMetadata file : scan.parquetTableMetadata.getFiles()) {
+      for (RowGroupMetadata rowGroup : file.getRowGroups()) {
+        tableCount += rowGroup.getColumns().size();
+      }
+    }
+    assertEquals(count, tableCount);
+    return count;
+  }
 }
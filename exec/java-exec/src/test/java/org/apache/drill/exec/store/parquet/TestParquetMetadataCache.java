@@ -22,12 +22,17 @@ import org.apache.commons.io.filefilter.FalseFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.apache.drill.PlanTestBase;
 import org.apache.drill.categories.UnlikelyTest;
+import org.apache.drill.common.expression.SchemaPath;
 import org.apache.commons.io.FileUtils;
 import org.apache.drill.exec.record.BatchSchema;
 import org.apache.drill.exec.store.parquet.metadata.Metadata;
+import org.apache.drill.exec.store.parquet.metadata.MetadataBase;
+import org.apache.drill.exec.store.parquet.metadata.Metadata_V3;
 import org.apache.drill.exec.store.parquet.metadata.MetadataVersion;
 import org.apache.drill.test.rowSet.schema.SchemaBuilder;
 import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -963,6 +968,22 @@ public class TestParquetMetadataCache extends PlanTestBase {
             .run();
   }
 
+  @Test
+  public void testMetadataOfProjectedColumns() throws Exception {
+    final String tablePath = new File(dirTestWatcher.getRootDir(), TABLE_NAME_2).getCanonicalPath();
+    final Metadata_V3.ParquetTableMetadata_v3 tableMetadata = Metadata.getParquetTableMetadata(
+        FileSystem.getLocal(new Configuration()), tablePath, new ParquetFormatConfig(),
+        Lists.newArrayList(SchemaPath.getSimplePath("o_custkey")));
+
+    assertFalse(tableMetadata.getFiles().isEmpty());
+    for (MetadataBase.ParquetFileMetadata file : tableMetadata.getFiles()) {
+      for (MetadataBase.RowGroupMetadata rowGroup : file.getRowGroups()) {
+        assertEquals(1, rowGroup.getColumns().size());
+        assertEquals("o_custkey", rowGroup.getColumns().get(0).getName()[0]);
+      }
+    }
+  }
+
   /**
    * Helper method for checking the metadata file existence
    *
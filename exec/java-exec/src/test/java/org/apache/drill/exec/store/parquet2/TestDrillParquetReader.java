@@ -17,6 +17,11 @@
  */
 package org.apache.drill.exec.store.parquet2;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.PrintWriter;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -24,9 +29,29 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.store.TestOutputMutator;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.drill.exec.store.parquet.ParquetReaderUtility;
+import org.apache.drill.exec.store.parquet.RowGroupReadEntry;
+import org.apache.drill.exec.store.parquet.columnreaders.ParquetRecordReader;
+import org.apache.drill.exec.vector.ValueVector;
 import org.apache.drill.test.BaseTestQuery;
+import org.apache.drill.test.OperatorFixture;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.joda.time.Period;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -274,4 +299,75 @@ public class TestDrillParquetReader extends BaseTestQuery {
         .build().run();
   }
 
+  /**
+   * Reads a row group of nested rows with a small batch size limit: the
+   * reader must split it into several batches, none of which goes over the
+   * limit, and keep the map and repeated columns.
+   */
+  @Test
+  public void testBatchSizeLimit() throws Exception {
+    final int recordCount = 5_000;
+    final int batchSizeLimit = 1024 * 1024;
+    final char[] text = new char[1_000];
+    Arrays.fill(text, 'v');
+
+    try (PrintWriter out = new PrintWriter(new File(dirTestWatcher.getRootDir(), "nested_batches.json"), "UTF-8")) {
+      for (int i = 0; i < recordCount; i++) {
+        out.printf("{\"id\": %d, \"m\": {\"s\": \"%s\"}, \"a\": [%d, %d]}%n", i, new String(text), i, i + 1);
+      }
+    }
+    runSQL("CREATE TABLE dfs.tmp.`nested_batches` AS SELECT * FROM dfs.`nested_batches.json`");
+
+    final Configuration conf = new Configuration();
+    final Path path = new Path(new File(new File(dirTestWatcher.getDfsTestTmpDir(), "nested_batches"),
+        "0_0_0.parquet").toURI());
+    final ParquetMetadata footer = ParquetFileReader.readFooter(conf, path, ParquetMetadataConverter.NO_FILTER);
+    assertEquals(recordCount, footer.getBlocks().get(0).getRowCount());
+
+    try (OperatorFixture fixture = OperatorFixture.standardFixture(dirTestWatcher)) {
+      fixture.getOptionManager().setLocalOption(ExecConstants.OUTPUT_BATCH_SIZE, batchSizeLimit);
+      final DrillParquetReader reader = new DrillParquetReader(fixture.getFragmentContext(), footer,
+          new RowGroupReadEntry(path.toString(), 0, 0, 0, recordCount),
+          Collections.singletonList(SchemaPath.STAR_COLUMN), new DrillFileSystem(conf),
+          ParquetReaderUtility.DateCorruptionStatus.META_SHOWS_NO_CORRUPTION);
+      final OperatorContext context = new OperatorFixture.MockOperatorContext(fixture.getFragmentContext(),
+          fixture.allocator().newChildAllocator("parquet", 0, Long.MAX_VALUE), null);
+      final TestOutputMutator mutator = new TestOutputMutator(fixture.allocator());
+      long rowCount = 0;
+      int batchCount = 0;
+      try {
+        reader.setup(context, mutator);
+        int batchRows;
+        do {
+          reader.allocate(Collections.<String, ValueVector>emptyMap());
+          batchRows = reader.next();
+          if (batchRows > 0) {
+            assertTrue(batchRows < recordCount);
+            rowCount += batchRows;
+            batchCount++;
+          }
+        } while (batchRows > 0);
+
+        assertEquals(recordCount, rowCount);
+        assertTrue(batchCount > 1);
+        assertEquals(batchCount, context.getStats().getLongStat(ParquetRecordReader.Metric.BATCH_COUNT));
+        final long maxBatchBytes = context.getStats().getLongStat(ParquetRecordReader.Metric.MAX_BATCH_BYTES);
+        assertTrue(maxBatchBytes > 0);
+        assertTrue(maxBatchBytes <= batchSizeLimit);
+
+        for (VectorWrapper<?> w : mutator) {
+          final MaterializedField field = w.getField();
+          if (field.getName().equals("m")) {
+            assertEquals(MinorType.MAP, field.getType().getMinorType());
+          } else if (field.getName().equals("a")) {
+            assertEquals(DataMode.REPEATED, field.getType().getMode());
+          }
+        }
+      } finally {
+        reader.close();
+        mutator.clear();
+        context.close();
+      }
+    }
+  }
 }
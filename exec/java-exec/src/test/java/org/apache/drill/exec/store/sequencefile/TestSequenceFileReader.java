@@ -17,12 +17,31 @@
  */
 package org.apache.drill.exec.store.sequencefile;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import java.io.DataOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.junit.Test;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.store.ResultSetLoaderRecordReader;
+import org.apache.drill.exec.store.TestOutputMutator;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.drill.exec.store.easy.sequencefile.SequenceFileRecordReader;
+import org.apache.drill.exec.util.ImpersonationUtil;
+import org.apache.drill.exec.vector.ValueVector;
 import org.apache.drill.test.BaseTestQuery;
+import org.apache.drill.test.OperatorFixture;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.FileSplit;
 
 public class TestSequenceFileReader extends BaseTestQuery {
 
@@ -45,4 +64,64 @@ public class TestSequenceFileReader extends BaseTestQuery {
       .baselineValues(byteWritableString("key1"), byteWritableString("value1"))
       .build().run();
   }
+
+  /**
+   * Reads a file of large values with a small batch size limit: the reader
+   * must split the file into several batches, none of which goes over the
+   * limit, and report them in the operator metrics.
+   */
+  @Test
+  public void testBatchSizeLimit() throws Exception {
+    final int recordCount = 5_000;
+    final int valueSize = 1_000;
+    final int batchSizeLimit = 1024 * 1024;
+
+    final Configuration conf = new Configuration();
+    final Path path = new Path(new File(dirTestWatcher.getRootDir(), "large_values.seq").toURI());
+    final byte[] value = new byte[valueSize];
+    Arrays.fill(value, (byte) 'v');
+    try (SequenceFile.Writer writer = SequenceFile.createWriter(conf, SequenceFile.Writer.file(path),
+        SequenceFile.Writer.keyClass(BytesWritable.class), SequenceFile.Writer.valueClass(BytesWritable.class))) {
+      for (int i = 0; i < recordCount; i++) {
+        writer.append(new BytesWritable(("key" + i).getBytes("UTF-8")), new BytesWritable(value));
+      }
+    }
+
+    try (OperatorFixture fixture = OperatorFixture.standardFixture(dirTestWatcher)) {
+      fixture.getOptionManager().setLocalOption(ExecConstants.OUTPUT_BATCH_SIZE, batchSizeLimit);
+      final String userName = ImpersonationUtil.getProcessUserName();
+      final long length = path.getFileSystem(conf).getFileStatus(path).getLen();
+      final SequenceFileRecordReader reader = new SequenceFileRecordReader(
+          new FileSplit(path, 0, length, new String[0]), new DrillFileSystem(conf), userName, userName);
+      final OperatorContext context = new OperatorFixture.MockOperatorContext(fixture.getFragmentContext(),
+          fixture.allocator().newChildAllocator("sequencefile", 0, Long.MAX_VALUE), null);
+      final TestOutputMutator mutator = new TestOutputMutator(fixture.allocator());
+      long rowCount = 0;
+      int batchCount = 0;
+      try {
+        reader.setup(context, mutator);
+        int batchRows;
+        do {
+          reader.allocate(Collections.<String, ValueVector>emptyMap());
+          batchRows = reader.next();
+          if (batchRows > 0) {
+            assertTrue(batchRows < recordCount);
+            rowCount += batchRows;
+            batchCount++;
+          }
+        } while (batchRows > 0);
+
+        assertEquals(recordCount, rowCount);
+        assertTrue(batchCount > 1);
+        assertEquals(batchCount, context.getStats().getLongStat(ResultSetLoaderRecordReader.Metric.BATCH_COUNT));
+        final long maxBatchBytes = context.getStats().getLongStat(ResultSetLoaderRecordReader.Metric.MAX_BATCH_BYTES);
+        assertTrue(maxBatchBytes > 0);
+        assertTrue(maxBatchBytes <= batchSizeLimit);
+      } finally {
+        reader.close();
+        mutator.clear();
+        context.close();
+      }
+    }
+  }
 }
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.work.foreman.rm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.drill.exec.work.foreman.rm.MemoryAdmissionController.ClusterMemory;
+import org.apache.drill.exec.work.foreman.rm.MemoryAdmissionController.Reservation;
+import org.junit.After;
+import org.junit.Test;
+
+public class TestMemoryAdmissionController {
+
+  private static final AdmissionPool INTERACTIVE = new AdmissionPool("interactive", 1,
+      Collections.<String>emptyList(), Arrays.asList("analysts"));
+  private static final AdmissionPool ETL = new AdmissionPool("etl", 1,
+      Collections.<String>emptyList(), Collections.<String>emptyList());
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  private static class FixedMemory implements ClusterMemory {
+    private volatile long available;
+    private volatile long free = Long.MAX_VALUE;
+
+    FixedMemory(long available) {
+      this.available = available;
+    }
+
+    @Override
+    public long availableMemoryPerNode() { return available; }
+
+    @Override
+    public long minFreeMemoryPerNode() { return free; }
+  }
+
+  @After
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private Future<Reservation> reserveAsync(final MemoryAdmissionController controller,
+      final String queryId, final AdmissionPool pool, final long memory) {
+    return executor.submit(new Callable<Reservation>() {
+      @Override
+      public Reservation call() throws Exception {
+        return controller.reserve(queryId, pool, memory, 60_000);
+      }
+    });
+  }
+
+  private static void awaitWaiting(MemoryAdmissionController controller, AdmissionPool pool, int count)
+      throws InterruptedException {
+    for (int i = 0; i < 1000 && controller.waitingCount(pool) != count; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(count, controller.waitingCount(pool));
+  }
+
+  @Test
+  public void testPoolSelection() {
+    assertSame(INTERACTIVE, AdmissionPool.select(Arrays.asList(INTERACTIVE, ETL), "bob", new String[] {"analysts"}));
+    assertSame(ETL, AdmissionPool.select(Arrays.asList(INTERACTIVE, ETL), "bob", new String[] {"etl"}));
+    assertSame(ETL, AdmissionPool.select(Arrays.asList(INTERACTIVE, ETL), "bob", null));
+  }
+
+  @Test
+  public void testSmallQueryPassesWaitingLargeQuery() throws Exception {
+    MemoryAdmissionController controller = new MemoryAdmissionController(
+        Arrays.asList(INTERACTIVE, ETL), new FixedMemory(100));
+    Reservation first = controller.reserve("q1", ETL, 80, 0);
+    assertNotNull(first);
+
+    Future<Reservation> large = reserveAsync(controller, "q2", ETL, 50);
+    awaitWaiting(controller, ETL, 1);
+
+    // A short query in another pool does not wait behind the large one
+    assertNotNull(controller.reserve("q3", INTERACTIVE, 10, 0));
+    assertEquals(90, controller.reservedMemoryPerNode());
+
+    controller.release(first);
+    assertNotNull(large.get(10, TimeUnit.SECONDS));
+    assertEquals(60, controller.reservedMemoryPerNode());
+  }
+
+  @Test
+  public void testStarvedPoolKeepsItsShare() throws Exception {
+    MemoryAdmissionController controller = new MemoryAdmissionController(
+        Arrays.asList(INTERACTIVE, ETL), new FixedMemory(100));
+    Reservation first = controller.reserve("q1", INTERACTIVE, 60, 0);
+    assertNotNull(first);
+
+    Future<Reservation> etl = reserveAsync(controller, "q2", ETL, 50);
+    awaitWaiting(controller, ETL, 1);
+
+    // The ETL pool is below its share, so its request is set aside and
+    // the interactive pool may not borrow the remaining memory.
+    assertNull(controller.reserve("q3", INTERACTIVE, 20, 0));
+    assertEquals(0, controller.waitingCount(INTERACTIVE));
+
+    controller.release(first);
+    assertNotNull(etl.get(10, TimeUnit.SECONDS));
+    assertEquals(50, controller.reservedMemoryPerNode(ETL));
+    assertNotNull(controller.reserve("q4", INTERACTIVE, 20, 0));
+  }
+
+  @Test
+  public void testFreeMemoryLimitsAdmission() throws Exception {
+    FixedMemory memory = new FixedMemory(100);
+    memory.free = 30;
+    MemoryAdmissionController controller = new MemoryAdmissionController(
+        Collections.singletonList(ETL), memory);
+    assertNotNull(controller.reserve("q1", ETL, 20, 0));
+    assertNull(controller.reserve("q2", ETL, 40, 0));
+
+    Future<Reservation> waiting = reserveAsync(controller, "q3", ETL, 40);
+    awaitWaiting(controller, ETL, 1);
+    memory.free = 50;
+    controller.dispatch();
+    assertNotNull(waiting.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+    MemoryAdmissionController controller = new MemoryAdmissionController(
+        Collections.singletonList(ETL), new FixedMemory(100));
+    assertNotNull(controller.reserve("q1", ETL, 100, 0));
+    assertNull(controller.reserve("q2", ETL, 10, 50));
+    assertEquals(0, controller.waitingCount(ETL));
+    assertEquals(100, controller.reservedMemoryPerNode());
+  }
+}
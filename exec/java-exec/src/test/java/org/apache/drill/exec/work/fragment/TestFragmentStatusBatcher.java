@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.work.fragment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.drill.exec.proto.BitControl.BitStatus;
+import org.apache.drill.exec.proto.BitControl.FragmentStatus;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
+import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
+import org.apache.drill.exec.proto.UserBitShared.FragmentState;
+import org.apache.drill.exec.proto.UserBitShared.MinorFragmentProfile;
+import org.apache.drill.exec.proto.UserBitShared.OperatorProfile;
+import org.apache.drill.exec.work.foreman.FragmentData;
+import org.junit.Test;
+
+public class TestFragmentStatusBatcher {
+
+  private static final DrillbitEndpoint FOREMAN1 = DrillbitEndpoint.newBuilder().setAddress("10.0.0.1").build();
+  private static final DrillbitEndpoint FOREMAN2 = DrillbitEndpoint.newBuilder().setAddress("10.0.0.2").build();
+  private static final DrillbitEndpoint LOCAL = DrillbitEndpoint.newBuilder().setAddress("10.0.0.3").build();
+
+  private static FragmentHandle handle(int minor) {
+    return FragmentHandle.newBuilder().setMajorFragmentId(1).setMinorFragmentId(minor).build();
+  }
+
+  private static OperatorProfile operator(int id, long processNanos) {
+    return OperatorProfile.newBuilder().setOperatorId(id).setProcessNanos(processNanos).build();
+  }
+
+  private static FragmentStatus status(FragmentHandle handle, OperatorProfile... operators) {
+    return FragmentStatus.newBuilder()
+        .setHandle(handle)
+        .setProfile(MinorFragmentProfile.newBuilder()
+            .setState(FragmentState.RUNNING)
+            .setMinorFragmentId(handle.getMinorFragmentId())
+            .addAllOperatorProfile(Arrays.asList(operators)))
+        .build();
+  }
+
+  @Test
+  public void testOneBatchPerForeman() {
+    final FragmentStatusBatcher batcher = new FragmentStatusBatcher();
+    batcher.add(FOREMAN1, status(handle(0), operator(0, 1)));
+    batcher.add(FOREMAN1, status(handle(1), operator(0, 1)));
+    batcher.add(FOREMAN2, status(handle(2), operator(0, 1)));
+
+    final Map<DrillbitEndpoint, BitStatus> batches = batcher.getBatches();
+    assertEquals(2, batches.size());
+    assertEquals(2, batches.get(FOREMAN1).getFragmentStatusCount());
+    assertEquals(1, batches.get(FOREMAN2).getFragmentStatusCount());
+  }
+
+  @Test
+  public void testDeltaAfterAcknowledgement() {
+    final FragmentStatusBatcher batcher = new FragmentStatusBatcher();
+    final FragmentHandle handle = handle(0);
+    batcher.add(FOREMAN1, status(handle, operator(0, 1), operator(1, 1)));
+    batcher.acknowledged(FOREMAN1);
+
+    // Only the operator that changed is sent
+    batcher.reset(Collections.singleton(handle));
+    batcher.add(FOREMAN1, status(handle, operator(0, 1), operator(1, 2)));
+    MinorFragmentProfile sent = batcher.getBatches().get(FOREMAN1).getFragmentStatus(0).getProfile();
+    assertEquals(1, sent.getOperatorProfileCount());
+    assertEquals(1, sent.getOperatorProfile(0).getOperatorId());
+
+    // Not acknowledged: the next delta is still relative to the first status
+    batcher.reset(Collections.singleton(handle));
+    batcher.add(FOREMAN1, status(handle, operator(0, 1), operator(1, 2)));
+    sent = batcher.getBatches().get(FOREMAN1).getFragmentStatus(0).getProfile();
+    assertEquals(1, sent.getOperatorProfileCount());
+
+    // Finished fragments are forgotten
+    batcher.acknowledged(FOREMAN1);
+    batcher.reset(Collections.<FragmentHandle>emptySet());
+    batcher.add(FOREMAN1, status(handle, operator(0, 1), operator(1, 2)));
+    sent = batcher.getBatches().get(FOREMAN1).getFragmentStatus(0).getProfile();
+    assertEquals(2, sent.getOperatorProfileCount());
+  }
+
+  @Test
+  public void testForemanMergesDelta() {
+    final FragmentHandle handle = handle(0);
+    final FragmentData data = new FragmentData(handle, LOCAL, false);
+    data.setStatus(status(handle, operator(0, 1), operator(1, 1)));
+
+    // A delta with a changed and a new operator
+    data.setStatus(status(handle, operator(1, 5), operator(2, 1)));
+    final MinorFragmentProfile profile = data.getProfile();
+    assertEquals(3, profile.getOperatorProfileCount());
+    assertEquals(operator(0, 1), profile.getOperatorProfile(0));
+    assertEquals(operator(1, 5), profile.getOperatorProfile(1));
+    assertEquals(operator(2, 1), profile.getOperatorProfile(2));
+  }
+
+  @Test
+  public void testForemanBuildsProfileOnRequest() {
+    final FragmentHandle handle = handle(0);
+    final FragmentData data = new FragmentData(handle, LOCAL, false);
+    data.setStatus(status(handle, operator(0, 1), operator(1, 1)));
+
+    // The profile is built once and reused until the next update
+    final MinorFragmentProfile first = data.getProfile();
+    assertSame(first, data.getProfile());
+
+    data.setStatus(status(handle, operator(0, 7)));
+    final MinorFragmentProfile second = data.getProfile();
+    assertNotSame(first, second);
+    assertEquals(operator(0, 7), second.getOperatorProfile(0));
+    assertEquals(operator(1, 1), second.getOperatorProfile(1));
+    // profiles handed out earlier are not changed by later updates
+    assertEquals(operator(0, 1), first.getOperatorProfile(0));
+    assertEquals(FragmentState.RUNNING, second.getState());
+  }
+}
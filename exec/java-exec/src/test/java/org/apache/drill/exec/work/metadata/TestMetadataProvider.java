@@ -149,13 +149,14 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<TableMetadata> tables = resp.getTablesList();
-    assertEquals(17, tables.size());
+    assertEquals(18, tables.size());
 
     verifyTable("INFORMATION_SCHEMA", "CATALOGS", tables);
     verifyTable("INFORMATION_SCHEMA", "COLUMNS", tables);
     verifyTable("INFORMATION_SCHEMA", "SCHEMATA", tables);
     verifyTable("INFORMATION_SCHEMA", "TABLES", tables);
     verifyTable("INFORMATION_SCHEMA", "VIEWS", tables);
+    verifyTable("sys", "allocators", tables);
     verifyTable("sys", "boot", tables);
     verifyTable("sys", "drillbits", tables);
     verifyTable("sys", "memory", tables);
@@ -186,13 +187,14 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<TableMetadata> tables = resp.getTablesList();
-    assertEquals(17, tables.size());
+    assertEquals(18, tables.size());
 
     verifyTable("INFORMATION_SCHEMA", "CATALOGS", tables);
     verifyTable("INFORMATION_SCHEMA", "COLUMNS", tables);
     verifyTable("INFORMATION_SCHEMA", "SCHEMATA", tables);
     verifyTable("INFORMATION_SCHEMA", "TABLES", tables);
     verifyTable("INFORMATION_SCHEMA", "VIEWS", tables);
+    verifyTable("sys", "allocators", tables);
     verifyTable("sys", "boot", tables);
     verifyTable("sys", "drillbits", tables);
     verifyTable("sys", "memory", tables);
@@ -214,8 +216,9 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<TableMetadata> tables = resp.getTablesList();
-    assertEquals(10, tables.size());
+    assertEquals(11, tables.size());
 
+    verifyTable("sys", "allocators", tables);
     verifyTable("sys", "boot", tables);
     verifyTable("sys", "memory", tables);
     verifyTable("sys", SystemTable.OPTION.getTableName(), tables);
@@ -248,7 +251,7 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<ColumnMetadata> columns = resp.getColumnsList();
-    assertEquals(118, columns.size());
+    assertEquals(129, columns.size());
     // too many records to verify the output.
   }
 
@@ -261,8 +264,10 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<ColumnMetadata> columns = resp.getColumnsList();
-    assertEquals(6, columns.size());
+    assertEquals(8, columns.size());
 
+    verifyColumn("sys", "allocators", "user_port", columns);
+    verifyColumn("sys", "allocators", "window_peak", columns);
     verifyColumn("sys", "drillbits", "user_port", columns);
     verifyColumn("sys", "drillbits", "control_port", columns);
     verifyColumn("sys", "drillbits", "data_port", columns);
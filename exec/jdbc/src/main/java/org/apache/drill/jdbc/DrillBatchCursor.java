@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.jdbc;
+
+import java.sql.SQLException;
+
+import org.apache.drill.exec.record.BatchSchema;
+import org.apache.drill.exec.vector.ValueVector;
+
+/**
+ * Columnar, batch-at-a-time view of a {@link DrillResultSet}.
+ * <p>
+ *   Obtained with {@code resultSet.unwrap(DrillBatchCursor.class)}. Rather
+ *   than converting each cell through a JDBC accessor, the batch cursor
+ *   hands out the value vectors of each record batch as received from the
+ *   server. Clients read values with the vectors' typed accessors (for
+ *   example, {@code ((IntVector) cursor.getVector(1)).getAccessor().get(row)}),
+ *   which avoids boxing and per-row accessor dispatch.
+ * </p>
+ * <p>
+ *   The batch cursor and the row-based {@code ResultSet} methods share one
+ *   position. Once {@link #nextBatch()} has been called, the row-based
+ *   methods should no longer be used on the same result set.
+ * </p>
+ * <p>
+ *   Vectors returned by {@link #getVector(int)} are owned by the driver and
+ *   are valid only until the next call to {@link #nextBatch()} or until the
+ *   result set is closed.  They must not be retained or released by the
+ *   caller.
+ * </p>
+ */
+public interface DrillBatchCursor {
+
+  /**
+   * Advances to the next non-empty batch of rows. Any rows of the current
+   * batch not visited through the row-based methods are skipped.
+   *
+   * @return  true if positioned at a batch, false after the last batch
+   * @throws  SQLException  if the result set is closed or the query failed
+   */
+  boolean nextBatch() throws SQLException;
+
+  /**
+   * Gets the number of rows in the current batch.
+   */
+  int getRowCount() throws SQLException;
+
+  /**
+   * Gets the schema of the current batch. The schema can change from one
+   * batch to the next.
+   */
+  BatchSchema getSchema() throws SQLException;
+
+  /**
+   * Gets the number of columns in the current batch.
+   */
+  int getColumnCount() throws SQLException;
+
+  /**
+   * Gets the vector holding the values of a column in the current batch.
+   *
+   * @param  columnIndex  the column index; the first column is 1, as for
+   *                      {@code ResultSet}
+   * @throws  SQLException  if the index is out of range or the cursor is not
+   *                        positioned at a batch
+   */
+  ValueVector getVector(int columnIndex) throws SQLException;
+
+  /**
+   * Gets the vector holding the values of a column in the current batch, cast
+   * to the expected vector class.
+   *
+   * @param  columnIndex  the column index; the first column is 1
+   * @param  vectorClass  the expected vector class, such as
+   *                      {@code NullableBigIntVector.class}
+   * @throws  SQLException  if the index is out of range or the vector is not
+   *                        of the expected class
+   */
+  <T extends ValueVector> T getVector(int columnIndex, Class<T> vectorClass) throws SQLException;
+}
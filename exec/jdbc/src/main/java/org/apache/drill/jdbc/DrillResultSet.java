@@ -40,7 +40,8 @@ public interface DrillResultSet extends ResultSet  {
    * {@inheritDoc}
    * <p>
    *   <strong>Drill</strong>:
-   *   Accepts {@code DrillResultSet.class}.
+   *   Accepts {@code DrillResultSet.class}, and {@code DrillBatchCursor.class}
+   *   for columnar access to the result batches.
    * </p>
    */
   @Override
@@ -50,7 +51,8 @@ public interface DrillResultSet extends ResultSet  {
    * {@inheritDoc}
    * <p>
    *   <strong>Drill</strong>:
-   *   Returns true for {@code DrillResultSet.class}.
+   *   Returns true for {@code DrillResultSet.class} and
+   *   {@code DrillBatchCursor.class}.
    * </p>
    */
   @Override
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.jdbc.impl;
+
+import java.sql.SQLException;
+
+import org.apache.drill.exec.record.BatchSchema;
+import org.apache.drill.exec.record.RecordBatchLoader;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.jdbc.DrillBatchCursor;
+import org.apache.drill.jdbc.InvalidCursorStateSqlException;
+
+/**
+ * Drill's implementation of {@link DrillBatchCursor}: exposes the vectors of
+ * the {@link DrillCursor}'s current batch directly.
+ */
+class DrillBatchCursorImpl implements DrillBatchCursor {
+
+  private final DrillResultSetImpl resultSet;
+  private final DrillCursor cursor;
+
+  /** Whether nextBatch() has returned true for the current batch. */
+  private boolean onBatch;
+
+  DrillBatchCursorImpl(DrillResultSetImpl resultSet, DrillCursor cursor) {
+    this.resultSet = resultSet;
+    this.cursor = cursor;
+  }
+
+  @Override
+  public boolean nextBatch() throws SQLException {
+    resultSet.throwIfClosed();
+    onBatch = cursor.nextBatch();
+    return onBatch;
+  }
+
+  @Override
+  public int getRowCount() throws SQLException {
+    return currentBatch().getRecordCount();
+  }
+
+  @Override
+  public BatchSchema getSchema() throws SQLException {
+    return currentBatch().getSchema();
+  }
+
+  @Override
+  public int getColumnCount() throws SQLException {
+    return currentBatch().getSchema().getFieldCount();
+  }
+
+  @Override
+  public ValueVector getVector(int columnIndex) throws SQLException {
+    final RecordBatchLoader batch = currentBatch();
+    if (columnIndex < 1 || columnIndex > batch.getSchema().getFieldCount()) {
+      throw new SQLException(
+          "Column index out of range: " + columnIndex + " (batch has "
+          + batch.getSchema().getFieldCount() + " columns)");
+    }
+    return batch.getValueAccessorById(ValueVector.class, columnIndex - 1).getValueVector();
+  }
+
+  @Override
+  public <T extends ValueVector> T getVector(int columnIndex, Class<T> vectorClass) throws SQLException {
+    final ValueVector vector = getVector(columnIndex);
+    if (!vectorClass.isInstance(vector)) {
+      throw new SQLException(
+          "Column " + columnIndex + " is held in a " + vector.getClass().getSimpleName()
+          + ", not a " + vectorClass.getSimpleName());
+    }
+    return vectorClass.cast(vector);
+  }
+
+  private RecordBatchLoader currentBatch() throws SQLException {
+    resultSet.throwIfClosed();
+    if (!onBatch) {
+      throw new InvalidCursorStateSqlException(
+          "Batch cursor is not positioned at a batch; call nextBatch() first.");
+    }
+    return cursor.getCurrentBatch();
+  }
+}
@@ -636,6 +636,48 @@ class DrillCursor implements Cursor {
     }
   }
 
+  /**
+   * Advances this cursor to the next non-empty batch, skipping any rows of
+   * the current batch not yet visited.  The first call positions the cursor
+   * on the batch loaded by {@link #loadInitialSchema()} if that batch has
+   * rows.
+   *
+   * @return  whether cursor is positioned at a batch (false when after end of
+   *   results)
+   */
+  boolean nextBatch() throws SQLException {
+    if ( ! initialSchemaLoaded ) {
+      throw new IllegalStateException(
+          "nextBatch() called but loadInitialSchema() was not called" );
+    }
+    if ( afterLastRow ) {
+      return false;
+    }
+    if ( returnTrueForNextCallToNext ) {
+      returnTrueForNextCallToNext = false;
+      if ( currentBatchHolder.getRecordCount() > 0 ) {
+        currentRowNumber += currentBatchHolder.getRecordCount();
+        return true;
+      }
+    }
+    accessors.clearLastColumnIndexedInRow();
+    do {
+      // Position at the last record so the next advance loads a new batch.
+      currentRecordNumber = currentBatchHolder.getRecordCount() - 1;
+      if ( ! nextRowInternally() ) {
+        return false;
+      }
+    } while ( currentBatchHolder.getRecordCount() == 0 );
+    currentRecordNumber = currentBatchHolder.getRecordCount() - 1;
+    currentRowNumber += currentBatchHolder.getRecordCount();
+    return true;
+  }
+
+  /** Gets the batch on which this cursor is positioned. */
+  RecordBatchLoader getCurrentBatch() {
+    return currentBatchHolder;
+  }
+
   public void cancel() {
     close();
   }
@@ -52,6 +52,7 @@ import org.apache.calcite.avatica.QueryState;
 import org.apache.calcite.avatica.util.Cursor;
 import org.apache.calcite.avatica.util.Cursor.Accessor;
 import org.apache.drill.jdbc.AlreadyClosedSqlException;
+import org.apache.drill.jdbc.DrillBatchCursor;
 import org.apache.drill.jdbc.DrillResultSet;
 import org.apache.drill.jdbc.ExecutionCanceledSqlException;
 import org.apache.drill.jdbc.SqlTimeoutException;
@@ -68,6 +69,7 @@ class DrillResultSetImpl extends AvaticaResultSet implements DrillResultSet {
 
   private final DrillConnectionImpl connection;
   private volatile boolean hasPendingCancelationNotification = false;
+  private DrillBatchCursorImpl batchCursor;
 
   //Timeout Support Variables
   private Stopwatch elapsedTimer;
@@ -90,7 +92,7 @@ class DrillResultSetImpl extends AvaticaResultSet implements DrillResultSet {
    * @throws  AlreadyClosedSqlException  if ResultSet is closed
    * @throws  SQLException  if error in calling {@link #isClosed()}
    */
-  private void throwIfClosed() throws SQLException {
+  void throwIfClosed() throws SQLException {
     if (isClosed()) {
       if (cursor instanceof DrillCursor && hasPendingCancelationNotification) {
         hasPendingCancelationNotification = false;
@@ -131,8 +133,30 @@ class DrillResultSetImpl extends AvaticaResultSet implements DrillResultSet {
   ////////////////////////////////////////
   // ResultSet-defined methods (in same order as in ResultSet):
 
-  // No isWrapperFor(Class<?>) (it doesn't throw SQLException if already closed).
-  // No unwrap(Class<T>) (it doesn't throw SQLException if already closed).
+  // No isWrapperFor(Class<?>) (it doesn't throw SQLException if already closed),
+  // other than to add DrillBatchCursor.
+  // No unwrap(Class<T>) (it doesn't throw SQLException if already closed),
+  // other than to add DrillBatchCursor.
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    if (iface == DrillBatchCursor.class) {
+      return cursor instanceof DrillCursor;
+    }
+    return super.isWrapperFor(iface);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface == DrillBatchCursor.class && cursor instanceof DrillCursor) {
+      throwIfClosed();
+      if (batchCursor == null) {
+        batchCursor = new DrillBatchCursorImpl(this, (DrillCursor) cursor);
+      }
+      return iface.cast(batchCursor);
+    }
+    return super.unwrap(iface);
+  }
 
   // (Not delegated.)
   @Override
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.jdbc;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.apache.drill.categories.JdbcTest;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(JdbcTest.class)
+public class DrillBatchCursorTest extends JdbcTestBase {
+
+  private static Connection connection;
+
+  @BeforeClass
+  public static void setUpConnection() throws SQLException {
+    connection = connect();
+  }
+
+  @AfterClass
+  public static void tearDownConnection() throws SQLException {
+    connection.close();
+  }
+
+  @Test
+  public void testUnwrap() throws SQLException {
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("SELECT 1 AS x FROM (VALUES(1))")) {
+      assertThat(resultSet.isWrapperFor(DrillBatchCursor.class), is(true));
+      assertThat(resultSet.unwrap(DrillBatchCursor.class), instanceOf(DrillBatchCursor.class));
+    }
+  }
+
+  @Test
+  public void testReadAllRowsThroughVectors() throws SQLException {
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(
+             "SELECT CAST(employee_id AS INT) AS id FROM cp.`employee.json`")) {
+      DrillBatchCursor cursor = resultSet.unwrap(DrillBatchCursor.class);
+      long rowCount = 0;
+      long idSum = 0;
+      while (cursor.nextBatch()) {
+        assertThat(cursor.getColumnCount(), is(1));
+        ValueVector vector = cursor.getVector(1);
+        int batchRows = cursor.getRowCount();
+        assertThat(batchRows > 0, is(true));
+        for (int row = 0; row < batchRows; row++) {
+          Object value = vector.getAccessor().getObject(row);
+          idSum += ((Number) value).longValue();
+        }
+        rowCount += batchRows;
+      }
+      assertThat(rowCount, is(1155L));
+
+      // Same result through the row-based API.
+      try (ResultSet check = statement.executeQuery(
+          "SELECT COUNT(*), SUM(CAST(employee_id AS INT)) FROM cp.`employee.json`")) {
+        assertThat(check.next(), is(true));
+        assertThat(check.getLong(2), is(idSum));
+      }
+    }
+  }
+
+  @Test
+  public void testTypedVectorAccess() throws SQLException {
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("SELECT 42 AS x FROM (VALUES(1))")) {
+      DrillBatchCursor cursor = resultSet.unwrap(DrillBatchCursor.class);
+      assertThat(cursor.nextBatch(), is(true));
+      assertThat(cursor.getRowCount(), is(1));
+      IntVector vector = cursor.getVector(1, IntVector.class);
+      assertThat(vector.getAccessor().get(0), is(42));
+      assertThat(cursor.nextBatch(), is(false));
+    }
+  }
+
+  @Test
+  public void testNotPositioned() throws SQLException {
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("SELECT 1 AS x FROM (VALUES(1))")) {
+      DrillBatchCursor cursor = resultSet.unwrap(DrillBatchCursor.class);
+      try {
+        cursor.getVector(1);
+        fail("Expected InvalidCursorStateSqlException");
+      } catch (InvalidCursorStateSqlException e) {
+        // Expected
+      }
+    }
+  }
+
+  @Test
+  public void testColumnIndexOutOfRange() throws SQLException {
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("SELECT 1 AS x FROM (VALUES(1))")) {
+      DrillBatchCursor cursor = resultSet.unwrap(DrillBatchCursor.class);
+      assertThat(cursor.nextBatch(), is(true));
+      try {
+        cursor.getVector(2);
+        fail("Expected SQLException");
+      } catch (SQLException e) {
+        // Expected
+      }
+    }
+  }
+}
@@ -77,11 +77,19 @@ public class AllocationManager {
   private volatile long amDestructionTime = 0;
 
   AllocationManager(BaseAllocator accountingAllocator, int size) {
+    this(accountingAllocator, INNER_ALLOCATOR.allocate(size));
+  }
+
+  /**
+   * Wrap memory that is already accounted to the given allocator, such as a
+   * buffer taken from its {@link BufferCache}.
+   */
+  AllocationManager(BaseAllocator accountingAllocator, UnsafeDirectLittleEndian underlying) {
     Preconditions.checkNotNull(accountingAllocator);
     accountingAllocator.assertOpen();
 
     this.root = accountingAllocator.root;
-    this.underlying = INNER_ALLOCATOR.allocate(size);
+    this.underlying = underlying;
 
     // we do a no retain association since our creator will want to retrieve the newly created ledger and will create a
     // reference count at that point
@@ -172,9 +180,11 @@ public class AllocationManager {
 
       if (oldLedger == owningLedger) {
         if (map.isEmpty()) {
-          // no one else owns, lets release.
-          oldLedger.allocator.releaseBytes(size);
-          underlying.release();
+          // no one else owns, lets release, unless the owner keeps the memory (still accounted) for reuse.
+          if (!oldLedger.allocator.recycle(underlying)) {
+            oldLedger.allocator.releaseBytes(size);
+            underlying.release();
+          }
           amDestructionTime = System.nanoTime();
           owningLedger = null;
         } else {
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.memory;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Low-overhead profile of direct memory use, suitable for production,
+ * unlike the {@link BaseAllocator#DEBUG} history which records every
+ * allocation.
+ * <p>
+ * Two kinds of data are kept for each open allocator:
+ * <ul>
+ * <li>A ring buffer of the allocator's memory use, sampled at a fixed
+ * interval, from which the peak and average use over the recent window
+ * are computed.</li>
+ * <li>Estimated bytes allocated per allocation site. One allocation in
+ * <tt>sampleRate</tt> (chosen at random) captures a stack trace and
+ * charges <tt>sampleRate</tt> times its size to the first caller outside
+ * the memory, vector and Netty code. The number of sites per allocator is
+ * bounded; further sites are counted as {@link #OTHER_SITE}.</li>
+ * </ul>
+ * The profiler holds no buffers, and forgets an allocator when it closes,
+ * so it cannot itself cause leaks. Operator allocators are named after
+ * their fragment and operator, so the allocator name identifies the
+ * operator to which memory is attributed.
+ */
+public class AllocationProfiler implements AutoCloseable {
+
+  public static final String OTHER_SITE = "(other)";
+
+  private static final String[] SKIPPED_PACKAGES = {
+      "org.apache.drill.exec.memory.",
+      "org.apache.drill.exec.vector.",
+      "io.netty.",
+      "java.",
+      "sun."
+  };
+
+  /**
+   * Point-in-time profile of one allocator.
+   */
+  public static class AllocatorProfile {
+    private final String name;
+    private final String parent;
+    private final long allocated;
+    private final long peak;
+    private final long limit;
+    private final long windowPeak;
+    private final long windowAverage;
+    private final int windowSamples;
+    private final Map<String, Long> sites;
+
+    public AllocatorProfile(String name, String parent, long allocated, long peak, long limit,
+        long windowPeak, long windowAverage, int windowSamples, Map<String, Long> sites) {
+      this.name = name;
+      this.parent = parent;
+      this.allocated = allocated;
+      this.peak = peak;
+      this.limit = limit;
+      this.windowPeak = windowPeak;
+      this.windowAverage = windowAverage;
+      this.windowSamples = windowSamples;
+      this.sites = sites;
+    }
+
+    public String getName() { return name; }
+
+    public String getParent() { return parent; }
+
+    public long getAllocated() { return allocated; }
+
+    /**
+     * @return peak allocation over the life of the allocator
+     */
+    public long getPeak() { return peak; }
+
+    public long getLimit() { return limit; }
+
+    /**
+     * @return peak of the sampled allocations in the recent window
+     */
+    public long getWindowPeak() { return windowPeak; }
+
+    /**
+     * @return average of the sampled allocations in the recent window
+     */
+    public long getWindowAverage() { return windowAverage; }
+
+    public int getWindowSamples() { return windowSamples; }
+
+    /**
+     * @return estimated bytes allocated per allocation site, largest first
+     */
+    public Map<String, Long> getSites() { return sites; }
+  }
+
+  private class AllocatorStats {
+    private final String parent;
+    private final long[] usage = new long[windowSize];
+    private int next;
+    private int count;
+    private final ConcurrentMap<String, AtomicLong> sites = new ConcurrentHashMap<>();
+
+    private AllocatorStats(String parent) {
+      this.parent = parent;
+    }
+
+    private synchronized void sampleUsage(long allocated) {
+      usage[next] = allocated;
+      next = (next + 1) % usage.length;
+      count = Math.min(count + 1, usage.length);
+    }
+
+    private void addSite(String site, long bytes) {
+      AtomicLong counter = sites.get(site);
+      if (counter == null) {
+        if (sites.size() >= maxSites) {
+          site = OTHER_SITE;
+        }
+        AtomicLong newCounter = new AtomicLong();
+        counter = sites.putIfAbsent(site, newCounter);
+        if (counter == null) {
+          counter = newCounter;
+        }
+      }
+      counter.addAndGet(bytes);
+    }
+
+    private synchronized AllocatorProfile profile(BaseAllocator allocator) {
+      long windowPeak = 0;
+      long total = 0;
+      for (int i = 0; i < count; i++) {
+        windowPeak = Math.max(windowPeak, usage[i]);
+        total += usage[i];
+      }
+      List<Map.Entry<String, Long>> siteList = new ArrayList<>();
+      for (Map.Entry<String, AtomicLong> entry : sites.entrySet()) {
+        siteList.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().get()));
+      }
+      Collections.sort(siteList, new Comparator<Map.Entry<String, Long>>() {
+        @Override
+        public int compare(Map.Entry<String, Long> a, Map.Entry<String, Long> b) {
+          return Long.compare(b.getValue(), a.getValue());
+        }
+      });
+      Map<String, Long> sortedSites = new LinkedHashMap<>();
+      for (Map.Entry<String, Long> entry : siteList) {
+        sortedSites.put(entry.getKey(), entry.getValue());
+      }
+      return new AllocatorProfile(allocator.getName(), parent, allocator.getAllocatedMemory(),
+          allocator.getPeakMemoryAllocation(), allocator.getLimit(),
+          windowPeak, count == 0 ? 0 : total / count, count, sortedSites);
+    }
+  }
+
+  private final int sampleRate;
+  private final int windowSize;
+  private final int maxSites;
+  private final ConcurrentMap<BaseAllocator, AllocatorStats> allocators = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService sampler;
+
+  /**
+   * @param sampleRate one in this many allocations records its allocation
+   * site; 0 disables site sampling
+   * @param intervalMs interval at which allocator usage is sampled; 0
+   * disables usage sampling
+   * @param windowSize number of usage samples kept per allocator
+   * @param maxSites maximum number of allocation sites tracked per allocator
+   */
+  public AllocationProfiler(int sampleRate, long intervalMs, int windowSize, int maxSites) {
+    this.sampleRate = sampleRate;
+    this.windowSize = Math.max(1, windowSize);
+    this.maxSites = maxSites;
+    if (intervalMs > 0) {
+      sampler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread thread = new Thread(r, "allocation-profiler");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+      sampler.scheduleAtFixedRate(new Runnable() {
+        @Override
+        public void run() {
+          sampleUsage();
+        }
+      }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    } else {
+      sampler = null;
+    }
+  }
+
+  void register(BaseAllocator allocator, String parentName) {
+    allocators.put(allocator, new AllocatorStats(parentName));
+  }
+
+  void unregister(BaseAllocator allocator) {
+    allocators.remove(allocator);
+  }
+
+  /**
+   * Called for every allocation; does work only for the sampled ones.
+   */
+  void recordAllocation(BaseAllocator allocator, int size) {
+    if (sampleRate <= 0 || ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+      return;
+    }
+    AllocatorStats stats = allocators.get(allocator);
+    if (stats != null) {
+      stats.addSite(allocationSite(new Throwable().getStackTrace()), (long) size * sampleRate);
+    }
+  }
+
+  @VisibleForTesting
+  static String allocationSite(StackTraceElement[] stack) {
+    for (StackTraceElement frame : stack) {
+      if (!isSkipped(frame.getClassName())) {
+        return frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+      }
+    }
+    return OTHER_SITE;
+  }
+
+  private static boolean isSkipped(String className) {
+    for (String prefix : SKIPPED_PACKAGES) {
+      if (className.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @VisibleForTesting
+  void sampleUsage() {
+    for (Map.Entry<BaseAllocator, AllocatorStats> entry : allocators.entrySet()) {
+      entry.getValue().sampleUsage(entry.getKey().getAllocatedMemory());
+    }
+  }
+
+  /**
+   * @return profiles of the open allocators, in no particular order
+   */
+  public List<AllocatorProfile> getProfiles() {
+    List<AllocatorProfile> profiles = new ArrayList<>();
+    for (Map.Entry<BaseAllocator, AllocatorStats> entry : allocators.entrySet()) {
+      profiles.add(entry.getValue().profile(entry.getKey()));
+    }
+    return profiles;
+  }
+
+  @Override
+  public void close() {
+    if (sampler != null) {
+      sampler.shutdownNow();
+    }
+    allocators.clear();
+  }
+}
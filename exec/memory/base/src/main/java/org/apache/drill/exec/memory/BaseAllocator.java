@@ -60,11 +60,13 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
   private final Object DEBUG_LOCK = DEBUG ? new Object() : null;
 
   private final BaseAllocator parentAllocator;
+  private final AllocationProfiler profiler;
   private final ByteBufAllocator thisAsByteBufAllocator;
   private final IdentityHashMap<BaseAllocator, Object> childAllocators;
   private final DrillBuf empty;
 
   private volatile boolean isClosed = false; // the allocator has been closed
+  private volatile BufferCache bufferCache; // released small buffers kept for reuse, if enabled
 
   // Package exposed for sharing between AllocatorManger and BaseAllocator objects
   final String name;
@@ -91,6 +93,16 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
       final String name,
       final long initReservation,
       final long maxAllocation) throws OutOfMemoryException {
+    this(parentAllocator, name, initReservation, maxAllocation,
+        parentAllocator == null ? null : parentAllocator.profiler);
+  }
+
+  protected BaseAllocator(
+      final BaseAllocator parentAllocator,
+      final String name,
+      final long initReservation,
+      final long maxAllocation,
+      final AllocationProfiler profiler) throws OutOfMemoryException {
     super(parentAllocator, initReservation, maxAllocation);
 
     if (parentAllocator != null) {
@@ -105,6 +117,10 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
 
     this.parentAllocator = parentAllocator;
     this.name = name;
+    this.profiler = profiler;
+    if (profiler != null) {
+      profiler.register(this, parentAllocator == null ? null : parentAllocator.name);
+    }
 
     this.thisAsByteBufAllocator = new DrillByteBufAllocator(this);
 
@@ -193,6 +209,70 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
     }
   }
 
+  /**
+   * Keep small buffers released to this allocator for reuse by later allocations of the same size, avoiding the
+   * accounting up the allocator tree and the trip through the Netty arena. Intended for operator allocators, which
+   * allocate the same vector sizes batch after batch. Cached memory remains counted in this allocator's allocated
+   * memory.
+   *
+   * @param maxBufferSize
+   *          Largest buffer size kept.
+   * @param capacity
+   *          Maximum total bytes kept.
+   */
+  @Override
+  public void enableBufferCache(int maxBufferSize, long capacity) {
+    assertOpen();
+    Preconditions.checkState(bufferCache == null, "The buffer cache is already enabled.");
+    bufferCache = new BufferCache(maxBufferSize, capacity);
+    root.registerBufferCache(this);
+  }
+
+  /**
+   * @return bytes held in this allocator's buffer cache; included in {@link #getAllocatedMemory()}
+   */
+  @Override
+  public long getCachedMemory() {
+    final BufferCache cache = bufferCache;
+    return cache == null ? 0 : cache.getCachedBytes();
+  }
+
+  /**
+   * Release the buffers held in this allocator's buffer cache, if any.
+   *
+   * @return whether any memory was released
+   */
+  @Override
+  public boolean releaseCachedMemory() {
+    return releaseCachedMemory(false);
+  }
+
+  private boolean releaseCachedMemory(boolean close) {
+    final BufferCache cache = bufferCache;
+    if (cache == null) {
+      return false;
+    }
+    // Other threads empty the cache when an allocation fails elsewhere in the tree;
+    // release the accounting under the cache's lock so that close() sees it done.
+    synchronized (cache) {
+      final long released = cache.clear(close);
+      if (released > 0) {
+        releaseBytes(released);
+      }
+      return released > 0;
+    }
+  }
+
+  /**
+   * Called by an AllocationManager whose memory is owned by this allocator and no longer referenced.
+   *
+   * @return true if the memory, with its accounting, was kept in the buffer cache
+   */
+  boolean recycle(UnsafeDirectLittleEndian underlying) {
+    final BufferCache cache = bufferCache;
+    return cache != null && cache.offer(underlying);
+  }
+
   private static String createErrorMsg(final BufferAllocator allocator, final int rounded, final int requested) {
     if (rounded != requested) {
       return String.format(
@@ -231,7 +311,26 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
     final int actualRequestSize = initialRequestSize < CHUNK_SIZE ?
         nextPowerOfTwo(initialRequestSize)
         : initialRequestSize;
+    final BufferCache cache = bufferCache;
+    if (cache != null) {
+      final UnsafeDirectLittleEndian cached = cache.take(actualRequestSize);
+      if (cached != null) {
+        // already accounted to this allocator
+        final DrillBuf buffer = newBuffer(new AllocationManager(this, cached), actualRequestSize, manager);
+        if (profiler != null) {
+          profiler.recordAllocation(this, actualRequestSize);
+        }
+        return buffer;
+      }
+    }
+
     AllocationOutcome outcome = allocateBytes(actualRequestSize);
+    if (!outcome.isOk() && releaseCachedMemory(false)) {
+      outcome = allocateBytes(actualRequestSize);
+    }
+    if (!outcome.isOk() && root.releaseAllCachedMemory()) {
+      outcome = allocateBytes(actualRequestSize);
+    }
     if (!outcome.isOk()) {
       throw new OutOfMemoryException(createErrorMsg(this, actualRequestSize, initialRequestSize));
     }
@@ -240,6 +339,9 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
     try {
       DrillBuf buffer = bufferWithoutReservation(actualRequestSize, manager);
       success = true;
+      if (profiler != null) {
+        profiler.recordAllocation(this, actualRequestSize);
+      }
       return buffer;
     } finally {
       if (!success) {
@@ -255,7 +357,10 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
   private DrillBuf bufferWithoutReservation(final int size, BufferManager bufferManager) throws OutOfMemoryException {
     assertOpen();
 
-    final AllocationManager manager = new AllocationManager(this, size);
+    return newBuffer(new AllocationManager(this, size), size, bufferManager);
+  }
+
+  private DrillBuf newBuffer(final AllocationManager manager, final int size, BufferManager bufferManager) {
     final BufferLedger ledger = manager.associate(this); // +1 ref cnt (required)
     final DrillBuf buffer = ledger.newDrillBuf(0, size, bufferManager);
 
@@ -397,7 +502,10 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
     public boolean reserve(int nBytes) {
       assertOpen();
 
-      final AllocationOutcome outcome = BaseAllocator.this.allocateBytes(nBytes);
+      AllocationOutcome outcome = BaseAllocator.this.allocateBytes(nBytes);
+      if (!outcome.isOk() && root.releaseAllCachedMemory()) {
+        outcome = BaseAllocator.this.allocateBytes(nBytes);
+      }
 
       if (DEBUG) {
         historicalLog.recordEvent("reserve(%d) => %s", nBytes, Boolean.toString(outcome.isOk()));
@@ -478,6 +586,13 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
 
     isClosed = true;
 
+    // Forget the allocator even if the checks below fail, so that the
+    // profiler never holds on to a closed allocator.
+
+    if (profiler != null) {
+      profiler.unregister(this);
+    }
+
     if (DEBUG) {
       synchronized(DEBUG_LOCK) {
         verifyAllocator();
@@ -513,6 +628,12 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
       }
     }
 
+    // Cached buffers are not outstanding; return them first.
+    if (bufferCache != null) {
+      root.unregisterBufferCache(this);
+    }
+    releaseCachedMemory(true);
+
     // Is there unaccounted-for outstanding allocation?
     final long allocated = getAllocatedMemory();
     if (allocated > 0) {
@@ -669,14 +790,17 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
         }
       }
 
-      if (bufferTotal + reservedTotal + childTotal != getAllocatedMemory()) {
+      // Cached buffers remain accounted to me
+      final long cachedTotal = getCachedMemory();
+
+      if (bufferTotal + reservedTotal + childTotal + cachedTotal != getAllocatedMemory()) {
         final StringBuilder sb = new StringBuilder();
         sb.append("allocator[");
         sb.append(name);
         sb.append("]\nallocated: ");
         sb.append(Long.toString(allocated));
-        sb.append(" allocated - (bufferTotal + reservedTotal + childTotal): ");
-        sb.append(Long.toString(allocated - (bufferTotal + reservedTotal + childTotal)));
+        sb.append(" allocated - (bufferTotal + reservedTotal + childTotal + cachedTotal): ");
+        sb.append(Long.toString(allocated - (bufferTotal + reservedTotal + childTotal + cachedTotal)));
         sb.append('\n');
 
         if (bufferTotal != 0) {
@@ -700,6 +824,10 @@ public abstract class BaseAllocator extends Accountant implements BufferAllocato
           }
         }
 
+        if (cachedTotal != 0) {
+          sb.append(String.format("cached total : %d bytes.\n", cachedTotal));
+        }
+
         if (reservedTotal != 0) {
           sb.append(String.format("reserved total : %d bytes.", reservedTotal));
           for (final Reservation reservation : reservationSet) {
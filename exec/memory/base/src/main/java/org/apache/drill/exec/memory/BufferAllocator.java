@@ -113,6 +113,33 @@ public interface BufferAllocator extends AutoCloseable {
 
   public boolean setLenient();
 
+  /**
+   * Keep small buffers released to this allocator for reuse by later allocations of the same size. Cached memory
+   * remains counted in {@link #getAllocatedMemory()} and is released when an allocation would otherwise fail, or when
+   * the allocator closes.
+   *
+   * @param maxBufferSize
+   *          Largest buffer size kept.
+   * @param capacity
+   *          Maximum total bytes kept.
+   */
+  public void enableBufferCache(int maxBufferSize, long capacity);
+
+  /**
+   * Returns the memory held in this allocator's buffer cache.
+   *
+   * @return cached bytes, 0 if the buffer cache is not enabled
+   */
+  public long getCachedMemory();
+
+  /**
+   * Release the buffers held in this allocator's buffer cache. Memory-managed operators should call this before
+   * deciding to spill based on the allocated memory.
+   *
+   * @return true if any memory was released
+   */
+  public boolean releaseCachedMemory();
+
   /**
    * Return the current maximum limit this allocator imposes.
    *
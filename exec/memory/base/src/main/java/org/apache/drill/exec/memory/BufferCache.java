@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.memory;
+
+import io.netty.buffer.UnsafeDirectLittleEndian;
+
+import java.util.ArrayDeque;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Per-allocator cache of released small buffers, kept by power-of-two size
+ * class. Operators allocate the same vector sizes for every batch of a
+ * schema, so a buffer released at the end of one batch is usually asked
+ * for again by the next.
+ * <p>
+ * Memory in the cache stays accounted to the owning allocator, as if it
+ * were a bulk reservation: taking a buffer from the cache touches neither
+ * the allocator tree nor the Netty arena, and returning one to the cache
+ * does not release memory up the tree. The total cached is bounded by the
+ * capacity. The cache is emptied when an allocation anywhere in the
+ * allocator tree would fail, and when its owner closes.
+ * <p>
+ * Operator allocators are used almost entirely by their fragment thread,
+ * so the monitor is rarely contended; buffers released on other threads
+ * (for example after a transfer) are handled correctly, just not
+ * optimized for.
+ */
+class BufferCache {
+
+  private final int maxBufferSize;
+  private final long capacity;
+  private final ArrayDeque<UnsafeDirectLittleEndian>[] sizeClasses;
+  private long cachedBytes;
+  private boolean closed;
+
+  /**
+   * @param maxBufferSize largest buffer kept, rounded down to a power of two
+   * @param capacity maximum total bytes kept
+   */
+  @SuppressWarnings("unchecked")
+  BufferCache(int maxBufferSize, long capacity) {
+    Preconditions.checkArgument(maxBufferSize > 0, "The maximum cached buffer size must be positive.");
+    Preconditions.checkArgument(capacity > 0, "The buffer cache capacity must be positive.");
+    this.maxBufferSize = Integer.highestOneBit(maxBufferSize);
+    this.capacity = capacity;
+    sizeClasses = new ArrayDeque[sizeClass(this.maxBufferSize) + 1];
+    for (int i = 0; i < sizeClasses.length; i++) {
+      sizeClasses[i] = new ArrayDeque<>();
+    }
+  }
+
+  private static int sizeClass(int size) {
+    return Integer.numberOfTrailingZeros(size);
+  }
+
+  private boolean isCacheable(int size) {
+    return size <= maxBufferSize && Integer.bitCount(size) == 1;
+  }
+
+  /**
+   * Take a cached buffer of exactly the given size.
+   *
+   * @return the buffer, still accounted to the owning allocator, or null
+   * if none is cached
+   */
+  synchronized UnsafeDirectLittleEndian take(int size) {
+    if (closed || !isCacheable(size)) {
+      return null;
+    }
+    final UnsafeDirectLittleEndian buf = sizeClasses[sizeClass(size)].pollFirst();
+    if (buf != null) {
+      cachedBytes -= size;
+    }
+    return buf;
+  }
+
+  /**
+   * Offer a buffer that is no longer referenced. If accepted, the caller
+   * must neither release the buffer nor its accounting.
+   *
+   * @return true if the buffer was cached
+   */
+  synchronized boolean offer(UnsafeDirectLittleEndian buf) {
+    final int size = buf.capacity();
+    if (closed || !isCacheable(size) || cachedBytes + size > capacity) {
+      return false;
+    }
+    sizeClasses[sizeClass(size)].addFirst(buf);
+    cachedBytes += size;
+    return true;
+  }
+
+  /**
+   * Release all cached buffers to the Netty arena. The caller must release
+   * the returned number of bytes from its accounting.
+   *
+   * @param close whether to stop caching further buffers
+   * @return bytes released
+   */
+  synchronized long clear(boolean close) {
+    closed |= close;
+    long released = 0;
+    for (ArrayDeque<UnsafeDirectLittleEndian> sizeClass : sizeClasses) {
+      UnsafeDirectLittleEndian buf;
+      while ((buf = sizeClass.pollFirst()) != null) {
+        released += buf.capacity();
+        buf.release();
+      }
+    }
+    cachedBytes -= released;
+    return released;
+  }
+
+  synchronized long getCachedBytes() {
+    return cachedBytes;
+  }
+}
@@ -17,6 +17,10 @@
  */
 package org.apache.drill.exec.memory;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.codahale.metrics.Gauge;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.drill.exec.metrics.DrillMetrics;
@@ -27,8 +31,21 @@ import org.apache.drill.exec.metrics.DrillMetrics;
  */
 public class RootAllocator extends BaseAllocator {
 
+  // allocators of the tree with a buffer cache, emptied when an allocation fails anywhere in the tree
+  private final Set<BaseAllocator> cachingAllocators =
+      Collections.newSetFromMap(new ConcurrentHashMap<BaseAllocator, Boolean>());
+
   public RootAllocator(final long limit) {
-    super(null, "ROOT", 0, limit);
+    this(limit, null);
+  }
+
+  /**
+   * @param limit maximum direct memory for the allocator tree
+   * @param profiler profiler to which this allocator and all its
+   * descendants report, or null for none
+   */
+  public RootAllocator(final long limit, final AllocationProfiler profiler) {
+    super(null, "ROOT", 0, limit, profiler);
     DrillMetrics.register("drill.allocator.root.used", new Gauge<Long>() {
       @Override
       public Long getValue() {
@@ -43,6 +60,29 @@ public class RootAllocator extends BaseAllocator {
     });
   }
 
+  void registerBufferCache(BaseAllocator allocator) {
+    cachingAllocators.add(allocator);
+  }
+
+  void unregisterBufferCache(BaseAllocator allocator) {
+    cachingAllocators.remove(allocator);
+  }
+
+  /**
+   * Release the buffer caches of all the allocators of the tree. Cached
+   * memory counts against the limits of every ancestor, so the caches of
+   * siblings must be emptied too before an allocation is refused.
+   *
+   * @return whether any memory was released
+   */
+  boolean releaseAllCachedMemory() {
+    boolean released = false;
+    for (BaseAllocator allocator : cachingAllocators) {
+      released |= allocator.releaseCachedMemory();
+    }
+    return released;
+  }
+
   /**
    * Verify the accounting state of the allocation system.
    */
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import io.netty.buffer.DrillBuf;
+
+import org.apache.drill.categories.MemoryTest;
+import org.apache.drill.exec.memory.AllocationProfiler.AllocatorProfile;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(MemoryTest.class)
+public class TestAllocationProfiler {
+
+  private final static int MAX_ALLOCATION = 1024 * 1024;
+
+  private static AllocatorProfile find(AllocationProfiler profiler, String name) {
+    for (AllocatorProfile profile : profiler.getProfiles()) {
+      if (profile.getName().equals(name)) {
+        return profile;
+      }
+    }
+    return null;
+  }
+
+  private static long totalSiteBytes(AllocatorProfile profile) {
+    long total = 0;
+    for (long bytes : profile.getSites().values()) {
+      total += bytes;
+    }
+    return total;
+  }
+
+  @Test
+  public void testUsageWindow() throws Exception {
+    try (AllocationProfiler profiler = new AllocationProfiler(0, 0, 3, 4);
+         RootAllocator root = new RootAllocator(MAX_ALLOCATION, profiler);
+         BufferAllocator child = root.newChildAllocator("op:0:0:1:Sort", 0, MAX_ALLOCATION)) {
+      DrillBuf buf1 = child.buffer(1024);
+      profiler.sampleUsage();
+      DrillBuf buf2 = child.buffer(4096);
+      profiler.sampleUsage();
+      buf2.release();
+      profiler.sampleUsage();
+
+      AllocatorProfile profile = find(profiler, "op:0:0:1:Sort");
+      assertNotNull(profile);
+      assertEquals("ROOT", profile.getParent());
+      assertEquals(1024, profile.getAllocated());
+      assertEquals(5120, profile.getPeak());
+      assertEquals(5120, profile.getWindowPeak());
+      assertEquals((1024 + 5120 + 1024) / 3, profile.getWindowAverage());
+      assertEquals(3, profile.getWindowSamples());
+
+      // The oldest sample leaves the window
+      buf1.release();
+      profiler.sampleUsage();
+      profile = find(profiler, "op:0:0:1:Sort");
+      assertEquals(5120, profile.getWindowPeak());
+      assertEquals((5120 + 1024) / 3, profile.getWindowAverage());
+      assertEquals(0, totalSiteBytes(profile));
+    }
+  }
+
+  @Test
+  public void testSiteSampling() throws Exception {
+    try (AllocationProfiler profiler = new AllocationProfiler(1, 0, 4, 4);
+         RootAllocator root = new RootAllocator(MAX_ALLOCATION, profiler)) {
+      try (BufferAllocator child = root.newChildAllocator("frag:0:0", 0, MAX_ALLOCATION)) {
+        for (int i = 0; i < 10; i++) {
+          child.buffer(256).release();
+        }
+        assertEquals(2560, totalSiteBytes(find(profiler, "frag:0:0")));
+      }
+
+      // Closed allocators are forgotten
+      assertNull(find(profiler, "frag:0:0"));
+      assertNotNull(find(profiler, "ROOT"));
+    }
+  }
+
+  @Test
+  public void testAllocationSite() {
+    StackTraceElement[] stack = {
+        new StackTraceElement("org.apache.drill.exec.memory.BaseAllocator", "buffer", "BaseAllocator.java", 10),
+        new StackTraceElement("org.apache.drill.exec.vector.IntVector", "allocateNew", "IntVector.java", 20),
+        new StackTraceElement("org.apache.drill.exec.physical.impl.xsort.SortImpl", "merge", "SortImpl.java", 30),
+        new StackTraceElement("org.apache.drill.exec.physical.impl.BaseRootExec", "next", "BaseRootExec.java", 40)
+    };
+    assertEquals("org.apache.drill.exec.physical.impl.xsort.SortImpl.merge:30",
+        AllocationProfiler.allocationSite(stack));
+    assertEquals(AllocationProfiler.OTHER_SITE,
+        AllocationProfiler.allocationSite(new StackTraceElement[] { stack[0] }));
+  }
+}
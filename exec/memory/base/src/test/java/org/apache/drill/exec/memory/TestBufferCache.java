@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DrillBuf;
+
+import org.apache.drill.categories.MemoryTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(MemoryTest.class)
+public class TestBufferCache {
+
+  private final static int MAX_ALLOCATION = 8 * 1024 * 1024;
+
+  @Test
+  public void testReuseKeepsAccounting() throws Exception {
+    try (RootAllocator root = new RootAllocator(MAX_ALLOCATION);
+         BufferAllocator child = root.newChildAllocator("op:0:0:1:Project", 0, MAX_ALLOCATION)) {
+      child.enableBufferCache(4096, 16 * 1024);
+
+      DrillBuf buf = child.buffer(1000);
+      ByteBuf underlying = buf.unwrap();
+      buf.release();
+
+      // The released buffer stays accounted, up the tree as well
+      assertEquals(1024, child.getCachedMemory());
+      assertEquals(1024, child.getAllocatedMemory());
+      assertEquals(1024, root.getAllocatedMemory());
+
+      // The next batch of the same shape reuses the memory
+      buf = child.buffer(1024);
+      assertEquals(1024, buf.capacity());
+      assertSame(underlying, buf.unwrap());
+      assertEquals(0, child.getCachedMemory());
+      assertEquals(1024, child.getAllocatedMemory());
+
+      // Other size classes are not served from the cache
+      buf.release();
+      DrillBuf other = child.buffer(2048);
+      assertEquals(1024, child.getCachedMemory());
+      assertEquals(3072, child.getAllocatedMemory());
+      other.release();
+    }
+  }
+
+  @Test
+  public void testLimits() throws Exception {
+    try (RootAllocator root = new RootAllocator(MAX_ALLOCATION);
+         BufferAllocator child = root.newChildAllocator("op:0:0:1:Filter", 0, MAX_ALLOCATION)) {
+      child.enableBufferCache(4096, 6 * 1024);
+
+      // Too large for the cache
+      child.buffer(8192).release();
+      assertEquals(0, child.getAllocatedMemory());
+
+      // The capacity bounds the cached total
+      DrillBuf buf1 = child.buffer(4096);
+      DrillBuf buf2 = child.buffer(4096);
+      buf1.release();
+      buf2.release();
+      assertEquals(4096, child.getCachedMemory());
+      assertEquals(4096, child.getAllocatedMemory());
+
+      assertTrue(child.releaseCachedMemory());
+      assertFalse(child.releaseCachedMemory());
+      assertEquals(0, child.getAllocatedMemory());
+      assertEquals(0, root.getAllocatedMemory());
+    }
+  }
+
+  @Test
+  public void testCacheReleasedWhenOutOfMemory() throws Exception {
+    try (RootAllocator root = new RootAllocator(MAX_ALLOCATION);
+         BufferAllocator child = root.newChildAllocator("op:0:0:1:Project", 0, 8192)) {
+      child.enableBufferCache(4096, 8192);
+      child.buffer(4096).release();
+      child.buffer(2048).release();
+      assertEquals(6144, child.getAllocatedMemory());
+
+      // Fits the limit only once the cached buffers are released
+      DrillBuf buf = child.buffer(8192);
+      assertEquals(0, child.getCachedMemory());
+      assertEquals(8192, child.getAllocatedMemory());
+      buf.release();
+    }
+  }
+
+  @Test
+  public void testSiblingCacheReleasedWhenParentOutOfMemory() throws Exception {
+    try (RootAllocator root = new RootAllocator(MAX_ALLOCATION);
+         BufferAllocator fragment = root.newChildAllocator("frag:0:0", 0, 8192);
+         BufferAllocator cached = fragment.newChildAllocator("op:0:0:1:Project", 0, 8192);
+         BufferAllocator other = fragment.newChildAllocator("op:0:0:2:Sort", 0, 8192)) {
+      cached.enableBufferCache(4096, 8192);
+      cached.buffer(4096).release();
+      cached.buffer(2048).release();
+      assertEquals(6144, fragment.getAllocatedMemory());
+
+      // The fragment limit is reached by the sibling's cache, which must be released
+      DrillBuf buf = other.buffer(8192);
+      assertEquals(0, cached.getCachedMemory());
+      assertEquals(0, cached.getAllocatedMemory());
+      assertEquals(8192, fragment.getAllocatedMemory());
+      buf.release();
+    }
+  }
+
+  @Test
+  public void testCloseReleasesCache() throws Exception {
+    try (RootAllocator root = new RootAllocator(MAX_ALLOCATION)) {
+      BufferAllocator child = root.newChildAllocator("op:0:0:1:Project", 0, MAX_ALLOCATION);
+      child.enableBufferCache(4096, 16 * 1024);
+      child.buffer(512).release();
+      child.buffer(256).release();
+
+      // Closing does not report the cached buffers as leaked
+      child.close();
+      assertEquals(0, root.getAllocatedMemory());
+    }
+  }
+
+  @Test
+  public void testTransferredBufferCachedByNewOwner() throws Exception {
+    try (RootAllocator root = new RootAllocator(MAX_ALLOCATION);
+         BufferAllocator source = root.newChildAllocator("op:0:0:1:Scan", 0, MAX_ALLOCATION);
+         BufferAllocator target = root.newChildAllocator("op:0:0:2:Project", 0, MAX_ALLOCATION)) {
+      target.enableBufferCache(4096, 16 * 1024);
+
+      DrillBuf buf = source.buffer(1024);
+      DrillBuf transferred = buf.transferOwnership(target).buffer;
+      buf.release();
+      transferred.release();
+
+      assertEquals(0, source.getAllocatedMemory());
+      assertEquals(1024, target.getCachedMemory());
+      assertEquals(1024, target.getAllocatedMemory());
+    }
+  }
+}
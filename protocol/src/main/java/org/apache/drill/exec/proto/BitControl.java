@@ -78,7 +78,7 @@ public final class BitControl {
      * <code>REQ_BIT_STATUS = 9;</code>
      *
      * <pre>
-     * get bit status.
+     * send the statuses of several fragments, returns Ack
      * </pre>
      */
     REQ_BIT_STATUS(7, 9),
@@ -180,7 +180,7 @@ public final class BitControl {
      * <code>REQ_BIT_STATUS = 9;</code>
      *
      * <pre>
-     * get bit status.
+     * send the statuses of several fragments, returns Ack
      * </pre>
      */
     public static final int REQ_BIT_STATUS_VALUE = 9;
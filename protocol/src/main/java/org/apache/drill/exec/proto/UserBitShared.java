@@ -541,6 +541,18 @@ public final class UserBitShared {
      * <code>HIVE_DRILL_NATIVE_PARQUET_ROW_GROUP_SCAN = 43;</code>
      */
     HIVE_DRILL_NATIVE_PARQUET_ROW_GROUP_SCAN(43, 43),
+    /**
+     * <code>HASH_DISTINCT = 44;</code>
+     */
+    HASH_DISTINCT(44, 44),
+    /**
+     * <code>SEQUENCE_SUB_SCAN = 45;</code>
+     */
+    SEQUENCE_SUB_SCAN(45, 45),
+    /**
+     * <code>HIVE_DRILL_NATIVE_ORC_SUB_SCAN = 46;</code>
+     */
+    HIVE_DRILL_NATIVE_ORC_SUB_SCAN(46, 46),
     ;
 
     /**
@@ -719,6 +731,18 @@ public final class UserBitShared {
      * <code>HIVE_DRILL_NATIVE_PARQUET_ROW_GROUP_SCAN = 43;</code>
      */
     public static final int HIVE_DRILL_NATIVE_PARQUET_ROW_GROUP_SCAN_VALUE = 43;
+    /**
+     * <code>HASH_DISTINCT = 44;</code>
+     */
+    public static final int HASH_DISTINCT_VALUE = 44;
+    /**
+     * <code>SEQUENCE_SUB_SCAN = 45;</code>
+     */
+    public static final int SEQUENCE_SUB_SCAN_VALUE = 45;
+    /**
+     * <code>HIVE_DRILL_NATIVE_ORC_SUB_SCAN = 46;</code>
+     */
+    public static final int HIVE_DRILL_NATIVE_ORC_SUB_SCAN_VALUE = 46;
 
 
     public final int getNumber() { return value; }
@@ -769,6 +793,9 @@ public final class UserBitShared {
         case 41: return LATERAL_JOIN;
         case 42: return UNNEST;
         case 43: return HIVE_DRILL_NATIVE_PARQUET_ROW_GROUP_SCAN;
+        case 44: return HASH_DISTINCT;
+        case 45: return SEQUENCE_SUB_SCAN;
+        case 46: return HIVE_DRILL_NATIVE_ORC_SUB_SCAN;
         default: return null;
       }
     }
@@ -24305,7 +24332,7 @@ public final class UserBitShared {
       "TATEMENT\020\005*\207\001\n\rFragmentState\022\013\n\007SENDING\020" +
       "\000\022\027\n\023AWAITING_ALLOCATION\020\001\022\013\n\007RUNNING\020\002\022" +
       "\014\n\010FINISHED\020\003\022\r\n\tCANCELLED\020\004\022\n\n\006FAILED\020\005" +
-      "\022\032\n\026CANCELLATION_REQUESTED\020\006*\360\006\n\020CoreOpe" +
+      "\022\032\n\026CANCELLATION_REQUESTED\020\006*\276\007\n\020CoreOpe" +
       "ratorType\022\021\n\rSINGLE_SENDER\020\000\022\024\n\020BROADCAS" +
       "T_SENDER\020\001\022\n\n\006FILTER\020\002\022\022\n\016HASH_AGGREGATE" +
       "\020\003\022\r\n\tHASH_JOIN\020\004\022\016\n\nMERGE_JOIN\020\005\022\031\n\025HAS" +
@@ -24327,7 +24354,8 @@ public final class UserBitShared {
       "AN\020$\022\021\n\rPCAP_SUB_SCAN\020%\022\022\n\016KAFKA_SUB_SCA" +
       "N\020&\022\021\n\rKUDU_SUB_SCAN\020\'\022\013\n\007FLATTEN\020(\022\020\n\014L" +
       "ATERAL_JOIN\020)\022\n\n\006UNNEST\020*\022,\n(HIVE_DRILL_" +
-      "NATIVE_PARQUET_ROW_GROUP_SCAN\020+*g\n\nSaslS" +
+      "NATIVE_PARQUET_ROW_GROUP_SCAN\020+\022\021\n\rHASH_DISTIN" +
+      "CT\020,\022\025\n\021SEQUENCE_SUB_SCAN\020-\022$\n\036HIVE_DRILL_NATIVE_ORC_SUB_SCAN\020.*g\n\nSaslS" +
       "tatus\022\020\n\014SASL_UNKNOWN\020\000\022\016\n\nSASL_START\020\001\022" +
       "\024\n\020SASL_IN_PROGRESS\020\002\022\020\n\014SASL_SUCCESS\020\003\022" +
       "\017\n\013SASL_FAILED\020\004B.\n\033org.apache.drill.exe" +
@@ -65,7 +65,10 @@ public enum CoreOperatorType implements com.dyuproject.protostuff.EnumLite<CoreO
     FLATTEN(40),
     LATERAL_JOIN(41),
     UNNEST(42),
-    HIVE_DRILL_NATIVE_PARQUET_ROW_GROUP_SCAN(43);
+    HIVE_DRILL_NATIVE_PARQUET_ROW_GROUP_SCAN(43),
+    HASH_DISTINCT(44),
+    SEQUENCE_SUB_SCAN(45),
+    HIVE_DRILL_NATIVE_ORC_SUB_SCAN(46);
     
     public final int number;
     
@@ -127,6 +130,9 @@ public enum CoreOperatorType implements com.dyuproject.protostuff.EnumLite<CoreO
             case 41: return LATERAL_JOIN;
             case 42: return UNNEST;
             case 43: return HIVE_DRILL_NATIVE_PARQUET_ROW_GROUP_SCAN;
+            case 44: return HASH_DISTINCT;
+            case 45: return SEQUENCE_SUB_SCAN;
+            case 46: return HIVE_DRILL_NATIVE_ORC_SUB_SCAN;
             default: return null;
         }
     }